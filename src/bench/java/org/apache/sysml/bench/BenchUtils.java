@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.bench;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Common utilities for the JMH micro benchmarks of core matrix kernels.
+ * 
+ */
+public class BenchUtils 
+{
+	//fixed seed to obtain reproducible inputs across benchmark runs
+	public static final long SEED = 7;
+	
+	/**
+	 * Creates a random matrix block with uniformly distributed values
+	 * in [min, max], converted to its preferred in-memory format.
+	 * 
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param sparsity fraction of non-zero values
+	 * @param min minimum value
+	 * @param max maximum value
+	 * @param seed random seed
+	 * @return matrix block
+	 */
+	public static MatrixBlock createMatrix(int rows, int cols, double sparsity, double min, double max, long seed) {
+		try {
+			MatrixBlock ret = MatrixBlock.randOperations(rows, cols, sparsity, min, max, "uniform", seed);
+			ret.examSparsity();
+			return ret;
+		}
+		catch(DMLRuntimeException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	public static MatrixBlock createMatrix(int rows, int cols, double sparsity) {
+		return createMatrix(rows, cols, sparsity, 0, 1, SEED);
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro benchmarks of binary block sequence files and local buffer pool 
+ * files with different block compression codecs, reporting the time of 
+ * writes and reads as well as the number of bytes written per file.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BinaryBlockCompressionBenchmark 
+{
+	@Param({"10000"})
+	public int rows;
+	
+	@Param({"1000"})
+	public int cols;
+	
+	@Param({"0.05", "0.01"})
+	public double sparsity;
+	
+	@Param({"none", "deflate", "bzip2"})
+	public String codec;
+	
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class FileSize {
+		//bytes of the last written file
+		public long bytes;
+	}
+	
+	private MatrixBlock _X = null;
+	private File _dir = null;
+	private String _fnameHDFS = null;
+	private String _fnameLocal = null;
+	
+	@Setup
+	public void setup() throws IOException, DMLRuntimeException {
+		//set compression codec for all threads
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.IO_COMPRESSION_CODEC, codec);
+		ConfigurationManager.setGlobalConfig(conf);
+		
+		//create input and files for reads
+		_X = BenchUtils.createMatrix(rows, cols, sparsity);
+		_dir = Files.createTempDirectory("sysml-bench").toFile();
+		_fnameHDFS = new File(_dir, "X.bin").getAbsolutePath();
+		_fnameLocal = new File(_dir, "X.local").getAbsolutePath();
+		writeHDFS(new FileSize());
+		writeLocal(new FileSize());
+	}
+	
+	@TearDown
+	public void teardown() {
+		LocalFileUtils.rDelete(_dir);
+		ConfigurationManager.setGlobalConfig(new DMLConfig());
+	}
+	
+	@Benchmark
+	public void writeHDFS(FileSize size) throws IOException, DMLRuntimeException {
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, _X.getNonZeros());
+		DataConverter.writeMatrixToHDFS(_X, _fnameHDFS, OutputInfo.BinaryBlockOutputInfo, mc);
+		size.bytes = MapReduceTool.getFilesizeOnHDFS(new Path(_fnameHDFS));
+	}
+	
+	@Benchmark
+	public MatrixBlock readHDFS() throws IOException, DMLRuntimeException {
+		return DataConverter.readMatrixFromHDFS(_fnameHDFS, 
+			InputInfo.BinaryBlockInputInfo, rows, cols, 1000, 1000);
+	}
+	
+	@Benchmark
+	public void writeLocal(FileSize size) throws IOException {
+		LocalFileUtils.writeMatrixBlockToLocal(_fnameLocal, _X);
+		size.bytes = new File(_fnameLocal).length();
+	}
+	
+	@Benchmark
+	public MatrixBlock readLocal() throws IOException {
+		return LocalFileUtils.readMatrixBlockFromLocal(_fnameLocal);
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro benchmarks of the buffer pool under concurrent access, i.e., shared
+ * acquire read/release of a single cacheable data object as well as write,
+ * read, and delete of blocks in the write buffer (w/ and w/o eviction). The
+ * scalability is obtained by running with different numbers of threads, 
+ * e.g., via -t 1 and -t 8.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BufferPoolBenchmark 
+{
+	@Param({"300"})
+	public int rows;
+	
+	@Param({"200"})
+	public int cols;
+	
+	@Param({"0.9", "0.05"})
+	public double sparsity;
+	
+	@State(Scope.Thread)
+	public static class BlockName {
+		private static final AtomicInteger _seq = new AtomicInteger(0);
+		//unique file name prefix and block counter per thread
+		public String prefix;
+		public long count;
+		
+		@Setup
+		public void setup() {
+			prefix = "t" + _seq.incrementAndGet() + "_";
+		}
+	}
+	
+	private MatrixBlock _X = null;
+	private MatrixObject _mo = null;
+	private File _dir = null;
+	
+	@Setup
+	public void setup() throws IOException, DMLRuntimeException {
+		//create cacheable data object with in-memory data
+		_X = BenchUtils.createMatrix(rows, cols, sparsity);
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, rows, cols, _X.getNonZeros());
+		_mo = new MatrixObject(ValueType.DOUBLE, null, new MatrixFormatMetaData(
+			mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+		_mo.acquireModify(_X);
+		_mo.release();
+		
+		//init write buffer with local eviction dir
+		_dir = Files.createTempDirectory("sysml-bench").toFile();
+		LazyWriteBuffer.init();
+	}
+	
+	@TearDown
+	public void teardown() {
+		LazyWriteBuffer.cleanup();
+		LocalFileUtils.rDelete(_dir);
+	}
+	
+	@Benchmark
+	public long sharedAcquireRead() throws DMLRuntimeException {
+		long nnz = _mo.acquireRead().getNonZeros();
+		_mo.release();
+		return nnz;
+	}
+	
+	@Benchmark
+	public MatrixBlock writeReadDelete(BlockName name) throws IOException {
+		return writeReadDelete(name, false);
+	}
+	
+	@Benchmark
+	public MatrixBlock writeEvictReadDelete(BlockName name) throws IOException {
+		return writeReadDelete(name, true);
+	}
+	
+	private MatrixBlock writeReadDelete(BlockName name, boolean evict) throws IOException {
+		String fname = new File(_dir, name.prefix + (name.count++)).getAbsolutePath();
+		LazyWriteBuffer.writeBlock(fname, _X);
+		if( evict )
+			LazyWriteBuffer.forceEviction();
+		MatrixBlock ret = (MatrixBlock) LazyWriteBuffer.readBlock(fname, true);
+		LazyWriteBuffer.deleteBlock(fname);
+		return ret;
+	}
+}
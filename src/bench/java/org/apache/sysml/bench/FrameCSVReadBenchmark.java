@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.FrameReaderTextCSV;
+import org.apache.sysml.runtime.io.FrameReaderTextCSVParallel;
+import org.apache.sysml.runtime.io.FrameWriterFactory;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro benchmarks of the sequential and parallel frame csv reader for
+ * wide frames with a mixed schema (double, int, boolean, string columns)
+ * or a string-only schema, which are parsed directly into typed columns.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FrameCSVReadBenchmark 
+{
+	@Param({"100000"})
+	public int rows;
+	
+	@Param({"100"})
+	public int cols;
+	
+	@Param({"mixed", "string"})
+	public String schema;
+	
+	@Param({"false", "true"})
+	public boolean parallel;
+	
+	private File _dir = null;
+	private String _fname = null;
+	private ValueType[] _schema = null;
+	
+	@Setup
+	public void setup() throws IOException, DMLRuntimeException {
+		//create mixed or string schema
+		ValueType[] vtypes = new ValueType[]{ValueType.DOUBLE, 
+			ValueType.INT, ValueType.BOOLEAN, ValueType.STRING};
+		_schema = new ValueType[cols];
+		for( int j=0; j<cols; j++ )
+			_schema[j] = schema.equals("mixed") ? vtypes[j % vtypes.length] : ValueType.STRING;
+		
+		//create input file
+		MatrixBlock X = BenchUtils.createMatrix(rows, cols, 1.0, 0, 100, BenchUtils.SEED);
+		FrameBlock F = DataConverter.convertToFrameBlock(X, _schema);
+		_dir = Files.createTempDirectory("sysml-bench").toFile();
+		_fname = new File(_dir, "F.csv").getAbsolutePath();
+		FrameWriterFactory.createFrameWriter(OutputInfo.CSVOutputInfo)
+			.writeFrameToHDFS(F, _fname, rows, cols);
+	}
+	
+	@TearDown
+	public void teardown() {
+		LocalFileUtils.rDelete(_dir);
+	}
+	
+	@Benchmark
+	public FrameBlock read() throws IOException, DMLRuntimeException {
+		CSVFileFormatProperties props = new CSVFileFormatProperties();
+		FrameReaderTextCSV reader = parallel ? 
+			new FrameReaderTextCSVParallel(props) : new FrameReaderTextCSV(props);
+		return reader.readFrameFromHDFS(_fname, _schema, rows, cols);
+	}
+}
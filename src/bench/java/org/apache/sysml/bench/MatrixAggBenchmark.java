@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro benchmarks of the unary aggregate kernels in LibMatrixAgg, i.e.,
+ * sum, rowSums, colSums and cumsum over dense and sparse inputs.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MatrixAggBenchmark 
+{
+	@Param({"10000"})
+	public int rows;
+	
+	@Param({"100", "1000"})
+	public int cols;
+	
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+	
+	@Param({"1", "8"})
+	public int threads;
+	
+	private MatrixBlock _X = null;
+	private AggregateUnaryOperator _sum = null;
+	private AggregateUnaryOperator _rowSums = null;
+	private AggregateUnaryOperator _colSums = null;
+	private UnaryOperator _cumsum = null;
+	
+	@Setup
+	public void setup() {
+		_X = BenchUtils.createMatrix(rows, cols, sparsity);
+		_sum = createAggOperator("uak+", threads);
+		_rowSums = createAggOperator("uark+", threads);
+		_colSums = createAggOperator("uack+", threads);
+		_cumsum = new UnaryOperator(Builtin.getBuiltinFnObject("ucumk+"), threads);
+	}
+	
+	@Benchmark
+	public MatrixBlock sum() throws DMLRuntimeException {
+		return aggregate(_sum);
+	}
+	
+	@Benchmark
+	public MatrixBlock rowSums() throws DMLRuntimeException {
+		return aggregate(_rowSums);
+	}
+	
+	@Benchmark
+	public MatrixBlock colSums() throws DMLRuntimeException {
+		return aggregate(_colSums);
+	}
+	
+	@Benchmark
+	public MatrixBlock cumsum() throws DMLRuntimeException {
+		return (MatrixBlock) _X.unaryOperations(_cumsum, new MatrixBlock());
+	}
+	
+	private MatrixBlock aggregate(AggregateUnaryOperator op) throws DMLRuntimeException {
+		return (MatrixBlock) _X.aggregateUnaryOperations(op, new MatrixBlock(), 
+			_X.getNumRows(), _X.getNumColumns(), new MatrixIndexes(1, 1), true);
+	}
+	
+	private static AggregateUnaryOperator createAggOperator(String opcode, int k) {
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		op.setNumThreads(k);
+		return op;
+	}
+}
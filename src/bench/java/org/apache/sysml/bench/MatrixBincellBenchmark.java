@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro benchmarks of the cell-wise binary kernels in LibMatrixBincell,
+ * i.e., matrix-matrix, matrix-vector and matrix-scalar operations with
+ * sparse-safe (multiply) and sparse-unsafe (plus) operators.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MatrixBincellBenchmark 
+{
+	@Param({"10000"})
+	public int rows;
+	
+	@Param({"100", "1000"})
+	public int cols;
+	
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+	
+	private MatrixBlock _X = null;
+	private MatrixBlock _Y = null;
+	private MatrixBlock _v = null;
+	private BinaryOperator _plus = null;
+	private BinaryOperator _mult = null;
+	private ScalarOperator _smult = null;
+	
+	@Setup
+	public void setup() {
+		_X = BenchUtils.createMatrix(rows, cols, sparsity);
+		_Y = BenchUtils.createMatrix(rows, cols, sparsity, 0, 1, BenchUtils.SEED+1);
+		_v = BenchUtils.createMatrix(rows, 1, 1.0, 0, 1, BenchUtils.SEED+2);
+		_plus = new BinaryOperator(Plus.getPlusFnObject());
+		_mult = new BinaryOperator(Multiply.getMultiplyFnObject());
+		_smult = new RightScalarOperator(Multiply.getMultiplyFnObject(), 7);
+	}
+	
+	@Benchmark
+	public MatrixBlock plusMatrixMatrix() throws DMLRuntimeException {
+		return (MatrixBlock) _X.binaryOperations(_plus, _Y, new MatrixBlock());
+	}
+	
+	@Benchmark
+	public MatrixBlock multMatrixMatrix() throws DMLRuntimeException {
+		return (MatrixBlock) _X.binaryOperations(_mult, _Y, new MatrixBlock());
+	}
+	
+	@Benchmark
+	public MatrixBlock multMatrixVector() throws DMLRuntimeException {
+		return (MatrixBlock) _X.binaryOperations(_mult, _v, new MatrixBlock());
+	}
+	
+	@Benchmark
+	public MatrixBlock multMatrixScalar() throws DMLRuntimeException {
+		return (MatrixBlock) _X.scalarOperations(_smult, new MatrixBlock());
+	}
+}
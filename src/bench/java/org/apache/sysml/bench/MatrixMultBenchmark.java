@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.lops.MapMultChain.ChainType;
+import org.apache.sysml.lops.WeightedDivMM.WDivMMType;
+import org.apache.sysml.lops.WeightedSquaredLoss.WeightsType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.QuaternaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro benchmarks of the matrix multiplication kernels in LibMatrixMult,
+ * i.e., dense/sparse matrix multiplication, tsmm, mmchain, as well as the
+ * fused wsloss and wdivmm operators, invoked via the MatrixBlock operations
+ * used by the CP instructions.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MatrixMultBenchmark 
+{
+	@Param({"10000"})
+	public int rows;
+	
+	@Param({"100", "1000"})
+	public int cols;
+	
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+	
+	@Param({"1", "8"})
+	public int threads;
+	
+	//number of columns of the right-hand-side and rank of factors
+	@Param({"20"})
+	public int rank;
+	
+	private MatrixBlock _X = null;
+	private MatrixBlock _B = null;
+	private MatrixBlock _v = null;
+	private MatrixBlock _U = null;
+	private MatrixBlock _V = null;
+	private AggregateBinaryOperator _mmop = null;
+	
+	@Setup
+	public void setup() {
+		_X = BenchUtils.createMatrix(rows, cols, sparsity);
+		_B = BenchUtils.createMatrix(cols, rank, sparsity, 0, 1, BenchUtils.SEED+1);
+		_v = BenchUtils.createMatrix(cols, 1, 1.0, 0, 1, BenchUtils.SEED+2);
+		_U = BenchUtils.createMatrix(rows, rank, 1.0, 0, 1, BenchUtils.SEED+3);
+		_V = BenchUtils.createMatrix(cols, rank, 1.0, 0, 1, BenchUtils.SEED+4);
+		AggregateOperator agg = new AggregateOperator(0, Plus.getPlusFnObject());
+		_mmop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), agg, threads);
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixMult() throws DMLRuntimeException {
+		return (MatrixBlock) _X.aggregateBinaryOperations(_X, _B, new MatrixBlock(), _mmop);
+	}
+	
+	@Benchmark
+	public MatrixBlock tsmm() throws DMLRuntimeException {
+		return _X.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT, threads);
+	}
+	
+	@Benchmark
+	public MatrixBlock mmchain() throws DMLRuntimeException {
+		return _X.chainMatrixMultOperations(_v, null, new MatrixBlock(), ChainType.XtXv, threads);
+	}
+	
+	@Benchmark
+	public MatrixBlock wsloss() throws DMLRuntimeException {
+		QuaternaryOperator qop = new QuaternaryOperator(WeightsType.POST_NZ);
+		return (MatrixBlock) _X.quaternaryOperations(qop, _U, _V, null, new MatrixBlock(), threads);
+	}
+	
+	@Benchmark
+	public MatrixBlock wdivmm() throws DMLRuntimeException {
+		QuaternaryOperator qop = new QuaternaryOperator(WDivMMType.DIV_LEFT);
+		return (MatrixBlock) _X.quaternaryOperations(qop, _U, _V, null, new MatrixBlock(), threads);
+	}
+}
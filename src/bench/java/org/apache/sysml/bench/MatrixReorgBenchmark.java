@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.SortIndex;
+import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro benchmarks of the reorg kernels in LibMatrixReorg, i.e., transpose,
+ * sort (of data and index vectors), and removeEmpty of rows.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MatrixReorgBenchmark 
+{
+	@Param({"10000"})
+	public int rows;
+	
+	@Param({"100", "1000"})
+	public int cols;
+	
+	@Param({"1.0", "0.1", "0.001"})
+	public double sparsity;
+	
+	@Param({"1", "8"})
+	public int threads;
+	
+	private MatrixBlock _X = null;
+	private ReorgOperator _transpose = null;
+	private ReorgOperator _sort = null;
+	private ReorgOperator _order = null;
+	
+	@Setup
+	public void setup() {
+		_X = BenchUtils.createMatrix(rows, cols, sparsity);
+		_transpose = new ReorgOperator(SwapIndex.getSwapIndexFnObject(), threads);
+		_sort = new ReorgOperator(SortIndex.getSortIndexFnObject(1, false, false), threads);
+		_order = new ReorgOperator(SortIndex.getSortIndexFnObject(1, false, true), threads);
+	}
+	
+	@Benchmark
+	public MatrixBlock transpose() throws DMLRuntimeException {
+		return (MatrixBlock) _X.reorgOperations(_transpose, new MatrixBlock(), 0, 0, 0);
+	}
+	
+	@Benchmark
+	public MatrixBlock sort() throws DMLRuntimeException {
+		return (MatrixBlock) _X.reorgOperations(_sort, new MatrixBlock(), 0, 0, 0);
+	}
+	
+	@Benchmark
+	public MatrixBlock order() throws DMLRuntimeException {
+		return (MatrixBlock) _X.reorgOperations(_order, new MatrixBlock(), 0, 0, 0);
+	}
+	
+	@Benchmark
+	public MatrixBlock removeEmptyRows() throws DMLRuntimeException {
+		return _X.removeEmptyOperations(new MatrixBlock(), true);
+	}
+}
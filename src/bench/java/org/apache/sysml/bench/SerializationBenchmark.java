@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataInput;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysml.runtime.util.FastBufferedDataOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro benchmarks of binary-block serialization and deserialization of
+ * matrix blocks, both via the in-memory byte buffers used by the buffer 
+ * pool and via the buffered data streams used by readers and writers.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SerializationBenchmark 
+{
+	@Param({"1000"})
+	public int rows;
+	
+	@Param({"1000"})
+	public int cols;
+	
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+	
+	private MatrixBlock _X = null;
+	private byte[] _buff = null;
+	
+	@Setup
+	public void setup() throws IOException {
+		_X = BenchUtils.createMatrix(rows, cols, sparsity);
+		_buff = new byte[(int)_X.getExactSizeOnDisk()];
+		_X.write(new CacheDataOutput(_buff));
+	}
+	
+	@Benchmark
+	public byte[] writeBuffer() throws IOException {
+		byte[] buff = new byte[_buff.length];
+		_X.write(new CacheDataOutput(buff));
+		return buff;
+	}
+	
+	@Benchmark
+	public MatrixBlock readBuffer() throws IOException {
+		MatrixBlock ret = new MatrixBlock();
+		ret.readFields(new CacheDataInput(_buff));
+		return ret;
+	}
+	
+	@Benchmark
+	public byte[] writeStream() throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(_buff.length);
+		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(bos);
+		_X.write(out);
+		out.flush();
+		return bos.toByteArray();
+	}
+	
+	@Benchmark
+	public MatrixBlock readStream() throws IOException {
+		MatrixBlock ret = new MatrixBlock();
+		ret.readFields(new FastBufferedDataInputStream(new ByteArrayInputStream(_buff)));
+		return ret;
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro benchmarks of the sparse block formats MCSR, CSR and COO, i.e.,
+ * row-major appends, random lookups, and full scans over all non-zeros.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SparseBlockBenchmark 
+{
+	@Param({"MCSR", "CSR", "COO"})
+	public SparseBlock.Type type;
+	
+	@Param({"1000"})
+	public int rows;
+	
+	@Param({"1000"})
+	public int cols;
+	
+	@Param({"0.1", "0.01"})
+	public double sparsity;
+	
+	//number of random lookups per invocation
+	@Param({"100000"})
+	public int lookups;
+	
+	private int[] _rix = null;
+	private int[] _cix = null;
+	private double[] _vals = null;
+	private int[] _lrix = null;
+	private int[] _lcix = null;
+	private SparseBlock _sblock = null;
+	
+	@Setup
+	public void setup() {
+		//extract row-major non-zeros of a random sparse matrix
+		MatrixBlock mb = BenchUtils.createMatrix(rows, cols, sparsity);
+		int nnz = (int) mb.getNonZeros();
+		_rix = new int[nnz];
+		_cix = new int[nnz];
+		_vals = new double[nnz];
+		for( int i=0, pos=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) {
+				double val = mb.quickGetValue(i, j);
+				if( val == 0 ) continue;
+				_rix[pos] = i;
+				_cix[pos] = j;
+				_vals[pos++] = val;
+			}
+		
+		//prepare random lookup positions and lookup target
+		Random rand = new Random(BenchUtils.SEED);
+		_lrix = new int[lookups];
+		_lcix = new int[lookups];
+		for( int i=0; i<lookups; i++ ) {
+			_lrix[i] = rand.nextInt(rows);
+			_lcix[i] = rand.nextInt(cols);
+		}
+		_sblock = append();
+	}
+	
+	@Benchmark
+	public SparseBlock append() {
+		SparseBlock sblock = SparseBlockFactory.createSparseBlock(type, rows);
+		for( int i=0; i<_vals.length; i++ )
+			sblock.append(_rix[i], _cix[i], _vals[i]);
+		return sblock;
+	}
+	
+	@Benchmark
+	public double lookup() {
+		double sum = 0;
+		for( int i=0; i<lookups; i++ )
+			sum += _sblock.get(_lrix[i], _lcix[i]);
+		return sum;
+	}
+	
+	@Benchmark
+	public double scan() {
+		double sum = 0;
+		for( int i=0; i<rows; i++ ) {
+			if( _sblock.isEmpty(i) ) continue;
+			int apos = _sblock.pos(i);
+			int alen = _sblock.size(i);
+			int[] aix = _sblock.indexes(i);
+			double[] avals = _sblock.values(i);
+			for( int j=apos; j<apos+alen; j++ )
+				sum += aix[j] * avals[j];
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.ReaderTextCellParallel;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro benchmarks of the parallel text cell and matrix market reader for
+ * sparse inputs, comparing the buffered read into MCSR with subsequent sort
+ * and the two-pass read directly into CSR. The default parameters create 
+ * files with 1e7 and 1e8 non-zeros, where the latter requires a heap of 
+ * about 8GB (e.g., -jvmArgs -Xmx10g) and a few GB of temporary disk space.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TextCellReadBenchmark 
+{
+	@Param({"1000000"})
+	public int rows;
+	
+	@Param({"10000"})
+	public int cols;
+	
+	@Param({"0.001", "0.01"})
+	public double sparsity;
+	
+	@Param({"text", "mm"})
+	public String format;
+	
+	@Param({"false", "true"})
+	public boolean directCSR;
+	
+	private File _dir = null;
+	private String _fname = null;
+	private InputInfo _iinfo = null;
+	private long _nnz = -1;
+	
+	@Setup
+	public void setup() throws IOException, DMLRuntimeException {
+		boolean mm = format.equals("mm");
+		_iinfo = mm ? InputInfo.MatrixMarketInputInfo : InputInfo.TextCellInputInfo;
+		ReaderTextCellParallel.DIRECT_CSR_READ = directCSR;
+		
+		//create input file (in row-major order as written by the text writers)
+		MatrixBlock X = BenchUtils.createMatrix(rows, cols, sparsity);
+		_nnz = X.getNonZeros();
+		_dir = Files.createTempDirectory("sysml-bench").toFile();
+		_fname = new File(_dir, mm ? "X.mtx" : "X.ijv").getAbsolutePath();
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, _nnz);
+		DataConverter.writeMatrixToHDFS(X, _fname, mm ? 
+			OutputInfo.MatrixMarketOutputInfo : OutputInfo.TextCellOutputInfo, mc);
+	}
+	
+	@TearDown
+	public void teardown() {
+		LocalFileUtils.rDelete(_dir);
+		ReaderTextCellParallel.DIRECT_CSR_READ = true;
+	}
+	
+	@Benchmark
+	public MatrixBlock read() throws IOException, DMLRuntimeException {
+		return new ReaderTextCellParallel(_iinfo)
+			.readMatrixFromHDFS(_fname, rows, cols, 1000, 1000, _nnz);
+	}
+}
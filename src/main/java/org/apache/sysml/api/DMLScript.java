@@ -696,6 +696,7 @@ public class DMLScript
 			SpoofCompiler.PLAN_CACHE_POLICY = PlanCachePolicy.get(
 					dmlconf.getBooleanValue(DMLConfig.CODEGEN_PLANCACHE),
 					dmlconf.getIntValue(DMLConfig.CODEGEN_LITERALS)==2);
+			SpoofCompiler.ASYNC_COMPILE = dmlconf.getBooleanValue(DMLConfig.CODEGEN_ASYNC);
 			SpoofCompiler.setExecTypeSpecificJavaCompiler();
 			if( SpoofCompiler.INTEGRATION==IntegrationType.HOPS )
 				dmlt.codgenHopsDAG(prog);
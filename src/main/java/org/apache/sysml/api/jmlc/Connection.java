@@ -474,14 +474,16 @@ public class Connection implements Closeable
 		//sanity check input format
 		if(!(DataExpression.FORMAT_TYPE_VALUE_TEXT.equals(format)
 			||DataExpression.FORMAT_TYPE_VALUE_MATRIXMARKET.equals(format)
-			||DataExpression.FORMAT_TYPE_VALUE_CSV.equals(format)) ) {
-			throw new IOException("Invalid input format (expected: csv, text or mm): "+format);
+			||DataExpression.FORMAT_TYPE_VALUE_CSV.equals(format)
+			||DataExpression.FORMAT_TYPE_VALUE_LIBSVM.equals(format)) ) {
+			throw new IOException("Invalid input format (expected: csv, text, mm or libsvm): "+format);
 		}
 		
 		try {
 			//read input matrix
 			InputInfo iinfo = DataExpression.FORMAT_TYPE_VALUE_CSV.equals(format) ? 
-					InputInfo.CSVInputInfo : InputInfo.TextCellInputInfo;
+					InputInfo.CSVInputInfo : DataExpression.FORMAT_TYPE_VALUE_LIBSVM.equals(format) ?
+					InputInfo.LIBSVMInputInfo : InputInfo.TextCellInputInfo;
 			MatrixReader reader = MatrixReaderFactory.createMatrixReader(iinfo);
 			int blksz = ConfigurationManager.getBlocksize();
 			ret = reader.readMatrixFromInputStream(input, 
@@ -70,11 +70,20 @@ public class DMLConfig
 	public static final String YARN_APPQUEUE        = "dml.yarn.app.queue"; 
 	public static final String CP_PARALLEL_MATRIXMULT = "cp.parallel.matrixmult";
 	public static final String CP_PARALLEL_TEXTIO   = "cp.parallel.textio";
+	public static final String CP_OUTOFCORE         = "cp.outofcore"; //boolean
 	public static final String COMPRESSED_LINALG    = "compressed.linalg";
 	public static final String NATIVE_BLAS    			= "native.blas";
+	public static final String CACHING_OFFHEAP_SIZE = "caching.offheap.size"; //in MB, 0 disables
+	public static final String CACHING_OFFHEAP_MMAP = "caching.offheap.mmap"; //boolean
+	public static final String CACHING_PAGECACHE_ARRAYS = "caching.pagecache.arrays"; //boolean
+	public static final String CACHING_ASYNC_WRITE  = "caching.async.write"; //boolean
+	public static final String CACHING_PREFETCH     = "caching.prefetch"; //boolean
+	public static final String IO_COMPRESSION_CODEC = "io.compression.codec"; //none, deflate, bzip2, snappy, lz4, or class name
 	public static final String CODEGEN              = "codegen.enabled"; //boolean
 	public static final String CODEGEN_PLANCACHE    = "codegen.plancache"; //boolean
 	public static final String CODEGEN_LITERALS     = "codegen.literals"; //1..heuristic, 2..always
+	public static final String CODEGEN_CLASSCACHE   = "codegen.classcache"; //directory, none disables
+	public static final String CODEGEN_ASYNC        = "codegen.async"; //boolean
 	public static final String EXTRA_GPU_STATS			= "systemml.stats.extraGPU"; //boolean
 	public static final String EXTRA_DNN_STATS			= "systemml.stats.extraDNN"; //boolean
 	public static final String MAX_GPUS_PER_PROCESS = "systemml.gpu.perProcessMax"; // boolean, maximum number of gpus to use, -1 for all
@@ -112,10 +121,19 @@ public class DMLConfig
 		_defaultVals.put(YARN_APPQUEUE,    	     "default" );
 		_defaultVals.put(CP_PARALLEL_MATRIXMULT, "true" );
 		_defaultVals.put(CP_PARALLEL_TEXTIO,     "true" );
+		_defaultVals.put(CP_OUTOFCORE,           "false" );
 		_defaultVals.put(COMPRESSED_LINALG,      "false" );
+		_defaultVals.put(CACHING_OFFHEAP_SIZE,   "0" );
+		_defaultVals.put(CACHING_OFFHEAP_MMAP,   "false" );
+		_defaultVals.put(CACHING_PAGECACHE_ARRAYS, "false" );
+		_defaultVals.put(CACHING_ASYNC_WRITE,    "false" );
+		_defaultVals.put(CACHING_PREFETCH,       "false" );
+		_defaultVals.put(IO_COMPRESSION_CODEC,   "none" );
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_PLANCACHE,      "true" );
 		_defaultVals.put(CODEGEN_LITERALS,       "1" );
+		_defaultVals.put(CODEGEN_CLASSCACHE,     "none" );
+		_defaultVals.put(CODEGEN_ASYNC,          "false" );
 		_defaultVals.put(NATIVE_BLAS,      			 "none" );
 
 		_defaultVals.put(EXTRA_GPU_STATS,       "false" );
@@ -402,8 +420,9 @@ public class DMLConfig
 				LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL,
 				NUM_REDUCERS, DEFAULT_BLOCK_SIZE,
 				YARN_APPMASTER, YARN_APPMASTERMEM, YARN_MAPREDUCEMEM, 
-				CP_PARALLEL_MATRIXMULT, CP_PARALLEL_TEXTIO, NATIVE_BLAS,
-				COMPRESSED_LINALG, CODEGEN, CODEGEN_LITERALS, CODEGEN_PLANCACHE,
+				CP_PARALLEL_MATRIXMULT, CP_PARALLEL_TEXTIO, CP_OUTOFCORE, NATIVE_BLAS,
+				COMPRESSED_LINALG, CACHING_OFFHEAP_SIZE, CACHING_OFFHEAP_MMAP,
+				CACHING_PAGECACHE_ARRAYS, CACHING_ASYNC_WRITE, CACHING_PREFETCH, IO_COMPRESSION_CODEC, CODEGEN, CODEGEN_LITERALS, CODEGEN_PLANCACHE, CODEGEN_CLASSCACHE, CODEGEN_ASYNC,
 				EXTRA_GPU_STATS, EXTRA_DNN_STATS
 		}; 
 		
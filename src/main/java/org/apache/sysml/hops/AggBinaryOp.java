@@ -392,6 +392,14 @@ public class AggBinaryOp extends Hop implements MultiThreadedHop
 		return true;
 	}
 	
+	@Override
+	public boolean isLargeDenseSupported() {
+		//general matrix multiply w/o tsmm, mmchain, or pmm patterns
+		return isMatrixMultiply() && !_hasLeftPMInput
+			&& checkTransposeSelf() == MMTSJType.NONE
+			&& checkMapMultChain() == ChainType.NONE;
+	}
+	
 	@Override
 	protected ExecType optFindExecType() 
 		throws HopsException 
@@ -426,6 +434,11 @@ public class AggBinaryOp extends Hop implements MultiThreadedHop
 			checkAndSetInvalidCPDimsAndSize();
 		}
 		
+		//out-of-core decision refinement (stream large persistent reads through CP
+		//for t(X)%*%X and X%*%v, which avoids distributed jobs for small outputs)
+		if( _etype == REMOTE && _etypeForced == null && isOutOfCoreApplicable() )
+			_etype = ExecType.CP;
+		
 		//spark-specific decision refinement (execute binary aggregate w/ left or right spark input and 
 		//single parent also in spark because it's likely cheap and reduces data transfer)
 		if( _etype == ExecType.CP && _etypeForced != ExecType.CP &&
@@ -443,6 +456,23 @@ public class AggBinaryOp extends Hop implements MultiThreadedHop
 		return _etype;
 	}
 	
+	private boolean isOutOfCoreApplicable() 
+	{
+		if( !isMatrixMultiply() || _hasLeftPMInput )
+			return false;
+		
+		//tsmm left w/ streamed X (via t(X) input) 
+		if( checkTransposeSelf() == MMTSJType.LEFT )
+			return isOutOfCoreCPInput(getInput().get(1))
+				&& getOutputMemEstimate() < OptimizerUtils.getLocalMemBudget();
+		
+		//mm w/ streamed left input and in-memory right input (e.g., X%*%v)
+		return getInput().get(0) != getInput().get(1)
+			&& isOutOfCoreCPInput(getInput().get(0))
+			&& getInput().get(1).getOutputMemEstimate() + getOutputMemEstimate() 
+				< OptimizerUtils.getLocalMemBudget();
+	}
+	
 	private boolean isApplicableForTransitiveSparkExecType(boolean left) 
 		throws HopsException 
 	{
@@ -326,6 +326,13 @@ public class AggUnaryOp extends Hop implements MultiThreadedHop
 	{
 		return true;
 	}
+	
+	@Override
+	public boolean isLargeDenseSupported() {
+		//full, row, and column aggregates processed per row block (see LibMatrixAgg)
+		return (_op == AggOp.SUM || _op == AggOp.SUM_SQ || _op == AggOp.MIN 
+			|| _op == AggOp.MAX || _op == AggOp.MEAN);
+	}
 
 	@Override
 	protected double computeOutputMemEstimate( long dim1, long dim2, long nnz )
@@ -437,6 +444,11 @@ public class AggUnaryOp extends Hop implements MultiThreadedHop
 			checkAndSetInvalidCPDimsAndSize();
 		}
 
+		//out-of-core decision refinement (stream large persistent reads through CP,
+		//which avoids distributed jobs for simple aggregates with small outputs)
+		if( _etype == REMOTE && _etypeForced == null && isOutOfCoreApplicable() )
+			_etype = ExecType.CP;
+		
 		//spark-specific decision refinement (execute unary aggregate w/ spark input and 
 		//single parent also in spark because it's likely cheap and reduces data transfer)
 		if( _etype == ExecType.CP && _etypeForced != ExecType.CP
@@ -457,6 +469,13 @@ public class AggUnaryOp extends Hop implements MultiThreadedHop
 		return _etype;
 	}
 
+	private boolean isOutOfCoreApplicable()
+	{
+		return (_op == AggOp.SUM || _op == AggOp.MIN || _op == AggOp.MAX)
+			&& isOutOfCoreCPInput(getInput().get(0))
+			&& getOutputMemEstimate() < OptimizerUtils.getLocalMemBudget();
+	}
+	
 	private boolean requiresAggregation( Hop input, Direction dir ) 
 	{
 		if( !ALLOW_UNARYAGG_WO_FINAL_AGG )
@@ -21,6 +21,7 @@ package org.apache.sysml.hops;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
 import org.apache.sysml.lops.Aggregate;
 import org.apache.sysml.lops.AppendGAlignedSP;
@@ -65,7 +66,7 @@ import org.apache.sysml.runtime.matrix.mapred.DistributedCacheInput;
  * 		Semantic: align indices (sort), then perform operation
  */
 
-public class BinaryOp extends Hop 
+public class BinaryOp extends Hop implements MultiThreadedHop
 {
 	
 	//we use the full remote memory budget (but reduced by sort buffer), 
@@ -73,6 +74,7 @@ public class BinaryOp extends Hop
 	
 	private Hop.OpOp2 op;
 	private boolean outer = false;
+	private int _maxNumThreads = -1; //-1 for unlimited
 	
 	public static AppendMethod FORCED_APPEND_METHOD = null;
 	
@@ -129,6 +131,16 @@ public class BinaryOp extends Hop
 		outer = flag;
 	}
 	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
 	public boolean isOuterVectorOperator(){
 		return outer;
 	}
@@ -260,7 +272,8 @@ public class BinaryOp extends Hop
 					getInput().get(0).constructLops(), 
 					getInput().get(1).constructLops(), 
 					SortKeys.OperationTypes.WithWeights, 
-					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et);
+					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et,
+					OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(), 
@@ -327,7 +340,8 @@ public class BinaryOp extends Hop
 					getInput().get(0).constructLops(), 
 					getInput().get(1).constructLops(), 
 					SortKeys.OperationTypes.WithWeights, 
-					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et);
+					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et,
+					OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(),
@@ -474,7 +488,8 @@ public class BinaryOp extends Hop
 			SortKeys sort = SortKeys.constructSortByValueLop(
 								getInput().get(0).constructLops(), 
 								SortKeys.OperationTypes.WithoutWeights, 
-								DataType.MATRIX, ValueType.DOUBLE, et );
+								DataType.MATRIX, ValueType.DOUBLE, et,
+								OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) );
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(),
@@ -584,8 +599,9 @@ public class BinaryOp extends Hop
 					&& (op == OpOp2.MULT || op == OpOp2.PLUS || op == OpOp2.MINUS || op == OpOp2.DIV || op == OpOp2.POW) ) {
 				et = ExecType.GPU;
 			}
+			int k = (et == ExecType.CP) ? OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) : 1;
 			Unary unary1 = new Unary(getInput().get(0).constructLops(),
-						   getInput().get(1).constructLops(), ot, getDataType(), getValueType(), et);
+						   getInput().get(1).constructLops(), ot, getDataType(), getValueType(), et, k);
 		
 			setOutputDimensions(unary1);
 			setLineNumbers(unary1);
@@ -619,9 +635,11 @@ public class BinaryOp extends Hop
 									getInput().get(1).constructLops(),
 									ConvolutionTransform.OperationTypes.RELU_BACKWARD, getDataType(), getValueType(), et, -1);
 				}
-				else
+				else {
+					int k = (et == ExecType.CP) ? OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) : 1;
 					binary = new Binary(getInput().get(0).constructLops(), getInput().get(1).constructLops(), HopsOpOp2LopsB.get(op),
-						getDataType(), getValueType(), et);
+						getDataType(), getValueType(), et, k);
+				}
 				
 				setOutputDimensions(binary);
 				setLineNumbers(binary);
@@ -933,6 +951,16 @@ public class BinaryOp extends Hop
 		return true;
 	}
 	
+	@Override
+	public boolean isLargeDenseSupported() {
+		//cellwise matrix-scalar or matrix-matrix operations of equal dimensions
+		Hop left = getInput().get(0);
+		Hop right = getInput().get(1);
+		return supportsMatrixScalarOperations() && !outer
+			&& (left.getDataType() == DataType.SCALAR || right.getDataType() == DataType.SCALAR
+			|| (left.getDim1() == right.getDim1() && left.getDim2() == right.getDim2()));
+	}
+	
 	@Override
 	protected ExecType optFindExecType() throws HopsException {
 		
@@ -1515,6 +1543,7 @@ public class BinaryOp extends Hop
 		//copy specific attributes
 		ret.op = op;
 		ret.outer = outer;
+		ret._maxNumThreads = _maxNumThreads;
 		
 		return ret;
 	}
@@ -1528,6 +1557,7 @@ public class BinaryOp extends Hop
 		BinaryOp that2 = (BinaryOp)that;
 		return (   op == that2.op
 				&& outer == that2.outer
+				&& _maxNumThreads == that2._maxNumThreads
 				&& getInput().get(0) == that2.getInput().get(0)
 				&& getInput().get(1) == that2.getInput().get(1));
 	}
@@ -344,7 +344,7 @@ public class ConvolutionOp extends Hop  implements MultiThreadedHop
 	// stride1, stride2, padding1, padding2  
 	// input_shape1, input_shape2, input_shape3, input_shape4, 
 	// filter_shape1, filter_shape2, filter_shape3, filter_shape4
-	ConvolutionParameters parseInput() throws DMLRuntimeException {
+	public ConvolutionParameters parseInput() throws DMLRuntimeException {
 		ConvolutionParameters params = null;
 		if(op == ConvOp.MAX_POOLING_BACKWARD 
 				|| op == ConvOp.DIRECT_CONV2D 
@@ -363,7 +363,40 @@ public class DataOp extends Hop
 	public boolean allowsAllExecTypes()
 	{
 		return false;
-	}	
+	}
+	
+	@Override
+	public boolean isLargeDenseSupported() {
+		if( getDataType() != DataType.MATRIX )
+			return false;
+		switch( _dataop ) {
+			//transient reads/writes do not access the dense data
+			case TRANSIENTREAD:
+			case TRANSIENTWRITE:
+			case FUNCTIONOUTPUT:
+				return true;
+			//persistent reads/writes only for readers and writers with
+			//row-wise or cell-wise access to multi-block dense blocks
+			case PERSISTENTREAD:
+			case PERSISTENTWRITE:
+				return isLargeDenseSupportedFormat(_inFormat);
+			default:
+				return false;
+		}
+	}
+	
+	private static boolean isLargeDenseSupportedFormat(FileFormatTypes fmt) {
+		switch( fmt ) {
+			case TEXT:   //ReaderTextCell(Parallel), WriterTextCell(Parallel)
+			case MM:     //ReaderTextCell(Parallel), WriterMatrixMarket(Parallel)
+			case CSV:    //ReaderTextCSV(Parallel), WriterTextCSV(Parallel)
+			case LIBSVM: //ReaderTextLIBSVM(Parallel), WriterTextLIBSVM(Parallel)
+			case BINARY: //ReaderBinaryBlock(Parallel), WriterBinaryBlock(Parallel)
+				return true;
+			default:
+				return false;
+		}
+	}
 	
 	@Override
 	protected double computeOutputMemEstimate( long dim1, long dim2, long nnz )
@@ -451,7 +484,8 @@ public class DataOp extends Hop
 			checkAndSetForcedPlatform();
 
 			//additional check for write only
-			if( getDataType()==DataType.SCALAR || (getDataType()==DataType.FRAME && REMOTE==ExecType.MR) )
+			if( getDataType()==DataType.SCALAR || (getDataType()==DataType.FRAME && REMOTE==ExecType.MR) 
+				|| (_inFormat==FileFormatTypes.LIBSVM && REMOTE==ExecType.MR) )
 				_etypeForced = ExecType.CP;
 			
 			if( _etypeForced != null ) 			
@@ -492,6 +526,10 @@ public class DataOp extends Hop
 			}
 			
 			_etype = letype;
+			
+			//libsvm reads/reblocks only supported in CP and Spark
+			if( _inFormat==FileFormatTypes.LIBSVM && REMOTE==ExecType.MR )
+				_etype = ExecType.CP;
 		}
 		
 		return _etype;
@@ -28,6 +28,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.lops.CSVReBlock;
 import org.apache.sysml.lops.Checkpoint;
 import org.apache.sysml.lops.Compression;
@@ -171,6 +172,18 @@ public abstract class Hop
 
 	public abstract boolean allowsAllExecTypes();
 	
+	/**
+	 * Indicates if the CP runtime operation of this hop supports large dense 
+	 * inputs and outputs beyond 2^31 cells (16GB), which are represented as 
+	 * dense blocks with multiple row blocks. Other operations over such large
+	 * dense matrices are executed in MR or Spark.
+	 * 
+	 * @return true if large dense blocks are supported in CP
+	 */
+	public boolean isLargeDenseSupported() {
+		return false;
+	}
+	
 	/**
 	 * Defines if this operation is transpose-safe, which means that
 	 * the result of op(input) is equivalent to op(t(input)).
@@ -211,11 +224,13 @@ public abstract class Hop
 			
 			//Step 2: check valid output and input sizes for cp (<16GB for DENSE)
 			//(if the memory estimate is smaller than max_numcells we are guaranteed to have it in sparse representation)
+			//(operations with support for large dense blocks are not restricted by the max dense size)
+			boolean largeDense = isLargeDenseSupported();
 			invalid |= !(  OptimizerUtils.isValidCPMatrixSize(_dim1, _dim2, OptimizerUtils.getSparsity(_dim1, _dim2, _nnz))
-					    || getOutputMemEstimate() < 8*OptimizerUtils.MAX_NUMCELLS_CP_DENSE || _validCPSizeEstimate );
+					    || getOutputMemEstimate() < 8*OptimizerUtils.MAX_NUMCELLS_CP_DENSE || _validCPSizeEstimate || largeDense );
 			for( Hop in : getInput() )
 				invalid |= !(   OptimizerUtils.isValidCPMatrixSize(in._dim1, in._dim2, OptimizerUtils.getSparsity(in._dim1, in._dim2, in._nnz))
-						     || in.getOutputMemEstimate() < 8*OptimizerUtils.MAX_NUMCELLS_CP_DENSE || in._validCPSizeEstimate);
+						     || in.getOutputMemEstimate() < 8*OptimizerUtils.MAX_NUMCELLS_CP_DENSE || in._validCPSizeEstimate || largeDense);
 			
 			//force exec type mr if necessary
 			if( invalid ) { 
@@ -226,6 +241,30 @@ public abstract class Hop
 			}
 		}
 	}
+
+	/**
+	 * Indicates if the given input can be streamed row-block-wise from its
+	 * persistent file by an out-of-core CP operation (see cp.outofcore), i.e.,
+	 * if it is a persistent read of a binary block file with known block sizes, 
+	 * w/o reblock and with valid CP dimensions. Since the runtime falls back to 
+	 * a full read for non-streamable inputs, this check must only succeed if 
+	 * streamability (see MatrixObject.isStreamable) is known at compile time.
+	 * 
+	 * @param input input hop
+	 * @return true if valid out-of-core CP input
+	 */
+	protected static boolean isOutOfCoreCPInput( Hop input )
+	{
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		return conf != null && conf.getBooleanValue(DMLConfig.CP_OUTOFCORE)
+			&& input instanceof DataOp 
+			&& ((DataOp)input).getDataOpType() == DataOpTypes.PERSISTENTREAD
+			&& ((DataOp)input).getInputFormatType() == FileFormatTypes.BINARY
+			&& input.getDataType() == DataType.MATRIX
+			&& input.getRowsInBlock() > 0 && input.getColsInBlock() > 0
+			&& !input.requiresReblock() && input.dimsKnown()
+			&& OptimizerUtils.isValidCPDimensions(input._dim1, input._dim2);
+	}
 	
 	public void setRequiresReblock(boolean flag) {
 		_requiresReblock = flag;
@@ -1076,7 +1115,7 @@ public abstract class Hop
 	};
 
 	public enum FileFormatTypes {
-		TEXT, BINARY, MM, CSV
+		TEXT, BINARY, MM, CSV, LIBSVM
 	};
 
 	public enum DataOpTypes {
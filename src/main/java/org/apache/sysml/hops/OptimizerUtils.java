@@ -764,6 +764,8 @@ public class OptimizerUtils
 			return bsize * 3;
 		else if( oinfo == OutputInfo.CSVOutputInfo )
 			return bsize * 2;
+		else if( oinfo == OutputInfo.LIBSVMOutputInfo )
+			return bsize * 2;
 		
 		//unknown output info
 		return bsize;
@@ -161,7 +161,8 @@ public class UnaryOp extends Hop implements MultiThreadedHop
 				}
 				else //default unary 
 				{
-					int k = isCumulativeUnaryOperation() ? OptimizerUtils.getConstrainedNumThreads( _maxNumThreads ) : 1;
+					int k = isCumulativeUnaryOperation() || isMultiThreadedOpType() ?
+						OptimizerUtils.getConstrainedNumThreads( _maxNumThreads ) : 1;
 					switch(_op) {
 						case SELP:case EXP:case SQRT:case LOG:case ABS:
 						case ROUND:case FLOOR:case CEIL:
@@ -236,7 +237,8 @@ public class UnaryOp extends Hop implements MultiThreadedHop
 			SortKeys sort = SortKeys.constructSortByValueLop(
 								getInput().get(0).constructLops(), 
 								SortKeys.OperationTypes.WithoutWeights, 
-								DataType.MATRIX, ValueType.DOUBLE, et );
+								DataType.MATRIX, ValueType.DOUBLE, et,
+								OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) );
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(),
@@ -345,7 +347,8 @@ public class UnaryOp extends Hop implements MultiThreadedHop
 			SortKeys sort = SortKeys.constructSortByValueLop(
 					input.constructLops(), 
 					SortKeys.OperationTypes.WithoutWeights, 
-					DataType.MATRIX, ValueType.DOUBLE, et );
+					DataType.MATRIX, ValueType.DOUBLE, et,
+					OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) );
 			sort.getOutputParameters().setDimensions(
 					input.getDim1(),
 					input.getDim2(),
@@ -595,6 +598,13 @@ public class UnaryOp extends Hop implements MultiThreadedHop
 	{
 		return true;
 	}
+	
+	@Override
+	public boolean isLargeDenseSupported() {
+		//cellwise unary operations w/o sort (see LibMatrixUnary)
+		return isMultiThreadedOpType() 
+			&& _op != OpOp1.MEDIAN && _op != OpOp1.IQM;
+	}
 
 	private boolean isInMemoryOperation() 
 	{
@@ -609,6 +619,23 @@ public class UnaryOp extends Hop implements MultiThreadedHop
 				|| _op == OpOp1.CUMMAX  );
 	}
 
+	/**
+	 * Indicates if the unary operation is a cellwise builtin function
+	 * (e.g., exp, sqrt, sigmoid) or a sort-based order statistic (median,
+	 * iqm) with multi-threaded CP runtime support.
+	 * 
+	 * @return true if multi-threaded operation
+	 */
+	public boolean isMultiThreadedOpType() 
+	{
+		return (   _op == OpOp1.EXP || _op == OpOp1.SQRT || _op == OpOp1.ABS
+				|| _op == OpOp1.ROUND || _op == OpOp1.FLOOR || _op == OpOp1.CEIL
+				|| _op == OpOp1.SIN || _op == OpOp1.COS || _op == OpOp1.TAN
+				|| _op == OpOp1.ASIN || _op == OpOp1.ACOS || _op == OpOp1.ATAN
+				|| _op == OpOp1.SIGN || _op == OpOp1.SPROP || _op == OpOp1.SIGMOID
+				|| _op == OpOp1.SELP || _op == OpOp1.MEDIAN || _op == OpOp1.IQM );
+	}
+
 	public boolean isCastUnaryOperation() 
 	{
 		return (   _op == OpOp1.CAST_AS_MATRIX
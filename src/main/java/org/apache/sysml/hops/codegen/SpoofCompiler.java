@@ -28,6 +28,12 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -35,9 +41,11 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.sysml.api.DMLException;
 import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.codegen.cplan.CNode;
 import org.apache.sysml.hops.codegen.cplan.CNodeCell;
 import org.apache.sysml.hops.codegen.cplan.CNodeData;
+import org.apache.sysml.hops.codegen.cplan.CNodeDnn;
 import org.apache.sysml.hops.codegen.cplan.CNodeMultiAgg;
 import org.apache.sysml.hops.codegen.cplan.CNodeOuterProduct;
 import org.apache.sysml.hops.codegen.cplan.CNodeRow;
@@ -109,6 +117,7 @@ public class SpoofCompiler
 	public static PlanCachePolicy PLAN_CACHE_POLICY   = PlanCachePolicy.CSLH;
 	public static final int PLAN_CACHE_SIZE           = 1024; //max 1K classes 
 	public static final PlanSelector PLAN_SEL_POLICY  = PlanSelector.FUSE_COST_BASED; 
+	public static boolean ASYNC_COMPILE               = false; //background class compilation
 
 	public enum CompilerType {
 		JAVAC,
@@ -149,6 +158,11 @@ public class SpoofCompiler
 	//note: if PLAN_CACHE_SIZE is exceeded, we evict the least-recently-used plan (LRU policy)
 	private static final PlanCache planCache = new PlanCache(PLAN_CACHE_SIZE);
 	
+	//single-threaded pool for asynchronous class compilation, and thread-local
+	//collection of pending compilations during initial code generation of a block
+	private static ExecutorService compilePool = null;
+	private static final ThreadLocal<ArrayList<Future<?>>> pendingCompiles = new ThreadLocal<ArrayList<Future<?>>>();
+	
 	private static ProgramRewriter rewriteCSE = new ProgramRewriter(
 			new RewriteCommonSubexpressionElimination(true),
 			new RewriteRemoveUnnecessaryCasts());
@@ -273,9 +287,50 @@ public class SpoofCompiler
 		}
 		else //generic (last-level)
 		{
-			StatementBlock sb = current.getStatementBlock();
+			generateCodeFromLastLevelProgramBlock(current);
+		}
+	}
+	
+	/**
+	 * Generates the instructions of a last-level program block and, if fused 
+	 * operators are compiled asynchronously, registers the pending compilations 
+	 * with the program block. Once these compilations are complete, the program 
+	 * block calls this method again to replace its unfused instructions.
+	 * 
+	 * @param current last-level program block
+	 * @throws HopsException if hop dag processing fails
+	 * @throws DMLRuntimeException if code generation fails
+	 * @throws LopsException if lop construction fails
+	 * @throws IOException if instruction generation fails
+	 */
+	public static void generateCodeFromLastLevelProgramBlock(ProgramBlock current)
+		throws HopsException, DMLRuntimeException, LopsException, IOException
+	{
+		StatementBlock sb = current.getStatementBlock();
+		ArrayList<Future<?>> pending = new ArrayList<Future<?>>();
+		pendingCompiles.set(pending);
+		try {
 			current.setInstructions( generateCodeFromHopDAGsToInst(sb, sb.get_hops()) );
 		}
+		finally {
+			pendingCompiles.remove();
+		}
+		//note: blocks with dynamic recompilation pick up compiled classes anyway
+		boolean recompile = ConfigurationManager.isDynamicRecompilation() && sb.requiresRecompilation();
+		current.setPendingCodegen(pending.isEmpty() || recompile ? null : pending);
+	}
+	
+	/**
+	 * Indicates if all given asynchronous class compilations are complete.
+	 * 
+	 * @param pending list of pending compilations
+	 * @return true if all compilations are complete
+	 */
+	public static boolean isCompileComplete(ArrayList<Future<?>> pending) {
+		for( Future<?> f : pending )
+			if( !f.isDone() )
+				return false;
+		return true;
 	}
 
 	public static ArrayList<Hop> generateCodeFromHopDAGs(ArrayList<Hop> roots) 
@@ -359,14 +414,26 @@ public class SpoofCompiler
 				LOG.trace("Codegen EXPLAIN (before optimize): \n"+Explain.explainHops(roots));
 			}
 			
+			//asynchronous compilation (requires the plan cache to pick up compiled classes)
+			boolean async = isAsyncCompile();
+			
 			//source code generation for all cplans
 			HashMap<Long, Pair<Hop[],Class<?>>> clas = new HashMap<Long, Pair<Hop[],Class<?>>>();
 			for( Entry<Long, Pair<Hop[],CNodeTpl>> cplan : cplans.entrySet() ) 
 			{
 				Pair<Hop[],CNodeTpl> tmp = cplan.getValue();
 				Class<?> cla = planCache.getPlan(tmp.getValue());
+				Future<Class<?>> pending = (cla == null && async) ?
+					planCache.getPendingPlan(tmp.getValue()) : null;
 				
-				if( cla == null ) {
+				if( pending != null ) {
+					//compilation in progress, keep unfused operators
+					trackPendingCompile(pending);
+				}
+				else if( cla == null && async && planCache.isFailedPlan(tmp.getValue()) ) {
+					//asynchronous compilation failed, keep unfused operators
+				}
+				else if( cla == null ) {
 					//generate java source code
 					String src = tmp.getValue().codegen(false);
 					
@@ -383,13 +450,23 @@ public class SpoofCompiler
 						LOG.info(src);
 					}
 					
-					//compile generated java source code
-					cla = CodegenUtils.compileClass("codegen."+
+					if( async ) {
+						//compile generated java source code in the background,
+						//while the unfused operators are used in the meantime
+						pending = compileClassAsync("codegen."+
 							tmp.getValue().getClassname(), src);
-					
-					//maintain plan cache
-					if( PLAN_CACHE_POLICY!=PlanCachePolicy.NONE )
-						planCache.putPlan(tmp.getValue(), cla);
+						planCache.putPendingPlan(tmp.getValue(), pending);
+						trackPendingCompile(pending);
+					}
+					else {
+						//compile generated java source code
+						cla = CodegenUtils.compileClass("codegen."+
+								tmp.getValue().getClassname(), src);
+						
+						//maintain plan cache
+						if( PLAN_CACHE_POLICY!=PlanCachePolicy.NONE )
+							planCache.putPlan(tmp.getValue(), cla);
+					}
 				}
 				else if( DMLScript.STATISTICS ) {
 					Statistics.incrementCodegenPlanCacheHits();
@@ -436,8 +513,37 @@ public class SpoofCompiler
 	public static void cleanupCodeGenerator() {
 		if( PLAN_CACHE_POLICY != PlanCachePolicy.NONE ) {
 			CodegenUtils.clearClassCache(); //class cache
-			planCache.clear(); //plan cache
+			planCache.clear(); //plan cache, incl pending compilations
 		}
+		shutdownCompilePool();
+	}
+	
+	private static synchronized void shutdownCompilePool() {
+		if( compilePool != null ) {
+			compilePool.shutdownNow();
+			compilePool = null;
+		}
+	}
+	
+	public static boolean isAsyncCompile() {
+		//note: hops integration modifies the original hop dags, i.e.,
+		//unfused operators would never be replaced by fused operators
+		return ASYNC_COMPILE && INTEGRATION == IntegrationType.RUNTIME
+			&& PLAN_CACHE_POLICY != PlanCachePolicy.NONE;
+	}
+	
+	private static synchronized Future<Class<?>> compileClassAsync(final String name, final String src) {
+		if( compilePool == null )
+			compilePool = Executors.newSingleThreadExecutor(new CompileThreadFactory());
+		if( DMLScript.STATISTICS )
+			Statistics.incrementCodegenAsyncCompile();
+		return compilePool.submit(() -> CodegenUtils.compileClass(name, src));
+	}
+	
+	private static void trackPendingCompile(Future<?> pending) {
+		ArrayList<Future<?>> list = pendingCompiles.get();
+		if( list != null )
+			list.add(pending);
 	}
 	
 	/**
@@ -721,8 +827,9 @@ public class SpoofCompiler
 				|| tpl instanceof CNodeRow && TemplateUtils.hasSingleOperation(tpl)) 
 				cplans2.remove(e.getKey());
 				
-			//remove cplan if empty
-			if( tpl.getOutput() instanceof CNodeData )
+			//remove cplan if empty (except conv2d with fused max pooling)
+			if( tpl.getOutput() instanceof CNodeData && !(tpl instanceof CNodeDnn 
+				&& ((CNodeDnn)tpl).hasPooling()) )
 				cplans2.remove(e.getKey());
 			
 			//rename inputs (for codegen and plan caching)
@@ -790,10 +897,14 @@ public class SpoofCompiler
 	 */
 	private static class PlanCache {
 		private final LinkedHashMap<CNode, Class<?>> _plans;
+		private final HashMap<CNode, Future<Class<?>>> _pending;
+		private final HashSet<CNode> _failed;
 		private final int _maxSize;
 		
 		public PlanCache(int maxSize) {
-			 _plans = new LinkedHashMap<CNode, Class<?>>();	
+			 _plans = new LinkedHashMap<CNode, Class<?>>();
+			 _pending = new HashMap<CNode, Future<Class<?>>>();
+			 _failed = new HashSet<CNode>();
 			 _maxSize = maxSize;
 		}
 		
@@ -801,10 +912,36 @@ public class SpoofCompiler
 			//constant time get and maintain usage order
 			Class<?> value = _plans.remove(key);
 			if( value != null ) 
-				_plans.put(key, value); 
+				_plans.put(key, value);
+			//promote completed asynchronous compilation
+			else if( _pending.containsKey(key) && _pending.get(key).isDone() ) {
+				try {
+					value = _pending.remove(key).get();
+					putPlan(key, value);
+				}
+				catch(InterruptedException | ExecutionException | CancellationException ex) {
+					//evict failed compilation, the unfused operators remain in use
+					LOG.warn("Asynchronous codegen class compilation failed for "
+						+ key.getClass().getSimpleName() + ", using unfused operators.", ex);
+					_failed.add(key);
+					value = null;
+				}
+			}
 			return value;
 		}
 		
+		public synchronized boolean isFailedPlan(CNode key) {
+			return _failed.contains(key);
+		}
+		
+		public synchronized Future<Class<?>> getPendingPlan(CNode key) {
+			return _pending.get(key);
+		}
+		
+		public synchronized void putPendingPlan(CNode key, Future<Class<?>> value) {
+			_pending.put(key, value);
+		}
+		
 		public synchronized void putPlan(CNode key, Class<?> value) {
 			if( _plans.size() >= _maxSize ) {
 				//remove least recently used (i.e., first) entry
@@ -818,6 +955,20 @@ public class SpoofCompiler
 		
 		public synchronized void clear() {
 			_plans.clear();
+			for( Future<Class<?>> f : _pending.values() )
+				f.cancel(true);
+			_pending.clear();
+			_failed.clear();
+		}
+	}
+	
+	private static class CompileThreadFactory implements ThreadFactory
+	{
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "SpoofCompiler-compile");
+			t.setDaemon(true);
+			return t;
 		}
 	}
 }
@@ -45,7 +45,8 @@ public class SpoofFusedOp extends Hop implements MultiThreadedHop
 		SCALAR,
 		MULTI_SCALAR,
 		ROW_RANK_DIMS, // right wdivmm 
-		COLUMN_RANK_DIMS  // left wdivmm
+		COLUMN_RANK_DIMS, // left wdivmm
+		CONV_DIMS // conv2d/max_pool
 	}
 	
 	private Class<?> _class = null;
@@ -128,6 +129,9 @@ public class SpoofFusedOp extends Hop implements MultiThreadedHop
 		//ensure valid execution plans
 		if( _etype == ExecType.MR )
 			_etype = ExecType.CP;
+		//fused conv pipelines are only supported in CP
+		if( _dimsType == SpoofOutputDimsType.CONV_DIMS && _etype == ExecType.SPARK )
+			_etype = ExecType.CP;
 		
 		return _etype;
 	}
@@ -182,6 +186,10 @@ public class SpoofFusedOp extends Hop implements MultiThreadedHop
 						ret = new long[]{mc.getCols(), mc2.getCols(), -1};
 					break;
 				}
+				case CONV_DIMS:
+					//dim2 statically set from outside
+					ret = new long[]{mc.getRows(), _dim2, -1};
+					break;
 				default:
 					throw new RuntimeException("Failed to infer worst-case size information "
 							+ "for type: "+_dimsType.toString());
@@ -231,6 +239,10 @@ public class SpoofFusedOp extends Hop implements MultiThreadedHop
 				setDim1(getInput().get(0).getDim2());
 				setDim2(getInput().get(1).getDim2());
 				break;
+			case CONV_DIMS:
+				setDim1(getInput().get(0).getDim1());
+				//dim2 statically set from outside
+				break;
 			default:
 				throw new RuntimeException("Failed to refresh size information "
 						+ "for type: "+_dimsType.toString());
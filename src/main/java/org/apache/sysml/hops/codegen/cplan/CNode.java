@@ -41,6 +41,11 @@ public abstract class CNode
 	protected DataType _dataType;
 	protected boolean _literal = false;
 	
+	//sparse row vector representation of generated vector intermediates
+	//(only in sparse row templates, reset along with generated flag)
+	protected boolean _sparseGen = false;
+	protected String _genVarDense = null;
+	
 	//cached hash to allow memoization in DAG structures and repeated 
 	//recursive hash computation over all inputs (w/ reset on updates)
 	protected int _hash = 0;
@@ -68,6 +73,12 @@ public abstract class CNode
 			for( CNode cn : _inputs )
 				cn.resetGenerated();
 		_generated = false;
+		_sparseGen = false;
+		_genVarDense = null;
+	}
+	
+	public boolean isSparseGenerated() {
+		return _sparseGen;
 	}
 	
 	public String createVarname() {
@@ -156,6 +167,47 @@ public abstract class CNode
 	
 	public abstract String codegen(boolean sparse);
 	
+	/**
+	 * Indicates if the given input is available as a sparse vector in generated
+	 * sparse code, i.e., if it is the sparse main input or a sparse intermediate.
+	 * 
+	 * @param in input cnode
+	 * @param sparse true if sparse code is generated
+	 * @return true if sparse vector
+	 */
+	protected static boolean isSparseVector(CNode in, boolean sparse) {
+		return sparse && (in._sparseGen || (in instanceof CNodeData 
+			&& in.getDataType().isMatrix() && !in.isLiteral()
+			&& !in.getVarname().startsWith("b")));
+	}
+	
+	protected static String replaceSparseInput(String tmp, int pos, CNode in) {
+		boolean data = (in instanceof CNodeData);
+		String varj = in.getVarname();
+		tmp = tmp.replace("%IN"+pos+"v%", data ? varj+"vals" : varj+".values()");
+		tmp = tmp.replace("%IN"+pos+"i%", data ? varj+"ix" : varj+".indexes()");
+		tmp = tmp.replace("%POS"+pos+"%", data ? varj+"i" : "0");
+		tmp = tmp.replace("%LEN"+pos+"%", data ? varj+"len" : varj+".size()");
+		return tmp;
+	}
+	
+	/**
+	 * Generates a dense copy of a sparse vector input, once per input,
+	 * for operations that are not sparse-safe or have no sparse primitive.
+	 * 
+	 * @param in input cnode
+	 * @param sb generated code
+	 * @return variable name of dense vector
+	 */
+	protected static String densify(CNode in, StringBuilder sb) {
+		if( in._genVarDense == null ) {
+			in._genVarDense = "TMP"+_seqVar.getNextID();
+			sb.append(replaceSparseInput("    double[] "+in._genVarDense+" = LibSpoofPrimitives"
+				+ ".vectDense(%IN1v%, %IN1i%, %POS1%, %LEN1%, %LEN%);\n", 1, in));
+		}
+		return in._genVarDense;
+	}
+	
 	public abstract void setOutputDims();
 	
 	///////////////////////////////////////
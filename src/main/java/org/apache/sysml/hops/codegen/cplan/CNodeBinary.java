@@ -66,10 +66,11 @@ public class CNodeBinary extends CNode
 			return ssComm || vsComm || vvComm;
 		}
 		
-		public String getTemplate(boolean sparse, boolean scalarVector) {
+		public String getTemplate(boolean sparse1, boolean sparse2, boolean scalarVector) {
+			boolean sparse = scalarVector ? sparse2 : sparse1;
 			switch (this) {
 				case DOT_PRODUCT:   
-					return sparse ? "    double %TMP% = LibSpoofPrimitives.dotProduct(%IN1v%, %IN2%, %IN1i%, %POS1%, %POS2%, %LEN%);\n" :
+					return sparse ? "    double %TMP% = LibSpoofPrimitives.dotProduct(%IN1v%, %IN2%, %IN1i%, %POS1%, %POS2%, %LEN1%);\n" :
 									"    double %TMP% = LibSpoofPrimitives.dotProduct(%IN1%, %IN2%, %POS1%, %POS2%, %LEN%);\n";
 				
 				//vector-scalar-add operations
@@ -88,10 +89,10 @@ public class CNodeBinary extends CNode
 				case VECT_GREATEREQUAL_ADD: {
 					String vectName = getVectorPrimitiveName();
 					if( scalarVector )
-						return sparse ? "    LibSpoofPrimitives.vect"+vectName+"Add(%IN1%, %IN2v%, %OUT%, %IN2i%, %POS2%, %POSOUT%, %LEN%);\n" : 
+						return sparse ? "    LibSpoofPrimitives.vect"+vectName+"Add(%IN1%, %IN2v%, %OUT%, %IN2i%, %POS2%, %POSOUT%, %LEN2%);\n" : 
 										"    LibSpoofPrimitives.vect"+vectName+"Add(%IN1%, %IN2%, %OUT%, %POS2%, %POSOUT%, %LEN%);\n";
 					else	
-						return sparse ? "    LibSpoofPrimitives.vect"+vectName+"Add(%IN1v%, %IN2%, %OUT%, %IN1i%, %POS1%, %POSOUT%, %LEN%);\n" : 
+						return sparse ? "    LibSpoofPrimitives.vect"+vectName+"Add(%IN1v%, %IN2%, %OUT%, %IN1i%, %POS1%, %POSOUT%, %LEN1%);\n" : 
 										"    LibSpoofPrimitives.vect"+vectName+"Add(%IN1%, %IN2%, %OUT%, %POS1%, %POSOUT%, %LEN%);\n";
 				}
 				
@@ -111,10 +112,10 @@ public class CNodeBinary extends CNode
 				case VECT_GREATEREQUAL_SCALAR: {
 					String vectName = getVectorPrimitiveName();
 					if( scalarVector )
-						return sparse ? "    double[] %TMP% = LibSpoofPrimitives.vect"+vectName+"Write(%IN1%, %IN2v%, %IN2i%, %POS2%, %LEN%);\n" : 
+						return sparse ? "    SparseRowVector %TMP% = LibSpoofPrimitives.vect"+vectName+"Write(%IN1%, %IN2v%, %IN2i%, %POS2%, %LEN2%, %LEN%);\n" : 
 										"    double[] %TMP% = LibSpoofPrimitives.vect"+vectName+"Write(%IN1%, %IN2%, %POS2%, %LEN%);\n";
 					else	
-						return sparse ? "    double[] %TMP% = LibSpoofPrimitives.vect"+vectName+"Write(%IN1v%, %IN2%, %IN1i%, %POS1%, %LEN%);\n" : 
+						return sparse ? "    SparseRowVector %TMP% = LibSpoofPrimitives.vect"+vectName+"Write(%IN1v%, %IN2%, %IN1i%, %POS1%, %LEN1%, %LEN%);\n" : 
 										"    double[] %TMP% = LibSpoofPrimitives.vect"+vectName+"Write(%IN1%, %IN2%, %POS1%, %LEN%);\n";
 				}
 				
@@ -132,8 +133,10 @@ public class CNodeBinary extends CNode
 				case VECT_GREATER:
 				case VECT_GREATEREQUAL: {
 					String vectName = getVectorPrimitiveName();
-					return sparse ? 
-						"    double[] %TMP% = LibSpoofPrimitives.vect"+vectName+"Write(%IN1v%, %IN2%, %IN1i%, %POS1%, %POS2%, %LEN%);\n" : 
+					return (sparse1 && sparse2) ?
+						"    SparseRowVector %TMP% = LibSpoofPrimitives.vect"+vectName+"Write(%IN1v%, %IN2v%, %IN1i%, %IN2i%, %POS1%, %POS2%, %LEN1%, %LEN2%, %LEN%);\n" :
+						sparse1 ? 
+						"    SparseRowVector %TMP% = LibSpoofPrimitives.vect"+vectName+"Write(%IN1v%, %IN2%, %IN1i%, %POS1%, %POS2%, %LEN1%, %LEN%);\n" : 
 						"    double[] %TMP% = LibSpoofPrimitives.vect"+vectName+"Write(%IN1%, %IN2%, %POS1%, %POS2%, %LEN%);\n";
 				}
 				
@@ -200,6 +203,27 @@ public class CNodeBinary extends CNode
 				|| this == VECT_LESS || this == VECT_LESSEQUAL
 				|| this == VECT_GREATER || this == VECT_GREATEREQUAL;
 		}
+		/**
+		 * Indicates if a sparse primitive exists for the given sparse vector
+		 * inputs. Vector primitives with sparse inputs are sparse-safe, i.e., 
+		 * produce sparse vector outputs (for sparse-sparse plus/minus as well).
+		 * 
+		 * @param sparse1 true if the first input is a sparse vector
+		 * @param sparse2 true if the second input is a sparse vector
+		 * @param scalarVector true if scalar-vector operation
+		 * @return true if sparse primitive exists
+		 */
+		public boolean isSparseSafe(boolean sparse1, boolean sparse2, boolean scalarVector) {
+			switch( this ) {
+				case DOT_PRODUCT:      return sparse1 && !sparse2;
+				case VECT_MULT_ADD:
+				case VECT_MULT_SCALAR: return scalarVector ? sparse2 : sparse1;
+				case VECT_MULT:        return sparse1 || sparse2;
+				case VECT_PLUS:
+				case VECT_MINUS:       return sparse1 && sparse2;
+				default:               return false;
+			}
+		}
 		public BinType getVectorAddPrimitive() {
 			return BinType.valueOf("VECT_"+getVectorPrimitiveName().toUpperCase()+"_ADD");
 		}
@@ -242,33 +266,59 @@ public class CNodeBinary extends CNode
 		sb.append(_inputs.get(0).codegen(sparse));
 		sb.append(_inputs.get(1).codegen(sparse));
 		
-		//generate binary operation (use sparse template, if data input)
-		boolean lsparse = sparse && (_inputs.get(0) instanceof CNodeData 
-			&& !_inputs.get(0).getVarname().startsWith("b")
-			&& !_inputs.get(0).isLiteral());
-		boolean scalarVector = (_inputs.get(0).getDataType().isScalar()
-			&& _inputs.get(1).getDataType().isMatrix());
+		//determine sparse vector inputs (sparse main input or intermediates), and
+		//densify sparse inputs of operations without sparse-safe primitive
+		CNode[] in = new CNode[]{_inputs.get(0), _inputs.get(1)};
+		boolean[] lsparse = new boolean[]{isSparseVector(in[0], sparse), isSparseVector(in[1], sparse)};
+		String[] dense = new String[2];
+		boolean scalarVector = (in[0].getDataType().isScalar()
+			&& in[1].getDataType().isMatrix());
+		if( (lsparse[0] || lsparse[1]) && !_type.isSparseSafe(lsparse[0], lsparse[1], scalarVector) ) {
+			for( int j=0; j<2; j++ )
+				if( lsparse[j] ) {
+					dense[j] = densify(in[j], sb);
+					lsparse[j] = false;
+				}
+		}
+		//canonicalize sparse-dense vector multiply (sparse input first)
+		if( _type == BinType.VECT_MULT && !lsparse[0] && lsparse[1] ) {
+			in = new CNode[]{in[1], in[0]};
+			lsparse = new boolean[]{true, false};
+		}
+		
+		//generate binary operation
 		String var = createVarname();
-		String tmp = _type.getTemplate(lsparse, scalarVector);
+		String tmp = _type.getTemplate(lsparse[0], lsparse[1], scalarVector);
 		tmp = tmp.replace("%TMP%", var);
 		
 		//replace input references and start indexes
 		for( int j=1; j<=2; j++ ) {
-			String varj = _inputs.get(j-1).getVarname();
+			String varj = in[j-1].getVarname();
+			
+			//replace sparse inputs and densified sparse inputs
+			if( lsparse[j-1] ) {
+				tmp = replaceSparseInput(tmp, j, in[j-1]);
+				continue;
+			}
+			else if( dense[j-1] != null ) {
+				tmp = tmp.replace("%IN"+j+"%", dense[j-1]);
+				tmp = tmp.replace("%POS"+j+"%", "0");
+				continue;
+			}
 			
-			//replace sparse and dense inputs
-			tmp = tmp.replace("%IN"+j+"v%", varj+"vals");
-			tmp = tmp.replace("%IN"+j+"i%", varj+"ix");
+			//replace dense inputs
 			tmp = tmp.replace("%IN"+j+"%", varj );
 			
 			//replace start position of main input
-			tmp = tmp.replace("%POS"+j+"%", (_inputs.get(j-1) instanceof CNodeData 
-				&& _inputs.get(j-1).getDataType().isMatrix()) ? (!varj.startsWith("b")) ? 
-				varj+"i" : TemplateUtils.isMatrix(_inputs.get(j-1)) ? "rowIndex*len" : "0" : "0");
+			tmp = tmp.replace("%POS"+j+"%", (in[j-1] instanceof CNodeData 
+				&& in[j-1].getDataType().isMatrix()) ? (!varj.startsWith("b")) ? 
+				varj+"i" : TemplateUtils.isMatrix(in[j-1]) ? "rowIndex*len" : "0" : "0");
 		}
 		sb.append(tmp);
 		
-		//mark as generated
+		//mark as generated (incl sparse vector outputs)
+		_sparseGen = (lsparse[0] || lsparse[1]) 
+			&& (_type.isVectorScalarPrimitive() || _type.isVectorVectorPrimitive());
 		_generated = true;
 		
 		return sb.toString();
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.hops.codegen.cplan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.apache.sysml.hops.codegen.SpoofFusedOp.SpoofOutputDimsType;
+import org.apache.sysml.runtime.util.UtilFunctions;
+
+public class CNodeDnn extends CNodeTpl
+{
+	private static final String TEMPLATE = 
+			  "package codegen;\n"
+			+ "import org.apache.sysml.runtime.codegen.LibSpoofPrimitives;\n"
+			+ "import org.apache.sysml.runtime.codegen.SpoofDnn;\n"
+			+ "import org.apache.commons.math3.util.FastMath;\n"
+			+ "\n"
+			+ "public final class %TMP% extends SpoofDnn {\n" 
+			+ "  public %TMP%() {\n"
+			+ "    super(%CONV_PARAMS%, %POOL_PARAMS%);\n"
+			+ "  }\n"
+			+ "  protected double genexec(double a, double[][] b, double[] scalars, int rowIndex) { \n"
+			+ "%BODY_dense%"
+			+ "    return %OUT%;\n"
+			+ "  }\n"
+			+ "}\n";
+	
+	//placeholder for the output of the convolution (per cell)
+	private final CNodeData _conv;
+	//convolution parameters [C, H, W, K, R, S, stride_h, stride_w, pad_h, pad_w]
+	private final int[] _convParams;
+	//max pooling parameters [R, S, stride_h, stride_w, pad_h, pad_w], or null
+	private final int[] _poolParams;
+	
+	public CNodeDnn(ArrayList<CNode> inputs, CNode output, CNodeData conv, int[] convParams, int[] poolParams) {
+		super(inputs, output);
+		_conv = conv;
+		_convParams = convParams;
+		_poolParams = poolParams;
+	}
+	
+	public CNodeData getConvOutput() {
+		return _conv;
+	}
+	
+	public int[] getConvParams() {
+		return _convParams;
+	}
+	
+	public int[] getPoolParams() {
+		return _poolParams;
+	}
+	
+	public boolean hasPooling() {
+		return _poolParams != null;
+	}
+	
+	@Override
+	public void renameInputs() {
+		//note: the images and filter (inputs 0 and 1) are consumed
+		//by the convolution, which output is the cell value 'a'
+		rRenameDataNode(_output, _conv, "a");
+		renameInputs(_inputs, 2);
+	}
+	
+	@Override
+	public String codegen(boolean sparse) {
+		String tmp = TEMPLATE;
+		
+		//generate dense body (per cell of the convolution output)
+		String tmpDense = _output.codegen(false);
+		String out = _output.getVarname();
+		_output.resetGenerated();
+
+		tmp = tmp.replace("%TMP%", createVarname());
+		tmp = tmp.replace("%BODY_dense%", tmpDense);
+		
+		//return output (convolution output 'a' if no cellwise ops)
+		tmp = tmp.replace("%OUT%", out);
+		
+		//replace meta data information
+		tmp = tmp.replace("%CONV_PARAMS%", createIntArray(_convParams));
+		tmp = tmp.replace("%POOL_PARAMS%", createIntArray(_poolParams));
+		
+		return tmp;
+	}
+	
+	private static String createIntArray(int[] params) {
+		if( params == null )
+			return "null";
+		return "new int[]{" + Arrays.toString(params)
+			.replace("[", "").replace("]", "") + "}";
+	}
+
+	@Override
+	public void setOutputDims() {
+		
+	}
+
+	@Override
+	public CNodeTpl clone() {
+		return new CNodeDnn(_inputs, _output, _conv, _convParams, _poolParams);
+	}
+	
+	@Override
+	public SpoofOutputDimsType getOutputDimType() {
+		return SpoofOutputDimsType.CONV_DIMS;
+	}
+
+	@Override
+	public int hashCode() {
+		if( _hash == 0 ) {
+			int h = super.hashCode();
+			h = UtilFunctions.intHashCode(h, Arrays.hashCode(_convParams));
+			h = UtilFunctions.intHashCode(h, Arrays.hashCode(_poolParams));
+			_hash = h;
+		}
+		return _hash;
+	}
+	
+	@Override 
+	public boolean equals(Object o) {
+		if(!(o instanceof CNodeDnn))
+			return false;
+		
+		CNodeDnn that = (CNodeDnn)o;
+		return super.equals(that) 
+			&& Arrays.equals(_convParams, that._convParams)
+			&& Arrays.equals(_poolParams, that._poolParams)
+			&& equalInputReferences(
+				_output, that._output, _inputs, that._inputs);
+	}
+	
+	@Override
+	public String getTemplateInfo() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SPOOF DNN [conv=");
+		sb.append(Arrays.toString(_convParams));
+		sb.append(", pool="+Arrays.toString(_poolParams));
+		sb.append("]");
+		return sb.toString();
+	}
+}
@@ -34,16 +34,18 @@ public class CNodeRow extends CNodeTpl
 			+ "import org.apache.sysml.runtime.codegen.LibSpoofPrimitives;\n"
 			+ "import org.apache.sysml.runtime.codegen.SpoofRowwise;\n"
 			+ "import org.apache.sysml.runtime.codegen.SpoofRowwise.RowType;\n"
+			+ "import org.apache.sysml.runtime.matrix.data.SparseBlock;\n"
+			+ "import org.apache.sysml.runtime.matrix.data.SparseRowVector;\n"
 			+ "import org.apache.commons.math3.util.FastMath;\n"
 			+ "\n"
 			+ "public final class %TMP% extends SpoofRowwise { \n"
 			+ "  public %TMP%() {\n"
-			+ "    super(RowType.%TYPE%, %CBIND0%, %VECT_MEM%);\n"
+			+ "    super(RowType.%TYPE%, %CBIND0%, %SPARSE_SAFE%, %VECT_MEM%);\n"
 			+ "  }\n"
 			+ "  protected void genexecRowDense( double[] a, int ai, double[][] b, double[] scalars, double[] c, int len, int rowIndex ) { \n"
 			+ "%BODY_dense%"
 			+ "  }\n"
-			+ "  protected void genexecRowSparse( double[] avals, int[] aix, int ai, double[][] b, double[] scalars, double[] c, int len, int rowIndex ) { \n"
+			+ "  protected void genexecRowSparse( double[] avals, int[] aix, int ai, double[][] b, double[] scalars, double[] c, SparseBlock cs, int alen, int len, int rowIndex ) { \n"
 			+ "%BODY_sparse%"
 			+ "  }\n"			
 			+ "}\n";
@@ -51,6 +53,7 @@ public class CNodeRow extends CNodeTpl
 	private static final String TEMPLATE_ROWAGG_OUT  = "    c[rowIndex] = %IN%;\n";
 	private static final String TEMPLATE_FULLAGG_OUT = "    c[0] += %IN%;\n";
 	private static final String TEMPLATE_NOAGG_OUT   = "    LibSpoofPrimitives.vectWrite(%IN%, c, rowIndex*len, len);\n";
+	private static final String TEMPLATE_NOAGG_SPARSE_OUT = "    LibSpoofPrimitives.vectWrite(%IN1v%, %IN1i%, %POS1%, %LEN1%, c, cs, rowIndex, len);\n";
 	
 	public CNodeRow(ArrayList<CNode> inputs, CNode output ) {
 		super(inputs, output);
@@ -89,10 +92,15 @@ public class CNodeRow extends CNodeTpl
 		
 		//generate dense/sparse bodies
 		String tmpDense = _output.codegen(false)
-			+ getOutputStatement(_output.getVarname());
+			+ getOutputStatement(_output, false);
 		_output.resetGenerated();
 		String tmpSparse = _output.codegen(true)
-			+ getOutputStatement(_output.getVarname());
+			+ getOutputStatement(_output, true);
+		
+		//sparse outputs if sparse-safe, i.e., sparse vector output for sparse inputs
+		boolean sparseSafe = (_type == RowType.NO_AGG)
+			&& _output.isSparseGenerated();
+		_output.resetGenerated();
 		tmp = tmp.replace("%TMP%", createVarname());
 		tmp = tmp.replace("%BODY_dense%", tmpDense);
 		tmp = tmp.replace("%BODY_sparse%", tmpSparse);
@@ -108,16 +116,19 @@ public class CNodeRow extends CNodeTpl
 		tmp = tmp.replace("%TYPE%", _type.name());
 		tmp = tmp.replace("%CBIND0%", String.valueOf(
 			TemplateUtils.isUnary(_output, UnaryType.CBIND0)));
+		tmp = tmp.replace("%SPARSE_SAFE%", String.valueOf(sparseSafe));
 		tmp = tmp.replace("%VECT_MEM%", String.valueOf(_numVectors));
 		
 		return tmp;
 	}
 	
-	private String getOutputStatement(String varName) {
+	private String getOutputStatement(CNode output, boolean sparse) {
+		if( _type==RowType.NO_AGG && isSparseVector(output, sparse) )
+			return replaceSparseInput(TEMPLATE_NOAGG_SPARSE_OUT, 1, output);
 		if( !_type.isColumnAgg() ) {
 			String tmp = (_type==RowType.NO_AGG) ? TEMPLATE_NOAGG_OUT : 
 				(_type==RowType.FULL_AGG) ? TEMPLATE_FULLAGG_OUT : TEMPLATE_ROWAGG_OUT;
-			return tmp.replace("%IN%", varName);
+			return tmp.replace("%IN%", output.getVarname());
 		}
 		return "";
 	}
@@ -53,8 +53,8 @@ public class CNodeTernary extends CNode
 					return "    double %TMP% = Double.isNaN(%IN1%) ? %IN3% : %IN1%;\n";
 					
 				case LOOKUP_RC1:
-					return sparse ?
-							"    double %TMP% = getValue(%IN1v%, %IN2%, rowIndex, %IN3%-1);\n" :	
+					return sparse ? //over densified row of main input
+							"    double %TMP% = getValue(%IN1%, %IN2%, 0, %IN3%-1);\n" :	
 							"    double %TMP% = getValue(%IN1%, %IN2%, rowIndex, %IN3%-1);\n";	
 					
 				default: 
@@ -89,15 +89,15 @@ public class CNodeTernary extends CNode
 		sb.append(_inputs.get(1).codegen(sparse));
 		sb.append(_inputs.get(2).codegen(sparse));
 		
-		//generate binary operation
+		//generate ternary operation (densify sparse row for lookups)
+		boolean lsparse = _type == TernaryType.LOOKUP_RC1
+			&& isSparseVector(_inputs.get(0), sparse);
 		String var = createVarname();
-		String tmp = _type.getTemplate(sparse);
+		String tmp = _type.getTemplate(lsparse);
 		tmp = tmp.replace("%TMP%", var);
 		for( int j=1; j<=3; j++ ) {
-			String varj = _inputs.get(j-1).getVarname();
-			//replace sparse and dense inputs
-			tmp = tmp.replace("%IN"+j+"v%", 
-				varj+(varj.startsWith("b")?"":"vals") );
+			String varj = (lsparse && j==1) ? 
+				densify(_inputs.get(0), sb) : _inputs.get(j-1).getVarname();
 			tmp = tmp.replace("%IN"+j+"%", varj );
 		}
 		sb.append(tmp);
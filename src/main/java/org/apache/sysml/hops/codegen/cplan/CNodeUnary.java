@@ -49,7 +49,7 @@ public class CNodeUnary extends CNode
 				case ROW_MINS:
 				case ROW_MAXS: {
 					String vectName = StringUtils.capitalize(this.toString().substring(4,7).toLowerCase());
-					return sparse ? "    double %TMP% = LibSpoofPrimitives.vect"+vectName+"(%IN1v%, %IN1i%, %POS1%, %LEN%);\n": 
+					return sparse ? "    double %TMP% = LibSpoofPrimitives.vect"+vectName+"(%IN1v%, %IN1i%, %POS1%, %LEN1%, %LEN%);\n": 
 									"    double %TMP% = LibSpoofPrimitives.vect"+vectName+"(%IN1%, %POS1%, %LEN%);\n"; 
 				}
 			
@@ -64,7 +64,7 @@ public class CNodeUnary extends CNode
 				case VECT_FLOOR:
 				case VECT_SIGN: {
 					String vectName = getVectorPrimitiveName();
-					return sparse ? "    double[] %TMP% = LibSpoofPrimitives.vect"+vectName+"Write(%IN1v%, %IN1i%, %POS1%, %LEN%);\n" : 
+					return sparse ? "    SparseRowVector %TMP% = LibSpoofPrimitives.vect"+vectName+"Write(%IN1v%, %IN1i%, %POS1%, %LEN1%, %LEN%);\n" : 
 									"    double[] %TMP% = LibSpoofPrimitives.vect"+vectName+"Write(%IN1%, %POS1%, %LEN%);\n";
 				}
 					
@@ -130,6 +130,19 @@ public class CNodeUnary extends CNode
 				|| this == VECT_ROUND || this == VECT_CEIL
 				|| this == VECT_FLOOR || this == VECT_SIGN;
 		}
+		/**
+		 * Indicates if a sparse primitive exists for this type, i.e., if the
+		 * operation is sparse-safe and can be applied over sparse vectors.
+		 * 
+		 * @return true if sparse primitive exists
+		 */
+		public boolean isSparseSafe() {
+			return this == ROW_SUMS || this == ROW_MINS || this == ROW_MAXS
+				|| this == VECT_POW2 || this == VECT_MULT2 
+				|| this == VECT_SQRT || this == VECT_ABS
+				|| this == VECT_ROUND || this == VECT_CEIL
+				|| this == VECT_FLOOR || this == VECT_SIGN;
+		}
 		public UnaryType getVectorAddPrimitive() {
 			return UnaryType.valueOf("VECT_"+getVectorPrimitiveName().toUpperCase()+"_ADD");
 		}
@@ -165,21 +178,24 @@ public class CNodeUnary extends CNode
 		//generate children
 		sb.append(_inputs.get(0).codegen(sparse));
 		
-		//generate unary operation
-		boolean lsparse = sparse && (_inputs.get(0) instanceof CNodeData);
+		//generate unary operation (densify sparse inputs w/o sparse primitive)
+		boolean lsparse = isSparseVector(_inputs.get(0), sparse);
+		String dense = (lsparse && !_type.isSparseSafe()) ?
+			densify(_inputs.get(0), sb) : null;
+		lsparse &= (dense == null);
 		String var = createVarname();
 		String tmp = _type.getTemplate(lsparse);
 		tmp = tmp.replace("%TMP%", var);
 		
-		String varj = _inputs.get(0).getVarname();
+		String varj = (dense != null) ? dense : _inputs.get(0).getVarname();
 		
 		//replace sparse and dense inputs
-		tmp = tmp.replace("%IN1v%", varj+"vals");
-		tmp = tmp.replace("%IN1i%", varj+"ix");
+		if( lsparse )
+			tmp = replaceSparseInput(tmp, 1, _inputs.get(0));
 		tmp = tmp.replace("%IN1%", varj );
 		
 		//replace start position of main input
-		String spos = (!varj.startsWith("b") 
+		String spos = (dense == null && !varj.startsWith("b") 
 			&& _inputs.get(0) instanceof CNodeData 
 			&& _inputs.get(0).getDataType().isMatrix()) ? varj+"i" : "0";
 		tmp = tmp.replace("%POS1%", spos);
@@ -187,7 +203,8 @@ public class CNodeUnary extends CNode
 		
 		sb.append(tmp);
 		
-		//mark as generated
+		//mark as generated (incl sparse vector outputs)
+		_sparseGen = lsparse && _type.isVectorScalarPrimitive();
 		_generated = true;
 		
 		return sb.toString();
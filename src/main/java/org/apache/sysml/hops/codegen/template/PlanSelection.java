@@ -26,6 +26,7 @@ import java.util.HashSet;
 import java.util.List;
 
 import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.ConvOp;
 import org.apache.sysml.hops.codegen.template.CPlanMemoTable.MemoTableEntry;
 import org.apache.sysml.hops.codegen.template.TemplateBase.TemplateType;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
@@ -58,6 +59,8 @@ public abstract class PlanSelection
 	protected static boolean isValid(MemoTableEntry me, Hop hop) {
 		return (me.type == TemplateType.OuterProdTpl 
 				&& (me.closed || HopRewriteUtils.isBinaryMatrixMatrixOperation(hop)))
+			|| (me.type == TemplateType.DnnTpl
+				&& (me.closed || !HopRewriteUtils.isConvolution(hop, ConvOp.DIRECT_CONV2D)))
 			|| (me.type == TemplateType.RowTpl)	
 			|| (me.type == TemplateType.CellTpl)
 			|| (me.type == TemplateType.MultiAggTpl);
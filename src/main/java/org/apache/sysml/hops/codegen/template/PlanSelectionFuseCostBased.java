@@ -38,6 +38,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.hops.AggBinaryOp;
 import org.apache.sysml.hops.AggUnaryOp;
 import org.apache.sysml.hops.BinaryOp;
+import org.apache.sysml.hops.ConvolutionOp;
 import org.apache.sysml.hops.Hop;
 import org.apache.sysml.hops.Hop.AggOp;
 import org.apache.sysml.hops.Hop.Direction;
@@ -896,6 +897,20 @@ public class PlanSelectionFuseCostBased extends PlanSelection
 					+ "implemented yet for: "+((AggUnaryOp)current).getOp());			
 			}
 		}
+		else if( current instanceof ConvolutionOp ) {
+			switch(((ConvolutionOp)current).getOp()) {
+			case DIRECT_CONV2D: //C*R*S multiply-adds per output cell
+				costs = 2 * Math.max(current.getInput().get(1).getDim2(),1); break;
+			case MAX_POOLING: //approx R*S comparisons per output cell
+				costs = Math.max(current.getInput().get(0).getDim2() 
+					/ Math.max(current.getDim2(),1), 1); break;
+			case BIAS_ADD:
+			case BIAS_MULTIPLY: costs = 1; break;
+			default:
+				LOG.warn("Cost model not "
+					+ "implemented yet for: "+((ConvolutionOp)current).getOp());
+			}
+		}
 		
 		computeCosts.put(current.getHopID(), costs);
 	}
@@ -30,6 +30,7 @@ public abstract class TemplateBase
 		MultiAggTpl,
 		RowTpl,
 		OuterProdTpl,
+		DnnTpl,
 		CellTpl;
 		public int getRank() {
 			return this.ordinal();
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.hops.codegen.template;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+
+import org.apache.sysml.hops.BinaryOp;
+import org.apache.sysml.hops.ConvolutionOp;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.ConvOp;
+import org.apache.sysml.hops.Hop.OpOp2;
+import org.apache.sysml.hops.LiteralOp;
+import org.apache.sysml.hops.UnaryOp;
+import org.apache.sysml.hops.codegen.cplan.CNode;
+import org.apache.sysml.hops.codegen.cplan.CNodeBinary;
+import org.apache.sysml.hops.codegen.cplan.CNodeBinary.BinType;
+import org.apache.sysml.hops.codegen.cplan.CNodeData;
+import org.apache.sysml.hops.codegen.cplan.CNodeDnn;
+import org.apache.sysml.hops.codegen.cplan.CNodeTpl;
+import org.apache.sysml.hops.codegen.cplan.CNodeUnary;
+import org.apache.sysml.hops.codegen.cplan.CNodeUnary.UnaryType;
+import org.apache.sysml.hops.codegen.template.CPlanMemoTable.MemoTableEntry;
+import org.apache.sysml.hops.rewrite.HopRewriteUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.ConvolutionParameters;
+import org.apache.sysml.runtime.matrix.data.Pair;
+
+/**
+ * Template for fused convolution pipelines, opened at conv2d and fused
+ * with subsequent bias_add/bias_multiply and cellwise operations (e.g., 
+ * relu), and closed at an optional max_pool. The generated operator 
+ * computes the convolution per image and applies the cellwise operations
+ * and pooling while the per-image intermediate is still in cache.
+ */
+public class TemplateDnn extends TemplateBase 
+{
+	public TemplateDnn() {
+		super(TemplateType.DnnTpl);
+	}
+	
+	public TemplateDnn(boolean closed) {
+		super(TemplateType.DnnTpl, closed);
+	}
+	
+	@Override
+	public boolean open(Hop hop) {
+		//open on conv2d with literal parameters and known filter
+		if( !HopRewriteUtils.isConvolution(hop, ConvOp.DIRECT_CONV2D) )
+			return false;
+		ConvolutionParameters params = getValidParams((ConvolutionOp)hop);
+		Hop filter = hop.getInput().get(1);
+		return params != null && params.K > 0
+			&& filter.getDim1() == params.K 
+			&& filter.getDim2() == (long)params.C * params.R * params.S;
+	}
+
+	@Override
+	public boolean fuse(Hop hop, Hop input) {
+		//note: the intermediates are never materialized, so we only 
+		//fuse operations over inputs without additional consumers
+		return !isClosed() && input.getParent().size()==1
+			&& ((HopRewriteUtils.isConvolution(hop, ConvOp.BIAS_ADD, ConvOp.BIAS_MULTIPLY)
+				&& hop.getInput().get(0)==input)
+			|| (hop instanceof UnaryOp && hop.getDataType().isMatrix() 
+				&& TemplateUtils.isOperationSupported(hop))
+			|| (HopRewriteUtils.isBinaryMatrixScalarOperation(hop)
+				&& TemplateUtils.isOperationSupported(hop))
+			|| (HopRewriteUtils.isConvolution(hop, ConvOp.MAX_POOLING)
+				&& hop.getInput().get(0)==input && isValidPooling((ConvolutionOp)hop)));
+	}
+
+	@Override
+	public boolean merge(Hop hop, Hop input) {
+		return false;
+	}
+
+	@Override
+	public CloseType close(Hop hop) {
+		//close on max pooling (no further operations over pooled windows)
+		return HopRewriteUtils.isConvolution(hop, ConvOp.MAX_POOLING) ?
+			CloseType.CLOSED_VALID : CloseType.OPEN;
+	}
+
+	@Override
+	public Pair<Hop[], CNodeTpl> constructCplan(Hop hop, CPlanMemoTable memo, boolean compileLiterals) 
+	{
+		//recursively process required cplan output
+		LinkedHashSet<Hop> inHops = new LinkedHashSet<Hop>();
+		HashMap<Long, CNode> tmp = new HashMap<Long, CNode>();
+		HashMap<String, Hop> inHops2 = new HashMap<String, Hop>();
+		hop.resetVisitStatus();
+		rConstructCplan(hop, memo, tmp, inHops, inHops2, compileLiterals);
+		hop.resetVisitStatus();
+		
+		//reorder inputs (images and filter first) and prune literals
+		ConvolutionOp conv = (ConvolutionOp) inHops2.get("_conv");
+		ConvolutionOp pool = (ConvolutionOp) inHops2.get("_pool");
+		ArrayList<Hop> sinHops = new ArrayList<Hop>();
+		sinHops.add(conv.getInput().get(0));
+		sinHops.add(conv.getInput().get(1));
+		for( Hop in : inHops )
+			if( !(in.getDataType().isScalar() && tmp.get(in.getHopID()).isLiteral()) )
+				sinHops.add(in);
+		
+		//construct template node
+		ArrayList<CNode> inputs = new ArrayList<CNode>();
+		inputs.add(TemplateUtils.createCNodeData(sinHops.get(0), compileLiterals));
+		inputs.add(TemplateUtils.createCNodeData(sinHops.get(1), compileLiterals));
+		for( int i=2; i<sinHops.size(); i++ )
+			inputs.add(tmp.get(sinHops.get(i).getHopID()));
+		CNode output = tmp.get(hop.getHopID());
+		CNodeDnn tpl = new CNodeDnn(inputs, output, (CNodeData)tmp.get(conv.getHopID()), 
+			getConvParams(getValidParams(conv)), (pool != null) ? 
+			getPoolParams(getValidParams(pool)) : null);
+		tpl.setBeginLine(hop.getBeginLine());
+		
+		// return cplan instance
+		return new Pair<Hop[],CNodeTpl>(sinHops.toArray(new Hop[0]), tpl);
+	}
+	
+	private void rConstructCplan(Hop hop, CPlanMemoTable memo, HashMap<Long, CNode> tmp, 
+		LinkedHashSet<Hop> inHops, HashMap<String, Hop> inHops2, boolean compileLiterals) 
+	{
+		//memoization for common subexpression elimination and to avoid redundant work 
+		if( tmp.containsKey(hop.getHopID()) )
+			return;
+		
+		//convolution output as placeholder for cell values of the fused operator
+		if( HopRewriteUtils.isConvolution(hop, ConvOp.DIRECT_CONV2D) ) {
+			tmp.put(hop.getHopID(), TemplateUtils.createCNodeData(hop, compileLiterals));
+			inHops2.put("_conv", hop);
+			return;
+		}
+		
+		//recursively process required childs
+		MemoTableEntry me = memo.getBest(hop.getHopID(), TemplateType.DnnTpl);
+		for( int i=0; i<hop.getInput().size(); i++ ) {
+			Hop c = hop.getInput().get(i);
+			if( me!=null && me.isPlanRef(i) )
+				rConstructCplan(c, memo, tmp, inHops, inHops2, compileLiterals);
+			else if( !HopRewriteUtils.isConvolution(hop, ConvOp.MAX_POOLING) ) {
+				CNodeData cdata = TemplateUtils.createCNodeData(c, compileLiterals);
+				tmp.put(c.getHopID(), cdata);
+				inHops.add(c);
+			}
+		}
+		
+		//construct cnode for current hop
+		CNode out = null;
+		if( HopRewriteUtils.isConvolution(hop, ConvOp.BIAS_ADD, ConvOp.BIAS_MULTIPLY) ) {
+			//bias as column vector of length K, looked up by channel
+			CNode cdata1 = tmp.get(hop.getInput().get(0).getHopID());
+			CNode cdata2 = new CNodeUnary(tmp.get(hop.getInput().get(1).getHopID()), UnaryType.LOOKUP_R);
+			out = new CNodeBinary(cdata1, cdata2, (((ConvolutionOp)hop).getOp()==ConvOp.BIAS_ADD) ? 
+				BinType.PLUS : BinType.MULT);
+		}
+		else if( HopRewriteUtils.isConvolution(hop, ConvOp.MAX_POOLING) ) {
+			//max pooling handled in template implementation
+			out = tmp.get(hop.getInput().get(0).getHopID());
+			inHops2.put("_pool", hop);
+		}
+		else if( hop instanceof UnaryOp ) {
+			CNode cdata1 = tmp.get(hop.getInput().get(0).getHopID());
+			String primitiveOpName = ((UnaryOp)hop).getOp().name();
+			out = new CNodeUnary(cdata1, UnaryType.valueOf(primitiveOpName));
+		}
+		else if( hop instanceof BinaryOp ) {
+			BinaryOp bop = (BinaryOp) hop;
+			CNode cdata1 = tmp.get(hop.getInput().get(0).getHopID());
+			CNode cdata2 = tmp.get(hop.getInput().get(1).getHopID());
+			String primitiveOpName = bop.getOp().name();
+			
+			if( bop.getOp()==OpOp2.POW && cdata2.isLiteral() && cdata2.getVarname().equals("2") )
+				out = new CNodeUnary(cdata1, UnaryType.POW2);
+			else if( bop.getOp()==OpOp2.MULT && cdata2.isLiteral() && cdata2.getVarname().equals("2") )
+				out = new CNodeUnary(cdata1, UnaryType.MULT2);
+			else //default binary	
+				out = new CNodeBinary(cdata1, cdata2, BinType.valueOf(primitiveOpName));
+		}
+		
+		tmp.put(hop.getHopID(), out);
+	}
+	
+	private static boolean isValidPooling(ConvolutionOp pool) {
+		//pooling over the channels and output dims of the fused conv2d
+		ConvolutionParameters pparams = getValidParams(pool);
+		Hop conv = pool.getInput().get(0);
+		while( conv != null && !HopRewriteUtils.isConvolution(conv, ConvOp.DIRECT_CONV2D) )
+			conv = getMainInput(conv);
+		ConvolutionParameters cparams = (conv != null) ? 
+			getValidParams((ConvolutionOp)conv) : null;
+		return pparams != null && cparams != null
+			&& pparams.C == cparams.K && pparams.H == cparams.P 
+			&& pparams.W == cparams.Q && pparams.P > 0 && pparams.Q > 0;
+	}
+	
+	private static Hop getMainInput(Hop hop) {
+		if( HopRewriteUtils.isConvolution(hop, ConvOp.BIAS_ADD, ConvOp.BIAS_MULTIPLY) 
+			|| hop instanceof UnaryOp )
+			return hop.getInput().get(0);
+		else if( hop instanceof BinaryOp )
+			return hop.getInput().get(hop.getInput().get(0).getDataType().isMatrix() ? 0 : 1);
+		return null;
+	}
+	
+	private static ConvolutionParameters getValidParams(ConvolutionOp hop) {
+		//literal parameters required to compile them into the operator
+		int start = (hop.getOp()==ConvOp.DIRECT_CONV2D) ? 2 : 1;
+		for( int i=start; i<hop.getInput().size(); i++ )
+			if( !(hop.getInput().get(i) instanceof LiteralOp) )
+				return null;
+		try {
+			ConvolutionParameters params = hop.parseInput();
+			boolean valid = params.C > 0 && params.H > 0 && params.W > 0 
+				&& params.R > 0 && params.S > 0 && params.stride_h > 0 && params.stride_w > 0
+				&& params.pad_h >= 0 && params.pad_w >= 0 && params.P > 0 && params.Q > 0;
+			return valid ? params : null;
+		}
+		catch(DMLRuntimeException ex) {
+			return null;
+		}
+	}
+	
+	private static int[] getConvParams(ConvolutionParameters p) {
+		return new int[]{p.C, p.H, p.W, p.K, p.R, p.S, 
+			p.stride_h, p.stride_w, p.pad_h, p.pad_w};
+	}
+	
+	private static int[] getPoolParams(ConvolutionParameters p) {
+		return new int[]{p.R, p.S, p.stride_h, p.stride_w, p.pad_h, p.pad_w};
+	}
+}
@@ -144,8 +144,8 @@ public class TemplateRow extends TemplateBase
 		CNode output = tmp.get(hop.getHopID());
 		CNodeRow tpl = new CNodeRow(inputs, output);
 		tpl.setRowType(TemplateUtils.getRowType(hop, sinHops[0]));
-		tpl.setNumVectorIntermediates(TemplateUtils
-			.countVectorIntermediates(output, new HashSet<Long>()));
+		tpl.setNumVectorIntermediates(TemplateUtils //incl densified main input
+			.countVectorIntermediates(output, new HashSet<Long>()) + 1);
 		tpl.getOutput().resetVisitStatus();
 		tpl.rReorderCommutativeBinaryOps(tpl.getOutput(), sinHops[0].getHopID());
 		tpl.setBeginLine(hop.getBeginLine());
@@ -57,7 +57,7 @@ import org.apache.sysml.runtime.util.UtilFunctions;
 
 public class TemplateUtils 
 {
-	public static final TemplateBase[] TEMPLATES = new TemplateBase[]{new TemplateRow(), new TemplateCell(), new TemplateOuterProduct()};
+	public static final TemplateBase[] TEMPLATES = new TemplateBase[]{new TemplateRow(), new TemplateCell(), new TemplateOuterProduct(), new TemplateDnn()};
 	
 	public static boolean isVector(Hop hop) {
 		return (hop.getDataType() == DataType.MATRIX 
@@ -221,6 +221,7 @@ public class TemplateUtils
 			case RowTpl: tpl = new TemplateRow(closed); break;
 			case MultiAggTpl: tpl = new TemplateMultiAgg(closed); break;
 			case OuterProdTpl: tpl = new TemplateOuterProduct(closed); break;
+			case DnnTpl: tpl = new TemplateDnn(closed); break;
 		}
 		return tpl;
 	}
@@ -232,6 +233,7 @@ public class TemplateUtils
 			case RowTpl: tpl = new TemplateBase[]{new TemplateRow(closed)}; break;
 			case MultiAggTpl: tpl = new TemplateBase[]{new TemplateMultiAgg(closed)}; break;
 			case OuterProdTpl: tpl = new TemplateBase[]{new TemplateOuterProduct(closed)}; break;
+			case DnnTpl: tpl = new TemplateBase[]{new TemplateDnn(closed)}; break;
 		}
 		return tpl;
 	}
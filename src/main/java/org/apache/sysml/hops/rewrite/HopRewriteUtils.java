@@ -30,9 +30,11 @@ import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.AggBinaryOp;
 import org.apache.sysml.hops.AggUnaryOp;
 import org.apache.sysml.hops.BinaryOp;
+import org.apache.sysml.hops.ConvolutionOp;
 import org.apache.sysml.hops.DataOp;
 import org.apache.sysml.hops.Hop;
 import org.apache.sysml.hops.Hop.AggOp;
+import org.apache.sysml.hops.Hop.ConvOp;
 import org.apache.sysml.hops.Hop.DataGenMethod;
 import org.apache.sysml.hops.DataGenOp;
 import org.apache.sysml.hops.Hop.DataOpTypes;
@@ -792,6 +794,11 @@ public class HopRewriteUtils
 			&& ArrayUtils.contains(types, ((BinaryOp) hop).getOp()));
 	}
 	
+	public static boolean isConvolution(Hop hop, ConvOp... types) {
+		return ( hop instanceof ConvolutionOp 
+			&& ArrayUtils.contains(types, ((ConvolutionOp) hop).getOp()));
+	}
+	
 	public static boolean isBinary(Hop hop, OpOp2 type, int maxParents) {
 		return isBinary(hop, type) && hop.getParent().size() <= maxParents;
 	}
@@ -40,6 +40,7 @@ public class SortKeys extends Lop
 	
 	private OperationTypes operation;
 	private boolean descending = false;
+	private int _numThreads = 1;
 	
 	public OperationTypes getOpType() {
 		return operation;
@@ -61,6 +62,10 @@ public class SortKeys extends Lop
 		init(input1, input2, op, et);
 	}
 	
+	public void setNumThreads(int k) {
+		_numThreads = k;
+	}
+	
 	private void init(Lop input1, Lop input2, OperationTypes op, ExecType et) {
 		this.addInput(input1);
 		input1.addOutput(this);
@@ -119,6 +124,10 @@ public class SortKeys extends Lop
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( descending );
 		}
+		else if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
 		
 		return sb.toString();
 	}
@@ -136,6 +145,11 @@ public class SortKeys extends Lop
 		sb.append( Lop.OPERAND_DELIMITOR );
 		sb.append( this.prepOutputOperand(output));
 		
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
@@ -144,7 +158,13 @@ public class SortKeys extends Lop
 	// 2) Unweighted SortKeys executes in CP
 	public static SortKeys constructSortByValueLop(Lop input1, OperationTypes op, 
 			DataType dt, ValueType vt, ExecType et) {
+		return constructSortByValueLop(input1, op, dt, vt, et, 1);
+	}
+	
+	public static SortKeys constructSortByValueLop(Lop input1, OperationTypes op, 
+			DataType dt, ValueType vt, ExecType et, int k) {
 		
+		//reuse existing sort of the same input (e.g., median and quantiles)
 		for (Lop lop  : input1.getOutputs()) {
 			if ( lop.type == Lop.Type.SortKeys ) {
 				return (SortKeys)lop;
@@ -152,6 +172,7 @@ public class SortKeys extends Lop
 		}
 		
 		SortKeys retVal = new SortKeys(input1, op, dt, vt, et);
+		retVal.setNumThreads(k);
 		retVal.setAllPositions(input1.getBeginLine(), input1.getBeginColumn(), input1.getEndLine(), input1.getEndColumn());
 		return retVal;
 	}
@@ -159,6 +180,11 @@ public class SortKeys extends Lop
 	// This method is invoked ONLY for the case of Weighted SortKeys executing in CP
 	public static SortKeys constructSortByValueLop(Lop input1, Lop input2, OperationTypes op, 
 			DataType dt, ValueType vt, ExecType et) {
+		return constructSortByValueLop(input1, input2, op, dt, vt, et, 1);
+	}
+	
+	public static SortKeys constructSortByValueLop(Lop input1, Lop input2, OperationTypes op, 
+			DataType dt, ValueType vt, ExecType et, int k) {
 		
 		HashSet<Lop> set1 = new HashSet<Lop>();
 		set1.addAll(input1.getOutputs());
@@ -172,6 +198,7 @@ public class SortKeys extends Lop
 		}
 		
 		SortKeys retVal = new SortKeys(input1, input2, op, dt, vt, et);
+		retVal.setNumThreads(k);
 		retVal.setAllPositions(input1.getBeginLine(), input1.getBeginColumn(), input1.getEndLine(), input1.getEndColumn());
 		return retVal;
 	}
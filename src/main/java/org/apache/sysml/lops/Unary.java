@@ -65,8 +65,24 @@ public class Unary extends Lop
 	 * @param et execution type
 	 */
 	public Unary(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt, ExecType et) {
+		this(input1, input2, op, dt, vt, et, 1);
+	}
+	
+	/**
+	 * Constructor to perform a unary operation with 2 inputs
+	 * 
+	 * @param input1 low-level operator 1
+	 * @param input2 low-level operator 2
+	 * @param op operation type
+	 * @param dt data type
+	 * @param vt value type
+	 * @param et execution type
+	 * @param numThreads number of threads
+	 */
+	public Unary(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt, ExecType et, int numThreads) {
 		super(Lop.Type.UNARY, dt, vt);
 		init(input1, input2, op, dt, vt, et);
+		_numThreads = numThreads;
 	}
 
 	private void init(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt, ExecType et) {
@@ -328,6 +344,29 @@ public class Unary extends Lop
 			|| op==OperationTypes.CUMMAX;
 	}
 	
+	public static boolean isMultiThreadedBuiltinOp(OperationTypes op) {
+		return op==OperationTypes.EXP || op==OperationTypes.SQRT
+			|| op==OperationTypes.ABS || op==OperationTypes.ROUND
+			|| op==OperationTypes.FLOOR || op==OperationTypes.CEIL
+			|| op==OperationTypes.SIN || op==OperationTypes.COS
+			|| op==OperationTypes.TAN || op==OperationTypes.ASIN
+			|| op==OperationTypes.ACOS || op==OperationTypes.ATAN
+			|| op==OperationTypes.SIGN || op==OperationTypes.SPROP
+			|| op==OperationTypes.SIGMOID || op==OperationTypes.SELP;
+	}
+	
+	public static boolean isMultiThreadedOp(OperationTypes op) {
+		return op==OperationTypes.ADD || op==OperationTypes.SUBTRACT
+			|| op==OperationTypes.SUBTRACT_NZ || op==OperationTypes.MULTIPLY
+			|| op==OperationTypes.MULTIPLY2 || op==OperationTypes.MINUS1_MULTIPLY
+			|| op==OperationTypes.DIVIDE || op==OperationTypes.MODULUS
+			|| op==OperationTypes.INTDIV || op==OperationTypes.POW
+			|| op==OperationTypes.POW2 || op==OperationTypes.LESS_THAN
+			|| op==OperationTypes.LESS_THAN_OR_EQUALS || op==OperationTypes.GREATER_THAN
+			|| op==OperationTypes.GREATER_THAN_OR_EQUALS || op==OperationTypes.EQUALS
+			|| op==OperationTypes.NOT_EQUALS;
+	}
+	
 	@Override
 	public String getInstructions(String input1, String output) 
 		throws LopsException 
@@ -348,8 +387,9 @@ public class Unary extends Lop
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( prepOutputOperand(output) );
 		
-		//num threads for cumulative cp ops
-		if( getExecType() == ExecType.CP && isCumulativeOp(operation) ) {
+		//num threads for cumulative and builtin cp ops
+		if( getExecType() == ExecType.CP && (isCumulativeOp(operation)
+			|| (getDataType() == DataType.MATRIX && isMultiThreadedBuiltinOp(operation))) ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( _numThreads );
 		}
@@ -387,6 +427,13 @@ public class Unary extends Lop
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( this.prepOutputOperand(output));
 		
+		//num threads for matrix-scalar arithmetic/relational cp ops
+		if( getExecType() == ExecType.CP && getDataType() == DataType.MATRIX 
+			&& isMultiThreadedOp(operation) ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
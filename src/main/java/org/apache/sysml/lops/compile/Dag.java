@@ -656,7 +656,11 @@ public class Dag<N extends Lop>
 					try {
 						String inst_string = n.getInstructions();						
 						CPInstruction currInstr = CPInstructionParser.parseSingleInstruction(inst_string);
-						currInstr.setLocation(n);						
+						currInstr.setLocation(n);
+						//mark persistent reads for prefetching (only if consumed by CP
+						//instructions, e.g., not if read via spark in hybrid_spark mode)
+						if( currInstr instanceof VariableCPInstruction && isConsumedByCPOnly(n) )
+							((VariableCPInstruction) currInstr).setPersistentRead(true);
 						inst.add(currInstr);
 					} catch (DMLRuntimeException e) {
 						throw new LopsException(n.printErrorLocation() + "error generating instructions from input variables in Dag -- \n", e);
@@ -667,6 +671,15 @@ public class Dag<N extends Lop>
 	}
 	
 	
+	private static boolean isConsumedByCPOnly(Lop n) {
+		if( n.getOutputs().isEmpty() )
+			return false;
+		for( Lop out : n.getOutputs() )
+			if( out.getExecType() != ExecType.CP )
+				return false;
+		return true;
+	}
+	
 	/**
 	 * Determine whether to send <code>node</code> to MR or to process it in the control program.
 	 * It is sent to MR in the following cases:
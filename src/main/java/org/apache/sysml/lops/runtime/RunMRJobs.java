@@ -36,6 +36,7 @@ import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.caching.WriteBehindQueue;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.mqo.RuntimePiggybacking;
 import org.apache.sysml.runtime.instructions.MRInstructionParser;
@@ -95,6 +96,10 @@ public class RunMRJobs
 		// Obtain references to all input matrices 
 		MatrixObject[] inputMatrices = inst.extractInputMatrices(ec);
 		
+		// wait for pending async writes of job inputs
+		for(MatrixObject m : inputMatrices)
+			WriteBehindQueue.await(m.getFileName());
+		
 		// export dirty matrices to HDFS
 		// note: for REBLOCK postponed until we know if necessary
 		if( !(inst.getJobType() == JobType.REBLOCK) )
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.matrix.data.Pair;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+
+/**
+ * Persistent, on-disk cache of compiled codegen operator classes, which 
+ * allows the reuse of generated operators across processes (e.g., repeated
+ * spark-submits or JMLC service restarts) without recompilation.
+ * 
+ * Classes are keyed by a stable hash of their normalized source code, 
+ * where the class name and all generated variable names are replaced by
+ * names in order of first occurrence. The source code is the canonical 
+ * representation of a cplan, including its compiled literals, and hence
+ * the key of equivalent cplans is independent of the generating process.
+ * Cached classes are named after this key, and their bytecode is stored 
+ * in a subdirectory per SystemML and Java version, where stale version
+ * subdirectories are removed on initialization.
+ * 
+ * The cache is disabled by default and configured via codegen.classcache, 
+ * which specifies the cache directory.
+ */
+public class CodegenClassCache 
+{
+	private static final Log LOG = LogFactory.getLog(CodegenClassCache.class.getName());
+	
+	//class name prefix of cached classes (distinct from generated variable names)
+	public static final String CLASS_PREFIX = "TMPC";
+	
+	//prefix of version-specific subdirectories 
+	private static final String VERSION_PREFIX = "sysml-";
+	
+	//pattern of generated class and variable names
+	private static final Pattern VAR_PATTERN = Pattern.compile("\\bTMP\\d+\\b");
+	private static final String CLASS_PLACEHOLDER = "%CLASS%";
+	
+	//configured and version-specific cache directory
+	private static String _confDir = null;
+	private static String _dir = null;
+	private static String _version = null;
+	
+	/**
+	 * Obtains the version-specific cache directory according to the
+	 * current configuration, and creates it on demand.
+	 * 
+	 * @return cache directory, or null if disabled 
+	 */
+	public static synchronized String getCacheDir() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		String dir = (conf != null) ? conf.getTextValue(DMLConfig.CODEGEN_CLASSCACHE) : null;
+		if( dir == null || dir.trim().isEmpty() || dir.trim().equalsIgnoreCase("none") )
+			return null;
+		dir = dir.trim();
+		
+		//create versioned directory on first use or config change
+		if( !dir.equals(_confDir) ) {
+			String vdir = dir + File.separator + VERSION_PREFIX + getVersion();
+			try {
+				Files.createDirectories(new File(vdir).toPath());
+				removeStaleVersions(new File(dir), new File(vdir).getName());
+			}
+			catch(IOException ex) {
+				LOG.warn("Failed to create codegen class cache directory "+vdir+".", ex);
+				return null;
+			}
+			_confDir = dir;
+			_dir = vdir;
+		}
+		return _dir;
+	}
+	
+	public static boolean isEnabled() {
+		return getCacheDir() != null;
+	}
+	
+	/**
+	 * Normalizes the generated source code of a class by renaming all
+	 * generated variables in order of first occurrence, and renaming the
+	 * class after the hash of the normalized source code.
+	 * 
+	 * @param name fully qualified class name
+	 * @param src generated source code
+	 * @return pair of fully qualified class name and source code 
+	 */
+	public static Pair<String,String> normalize(String name, String src) {
+		int pos = name.lastIndexOf('.');
+		String pkg = name.substring(0, pos+1);
+		HashMap<String,String> map = new HashMap<String,String>();
+		map.put(name.substring(pos+1), CLASS_PLACEHOLDER);
+		
+		//rename variables in order of first occurrence
+		Matcher m = VAR_PATTERN.matcher(src);
+		StringBuffer sb = new StringBuffer(src.length());
+		while( m.find() ) {
+			String var = map.get(m.group());
+			if( var == null )
+				map.put(m.group(), var = "TMP"+map.size());
+			m.appendReplacement(sb, Matcher.quoteReplacement(var));
+		}
+		m.appendTail(sb);
+		
+		//rename class after the hash of the normalized source code
+		String cname = CLASS_PREFIX + hash(getVersion() + "\n" + sb.toString());
+		return new Pair<String,String>(pkg + cname,
+			sb.toString().replace(CLASS_PLACEHOLDER, cname));
+	}
+	
+	/**
+	 * Reads the bytecode of the given class from the cache.
+	 * 
+	 * @param name fully qualified class name
+	 * @return bytecode, or null if not cached
+	 */
+	public static byte[] readClass(String name) {
+		String dir = getCacheDir();
+		if( dir == null )
+			return null;
+		File f = new File(dir, name + ".class");
+		if( !f.exists() )
+			return null;
+		try {
+			return Files.readAllBytes(f.toPath());
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to read cached codegen class "+f.getPath()+".", ex);
+			return null;
+		}
+	}
+	
+	/**
+	 * Writes the bytecode of the given class to the cache, where files are
+	 * written to a temporary file and then renamed, such that concurrent 
+	 * processes never observe partially written classes. 
+	 * 
+	 * @param name fully qualified class name
+	 * @param classBytes bytecode
+	 */
+	public static void writeClass(String name, byte[] classBytes) {
+		String dir = getCacheDir();
+		if( dir == null || classBytes == null )
+			return;
+		File f = new File(dir, name + ".class");
+		File ftmp = new File(dir, name + ".class." + UUID.randomUUID());
+		try {
+			Files.write(ftmp.toPath(), classBytes);
+			try {
+				Files.move(ftmp.toPath(), f.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch(AtomicMoveNotSupportedException ex) {
+				Files.move(ftmp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to write cached codegen class "+f.getPath()+".", ex);
+			ftmp.delete();
+		}
+	}
+	
+	/**
+	 * Obtains the version used for invalidation, composed of the SystemML
+	 * version (or the modification time of non-packaged builds) and the 
+	 * Java specification version.
+	 * 
+	 * @return version string
+	 */
+	private static synchronized String getVersion() {
+		if( _version == null ) {
+			String version = CodegenClassCache.class.getPackage().getImplementationVersion();
+			if( version == null ) {
+				File loc = new File(CodegenClassCache.class.getProtectionDomain()
+					.getCodeSource().getLocation().getPath());
+				version = "dev" + loc.lastModified();
+			}
+			_version = (version + "-java" + System.getProperty("java.specification.version"))
+				.replaceAll("[^a-zA-Z0-9._-]", "_");
+		}
+		return _version;
+	}
+	
+	private static void removeStaleVersions(File dir, String current) {
+		File[] files = dir.listFiles();
+		if( files == null )
+			return;
+		for( File f : files )
+			if( f.isDirectory() && f.getName().startsWith(VERSION_PREFIX) 
+				&& !f.getName().equals(current) ) {
+				LOG.debug("Removing stale codegen class cache "+f.getPath()+".");
+				LocalFileUtils.rDelete(f);
+			}
+	}
+	
+	private static String hash(String str) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			byte[] digest = md.digest(str.getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder();
+			for( int i=0; i<16; i++ ) //128bit prefix
+				sb.append(String.format("%02x", digest[i]));
+			return sb.toString();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
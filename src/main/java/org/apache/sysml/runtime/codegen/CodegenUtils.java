@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.codegen;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Arrays;
@@ -40,23 +41,37 @@ import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.hops.codegen.SpoofCompiler;
 import org.apache.sysml.hops.codegen.SpoofCompiler.CompilerType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 import org.apache.sysml.utils.Statistics;
+import org.codehaus.janino.ClassLoaderIClassLoader;
+import org.codehaus.janino.Java;
+import org.codehaus.janino.Parser;
+import org.codehaus.janino.Scanner;
 import org.codehaus.janino.SimpleCompiler;
+import org.codehaus.janino.UnitCompiler;
+import org.codehaus.janino.util.ClassFile;
 
 public class CodegenUtils 
 {
+	private static final Log LOG = LogFactory.getLog(CodegenUtils.class.getName());
+	
 	//cache to reuse compiled and loaded classes 
 	private static ConcurrentHashMap<String, Class<?>> _cache = new ConcurrentHashMap<String,Class<?>>();
 	
 	//janino-specific map of source code transfer/recompile on-demand
 	private static ConcurrentHashMap<String, String> _src = new ConcurrentHashMap<String,String>();
 	
+	//bytecode of classes obtained via the persistent class cache
+	private static ConcurrentHashMap<String, byte[]> _bytes = new ConcurrentHashMap<String,byte[]>();
+	
 	//javac-specific working directory for src/class files
 	private static String _workingDir = null;
 	
@@ -68,6 +83,13 @@ public class CodegenUtils
 		if( ret != null ) 
 			return ret;
 		
+		//reuse or compile class via persistent class cache
+		if( CodegenClassCache.isEnabled() ) {
+			ret = compileClassPersistent(name, src);
+			if( ret != null )
+				return ret;
+		}
+		
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		
 		//compile java source w/ specific compiler
@@ -116,6 +138,8 @@ public class CodegenUtils
 		//get class in a compiler-specific manner
 		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
 			return _src.get(name).getBytes();
+		else if( _bytes.containsKey(name) )
+			return _bytes.get(name);
 		else
 			return getClassAsByteArray(name);
 	}
@@ -123,6 +147,7 @@ public class CodegenUtils
 	public static void clearClassCache() {
 		_cache.clear();
 		_src.clear();
+		_bytes.clear();
 	}
 	
 	public static void clearClassCache(Class<?> cla) {
@@ -131,6 +156,7 @@ public class CodegenUtils
 		while( iter.hasNext() )
 			if( iter.next().getValue()==cla )
 				iter.remove();
+		_bytes.remove(cla.getName());
 	}
 	
 	public static SpoofOperator createInstance(Class<?> cla) 
@@ -148,8 +174,77 @@ public class CodegenUtils
 		return ret;
 	}
 	
+	////////////////////////////
+	//persistent class cache methods
+	
+	private static Class<?> compileClassPersistent(String name, String src) {
+		//rename class after the normalized source code (stable across processes)
+		Pair<String,String> tmp = CodegenClassCache.normalize(name, src);
+		String pname = tmp.getKey();
+		String psrc = tmp.getValue();
+		Class<?> ret = _cache.get(pname);
+		if( ret != null )
+			return ret;
+		
+		try {
+			//probe persistent cache, otherwise compile and persist
+			byte[] classBytes = CodegenClassCache.readClass(pname);
+			if( classBytes != null ) {
+				ret = loadFromClassFile(pname, classBytes);
+				if( DMLScript.STATISTICS )
+					Statistics.incrementCodegenClassCacheHits();
+			}
+			else {
+				long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+				if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO ) {
+					classBytes = compileClassJaninoToBytes(pname, psrc);
+					ret = loadFromClassFile(pname, classBytes);
+				}
+				else {
+					ret = compileClassJavac(pname, psrc);
+					classBytes = getClassAsByteArray(pname);
+				}
+				CodegenClassCache.writeClass(pname, classBytes);
+				if( DMLScript.STATISTICS ) {
+					Statistics.incrementCodegenClassCacheMisses();
+					Statistics.incrementCodegenClassCompile();
+					Statistics.incrementCodegenClassCompileTime(System.nanoTime()-t0);
+				}
+			}
+			
+			//keep source/bytecode for transfer and class for reuse
+			_src.put(pname, psrc);
+			_bytes.put(pname, classBytes);
+			_cache.put(pname, ret);
+			return ret;
+		}
+		catch(Exception ex) {
+			//fallback to regular compilation w/o persistent cache
+			LOG.warn("Failed to obtain class "+pname+" via codegen class cache.", ex);
+			return null;
+		}
+	}
+	
 	////////////////////////////
 	//JANINO-specific methods (used for spark environments)
+	
+	private static byte[] compileClassJaninoToBytes(String name, String src) 
+		throws DMLRuntimeException
+	{
+		try {
+			//compile source code into class files (w/o loading)
+			Java.CompilationUnit cu = new Parser(
+				new Scanner(null, new StringReader(src))).parseCompilationUnit();
+			ClassFile[] cfs = new UnitCompiler(cu, new ClassLoaderIClassLoader(
+				CodegenUtils.class.getClassLoader())).compileUnit(false, false, false);
+			if( cfs.length != 1 )
+				throw new DMLRuntimeException("Unexpected number of class files: "+cfs.length);
+			return cfs[0].toByteArray();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed to compile class "+name+".", ex);
+		}
+	}
 
 	private static Class<?> compileClassJanino(String name, String src) 
 		throws DMLRuntimeException
@@ -26,6 +26,8 @@ import org.apache.commons.math3.util.FastMath;
 import org.apache.sysml.runtime.functionobjects.IntegerDivide;
 import org.apache.sysml.runtime.functionobjects.Modulus;
 import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseRowVector;
 
 /**
  * This library contains all vector primitives that are used in 
@@ -45,6 +47,11 @@ public class LibSpoofPrimitives
 		@Override protected LinkedList<double[]> initialValue() { return new LinkedList<double[]>(); }
 	};
 	
+	//global pool of reusable sparse vectors for sparse intermediates (see memPool)
+	private static ThreadLocal<LinkedList<SparseRowVector>> memPoolSparse = new ThreadLocal<LinkedList<SparseRowVector>>() {
+		@Override protected LinkedList<SparseRowVector> initialValue() { return new LinkedList<SparseRowVector>(); }
+	};
+	
 	// forwarded calls to LibMatrixMult
 	
 	public static double dotProduct(double[] a, double[] b, int ai, int bi, int len) {
@@ -124,6 +131,39 @@ public class LibSpoofPrimitives
 		if( a == null ) return;
 		System.arraycopy(a, 0, c, ci, len);
 	}
+	
+	/**
+	 * Writes the sparse vector A into row rix of the output, which is 
+	 * either a sparse block (if allocated) or a dense row-major array.
+	 * 
+	 * @param a sparse input vector A values
+	 * @param aix sparse input vector A column indexes
+	 * @param ai start position in A
+	 * @param alen number of non-zeros in A
+	 * @param c dense output matrix
+	 * @param cs sparse output matrix, or null
+	 * @param rix row index
+	 * @param len vector length
+	 */
+	public static void vectWrite(double[] a, int[] aix, int ai, int alen, double[] c, SparseBlock cs, int rix, int len) {
+		if( alen == 0 ) return;
+		if( cs != null ) {
+			cs.allocate(rix, alen);
+			for( int j = ai; j < ai+alen; j++ )
+				cs.append(rix, aix[j], a[j]);
+		}
+		else {
+			for( int j = ai, ci = rix*len; j < ai+alen; j++ )
+				c[ci + aix[j]] = a[j];
+		}
+	}
+	
+	public static double[] vectDense(double[] a, int[] aix, int ai, int alen, int len) {
+		double[] c = allocVector(len, true);
+		for( int j = ai; j < ai+alen; j++ )
+			c[aix[j]] = a[j];
+		return c;
+	}
 
 	// custom vector sums, mins, maxs
 	
@@ -160,12 +200,13 @@ public class LibSpoofPrimitives
 	 * @param avals sparse input vector A values A
 	 * @param aix sparse input vector A column indexes
 	 * @param ai start position in A
-	 * @param len number of processed elements
+	 * @param alen number of non-zeros in A
+	 * @param len vector length
 	 * @return sum value
 	 */
-	public static double vectSum(double[] avals, int[] aix, int ai, int len) {
+	public static double vectSum(double[] avals, int[] aix, int ai, int alen, int len) {
 		//forward to dense as column indexes not required here
-		return vectSum(avals, ai, len);
+		return vectSum(avals, ai, alen);
 	}
 	
 	public static double vectMin(double[] a, int ai, int len) { 
@@ -175,11 +216,9 @@ public class LibSpoofPrimitives
 		return val; 
 	}
 	
-	public static double vectMin(double[] avals, int[] aix, int ai, int len) {
-		double val = Double.MAX_VALUE;
-		for( int i = ai; i < ai+len; i++ )
-			val = Math.min(avals[aix[i]], val);
-		return val;
+	public static double vectMin(double[] avals, int[] aix, int ai, int alen, int len) {
+		double val = vectMin(avals, ai, alen);
+		return (alen < len) ? Math.min(val, 0) : val;
 	}
 	
 	public static double vectMax(double[] a, int ai, int len) { 
@@ -189,11 +228,9 @@ public class LibSpoofPrimitives
 		return val; 
 	} 
 	
-	public static double vectMax(double[] avals, int[] aix, int ai, int len) {
-		double val = -Double.MAX_VALUE;
-		for( int i = ai; i < ai+len; i++ )
-			val = Math.max(avals[aix[i]], val);
-		return val;
+	public static double vectMax(double[] avals, int[] aix, int ai, int alen, int len) {
+		double val = vectMax(avals, ai, alen);
+		return (alen < len) ? Math.max(val, 0) : val;
 	}
 	
 	//custom vector div
@@ -1144,6 +1181,130 @@ public class LibSpoofPrimitives
 		return c;
 	}
 	
+	//sparse vector primitives with sparse outputs (for sparse-safe operations 
+	//over sparse inputs, i.e., f(0)=0, which keeps intermediates sparse)
+	
+	public static SparseRowVector vectMultWrite(double[] a, double bval, int[] aix, int ai, int alen, int len) {
+		SparseRowVector c = allocSparseVector(len);
+		if( a == null || bval == 0 ) return c;
+		for( int j = ai; j < ai+alen; j++ )
+			c.append(aix[j], a[j] * bval);
+		return c;
+	}
+	
+	public static SparseRowVector vectMultWrite(double bval, double[] a, int[] aix, int ai, int alen, int len) {
+		return vectMultWrite(a, bval, aix, ai, alen, len);
+	}
+	
+	public static SparseRowVector vectMultWrite(double[] a, double[] b, int[] aix, int ai, int bi, int alen, int len) {
+		SparseRowVector c = allocSparseVector(len);
+		if( a == null || b == null ) return c;
+		for( int j = ai; j < ai+alen; j++ )
+			c.append(aix[j], a[j] * b[bi+aix[j]]);
+		return c;
+	}
+	
+	public static SparseRowVector vectMultWrite(double[] a, double[] b, int[] aix, int[] bix, int ai, int bi, int alen, int blen, int len) {
+		SparseRowVector c = allocSparseVector(len);
+		//intersection of non-zero index sets
+		int apos = ai, bpos = bi;
+		while( apos < ai+alen && bpos < bi+blen ) {
+			if( aix[apos] == bix[bpos] )
+				c.append(aix[apos], a[apos++] * b[bpos++]);
+			else if( aix[apos] < bix[bpos] )
+				apos++;
+			else
+				bpos++;
+		}
+		return c;
+	}
+	
+	public static SparseRowVector vectPlusWrite(double[] a, double[] b, int[] aix, int[] bix, int ai, int bi, int alen, int blen, int len) {
+		SparseRowVector c = allocSparseVector(len);
+		//union of non-zero index sets
+		int apos = ai, bpos = bi;
+		while( apos < ai+alen || bpos < bi+blen ) {
+			if( bpos >= bi+blen || (apos < ai+alen && aix[apos] < bix[bpos]) )
+				c.append(aix[apos], a[apos++]);
+			else if( apos >= ai+alen || bix[bpos] < aix[apos] )
+				c.append(bix[bpos], b[bpos++]);
+			else
+				c.append(aix[apos], a[apos++] + b[bpos++]);
+		}
+		return c;
+	}
+	
+	public static SparseRowVector vectMinusWrite(double[] a, double[] b, int[] aix, int[] bix, int ai, int bi, int alen, int blen, int len) {
+		SparseRowVector c = allocSparseVector(len);
+		//union of non-zero index sets
+		int apos = ai, bpos = bi;
+		while( apos < ai+alen || bpos < bi+blen ) {
+			if( bpos >= bi+blen || (apos < ai+alen && aix[apos] < bix[bpos]) )
+				c.append(aix[apos], a[apos++]);
+			else if( apos >= ai+alen || bix[bpos] < aix[apos] )
+				c.append(bix[bpos], -b[bpos++]);
+			else
+				c.append(aix[apos], a[apos++] - b[bpos++]);
+		}
+		return c;
+	}
+	
+	public static SparseRowVector vectAbsWrite(double[] a, int[] aix, int ai, int alen, int len) {
+		SparseRowVector c = allocSparseVector(len);
+		for( int j = ai; j < ai+alen; j++ )
+			c.append(aix[j], Math.abs(a[j]));
+		return c;
+	}
+	
+	public static SparseRowVector vectRoundWrite(double[] a, int[] aix, int ai, int alen, int len) {
+		SparseRowVector c = allocSparseVector(len);
+		for( int j = ai; j < ai+alen; j++ )
+			c.append(aix[j], Math.round(a[j]));
+		return c;
+	}
+	
+	public static SparseRowVector vectCeilWrite(double[] a, int[] aix, int ai, int alen, int len) {
+		SparseRowVector c = allocSparseVector(len);
+		for( int j = ai; j < ai+alen; j++ )
+			c.append(aix[j], FastMath.ceil(a[j]));
+		return c;
+	}
+	
+	public static SparseRowVector vectFloorWrite(double[] a, int[] aix, int ai, int alen, int len) {
+		SparseRowVector c = allocSparseVector(len);
+		for( int j = ai; j < ai+alen; j++ )
+			c.append(aix[j], FastMath.floor(a[j]));
+		return c;
+	}
+	
+	public static SparseRowVector vectSignWrite(double[] a, int[] aix, int ai, int alen, int len) {
+		SparseRowVector c = allocSparseVector(len);
+		for( int j = ai; j < ai+alen; j++ )
+			c.append(aix[j], FastMath.signum(a[j]));
+		return c;
+	}
+	
+	public static SparseRowVector vectPow2Write(double[] a, int[] aix, int ai, int alen, int len) {
+		SparseRowVector c = allocSparseVector(len);
+		for( int j = ai; j < ai+alen; j++ )
+			c.append(aix[j], a[j] * a[j]);
+		return c;
+	}
+	
+	public static SparseRowVector vectMult2Write(double[] a, int[] aix, int ai, int alen, int len) {
+		SparseRowVector c = allocSparseVector(len);
+		for( int j = ai; j < ai+alen; j++ )
+			c.append(aix[j], a[j] + a[j]);
+		return c;
+	}
+	
+	public static SparseRowVector vectSqrtWrite(double[] a, int[] aix, int ai, int alen, int len) {
+		SparseRowVector c = allocSparseVector(len);
+		for( int j = ai; j < ai+alen; j++ )
+			c.append(aix[j], Math.sqrt(a[j]));
+		return c;
+	}
+	
 	//complex builtin functions that are not directly generated
 	//(included here in order to reduce the number of imports)
 	
@@ -1163,10 +1324,17 @@ public class LibSpoofPrimitives
 		for( int i=0; i<numVectors; i++ )
 			list.addLast(new double[len]);
 		memPool.set(list);
+		
+		//sparse vectors grow on demand up to the vector length
+		LinkedList<SparseRowVector> slist = new LinkedList<SparseRowVector>();
+		for( int i=0; i<numVectors; i++ )
+			slist.addLast(new SparseRowVector(len, len));
+		memPoolSparse.set(slist);
 	}
 	
 	public static void cleanupThreadLocalMemory() {
 		memPool.remove();
+		memPoolSparse.remove();
 	}
 	
 	private static double[] allocVector(int len, boolean reset) {
@@ -1185,5 +1353,21 @@ public class LibSpoofPrimitives
 			Arrays.fill(tmp, 0);
 		return tmp;
 	}
+	
+	private static SparseRowVector allocSparseVector(int len) {
+		LinkedList<SparseRowVector> list = memPoolSparse.get();
+		
+		//sanity check for missing setup
+		if( list.isEmpty() )
+			return new SparseRowVector(len, len);
+		
+		//get and re-queue first entry
+		SparseRowVector tmp = list.removeFirst();
+		list.addLast(tmp);
+		
+		//reset vector (sparse vectors are always reset)
+		tmp.reset(len, len);
+		return tmp;
+	}
 }
 
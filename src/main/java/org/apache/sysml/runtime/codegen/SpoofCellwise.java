@@ -27,17 +27,19 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.compress.BitmapEncoder;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupValue;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.functionobjects.KahanPlusSq;
+import org.apache.sysml.runtime.functionobjects.Plus;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
@@ -45,6 +47,7 @@ import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 public abstract class SpoofCellwise extends SpoofOperator implements Serializable
@@ -127,25 +130,46 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		boolean sparseSafe = isSparseSafe() || (b.length == 0 
 				&& genexec( 0, b, scalars, m, n, 0, 0 ) == 0);
 		
+		//per-distinct-value evaluation over compressed column groups
+		double[][] dicts = isDistinctValueEvaluable(inputs, 1) ? 
+			evalDictionaries((CompressedMatrixBlock)inputs.get(0), 
+				(v, j) -> genexec(v, b, scalars, m, n, 0, j)) : null;
+		
 		double ret = 0;
-		if( k <= 1 ) //SINGLE-THREADED
+		if( dicts != null && k <= 1 ) //SINGLE-THREADED, PER-DISTINCT-VALUE
+		{
+			CompressedMatrixBlock a = (CompressedMatrixBlock)inputs.get(0);
+			ret = executeCompressedDistinctAndAgg(a, b, scalars, dicts, m, n, 0, a.getNumColGroups());
+		}
+		else if( k <= 1 ) //SINGLE-THREADED
 		{
 			if( inputs.get(0) instanceof CompressedMatrixBlock )
 				ret = executeCompressedAndAgg((CompressedMatrixBlock)inputs.get(0), b, scalars, m, n, sparseSafe, 0, m);
 			else if( !inputs.get(0).isInSparseFormat() )
-				ret = executeDenseAndAgg(inputs.get(0).getDenseBlock(), b, scalars, m, n, sparseSafe, 0, m);
+				ret = executeDenseAndAgg(inputs.get(0).getDenseBlockValues(), b, scalars, m, n, sparseSafe, 0, m);
 			else
 				ret = executeSparseAndAgg(inputs.get(0).getSparseBlock(), b, scalars, m, n, sparseSafe, 0, m);
 		}
 		else  //MULTI-THREADED
 		{
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
-				ArrayList<ParAggTask> tasks = new ArrayList<ParAggTask>();
-				int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
-				int blklen = (int)(Math.ceil((double)m/nk));
-				for( int i=0; i<nk & i*blklen<m; i++ )
-					tasks.add(new ParAggTask(inputs.get(0), b, scalars, m, n, sparseSafe, i*blklen, Math.min((i+1)*blklen, m))); 
+				ExecutorService pool = CommonThreadPool.get( k );
+				ArrayList<Callable<Double>> tasks = new ArrayList<Callable<Double>>();
+				if( dicts != null ) {
+					//parallelize over column groups
+					int numCG = ((CompressedMatrixBlock)inputs.get(0)).getNumColGroups();
+					int blklen = (int)(Math.ceil((double)numCG/k));
+					for( int j=0; j<k & j*blklen<numCG; j++ )
+						tasks.add(new ParDistinctAggTask((CompressedMatrixBlock)inputs.get(0), 
+							b, scalars, dicts, m, n, j*blklen, Math.min((j+1)*blklen, numCG)));
+				}
+				else {
+					//parallelize over row partitions
+					int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
+					int blklen = (int)(Math.ceil((double)m/nk));
+					for( int i=0; i<nk & i*blklen<m; i++ )
+						tasks.add(new ParAggTask(inputs.get(0), b, scalars, m, n, sparseSafe, i*blklen, Math.min((i+1)*blklen, m))); 
+				}
 				//execute tasks
 				List<Future<Double>> taskret = pool.invokeAll(tasks);	
 				pool.shutdown();
@@ -160,6 +184,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 					ret = kbuff._sum;	
 				}
 				else {
+					ret = (_aggOp==AggOp.MIN) ? Double.MAX_VALUE : -Double.MAX_VALUE;
 					for( Future<Double> task : taskret )
 						ret = vfun.execute(ret, task.get());
 				}
@@ -207,6 +232,11 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		boolean sparseSafe = isSparseSafe() || (b.length == 0
 				&& genexec( 0, b, scalars, m, n, 0, 0 ) == 0);
 		
+		//per-distinct-value evaluation over compressed column groups
+		double[][] dicts = isDistinctValueEvaluable(inputs, 1) ? 
+			evalDictionaries((CompressedMatrixBlock)a, 
+				(v, j) -> genexec(v, b, scalars, m, n, 0, j)) : null;
+		
 		//result allocation and preparations
 		boolean sparseOut = sparseSafe && a.isInSparseFormat()
 				&& _type == CellType.NO_AGG;
@@ -218,16 +248,16 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		if( k <= 1 ) //SINGLE-THREADED
 		{
 			if( inputs.get(0) instanceof CompressedMatrixBlock )
-				lnnz = executeCompressed((CompressedMatrixBlock)a, b, scalars, out, m, n, sparseSafe, 0, m);
+				lnnz = executeCompressed((CompressedMatrixBlock)a, b, scalars, dicts, out, m, n, sparseSafe, 0, m);
 			else if( !inputs.get(0).isInSparseFormat() )
-				lnnz = executeDense(a.getDenseBlock(), b, scalars, out, m, n, sparseSafe, 0, m);
+				lnnz = executeDense(a.getDenseBlockValues(), b, scalars, out, m, n, sparseSafe, 0, m);
 			else
 				lnnz = executeSparse(a.getSparseBlock(), b, scalars, out, m, n, sparseSafe, 0, m);
 		}
 		else  //MULTI-THREADED
 		{
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ExecutorService pool = CommonThreadPool.get( k );
 				ArrayList<ParExecTask> tasks = new ArrayList<ParExecTask>();
 				int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
 				int blklen = (int)(Math.ceil((double)m/nk));
@@ -235,7 +265,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 					&& k/2*BitmapEncoder.BITMAP_BLOCK_SZ < m)
 					blklen = BitmapEncoder.getAlignedBlocksize(blklen);
 				for( int i=0; i<nk & i*blklen<m; i++ )
-					tasks.add(new ParExecTask(a, b, scalars, out, m, n,
+					tasks.add(new ParExecTask(a, b, scalars, dicts, out, m, n,
 						sparseSafe, i*blklen, Math.min((i+1)*blklen, m))); 
 				//execute tasks
 				List<Future<Long>> taskret = pool.invokeAll(tasks);	
@@ -262,7 +292,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 			MatrixBlock out, int m, int n, boolean sparseSafe, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		
 		if( _type == CellType.NO_AGG ) {
 			return executeDenseNoAgg(a, b, scalars, c, m, n, sparseSafe, rl, ru);
@@ -323,35 +353,21 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 	}
 	
 	private long executeCompressed(CompressedMatrixBlock a, SideInput[] b, double[] scalars, 
-			MatrixBlock out, int m, int n, boolean sparseSafe, int rl, int ru) 
+			double[][] dicts, MatrixBlock out, int m, int n, boolean sparseSafe, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
 		if( _type == CellType.NO_AGG ) {
-			long lnnz = executeCompressedNoAgg(a, b, scalars, out, m, n, sparseSafe, rl, ru);
+			long lnnz = executeCompressedNoAgg(a, b, scalars, dicts, out, m, n, sparseSafe, rl, ru);
 			if( out.isInSparseFormat() )
 				out.sortSparseRows(rl, ru);
 			return lnnz;
 		}
 		else if( _type == CellType.ROW_AGG ) {
-			double[] c = out.getDenseBlock();
-			if( _aggOp == AggOp.SUM || _aggOp == AggOp.SUM_SQ )
-				return executeCompressedRowAggSum(a, b, scalars, c, m, n, sparseSafe, rl, ru);
-			else
-				return executeCompressedRowAggMxx(a, b, scalars, c, m, n, sparseSafe, rl, ru);
+			return executeCompressedRowAgg(a, b, scalars, dicts, out.getDenseBlockValues(), m, n, sparseSafe, rl, ru);
 		}
 		return -1;
 	}
 	
-	private double executeCompressedAndAgg(CompressedMatrixBlock a, SideInput[] b, double[] scalars, 
-			int m, int n, boolean sparseSafe, int rl, int ru) throws DMLRuntimeException 
-	{
-		//numerically stable aggregation for sum/sum_sq
-		if( _aggOp == AggOp.SUM || _aggOp == AggOp.SUM_SQ )
-			return executeCompressedAggSum(a, b, scalars, m, n, sparseSafe, rl, ru);
-		else
-			return executeCompressedAggMxx(a, b, scalars, m, n, sparseSafe, rl, ru);
-	}
-	
 	/////////
 	//core operator skeletons for dense, sparse, and compressed
 
@@ -496,7 +512,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 	{
 		//note: sequential scan algorithm for both sparse-safe and -unsafe 
 		//in order to avoid binary search for sparse-unsafe 
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		long lnnz = 0;
 		for(int i=rl, cix=rl*n; i<ru; i++, cix+=n) {
 			int lastj = -1;
@@ -533,7 +549,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 
 		//note: sequential scan algorithm for both sparse-safe and -unsafe 
 		//in order to avoid binary search for sparse-unsafe 
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		long lnnz = 0;
 		for(int i=rl; i<ru; i++) {
 			kbuff.set(0, 0);
@@ -572,7 +588,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		
 		//note: sequential scan algorithm for both sparse-safe and -unsafe 
 		//in order to avoid binary search for sparse-unsafe 
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		long lnnz = 0;
 		for(int i=rl; i<ru; i++) {
 			double tmp = (sparseSafe && sblock.size(i) < n) ? 0 : initialVal;
@@ -674,10 +690,10 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 	}
 	
 	private long executeCompressedNoAgg(CompressedMatrixBlock a, SideInput[] b, double[] scalars, 
-			MatrixBlock out, int m, int n, boolean sparseSafe, int rl, int ru) 
+			double[][] dicts, MatrixBlock out, int m, int n, boolean sparseSafe, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		SparseBlock csblock = out.getSparseBlock();
 		
 		//preallocate sparse rows to avoid reallocations
@@ -690,92 +706,186 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 				csblock.allocate(i, rnnz[i-rl]);
 		}
 		
-		long lnnz = 0;
-		Iterator<IJV> iter = a.getIterator(rl, ru, !sparseSafe);
-		while( iter.hasNext() ) {
-			IJV cell = iter.next();
-			double val = genexec(cell.getV(), b, scalars, m, n, cell.getI(), cell.getJ());
-			if( out.isInSparseFormat() ) {
-				csblock.allocate(cell.getI());
-				csblock.append(cell.getI(), cell.getJ(), val);
+		ArrayList<ColGroup> groups = a.getColGroups();
+		for( int gix=0; gix<groups.size(); gix++ ) {
+			if( groups.get(gix) instanceof ColGroupValue ) {
+				//per-distinct-value outputs or evaluation over the row offsets
+				ColGroupValue grp = (ColGroupValue) groups.get(gix);
+				final int numCols = grp.getNumCols();
+				final double[] dict = (dicts != null) ? dicts[gix] : null;
+				visitOffsets(grp, rl, ru, !sparseSafe, (k, i) -> {
+					for( int j=0; j<numCols; j++ ) {
+						int cix = grp.getColIndex(j);
+						double val = (dict != null) ? dict[k*numCols+j] :
+							genexec(getDictValue(grp, k, j), b, scalars, m, n, i, cix);
+						writeCell(out, c, csblock, n, i, cix, val);
+					}
+				});
+			}
+			else {
+				//uncompressed column group: per-cell evaluation
+				Iterator<IJV> iter = groups.get(gix).getIterator(rl, ru, !sparseSafe, false);
+				while( iter.hasNext() ) {
+					IJV cell = iter.next();
+					writeCell(out, c, csblock, n, cell.getI(), cell.getJ(), 
+						genexec(cell.getV(), b, scalars, m, n, cell.getI(), cell.getJ()));
+				}
 			}
-			else
-				c[cell.getI()*n+cell.getJ()] = val; 
-			lnnz += (val!=0) ? 1 : 0;
 		}
-		return lnnz;
+		return out.recomputeNonZeros(rl, ru-1, 0, n-1);
 	}
 	
-	private long executeCompressedRowAggSum(CompressedMatrixBlock a, SideInput[] b, double[] scalars, 
-			double[] c, int m, int n, boolean sparseSafe, int rl, int ru) 
-		throws DMLRuntimeException 
-	{
-		KahanFunction kplus = (KahanFunction) getAggFunction();
-		KahanObject kbuff = new KahanObject(0, 0);
-		long lnnz = 0;
-		Iterator<IJV> iter = a.getIterator(rl, ru, !sparseSafe);
-		while( iter.hasNext() ) {
-			IJV cell = iter.next();
-			double val = genexec(cell.getV(), b, scalars, m, n, cell.getI(), cell.getJ());
-			kbuff.set(c[cell.getI()], 0);
-			kplus.execute2(kbuff, val);
-			c[cell.getI()] = kbuff._sum;
+	private static void writeCell(MatrixBlock out, double[] c, SparseBlock csblock, int n, int i, int j, double val) {
+		if( out.isInSparseFormat() ) {
+			if( val != 0 ) {
+				csblock.allocate(i);
+				csblock.append(i, j, val);
+			}
 		}
-		for( int i=rl; i<ru; i++ )
-			lnnz += (c[i]!=0) ? 1 : 0;
-		return lnnz;
+		else
+			c[i*n+j] = val;
 	}
 	
-	private long executeCompressedRowAggMxx(CompressedMatrixBlock a, SideInput[] b, double[] scalars, 
-			double[] c, int m, int n, boolean sparseSafe, int rl, int ru) 
+	private long executeCompressedRowAgg(CompressedMatrixBlock a, SideInput[] b, double[] scalars, 
+			double[][] dicts, double[] c, int m, int n, boolean sparseSafe, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
-		Arrays.fill(c, rl, ru, (_aggOp==AggOp.MIN) ? Double.MAX_VALUE : -Double.MAX_VALUE);
-		ValueFunction vfun = getAggFunction();
-		long lnnz = 0;
-		Iterator<IJV> iter = a.getIterator(rl, ru, !sparseSafe);
-		while( iter.hasNext() ) {
-			IJV cell = iter.next();
-			double val = genexec(cell.getV(), b, scalars, m, n, cell.getI(), cell.getJ());
-			c[cell.getI()] = vfun.execute(c[cell.getI()], val);
+		//note: row sums over sparse-safe operations can skip zero rows, while
+		//row min/max requires evaluating zeros (unseen 0 might be min or max)
+		final boolean sum = (_aggOp == AggOp.SUM || _aggOp == AggOp.SUM_SQ);
+		final boolean sq = (_aggOp == AggOp.SUM_SQ);
+		final boolean inclZeros = !(sparseSafe && sum);
+		ValueFunction vfun = sum ? Plus.getPlusFnObject() : getAggFunction();
+		Arrays.fill(c, rl, ru, sum ? 0 : (_aggOp==AggOp.MIN) ? Double.MAX_VALUE : -Double.MAX_VALUE);
+		
+		ArrayList<ColGroup> groups = a.getColGroups();
+		for( int gix=0; gix<groups.size(); gix++ ) {
+			if( groups.get(gix) instanceof ColGroupValue && dicts != null ) {
+				//pre-aggregate the outputs per distinct value, and aggregate per row offset
+				ColGroupValue grp = (ColGroupValue) groups.get(gix);
+				final int numCols = grp.getNumCols();
+				double[] dict = dicts[gix];
+				double[] vals = new double[dict.length/numCols];
+				for( int k=0, ix=0; k<vals.length; k++ ) {
+					vals[k] = sum ? 0 : dict[ix];
+					for( int j=0; j<numCols; j++, ix++ )
+						vals[k] = vfun.execute(vals[k], sq ? dict[ix]*dict[ix] : dict[ix]);
+				}
+				visitOffsets(grp, rl, ru, inclZeros, 
+					(k, i) -> c[i] = vfun.execute(c[i], vals[k]));
+			}
+			else if( groups.get(gix) instanceof ColGroupValue ) {
+				//per-cell evaluation over the row offsets of distinct values
+				ColGroupValue grp = (ColGroupValue) groups.get(gix);
+				final int numCols = grp.getNumCols();
+				visitOffsets(grp, rl, ru, inclZeros, (k, i) -> {
+					for( int j=0; j<numCols; j++ ) {
+						double val = genexec(getDictValue(grp, k, j), b, scalars, m, n, i, grp.getColIndex(j));
+						c[i] = vfun.execute(c[i], sq ? val*val : val);
+					}
+				});
+			}
+			else {
+				//uncompressed column group: per-cell evaluation
+				Iterator<IJV> iter = groups.get(gix).getIterator(rl, ru, inclZeros, false);
+				while( iter.hasNext() ) {
+					IJV cell = iter.next();
+					double val = genexec(cell.getV(), b, scalars, m, n, cell.getI(), cell.getJ());
+					c[cell.getI()] = vfun.execute(c[cell.getI()], sq ? val*val : val);
+				}
+			}
 		}
+		
+		long lnnz = 0;
 		for( int i=rl; i<ru; i++ )
 			lnnz += (c[i]!=0) ? 1 : 0;
 		return lnnz;
 	}
 	
-	private double executeCompressedAggSum(CompressedMatrixBlock a, SideInput[] b, double[] scalars, 
+	private double executeCompressedAndAgg(CompressedMatrixBlock a, SideInput[] b, double[] scalars, 
 			int m, int n, boolean sparseSafe, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
-		KahanFunction kplus = (KahanFunction) getAggFunction();
-		KahanObject kbuff = new KahanObject(0, 0);
+		//per-cell evaluation over the row offsets of distinct values
+		//(w/ numerically stable aggregation for sum/sum_sq)
+		final boolean sum = (_aggOp == AggOp.SUM || _aggOp == AggOp.SUM_SQ);
+		final boolean inclZeros = !(sparseSafe && sum);
+		ValueFunction vfun = getAggFunction();
+		KahanObject kbuff = new KahanObject(sum ? 0 : 
+			(_aggOp==AggOp.MIN) ? Double.MAX_VALUE : -Double.MAX_VALUE, 0);
 		
-		Iterator<IJV> iter = a.getIterator(rl, ru, !sparseSafe);
-		while( iter.hasNext() ) {
-			IJV cell = iter.next();
-			double val = genexec(cell.getV(), b, scalars, m, n, cell.getI(), cell.getJ()); 
-			kplus.execute2(kbuff, val);
+		ArrayList<ColGroup> groups = a.getColGroups();
+		for( int gix=0; gix<groups.size(); gix++ ) {
+			if( groups.get(gix) instanceof ColGroupValue ) {
+				ColGroupValue grp = (ColGroupValue) groups.get(gix);
+				final int numCols = grp.getNumCols();
+				visitOffsets(grp, rl, ru, inclZeros, (k, i) -> {
+					for( int j=0; j<numCols; j++ )
+						aggregateValue(vfun, kbuff, genexec(getDictValue(grp, k, j), 
+							b, scalars, m, n, i, grp.getColIndex(j)));
+				});
+			}
+			else {
+				Iterator<IJV> iter = groups.get(gix).getIterator(rl, ru, inclZeros, false);
+				while( iter.hasNext() ) {
+					IJV cell = iter.next();
+					aggregateValue(vfun, kbuff, genexec(cell.getV(), 
+						b, scalars, m, n, cell.getI(), cell.getJ()));
+				}
+			}
 		}
 		return kbuff._sum;
 	}
 	
-	private double executeCompressedAggMxx(CompressedMatrixBlock a, SideInput[] b, double[] scalars, 
-			int m, int n, boolean sparseSafe, int rl, int ru) 
+	private double executeCompressedDistinctAndAgg(CompressedMatrixBlock a, SideInput[] b, double[] scalars, 
+			double[][] dicts, int m, int n, int cgl, int cgu) 
 		throws DMLRuntimeException 
 	{
-		//safe aggregation for min/max w/ handling of zero entries
-		//note: sparse safe with zero value as min/max handled outside
-		double ret = (_aggOp==AggOp.MIN) ? Double.MAX_VALUE : -Double.MAX_VALUE; 
+		//aggregation over the outputs per distinct value, scaled by the 
+		//counts of these values (incl zero rows of offset groups)
+		final boolean sum = (_aggOp == AggOp.SUM || _aggOp == AggOp.SUM_SQ);
+		final boolean sq = (_aggOp == AggOp.SUM_SQ);
 		ValueFunction vfun = getAggFunction();
+		KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+		KahanObject kbuff = new KahanObject(sum ? 0 : 
+			(_aggOp==AggOp.MIN) ? Double.MAX_VALUE : -Double.MAX_VALUE, 0);
 		
-		Iterator<IJV> iter = a.getIterator(rl, ru, !sparseSafe);
-		while( iter.hasNext() ) {
-			IJV cell = iter.next();
-			double val = genexec(cell.getV(), b, scalars, m, n, cell.getI(), cell.getJ());
-			ret = vfun.execute(ret, val);
+		ArrayList<ColGroup> groups = a.getColGroups();
+		for( int gix=cgl; gix<cgu; gix++ ) {
+			if( groups.get(gix) instanceof ColGroupValue ) {
+				ColGroupValue grp = (ColGroupValue) groups.get(gix);
+				final int numCols = grp.getNumCols();
+				double[] dict = dicts[gix];
+				int[] counts = grp.getCounts(true);
+				for( int k=0; k<counts.length; k++ ) {
+					if( counts[k] == 0 )
+						continue;
+					for( int j=0, ix=k*numCols; j<numCols; j++, ix++ ) {
+						if( sum )
+							kplus.execute2(kbuff, (sq ? dict[ix]*dict[ix] : dict[ix]) * counts[k]);
+						else
+							kbuff._sum = vfun.execute(kbuff._sum, dict[ix]);
+					}
+				}
+			}
+			else {
+				//uncompressed column group: per-cell evaluation
+				Iterator<IJV> iter = groups.get(gix).getIterator(0, m, true, false);
+				while( iter.hasNext() ) {
+					IJV cell = iter.next();
+					aggregateValue(vfun, kbuff, genexec(cell.getV(), 
+						b, scalars, m, n, cell.getI(), cell.getJ()));
+				}
+			}
 		}
-		return ret;
+		return kbuff._sum;
+	}
+	
+	private static void aggregateValue(ValueFunction vfun, KahanObject kbuff, double val) {
+		if( vfun instanceof KahanFunction )
+			((KahanFunction)vfun).execute2(kbuff, val);
+		else
+			kbuff._sum = vfun.execute(kbuff._sum, val);
 	}
 	
 	protected abstract double genexec( double a, SideInput[] b, 
@@ -809,17 +919,47 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 			if( _a instanceof CompressedMatrixBlock )
 				return executeCompressedAndAgg((CompressedMatrixBlock)_a, _b, _scalars, _rlen, _clen, _safe, _rl, _ru);
 			else if (!_a.isInSparseFormat())
-				return executeDenseAndAgg(_a.getDenseBlock(), _b, _scalars, _rlen, _clen, _safe, _rl, _ru);
+				return executeDenseAndAgg(_a.getDenseBlockValues(), _b, _scalars, _rlen, _clen, _safe, _rl, _ru);
 			else
 				return executeSparseAndAgg(_a.getSparseBlock(), _b, _scalars, _rlen, _clen, _safe, _rl, _ru);
 		}
 	}
 
+	private class ParDistinctAggTask implements Callable<Double> 
+	{
+		private final CompressedMatrixBlock _a;
+		private final SideInput[] _b;
+		private final double[] _scalars;
+		private final double[][] _dicts;
+		private final int _rlen;
+		private final int _clen;
+		private final int _cgl;
+		private final int _cgu;
+
+		protected ParDistinctAggTask( CompressedMatrixBlock a, SideInput[] b, double[] scalars, 
+				double[][] dicts, int rlen, int clen, int cgl, int cgu ) {
+			_a = a;
+			_b = b;
+			_scalars = scalars;
+			_dicts = dicts;
+			_rlen = rlen;
+			_clen = clen;
+			_cgl = cgl;
+			_cgu = cgu;
+		}
+		
+		@Override
+		public Double call() throws DMLRuntimeException {
+			return executeCompressedDistinctAndAgg(_a, _b, _scalars, _dicts, _rlen, _clen, _cgl, _cgu);
+		}
+	}
+
 	private class ParExecTask implements Callable<Long> 
 	{
 		private final MatrixBlock _a;
 		private final SideInput[] _b;
 		private final double[] _scalars;
+		private final double[][] _dicts;
 		private final MatrixBlock _c;
 		private final int _rlen;
 		private final int _clen;
@@ -827,11 +967,12 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		private final int _rl;
 		private final int _ru;
 
-		protected ParExecTask( MatrixBlock a, SideInput[] b, double[] scalars, MatrixBlock c, 
-				int rlen, int clen, boolean sparseSafe, int rl, int ru ) {
+		protected ParExecTask( MatrixBlock a, SideInput[] b, double[] scalars, double[][] dicts, 
+				MatrixBlock c, int rlen, int clen, boolean sparseSafe, int rl, int ru ) {
 			_a = a;
 			_b = b;
 			_scalars = scalars;
+			_dicts = dicts;
 			_c = c;
 			_rlen = rlen;
 			_clen = clen;
@@ -843,9 +984,9 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		@Override
 		public Long call() throws DMLRuntimeException {
 			if( _a instanceof CompressedMatrixBlock )
-				return executeCompressed((CompressedMatrixBlock)_a, _b, _scalars, _c, _rlen, _clen, _safe, _rl, _ru);
+				return executeCompressed((CompressedMatrixBlock)_a, _b, _scalars, _dicts, _c, _rlen, _clen, _safe, _rl, _ru);
 			else if( !_a.isInSparseFormat() )
-				return executeDense(_a.getDenseBlock(), _b, _scalars, _c, _rlen, _clen, _safe, _rl, _ru);
+				return executeDense(_a.getDenseBlockValues(), _b, _scalars, _c, _rlen, _clen, _safe, _rl, _ru);
 			else
 				return executeSparse(_a.getSparseBlock(), _b, _scalars,  _c, _rlen, _clen, _safe, _rl, _ru);
 		}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.codegen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.matrix.data.ConvolutionParameters;
+import org.apache.sysml.runtime.matrix.data.LibMatrixDNNConv2dHelper.Im2ColConv2dSingleImage;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.UtilFunctions;
+
+/**
+ * Base class for fused convolution pipelines, i.e., conv2d followed by 
+ * cellwise operations such as bias_add and relu and an optional max_pool. 
+ * The convolution is computed per image into a small [K x PQ] buffer, to 
+ * which the generated cellwise operations and the pooling are applied while
+ * the buffer is in cache, which avoids materializing N x KPQ intermediates.
+ */
+public abstract class SpoofDnn extends SpoofOperator
+{
+	private static final long serialVersionUID = -3151218707216830367L;
+	
+	//convolution parameters [C, H, W, K, R, S, stride_h, stride_w, pad_h, pad_w]
+	protected final int[] _conv;
+	//max pooling parameters [R, S, stride_h, stride_w, pad_h, pad_w], or null
+	protected final int[] _pool;
+	
+	public SpoofDnn(int[] conv, int[] pool) {
+		_conv = conv;
+		_pool = pool;
+	}
+	
+	public boolean hasPooling() {
+		return _pool != null;
+	}
+	
+	@Override
+	public String getSpoofType() {
+		return "DNN" +  getClass().getName().split("\\.")[1];
+	}
+	
+	@Override
+	public void execute(ArrayList<MatrixBlock> inputs, ArrayList<ScalarObject> scalarObjects, MatrixBlock out) 
+		throws DMLRuntimeException
+	{
+		execute(inputs, scalarObjects, out, 1);
+	}
+	
+	@Override
+	public void execute(ArrayList<MatrixBlock> inputs, ArrayList<ScalarObject> scalarObjects, MatrixBlock out, int k) 
+		throws DMLRuntimeException
+	{
+		//sanity check
+		if( inputs==null || inputs.size() < 2 || out==null )
+			throw new RuntimeException("Invalid input arguments.");
+		for( int i=0; i<2; i++ )
+			if( inputs.get(i) instanceof CompressedMatrixBlock )
+				inputs.set(i, ((CompressedMatrixBlock)inputs.get(i)).decompress());
+		
+		//result allocation and preparations
+		final int N = inputs.get(0).getNumRows();
+		final int clen = getNumOutputColumns();
+		out.reset(N, clen, false);
+		out.allocateDenseBlock();
+		
+		//input preparation (images, filter, and dense side inputs)
+		double[][] b = prepInputMatricesDense(inputs, 2);
+		double[] scalars = prepInputScalars(scalarObjects);
+		
+		//core sequential or parallel execute over independent images
+		long nnz = 0;
+		if( k <= 1 || N <= 1 ) {
+			nnz = executeImages(inputs.get(0), inputs.get(1), b, scalars, out, 0, N);
+		}
+		else {
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				int blklen = (int)(Math.ceil((double)N/k));
+				ArrayList<ParExecTask> tasks = new ArrayList<ParExecTask>();
+				for( int i=0; i<k & i*blklen<N; i++ )
+					tasks.add(new ParExecTask(inputs.get(0), inputs.get(1), b, scalars, out, i*blklen, Math.min((i+1)*blklen, N)));
+				List<Future<Long>> taskret = pool.invokeAll(tasks);
+				for( Future<Long> task : taskret )
+					nnz += task.get();
+				pool.shutdown();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		
+		//post-processing
+		out.setNonZeros(nnz);
+		out.examSparsity();
+	}
+	
+	private long executeImages(MatrixBlock in, MatrixBlock filter, double[][] b, double[] scalars, MatrixBlock out, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		ConvolutionParameters params = new ConvolutionParameters(in.getNumRows(), _conv[0], _conv[1], _conv[2],
+			_conv[3], _conv[4], _conv[5], _conv[6], _conv[7], _conv[8], _conv[9], 1);
+		params.input1 = in;
+		params.input2 = filter;
+		final int K = params.K, P = params.P, Q = params.Q, PQ = P*Q;
+		final int clen = out.getNumColumns();
+		
+		Im2ColConv2dSingleImage conv = new Im2ColConv2dSingleImage(params);
+		double[] tmp = new double[K*PQ];
+		double[] c = out.getDenseBlockValues();
+		long nnz = 0;
+		
+		for( int n=rl; n<ru; n++ ) {
+			//convolution of current image into [K x PQ] buffer
+			conv.execute(n, tmp);
+			
+			//fused cellwise operations per channel (e.g., bias_add, relu)
+			for( int kk=0, ix=0; kk<K; kk++ )
+				for( int pq=0; pq<PQ; pq++, ix++ )
+					tmp[ix] = genexec(tmp[ix], b, scalars, kk);
+			
+			//optional max pooling or copy into output row
+			int cix = n * clen;
+			if( _pool != null )
+				maxPooling(tmp, c, cix, K, P, Q);
+			else
+				System.arraycopy(tmp, 0, c, cix, clen);
+			nnz += UtilFunctions.countNonZeros(c, cix, clen);
+		}
+		
+		return nnz;
+	}
+	
+	private void maxPooling(double[] a, double[] c, int ci, int K, int P, int Q) {
+		final int R = _pool[0], S = _pool[1];
+		final int P2 = getPoolOutputSize(P, R, _pool[2], _pool[4]);
+		final int Q2 = getPoolOutputSize(Q, S, _pool[3], _pool[5]);
+		Arrays.fill(c, ci, ci+K*P2*Q2, -Double.MAX_VALUE);
+		for( int kk=0, cix=ci; kk<K; kk++ ) {
+			final int aOff = kk * P * Q;
+			for( int p=0; p<P2; p++ ) {
+				//note: we do not treat pad as zero (consistent w/ max_pool)
+				int hs = Math.max(p * _pool[2] - _pool[4], 0);
+				int he = Math.min(p * _pool[2] - _pool[4] + R, P);
+				for( int q=0; q<Q2; q++, cix++ ) {
+					int ws = Math.max(q * _pool[3] - _pool[5], 0);
+					int we = Math.min(q * _pool[3] - _pool[5] + S, Q);
+					for( int h=hs; h<he; h++ )
+						for( int w=ws; w<we; w++ )
+							c[cix] = Math.max(c[cix], a[aOff + h*Q + w]);
+				}
+			}
+		}
+	}
+	
+	private int getNumOutputColumns() {
+		int P = getPoolOutputSize(_conv[1], _conv[4], _conv[6], _conv[8]);
+		int Q = getPoolOutputSize(_conv[2], _conv[5], _conv[7], _conv[9]);
+		return (_pool == null) ? _conv[3] * P * Q : _conv[3] 
+			* getPoolOutputSize(P, _pool[0], _pool[2], _pool[4])
+			* getPoolOutputSize(Q, _pool[1], _pool[3], _pool[5]);
+	}
+	
+	private static int getPoolOutputSize(int len, int window, int stride, int pad) {
+		return (len + 2 * pad - window) / stride + 1;
+	}
+	
+	//methods to be implemented by generated operators of type SpoofDnn,
+	//where the row index refers to the channel of the convolution output
+	
+	protected abstract double genexec(double a, double[][] b, double[] scalars, int rowIndex);
+	
+	/**
+	 * Task for multi-threaded execution over disjoint ranges of images.
+	 */
+	private class ParExecTask implements Callable<Long> 
+	{
+		private final MatrixBlock _a;
+		private final MatrixBlock _filter;
+		private final double[][] _b;
+		private final double[] _scalars;
+		private final MatrixBlock _c;
+		private final int _rl;
+		private final int _ru;
+
+		protected ParExecTask( MatrixBlock a, MatrixBlock filter, double[][] b, double[] scalars, MatrixBlock c, int rl, int ru ) {
+			_a = a;
+			_filter = filter;
+			_b = b;
+			_scalars = scalars;
+			_c = c;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			return executeImages(_a, _filter, _b, _scalars, _c, _rl, _ru);
+		}
+	}
+}
@@ -26,11 +26,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.codegen.SpoofCellwise.AggOp;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupValue;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
@@ -43,6 +44,7 @@ import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 public abstract class SpoofMultiAggregate extends SpoofOperator implements Serializable
@@ -87,7 +89,7 @@ public abstract class SpoofMultiAggregate extends SpoofOperator implements Seria
 		//result allocation and preparations
 		out.reset(1, _aggOps.length, false);
 		out.allocateDenseBlock();
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		setInitialOutputValues(c);
 		
 		//input preparation
@@ -96,24 +98,42 @@ public abstract class SpoofMultiAggregate extends SpoofOperator implements Seria
 		final int m = inputs.get(0).getNumRows();
 		final int n = inputs.get(0).getNumColumns();
 		
-		if( k <= 1 ) //SINGLE-THREADED
+		boolean distinct = isDistinctValueEvaluable(inputs, 1);
+		
+		if( distinct && k <= 1 ) //SINGLE-THREADED, PER-DISTINCT-VALUE
+		{
+			CompressedMatrixBlock a = (CompressedMatrixBlock)inputs.get(0);
+			executeCompressedDistinct(a, b, scalars, c, m, n, 0, a.getNumColGroups());
+		}
+		else if( k <= 1 ) //SINGLE-THREADED
 		{
 			if( inputs.get(0) instanceof CompressedMatrixBlock )
 				executeCompressed((CompressedMatrixBlock)inputs.get(0), b, scalars, c, m, n, 0, m);
 			else if( !inputs.get(0).isInSparseFormat() )
-				executeDense(inputs.get(0).getDenseBlock(), b, scalars, c, m, n, 0, m);
+				executeDense(inputs.get(0).getDenseBlockValues(), b, scalars, c, m, n, 0, m);
 			else	
 				executeSparse(inputs.get(0).getSparseBlock(), b, scalars, c, m, n, 0, m);
 		}
 		else  //MULTI-THREADED
 		{
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
-				ArrayList<ParAggTask> tasks = new ArrayList<ParAggTask>();
-				int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
-				int blklen = (int)(Math.ceil((double)m/nk));
-				for( int i=0; i<nk & i*blklen<m; i++ )
-					tasks.add(new ParAggTask(inputs.get(0), b, scalars, m, n, i*blklen, Math.min((i+1)*blklen, m))); 
+				ExecutorService pool = CommonThreadPool.get( k );
+				ArrayList<Callable<double[]>> tasks = new ArrayList<Callable<double[]>>();
+				if( distinct ) {
+					//parallelize over column groups
+					int numCG = ((CompressedMatrixBlock)inputs.get(0)).getNumColGroups();
+					int blklen = (int)(Math.ceil((double)numCG/k));
+					for( int j=0; j<k & j*blklen<numCG; j++ )
+						tasks.add(new ParDistinctAggTask((CompressedMatrixBlock)inputs.get(0), 
+							b, scalars, m, n, j*blklen, Math.min((j+1)*blklen, numCG)));
+				}
+				else {
+					//parallelize over row partitions
+					int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
+					int blklen = (int)(Math.ceil((double)m/nk));
+					for( int i=0; i<nk & i*blklen<m; i++ )
+						tasks.add(new ParAggTask(inputs.get(0), b, scalars, m, n, i*blklen, Math.min((i+1)*blklen, m))); 
+				}
 				//execute tasks
 				List<Future<double[]>> taskret = pool.invokeAll(tasks);	
 				pool.shutdown();
@@ -158,11 +178,70 @@ public abstract class SpoofMultiAggregate extends SpoofOperator implements Seria
 
 	private void executeCompressed(CompressedMatrixBlock a, SideInput[] b, double[] scalars, double[] c, int m, int n, int rl, int ru) throws DMLRuntimeException 
 	{
-		//core compressed aggregation operation
-		Iterator<IJV> iter = a.getIterator(rl, ru, true);
-		while( iter.hasNext() ) {
-			IJV cell = iter.next();
-			genexec(cell.getV(), b, scalars, c, m, n, cell.getI(), cell.getJ());
+		//core compressed aggregation operation, evaluating the side
+		//inputs over the row offsets of the distinct values
+		ArrayList<ColGroup> groups = a.getColGroups();
+		for( int gix=0; gix<groups.size(); gix++ ) {
+			if( groups.get(gix) instanceof ColGroupValue ) {
+				ColGroupValue grp = (ColGroupValue) groups.get(gix);
+				final int numCols = grp.getNumCols();
+				visitOffsets(grp, rl, ru, true, (k, i) -> {
+					for( int j=0; j<numCols; j++ )
+						genexec(getDictValue(grp, k, j), b, scalars, c, m, n, i, grp.getColIndex(j));
+				});
+			}
+			else {
+				//uncompressed column group: per-cell evaluation
+				Iterator<IJV> iter = groups.get(gix).getIterator(rl, ru, true, false);
+				while( iter.hasNext() ) {
+					IJV cell = iter.next();
+					genexec(cell.getV(), b, scalars, c, m, n, cell.getI(), cell.getJ());
+				}
+			}
+		}
+	}
+	
+	private void executeCompressedDistinct(CompressedMatrixBlock a, SideInput[] b, double[] scalars, double[] c, int m, int n, int cgl, int cgu) 
+		throws DMLRuntimeException 
+	{
+		//evaluate the generated function once per distinct value and column of the column 
+		//group dictionaries and scale the partial aggregates by the counts of these values
+		double[] tmp = new double[_aggOps.length];
+		ArrayList<ColGroup> groups = a.getColGroups();
+		for( int gix=cgl; gix<cgu; gix++ ) {
+			if( groups.get(gix) instanceof ColGroupValue ) {
+				ColGroupValue grp = (ColGroupValue) groups.get(gix);
+				final int numCols = grp.getNumCols();
+				int[] counts = grp.getCounts(true); //incl rows of zeros
+				for( int k=0; k<counts.length; k++ ) {
+					if( counts[k] == 0 )
+						continue;
+					for( int j=0; j<numCols; j++ ) {
+						setInitialOutputValues(tmp);
+						genexec(getDictValue(grp, k, j), b, scalars, tmp, m, n, 0, grp.getColIndex(j));
+						aggregateDistinctValue(c, tmp, counts[k]);
+					}
+				}
+			}
+			else {
+				//uncompressed column group: per-cell evaluation
+				Iterator<IJV> iter = groups.get(gix).getIterator(0, m, true, false);
+				while( iter.hasNext() ) {
+					IJV cell = iter.next();
+					genexec(cell.getV(), b, scalars, c, m, n, cell.getI(), cell.getJ());
+				}
+			}
+		}
+	}
+	
+	private void aggregateDistinctValue(double[] c, double[] tmp, int count) {
+		for( int k=0; k<_aggOps.length; k++ ) {
+			switch( _aggOps[k] ) {
+				case SUM:
+				case SUM_SQ: c[k] += tmp[k] * count; break;
+				case MIN:    c[k] = Math.min(c[k], tmp[k]); break;
+				case MAX:    c[k] = Math.max(c[k], tmp[k]); break;
+			}
 		}
 	}
 	
@@ -240,6 +319,36 @@ public abstract class SpoofMultiAggregate extends SpoofOperator implements Seria
 		return fun;
 	}
 	
+	private class ParDistinctAggTask implements Callable<double[]> 
+	{
+		private final CompressedMatrixBlock _a;
+		private final SideInput[] _b;
+		private final double[] _scalars;
+		private final int _rlen;
+		private final int _clen;
+		private final int _cgl;
+		private final int _cgu;
+
+		protected ParDistinctAggTask( CompressedMatrixBlock a, SideInput[] b, double[] scalars, 
+				int rlen, int clen, int cgl, int cgu ) {
+			_a = a;
+			_b = b;
+			_scalars = scalars;
+			_rlen = rlen;
+			_clen = clen;
+			_cgl = cgl;
+			_cgu = cgu;
+		}
+		
+		@Override
+		public double[] call() throws DMLRuntimeException {
+			double[] c = new double[_aggOps.length];
+			setInitialOutputValues(c);
+			executeCompressedDistinct(_a, _b, _scalars, c, _rlen, _clen, _cgl, _cgu);
+			return c;
+		}
+	}
+	
 	private class ParAggTask implements Callable<double[]> 
 	{
 		private final MatrixBlock _a;
@@ -268,7 +377,7 @@ public abstract class SpoofMultiAggregate extends SpoofOperator implements Seria
 			if( _a instanceof CompressedMatrixBlock )
 				executeCompressed((CompressedMatrixBlock)_a, _b, _scalars, c, _rlen, _clen, _rl, _ru);
 			else if( !_a.isInSparseFormat() )
-				executeDense(_a.getDenseBlock(), _b, _scalars, c, _rlen, _clen, _rl, _ru);
+				executeDense(_a.getDenseBlockValues(), _b, _scalars, c, _rlen, _clen, _rl, _ru);
 			else	
 				executeSparse(_a.getSparseBlock(), _b, _scalars, c, _rlen, _clen, _rl, _ru);
 			return c;
@@ -21,10 +21,15 @@ package org.apache.sysml.runtime.codegen;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Iterator;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupDDC;
+import org.apache.sysml.runtime.compress.ColGroupOffset;
+import org.apache.sysml.runtime.compress.ColGroupValue;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -89,7 +94,7 @@ public abstract class SpoofOperator implements Serializable
 			}
 			//use existing dense block
 			else {
-				b[i-offset] = inputs.get(i).getDenseBlock();
+				b[i-offset] = inputs.get(i).getDenseBlockValues();
 			}
 		}
 		
@@ -119,7 +124,7 @@ public abstract class SpoofOperator implements Serializable
 			if( inputs.get(i).isInSparseFormat() && inputs.get(i).isAllocated() )
 				b[i-offset] = new SideInput(null, inputs.get(i));
 			else
-				b[i-offset] = new SideInput(inputs.get(i).getDenseBlock(), null);
+				b[i-offset] = new SideInput(inputs.get(i).getDenseBlockValues(), null);
 		}
 		
 		return b;
@@ -132,6 +137,113 @@ public abstract class SpoofOperator implements Serializable
 		return scalars;
 	}
 	
+	/**
+	 * Indicates if the given main input is a compressed matrix block,
+	 * i.e., if the operator can directly work on its column groups.
+	 * 
+	 * @param a main input
+	 * @return true if compressed
+	 */
+	protected static boolean isCompressed(MatrixBlock a) {
+		return a instanceof CompressedMatrixBlock 
+			&& ((CompressedMatrixBlock)a).isCompressed();
+	}
+	
+	/**
+	 * Indicates if the generated operator can be evaluated once per distinct
+	 * value and column of the compressed main input. If all side inputs are
+	 * row vectors (or 1x1 matrices), the generated function does not depend on 
+	 * the row index, which allows evaluating it over the column group dictionaries.
+	 * 
+	 * @param inputs main input and side inputs
+	 * @param offset position of the first side input
+	 * @return true if per-distinct-value evaluation is applicable
+	 */
+	protected static boolean isDistinctValueEvaluable(ArrayList<MatrixBlock> inputs, int offset) {
+		if( !isCompressed(inputs.get(0)) )
+			return false;
+		for( int i=offset; i<inputs.size(); i++ )
+			if( inputs.get(i).getNumRows() != 1 )
+				return false;
+		return true;
+	}
+	
+	/**
+	 * Evaluates a row-independent function over the dictionaries of all column 
+	 * groups of the given compressed block. The result per column group is a 
+	 * linearized array of (numValues+1) x numCols outputs, where the last tuple
+	 * refers to zero rows not contained in the dictionary of offset groups. 
+	 * Uncompressed column groups are represented as null.
+	 * 
+	 * @param a compressed main input
+	 * @param fn function of the input value and column index
+	 * @return array of output dictionaries per column group
+	 */
+	protected static double[][] evalDictionaries(CompressedMatrixBlock a, DictionaryFunction fn) {
+		ArrayList<ColGroup> groups = a.getColGroups();
+		double[][] ret = new double[groups.size()][];
+		for( int gix=0; gix<groups.size(); gix++ ) {
+			if( !(groups.get(gix) instanceof ColGroupValue) )
+				continue;
+			ColGroupValue grp = (ColGroupValue) groups.get(gix);
+			final int numVals = grp.getNumValues();
+			final int numCols = grp.getNumCols();
+			double[] values = grp.getValues();
+			ret[gix] = new double[(numVals+1)*numCols];
+			for( int k=0, ix=0; k<=numVals; k++ )
+				for( int j=0; j<numCols; j++, ix++ )
+					ret[gix][ix] = fn.execute((k<numVals) ? values[ix] : 0, grp.getColIndex(j));
+		}
+		return ret;
+	}
+	
+	/**
+	 * Visits the row offsets within [rl,ru) of all distinct values of the given 
+	 * column group, with value-major traversal for offset groups (OLE, RLE) and 
+	 * row-major traversal over the encoded values for DDC groups. The index 
+	 * numValues refers to zero rows not contained in the dictionary of offset groups.
+	 * 
+	 * @param grp column group
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 * @param inclZeros if true, include the rows of zero tuples of offset groups
+	 * @param visitor call back per value index and row offset
+	 */
+	protected static void visitOffsets(ColGroupValue grp, int rl, int ru, boolean inclZeros, OffsetVisitor visitor) {
+		if( grp instanceof ColGroupDDC ) {
+			ColGroupDDC dgrp = (ColGroupDDC) grp;
+			for( int i=rl; i<ru; i++ )
+				visitor.visit(dgrp.getCode(i), i);
+		}
+		else {
+			ColGroupOffset ogrp = (ColGroupOffset) grp;
+			final int numVals = ogrp.getNumValues();
+			for( int k=0; k<numVals; k++ ) {
+				Iterator<Integer> iter = ogrp.getIterator(k, rl, ru);
+				while( iter.hasNext() )
+					visitor.visit(k, iter.next());
+			}
+			if( inclZeros && ogrp.hasZeros() ) {
+				Iterator<Integer> iter = ogrp.getZeroIterator(rl, ru);
+				while( iter.hasNext() )
+					visitor.visit(numVals, iter.next());
+			}
+		}
+	}
+	
+	protected static double getDictValue(ColGroupValue grp, int k, int j) {
+		return (k < grp.getNumValues()) ? 
+			grp.getValues()[k*grp.getNumCols()+j] : 0;
+	}
+	
+	protected interface DictionaryFunction {
+		public double execute(double in, int colIndex);
+	}
+	
+	protected interface OffsetVisitor {
+		public void visit(int k, int rowIndex);
+	}
+	
 	//abstraction for safely accessing sideways matrices without the need 
 	//to allocate empty matrices as dense, see prepInputMatrices
 	
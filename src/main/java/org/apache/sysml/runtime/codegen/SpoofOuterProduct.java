@@ -25,16 +25,18 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupValue;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 public abstract class SpoofOuterProduct extends SpoofOperator
 {
@@ -95,10 +97,10 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 		if( a instanceof CompressedMatrixBlock )
 			executeCellwiseCompressed((CompressedMatrixBlock)a, ab[0], ab[1], b, scalars, out, m, n, k, _outerProductType, 0, m, 0, n);
 		else if( !a.isInSparseFormat() )
-			executeCellwiseDense(a.getDenseBlock(), ab[0], ab[1], b, scalars, out.getDenseBlock(), m, n, k, _outerProductType, 0, m, 0, n);
+			executeCellwiseDense(a.getDenseBlockValues(), ab[0], ab[1], b, scalars, out.getDenseBlockValues(), m, n, k, _outerProductType, 0, m, 0, n);
 		else
 			executeCellwiseSparse(a.getSparseBlock(), ab[0], ab[1], b, scalars, out, m, n, k, a.getNonZeros(), _outerProductType, 0, m, 0, n);
-		return new DoubleObject(out.getDenseBlock()[0]);
+		return new DoubleObject(out.getDenseBlockValues()[0]);
 	}
 	
 	@Override
@@ -124,7 +126,7 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 		
 		try 
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(numThreads);
 			ArrayList<ParOuterProdAggTask> tasks = new ArrayList<ParOuterProdAggTask>();			
 			//create tasks (for wdivmm-left, parallelization over columns;
 			//for wdivmm-right, parallelization over rows; both ensure disjoint results)
@@ -194,18 +196,18 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 			case LEFT_OUTER_PRODUCT:	
 			case RIGHT_OUTER_PRODUCT:
 				if( a instanceof CompressedMatrixBlock )
-					executeCompressed((CompressedMatrixBlock)a, ab[0], ab[1], b, scalars, out.getDenseBlock(), m, n, k, _outerProductType, 0, m, 0, n);
+					executeCompressed((CompressedMatrixBlock)a, ab[0], ab[1], b, scalars, out.getDenseBlockValues(), m, n, k, _outerProductType, 0, m, 0, n);
 				else if( !a.isInSparseFormat() )
-					executeDense(a.getDenseBlock(), ab[0], ab[1], b, scalars, out.getDenseBlock(), m, n, k, _outerProductType, 0, m, 0, n);
+					executeDense(a.getDenseBlockValues(), ab[0], ab[1], b, scalars, out.getDenseBlockValues(), m, n, k, _outerProductType, 0, m, 0, n);
 				else
-					executeSparse(a.getSparseBlock(), ab[0], ab[1], b, scalars, out.getDenseBlock(), m, n, k, a.getNonZeros(), _outerProductType, 0, m, 0, n);
+					executeSparse(a.getSparseBlock(), ab[0], ab[1], b, scalars, out.getDenseBlockValues(), m, n, k, a.getNonZeros(), _outerProductType, 0, m, 0, n);
 				break;
 				
 			case CELLWISE_OUTER_PRODUCT:
 				if( a instanceof CompressedMatrixBlock )
 					executeCellwiseCompressed((CompressedMatrixBlock)a, ab[0], ab[1], b, scalars, out, m, n, k, _outerProductType, 0, m, 0, n);
 				else if( !a.isInSparseFormat() )
-					executeCellwiseDense(a.getDenseBlock(), ab[0], ab[1], b, scalars, out.getDenseBlock(), m, n, k, _outerProductType, 0, m, 0, n);
+					executeCellwiseDense(a.getDenseBlockValues(), ab[0], ab[1], b, scalars, out.getDenseBlockValues(), m, n, k, _outerProductType, 0, m, 0, n);
 				else 
 					executeCellwiseSparse(a.getSparseBlock(), ab[0], ab[1], b, scalars, out, m, n, k, a.getNonZeros(), _outerProductType, 0, m, 0, n);
 				break;
@@ -270,7 +272,7 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			ExecutorService pool = CommonThreadPool.get(numThreads);
 			ArrayList<ParExecTask> tasks = new ArrayList<ParExecTask>();			
 			//create tasks (for wdivmm-left, parallelization over columns;
 			//for wdivmm-right, parallelization over rows; both ensure disjoint results)
@@ -421,7 +423,7 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 		
 		if( !out.isInSparseFormat() ) //DENSE
 		{
-			double[] c = out.getDenseBlock();
+			double[] c = out.getDenseBlockValues();
 			for( int bi=rl; bi<ru; bi+=blocksizeIJ ) {
 				int bimin = Math.min(ru, bi+blocksizeIJ);
 				//prepare starting indexes for block row
@@ -478,46 +480,90 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 	private void executeCompressed(CompressedMatrixBlock a, double[] u, double[] v, double[][] b, double[] scalars, 
 			double[] c, int m, int n, int k, OutProdType type, int rl, int ru, int cl, int cu) 
 	{
+		//approach: iterate over the row offsets of all distinct non-zero values,
+		//where cl/cu refer to column groups for the left outer product
 		boolean left = (_outerProductType==OutProdType.LEFT_OUTER_PRODUCT);
-		
-		Iterator<IJV> iter = !left ? a.getIterator(rl, ru, false) : 
-			a.getIterator(rl, ru, cl, cu, false); //cl/cu -> colgroups
-		while( iter.hasNext() ) {
-			IJV cell = iter.next();
-			int uix = cell.getI() * k;
-			int vix = cell.getJ() * k;
-			genexecDense(cell.getV(), u, uix, v, vix, b, scalars, c, 
-				left ? vix : uix, m, n, k, cell.getI(), cell.getJ());
+		ArrayList<ColGroup> groups = a.getColGroups();
+		int cgl = left ? cl : 0;
+		int cgu = left ? cu : groups.size();
+		
+		for( int gix=cgl; gix<cgu; gix++ ) {
+			if( groups.get(gix) instanceof ColGroupValue ) {
+				ColGroupValue grp = (ColGroupValue) groups.get(gix);
+				final int numCols = grp.getNumCols();
+				visitOffsets(grp, rl, ru, false, (vk, i) -> {
+					for( int j=0; j<numCols; j++ ) {
+						double aval = getDictValue(grp, vk, j);
+						if( aval == 0 ) continue;
+						int uix = i * k;
+						int vix = grp.getColIndex(j) * k;
+						genexecDense(aval, u, uix, v, vix, b, scalars, c, 
+							left ? vix : uix, m, n, k, i, grp.getColIndex(j));
+					}
+				});
+			}
+			else {
+				//uncompressed column group: per-cell evaluation
+				Iterator<IJV> iter = groups.get(gix).getIterator(rl, ru, false, false);
+				while( iter.hasNext() ) {
+					IJV cell = iter.next();
+					int uix = cell.getI() * k;
+					int vix = cell.getJ() * k;
+					genexecDense(cell.getV(), u, uix, v, vix, b, scalars, c, 
+						left ? vix : uix, m, n, k, cell.getI(), cell.getJ());
+				}
+			}
 		}
 	}
 	
 	private void executeCellwiseCompressed(CompressedMatrixBlock a, double[] u, double[] v, double[][] b, double[] scalars, 
 		MatrixBlock out, int m, int n, int k, OutProdType type, int rl, int ru, int cl, int cu ) 
-	{			
-		double[] c = out.getDenseBlock();
-		SparseBlock csblock = out.getSparseBlock();
-		
-		Iterator<IJV> iter = a.getIterator(rl, ru, false);
-		while( iter.hasNext() ) {
-			IJV cell = iter.next();
-			int uix = cell.getI() * k;
-			int vix = cell.getJ() * k;
-			if( type == OutProdType.CELLWISE_OUTER_PRODUCT ) {
-				if( out.isInSparseFormat() ) {
-					csblock.allocate(cell.getI());
-					csblock.append(cell.getI(), cell.getJ(), 
-						genexecCellwise(cell.getV(), u, uix, v, vix, b, scalars, m, n, k, cell.getI(), cell.getJ()));
-				}
-				else {
-					c[cell.getI()*n+cell.getJ()] = 
-						genexecCellwise(cell.getV(), u, uix, v, vix, b, scalars, m, n, k, cell.getI(), cell.getJ());
-				}
+	{
+		//approach: iterate over the row offsets of all distinct non-zero values
+		//(note: unordered appends to sparse outputs are sorted afterwards)
+		ArrayList<ColGroup> groups = a.getColGroups();
+		for( int gix=0; gix<groups.size(); gix++ ) {
+			if( groups.get(gix) instanceof ColGroupValue ) {
+				ColGroupValue grp = (ColGroupValue) groups.get(gix);
+				final int numCols = grp.getNumCols();
+				visitOffsets(grp, rl, ru, false, (vk, i) -> {
+					for( int j=0; j<numCols; j++ ) {
+						double aval = getDictValue(grp, vk, j);
+						if( aval != 0 )
+							executeCellwiseCompressedCell(aval, u, v, b, scalars, 
+								out, m, n, k, type, i, grp.getColIndex(j));
+					}
+				});
 			}
 			else {
-				c[0] += genexecCellwise(cell.getV(), u, uix, v, vix, b, scalars, m, n, k, cell.getI(), cell.getJ());
+				//uncompressed column group: per-cell evaluation
+				Iterator<IJV> iter = groups.get(gix).getIterator(rl, ru, false, false);
+				while( iter.hasNext() ) {
+					IJV cell = iter.next();
+					executeCellwiseCompressedCell(cell.getV(), u, v, b, scalars, 
+						out, m, n, k, type, cell.getI(), cell.getJ());
+				}
 			}
 		}
 	}
+	
+	private void executeCellwiseCompressedCell(double aval, double[] u, double[] v, double[][] b, double[] scalars,
+		MatrixBlock out, int m, int n, int k, OutProdType type, int i, int j) 
+	{
+		double val = genexecCellwise(aval, u, i*k, v, j*k, b, scalars, m, n, k, i, j);
+		if( type == OutProdType.CELLWISE_OUTER_PRODUCT ) {
+			if( out.isInSparseFormat() ) {
+				SparseBlock csblock = out.getSparseBlock();
+				csblock.allocate(i);
+				csblock.append(i, j, val);
+			}
+			else
+				out.getDenseBlockValues()[i*n+j] = val;
+		}
+		else {
+			out.getDenseBlockValues()[0] += val;
+		}
+	}
 
 	protected abstract void genexecDense( double a, double[] u, int ui, double[] v, int vi, double[][] b, 
 		double[] scalars, double[] c, int ci, int m, int n, int k, int rowIndex, int colIndex);
@@ -566,17 +612,17 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 				case LEFT_OUTER_PRODUCT:	
 				case RIGHT_OUTER_PRODUCT:
 					if( _a instanceof CompressedMatrixBlock )
-						executeCompressed((CompressedMatrixBlock)_a, _u, _v, _b, _scalars, _c.getDenseBlock(), _rlen, _clen, _k, _type, _rl, _ru, _cl, _cu);
+						executeCompressed((CompressedMatrixBlock)_a, _u, _v, _b, _scalars, _c.getDenseBlockValues(), _rlen, _clen, _k, _type, _rl, _ru, _cl, _cu);
 					else if( !_a.isInSparseFormat() )
-						executeDense(_a.getDenseBlock(), _u, _v, _b, _scalars, _c.getDenseBlock(), _rlen, _clen, _k, _type, _rl, _ru, _cl, _cu);
+						executeDense(_a.getDenseBlockValues(), _u, _v, _b, _scalars, _c.getDenseBlockValues(), _rlen, _clen, _k, _type, _rl, _ru, _cl, _cu);
 					else
-						executeSparse(_a.getSparseBlock(), _u, _v, _b, _scalars, _c.getDenseBlock(), _rlen, _clen, _k, _a.getNonZeros(), _type,  _rl, _ru, _cl, _cu);
+						executeSparse(_a.getSparseBlock(), _u, _v, _b, _scalars, _c.getDenseBlockValues(), _rlen, _clen, _k, _a.getNonZeros(), _type,  _rl, _ru, _cl, _cu);
 					break;
 				case CELLWISE_OUTER_PRODUCT:
 					if( _a instanceof CompressedMatrixBlock )
 						executeCellwiseCompressed((CompressedMatrixBlock)_a, _u, _v, _b, _scalars, _c, _rlen, _clen, _k, _type, _rl, _ru, _cl, _cu);
 					else if( !_c.isInSparseFormat() )
-						executeCellwiseDense(_a.getDenseBlock(), _u, _v, _b, _scalars, _c.getDenseBlock(), _rlen, _clen, _k, _type, _rl, _ru, _cl, _cu);
+						executeCellwiseDense(_a.getDenseBlockValues(), _u, _v, _b, _scalars, _c.getDenseBlockValues(), _rlen, _clen, _k, _type, _rl, _ru, _cl, _cu);
 					else 
 						executeCellwiseSparse(_a.getSparseBlock(), _u, _v, _b, _scalars, _c, _rlen, _clen, _k, _a.getNonZeros(), _type,  _rl, _ru, _cl, _cu);
 					break;			
@@ -631,10 +677,10 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 			if( _a instanceof CompressedMatrixBlock )
 				executeCellwiseCompressed((CompressedMatrixBlock)_a, _u, _v, _b, _scalars, out, _rlen, _clen, _k, _type, _rl, _ru, _cl, _cu);
 			else if( !_a.isInSparseFormat() )
-				executeCellwiseDense(_a.getDenseBlock(), _u, _v, _b, _scalars, out.getDenseBlock(), _rlen, _clen, _k, _type, _rl, _ru, _cl, _cu);
+				executeCellwiseDense(_a.getDenseBlockValues(), _u, _v, _b, _scalars, out.getDenseBlockValues(), _rlen, _clen, _k, _type, _rl, _ru, _cl, _cu);
 			else
 				executeCellwiseSparse(_a.getSparseBlock(), _u, _v, _b, _scalars, out, _rlen, _clen, _k, _a.getNonZeros(), _type, _rl, _ru, _cl, _cu);
-			return out.getDenseBlock()[0];
+			return out.getDenseBlockValues()[0];
 		}
 	}
 }
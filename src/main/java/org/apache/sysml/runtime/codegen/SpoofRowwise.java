@@ -24,7 +24,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -36,6 +35,7 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.data.SparseRow;
 import org.apache.sysml.runtime.matrix.data.SparseRowVector;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 
@@ -58,11 +58,13 @@ public abstract class SpoofRowwise extends SpoofOperator
 	
 	protected final RowType _type;
 	protected final boolean _cbind0;
+	protected final boolean _sparseSafe;
 	protected final int _reqVectMem;
 	
-	public SpoofRowwise(RowType type, boolean cbind0, int reqVectMem) {
+	public SpoofRowwise(RowType type, boolean cbind0, boolean sparseSafe, int reqVectMem) {
 		_type = type;
 		_cbind0 = cbind0;
+		_sparseSafe = sparseSafe;
 		_reqVectMem = reqVectMem;
 	}
 	
@@ -74,6 +76,17 @@ public abstract class SpoofRowwise extends SpoofOperator
 		return _cbind0;
 	}
 	
+	/**
+	 * Indicates if the generated operator is sparse-safe over the main 
+	 * input, i.e., maps empty rows to empty rows and keeps sparse rows
+	 * sparse, which allows for sparse outputs without row-wise densifying.
+	 * 
+	 * @return true if sparse-safe
+	 */
+	public boolean isSparseSafe() {
+		return _sparseSafe;
+	}
+	
 	public int getNumIntermediates() {
 		return _reqVectMem;
 	}
@@ -112,9 +125,11 @@ public abstract class SpoofRowwise extends SpoofOperator
 		//result allocation and preparations
 		final int m = inputs.get(0).getNumRows();
 		final int n = inputs.get(0).getNumColumns();
+		final boolean sparseOut = isSparseOutput(inputs.get(0));
 		if( !aggIncr || !out.isAllocated() )
-			allocateOutputMatrix(m, n, out);
-		double[] c = out.getDenseBlock();
+			allocateOutputMatrix(m, n, sparseOut, out);
+		double[] c = out.getDenseBlockValues();
+		SparseBlock cs = out.getSparseBlock();
 		
 		//input preparation
 		double[][] b = prepInputMatricesDense(inputs);
@@ -129,9 +144,9 @@ public abstract class SpoofRowwise extends SpoofOperator
 		if( a instanceof CompressedMatrixBlock )
 			executeCompressed((CompressedMatrixBlock)a, b, scalars, c, n, 0, m);
 		else if( !a.isInSparseFormat() )
-			executeDense(a.getDenseBlock(), b, scalars, c, n, 0, m);
+			executeDense(a.getDenseBlockValues(), b, scalars, c, n, 0, m);
 		else
-			executeSparse(a.getSparseBlock(), b, scalars, c, n, 0, m);
+			executeSparse(a.getSparseBlock(), b, scalars, c, cs, n, 0, m);
 	
 		//post-processing
 		if( allocTmp )
@@ -157,14 +172,14 @@ public abstract class SpoofRowwise extends SpoofOperator
 		//result allocation and preparations
 		final int m = inputs.get(0).getNumRows();
 		final int n = inputs.get(0).getNumColumns();
-		allocateOutputMatrix(m, n, out);
+		allocateOutputMatrix(m, n, isSparseOutput(inputs.get(0)), out);
 		
 		//input preparation
 		double[][] b = prepInputMatricesDense(inputs);
 		double[] scalars = prepInputScalars(scalarObjects);
 		
 		//core parallel execute
-		ExecutorService pool = Executors.newFixedThreadPool( k );
+		ExecutorService pool = CommonThreadPool.get( k );
 		int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
 		int blklen = (int)(Math.ceil((double)m/nk));
 		try
@@ -178,7 +193,7 @@ public abstract class SpoofRowwise extends SpoofOperator
 				//aggregate partial results
 				int len = _type.isColumnAgg() ? n : 1;
 				for( Future<double[]> task : taskret )
-					LibMatrixMult.vectAdd(task.get(), out.getDenseBlock(), 0, 0, len);
+					LibMatrixMult.vectAdd(task.get(), out.getDenseBlockValues(), 0, 0, len);
 				out.recomputeNonZeros();
 			}
 			else {
@@ -202,15 +217,25 @@ public abstract class SpoofRowwise extends SpoofOperator
 		}
 	}
 	
-	private void allocateOutputMatrix(int m, int n, MatrixBlock out) {
+	private boolean isSparseOutput(MatrixBlock a) {
+		//sparse outputs for sparse-safe operations over sparse inputs,
+		//where rows are directly written to the sparse output block
+		return _type == RowType.NO_AGG && _sparseSafe 
+			&& a.isInSparseFormat() && !(a instanceof CompressedMatrixBlock);
+	}
+	
+	private void allocateOutputMatrix(int m, int n, boolean sparse, MatrixBlock out) {
 		switch( _type ) {
-			case NO_AGG: out.reset(m, n, false); break;
+			case NO_AGG: out.reset(m, n, sparse); break;
 			case FULL_AGG: out.reset(1, 1, false); break;
 			case ROW_AGG: out.reset(m, 1+(_cbind0?1:0), false); break;
 			case COL_AGG: out.reset(1, n, false); break;
 			case COL_AGG_T: out.reset(n, 1, false); break;
 		}
-		out.allocateDenseBlock();
+		if( sparse )
+			out.allocateSparseRowsBlock();
+		else
+			out.allocateDenseBlock();
 	}
 	
 	private void executeDense(double[] a, double[][] b, double[] scalars, double[] c, int n, int rl, int ru) 
@@ -224,7 +249,7 @@ public abstract class SpoofRowwise extends SpoofOperator
 		}
 	}
 	
-	private void executeSparse(SparseBlock sblock, double[][] b, double[] scalars, double[] c, int n, int rl, int ru) 
+	private void executeSparse(SparseBlock sblock, double[][] b, double[] scalars, double[] c, SparseBlock cs, int n, int rl, int ru) 
 	{
 		if( sblock == null )
 			return;
@@ -238,11 +263,11 @@ public abstract class SpoofRowwise extends SpoofOperator
 				int alen = sblock.size(i);
 				
 				//call generated method
-				genexecRowSparse(avals, aix, apos, b, scalars, c, alen, i);
+				genexecRowSparse(avals, aix, apos, b, scalars, c, cs, alen, n, i);
 			}
-			else
+			else if( cs == null ) //skip empty rows for sparse outputs
 				genexecRowSparse(empty.values(), 
-					empty.indexes(), 0, b, scalars, c, 0, i);	
+					empty.indexes(), 0, b, scalars, c, null, 0, n, i);	
 		}
 	}
 	
@@ -264,10 +289,10 @@ public abstract class SpoofRowwise extends SpoofOperator
 				SparseRow row = iter.next();
 				if( !row.isEmpty() )
 					genexecRowSparse(row.values(), 
-						row.indexes(), 0, b, scalars, c, row.size(), i);
+						row.indexes(), 0, b, scalars, c, null, row.size(), n, i);
 				else
 					genexecRowSparse(empty.values(), 
-						empty.indexes(), 0, b, scalars, c, 0, i);
+						empty.indexes(), 0, b, scalars, c, null, 0, n, i);
 			}
 		}
 	}
@@ -276,7 +301,7 @@ public abstract class SpoofRowwise extends SpoofOperator
 	
 	protected abstract void genexecRowDense( double[] a, int ai, double[][] b, double[] scalars, double[] c, int len, int rowIndex );
 	
-	protected abstract void genexecRowSparse( double[] avals, int[] aix, int ai, double[][] b, double[] scalars, double[] c, int len, int rowIndex );
+	protected abstract void genexecRowSparse( double[] avals, int[] aix, int ai, double[][] b, double[] scalars, double[] c, SparseBlock cs, int alen, int len, int rowIndex );
 
 	
 	/**
@@ -310,9 +335,9 @@ public abstract class SpoofRowwise extends SpoofOperator
 			if( _a instanceof CompressedMatrixBlock )
 				executeCompressed((CompressedMatrixBlock)_a, _b, _scalars, c, _clen, _rl, _ru);
 			else if( !_a.isInSparseFormat() )
-				executeDense(_a.getDenseBlock(), _b, _scalars, c, _clen, _rl, _ru);
+				executeDense(_a.getDenseBlockValues(), _b, _scalars, c, _clen, _rl, _ru);
 			else
-				executeSparse(_a.getSparseBlock(), _b, _scalars, c, _clen, _rl, _ru);
+				executeSparse(_a.getSparseBlock(), _b, _scalars, c, null, _clen, _rl, _ru);
 			
 			LibSpoofPrimitives.cleanupThreadLocalMemory();
 			return c;
@@ -348,11 +373,11 @@ public abstract class SpoofRowwise extends SpoofOperator
 			LibSpoofPrimitives.setupThreadLocalMemory(_reqVectMem, _clen);
 			
 			if( _a instanceof CompressedMatrixBlock )
-				executeCompressed((CompressedMatrixBlock)_a, _b, _scalars, _c.getDenseBlock(), _clen, _rl, _ru);
+				executeCompressed((CompressedMatrixBlock)_a, _b, _scalars, _c.getDenseBlockValues(), _clen, _rl, _ru);
 			else if( !_a.isInSparseFormat() )
-				executeDense(_a.getDenseBlock(), _b, _scalars, _c.getDenseBlock(), _clen, _rl, _ru);
+				executeDense(_a.getDenseBlockValues(), _b, _scalars, _c.getDenseBlockValues(), _clen, _rl, _ru);
 			else
-				executeSparse(_a.getSparseBlock(), _b, _scalars, _c.getDenseBlock(), _clen, _rl, _ru);
+				executeSparse(_a.getSparseBlock(), _b, _scalars, _c.getDenseBlockValues(), _c.getSparseBlock(), _clen, _rl, _ru);
 			LibSpoofPrimitives.cleanupThreadLocalMemory();
 			
 			//maintain nnz for row partition
@@ -194,7 +194,7 @@ public abstract class ColGroupDDC extends ColGroupValue
 	}
 	
 	protected void computeRowMxx(MatrixBlock result, Builtin builtin, int rl, int ru) {
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		int ncol = getNumCols();
 		
 		for( int i=rl; i<ru; i++ )
@@ -233,6 +233,15 @@ public abstract class ColGroupDDC extends ColGroupValue
 	 */
 	protected abstract void setData(int r, int code);
 	
+	/**
+	 * Generic get of the encoded value, i.e., the index of
+	 * the value tuple in the dictionary of distinct values.
+	 * 
+	 * @param r global row index
+	 * @return encoded value
+	 */
+	public abstract int getCode(int r);
+	
 	@Override
 	public long estimateInMemorySize() {
 		return super.estimateInMemorySize();
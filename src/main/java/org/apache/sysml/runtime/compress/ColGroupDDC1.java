@@ -92,6 +92,11 @@ public class ColGroupDDC1 extends ColGroupDDC
 		_data[r] = (byte)code;
 	}
 	
+	@Override
+	public int getCode(int r) {
+		return _data[r]&0xFF;
+	}
+	
 	@Override
 	public void write(DataOutput out) throws IOException {
 		int numCols = getNumCols();
@@ -172,7 +177,7 @@ public class ColGroupDDC1 extends ColGroupDDC
 	public void decompressToBlock(MatrixBlock target, int colpos) {
 		int nrow = getNumRows();
 		int ncol = getNumCols();
-		double[] c = target.getDenseBlock();
+		double[] c = target.getDenseBlockValues();
 		int nnz = 0;
 		for( int i = 0; i < nrow; i++ )
 			nnz += ((c[i] = _values[(_data[i]&0xFF)*ncol+colpos])!=0) ? 1 : 0;
@@ -213,7 +218,7 @@ public class ColGroupDDC1 extends ColGroupDDC
 		throws DMLRuntimeException 
 	{
 		double[] b = ConverterUtils.getDenseVector(vector);
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		final int numCols = getNumCols();
 		final int numVals = getNumValues();
 		
@@ -236,7 +241,7 @@ public class ColGroupDDC1 extends ColGroupDDC
 		throws DMLRuntimeException 
 	{
 		double[] b = ConverterUtils.getDenseVector(vector);
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		
 		//prepare distinct values once
 		double[][] vals = new double[grps.length][];
@@ -262,7 +267,7 @@ public class ColGroupDDC1 extends ColGroupDDC
 	@Override
 	public void leftMultByRowVector(MatrixBlock vector, MatrixBlock result) throws DMLRuntimeException {
 		double[] a = ConverterUtils.getDenseVector(vector);
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		final int nrow = getNumRows();
 		final int numVals = getNumValues();
 		
@@ -279,7 +284,7 @@ public class ColGroupDDC1 extends ColGroupDDC
 	
 	@Override
 	public void leftMultByRowVector(ColGroupDDC a, MatrixBlock result) throws DMLRuntimeException {
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		final int nrow = getNumRows();
 		final int numVals = getNumValues();
 		
@@ -318,7 +323,7 @@ public class ColGroupDDC1 extends ColGroupDDC
 	protected void computeRowSums(MatrixBlock result, KahanFunction kplus, int rl, int ru) {
 		KahanObject kbuff = new KahanObject(0, 0);
 		KahanPlus kplus2 = KahanPlus.getKahanPlusFnObject();
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		
 		//pre-aggregate nnz per value tuple
 		double[] vals = sumAllValues(kplus, kbuff, false);
@@ -338,7 +343,7 @@ public class ColGroupDDC1 extends ColGroupDDC
 	{
 		KahanObject kbuff = new KahanObject(0, 0);
 		KahanPlus kplus2 = KahanPlus.getKahanPlusFnObject();
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		
 		//prepare distinct values once
 		double[][] vals = new double[grps.length][];
@@ -435,6 +435,16 @@ public abstract class ColGroupOffset extends ColGroupValue
 	 * @return an iterator over the row offsets in this bitmap
 	 */
 	public abstract Iterator<Integer> getIterator(int k, int rl, int ru);
+	
+	/**
+	 * 
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 * @return an iterator over the row offsets of all rows with zero tuples
+	 */
+	public Iterator<Integer> getZeroIterator(int rl, int ru) {
+		return new ZeroValueIterator(rl, ru);
+	}
 
 	
 	protected class OffsetValueIterator implements Iterator<IJV>
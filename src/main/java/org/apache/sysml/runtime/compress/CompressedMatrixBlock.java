@@ -34,7 +34,6 @@ import java.util.List;
 import java.util.PriorityQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.stream.LongStream;
 
@@ -92,6 +91,7 @@ import org.apache.sysml.runtime.matrix.operators.QuaternaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.IndexRange;
 import org.apache.sysml.runtime.util.SortUtils;
 
@@ -400,7 +400,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		throws DMLRuntimeException 
 	{	
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<SizeEstimTask> tasks = new ArrayList<SizeEstimTask>();
 			for( int col=0; col<clen; col++ )
 				tasks.add(new SizeEstimTask(estim, col));
@@ -429,7 +429,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		throws DMLRuntimeException
 	{
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<CompressTask> tasks = new ArrayList<CompressTask>();
 			for( int[] colIndexes : groups )
 				tasks.add(new CompressTask(in, estim, compRatios, rlen, colIndexes, denseEst));
@@ -594,7 +594,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		
 		//multi-threaded decompression
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			int rlen = getNumRows();
 			int blklen = BitmapEncoder.getAlignedBlocksize(
 				(int)(Math.ceil((double)rlen/k)));
@@ -698,8 +698,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	@Override
 	public long getExactSizeOnDisk() 
 	{
-		//header information
-		long ret = 12;
+		//uncompressed block w/ compression flag
+		if( !isCompressed() )
+			return 1 + super.getExactSizeOnDisk();
+		
+		//header information (flag, rlen, clen, nnz, #groups)
+		long ret = 21;
 		
 		for( ColGroup grp : _colGroups ) {
 			ret += 1; //type info
@@ -717,6 +721,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		
 		//deserialize uncompressed block
 		if( !compressed ) {
+			_colGroups = null;
 			super.readFields(in);
 			return;
 		}
@@ -778,6 +783,19 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	}
 	
 	
+	@Override
+	public long getInMemorySize() {
+		return isCompressed() ? 
+			estimateCompressedSizeInMemory() : super.getInMemorySize();
+	}
+	
+	@Override
+	public boolean isShallowSerialize() {
+		//shallow serialize compressed blocks in order to preserve the column
+		//groups, uncompressed blocks are deep serialized (incl compression flag)
+		return isCompressed();
+	}
+	
 	/**
 	 * Redirects the default java serialization via externalizable to our default 
 	 * hadoop writable serialization for efficient broadcast/rdd deserialization. 
@@ -1093,7 +1111,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		//special handling init value for rowmins/rowmax
 		if( op.indexFn instanceof ReduceCol && op.aggOp.increOp.fn instanceof Builtin ) {
 			double val = Double.MAX_VALUE * ((((Builtin)op.aggOp.increOp.fn).getBuiltinCode()==BuiltinCode.MAX)?-1:1);
-			Arrays.fill(ret.getDenseBlock(), val);
+			Arrays.fill(ret.getDenseBlockValues(), val);
 		}
 		
 		//core unary aggregate
@@ -1109,7 +1127,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				if( uc != null )
 					 ret = (MatrixBlock)uc.getData().aggregateUnaryOperations(op, ret, blockingFactorRow, blockingFactorCol, indexesIn, false);					
 				//compute all compressed column groups
-				ExecutorService pool = Executors.newFixedThreadPool( op.getNumThreads() );
+				ExecutorService pool = CommonThreadPool.get( op.getNumThreads() );
 				ArrayList<UnaryAggregateTask> tasks = new ArrayList<UnaryAggregateTask>();
 				if( op.indexFn instanceof ReduceCol && grpParts.length > 0 ) {
 					int blklen = BitmapEncoder.getAlignedBlocksize(
@@ -1292,7 +1310,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		if( !isEmptyBlock(false) ) {
 			//compute matrix mult
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ExecutorService pool = CommonThreadPool.get( k );
 				ArrayList<MatrixMultTransposeTask> tasks = new ArrayList<MatrixMultTransposeTask>();
 				int numgrp = _colGroups.size();
 				int blklen = (int)(Math.ceil((double)numgrp/(2*k)));
@@ -1364,7 +1382,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				uc.rightMultByVector(vector, result, k);					
 			
 			//compute remaining compressed column groups in parallel
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			int rlen = getNumRows();
 			int blklen = BitmapEncoder.getAlignedBlocksize(
 				(int)(Math.ceil((double)rlen/k)));
@@ -1511,7 +1529,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				uc.leftMultByRowVector(vector, result, k);					
 			
 			//compute remaining compressed column groups in parallel
-			ExecutorService pool = Executors.newFixedThreadPool( Math.min(colGroups.size()-((uc!=null)?1:0), k) );
+			ExecutorService pool = CommonThreadPool.get( Math.min(colGroups.size()-((uc!=null)?1:0), k) );
 			ArrayList<ColGroup>[] grpParts = createStaticTaskPartitioning(4*k, false);
 			ArrayList<LeftMatrixMultTask> tasks = new ArrayList<LeftMatrixMultTask>();
 			for( ArrayList<ColGroup> groups : grpParts )
@@ -1722,7 +1740,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				_ret = new MatrixBlock(ret.getNumRows(), ret.getNumColumns(), false);
 				_ret.allocateDenseBlock();
 				if( _op.aggOp.increOp.fn instanceof Builtin )
-					System.arraycopy(ret.getDenseBlock(), 0, _ret.getDenseBlock(), 0, ret.getNumRows()*ret.getNumColumns());
+					System.arraycopy(ret.getDenseBlockValues(), 0, _ret.getDenseBlockValues(), 0, ret.getNumRows()*ret.getNumColumns());
 			}
 			else { //colSums
 				_ret = ret;
@@ -2005,26 +2023,26 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	}
 
 	@Override
-	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result)
+	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result, int k)
 			throws DMLRuntimeException {
 		printDecompressWarning("sortOperations");
 		MatrixBlock right = getUncompressed(weights);
 		if( !isCompressed() )
-			return super.sortOperations(right, result);
+			return super.sortOperations(right, result, k);
 		ColGroup grp = _colGroups.get(0);
 		if( grp instanceof ColGroupUncompressed )
-			return ((ColGroupUncompressed)grp).getData().sortOperations(right, result);
+			return ((ColGroupUncompressed)grp).getData().sortOperations(right, result, k);
 		
 		if( right == null ) {
 			ColGroupValue grpVal = (ColGroupValue)grp;
 			MatrixBlock vals = grpVal.getValuesAsBlock();
 			int[] counts = grpVal.getCounts(true);
-			SortUtils.sortByValue(0, vals.getNumRows(), vals.getDenseBlock(), counts);
+			SortUtils.sortByValue(0, vals.getNumRows(), vals.getDenseBlockValues(), counts);
 			MatrixBlock counts2 = ColGroupValue.getCountsAsBlock(counts);
-			return vals.sortOperations(counts2, result);
+			return vals.sortOperations(counts2, result, k);
 		}
 		else
-			return decompress().sortOperations(right, result);
+			return decompress().sortOperations(right, result, k);
 	}
 
 	@Override
@@ -26,6 +26,7 @@ import java.util.Map.Entry;
 import org.apache.sysml.parser.DMLProgram;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.WriteBehindQueue;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 
 
@@ -122,6 +123,9 @@ public class Program
 				ec.updateDebugState(i);
 				_programBlocks.get(i).execute(ec);
 			}
+			
+			//wait for pending asynchronous writes (incl error handling)
+			WriteBehindQueue.awaitAll();
 		}
 		catch(DMLScriptException e) {
 			throw e;
@@ -20,6 +20,7 @@
 package org.apache.sysml.runtime.controlprogram;
 
 import java.util.ArrayList;
+import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -27,6 +28,7 @@ import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.Hop;
 import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.hops.codegen.SpoofCompiler;
 import org.apache.sysml.hops.recompile.Recompiler;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.parser.Expression.ValueType;
@@ -62,6 +64,9 @@ public class ProgramBlock
 	//additional attributes for recompile
 	protected StatementBlock _sb = null;
 	protected long _tid = 0; //by default _t0
+	
+	//pending asynchronous compilations of fused operators (unfused instructions)
+	private volatile ArrayList<Future<?>> _pendingCodegen = null;
 
 
 	public ProgramBlock(Program prog) {
@@ -118,6 +123,10 @@ public class ProgramBlock
 		_tid = id;
 	}
 
+	public void setPendingCodegen( ArrayList<Future<?>> pending ) {
+		_pendingCodegen = pending;
+	}
+
 
 	//////////////////////////////////////////////////////////
 	// core instruction execution (program block, predicate)
@@ -132,6 +141,20 @@ public class ProgramBlock
 	public void execute(ExecutionContext ec)
 		throws DMLRuntimeException
 	{
+		//replace unfused instructions once the fused operators are compiled
+		ArrayList<Future<?>> pending = _pendingCodegen;
+		if( pending != null && SpoofCompiler.isCompileComplete(pending) ) {
+			try {
+				synchronized( this ) {
+					if( _pendingCodegen == pending )
+						SpoofCompiler.generateCodeFromLastLevelProgramBlock(this);
+				}
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException("Unable to generate code for program block.", ex);
+			}
+		}
+
 		ArrayList<Instruction> tmp = _inst;
 
 		//dynamically recompile instructions if enabled and required
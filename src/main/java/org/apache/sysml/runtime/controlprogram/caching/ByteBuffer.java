@@ -24,7 +24,9 @@ import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.LocalFileUtils;
@@ -39,10 +41,15 @@ public class ByteBuffer
 	private volatile boolean _serialized;	
 	private volatile boolean _shallow;
 	private volatile boolean _matrix;
+	private volatile boolean _compressed;
 	private final long _size;
 	
-	protected byte[]     _bdata = null; //sparse matrix
-	protected CacheBlock _cdata = null; //dense matrix/frame
+	protected volatile byte[]     _bdata = null; //sparse matrix
+	protected volatile CacheBlock _cdata = null; //dense matrix/frame
+	
+	//number of concurrent readers of the serialized page, which 
+	//prevents the recycling of pages that are still in use
+	private final AtomicInteger _readers = new AtomicInteger(0);
 	
 	public ByteBuffer( long size ) {
 		_size = size;
@@ -54,18 +61,18 @@ public class ByteBuffer
 	{	
 		_shallow = cb.isShallowSerialize();
 		_matrix = (cb instanceof MatrixBlock);
+		_compressed = (cb instanceof CompressedMatrixBlock);
 		
 		try
 		{
 			if( !_shallow ) //SPARSE/DENSE -> SPARSE
 			{
-				//deep serialize (for compression)
-				if( CacheableData.CACHING_BUFFER_PAGECACHE )
-					_bdata = PageCache.getPage((int)_size);
-				if( _bdata==null )
-					_bdata = new byte[(int)_size];
-				DataOutput dout = new CacheDataOutput(_bdata);
+				//deep serialize (for compression), where pooled
+				//pages might be larger than the serialized size
+				byte[] bdata = PageCache.getPage((int)_size);
+				DataOutput dout = new CacheDataOutput(bdata);
 				cb.write(dout);
+				_bdata = bdata;
 			}
 			else //SPARSE/DENSE -> DENSE
 			{
@@ -86,10 +93,22 @@ public class ByteBuffer
 		CacheBlock ret = null;
 		
 		if( !_shallow ) { //sparse matrix / string frame
-			DataInput din = _matrix ? new CacheDataInput(_bdata) :
-				new DataInputStream(new ByteArrayInputStream(_bdata));
-			ret = _matrix ? new MatrixBlock() : new FrameBlock();
-			ret.readFields(din);
+			//register reader and obtain local reference to prevent 
+			//concurrent release and recycling of the page
+			_readers.incrementAndGet();
+			try {
+				byte[] bdata = _bdata;
+				if( bdata == null ) //already evicted
+					return null;
+				DataInput din = _matrix ? new CacheDataInput(bdata) :
+					new DataInputStream(new ByteArrayInputStream(bdata, 0, (int)_size));
+				ret = _compressed ? new CompressedMatrixBlock() :
+					_matrix ? new MatrixBlock() : new FrameBlock();
+				ret.readFields(din);
+			}
+			finally {
+				_readers.decrementAndGet();
+			}
 		}
 		else { //dense matrix/frame
 			ret = _cdata;
@@ -102,8 +121,9 @@ public class ByteBuffer
 		throws IOException
 	{
 		if( !_shallow ) {
-			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			//write out byte serialized array (w/o unused tail of pooled pages)
+			LocalFileUtils.writeByteBufferToLocal(fname, 
+				java.nio.ByteBuffer.wrap(_bdata, 0, (int)_size));
 		}
 		else {
 			//serialize cache block to output stream
@@ -128,9 +148,12 @@ public class ByteBuffer
 	{
 		//clear strong references to buffer/matrix
 		if( !_shallow ) {
-			if( CacheableData.CACHING_BUFFER_PAGECACHE )
-				PageCache.putPage(_bdata);
+			//recycle page only if there are no concurrent readers,
+			//which observe the cleared reference after this check
+			byte[] bdata = _bdata;
 			_bdata = null;
+			if( bdata != null && _readers.get() == 0 )
+				PageCache.putPage(bdata);
 		}
 		else {
 			_cdata = null;
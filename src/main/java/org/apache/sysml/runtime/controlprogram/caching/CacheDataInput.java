@@ -77,17 +77,20 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 
 	@Override
 	public short readShort() throws IOException {
-		throw new IOException("Not supported.");
+		return (short) readUnsignedShort();
 	}
 
 	@Override
 	public int readUnsignedShort() throws IOException {
-		throw new IOException("Not supported.");
+		int ret = baToUnsignedShort(_buff, _count);
+		_count += 2;
+		
+		return ret;
 	}
 
 	@Override
 	public char readChar() throws IOException {
-		throw new IOException("Not supported.");
+		return (char) readUnsignedShort();
 	}
 
 	@Override
@@ -196,6 +199,13 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 		return nnz;
 	}
 
+	private static int baToUnsignedShort( byte[] ba, final int off )
+	{
+		//shift and add 2 bytes into single int
+		return ((ba[off+0] & 0xFF) << 8) +
+			   ((ba[off+1] & 0xFF) << 0);
+	}
+
 	private static int baToInt( byte[] ba, final int off )
 	{
 		//shift and add 4 bytes into single int
@@ -25,6 +25,9 @@ import java.util.concurrent.atomic.LongAdder;
  * This singleton provides basic caching statistics in CP.
  * 
  * 1) Hit statistics for caching (mem, fs, hdfs, total)
+ * 2) Hit, miss, and write statistics for the off-heap eviction tier
+ * 3) Write and wait times of asynchronous write-behind
+ * 4) Hits and wait times of prefetched persistent reads
  * 
  * NOTE: In order to provide accurate statistics in multi-threaded
  * synchronized increments are required. Since those functions are 
@@ -55,6 +58,12 @@ public class CacheStatistics
 	private static final LongAdder _numHitsFS       = new LongAdder();
 	private static final LongAdder _numHitsHDFS     = new LongAdder();
 	
+	//off-heap eviction tier statistics
+	private static final LongAdder _numHitsOffHeap   = new LongAdder();
+	private static final LongAdder _numMissOffHeap   = new LongAdder();
+	private static final LongAdder _numWritesOffHeap = new LongAdder();
+	private static final LongAdder _numBytesOffHeap  = new LongAdder(); //in bytes
+	
 	//write statistics caching
 	private static final LongAdder _numWritesFSBuff = new LongAdder();
 	private static final LongAdder _numWritesFS     = new LongAdder();
@@ -65,6 +74,17 @@ public class CacheStatistics
 	private static final LongAdder _ctimeAcquireM   = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeRelease    = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeExport     = new LongAdder(); //in nano sec
+	
+	//async write-behind statistics
+	private static final LongAdder _numAsyncWrites  = new LongAdder();
+	private static final LongAdder _ctimeAsyncWrite = new LongAdder(); //in nano sec
+	private static final LongAdder _ctimeAsyncWait  = new LongAdder(); //in nano sec
+	
+	//prefetch statistics
+	private static final LongAdder _numPrefetches      = new LongAdder();
+	private static final LongAdder _numPrefetchHits    = new LongAdder();
+	private static final LongAdder _ctimePrefetchRead  = new LongAdder(); //in nano sec
+	private static final LongAdder _ctimePrefetchWait  = new LongAdder(); //in nano sec
 
 	public static void reset() {
 		_numHitsMem.reset();
@@ -72,6 +92,11 @@ public class CacheStatistics
 		_numHitsFS.reset();
 		_numHitsHDFS.reset();
 		
+		_numHitsOffHeap.reset();
+		_numMissOffHeap.reset();
+		_numWritesOffHeap.reset();
+		_numBytesOffHeap.reset();
+		
 		_numWritesFSBuff.reset();
 		_numWritesFS.reset();
 		_numWritesHDFS.reset();
@@ -80,6 +105,14 @@ public class CacheStatistics
 		_ctimeAcquireM.reset();
 		_ctimeRelease.reset();
 		_ctimeExport.reset();
+		_numAsyncWrites.reset();
+		_ctimeAsyncWrite.reset();
+		_ctimeAsyncWait.reset();
+		
+		_numPrefetches.reset();
+		_numPrefetchHits.reset();
+		_ctimePrefetchRead.reset();
+		_ctimePrefetchWait.reset();
 	}
 
 	public static void incrementMemHits() {
@@ -130,6 +163,35 @@ public class CacheStatistics
 		return _numHitsHDFS.longValue();
 	}
 
+	public static void incrementOffHeapHits() {
+		_numHitsOffHeap.increment();
+	}
+	
+	public static long getOffHeapHits() {
+		return _numHitsOffHeap.longValue();
+	}
+	
+	public static void incrementOffHeapMisses() {
+		_numMissOffHeap.increment();
+	}
+	
+	public static long getOffHeapMisses() {
+		return _numMissOffHeap.longValue();
+	}
+	
+	public static void incrementOffHeapWrites(long bytes) {
+		_numWritesOffHeap.increment();
+		_numBytesOffHeap.add(bytes);
+	}
+	
+	public static long getOffHeapWrites() {
+		return _numWritesOffHeap.longValue();
+	}
+	
+	public static long getOffHeapBytes() {
+		return _numBytesOffHeap.longValue();
+	}
+
 	public static void incrementFSBuffWrites() {
 		_numWritesFSBuff.increment();
 	}
@@ -198,6 +260,62 @@ public class CacheStatistics
 		return _ctimeExport.longValue();
 	}
 	
+	public static void incrementAsyncWrites() {
+		_numAsyncWrites.increment();
+	}
+	
+	public static long getAsyncWrites() {
+		return _numAsyncWrites.longValue();
+	}
+	
+	public static void incrementAsyncWriteTime(long delta) {
+		_ctimeAsyncWrite.add(delta);
+	}
+	
+	public static long getAsyncWriteTime() {
+		return _ctimeAsyncWrite.longValue();
+	}
+	
+	public static void incrementAsyncWaitTime(long delta) {
+		_ctimeAsyncWait.add(delta);
+	}
+	
+	public static long getAsyncWaitTime() {
+		return _ctimeAsyncWait.longValue();
+	}
+	
+	public static void incrementPrefetches() {
+		_numPrefetches.increment();
+	}
+	
+	public static long getPrefetches() {
+		return _numPrefetches.longValue();
+	}
+	
+	public static void incrementPrefetchHits() {
+		_numPrefetchHits.increment();
+	}
+	
+	public static long getPrefetchHits() {
+		return _numPrefetchHits.longValue();
+	}
+	
+	public static void incrementPrefetchReadTime(long delta) {
+		_ctimePrefetchRead.add(delta);
+	}
+	
+	public static long getPrefetchReadTime() {
+		return _ctimePrefetchRead.longValue();
+	}
+	
+	public static void incrementPrefetchWaitTime(long delta) {
+		_ctimePrefetchWait.add(delta);
+	}
+	
+	public static long getPrefetchWaitTime() {
+		return _ctimePrefetchWait.longValue();
+	}
+	
 	public static String displayHits() {	
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numHitsMem.longValue());
@@ -222,6 +340,45 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	public static String displayOffHeap() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numHitsOffHeap.longValue());
+		sb.append("/");
+		sb.append(_numMissOffHeap.longValue());
+		sb.append("/");
+		sb.append(_numWritesOffHeap.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_numBytesOffHeap.longValue())/(1024*1024))); //in MB
+		
+		return sb.toString();
+	}
+	
+	public static String displayAsyncWrites() {
+		//overlap: background write time not waited for by the control program
+		long overlap = Math.max(_ctimeAsyncWrite.longValue() - _ctimeAsyncWait.longValue(), 0);
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numAsyncWrites.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeAsyncWrite.longValue())/1000000000)); //in sec
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeAsyncWait.longValue())/1000000000)); //in sec
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)overlap)/1000000000)); //in sec
+		return sb.toString();
+	}
+	
+	public static String displayPrefetches() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPrefetches.longValue());
+		sb.append("/");
+		sb.append(_numPrefetchHits.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimePrefetchRead.longValue())/1000000000)); //in sec
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimePrefetchWait.longValue())/1000000000)); //in sec
+		return sb.toString();
+	}
+	
 	public static String displayTime() {	
 		StringBuilder sb = new StringBuilder();
 		sb.append(String.format("%.3f", ((double)_ctimeAcquireR.longValue())/1000000000)); //in sec
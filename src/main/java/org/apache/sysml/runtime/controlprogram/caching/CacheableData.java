@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.mutable.MutableBoolean;
@@ -33,10 +34,12 @@ import org.apache.hadoop.fs.Path;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysml.runtime.controlprogram.caching.ReadAheadQueue.PrefetchTask;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContext;
@@ -77,11 +80,13 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public static final long 	CACHING_THRESHOLD = 4*1024; //obj not s.t. caching if below threshold [in bytes]
 	public static final double 	CACHING_BUFFER_SIZE = 0.15; 
 	public static final RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
-	public static final boolean CACHING_BUFFER_PAGECACHE = false; 
+	public static final boolean CACHING_BUFFER_PAGECACHE = true; 
+	public static final double  CACHING_PAGECACHE_SIZE = 0.05; //max fraction of heap for pooled arrays
 	public static final boolean CACHING_WRITE_CACHE_ON_READ = false;	
 	public static final String  CACHING_COUNTER_GROUP_NAME    = "SystemML Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
+	public static final boolean CACHING_ASYNC_EVICTION = true;
     
 	/**
 	 * Defines all possible cache status types for a data blob.
@@ -140,7 +145,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	private final int _uniqueID;
 	
 	/** The cache status of the data blob (whether it can be or is evicted, etc. */
-	private CacheStatus _cacheStatus = null;
+	private volatile CacheStatus _cacheStatus = null;
 	
 	/** Cache for actual data, evicted by garbage collector. */
 	protected SoftReference<T> _cache = null;
@@ -181,7 +186,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	private boolean _dirtyFlag = false;
 	
 	// additional private flags and meta data
-	private int     _numReadThreads = 0;   //number of threads for read from HDFS
+	private final AtomicInteger _numReadThreads = new AtomicInteger(0); //number of threads for read
+	private final AtomicInteger _numPendingWrites = new AtomicInteger(0); //number of async writes
+	private PrefetchTask<T> _prefetch = null; //pending prefetched read
 	private boolean _cleanupFlag = true;   //flag if obj unpinned (cleanup enabled)	
 	private String  _varName = "";         //plan variable name
 	private String  _cacheFileName = null; //local eviction file name
@@ -205,7 +212,6 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		super (dt, vt);		
 		_uniqueID = (int)_seq.getNextID();		
 		_cacheStatus = CacheStatus.EMPTY;
-		_numReadThreads = 0;
 		_gpuObjects = new HashMap<GPUContext, GPUObject>();
 	}
 	
@@ -265,9 +271,11 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	}
 
 	public synchronized void setFileName( String file ) {
-		if( _hdfsFileName!=null && !_hdfsFileName.equals(file) )
+		if( _hdfsFileName!=null && !_hdfsFileName.equals(file) ) {
 			if( !isEmpty(true) )
 				_dirtyFlag = true;
+			cancelPrefetch();
+		}
 		_hdfsFileName = file;
 	}
 	
@@ -370,7 +378,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	 * restores the cache block to main memory, reads from HDFS if needed.
 	 * 
 	 * Synchronized because there might be parallel threads (parfor local) that
-	 * access the same object (in case it was created before the loop).
+	 * access the same object (in case it was created before the loop). However,
+	 * if the data is already pinned in memory by concurrent readers, the read
+	 * lock is acquired via an atomic increment without the object lock.
 	 * 
 	 * In-Status:  EMPTY, EVICTABLE, EVICTED, READ;
 	 * Out-Status: READ(+1).
@@ -378,7 +388,15 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	 * @return cacheable data
 	 * @throws CacheException if CacheException occurs
 	 */
-	public synchronized T acquireRead()
+	public T acquireRead()
+		throws CacheException
+	{
+		//fast path: shared read of pinned in-memory data
+		T data = acquireReadShared();
+		return (data != null) ? data : acquireReadSync();
+	}
+	
+	private synchronized T acquireReadSync()
 		throws CacheException
 	{
 		if( LOG.isTraceEnabled() )
@@ -421,8 +439,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 					if( _hdfsFileName == null )
 						throw new CacheException("Cannot read matrix for empty filename.");
 					
-					//read cacheable data from hdfs
-					_data = readBlobFromHDFS( _hdfsFileName );
+					//read cacheable data from hdfs (after pending writes)
+					WriteBehindQueue.await( _hdfsFileName );
+					_data = readBlobFromHDFSOrPrefetch( _hdfsFileName );
 					
 					//mark for initial local write despite read operation
 					_requiresLocalWrite = CACHING_WRITE_CACHE_ON_READ;
@@ -485,6 +504,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		if ( !isAvailableToModify() )
 			throw new CacheException("MatrixObject not available to modify.");
 		
+		//wait for pending async writes of the pinned data
+		awaitPendingWrites();
+		
 		//get object from cache
 		if( _data == null )
 			getCache();
@@ -499,7 +521,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			//load data
 			try
 			{
-				_data = readBlobFromHDFS( _hdfsFileName );
+				WriteBehindQueue.await( _hdfsFileName );
+				_data = readBlobFromHDFSOrPrefetch( _hdfsFileName );
 			}
 			catch (IOException e)
 			{
@@ -571,14 +594,24 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	 * size information, last-access time, metadata, etc.
 	 * 
 	 * Synchronized because there might be parallel threads (parfor local) that
-	 * access the same object (in case it was created before the loop).
+	 * access the same object (in case it was created before the loop). However,
+	 * if other readers remain, the read lock is released via an atomic decrement
+	 * without the object lock.
 	 * 
 	 * In-Status:  READ, MODIFY;
 	 * Out-Status: READ(-1), EVICTABLE, EMPTY.
 	 * 
 	 * @throws CacheException if CacheException occurs
 	 */
-	public synchronized void release() 
+	public void release() 
+		throws CacheException
+	{
+		//fast path: release of shared read with remaining readers
+		if( !releaseShared() )
+			releaseSync();
+	}
+	
+	private synchronized void releaseSync() 
 		throws CacheException
 	{
 		if( LOG.isTraceEnabled() )
@@ -596,8 +629,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			refreshMetaData();
 		}
 
-		//compact empty in-memory block 
-		_data.compactEmptyBlock();
+		//compact empty in-memory block (unless pinned by async writes)
+		boolean pinned = _numPendingWrites.get() > 0;
+		if( !pinned )
+			_data.compactEmptyBlock();
 		
 		//cache status maintenance (pass cacheNoWrite flag)
 		release(_isAcquireFromEmpty && !_requiresLocalWrite);
@@ -605,14 +640,15 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		if(    isCachingActive() //only if caching is enabled (otherwise keep everything in mem)
 			&& isCached(true)    //not empty and not read/modify
-			&& !isBelowCachingThreshold() ) //min size for caching
+			&& !isBelowCachingThreshold() //min size for caching
+			&& !pinned )         //no pending async writes
 		{
 			if( write || _requiresLocalWrite ) 
 			{
 				//evict blob
 				String filePath = getCacheFilePathAndName();
 				try {
-					LazyWriteBuffer.writeBlock(filePath, _data);
+					writeBlobToCache(filePath);
 				}
 				catch (Exception e)
 				{
@@ -635,6 +671,54 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		}
 	}
 	
+	/**
+	 * Acquires an additional shared read lock without the object lock, which
+	 * is only possible if the data is already pinned in memory by concurrent 
+	 * readers. Since the read count is incremented atomically iff it is 
+	 * positive, the data cannot be evicted or modified concurrently.
+	 * 
+	 * @return cacheable data, or null if the synchronized acquire is required
+	 */
+	private T acquireReadShared() {
+		if( DMLScript.USE_ACCELERATOR )
+			return null; //potentially dirty gpu copies
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		for( int n = _numReadThreads.get(); n > 0; n = _numReadThreads.get() ) {
+			if( _numReadThreads.compareAndSet(n, n+1) ) {
+				updateStatusPinned(true);
+				if( DMLScript.STATISTICS ) {
+					CacheStatistics.incrementMemHits();
+					CacheStatistics.incrementAcquireRTime(System.nanoTime()-t0);
+				}
+				return _data;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Releases a shared read lock without the object lock, which is only
+	 * possible if other readers remain (no status change or eviction).
+	 * 
+	 * @return true if released, false if the synchronized release is required
+	 */
+	private boolean releaseShared() {
+		if( DMLScript.USE_ACCELERATOR )
+			return false;
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		for( int n = _numReadThreads.get(); n > 1; n = _numReadThreads.get() ) {
+			if( _numReadThreads.compareAndSet(n, n-1) ) {
+				updateStatusPinned(false);
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementReleaseTime(System.nanoTime()-t0);
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	protected void clearReusableData() {}
 	
 	/**
@@ -660,6 +744,12 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			throw new CacheException ("CacheableData (" + getDebugName() + ") not available to "
 					+ "modify. Status = " + getStatusAsString() + ".");
 		
+		// wait for pending async writes (prior to recycling the data)
+		awaitPendingWrites();
+		
+		// drop pending prefetched reads
+		cancelPrefetch();
+		
 		// clear existing WB / FS representation (but prevent unnecessary probes)
 		if( !(isEmpty(true)||(_data!=null && isBelowCachingThreshold()) 
 			  ||(_data!=null && !isCachingActive()) )) //additional condition for JMLC
@@ -748,6 +838,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		if ( !isAvailableToRead() )
 			throw new CacheException ("MatrixObject not available to read.");
 
+		//wait for pending async writes to the target (ordered writes)
+		WriteBehindQueue.await(fName);
+		
 		LOG.trace("Exporting " + this.getDebugName() + " to " + fName + " in format " + outputFormat);
 		
 		//TODO remove
@@ -785,8 +878,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 				//note: for large rdd outputs, we compile dedicated writespinstructions (no need to handle this here) 
 				try
 				{
+					WriteBehindQueue.await( _hdfsFileName );
 					if( getRDDHandle()==null || getRDDHandle().allowsShortCircuitRead() )
-						_data = readBlobFromHDFS( _hdfsFileName );
+						_data = readBlobFromHDFSOrPrefetch( _hdfsFileName );
 					else
 						_data = readBlobFromRDD( getRDDHandle(), new MutableBoolean() );
 					setDirty(false);
@@ -865,6 +959,136 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		}
 	}
 	
+	/**
+	 * Writes the cache block data asynchronously to HDFS (write-behind) if
+	 * enabled and applicable, and otherwise synchronously via exportData.
+	 * Asynchronous writes apply to persistent writes of dirty in-memory or 
+	 * evicted data, or writes in a different output format. The data is 
+	 * pinned read-only until the write completes, i.e., modifications and 
+	 * cleanups of this object, as well as reads and writes of the target 
+	 * file wait for the pending write.
+	 * 
+	 * @param fName file name
+	 * @param outputFormat format
+	 * @param formatProperties file format properties
+	 * @throws CacheException if CacheException occurs
+	 */
+	public synchronized void exportDataAsync(String fName, String outputFormat, FileFormatProperties formatProperties)
+		throws CacheException
+	{
+		//fallback to synchronous export (transient writes, data not in memory 
+		//or evicted, copies of existing files, or potentially dirty gpu copies)
+		boolean pWrite = !fName.equals(_hdfsFileName);
+		if( !WriteBehindQueue.isEnabled() || !pWrite || isEmpty(true) 
+			|| !isAvailableToRead() || DMLScript.USE_ACCELERATOR
+			|| !(isDirty() || !isEqualOutputFormat(outputFormat) 
+				|| !IOUtilFunctions.isSameFileScheme(new Path(_hdfsFileName), new Path(fName))) )
+		{
+			exportData(fName, outputFormat, -1, formatProperties);
+			return;
+		}
+		
+		if( LOG.isTraceEnabled() )
+			LOG.trace("Export data async "+getVarName()+" "+fName);
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		//get object from cache (incl. read matrix if evicted)
+		if( _data == null )
+			getCache();
+		acquire( false, _data==null );
+		
+		//submit background write, which pins the data until completion
+		try {
+			WriteBehindQueue.submit(fName, this, () -> {
+				writeMetaData( fName, outputFormat, formatProperties );
+				writeBlobToHDFS( fName, outputFormat, -1, formatProperties );
+			});
+		}
+		finally {
+			release();
+		}
+		
+		if( DMLScript.STATISTICS ){
+			long t1 = System.nanoTime();
+			CacheStatistics.incrementExportTime(t1-t0);
+		}
+	}
+	
+	void pinForWrite() {
+		_numPendingWrites.incrementAndGet();
+	}
+	
+	void unpinForWrite() {
+		_numPendingWrites.decrementAndGet();
+	}
+	
+	private void awaitPendingWrites() 
+		throws CacheException 
+	{
+		if( _numPendingWrites.get() > 0 )
+			WriteBehindQueue.await(this);
+	}
+	
+	/**
+	 * Starts an asynchronous prefetch of the persistent data file, if this
+	 * data object was never read or assigned before. The first subsequent
+	 * acquire then obtains the prefetched data instead of reading the file.
+	 * Data objects of unknown size, or exceeding the prefetch budget, are
+	 * not prefetched.
+	 */
+	public synchronized void prefetch() {
+		if( !ReadAheadQueue.isEnabled() || _prefetch != null || _data != null 
+			|| !isEmpty(true) || _hdfsFileName == null || getRDDHandle() != null 
+			|| DMLScript.rtplatform == RUNTIME_PLATFORM.HADOOP //no local reads
+			|| DMLScript.rtplatform == RUNTIME_PLATFORM.SPARK || _metaData == null )
+			return;
+		MatrixCharacteristics mc = getMatrixCharacteristics();
+		if( !mc.dimsKnown() )
+			return;
+		final String fname = _hdfsFileName;
+		_prefetch = ReadAheadQueue.submit(fname, 
+			OptimizerUtils.estimateSizeExactSparsity(mc), () -> readBlobFromHDFS(fname));
+	}
+	
+	private T readBlobFromHDFSOrPrefetch(String fname) 
+		throws IOException
+	{
+		//obtain prefetched data if available for the given file
+		PrefetchTask<T> task = _prefetch;
+		_prefetch = null;
+		if( task != null && !fname.equals(task.getFileName()) ) {
+			task.cancel();
+			task = null;
+		}
+		T ret = (task != null) ? task.get() : null;
+		
+		//fallback to synchronous read (e.g., if no or failed prefetch)
+		if( ret == null )
+			ret = readBlobFromHDFS(fname);
+		
+		//maintain meta data on the acquiring thread (prefetch tasks only read)
+		updateMetaDataOnRead(ret);
+		return ret;
+	}
+	
+	/**
+	 * Maintains the meta data after the given data was read from its persistent
+	 * file. In contrast to the read itself, which might run in an asynchronous 
+	 * prefetch task, this method is always invoked by the acquiring thread.
+	 * 
+	 * @param data data read from the persistent file
+	 */
+	protected void updateMetaDataOnRead(T data) {
+		setHDFSFileExists(true);
+	}
+	
+	private void cancelPrefetch() {
+		if( _prefetch != null ) {
+			_prefetch.cancel();
+			_prefetch = null;
+		}
+	}
+	
 	// --------- ABSTRACT LOW-LEVEL CACHE I/O OPERATIONS ----------
 
 	/**
@@ -917,6 +1141,19 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	protected abstract T readBlobFromCache(String fname)
 		throws IOException;
 	
+	/**
+	 * Low-level cache I/O method that writes the in-memory data blob
+	 * to the buffer pool (write buffer or local file system).
+	 * 
+	 * @param fname eviction file name
+	 * @throws IOException if IOException occurs
+	 */
+	protected void writeBlobToCache(String fname)
+		throws IOException
+	{
+		LazyWriteBuffer.writeBlock(fname, _data);
+	}
+	
 	/**
 	 * Low-level cache I/O method that deletes the file containing the
 	 * evicted data blob, without reading it.
@@ -1178,13 +1415,12 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	}
 
 	protected void addOneRead() {
-		_numReadThreads ++;
+		_numReadThreads.incrementAndGet();
 		_cacheStatus = CacheStatus.READ;
 	}
 	
 	protected void removeOneRead(boolean doesBlobExist, boolean cacheNoWrite) {
-		_numReadThreads --;					
-		if (_numReadThreads == 0) {
+		if (_numReadThreads.decrementAndGet() == 0) {
 			if( cacheNoWrite )
 				_cacheStatus = (doesBlobExist ? 
 						CacheStatus.CACHED_NOWRITE : CacheStatus.EMPTY);
@@ -1264,6 +1500,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	// --------- STATIC CACHE INIT/CLEANUP OPERATIONS ----------
 
 	public synchronized static void cleanupCacheDir() {
+		//complete pending async writes, drop pending prefetches
+		WriteBehindQueue.cleanup();
+		ReadAheadQueue.cleanup();
+		
 		//cleanup remaining cached writes
 		LazyWriteBuffer.cleanup();
 		
@@ -1307,6 +1547,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		throws IOException
 	{
 		initCaching(DMLScript.getUUID());
+		
+		//init async write-behind and prefetching (control program only)
+		WriteBehindQueue.init();
+		ReadAheadQueue.init();
 	}
 	
 	/**
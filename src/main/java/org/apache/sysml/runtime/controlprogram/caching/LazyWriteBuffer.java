@@ -23,29 +23,72 @@ import java.io.IOException;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
+/**
+ * Buffer pool for evicted cache blocks, which keeps serialized (or shallow)
+ * blocks in memory up to a global size limit and writes them to local FS 
+ * on eviction. In order to reduce contention of concurrent parfor workers,
+ * the buffer is partitioned into lock-striped eviction queues (by file name),
+ * while the size is maintained globally. Evicted entries remain accessible
+ * via the set of pending evictions until they are asynchronously written by
+ * background eviction threads, which removes serialization and local writes
+ * from the critical path of writers.
+ * 
+ * Note that the eviction order (FIFO/LRU) is maintained per stripe, and 
+ * victims are taken from the stripes in round-robin order.
+ */
 public class LazyWriteBuffer 
 {
+	private static final Log LOG = LogFactory.getLog(LazyWriteBuffer.class.getName());
+	
 	public enum RPolicy {
 		FIFO, //first-in, first-out eviction
 		LRU   //least recently used eviction
 	}
 	
+	//number of lock stripes (eviction queues), power of two
+	private static final int NUM_STRIPES = 16;
+	
+	//number of background eviction threads
+	private static final int NUM_EVICTION_THREADS = Math.max(
+		Math.min(InfrastructureAnalyzer.getLocalParallelism()/4, 4), 1);
+	
 	//global size limit in bytes
 	private static final long _limit; 
 	
-	//current size in bytes
-	private static long _size;  
+	//current size in bytes (incl pending evictions)
+	private static final AtomicLong _size = new AtomicLong(0);
+	
+	//current size in bytes of pending evictions
+	private static final AtomicLong _psize = new AtomicLong(0);
+	
+	//lock-striped eviction queues of <filename,buffer> pairs (implemented via linked 
+	//hash map for (1) queue semantics and (2) constant time get/insert/delete operations)
+	private static EvictionQueue[] _mQueues;
+	
+	//round-robin position for victim selection across stripes
+	private static final AtomicInteger _mPos = new AtomicInteger(0);
+	
+	//pending asynchronous evictions of <filename,task> pairs
+	private static ConcurrentHashMap<String, EvictionTask> _pending;
 	
-	//eviction queue of <filename,buffer> pairs (implemented via linked hash map 
-	//for (1) queue semantics and (2) constant time get/insert/delete operations)
-	private static EvictionQueue _mQueue;
+	//thread pool for asynchronous background eviction
+	private static ExecutorService _ePool;
 	
 	//file cleaner for synchronous or asynchronous delete of evicted files
 	private static FileCleaner _fClean;
@@ -59,6 +102,11 @@ public class LazyWriteBuffer
 	public static void writeBlock( String fname, CacheBlock cb ) 
 		throws IOException
 	{	
+		//wait for pending eviction of a previous version and drop
+		//older off-heap versions (eviction file names are reused)
+		awaitEviction(fname);
+		OffHeapBuffer.deleteBlock(fname);
+		
 		//obtain basic meta data of cache block
 		long lSize = cb.isShallowSerialize() ?
 			cb.getInMemorySize() : cb.getExactSerializedSize();
@@ -70,47 +118,29 @@ public class LazyWriteBuffer
 		{			
 			//create byte buffer handle (no block allocation yet)
 			ByteBuffer bbuff = new ByteBuffer( lSize );
-			int numEvicted = 0;
 			
-			//modify buffer pool
-			synchronized( _mQueue )
-			{
-				//evict matrices to make room (by default FIFO)
-				while( _size+lSize >= _limit )
-				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-					String ftmp = entry.getKey();
-					ByteBuffer tmp = entry.getValue();
-					
-					if( tmp != null ) {
-						//wait for pending serialization
-						tmp.checkSerialized();
-						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
-						_size-=tmp.getSize();
-						numEvicted++;
-					}
-				}
-				
-				//put placeholder into buffer pool (reserve mem) 
-				_mQueue.addLast(fname, bbuff);
-				_size += lSize;	
+			//reserve mem and evict blocks to make room (by default FIFO)
+			_size.addAndGet(lSize);
+			while( _size.get() - _psize.get() > _limit ) {
+				if( !evictNext() )
+					break; //all entries pending or failed
+			}
+			
+			//put placeholder into buffer pool 
+			EvictionQueue queue = getQueue(fname);
+			synchronized( queue ) {
+				queue.addLast(fname, bbuff);
 			}
 			
 			//serialize matrix (outside synchronized critical path)
 			bbuff.serializeBlock(cb); 
 			
-			if( DMLScript.STATISTICS ) {
+			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffWrites();
-				CacheStatistics.incrementFSWrites(numEvicted);
-			}
 		}	
-		else
+		else if( !OffHeapBuffer.writeBlock(fname, cb) )
 		{
-			//write directly to local FS (bypass buffer if too large)
+			//write directly to local FS (bypass buffers if too large)
 			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSWrites();
@@ -119,55 +149,82 @@ public class LazyWriteBuffer
 
 	public static void deleteBlock( String fname )
 	{
-		boolean requiresDelete = true;
+		//remove queue entry
+		boolean requiresDelete = !removeBlock(fname);
 		
-		synchronized( _mQueue )
-		{
-			//remove queue entry 
-			ByteBuffer ldata = _mQueue.remove(fname);
-			if( ldata != null ) {
-				_size -= ldata.getSize(); 
-				requiresDelete = false;
-				ldata.freeMemory(); //cleanup
-			}
+		//wait for pending eviction (complete file write), 
+		//and remove the reinserted entry if the eviction failed
+		EvictionTask task = requiresDelete ? _pending.get(fname) : null;
+		if( task != null ) {
+			task.await();
+			requiresDelete = task.isSuccess() || !removeBlock(fname);
 		}
 		
-		//delete from FS if required
-		if( requiresDelete )
+		//delete from off-heap tier and FS if required
+		if( requiresDelete && !OffHeapBuffer.deleteBlock(fname) )
 			_fClean.deleteFile(fname);
 	}
 
 	public static CacheBlock readBlock( String fname, boolean matrix ) 
 		throws IOException
+	{
+		return readBlock(fname, matrix ? new MatrixBlock() : new FrameBlock());
+	}
+	
+	/**
+	 * Reads the given cache block from the write buffer, off-heap tier, 
+	 * or local file system. Serialized blocks are deserialized into the 
+	 * given empty block, which allows to restore specialized block types
+	 * such as compressed matrix blocks.
+	 * 
+	 * @param fname eviction file name
+	 * @param ret empty block to deserialize into
+	 * @return cache block
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock readBlock( String fname, CacheBlock ret ) 
+		throws IOException
 	{
 		CacheBlock cb = null;
 		ByteBuffer ldata = null;
 		
 		//probe write buffer
-		synchronized( _mQueue )
+		EvictionQueue queue = getQueue(fname);
+		synchronized( queue )
 		{
-			ldata = _mQueue.get(fname);
+			ldata = queue.get(fname);
 			
 			//modify eviction order (accordingly to access)
 			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU 
 				&& ldata != null )
 			{
 				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
+				queue.remove( fname );
+				queue.addLast( fname, ldata );
 			}
 		}
 		
+		//probe pending evictions (still in memory)
+		if( ldata == null ) {
+			EvictionTask task = _pending.get(fname);
+			if( task != null )
+				ldata = task.getBuffer();
+		}
+		
 		//deserialize or read from FS if required
+		//(null if concurrently evicted and released)
 		if( ldata != null )
-		{
 			cb = ldata.deserializeBlock();
+		
+		if( cb != null )
+		{
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffHits();
 		}
-		else
+		else if( (cb = OffHeapBuffer.readBlock(fname, ret)) == null )
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix); 
+			awaitEviction(fname);
+			cb = (CacheBlock) LocalFileUtils.readWritableFromLocal(fname, ret); 
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSHits();
 		}
@@ -176,20 +233,40 @@ public class LazyWriteBuffer
 	}
 
 	public static void init() {
-		_mQueue = new EvictionQueue();
+		_mQueues = new EvictionQueue[NUM_STRIPES];
+		for( int i=0; i<NUM_STRIPES; i++ )
+			_mQueues[i] = new EvictionQueue();
+		_pending = new ConcurrentHashMap<String, EvictionTask>();
+		if( CacheableData.CACHING_ASYNC_EVICTION && _ePool == null )
+			_ePool = Executors.newFixedThreadPool(
+				NUM_EVICTION_THREADS, new EvictionThreadFactory());
 		_fClean = new FileCleaner();
-		_size = 0;
-		if( CacheableData.CACHING_BUFFER_PAGECACHE )
-			PageCache.init();
+		_size.set(0);
+		_psize.set(0);
+		OffHeapBuffer.init();
+		PageCache.init();
 	}
 
 	public static void cleanup() {
-		if( _mQueue != null )
-			_mQueue.clear();
+		if( _mQueues != null ) {
+			for( EvictionQueue queue : _mQueues )
+				synchronized( queue ) {
+					queue.clear();
+				}
+		}
+		if( _pending != null ) {
+			//complete pending evictions before file cleanup
+			for( EvictionTask task : _pending.values() )
+				task.await();
+		}
+		if( _ePool != null ) {
+			_ePool.shutdown();
+			_ePool = null;
+		}
 		if( _fClean != null )
 			_fClean.close();
-		if( CacheableData.CACHING_BUFFER_PAGECACHE )
-			PageCache.clear();
+		OffHeapBuffer.cleanup();
+		PageCache.clear();
 	}
 
 	public static long getWriteBufferSize() {
@@ -197,6 +274,70 @@ public class LazyWriteBuffer
 		return (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
 	}
 	
+	private static boolean removeBlock( String fname ) {
+		EvictionQueue queue = getQueue(fname);
+		synchronized( queue ) {
+			ByteBuffer ldata = queue.remove(fname);
+			if( ldata != null ) {
+				_size.addAndGet(-ldata.getSize()); 
+				ldata.freeMemory(); //cleanup
+			}
+			return (ldata != null);
+		}
+	}
+	
+	private static EvictionQueue getQueue( String fname ) {
+		//spread hash bits to avoid clustering of similar file names
+		int h = fname.hashCode();
+		h ^= (h >>> 16);
+		return _mQueues[h & (NUM_STRIPES-1)];
+	}
+	
+	/**
+	 * Removes the next victim from the eviction queues (round-robin over 
+	 * stripes, FIFO/LRU within stripes) and evicts it asynchronously. If the 
+	 * size of pending evictions exceeds the buffer limit, the victim is 
+	 * evicted by the calling thread to bound the memory of pending evictions.
+	 * 
+	 * @return true if an entry was evicted, false if all queues are empty
+	 *   or the synchronous eviction failed
+	 * @throws IOException if IOException occurs
+	 */
+	private static boolean evictNext() 
+		throws IOException
+	{
+		//remove first entry from next non-empty eviction queue, and
+		//register it atomically as pending eviction (accessible for reads)
+		EvictionTask task = null;
+		for( int i=0; i<NUM_STRIPES && task==null; i++ ) {
+			EvictionQueue queue = _mQueues[_mPos.getAndIncrement() & (NUM_STRIPES-1)];
+			synchronized( queue ) {
+				if( !queue.isEmpty() ) {
+					Entry<String, ByteBuffer> entry = queue.removeFirst();
+					task = new EvictionTask(entry.getKey(), entry.getValue());
+					_pending.put(entry.getKey(), task);
+					_psize.addAndGet(entry.getValue().getSize());
+				}
+			}
+		}
+		if( task == null )
+			return false;
+		
+		//async eviction by background threads, or sync under memory pressure
+		if( _ePool != null && _psize.get() <= _limit ) {
+			_ePool.submit(task);
+			return true;
+		}
+		task.run();
+		return task.isSuccess();
+	}
+	
+	private static void awaitEviction( String fname ) {
+		EvictionTask task = _pending.get(fname);
+		if( task != null )
+			task.await();
+	}
+	
 	/**
 	 * Print current status of buffer pool, including all entries.
 	 * NOTE: use only for debugging or testing.  
@@ -208,21 +349,28 @@ public class LazyWriteBuffer
 		System.out.println("WRITE BUFFER STATUS ("+position+") --");
 		
 		//print buffer meta data
+		int size = 0;
+		for( EvictionQueue queue : _mQueues )
+			size += queue.size();
 		System.out.println("\tWB: Buffer Meta Data: " +
 				     "limit="+_limit+", " +
-				     "size[bytes]="+_size+", " +
-				     "size[elements]="+_mQueue.size()+"/"+_mQueue.size());
+				     "size[bytes]="+_size.get()+", " +
+				     "pending[bytes]="+_psize.get()+", " +
+				     "size[elements]="+size+"/"+_pending.size());
 		
 		//print current buffer entries
-		int count = _mQueue.size();
-		for( Entry<String, ByteBuffer> entry : _mQueue.entrySet() )
-		{
-			String fname = entry.getKey();
-			ByteBuffer bbuff = entry.getValue();
-			
-			System.out.println("\tWB: buffer element ("+count+"): "+fname+", "+bbuff.getSize()+", "+bbuff.isShallow());
-			count--;
-		}
+		int count = size;
+		for( EvictionQueue queue : _mQueues )
+			synchronized( queue ) {
+				for( Entry<String, ByteBuffer> entry : queue.entrySet() )
+				{
+					String fname = entry.getKey();
+					ByteBuffer bbuff = entry.getValue();
+					
+					System.out.println("\tWB: buffer element ("+count+"): "+fname+", "+bbuff.getSize()+", "+bbuff.isShallow());
+					count--;
+				}
+			}
 	}
 	
 	/**
@@ -235,21 +383,32 @@ public class LazyWriteBuffer
 		throws IOException 
 	{
 		//evict all matrices and frames
-		while( !_mQueue.isEmpty() )
-		{
-			//remove first entry from eviction queue
-			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-			ByteBuffer tmp = entry.getValue();
-			
-			if( tmp != null ) {
-				//wait for pending serialization
-				tmp.checkSerialized();
-				
-				//evict matrix
-				tmp.evictBuffer(entry.getKey());
-				tmp.freeMemory();
+		for( EvictionQueue queue : _mQueues )
+			synchronized( queue ) {
+				while( !queue.isEmpty() )
+				{
+					//remove first entry from eviction queue
+					Entry<String, ByteBuffer> entry = queue.removeFirst();
+					ByteBuffer tmp = entry.getValue();
+					
+					if( tmp != null ) {
+						//wait for pending serialization
+						tmp.checkSerialized();
+						
+						//evict matrix
+						tmp.evictBuffer(entry.getKey());
+						tmp.freeMemory();
+						_size.addAndGet(-tmp.getSize());
+					}
+				}
 			}
-		}
+		
+		//wait for pending evictions
+		for( EvictionTask task : _pending.values() )
+			task.await();
+		
+		//evict all off-heap entries
+		OffHeapBuffer.forceEviction();
 	}
 	
 	/**
@@ -279,6 +438,101 @@ public class LazyWriteBuffer
 		}
 	}
 	
+	/**
+	 * Eviction of a single buffer entry to the off-heap tier or local FS,
+	 * executed by background eviction threads or the caller. The entry 
+	 * remains accessible for reads until the write is complete, and is 
+	 * reinserted into the buffer pool if the write fails.
+	 */
+	private static class EvictionTask implements Runnable
+	{
+		private final String _fname;
+		private final ByteBuffer _bbuff;
+		private final CountDownLatch _done = new CountDownLatch(1);
+		private volatile boolean _success = false;
+		
+		public EvictionTask( String fname, ByteBuffer bbuff ) {
+			_fname = fname;
+			_bbuff = bbuff;
+		}
+		
+		public ByteBuffer getBuffer() {
+			return _bbuff;
+		}
+		
+		@Override
+		public void run() {
+			boolean success = false;
+			try {
+				//wait for pending serialization
+				_bbuff.checkSerialized();
+				
+				//evict matrix (to off-heap tier or local FS)
+				if( !OffHeapBuffer.writeBlock(_fname, _bbuff) ) {
+					_bbuff.evictBuffer(_fname);
+					if( DMLScript.STATISTICS )
+						CacheStatistics.incrementFSWrites();
+				}
+				success = true;
+			}
+			catch(Exception ex) {
+				LOG.error("Failed to evict buffer entry "+_fname+", retained in memory.", ex);
+			}
+			finally {
+				if( success ) {
+					_bbuff.freeMemory();
+					_size.addAndGet(-_bbuff.getSize());
+					_pending.remove(_fname, this);
+				}
+				else {
+					//reinsert entry atomically w/ removal from pending
+					EvictionQueue queue = getQueue(_fname);
+					synchronized( queue ) {
+						queue.addLast(_fname, _bbuff);
+						_pending.remove(_fname, this);
+					}
+				}
+				_psize.addAndGet(-_bbuff.getSize());
+				_success = success;
+				_done.countDown();
+			}
+		}
+		
+		public boolean isSuccess() {
+			return _success;
+		}
+		
+		public void await() {
+			boolean interrupted = false;
+			while( _done.getCount() > 0 ) {
+				try {
+					_done.await();
+				}
+				catch(InterruptedException ex) {
+					interrupted = true;
+				}
+			}
+			if( interrupted )
+				Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Thread factory for daemon eviction threads, which do not
+	 * prevent JVM shutdown if the buffer pool is not cleaned up.
+	 */
+	private static class EvictionThreadFactory implements ThreadFactory
+	{
+		private final AtomicInteger _count = new AtomicInteger(0);
+		
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "LazyWriteBuffer-evict-"+_count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+	
 	/**
 	 * File delete service for abstraction of synchronous and asynchronous 
 	 * file cleanup on rmvar/cpvar. The threadpool for asynchronous cleanup
@@ -31,9 +31,11 @@ import org.apache.sysml.lops.Lop;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MatrixDimensionsMetaData;
 import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
@@ -72,6 +74,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	
 	//additional matrix-specific flags
 	private UpdateType _updateType = UpdateType.COPY; 
+	private boolean _cacheCompressed = false; //indicates compressed evicted block
 	
 	//information relevant to partitioned matrices.
 	private boolean _partitioned = false; //indicates if obj partitioned
@@ -216,6 +219,26 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return _partitioned;
 	}
 	
+	/**
+	 * Indicates if the matrix can be streamed row-block-wise from its persistent
+	 * file (see MatrixStreamReader), i.e., if it is neither in memory nor evicted,
+	 * the file is up-to-date (or backed by a checkpoint over the file), and the
+	 * file format and meta data allow for streaming.
+	 * 
+	 * @return true if streamable from file
+	 */
+	public synchronized boolean isStreamable()
+	{
+		if( !isEmpty(true) || _data != null || isDirty() || _hdfsFileName == null || _partitioned
+			|| (getRDDHandle() != null && !getRDDHandle().allowsShortCircuitRead())
+			|| !(_metaData instanceof MatrixFormatMetaData) )
+			return false;
+		MatrixFormatMetaData meta = (MatrixFormatMetaData) _metaData;
+		MatrixCharacteristics mc = meta.getMatrixCharacteristics();
+		return MatrixReaderFactory.isStreamable(meta.getInputInfo()) && mc.dimsKnown()
+			&& (meta.getInputInfo() != InputInfo.BinaryBlockInputInfo || mc.getColsPerBlock() > 0);
+	}
+	
 	public PDataPartitionFormat getPartitionFormat()
 	{
 		return _partitionFormat;
@@ -315,8 +338,10 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 				
 				
 				//read the 
-				if( MapReduceTool.existsFileOnHDFS(fname) )
+				if( MapReduceTool.existsFileOnHDFS(fname) ) {
 					mb = readBlobFromHDFS( fname, rows, cols );
+					setHDFSFileExists(true);
+				}
 				else
 				{
 					mb = new MatrixBlock((int)rows, (int)cols, true);
@@ -417,9 +442,30 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 			|| getUpdateType() == UpdateType.INPLACE_PINNED;
 	}
 	
+	@Override
+	protected void clearReusableData() {
+		//recycle arrays of removed intermediates (if enabled), except for
+		//blocks that might be shared by rdds, broadcasts, gpu or in-place updates
+		if( PageCache.isArrayPoolEnabled() && _data != null && !DMLScript.USE_ACCELERATOR
+			&& getRDDHandle() == null && getBroadcastHandle() == null
+			&& getUpdateType() == UpdateType.COPY ) {
+			PageCache.putBlock(_data);
+		}
+	}
+
 	@Override
 	protected MatrixBlock readBlobFromCache(String fname) throws IOException {
-		return (MatrixBlock)LazyWriteBuffer.readBlock(fname, true);
+		//restore compressed blocks w/o decompression (see writeBlobToCache)
+		return (MatrixBlock)LazyWriteBuffer.readBlock(fname, 
+			_cacheCompressed ? new CompressedMatrixBlock() : new MatrixBlock());
+	}
+	
+	@Override
+	protected void writeBlobToCache(String fname) throws IOException {
+		//keep track of the block type in order to restore compressed
+		//blocks with their column groups instead of plain matrix blocks
+		_cacheCompressed = (_data instanceof CompressedMatrixBlock);
+		super.writeBlobToCache(fname);
 	}
 	
 
@@ -437,11 +483,10 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 			begin = System.currentTimeMillis();
 		}
 		
-		//read matrix and maintain meta data
+		//read matrix (meta data maintained by caller, see updateMetaDataOnRead)
 		double sparsity = (mc.getNonZeros() >= 0 ? ((double)mc.getNonZeros())/(mc.getRows()*mc.getCols()) : 1.0d); 
 		MatrixBlock newData = DataConverter.readMatrixFromHDFS(fname, iimd.getInputInfo(), rlen, clen,
 				mc.getRowsPerBlock(), mc.getColsPerBlock(), sparsity, getFileFormatProperties());
-		setHDFSFileExists(true);
 		
 		//sanity check correct output
 		if( newData == null )
@@ -453,6 +498,15 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return newData;
 	}
 
+	@Override
+	protected void updateMetaDataOnRead(MatrixBlock data) {
+		super.updateMetaDataOnRead(data);
+		//maintain unknown number of non-zeros of the read matrix
+		MatrixCharacteristics mc = getMatrixCharacteristics();
+		if( !mc.nnzKnown() )
+			mc.setNonZeros(data.getNonZeros());
+	}
+
 	@Override
 	protected MatrixBlock readBlobFromRDD(RDDObject rdd, MutableBoolean writeStatus) 
 		throws IOException
@@ -497,6 +551,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 					//reference to the input not to an rdd of the hdfs file but the resulting behavior is correct
 				}
 				mb = readBlobFromHDFS(_hdfsFileName);
+				setHDFSFileExists(true);
 			}
 			else if( ii == InputInfo.BinaryCellInputInfo ) {
 				//collect matrix block from binary block RDD
@@ -540,7 +595,8 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 			// Get the dimension information from the metadata stored within MatrixObject
 			MatrixCharacteristics mc = iimd.getMatrixCharacteristics ();
 			// Write the matrix to HDFS in requested format
-			OutputInfo oinfo = (ofmt != null ? OutputInfo.stringToOutputInfo (ofmt) : 
+			OutputInfo oinfo = isCompressedOutput(ofmt) ? OutputInfo.CompressedBinaryBlockOutputInfo :
+				(ofmt != null ? OutputInfo.stringToOutputInfo (ofmt) : 
 					InputInfo.getMatchingOutputInfo (iimd.getInputInfo ()));
 			
 			// when outputFormat is binaryblock, make sure that matrixCharacteristics has correct blocking dimensions
@@ -565,6 +621,31 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 			CacheStatistics.incrementHDFSWrites();
 	}
 	
+	@Override
+	protected void writeMetaData(String filePathAndName, String outputFormat, FileFormatProperties formatProperties)
+		throws DMLRuntimeException, IOException
+	{
+		//mark persisted compressed blocks in the meta data (see writeBlobToHDFS)
+		super.writeMetaData(filePathAndName, isCompressedOutput(outputFormat) ? OutputInfo
+			.outputInfoToString(OutputInfo.CompressedBinaryBlockOutputInfo) : outputFormat, formatProperties);
+	}
+	
+	/**
+	 * Indicates if the in-memory matrix is written in compressed binary block
+	 * format, which applies to explicit writes of compressed matrix blocks to
+	 * the binary block format. Exports with inferred formats (e.g., for spark 
+	 * or mr jobs) are still written in the blocked binary format.
+	 * 
+	 * @param ofmt output format, null if inferred from metadata
+	 * @return true if compressed output
+	 */
+	private boolean isCompressedOutput(String ofmt) {
+		return ofmt != null 
+			&& OutputInfo.stringToOutputInfo(ofmt) == OutputInfo.BinaryBlockOutputInfo
+			&& _data instanceof CompressedMatrixBlock 
+			&& ((CompressedMatrixBlock)_data).isCompressed();
+	}
+	
 	@Override
 	protected void writeBlobFromRDDtoHDFS(RDDObject rdd, String fname, String outputFormat) 
 	    throws IOException, DMLRuntimeException
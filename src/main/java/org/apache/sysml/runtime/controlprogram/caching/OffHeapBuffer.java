@@ -0,0 +1,402 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+
+/**
+ * Off-heap eviction tier of the buffer pool, which holds cache blocks evicted
+ * from the LazyWriteBuffer (or too large for it) in direct byte buffers or 
+ * memory-mapped files in the local tmp dir. Serialized blocks are not kept on
+ * the heap, and reads deserialize directly from off-heap memory. Blocks evicted 
+ * from this tier are written to local FS, where memory-mapped blocks already 
+ * reside at their eviction file path and are simply released.
+ * 
+ * The tier is disabled by default and configured via caching.offheap.size (budget 
+ * in MB) and caching.offheap.mmap. The eviction order follows the buffer policy.
+ */
+public class OffHeapBuffer 
+{
+	private static final Log LOG = LogFactory.getLog(OffHeapBuffer.class.getName());
+	
+	//global size limit in bytes (0 if disabled)
+	private static long _limit = 0;
+	
+	//current size in bytes
+	private static long _size = 0;
+	
+	//use memory-mapped files instead of direct buffers
+	private static boolean _mmap = false;
+	
+	//eviction queue of <filename,buffer> pairs
+	private static OffHeapQueue _mQueue = null;
+	
+	public static void init() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		_limit = (conf != null) ? (long)conf.getIntValue(DMLConfig.CACHING_OFFHEAP_SIZE)*1024*1024 : 0;
+		_mmap = (conf != null) && conf.getBooleanValue(DMLConfig.CACHING_OFFHEAP_MMAP);
+		_mQueue = new OffHeapQueue();
+		_size = 0;
+	}
+	
+	public static void cleanup() {
+		if( _mQueue != null ) {
+			synchronized( _mQueue ) {
+				for( OffHeapBlock tmp : _mQueue.values() )
+					tmp.freeMemory();
+				_mQueue.clear();
+				_size = 0;
+			}
+		}
+	}
+	
+	public static boolean isEnabled() {
+		return _limit > 0 && _mQueue != null;
+	}
+	
+	public static long getBufferSize() {
+		return _limit;
+	}
+	
+	/**
+	 * Writes the given cache block into the off-heap tier.
+	 * 
+	 * @param fname eviction file name
+	 * @param cb cache block
+	 * @return true if the block was admitted, false if it requires a write to local FS
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean writeBlock( String fname, CacheBlock cb ) 
+		throws IOException
+	{
+		return isEnabled() 
+			&& writeBlock(fname, cb, null, cb.getExactSerializedSize());
+	}
+	
+	/**
+	 * Writes the given write buffer entry into the off-heap tier, which
+	 * reuses the serialized representation of non-shallow entries.
+	 * 
+	 * @param fname eviction file name
+	 * @param bbuff write buffer entry
+	 * @return true if the block was admitted, false if it requires a write to local FS
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean writeBlock( String fname, ByteBuffer bbuff ) 
+		throws IOException
+	{
+		if( !isEnabled() )
+			return false;
+		return bbuff.isShallow() ?
+			writeBlock(fname, bbuff._cdata, null, bbuff._cdata.getExactSerializedSize()) :
+			writeBlock(fname, null, bbuff._bdata, bbuff.getSize());
+	}
+	
+	private static boolean writeBlock( String fname, CacheBlock cb, byte[] data, long lSize ) 
+		throws IOException
+	{
+		//check global buffer limit and max size of a single buffer 
+		if( lSize > _limit || lSize > Integer.MAX_VALUE )
+			return false;
+		
+		//create buffer handle (no allocation yet)
+		OffHeapBlock bblock = new OffHeapBlock((int)lSize);
+		int numEvicted = 0;
+		
+		//modify buffer pool
+		synchronized( _mQueue )
+		{
+			//remove and free an older version of the same block
+			//(otherwise replaced by put w/o releasing its memory)
+			OffHeapBlock old = _mQueue.remove(fname);
+			if( old != null ) {
+				old.checkSerialized();
+				old.freeMemory();
+				_size -= old.getSize();
+			}
+			
+			//evict blocks to make room (by default FIFO)
+			while( _size+lSize > _limit ) {
+				Entry<String, OffHeapBlock> entry = _mQueue.removeFirst();
+				OffHeapBlock tmp = entry.getValue();
+				
+				//wait for pending serialization and evict
+				tmp.checkSerialized();
+				tmp.evictBuffer(entry.getKey());
+				tmp.freeMemory();
+				_size -= tmp.getSize();
+				numEvicted++;
+			}
+			
+			//put placeholder into buffer pool (reserve mem)
+			_mQueue.addLast(fname, bblock);
+			_size += lSize;
+		}
+		
+		//serialize block (outside synchronized critical path)
+		boolean ret = bblock.serializeBlock(fname, cb, data);
+		if( !ret ) {
+			//release reservation, caller falls back to local FS
+			synchronized( _mQueue ) {
+				if( _mQueue.get(fname) == bblock ) {
+					_mQueue.remove(fname);
+					_size -= lSize;
+				}
+			}
+		}
+		
+		if( DMLScript.STATISTICS ) {
+			if( ret )
+				CacheStatistics.incrementOffHeapWrites(lSize);
+			CacheStatistics.incrementFSWrites(numEvicted);
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * Reads the given cache block from the off-heap tier.
+	 * 
+	 * @param fname eviction file name
+	 * @param ret empty block to deserialize into
+	 * @return cache block, or null if not held in the off-heap tier
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock readBlock( String fname, CacheBlock ret ) 
+		throws IOException
+	{
+		if( !isEnabled() )
+			return null;
+		
+		OffHeapBlock ldata = null;
+		
+		//probe off-heap buffer
+		synchronized( _mQueue )
+		{
+			ldata = _mQueue.get(fname);
+			
+			//modify eviction order (accordingly to access)
+			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU 
+				&& ldata != null )
+			{
+				//reinsert entry at end of eviction queue
+				_mQueue.remove( fname );
+				_mQueue.addLast( fname, ldata );
+			}
+		}
+		
+		//deserialize directly from off-heap memory
+		CacheBlock cb = null;
+		if( ldata != null ) {
+			ldata.checkSerialized();
+			cb = ldata.deserializeBlock(ret);
+		}
+		
+		if( DMLScript.STATISTICS ) {
+			if( cb != null )
+				CacheStatistics.incrementOffHeapHits();
+			else
+				CacheStatistics.incrementOffHeapMisses();
+		}
+		
+		return cb;
+	}
+	
+	/**
+	 * Deletes the given cache block from the off-heap tier.
+	 * 
+	 * @param fname eviction file name
+	 * @return true if the block was held in direct buffers, i.e., 
+	 *   no file exists in local FS, otherwise false
+	 */
+	public static boolean deleteBlock( String fname )
+	{
+		if( !isEnabled() )
+			return false;
+		
+		OffHeapBlock ldata = null;
+		synchronized( _mQueue ) {
+			ldata = _mQueue.remove(fname);
+			if( ldata != null )
+				_size -= ldata.getSize();
+		}
+		
+		if( ldata != null ) {
+			ldata.checkSerialized();
+			ldata.freeMemory();
+		}
+		
+		//memory-mapped blocks always require a file delete
+		return ldata != null && !_mmap;
+	}
+	
+	/**
+	 * Evicts all buffer entries to local FS. 
+	 * NOTE: use only for debugging or testing.
+	 * 
+	 * @throws IOException if IOException occurs
+	 */
+	public static void forceEviction() 
+		throws IOException 
+	{
+		if( !isEnabled() )
+			return;
+		
+		synchronized( _mQueue ) {
+			while( !_mQueue.isEmpty() ) {
+				Entry<String, OffHeapBlock> entry = _mQueue.removeFirst();
+				OffHeapBlock tmp = entry.getValue();
+				tmp.checkSerialized();
+				tmp.evictBuffer(entry.getKey());
+				tmp.freeMemory();
+			}
+			_size = 0;
+		}
+	}
+	
+	/**
+	 * Wrapper for a single off-heap buffer (direct or memory-mapped) 
+	 * in order to support block serialization outside the global lock.
+	 */
+	private static class OffHeapBlock
+	{
+		private final int _size;
+		private volatile boolean _serialized = false;
+		private volatile java.nio.ByteBuffer _buff = null;
+		
+		public OffHeapBlock( int size ) {
+			_size = size;
+		}
+		
+		public int getSize() {
+			return _size;
+		}
+		
+		public boolean serializeBlock( String fname, CacheBlock cb, byte[] data ) {
+			try {
+				//allocate direct buffer or map eviction file
+				java.nio.ByteBuffer buff = null;
+				if( _mmap ) {
+					RandomAccessFile raf = new RandomAccessFile(fname, "rw");
+					try {
+						raf.setLength(_size);
+						buff = raf.getChannel().map(MapMode.READ_WRITE, 0, _size);
+					}
+					finally {
+						raf.close(); //mapping remains valid
+					}
+				}
+				else {
+					buff = java.nio.ByteBuffer.allocateDirect(_size);
+				}
+				
+				//serialize into off-heap memory
+				if( data != null )
+					buff.put(data, 0, _size);
+				else
+					cb.write(new OffHeapDataOutput(buff));
+				_buff = buff;
+			}
+			catch(Exception | OutOfMemoryError ex) {
+				LOG.warn("Failed to write block into off-heap buffer, "
+					+ "falling back to local file system: " + ex.getMessage());
+			}
+			
+			_serialized = true;
+			return (_buff != null);
+		}
+		
+		public CacheBlock deserializeBlock( CacheBlock ret ) 
+			throws IOException
+		{
+			//obtain local reference to prevent concurrent release
+			java.nio.ByteBuffer buff = _buff;
+			if( buff == null ) 
+				return null;
+			
+			ret.readFields(new OffHeapDataInput(view(buff)));
+			return ret;
+		}
+		
+		public void evictBuffer( String fname ) 
+			throws IOException
+		{
+			java.nio.ByteBuffer buff = _buff;
+			if( buff == null || _mmap ) //failed or already in local FS 
+				return;
+			LocalFileUtils.writeByteBufferToLocal(fname, view(buff));
+		}
+		
+		public void freeMemory() {
+			//clear strong reference, direct memory and mappings
+			//are released once the buffer is garbage collected
+			_buff = null;
+		}
+		
+		public void checkSerialized() {
+			//robust checking until serialized
+			while( !_serialized ) {
+				try{Thread.sleep(1);} catch(Exception e) {}
+			}
+		}
+		
+		private java.nio.ByteBuffer view( java.nio.ByteBuffer buff ) {
+			//independent position/limit for concurrent readers
+			java.nio.ByteBuffer ret = buff.duplicate();
+			ret.clear();
+			return ret;
+		}
+	}
+	
+	/**
+	 * Extended LinkedHashMap with convenience methods for adding and removing 
+	 * last/first entries.
+	 */
+	private static class OffHeapQueue extends LinkedHashMap<String, OffHeapBlock>
+	{
+		private static final long serialVersionUID = 4731502383146582937L;
+		
+		public void addLast( String fname, OffHeapBlock bblock ) {
+			//put entry into eviction queue w/ 'addLast' semantics
+			put(fname, bblock);
+		}
+		
+		public Entry<String, OffHeapBlock> removeFirst() {
+			//move iterator to first entry and remove it
+			Iterator<Entry<String, OffHeapBlock>> iter = entrySet().iterator();
+			Entry<String, OffHeapBlock> entry = iter.next();
+			iter.remove();
+			return entry;
+		}
+	}
+}
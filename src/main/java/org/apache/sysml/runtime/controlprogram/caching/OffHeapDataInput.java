@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+
+import org.apache.sysml.runtime.matrix.data.MatrixBlockDataInput;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+
+/**
+ * Custom DataInput to deserialize directly from the given off-heap buffer
+ * (direct or memory-mapped) into the target matrix or frame block, without
+ * intermediate on-heap byte arrays. Dense double arrays are copied in bulk
+ * from the off-heap memory.
+ * 
+ */
+public class OffHeapDataInput implements DataInput, MatrixBlockDataInput
+{
+	protected java.nio.ByteBuffer _buff;
+
+	public OffHeapDataInput( java.nio.ByteBuffer mem ) {
+		_buff = mem;
+	}
+
+	@Override
+	public void readFully(byte[] b) throws IOException {
+		_buff.get(b);
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		_buff.get(b, off, len);
+	}
+
+	@Override
+	public int skipBytes(int n) throws IOException {
+		int len = Math.min(n, _buff.remaining());
+		_buff.position(_buff.position() + len);
+		return len;
+	}
+
+	@Override
+	public boolean readBoolean() throws IOException {
+		return (_buff.get() != 0);
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		return _buff.get();
+	}
+
+	@Override
+	public int readUnsignedByte() throws IOException {
+		return _buff.get() & 0xFF;
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		return _buff.getShort();
+	}
+
+	@Override
+	public int readUnsignedShort() throws IOException {
+		return _buff.getShort() & 0xFFFF;
+	}
+
+	@Override
+	public char readChar() throws IOException {
+		return _buff.getChar();
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		return _buff.getInt();
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		return _buff.getLong();
+	}
+
+	@Override
+	public float readFloat() throws IOException {
+		return _buff.getFloat();
+	}
+
+	@Override
+	public double readDouble() throws IOException {
+		return Double.longBitsToDouble(_buff.getLong());
+	}
+
+	@Override
+	public String readLine() throws IOException {
+		throw new IOException("Not supported.");
+	}
+
+	@Override
+	public String readUTF() throws IOException {
+		return DataInputStream.readUTF(this);
+	}
+	
+	///////////////////////////////////////////////
+	// Implementation of MatrixBlockDSMDataInput
+	///////////////////////////////////////////////	
+	
+	@Override
+	public long readDoubleArray(int len, double[] varr) 
+		throws IOException 
+	{
+		//bulk copy via double view (big endian, consistent w/ DataInput)
+		int pos = _buff.position();
+		DoubleBuffer dbuff = _buff.asDoubleBuffer();
+		dbuff.get(varr, 0, len);
+		_buff.position(pos + len*8);
+		
+		//nnz maintenance
+		long nnz = 0;
+		for( int i=0; i<len; i++ )
+			nnz += (varr[i]!=0) ? 1 : 0;
+		return nnz;
+	}
+
+	@Override
+	public long readSparseRows(int rlen, SparseBlock rows) 
+		throws IOException 
+	{
+		//counter for non-zero elements
+		long nnz = 0;
+		
+		//read all individual sparse rows from input
+		for( int i=0; i<rlen; i++ ) {
+			int lnnz = readInt();
+			if( lnnz > 0 ) { //non-zero row
+				//get handle to sparse (allocate if necessary)
+				rows.allocate(i, lnnz);
+				
+				//read single sparse row
+				for( int j=0; j<lnnz; j++ ) {
+					int aix = _buff.getInt();
+					double aval = Double.longBitsToDouble(_buff.getLong());
+					rows.append(i, aix, aval);
+				}
+				nnz += lnnz;
+			}
+		}
+		
+		return nnz;
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.DoubleBuffer;
+
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.MatrixBlockDataOutput;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+
+/**
+ * Custom DataOutput to serialize directly into the given off-heap buffer
+ * (direct or memory-mapped), without intermediate on-heap byte arrays.
+ * The byte layout is identical to CacheDataOutput and local cache files.
+ * 
+ */
+public class OffHeapDataOutput implements DataOutput, MatrixBlockDataOutput 
+{
+	protected java.nio.ByteBuffer _buff;
+
+	public OffHeapDataOutput( java.nio.ByteBuffer mem ) {
+		_buff = mem;
+	}
+	
+	@Override
+	public void write(int b) throws IOException {
+		_buff.put((byte)b);
+	}
+
+	@Override
+	public void write(byte[] b) throws IOException {
+		_buff.put(b);
+	}
+	
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		_buff.put(b, off, len);
+	}
+	
+	@Override
+	public void writeBoolean(boolean v) throws IOException {
+		_buff.put((byte)( v ? 1 : 0 ));
+	}
+
+	@Override
+	public void writeInt(int v) throws IOException {
+		_buff.putInt(v);
+	}
+	
+	@Override
+	public void writeDouble(double v) throws IOException {
+		_buff.putLong(Double.doubleToRawLongBits(v));
+	}
+
+	@Override
+	public void writeByte(int v) throws IOException {
+		_buff.put((byte) v);
+	}
+
+	@Override
+	public void writeBytes(String s) throws IOException {
+		throw new IOException("Not supported.");
+	}
+
+	@Override
+	public void writeChar(int v) throws IOException {
+		_buff.putChar((char)v);
+	}
+
+	@Override
+	public void writeChars(String s) throws IOException {
+		throw new IOException("Not supported.");
+	}
+	
+	@Override
+	public void writeFloat(float v) throws IOException {
+		throw new IOException("Not supported.");
+	}
+
+	@Override
+	public void writeLong(long v) throws IOException {
+		_buff.putLong(v);
+	}
+
+	@Override
+	public void writeShort(int v) throws IOException {
+		_buff.putShort((short)v);
+	}
+
+	@Override
+	public void writeUTF(String s) throws IOException {
+		int slen = s.length();
+		int utflen = IOUtilFunctions.getUTFSize(s) - 2;
+		if (utflen-2 > 65535)
+			throw new UTFDataFormatException("encoded string too long: "+utflen);
+		
+		//write utf len (2 bytes) 
+		writeShort(utflen);
+		
+		//write utf payload
+		for( int i=0; i<slen; i++ ) {
+			char c = s.charAt(i);
+			if( c>= 0x0001 && c<=0x007F ) //1 byte range
+				writeByte(c);
+			else if( c>=0x0800 ) { //3 byte range
+				_buff.put((byte) (0xE0 | ((c >> 12) & 0x0F)));
+				_buff.put((byte) (0x80 | ((c >>  6) & 0x3F)));
+				_buff.put((byte) (0x80 | ((c >>  0) & 0x3F)));
+			}
+			else { //2 byte range and null
+				_buff.put((byte) (0xC0 | ((c >>  6) & 0x1F)));
+				_buff.put((byte) (0x80 | ((c >>  0) & 0x3F)));
+			}
+		}
+	}
+
+	///////////////////////////////////////////////
+	// Implementation of MatrixBlockDSMDataOutput
+	///////////////////////////////////////////////	
+	
+	@Override
+	public void writeDoubleArray(int len, double[] varr) 
+		throws IOException
+	{
+		//bulk copy via double view (big endian, consistent w/ DataOutput)
+		int pos = _buff.position();
+		DoubleBuffer dbuff = _buff.asDoubleBuffer();
+		dbuff.put(varr, 0, len);
+		_buff.position(pos + len*8);
+	}
+	
+	@Override
+	public void writeSparseRows(int rlen, SparseBlock rows) 
+		throws IOException
+	{
+		int lrlen = Math.min(rows.numRows(), rlen);
+		
+		//process existing rows
+		for( int i=0; i<lrlen; i++ )
+		{
+			if( !rows.isEmpty(i) )
+			{
+				int apos = rows.pos(i);
+				int alen = rows.size(i);
+				int[] aix = rows.indexes(i);
+				double[] avals = rows.values(i);
+				
+				writeInt( alen );
+				for( int j=apos; j<apos+alen; j++ ) {
+					_buff.putInt(aix[j]);
+					_buff.putLong(Double.doubleToRawLongBits(avals[j]));
+				}
+			}
+			else 
+				writeInt( 0 );
+		}
+		
+		//process remaining empty rows
+		for( int i=lrlen; i<rlen; i++ )
+			writeInt( 0 );
+	}
+}
@@ -6,9 +6,9 @@
  * to you under the Apache License, Version 2.0 (the
  * "License"); you may not use this file except in compliance
  * with the License.  You may obtain a copy of the License at
- * 
+ *
  *   http://www.apache.org/licenses/LICENSE-2.0
- * 
+ *
  * Unless required by applicable law or agreed to in writing,
  * software distributed under the License is distributed on an
  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
@@ -19,51 +19,356 @@
 
 package org.apache.sysml.runtime.controlprogram.caching;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class PageCache 
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.DenseBlockFactory;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Thread-safe, bounded pool of byte[], double[], and int[] arrays, which
+ * reduces allocation and garbage collection overheads for repeated
+ * allocations of similar sizes, e.g., serialized pages of the write buffer,
+ * or dense blocks and CSR arrays of same-shaped intermediates in loops.
+ *
+ * Arrays are organized in size classes with 16 sub-classes per power of two.
+ * Pooled arrays are put into the class of their floor size, while requests
+ * either probe their ceiling size class (any array of sufficient length,
+ * at most 6.25% larger) or their own size class (arrays of exact length, e.g.,
+ * for dense blocks, where the array length equals the number of cells).
+ * Small arrays are kept in thread-local pools without synchronization,
+ * larger arrays in a shared pool of soft references bounded by a global
+ * budget. All double[] and int[] arrays are returned zero-initialized.
+ *
+ * Byte pages are recycled by the write buffer, which exclusively owns them.
+ * Since dense and sparse blocks might be shared by multiple matrix blocks
+ * and variables, the recycling of double[] and int[] arrays of removed
+ * variables is only enabled on request (caching.pagecache.arrays).
+ */
+public class PageCache
 {
-	
-	private static final int CLEANUP_THRESHOLD = 128;
-	private static HashMap<Integer, LinkedList<SoftReference<byte[]>>> _pool;
+	//min/max array length subject to pooling
+	private static final int MIN_LEN = 1024;
+	private static final int MAX_LEN = 1 << 30;
+	//max array length subject to thread-local pooling
+	private static final int LOCAL_MAX_LEN = 1 << 12;
+	//number of sub-classes per power of two (log2)
+	private static final int SUB_BITS = 4;
+	//number of probed entries per get of exact length
+	private static final int MAX_PROBES = 4;
 
-	public static void init()
-	{
-		_pool = new HashMap<Integer, LinkedList<SoftReference<byte[]>>>();
+	private static final int MIN_LOG = 10; //log2(MIN_LEN)
+	private static final int NUM_CLASSES = (31-MIN_LOG) << SUB_BITS;
+	private static final int NUM_LOCAL_CLASSES = classIndex(LOCAL_MAX_LEN) + 1;
+
+	private enum ArrayType {
+		BYTE(1), DOUBLE(8), INT(4);
+		private final int _width;
+		private ArrayType(int width) {
+			_width = width;
+		}
 	}
 
-	public static void clear()
-	{
+	//pooling of byte pages, and of double/int arrays
+	private static volatile boolean _pages = false;
+	private static volatile boolean _arrays = false;
+
+	//shared pool and global budget in bytes
+	private static volatile SharedPool _pool = null;
+	private static long _limit = 0;
+	private static final AtomicLong _size = new AtomicLong(0);
+	private static final ReferenceQueue<Object> _refQueue = new ReferenceQueue<Object>();
+
+	//thread-local pools of small arrays
+	private static final ThreadLocal<Object[][]> _local = new ThreadLocal<Object[][]>() {
+		@Override
+		protected Object[][] initialValue() {
+			return new Object[ArrayType.values().length][NUM_LOCAL_CLASSES];
+		}
+	};
+
+	public static void init() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		_limit = (long)(CacheableData.CACHING_PAGECACHE_SIZE
+			* InfrastructureAnalyzer.getLocalMaxMemory());
+		_pool = new SharedPool();
+		_size.set(0);
+		_pages = CacheableData.CACHING_BUFFER_PAGECACHE;
+		_arrays = (conf != null) && conf.getBooleanValue(DMLConfig.CACHING_PAGECACHE_ARRAYS);
+	}
+
+	public static void clear() {
+		_pages = false;
+		_arrays = false;
 		_pool = null;
+		_size.set(0);
+		_local.remove();
 	}
 
-	public static void putPage( byte[] data )
-	{
-		//cleanup if too many different size lists
-		if( _pool.size()>CLEANUP_THRESHOLD )
-			_pool.clear();
-		
-		LinkedList<SoftReference<byte[]>> list = _pool.get( data.length );
-		if( list==null ){
-			list = new LinkedList<SoftReference<byte[]>>();
-			_pool.put(data.length, list);
+	public static boolean isPageCacheEnabled() {
+		return _pages;
+	}
+
+	public static boolean isArrayPoolEnabled() {
+		return _arrays;
+	}
+
+	/**
+	 * Gets a byte page of at least the given size, either from the pool or
+	 * newly allocated. Pooled pages are not cleared and might be larger than
+	 * requested, so callers need to track the used size.
+	 *
+	 * @param size minimum page size in bytes
+	 * @return byte page
+	 */
+	public static byte[] getPage( int size ) {
+		if( !_pages || size < MIN_LEN || size > MAX_LEN )
+			return new byte[size];
+		byte[] ret = (byte[]) getArray(ArrayType.BYTE, size, false);
+		return (ret != null) ? ret : new byte[classSize(ceilIndex(size))];
+	}
+
+	/**
+	 * Returns the given byte page to the pool. The caller must not
+	 * access the page after this call.
+	 *
+	 * @param data byte page
+	 */
+	public static void putPage( byte[] data ) {
+		if( _pages && data != null )
+			putArray(ArrayType.BYTE, data, data.length);
+	}
+
+	/**
+	 * Gets a zero-initialized double array, either from the pool or newly
+	 * allocated. If exact, the array has the given length; otherwise it
+	 * might be larger, which is useful for arrays with capacity semantics.
+	 *
+	 * @param len minimum array length
+	 * @param exact if true, array of exactly the given length
+	 * @return double array
+	 */
+	public static double[] getDoubleArray( int len, boolean exact ) {
+		if( !_arrays || len < MIN_LEN || len > MAX_LEN )
+			return new double[len];
+		double[] ret = (double[]) getArray(ArrayType.DOUBLE, len, exact);
+		if( ret == null )
+			return new double[exact ? len : classSize(ceilIndex(len))];
+		Arrays.fill(ret, 0);
+		return ret;
+	}
+
+	public static void putDoubleArray( double[] data ) {
+		if( _arrays && data != null )
+			putArray(ArrayType.DOUBLE, data, data.length);
+	}
+
+	/**
+	 * Gets a zero-initialized int array, either from the pool or newly
+	 * allocated. If exact, the array has the given length; otherwise it
+	 * might be larger, which is useful for arrays with capacity semantics.
+	 *
+	 * @param len minimum array length
+	 * @param exact if true, array of exactly the given length
+	 * @return int array
+	 */
+	public static int[] getIntArray( int len, boolean exact ) {
+		if( !_arrays || len < MIN_LEN || len > MAX_LEN )
+			return new int[len];
+		int[] ret = (int[]) getArray(ArrayType.INT, len, exact);
+		if( ret == null )
+			return new int[exact ? len : classSize(ceilIndex(len))];
+		Arrays.fill(ret, 0);
+		return ret;
+	}
+
+	public static void putIntArray( int[] data ) {
+		if( _arrays && data != null )
+			putArray(ArrayType.INT, data, data.length);
+	}
+
+	/**
+	 * Returns the arrays of the given matrix block (single-block dense, or
+	 * CSR) to the pool. The caller must guarantee that the block is not
+	 * referenced anymore, i.e., this is only applicable for removed
+	 * intermediates whose block is not shared with other objects.
+	 *
+	 * @param mb matrix block
+	 */
+	public static void putBlock( MatrixBlock mb ) {
+		if( !_arrays || mb == null )
+			return;
+		DenseBlock dblock = mb.getDenseBlock();
+		if( dblock != null && DenseBlockFactory.isDenseBlockType(dblock, DenseBlock.Type.DRB) )
+			putDoubleArray(dblock.valuesAt(0));
+		if( mb.getSparseBlock() instanceof SparseBlockCSR ) {
+			SparseBlockCSR sblock = (SparseBlockCSR) mb.getSparseBlock();
+			putIntArray(sblock.rowPointers());
+			putIntArray(sblock.indexes());
+			putDoubleArray(sblock.values());
+		}
+	}
+
+	private static Object getArray( ArrayType type, int len, boolean exact ) {
+		//probe exact size class (exact length) or ceiling size class (any length)
+		int ix = exact ? classIndex(len) : ceilIndex(len);
+		Object ret = null;
+
+		//probe thread-local pool (w/o synchronization)
+		if( ix < NUM_LOCAL_CLASSES ) {
+			Object[] local = _local.get()[type.ordinal()];
+			Object tmp = local[ix];
+			if( tmp != null && (!exact || length(tmp)==len) ) {
+				local[ix] = null;
+				ret = tmp;
+			}
+		}
+
+		//probe shared pool
+		SharedPool pool = _pool;
+		if( ret == null && pool != null )
+			ret = pool.get(type, ix, exact ? len : -1);
+
+		//maintain allocation-avoidance statistics
+		if( DMLScript.STATISTICS ) {
+			if( ret != null )
+				Statistics.incrementPageCacheHits((long)len*type._width);
+			else
+				Statistics.incrementPageCacheMisses();
+		}
+		return ret;
+	}
+
+	private static void putArray( ArrayType type, Object data, int len ) {
+		if( len < MIN_LEN || len > MAX_LEN )
+			return;
+		int ix = classIndex(len);
+
+		//put into thread-local pool if free slot
+		if( ix < NUM_LOCAL_CLASSES ) {
+			Object[] local = _local.get()[type.ordinal()];
+			if( local[ix] == null ) {
+				local[ix] = data;
+				if( DMLScript.STATISTICS )
+					Statistics.incrementPageCachePuts();
+				return;
+			}
+		}
+
+		//put into shared pool if within budget
+		SharedPool pool = _pool;
+		if( pool != null && pool.put(type, ix, data, (long)len*type._width)
+			&& DMLScript.STATISTICS ) {
+			Statistics.incrementPageCachePuts();
 		}
-		list.addLast(new SoftReference<byte[]>(data));	
 	}
 
-	public static byte[] getPage( int size )
+	private static int length( Object data ) {
+		return (data instanceof byte[]) ? ((byte[])data).length :
+			(data instanceof double[]) ? ((double[])data).length : ((int[])data).length;
+	}
+
+	/**
+	 * Gets the index of the size class of the given length, i.e.,
+	 * the largest class with class size less than or equal to len.
+	 *
+	 * @param len array length (>= MIN_LEN)
+	 * @return size class index
+	 */
+	private static int classIndex( int len ) {
+		int log = 31 - Integer.numberOfLeadingZeros(len);
+		int sub = (len >>> (log - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+		return ((log - MIN_LOG) << SUB_BITS) + sub;
+	}
+
+	/**
+	 * Gets the index of the smallest size class with class size
+	 * greater than or equal to the given length.
+	 *
+	 * @param len array length (>= MIN_LEN)
+	 * @return size class index
+	 */
+	private static int ceilIndex( int len ) {
+		int ix = classIndex(len);
+		return (classSize(ix) < len) ? ix + 1 : ix;
+	}
+
+	private static int classSize( int ix ) {
+		int log = (ix >>> SUB_BITS) + MIN_LOG;
+		int sub = ix & ((1 << SUB_BITS) - 1);
+		return (1 << log) + (sub << (log - SUB_BITS));
+	}
+
+	private static class SharedPool
 	{
-		LinkedList<SoftReference<byte[]>> list = _pool.get( size );
-		if( list!=null ) {
-			while( !list.isEmpty() ){
-				SoftReference<byte[]> ref = list.removeFirst();
-				byte[] tmp = ref.get();
-				if( tmp!=null )
+		@SuppressWarnings("unchecked")
+		private final ConcurrentLinkedQueue<PooledRef>[][] _classes =
+			new ConcurrentLinkedQueue[ArrayType.values().length][NUM_CLASSES];
+
+		public SharedPool() {
+			for( int i=0; i<_classes.length; i++ )
+				for( int j=0; j<NUM_CLASSES; j++ )
+					_classes[i][j] = new ConcurrentLinkedQueue<PooledRef>();
+		}
+
+		public Object get( ArrayType type, int ix, int len ) {
+			ConcurrentLinkedQueue<PooledRef> queue = _classes[type.ordinal()][ix];
+			//probe a bounded number of entries, where non-matching
+			//entries (exact length only) are appended again
+			for( int i=0; i<MAX_PROBES; i++ ) {
+				PooledRef ref = queue.poll();
+				if( ref == null )
+					return null;
+				Object tmp = ref.get();
+				if( tmp == null ) //reclaimed by gc
+					continue;
+				if( len < 0 || length(tmp) == len ) {
+					_size.addAndGet(-ref._bytes);
 					return tmp;
+				}
+				queue.offer(ref);
+			}
+			return null;
+		}
+
+		public boolean put( ArrayType type, int ix, Object data, long bytes ) {
+			//release budget of arrays reclaimed by gc
+			//(ignore references of previous pools after clear)
+			Reference<?> tmp = null;
+			while( (tmp = _refQueue.poll()) != null )
+				if( ((PooledRef)tmp)._pool == this )
+					_size.addAndGet(-((PooledRef)tmp)._bytes);
+
+			//reserve budget, reject if exceeded
+			if( _size.addAndGet(bytes) > _limit ) {
+				_size.addAndGet(-bytes);
+				return false;
 			}
+			_classes[type.ordinal()][ix].offer(new PooledRef(this, data, bytes));
+			return true;
+		}
+	}
+
+	private static class PooledRef extends SoftReference<Object>
+	{
+		private final SharedPool _pool;
+		private final long _bytes;
+
+		public PooledRef(SharedPool pool, Object data, long bytes) {
+			super(data, _refQueue);
+			_pool = pool;
+			_bytes = bytes;
 		}
-		return null;
 	}
 }
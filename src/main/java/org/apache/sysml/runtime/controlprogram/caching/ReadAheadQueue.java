@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+
+/**
+ * Background I/O service for prefetching persistent reads (i.e., read 
+ * statements) in the control program. Cacheable data objects are created 
+ * by createvar instructions long before their first acquire, which allows
+ * to start reading the data on a background thread and thus overlap the 
+ * I/O with the computation of preceding instructions. On the first acquire,
+ * the data object obtains the prefetched data (waiting for pending reads)
+ * instead of reading the file synchronously.
+ * 
+ * Prefetched but not yet acquired data is accounted against a budget of
+ * the buffer pool size, and reads exceeding this budget are not prefetched.
+ * Failed prefetches are not surfaced but fall back to synchronous reads, 
+ * which then report the actual error.
+ * 
+ * The service is disabled by default and configured via caching.prefetch.
+ */
+public class ReadAheadQueue 
+{
+	private static final Log LOG = LogFactory.getLog(ReadAheadQueue.class.getName());
+	
+	//number of background read threads
+	private static final int NUM_READ_THREADS = Math.max(
+		Math.min(InfrastructureAnalyzer.getLocalParallelism()/4, 4), 1);
+	
+	//flag if prefetching enabled
+	private static volatile boolean _enabled = false;
+	
+	//budget and size of prefetched, not yet acquired data
+	private static long _budget = 0;
+	private static final AtomicLong _size = new AtomicLong(0);
+	
+	//thread pool for background reads
+	private static ExecutorService _rPool = null;
+	
+	public static synchronized void init() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		_enabled = (conf != null) && conf.getBooleanValue(DMLConfig.CACHING_PREFETCH);
+		_budget = (long)(CacheableData.CACHING_BUFFER_SIZE 
+			* InfrastructureAnalyzer.getLocalMaxMemory());
+		if( _enabled && _rPool == null )
+			_rPool = Executors.newFixedThreadPool(
+				NUM_READ_THREADS, new ReadThreadFactory());
+	}
+	
+	public static synchronized void cleanup() {
+		//pending reads are abandoned (results dropped by their owners)
+		if( _rPool != null ) {
+			_rPool.shutdownNow();
+			_rPool = null;
+		}
+		_size.set(0);
+		_enabled = false;
+	}
+	
+	public static boolean isEnabled() {
+		return _enabled;
+	}
+	
+	/**
+	 * Submits the given read operation for asynchronous execution if the 
+	 * estimated in-memory size fits into the remaining prefetch budget
+	 * and the local memory budget.
+	 * 
+	 * @param fname source file name
+	 * @param size estimated in-memory size in bytes
+	 * @param op read operation
+	 * @param <T> cache block type
+	 * @return prefetch task, or null if not prefetched
+	 */
+	public static <T extends CacheBlock> PrefetchTask<T> submit(String fname, long size, Callable<T> op) 
+	{
+		if( !_enabled || size <= 0 || size > OptimizerUtils.getLocalMemBudget() )
+			return null;
+		
+		//reserve budget for the prefetched data (released on acquire or cancel)
+		if( _size.addAndGet(size) > _budget ) {
+			_size.addAndGet(-size);
+			if( LOG.isDebugEnabled() )
+				LOG.debug("Prefetch of "+fname+" exceeds the prefetch budget.");
+			return null;
+		}
+		
+		PrefetchTask<T> task = new PrefetchTask<T>(fname, size);
+		try {
+			task._future = _rPool.submit(() -> {
+				long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+				//complete pending writes of the same file
+				WriteBehindQueue.await(fname);
+				T ret = op.call();
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementPrefetchReadTime(System.nanoTime()-t0);
+				return ret;
+			});
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to submit prefetch of "+fname+".", ex);
+			task.release();
+			return null;
+		}
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementPrefetches();
+		return task;
+	}
+	
+	/**
+	 * Prefetched read of a single file, owned by a cacheable data object.
+	 * 
+	 * @param <T> cache block type
+	 */
+	public static class PrefetchTask<T extends CacheBlock>
+	{
+		private final String _fname;
+		private final long _bytes;
+		private final AtomicBoolean _released = new AtomicBoolean(false);
+		private Future<T> _future = null;
+		
+		private PrefetchTask(String fname, long size) {
+			_fname = fname;
+			_bytes = size;
+		}
+		
+		public String getFileName() {
+			return _fname;
+		}
+		
+		/**
+		 * Waits for the prefetched data and releases the reserved budget,
+		 * as the data is subsequently maintained by the buffer pool.
+		 * 
+		 * @return prefetched data, or null if the prefetch failed
+		 */
+		public T get() {
+			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+			T ret = null;
+			try {
+				ret = _future.get();
+			}
+			catch(ExecutionException ex) {
+				LOG.warn("Prefetch of "+_fname+" failed, falling back to synchronous read.", ex.getCause());
+			}
+			catch(Exception ex) {
+				LOG.warn("Prefetch of "+_fname+" failed, falling back to synchronous read.", ex);
+			}
+			finally {
+				release();
+			}
+			if( DMLScript.STATISTICS ) {
+				CacheStatistics.incrementPrefetchWaitTime(System.nanoTime()-t0);
+				if( ret != null )
+					CacheStatistics.incrementPrefetchHits();
+			}
+			return ret;
+		}
+		
+		/**
+		 * Cancels the prefetch if not yet started, drops the prefetched
+		 * data, and releases the reserved budget.
+		 */
+		public void cancel() {
+			if( _future != null )
+				_future.cancel(false);
+			release();
+		}
+		
+		private void release() {
+			if( _released.compareAndSet(false, true) )
+				_size.addAndGet(-_bytes);
+		}
+	}
+	
+	private static class ReadThreadFactory implements ThreadFactory
+	{
+		private final AtomicInteger _count = new AtomicInteger(0);
+		
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "ReadAheadQueue-read-"+_count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
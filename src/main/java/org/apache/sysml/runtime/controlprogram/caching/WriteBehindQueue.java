@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+
+/**
+ * Background I/O service for asynchronous write-behind of persistent writes
+ * (i.e., write statements) in the control program. A write task writes the 
+ * in-memory data of a cacheable data object, which remains pinned read-only 
+ * until the write completes, while the control program continues execution. 
+ * The runtime only waits for pending writes if (1) the target file is read, 
+ * (2) the same target is written again, (3) the data object is modified or
+ * cleaned up, or (4) the program exits.
+ * 
+ * Writes to the same target file are executed in submission order. Failures
+ * of write tasks are surfaced on a subsequent wait for the task, otherwise
+ * on the next submitted write or the final wait at program exit.
+ * 
+ * The service is disabled by default and configured via caching.async.write.
+ */
+public class WriteBehindQueue 
+{
+	private static final Log LOG = LogFactory.getLog(WriteBehindQueue.class.getName());
+	
+	//number of background write threads
+	private static final int NUM_WRITE_THREADS = Math.max(
+		Math.min(InfrastructureAnalyzer.getLocalParallelism()/4, 4), 1);
+	
+	//flag if async write-behind enabled
+	private static volatile boolean _enabled = false;
+	
+	//latest pending write task per target file name (for ordering)
+	private static final ConcurrentHashMap<String, WriteTask> _pending = 
+		new ConcurrentHashMap<String, WriteTask>();
+	
+	//all pending write tasks (for waits per data object and program exit)
+	private static final Set<WriteTask> _active = ConcurrentHashMap.newKeySet();
+	
+	//failed write tasks not yet surfaced to the control program
+	private static final ConcurrentLinkedQueue<WriteTask> _failed = 
+		new ConcurrentLinkedQueue<WriteTask>();
+	
+	//thread pool for background writes
+	private static ExecutorService _wPool = null;
+	
+	public static synchronized void init() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		_enabled = (conf != null) && conf.getBooleanValue(DMLConfig.CACHING_ASYNC_WRITE);
+		if( _enabled && _wPool == null )
+			_wPool = Executors.newFixedThreadPool(
+				NUM_WRITE_THREADS, new WriteThreadFactory());
+	}
+	
+	public static synchronized void cleanup() {
+		//complete pending writes before cleanup of the cache dir
+		for( WriteTask task : _active )
+			task.await();
+		for( WriteTask task = _failed.poll(); task != null; task = _failed.poll() )
+			LOG.error("Asynchronous write to "+task._fname+" failed.", task._error);
+		if( _wPool != null ) {
+			_wPool.shutdown();
+			_wPool = null;
+		}
+		_enabled = false;
+	}
+	
+	public static boolean isEnabled() {
+		return _enabled;
+	}
+	
+	/**
+	 * Submits the given write operation of the given data object for 
+	 * asynchronous execution, after all previously submitted writes to 
+	 * the same target file. 
+	 * 
+	 * @param fname target file name
+	 * @param owner data object, pinned until the write completes 
+	 * @param op write operation
+	 * @throws CacheException if a previous asynchronous write failed, or the
+	 * write could not be submitted
+	 */
+	public static void submit(String fname, CacheableData<?> owner, WriteOperation op) 
+		throws CacheException
+	{
+		//surface failures of previous writes
+		checkFailures();
+		
+		//register task as latest write to target, chained to the previous write
+		WriteTask task = _pending.compute(fname, 
+			(k, prev) -> new WriteTask(k, owner, op, prev));
+		_active.add(task);
+		owner.pinForWrite();
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementAsyncWrites();
+		
+		try {
+			_wPool.submit(task);
+		}
+		catch(Exception ex) {
+			//release the task (unpin, dequeue) w/o recording a failure, 
+			//because the rejection is surfaced by the exception below
+			task.finish(null);
+			throw new CacheException("Failed to submit asynchronous write to "+fname+".", ex);
+		}
+	}
+	
+	/**
+	 * Waits for all pending writes to the given target file.
+	 * 
+	 * @param fname target file name
+	 * @throws CacheException if a pending write failed
+	 */
+	public static void await(String fname) 
+		throws CacheException 
+	{
+		if( fname == null || _pending.isEmpty() )
+			return;
+		WriteTask task = _pending.get(fname);
+		if( task != null )
+			awaitTask(task);
+	}
+	
+	/**
+	 * Waits for all pending writes of the given data object.
+	 * 
+	 * @param owner data object
+	 * @throws CacheException if a pending write failed
+	 */
+	public static void await(CacheableData<?> owner) 
+		throws CacheException 
+	{
+		for( WriteTask task : _active )
+			if( task._owner == owner )
+				awaitTask(task);
+	}
+	
+	/**
+	 * Waits for all pending writes, e.g., at program exit.
+	 * 
+	 * @throws CacheException if any asynchronous write failed
+	 */
+	public static void awaitAll() 
+		throws CacheException 
+	{
+		for( WriteTask task : _active )
+			awaitTask(task);
+		checkFailures();
+	}
+	
+	private static void awaitTask(WriteTask task) 
+		throws CacheException 
+	{
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		task.await();
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementAsyncWaitTime(System.nanoTime()-t0);
+		if( task._error != null && _failed.remove(task) )
+			throw new CacheException("Asynchronous write to "+task._fname+" failed.", task._error);
+	}
+	
+	private static void checkFailures() 
+		throws CacheException 
+	{
+		WriteTask task = _failed.poll();
+		if( task != null )
+			throw new CacheException("Asynchronous write to "+task._fname+" failed.", task._error);
+	}
+	
+	/**
+	 * Write operation of a pinned data object, executed by a background thread.
+	 */
+	public interface WriteOperation {
+		public void write() throws Exception;
+	}
+	
+	private static class WriteTask implements Runnable
+	{
+		private final String _fname;
+		private final CacheableData<?> _owner;
+		private final WriteOperation _op;
+		private WriteTask _prev;
+		private final CountDownLatch _done = new CountDownLatch(1);
+		private volatile Exception _error = null;
+		
+		public WriteTask(String fname, CacheableData<?> owner, WriteOperation op, WriteTask prev) {
+			_fname = fname;
+			_owner = owner;
+			_op = op;
+			_prev = prev;
+		}
+		
+		@Override
+		public void run() {
+			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+			Exception error = null;
+			try {
+				//wait for previous write to the same target
+				//(submitted before, hence already dequeued by the pool)
+				if( _prev != null )
+					_prev.await();
+				_prev = null;
+				_op.write();
+			}
+			catch(Throwable ex) {
+				error = (ex instanceof Exception) ? 
+					(Exception) ex : new RuntimeException(ex);
+			}
+			finally {
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementAsyncWriteTime(System.nanoTime()-t0);
+				finish(error);
+			}
+		}
+		
+		public void finish(Exception error) {
+			if( error != null ) {
+				LOG.error("Asynchronous write to "+_fname+" failed.", error);
+				_error = error;
+				_failed.add(this);
+			}
+			_pending.remove(_fname, this);
+			_active.remove(this);
+			_owner.unpinForWrite();
+			_done.countDown();
+		}
+		
+		public void await() {
+			try {
+				_done.await();
+			} 
+			catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+	
+	private static class WriteThreadFactory implements ThreadFactory
+	{
+		private final AtomicInteger _count = new AtomicInteger(0);
+		
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "WriteBehindQueue-write-"+_count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
@@ -45,10 +45,12 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.lops.Checkpoint;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.caching.WriteBehindQueue;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.spark.data.BroadcastObject;
@@ -61,9 +63,12 @@ import org.apache.sysml.runtime.instructions.spark.functions.CopyBinaryCellFunct
 import org.apache.sysml.runtime.instructions.spark.functions.CopyFrameBlockPairFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyTextInputFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CreateSparseBlockFunction;
+import org.apache.sysml.runtime.instructions.spark.functions.DecompressBlockFunction;
+import org.apache.sysml.runtime.instructions.spark.functions.ExtractBlockForBinaryReblock;
 import org.apache.sysml.runtime.instructions.spark.utils.FrameRDDConverterUtils.LongFrameToLongWritableFrameFunction;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDAggregateUtils;
 import org.apache.sysml.runtime.instructions.spark.utils.SparkUtils;
+import org.apache.sysml.runtime.io.ReaderCompressedBinaryBlock;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
@@ -352,8 +357,7 @@ public class SparkExecutionContext extends ExecutionContext
 					OptimizerUtils.estimatePartitionedSizeExactSparsity(mc))) {
 				if( mo.isDirty() || !mo.isHDFSFileExists() ) //write if necessary
 					mo.exportData();
-				rdd = sc.hadoopFile( mo.getFileName(), inputInfo.inputFormatClass, inputInfo.inputKeyClass, inputInfo.inputValueClass);
-				rdd = SparkUtils.copyBinaryBlockMatrix((JavaPairRDD<MatrixIndexes, MatrixBlock>)rdd); //cp is workaround for read bug
+				rdd = readBinaryBlockMatrixFromHDFS(sc, mo.getFileName(), inputInfo, mc);
 				fromFile = true;
 			}
 			else { //default case
@@ -371,15 +375,16 @@ public class SparkExecutionContext extends ExecutionContext
 		//CASE 3: non-dirty (file exists on HDFS)
 		else
 		{
+			//wait for pending async writes of the file
+			WriteBehindQueue.await(mo.getFileName());
+			
 			// parallelize hdfs-resident file
 			// For binary block, these are: SequenceFileInputFormat.class, MatrixIndexes.class, MatrixBlock.class
 			if(inputInfo == InputInfo.BinaryBlockInputInfo) {
-				rdd = sc.hadoopFile( mo.getFileName(), inputInfo.inputFormatClass, inputInfo.inputKeyClass, inputInfo.inputValueClass);
-				//note: this copy is still required in Spark 1.4 because spark hands out whatever the inputformat
-				//recordreader returns; the javadoc explicitly recommend to copy all key/value pairs
-				rdd = SparkUtils.copyBinaryBlockMatrix((JavaPairRDD<MatrixIndexes, MatrixBlock>)rdd); //cp is workaround for read bug
+				rdd = readBinaryBlockMatrixFromHDFS(sc, mo.getFileName(), inputInfo, mo.getMatrixCharacteristics());
 			}
-			else if(inputInfo == InputInfo.TextCellInputInfo || inputInfo == InputInfo.CSVInputInfo || inputInfo == InputInfo.MatrixMarketInputInfo) {
+			else if(inputInfo == InputInfo.TextCellInputInfo || inputInfo == InputInfo.CSVInputInfo || inputInfo == InputInfo.MatrixMarketInputInfo
+				|| inputInfo == InputInfo.LIBSVMInputInfo) {
 				rdd = sc.hadoopFile( mo.getFileName(), inputInfo.inputFormatClass, inputInfo.inputKeyClass, inputInfo.inputValueClass);
 				rdd = ((JavaPairRDD<LongWritable, Text>)rdd).mapToPair( new CopyTextInputFunction() ); //cp is workaround for read bug
 			}
@@ -400,6 +405,48 @@ public class SparkExecutionContext extends ExecutionContext
 		return rdd;
 	}
 
+	/**
+	 * Creates a binary block rdd from a binary block file. Persisted compressed
+	 * blocks (see WriterCompressedBinaryBlock) are decompressed and reblocked
+	 * into blocks of the given matrix characteristics.
+	 * 
+	 * @param sc java spark context
+	 * @param fname file name
+	 * @param inputInfo input info
+	 * @param mc matrix characteristics
+	 * @return JavaPairRDD handle for the binary block file
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	@SuppressWarnings("unchecked")
+	private static JavaPairRDD<MatrixIndexes,MatrixBlock> readBinaryBlockMatrixFromHDFS( JavaSparkContext sc, 
+			String fname, InputInfo inputInfo, MatrixCharacteristics mc )
+		throws DMLRuntimeException
+	{
+		boolean compressed = false;
+		try {
+			compressed = ReaderCompressedBinaryBlock.isCompressedBinaryBlock(fname);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		if( compressed ) {
+			InputInfo ii = InputInfo.CompressedBinaryBlockInputInfo;
+			JavaPairRDD<MatrixIndexes,MatrixBlock> tmp = (JavaPairRDD<MatrixIndexes,MatrixBlock>) 
+				sc.hadoopFile(fname, ii.inputFormatClass, ii.inputKeyClass, ii.inputValueClass);
+			//decompress the single block and reblock into the requested block sizes
+			MatrixCharacteristics mcIn = new MatrixCharacteristics(mc.getRows(), mc.getCols(),
+				(int)mc.getRows(), (int)mc.getCols());
+			return tmp.mapValues(new DecompressBlockFunction())
+				.flatMapToPair(new ExtractBlockForBinaryReblock(mcIn, mc));
+		}
+		
+		JavaPairRDD<?,?> rdd = sc.hadoopFile(fname, inputInfo.inputFormatClass, inputInfo.inputKeyClass, inputInfo.inputValueClass);
+		//note: this copy is still required in Spark 1.4 because spark hands out whatever the inputformat
+		//recordreader returns; the javadoc explicitly recommend to copy all key/value pairs
+		return SparkUtils.copyBinaryBlockMatrix((JavaPairRDD<MatrixIndexes, MatrixBlock>)rdd); //cp is workaround for read bug
+	}
+
 	/**
 	 * FIXME: currently this implementation assumes matrix representations but frame signature
 	 * in order to support the old transform implementation.
@@ -463,6 +510,9 @@ public class SparkExecutionContext extends ExecutionContext
 		//CASE 3: non-dirty (file exists on HDFS)
 		else
 		{
+			//wait for pending async writes of the file
+			WriteBehindQueue.await(fo.getFileName());
+			
 			// parallelize hdfs-resident file
 			// For binary block, these are: SequenceFileInputFormat.class, MatrixIndexes.class, MatrixBlock.class
 			if(inputInfo2 == InputInfo.BinaryBlockFrameInputInfo) {
@@ -471,7 +521,8 @@ public class SparkExecutionContext extends ExecutionContext
 				//recordreader returns; the javadoc explicitly recommend to copy all key/value pairs
 				rdd = ((JavaPairRDD<LongWritable, FrameBlock>)rdd).mapToPair( new CopyFrameBlockPairFunction() ); //cp is workaround for read bug
 			}
-			else if(inputInfo2 == InputInfo.TextCellInputInfo || inputInfo2 == InputInfo.CSVInputInfo || inputInfo2 == InputInfo.MatrixMarketInputInfo) {
+			else if(inputInfo2 == InputInfo.TextCellInputInfo || inputInfo2 == InputInfo.CSVInputInfo || inputInfo2 == InputInfo.MatrixMarketInputInfo
+				|| inputInfo2 == InputInfo.LIBSVMInputInfo) {
 				rdd = sc.hadoopFile( fo.getFileName(), inputInfo2.inputFormatClass, inputInfo2.inputKeyClass, inputInfo2.inputValueClass);
 				rdd = ((JavaPairRDD<LongWritable, Text>)rdd).mapToPair( new CopyTextInputFunction() ); //cp is workaround for read bug
 			}
@@ -672,6 +723,11 @@ public class SparkExecutionContext extends ExecutionContext
 		}
 		else
 		{
+			//decompress once instead of per block (slice)
+			if( src instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)src).isCompressed() )
+				src = ((CompressedMatrixBlock)src).decompress(
+					OptimizerUtils.getConstrainedNumThreads(-1));
+			
 			boolean sparse = src.isInSparseFormat();
 
 			//create and write subblocks of matrix
@@ -994,7 +1050,10 @@ public class SparkExecutionContext extends ExecutionContext
 		lrdd = lrdd.mapValues(new ComputeBinaryBlockNnzFunction(aNnz));
 
 		//save file is an action which also triggers nnz maintenance
-		lrdd.saveAsHadoopFile(path,
+		if( oinfo == OutputInfo.BinaryBlockOutputInfo ) //w/ compression codec
+			SparkUtils.saveAsSequenceFile(lrdd, path, oinfo.outputKeyClass, oinfo.outputValueClass);
+		else
+			lrdd.saveAsHadoopFile(path,
 				oinfo.outputKeyClass,
 				oinfo.outputValueClass,
 				oinfo.outputFormatClass);
@@ -1016,7 +1075,10 @@ public class SparkExecutionContext extends ExecutionContext
 		}
 
 		//save file is an action which also triggers nnz maintenance
-		lrdd.saveAsHadoopFile(path,
+		if( oinfo == OutputInfo.BinaryBlockFrameOutputInfo ) //w/ compression codec
+			SparkUtils.saveAsSequenceFile(lrdd, path, oinfo.outputKeyClass, oinfo.outputValueClass);
+		else
+			lrdd.saveAsHadoopFile(path,
 				oinfo.outputKeyClass,
 				oinfo.outputValueClass,
 				oinfo.outputFormatClass);
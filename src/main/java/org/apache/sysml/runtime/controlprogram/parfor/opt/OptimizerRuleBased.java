@@ -1362,10 +1362,12 @@ public class OptimizerRuleBased extends Optimizer
 						&& !( h instanceof ParameterizedBuiltinOp //only paramop-grpagg
 							 && !HopRewriteUtils.isValidOp(((ParameterizedBuiltinOp)h).getOp(), 
 								ParamBuiltinOp.GROUPEDAGG, ParamBuiltinOp.REXPAND))
-						&& !( h instanceof UnaryOp //only unaryop-cumulativeagg
-							 && !((UnaryOp)h).isCumulativeUnaryOperation() )
-						&& !( h instanceof ReorgOp //only reorgop-transpose
-							 && ((ReorgOp)h).getOp() != ReOrgOp.TRANSPOSE ))
+						&& !( h instanceof UnaryOp //only unaryop-cumulativeagg/builtin
+							 && !((UnaryOp)h).isCumulativeUnaryOperation()
+							 && !((UnaryOp)h).isMultiThreadedOpType() )
+						&& !( h instanceof ReorgOp //only reorgop-transpose/sort
+							 && ((ReorgOp)h).getOp() != ReOrgOp.TRANSPOSE
+							 && ((ReorgOp)h).getOp() != ReOrgOp.SORT ))
 					{
 						MultiThreadedHop mhop = (MultiThreadedHop) h;
 						mhop.setMaxNumThreads(opsK); //set max constraint in hop
@@ -23,10 +23,12 @@ import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.functionobjects.Multiply;
 import org.apache.sysml.runtime.functionobjects.Plus;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.LibMatrixOutOfCore;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
@@ -69,12 +71,23 @@ public class AggregateBinaryCPInstruction extends BinaryCPInstruction
 	public void processInstruction(ExecutionContext ec) 
 		throws DMLRuntimeException
 	{	
+		AggregateBinaryOperator ab_op = (AggregateBinaryOperator) _optr;
+		
+		//stream left input row-block-wise from its persistent file
+		MatrixObject mo1 = ec.getMatrixObject(input1.getName());
+		if( !input1.getName().equals(input2.getName()) && LibMatrixOutOfCore.isOutOfCoreApplicable(mo1) ) {
+			MatrixBlock matBlock2 = ec.getMatrixInput(input2.getName());
+			MatrixBlock ret = LibMatrixOutOfCore.matrixMult(mo1, matBlock2, ab_op);
+			ec.releaseMatrixInput(input2.getName());
+			ec.setMatrixOutput(output.getName(), ret);
+			return;
+		}
+		
 		//get inputs
 		MatrixBlock matBlock1 = ec.getMatrixInput(input1.getName());
 		MatrixBlock matBlock2 = ec.getMatrixInput(input2.getName());
 		
 		//compute matrix multiplication
-		AggregateBinaryOperator ab_op = (AggregateBinaryOperator) _optr;
 		MatrixBlock main = (matBlock2 instanceof CompressedMatrixBlock) ? matBlock2 : matBlock1;
 		MatrixBlock ret = (MatrixBlock) main.aggregateBinaryOperations(matBlock1, matBlock2, new MatrixBlock(), ab_op);
 		
@@ -25,10 +25,12 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.LibMatrixOutOfCore;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
@@ -141,12 +143,19 @@ public class AggregateUnaryCPInstruction extends UnaryCPInstruction
 		else 
 		{
 			/* Default behavior for AggregateUnary Instruction */
-			MatrixBlock matBlock = ec.getMatrixInput(input1.getName());		
 			AggregateUnaryOperator au_op = (AggregateUnaryOperator) _optr;
+			MatrixBlock resultBlock = null;
 			
-			MatrixBlock resultBlock = (MatrixBlock) matBlock.aggregateUnaryOperations(au_op, new MatrixBlock(), matBlock.getNumRows(), matBlock.getNumColumns(), new MatrixIndexes(1, 1), true);
-			
-			ec.releaseMatrixInput(input1.getName());
+			MatrixObject mo = ec.getMatrixObject(input1.getName());
+			if( LibMatrixOutOfCore.isSupportedAggregate(au_op) && LibMatrixOutOfCore.isOutOfCoreApplicable(mo) ) {
+				//stream input row-block-wise from its persistent file
+				resultBlock = LibMatrixOutOfCore.aggregateUnary(mo, au_op);
+			}
+			else {
+				MatrixBlock matBlock = ec.getMatrixInput(input1.getName());
+				resultBlock = (MatrixBlock) matBlock.aggregateUnaryOperations(au_op, new MatrixBlock(), matBlock.getNumRows(), matBlock.getNumColumns(), new MatrixIndexes(1, 1), true);
+				ec.releaseMatrixInput(input1.getName());
+			}
 			
 			if(output.getDataType() == DataType.SCALAR){
 				DoubleObject ret = new DoubleObject(output_name, resultBlock.getValue(0, 0));
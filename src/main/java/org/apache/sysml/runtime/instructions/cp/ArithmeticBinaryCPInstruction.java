@@ -23,7 +23,9 @@ import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.Operator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 
 public abstract class ArithmeticBinaryCPInstruction extends BinaryCPInstruction 
@@ -39,13 +41,29 @@ public abstract class ArithmeticBinaryCPInstruction extends BinaryCPInstruction
 		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-		String opcode = parseBinaryInstruction(str, in1, in2, out);
+		
+		//parse operands and optional degree of parallelism
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
+		InstructionUtils.checkNumFields(parts, 3, 4);
+		String opcode = parts[0];
+		in1.split(parts[1]);
+		in2.split(parts[2]);
+		out.split(parts[3]);
+		int k = (parts.length == 5) ? Integer.parseInt(parts[4]) : 1;
 		
 		checkOutputDataType(in1, in2, out);
 		
-		Operator operator = (in1.getDataType() != in2.getDataType()) ?
-					InstructionUtils.parseScalarBinaryOperator(opcode, (in1.getDataType() == DataType.SCALAR)) : 
-					InstructionUtils.parseBinaryOperator(opcode);
+		Operator operator = null;
+		if( in1.getDataType() != in2.getDataType() ) {
+			ScalarOperator sop = InstructionUtils.parseScalarBinaryOperator(opcode, (in1.getDataType() == DataType.SCALAR));
+			sop.setNumThreads(k);
+			operator = sop;
+		}
+		else {
+			BinaryOperator bop = InstructionUtils.parseBinaryOperator(opcode);
+			bop.setNumThreads(k);
+			operator = bop;
+		}
 		
 		if( in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR ) 
 			return new ScalarScalarArithmeticCPInstruction(operator, in1, in2, out, opcode, str);
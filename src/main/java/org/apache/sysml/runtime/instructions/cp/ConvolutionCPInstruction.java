@@ -346,7 +346,7 @@ public class ConvolutionCPInstruction extends UnaryCPInstruction
 			else {
 				outputBlock = getDenseOutputBlock(N, C*P*Q);
 				if(instOpcode.equalsIgnoreCase("maxpooling"))
-					Arrays.fill(outputBlock.getDenseBlock(), -Double.MAX_VALUE);
+					Arrays.fill(outputBlock.getDenseBlockValues(), -Double.MAX_VALUE);
 				LibMatrixDNN.maxpooling(matBlock, outputBlock, params);
 			}
 		}
@@ -395,7 +395,7 @@ public class ConvolutionCPInstruction extends UnaryCPInstruction
 				// bias_add(empty mb, bias)
 				outputBlock = getDenseOutputBlock(N, K*P*Q);
 				for(int n = 0;  n < params.N; n++) 
-					ConvolutionUtils.fillBias(bias, outputBlock.getDenseBlock(), n, n+1, params.N, params.K, params.P*params.Q);
+					ConvolutionUtils.fillBias(bias, outputBlock.getDenseBlockValues(), n, n+1, params.N, params.K, params.P*params.Q);
 			}
 			else {
 				outputBlock = getDenseOutputBlock(N, K*P*Q);
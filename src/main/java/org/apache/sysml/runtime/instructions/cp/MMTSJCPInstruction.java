@@ -21,8 +21,10 @@ package org.apache.sysml.runtime.instructions.cp;
 
 import org.apache.sysml.lops.MMTSJ.MMTSJType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.LibMatrixOutOfCore;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 
@@ -62,6 +64,14 @@ public class MMTSJCPInstruction extends UnaryCPInstruction
 	public void processInstruction(ExecutionContext ec)
 		throws DMLRuntimeException 
 	{
+		//stream input row-block-wise from its persistent file
+		MatrixObject mo = ec.getMatrixObject(input1.getName());
+		if( _type.isLeft() && LibMatrixOutOfCore.isOutOfCoreApplicable(mo) ) {
+			MatrixBlock ret = LibMatrixOutOfCore.tsmm(mo, _type, _numThreads);
+			ec.setMatrixOutput(output.getName(), ret);
+			return;
+		}
+		
 		//get inputs
 		MatrixBlock matBlock1 = ec.getMatrixInput(input1.getName());
 
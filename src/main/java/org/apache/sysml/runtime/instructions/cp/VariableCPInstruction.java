@@ -37,6 +37,7 @@ import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysml.runtime.controlprogram.caching.WriteBehindQueue;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
@@ -115,6 +116,9 @@ public class VariableCPInstruction extends CPInstruction
 	// CSV related members (used only in createvar instructions)
 	private FileFormatProperties _formatProperties;
 	
+	// flag for createvar instructions of persistent reads (subject to prefetching)
+	private boolean _persistentRead = false;
+	
 	static {
 		_uniqueVarID  = new IDSequence(true); 
 	}
@@ -236,6 +240,14 @@ public class VariableCPInstruction extends CPInstruction
 		_formatProperties = prop;
 	}
 	
+	public boolean isPersistentRead() {
+		return _persistentRead;
+	}
+	
+	public void setPersistentRead(boolean flag) {
+		_persistentRead = flag;
+	}
+	
 	public List<CPOperand> getInputs() {
 		return inputs;
 	}
@@ -504,6 +516,11 @@ public class VariableCPInstruction extends CPInstruction
 				ec.setVariable(getInput1().getName(), mobj);
 				if(DMLScript.STATISTICS && _updateType.isInPlace())
 					Statistics.incrementTotalUIPVar();
+				
+				//start prefetch of persistent reads, overlapped with preceding
+				//instructions until the first acquire of the matrix
+				if( _persistentRead )
+					mobj.prefetch();
 			}
 			else if( getInput1().getDataType() == DataType.FRAME ) {
 				String fname = getInput2().getName();
@@ -802,16 +819,37 @@ public class VariableCPInstruction extends CPInstruction
 			else {
 				// Default behavior
 				MatrixObject mo = ec.getMatrixObject(getInput1().getName());
-				mo.exportData(fname, outFmt, _formatProperties);
+				exportData(mo, fname, outFmt, _formatProperties);
 			}
 		}
 		else if( getInput1().getDataType() == DataType.FRAME ) {
 			String outFmt = getInput3().getName();
 			FrameObject mo = ec.getFrameObject(getInput1().getName());
-			mo.exportData(fname, outFmt, _formatProperties);
+			exportData(mo, fname, outFmt, _formatProperties);
 		}
 	}
 	
+	/**
+	 * Helper function to export matrices or frames, asynchronously (write-behind)
+	 * if enabled and otherwise synchronously. Matrices with in-place updates are
+	 * always exported synchronously because their blocks are modified in place.
+	 * 
+	 * @param cd cacheable data object
+	 * @param fname file name
+	 * @param outFmt output format
+	 * @param props file format properties
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void exportData(CacheableData<?> cd, String fname, String outFmt, FileFormatProperties props) 
+		throws DMLRuntimeException
+	{
+		if( WriteBehindQueue.isEnabled() && !(cd instanceof MatrixObject 
+			&& ((MatrixObject)cd).getUpdateType().isInPlace()) )
+			cd.exportDataAsync(fname, outFmt, props);
+		else
+			cd.exportData(fname, outFmt, props);
+	}
+	
 	/**
 	 * Remove variable instruction externalized as a static function in order to allow various 
 	 * cleanup procedures to use the same codepath as the actual rmVar instruction
@@ -851,10 +889,11 @@ public class VariableCPInstruction extends CPInstruction
 		if(mo.isDirty()) {
 			// there exist data computed in CP that is not backed up on HDFS
 			// i.e., it is either in-memory or in evicted space
-			mo.exportData(fname, outFmt, _formatProperties);
+			exportData(mo, fname, outFmt, _formatProperties);
 		}
 		else {
 			try {
+				WriteBehindQueue.await(fname); //pending writes to target
 				OutputInfo oi = ((MatrixFormatMetaData)mo.getMetaData()).getOutputInfo();
 				MatrixCharacteristics mc = ((MatrixFormatMetaData)mo.getMetaData()).getMatrixCharacteristics();
 				if(oi == OutputInfo.CSVOutputInfo) {
@@ -891,9 +930,10 @@ public class VariableCPInstruction extends CPInstruction
 		if(mo.isDirty()) {
 			// there exist data computed in CP that is not backed up on HDFS
 			// i.e., it is either in-memory or in evicted space
-			mo.exportData(fname, outFmt);
+			exportData(mo, fname, outFmt, null);
 		}
 		else {
+			WriteBehindQueue.await(fname); //pending writes to target
 			OutputInfo oi = ((MatrixFormatMetaData)mo.getMetaData()).getOutputInfo();
 			MatrixCharacteristics mc = mo.getMatrixCharacteristics();
 			if(oi == OutputInfo.TextCellOutputInfo) {
@@ -923,6 +963,7 @@ public class VariableCPInstruction extends CPInstruction
 		throws DMLRuntimeException 
 	{
 		try {
+			WriteBehindQueue.await(fname); //pending writes to target
 			ScalarObject scalar = ec.getScalarInput(getInput1().getName(), 
 				getInput1().getValueType(), getInput1().isLiteral());
 			MapReduceTool.writeObjectToHDFS(scalar.getValue(), fname);
@@ -829,7 +829,7 @@ public class GPUObject {
 						values);
 			}
 		} else {
-			double[] data = tmp.getDenseBlock();
+			double[] data = tmp.getDenseBlockValues();
 
 			if (data == null && tmp.getSparseBlock() != null)
 				throw new DMLRuntimeException("Incorrect sparsity calculation");
@@ -872,7 +872,7 @@ public class GPUObject {
 				start = System.nanoTime();
 			MatrixBlock tmp = new MatrixBlock(toIntExact(mat.getNumRows()), toIntExact(mat.getNumColumns()), false);
 			tmp.allocateDenseBlock();
-			double[] data = tmp.getDenseBlock();
+			double[] data = tmp.getDenseBlockValues();
 
 			cudaMemcpy(Pointer.to(data), getJcudaDenseMatrixPtr(), getDoubleSizeOf(data.length),
 					cudaMemcpyDeviceToHost);
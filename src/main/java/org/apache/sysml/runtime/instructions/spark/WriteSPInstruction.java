@@ -24,7 +24,6 @@ import java.util.ArrayList;
 import java.util.Random;
 
 import org.apache.hadoop.io.LongWritable;
-import org.apache.hadoop.mapred.SequenceFileOutputFormat;
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.util.LongAccumulator;
@@ -39,6 +38,7 @@ import org.apache.sysml.runtime.instructions.spark.functions.ComputeBinaryBlockN
 import org.apache.sysml.runtime.instructions.spark.utils.FrameRDDConverterUtils;
 import org.apache.sysml.runtime.instructions.spark.utils.FrameRDDConverterUtils.LongFrameToLongWritableFrameFunction;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDConverterUtils;
+import org.apache.sysml.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.FileFormatProperties;
@@ -207,6 +207,22 @@ public class WriteSPInstruction extends SPInstruction
 			if( !mc.nnzKnown() )
 				mc.setNonZeros((long)aNnz.value().longValue());
 		}
+		else if( oi == OutputInfo.LIBSVMOutputInfo ) 
+		{
+			LongAccumulator aNnz = null;
+			
+			//piggyback nnz computation on actual write
+			if( !mc.nnzKnown() ) {
+				aNnz = sec.getSparkContext().sc().longAccumulator("nnz");
+				in1 = in1.mapValues(new ComputeBinaryBlockNnzFunction(aNnz));
+			}
+			
+			JavaRDD<String> out = RDDConverterUtils.binaryBlockToLibsvm(in1, mc, true);
+			customSaveTextFile(out, fname, false);
+			
+			if( !mc.nnzKnown() )
+				mc.setNonZeros((long)aNnz.value().longValue());
+		}
 		else if( oi == OutputInfo.BinaryBlockOutputInfo ) {
 			//piggyback nnz computation on actual write
 			LongAccumulator aNnz = null;
@@ -216,7 +232,7 @@ public class WriteSPInstruction extends SPInstruction
 			}
 			
 			//save binary block rdd on hdfs
-			in1.saveAsHadoopFile(fname, MatrixIndexes.class, MatrixBlock.class, SequenceFileOutputFormat.class);
+			SparkUtils.saveAsSequenceFile(in1, fname, MatrixIndexes.class, MatrixBlock.class);
 			
 			if( !mc.nnzKnown() )
 				mc.setNonZeros((long)aNnz.value().longValue());
@@ -254,7 +270,7 @@ public class WriteSPInstruction extends SPInstruction
 		else if( oi == OutputInfo.BinaryBlockOutputInfo ) 
 		{
 			JavaPairRDD<LongWritable,FrameBlock> out = in1.mapToPair(new LongFrameToLongWritableFrameFunction());
-			out.saveAsHadoopFile(fname, LongWritable.class, FrameBlock.class, SequenceFileOutputFormat.class);
+			SparkUtils.saveAsSequenceFile(out, fname, LongWritable.class, FrameBlock.class);
 		}
 		else {
 			//unsupported formats: binarycell (not externalized)
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.instructions.spark.functions;
+
+import org.apache.spark.api.java.function.Function;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Decompress function for binary block rdds. This function can be used in
+ * mapValues to convert compressed matrix blocks (e.g., read from persisted
+ * compressed binary block files) into uncompressed matrix blocks.
+ * 
+ */
+public class DecompressBlockFunction implements Function<MatrixBlock,MatrixBlock> 
+{
+	private static final long serialVersionUID = -3186395282476916425L;
+
+	@Override
+	public MatrixBlock call(MatrixBlock arg0)
+		throws Exception 
+	{
+		return (arg0 instanceof CompressedMatrixBlock) ?
+			((CompressedMatrixBlock)arg0).decompress() : arg0;
+	}
+}
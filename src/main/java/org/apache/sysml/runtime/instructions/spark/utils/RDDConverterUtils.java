@@ -33,6 +33,7 @@ import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.api.java.function.FlatMapFunction;
 import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.spark.api.java.function.PairFunction;
 import org.apache.spark.ml.feature.LabeledPoint;
@@ -64,6 +65,7 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixCell;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
 import org.apache.sysml.runtime.matrix.mapred.ReblockBuffer;
 import org.apache.sysml.runtime.util.DataConverter;
@@ -231,6 +233,75 @@ public class RDDConverterUtils
 		return csvToBinaryBlock(sc, prepinput, mcOut, hasHeader, delim, fill, fillValue);
 	}
 
+	/**
+	 * Converts an rdd of libsvm lines into a binary block matrix, where the 
+	 * features are written to the columns 1 to clen-1 and the label to the 
+	 * last column clen (see ReaderTextLIBSVM). 
+	 * 
+	 * @param sc java spark context
+	 * @param input rdd of libsvm lines
+	 * @param mcOut matrix characteristics (incl label column)
+	 * @param outputEmptyBlocks if true, inject empty blocks if necessary
+	 * @return matrix as {@code JavaPairRDD<MatrixIndexes, MatrixBlock>}
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static JavaPairRDD<MatrixIndexes, MatrixBlock> libsvmToBinaryBlock(JavaSparkContext sc,
+			JavaPairRDD<LongWritable, Text> input, MatrixCharacteristics mcOut, boolean outputEmptyBlocks) 
+		throws DMLRuntimeException 
+	{
+		//determine unknown dimensions and sparsity if required
+		//(number of lines, max feature index plus label column)
+		if( !mcOut.dimsKnown(true) ) {
+			LongAccumulator aNnz = sc.sc().longAccumulator("nnz");
+			JavaRDD<Long> tmp = input.values()
+					.map(new LIBSVMAnalysisFunction(aNnz));
+			long rlen = tmp.count();
+			long clen = (rlen > 0) ? tmp.reduce(new MaxLongFunction()) : 0;
+			long nnz = UtilFunctions.toLong(aNnz.value());
+			mcOut.set(rlen, clen, mcOut.getRowsPerBlock(), mcOut.getColsPerBlock(), nnz);
+		}
+		
+		//prepare libsvm w/ row indexes (sorted by filenames)
+		JavaPairRDD<Text,Long> prepinput = input.values()
+				.zipWithIndex(); //zip row index
+		
+		//convert libsvm rdd to binary block rdd (w/ partial blocks)
+		JavaPairRDD<MatrixIndexes, MatrixBlock> out = 
+				prepinput.mapPartitionsToPair(new LIBSVMToBinaryBlockFunction(mcOut));
+		
+		//inject empty blocks (if necessary) 
+		if( outputEmptyBlocks && mcOut.mightHaveEmptyBlocks() ) {
+			out = out.union( 
+				SparkUtils.getEmptyBlockRDD(sc, mcOut) );
+		}
+		
+		//aggregate partial matrix blocks
+		int parts = SparkUtils.getNumPreferredPartitions(mcOut, out);
+		return RDDAggregateUtils.mergeByKey(out, parts, false); 
+	}
+	
+	public static JavaRDD<String> binaryBlockToLibsvm(JavaPairRDD<MatrixIndexes,MatrixBlock> in, MatrixCharacteristics mcIn, boolean strict)
+	{
+		JavaPairRDD<MatrixIndexes,MatrixBlock> input = in;
+		
+		//fast path without, general case with shuffle
+		if( mcIn.getCols()>mcIn.getColsPerBlock() ) {
+			//create row partitioned matrix
+			input = input
+					.flatMapToPair(new SliceBinaryBlockToRowsFunction(mcIn.getRowsPerBlock()))
+					.groupByKey()
+					.mapToPair(new ConcatenateBlocksFunction(mcIn.getCols(), mcIn.getColsPerBlock()));	
+		}
+		
+		//sort if required (on blocks/rows)
+		if( strict ) {
+			input = input.sortByKey(true);
+		}
+		
+		//convert binary block to libsvm (from blocks/rows)
+		return input.flatMap(new BinaryBlockToLIBSVMFunction());
+	}
+
 	public static JavaPairRDD<MatrixIndexes, MatrixBlock> dataFrameToBinaryBlock(JavaSparkContext sc,
 			Dataset<Row> df, MatrixCharacteristics mc, boolean containsID, boolean isVector) 
 	{
@@ -422,7 +493,7 @@ public class RDDConverterUtils
 			return Vectors.sparse(row.getNumColumns(), 
 					row.getSparseBlock().indexes(0), row.getSparseBlock().values(0));
 		else // DENSE ROW
-			return Vectors.dense(row.getDenseBlock());
+			return Vectors.dense(row.getDenseBlockValues());
 	}
 	
 	/////////////////////////////////
@@ -930,6 +1001,141 @@ public class RDDConverterUtils
 		}
 	}
 
+	/////////////////////////////////
+	// LIBSVM-SPECIFIC FUNCTIONS
+
+	private static class LIBSVMAnalysisFunction implements Function<Text,Long> 
+	{
+		private static final long serialVersionUID = -4270342364517040524L;
+
+		private LongAccumulator _aNnz = null;
+		
+		public LIBSVMAnalysisFunction( LongAccumulator aNnz ) {
+			_aNnz = aNnz;
+		}
+		
+		@Override
+		public Long call(Text v1) 
+			throws Exception 
+		{
+			//determine number of columns and non-zeros of row (w/o value parsing)
+			byte[] b = v1.getBytes();
+			int len = v1.getLength();
+			_aNnz.add( IOUtilFunctions.countTokensLIBSVM(b, len) );
+			
+			return (long) IOUtilFunctions.getMaxIndexLIBSVM(b, len) + 1;
+		}
+	}
+	
+	private static class MaxLongFunction implements Function2<Long,Long,Long> 
+	{
+		private static final long serialVersionUID = 2866574406386556329L;
+
+		@Override
+		public Long call(Long v1, Long v2) throws Exception {
+			return Math.max(v1, v2);
+		}
+	}
+
+	private static class LIBSVMToBinaryBlockFunction extends CellToBinaryBlockFunction implements PairFlatMapFunction<Iterator<Tuple2<Text,Long>>,MatrixIndexes,MatrixBlock> 
+	{
+		private static final long serialVersionUID = -1538420466314539306L;
+
+		protected LIBSVMToBinaryBlockFunction(MatrixCharacteristics mc) {
+			super(mc);
+		}
+
+		@Override
+		public Iterator<Tuple2<MatrixIndexes, MatrixBlock>> call(Iterator<Tuple2<Text,Long>> arg0) 
+			throws Exception 
+		{
+			ArrayList<Tuple2<MatrixIndexes,MatrixBlock>> ret = new ArrayList<Tuple2<MatrixIndexes,MatrixBlock>>();
+			ReblockBuffer rbuff = new ReblockBuffer(_bufflen, _rlen, _clen, _brlen, _bclen);
+			
+			//reused row buffers of column indexes and values
+			int[] aix = new int[64];
+			double[] avals = new double[64];
+			
+			while( arg0.hasNext() )
+			{
+				//parse input line directly from bytes
+				Tuple2<Text,Long> tmp = arg0.next();
+				Text line = tmp._1();
+				long row = tmp._2();
+				int len = line.getLength();
+				if( aix.length < IOUtilFunctions.getMaxTokensLIBSVM(len) ) {
+					aix = new int[IOUtilFunctions.getMaxTokensLIBSVM(len)];
+					avals = new double[aix.length];
+				}
+				int alen = IOUtilFunctions.parseLIBSVMRow(
+					line.getBytes(), len, row, (int)_clen, aix, avals, 0);
+				
+				for( int j=0; j<alen; j++ ) {
+					//flush buffer if necessary
+					if( rbuff.getSize() >= rbuff.getCapacity() )
+						flushBufferToList(rbuff, ret);
+					
+					//add value to reblock buffer (1-based)
+					rbuff.appendCell(row+1, aix[j]+1, avals[j]);
+				}
+			}
+			
+			//final flush buffer
+			flushBufferToList(rbuff, ret);
+		
+			return ret.iterator();
+		}
+	}
+	
+	private static class BinaryBlockToLIBSVMFunction implements FlatMapFunction<Tuple2<MatrixIndexes,MatrixBlock>,String> 
+	{
+		private static final long serialVersionUID = 2716426478547016617L;
+
+		@Override
+		public Iterator<String> call(Tuple2<MatrixIndexes, MatrixBlock> arg0)
+			throws Exception 
+		{
+			MatrixBlock blk = arg0._2();
+			int clen = blk.getNumColumns();
+			ArrayList<String> ret = new ArrayList<String>();
+			
+			//handle matrix block data (label, non-zero features)
+			StringBuilder sb = new StringBuilder();
+			SparseBlock sblock = blk.isInSparseFormat() ? blk.getSparseBlock() : null;
+			for(int i=0; i<blk.getNumRows(); i++) {
+				sb.append(blk.quickGetValue(i, clen-1));
+				if( sblock != null ) {
+					if( !sblock.isEmpty(i) ) {
+						int apos = sblock.pos(i);
+						int alen = sblock.size(i);
+						int[] aix = sblock.indexes(i);
+						double[] avals = sblock.values(i);
+						for(int j=apos; j<apos+alen && aix[j]<clen-1; j++)
+							appendFeature(sb, aix[j], avals[j]);
+					}
+				}
+				else if( !blk.isInSparseFormat() ) {
+					for(int j=0; j<clen-1; j++) {
+						double val = blk.quickGetValue(i, j);
+						if( val != 0 )
+							appendFeature(sb, j, val);
+					}
+				}
+				ret.add(sb.toString());
+				sb.setLength(0); //reset
+			}
+			
+			return ret.iterator();
+		}
+		
+		private static void appendFeature(StringBuilder sb, int j, double val) {
+			sb.append(IOUtilFunctions.LIBSVM_DELIM);
+			sb.append(j+1);
+			sb.append(IOUtilFunctions.LIBSVM_INDEX_DELIM);
+			sb.append(val);
+		}
+	}
+
 	private static class SliceBinaryBlockToRowsFunction implements PairFlatMapFunction<Tuple2<MatrixIndexes,MatrixBlock>,Long,Tuple2<Long,MatrixBlock>> 
 	{
 		private static final long serialVersionUID = 7192024840710093114L;
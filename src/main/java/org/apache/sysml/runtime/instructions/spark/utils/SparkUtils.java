@@ -26,6 +26,8 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.mapred.SequenceFileOutputFormat;
 import org.apache.spark.HashPartitioner;
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaSparkContext;
@@ -41,6 +43,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyze
 import org.apache.sysml.runtime.instructions.spark.functions.CopyBinaryCellFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyBlockFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyBlockPairFunction;
+import org.apache.sysml.runtime.io.IOCompressionUtils;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -164,6 +167,23 @@ public class SparkUtils
 			return in.mapPartitionsToPair(new CopyBlockPairFunction(deep), true);
 	}
 
+	/**
+	 * Saves a binary block RDD of matrix or frame blocks as sequence files,
+	 * block-compressed with the configured compression codec (if any).
+	 * 
+	 * @param in binary block rdd
+	 * @param fname file name
+	 * @param keyClass key class
+	 * @param valueClass value class
+	 */
+	public static void saveAsSequenceFile(JavaPairRDD<?,?> in, String fname, Class<?> keyClass, Class<?> valueClass) {
+		Class<? extends CompressionCodec> codec = IOCompressionUtils.getCompressionCodecClass();
+		if( codec != null )
+			in.saveAsHadoopFile(fname, keyClass, valueClass, SequenceFileOutputFormat.class, codec);
+		else
+			in.saveAsHadoopFile(fname, keyClass, valueClass, SequenceFileOutputFormat.class);
+	}
+
 	// This returns RDD with identifier as well as location
 	public static String getStartLineFromSparkDebugInfo(String line) throws DMLRuntimeException {
 		// To remove: (2)  -- Assumption: At max, 9 RDDs as input to transformation/action
@@ -49,6 +49,9 @@ import org.apache.sysml.runtime.util.UtilFunctions;
  */
 public class FrameReaderTextCSV extends FrameReader
 {
+	//number of rows of the typed column builders, merged into the output once full
+	protected static final int BUILDER_NUMROWS = 1024;
+	
 	protected CSVFileFormatProperties _props = null;
 	
 	public FrameReaderTextCSV(CSVFileFormatProperties props) {
@@ -76,8 +79,12 @@ public class FrameReaderTextCSV extends FrameReader
 			clen = size.getValue();
 		}
 		
-		//allocate output frame block
+		//infer value types of unknown columns if necessary
 		ValueType[] lschema = createOutputSchema(schema, clen);
+		if( UtilFunctions.frequency(lschema, ValueType.UNKNOWN) > 0 )
+			lschema = inferCSVSchema(path, job, fs, lschema);
+		
+		//allocate output frame block
 		String[] lnames = createOutputNames(names, clen);
 		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
 	
@@ -92,8 +99,11 @@ public class FrameReaderTextCSV extends FrameReader
 			long rlen, long clen)
 		throws IOException, DMLRuntimeException 
 	{
-		//allocate output frame block
+		//allocate output frame block (unknown value types default to
+		//string because the input stream allows no separate inference pass)
 		ValueType[] lschema = createOutputSchema(schema, clen);
+		if( UtilFunctions.frequency(lschema, ValueType.UNKNOWN) > 0 )
+			lschema = finalizeSchema(lschema.clone());
 		String[] lnames = createOutputNames(names, clen);
 		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
 	
@@ -134,6 +144,13 @@ public class FrameReaderTextCSV extends FrameReader
 		int row = rl;
 		int col = -1;
 		
+		//typed column builder of this split, merged into the output at the
+		//current row offset whenever full (bounded, cache-resident buffer)
+		int clen2 = dest.getNumColumns();
+		FrameBlock buff = new FrameBlock(dest.getSchema());
+		buff.ensureAllocatedColumns(BUILDER_NUMROWS);
+		int brow = 0;
+		
 		//handle header if existing
 		if(first && hasHeader ) {
 			reader.next(key, value); //read header
@@ -161,31 +178,156 @@ public class FrameReaderTextCSV extends FrameReader
 					continue;
 				}
 				
+				//sanity check number of columns (before typed column access)
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
+				
 				for( String part : parts ) //foreach cell
 				{
+					//parse directly into the typed columns (no boxing)
 					part = part.trim();
 					if ( part.isEmpty() ) {
 						if( isFill && dfillValue!=0 )
-							dest.set(row, col, UtilFunctions.stringToObject(schema[col], sfillValue));
+							buff.setFromString(brow, col, sfillValue);
+						else
+							buff.set(brow, col, null); //clear reused cell
 						emptyValuesFound = true;
 					}
 					else {
-						dest.set(row, col, UtilFunctions.stringToObject(schema[col], part));
+						buff.setFromString(brow, col, part);
 					}
 					col++;
 				}
 				
-				//sanity checks for empty values and number of columns
+				//sanity check for empty values
 				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
-				row++;
+				row++; brow++;
+				
+				//merge full column builder into the output
+				if( brow == BUILDER_NUMROWS ) {
+					dest.copy(row-brow, row-1, 0, clen2-1, buff);
+					brow = 0;
+				}
 			}
+			
+			//merge remaining rows of the column builder
+			if( brow > 0 )
+				dest.copy(row-brow, row-1, 0, clen2-1, buff);
 		}
 		finally {
 			IOUtilFunctions.closeSilently(reader);
 		}
 	}
 
+	protected ValueType[] inferCSVSchema( Path path, JobConf job, FileSystem fs, ValueType[] schema) 
+		throws IOException 
+	{
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = informat.getSplits(job, 1);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+		
+		//infer value types of unknown columns over all splits
+		ValueType[] ret = null;
+		for( int i=0; i<splits.length; i++ )
+			ret = mergeSchemas(ret, inferCSVSchemaFromInputSplit(
+				splits[i], informat, job, schema, _props.hasHeader() && i==0, _props.getDelim()));
+		
+		return finalizeSchema(ret);
+	}
+	
+	/**
+	 * Infers the value types of all columns with unknown value type (see
+	 * {@code ValueType.UNKNOWN}) from the non-empty cells of the given split.
+	 * Columns without non-empty cells remain unknown.
+	 * 
+	 * @param split input split
+	 * @param informat input format
+	 * @param job job configuration
+	 * @param schema schema with known and unknown value types
+	 * @param skipHeader if true, skip the first line
+	 * @param delim delimiter
+	 * @return partially inferred schema
+	 * @throws IOException if IOException occurs
+	 */
+	protected static ValueType[] inferCSVSchemaFromInputSplit( InputSplit split, TextInputFormat informat, 
+			JobConf job, ValueType[] schema, boolean skipHeader, String delim ) 
+		throws IOException
+	{
+		ValueType[] ret = schema.clone();
+		RecordReader<LongWritable, Text> reader = informat.getRecordReader(split, job, Reporter.NULL);
+		LongWritable key = new LongWritable();
+		Text value = new Text();
+		
+		try {
+			if( skipHeader )
+				reader.next(key, value);
+			while( reader.next(key, value) ) {
+				String cellStr = value.toString().trim();
+				String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
+				if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX) )
+					continue;
+				for( int j=0; j<Math.min(parts.length, ret.length); j++ ) {
+					//skip known types, incl columns already inferred as string
+					if( schema[j] != ValueType.UNKNOWN || ret[j] == ValueType.STRING )
+						continue;
+					String part = parts[j].trim();
+					if( !part.isEmpty() )
+						ret[j] = mergeValueTypes(ret[j], inferValueType(part));
+				}
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+		
+		return ret;
+	}
+	
+	protected static ValueType inferValueType(String val) {
+		if( val.equalsIgnoreCase("true") || val.equalsIgnoreCase("false") )
+			return ValueType.BOOLEAN;
+		try {
+			Long.parseLong(val);
+			return ValueType.INT;
+		}
+		catch(NumberFormatException ex) {}
+		try {
+			Double.parseDouble(val);
+			return ValueType.DOUBLE;
+		}
+		catch(NumberFormatException ex) {}
+		return ValueType.STRING;
+	}
+	
+	protected static ValueType mergeValueTypes(ValueType vt1, ValueType vt2) {
+		if( vt1 == ValueType.UNKNOWN || vt1 == vt2 )
+			return vt2;
+		else if( vt2 == ValueType.UNKNOWN )
+			return vt1;
+		//integers generalize to doubles, all other combinations to strings
+		else if( (vt1 == ValueType.INT || vt1 == ValueType.DOUBLE)
+			&& (vt2 == ValueType.INT || vt2 == ValueType.DOUBLE) )
+			return ValueType.DOUBLE;
+		return ValueType.STRING;
+	}
+	
+	protected static ValueType[] mergeSchemas(ValueType[] schema1, ValueType[] schema2) {
+		if( schema1 == null )
+			return schema2;
+		ValueType[] ret = new ValueType[schema1.length];
+		for( int j=0; j<ret.length; j++ )
+			ret[j] = mergeValueTypes(schema1[j], schema2[j]);
+		return ret;
+	}
+	
+	protected static ValueType[] finalizeSchema(ValueType[] schema) {
+		//columns without non-empty cells default to string
+		for( int j=0; j<schema.length; j++ )
+			if( schema[j] == ValueType.UNKNOWN )
+				schema[j] = ValueType.STRING;
+		return schema;
+	}
+
 	protected Pair<Integer,Integer> computeCSVSize( Path path, JobConf job, FileSystem fs) 
 		throws IOException 
 	{	
@@ -24,7 +24,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
@@ -42,6 +41,7 @@ import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
  * Multi-threaded frame text csv reader.
@@ -67,7 +67,7 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 
 		try 
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			ExecutorService pool = CommonThreadPool.get(numThreads);
 			
 			//compute num rows per split
 			ArrayList<CountRowsTask> tasks = new ArrayList<CountRowsTask>();
@@ -99,6 +99,37 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 		}
 	}
 
+	@Override
+	protected ValueType[] inferCSVSchema( Path path, JobConf job, FileSystem fs, ValueType[] schema) 
+		throws IOException 
+	{
+		int numThreads = OptimizerUtils.getParallelTextReadParallelism();
+		
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = informat.getSplits(job, numThreads);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+		
+		//infer value types of unknown columns per split and merge
+		ValueType[] ret = null;
+		ExecutorService pool = CommonThreadPool.get(numThreads);
+		try {
+			ArrayList<InferSchemaTask> tasks = new ArrayList<InferSchemaTask>();
+			for( int i=0; i<splits.length; i++ )
+				tasks.add(new InferSchemaTask(splits[i], informat, job, schema, _props.hasHeader() && i==0, _props.getDelim()));
+			for( Future<ValueType[]> lschema : pool.invokeAll(tasks) )
+				ret = mergeSchemas(ret, lschema.get());
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel schema inference of text csv input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		return finalizeSchema(ret);
+	}
+
 	@Override
 	protected Pair<Integer,Integer> computeCSVSize( Path path, JobConf job, FileSystem fs) 
 		throws IOException 
@@ -114,7 +145,7 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 		
 		//compute number of rows
 		int nrow = 0;
-		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		ExecutorService pool = CommonThreadPool.get(numThreads);
 		try {
 			ArrayList<CountRowsTask> tasks = new ArrayList<CountRowsTask>();
 			for( int i=0; i<splits.length; i++ )
@@ -173,6 +204,33 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 		}
 	}
 
+	private static class InferSchemaTask implements Callable<ValueType[]> 
+	{
+		private InputSplit _split = null;
+		private TextInputFormat _informat = null;
+		private JobConf _job = null;
+		private ValueType[] _schema = null;
+		private boolean _skipHeader = false;
+		private String _delim = null;
+
+		public InferSchemaTask(InputSplit split, TextInputFormat informat, JobConf job, 
+				ValueType[] schema, boolean skipHeader, String delim) {
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_schema = schema;
+			_skipHeader = skipHeader;
+			_delim = delim;
+		}
+
+		@Override
+		public ValueType[] call() 
+			throws Exception 
+		{
+			return inferCSVSchemaFromInputSplit(_split, _informat, _job, _schema, _skipHeader, _delim);
+		}
+	}
+
 	private class ReadRowsTask implements Callable<Object> 
 	{
 		private InputSplit _split = null;
@@ -25,6 +25,7 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -38,6 +39,8 @@ import org.apache.sysml.runtime.util.MapReduceTool;
  */
 public class FrameWriterBinaryBlock extends FrameWriter
 {
+	//compression codec, obtained from the config of the calling thread
+	protected final CompressionCodec _codec = IOCompressionUtils.getCompressionCodec();
 
 	@Override
 	public final void writeFrameToHDFS( FrameBlock src, String fname, long rlen, long clen )
@@ -84,13 +87,12 @@ public class FrameWriterBinaryBlock extends FrameWriter
 	 * @throws DMLRuntimeException if DMLRuntimeException occurs
 	 * @throws IOException if IOException occurs
 	 */
-	@SuppressWarnings("deprecation")
 	protected final void writeBinaryBlockFrameToSequenceFile( Path path, JobConf job, FileSystem fs, FrameBlock src, int blen, int rl, int ru ) 
 		throws DMLRuntimeException, IOException
 	{
-		//1) create sequence file writer 
-		SequenceFile.Writer writer = null;
-		writer = new SequenceFile.Writer(fs, job, path, LongWritable.class, FrameBlock.class);
+		//1) create sequence file writer (w/ configured compression codec)
+		SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(
+			fs, job, path, LongWritable.class, FrameBlock.class, -1, _codec);
 		
 		try
 		{
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.io;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.SequenceFile.CompressionType;
+import org.apache.hadoop.io.compress.BZip2Codec;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.Compressor;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.io.compress.Lz4Codec;
+import org.apache.hadoop.io.compress.SnappyCodec;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.matrix.mapred.MRConfigurationNames;
+
+/**
+ * Utilities for the block compression of binary block sequence files and 
+ * local buffer pool files, configured via {@link DMLConfig#IO_COMPRESSION_CODEC}.
+ * 
+ * Sequence files record their codec in the file header, which allows readers
+ * to detect compressed files automatically. Compressed local files are prefixed
+ * with a small header of a magic number and the codec class name.
+ */
+public class IOCompressionUtils 
+{
+	//magic number of compressed local files, which is negative and hence never
+	//collides with the leading row count of serialized matrix and frame blocks
+	public static final int LOCAL_MAGIC = 0xC0DEC000;
+	
+	public enum CodecType {
+		NONE(null),
+		DEFLATE(DefaultCodec.class), //pure java w/o native zlib
+		BZIP2(BZip2Codec.class),     //pure java w/o native bzip2
+		SNAPPY(SnappyCodec.class),   //requires native hadoop
+		LZ4(Lz4Codec.class);         //requires native hadoop
+		
+		private final Class<? extends CompressionCodec> _clazz;
+		
+		private CodecType(Class<? extends CompressionCodec> clazz) {
+			_clazz = clazz;
+		}
+		
+		public Class<? extends CompressionCodec> getCodecClass() {
+			return _clazz;
+		}
+	}
+	
+	//shared codec instances (codecs are stateless, compressors are pooled)
+	private static final ConcurrentHashMap<String, CompressionCodec> _codecs = new ConcurrentHashMap<>();
+	
+	/**
+	 * Gets the configured compression codec name, which is either
+	 * a {@link CodecType} or a fully qualified codec class name.
+	 * 
+	 * @return codec name
+	 */
+	public static String getCompressionCodecName() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		String name = (conf != null) ? conf.getTextValue(DMLConfig.IO_COMPRESSION_CODEC) : null;
+		return (name != null) ? name.trim() : CodecType.NONE.name();
+	}
+	
+	/**
+	 * Gets the configured compression codec class, or null if 
+	 * compression is disabled.
+	 * 
+	 * @return codec class or null
+	 */
+	public static Class<? extends CompressionCodec> getCompressionCodecClass() {
+		return getCompressionCodecClass(getCompressionCodecName());
+	}
+	
+	public static Class<? extends CompressionCodec> getCompressionCodecClass(String name) {
+		for( CodecType type : CodecType.values() )
+			if( type.name().equalsIgnoreCase(name) )
+				return type.getCodecClass();
+		
+		//custom codec via fully qualified class name
+		try {
+			return Class.forName(name).asSubclass(CompressionCodec.class);
+		}
+		catch(ClassNotFoundException | ClassCastException ex) {
+			throw new RuntimeException("Unsupported compression codec: "+name, ex);
+		}
+	}
+	
+	/**
+	 * Gets the configured compression codec, or null if 
+	 * compression is disabled.
+	 * 
+	 * @return codec or null
+	 */
+	public static CompressionCodec getCompressionCodec() {
+		return getCompressionCodec(getCompressionCodecName());
+	}
+	
+	public static CompressionCodec getCompressionCodec(String name) {
+		Class<? extends CompressionCodec> clazz = getCompressionCodecClass(name);
+		if( clazz == null )
+			return null;
+		return _codecs.computeIfAbsent(clazz.getName(), 
+			k -> ReflectionUtils.newInstance(clazz, ConfigurationManager.getCachedJobConf()));
+	}
+	
+	/**
+	 * Creates a sequence file writer with the given block compression codec
+	 * (if not null), and the given replication factor (if larger than zero).
+	 * 
+	 * @param fs file system
+	 * @param job job configuration
+	 * @param path file path
+	 * @param keyClass key class
+	 * @param valueClass value class
+	 * @param replication replication factor, or -1 for default
+	 * @param codec compression codec, or null for uncompressed
+	 * @return sequence file writer
+	 * @throws IOException if IOException occurs
+	 */
+	@SuppressWarnings("deprecation")
+	public static SequenceFile.Writer createSequenceFileWriter(FileSystem fs, JobConf job, Path path, 
+		Class<?> keyClass, Class<?> valueClass, int replication, CompressionCodec codec) 
+		throws IOException
+	{
+		//default uncompressed writer w/ default replication
+		if( codec == null && replication <= 0 )
+			return new SequenceFile.Writer(fs, job, path, keyClass, valueClass);
+		
+		//copy of SequenceFile.Writer(fs, job, path, keyClass, valueClass), except for
+		//replication (config via MRConfigurationNames.DFS_REPLICATION not possible since
+		//sequence file internally calls fs.getDefaultReplication()) and block compression
+		return SequenceFile.createWriter(fs, job, path, keyClass, valueClass, 
+			job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096), 
+			(replication > 0) ? (short)replication : fs.getDefaultReplication(), 
+			fs.getDefaultBlockSize(), (codec != null) ? CompressionType.BLOCK : CompressionType.NONE, 
+			codec, null, new SequenceFile.Metadata());
+	}
+	
+	/**
+	 * Writes the header of a compressed local file and wraps the given
+	 * file output stream into a compression stream.
+	 * 
+	 * @param os file output stream
+	 * @param codec compression codec
+	 * @param comp pooled compressor
+	 * @return compression output stream
+	 * @throws IOException if IOException occurs
+	 */
+	public static OutputStream createLocalOutputStream(OutputStream os, CompressionCodec codec, Compressor comp) 
+		throws IOException
+	{
+		DataOutputStream dos = new DataOutputStream(os);
+		dos.writeInt(LOCAL_MAGIC);
+		dos.writeUTF(codec.getClass().getName());
+		dos.flush();
+		return codec.createOutputStream(os, comp);
+	}
+	
+	/**
+	 * Reads the header of a potentially compressed local file. If the file
+	 * is compressed, the stream is positioned after the header and the codec 
+	 * is returned; otherwise, the stream position remains unchanged.
+	 * 
+	 * @param fis file input stream
+	 * @return compression codec, or null if uncompressed
+	 * @throws IOException if IOException occurs
+	 */
+	public static CompressionCodec readLocalHeader(FileInputStream fis) 
+		throws IOException
+	{
+		//probe magic number via positional read (w/o stream position change)
+		FileChannel channel = fis.getChannel();
+		ByteBuffer buff = ByteBuffer.allocate(4);
+		while( buff.hasRemaining() && channel.read(buff, buff.position()) > 0 );
+		if( buff.hasRemaining() || buff.getInt(0) != LOCAL_MAGIC )
+			return null;
+		
+		//read header and obtain codec
+		DataInputStream dis = new DataInputStream(fis);
+		dis.readInt();
+		return getCompressionCodec(dis.readUTF());
+	}
+}
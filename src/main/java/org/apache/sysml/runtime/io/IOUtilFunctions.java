@@ -24,6 +24,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -48,6 +49,7 @@ import org.apache.hadoop.mapred.RecordReader;
 import org.apache.hadoop.mapred.Reporter;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -56,6 +58,9 @@ public class IOUtilFunctions
 	private static final Log LOG = LogFactory.getLog(UtilFunctions.class.getName());
 
 	private static final char CSV_QUOTE_CHAR = '"';
+	
+	public static final char LIBSVM_DELIM = ' ';
+	public static final char LIBSVM_INDEX_DELIM = ':';
 
 	public static FileSystem getFileSystem(String fname) throws IOException {
 		return getFileSystem(new Path(fname),
@@ -127,8 +132,12 @@ public class IOUtilFunctions
 	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, String[] parts, long ncol) 
 		throws IOException
 	{
-		int realncol = parts.length;
-		
+		checkAndRaiseErrorCSVNumColumns(fname, line, parts.length, ncol);
+	}
+	
+	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, int realncol, long ncol) 
+		throws IOException
+	{
 		if( realncol != ncol ) {
 			throw new IOException("Invalid number of columns (" + realncol + ", expected=" + ncol + ") "
 					+ "found in delimited file (" + fname + ") for line: " + line);
@@ -343,6 +352,232 @@ public class IOUtilFunctions
 		return lnnz;
 	}
 	
+	/**
+	 * Parses a single LIBSVM line from the given UTF-8 bytes into the given
+	 * arrays of zero-based column indexes and values, starting at position
+	 * apos. The non-zero features are followed by the label in the last 
+	 * column, i.e., the output is in sorted order. The arrays require at
+	 * least {@link #getMaxTokensLIBSVM(int)} free entries.
+	 * 
+	 * @param b byte array
+	 * @param len number of valid bytes
+	 * @param row row index (for error messages)
+	 * @param clen number of columns (incl label column)
+	 * @param aix output array of column indexes
+	 * @param avals output array of values
+	 * @param apos start position in the output arrays
+	 * @return number of non-zeros of the parsed row
+	 * @throws IOException if the line is not a valid LIBSVM row
+	 */
+	public static int parseLIBSVMRow(byte[] b, int len, long row, int clen, int[] aix, double[] avals, int apos) 
+		throws IOException
+	{
+		//parse label (first token)
+		int pos = skipWhitespace(b, 0, len);
+		if( pos >= len )
+			throw new IOException("Missing label in LIBSVM row "+(row+1)+".");
+		int end = nextWhitespace(b, pos, len);
+		double label = parseValueLIBSVM(b, pos, end);
+		int lpos = apos;
+		
+		//parse features (index:value pairs in ascending order)
+		int last = 0;
+		pos = skipWhitespace(b, end, len);
+		while( pos < len ) {
+			end = nextWhitespace(b, pos, len);
+			int sep = indexOfSepLIBSVM(b, pos, end);
+			int ix = parseIndexLIBSVM(b, pos, sep);
+			if( ix <= last || ix >= clen ) {
+				throw new IOException("Invalid LIBSVM feature index "+ix+" in row "+(row+1)
+					+ " (expected ascending indexes in range [1:"+(clen-1)+"]).");
+			}
+			double val = parseValueLIBSVM(b, sep+1, end);
+			if( val != 0 ) {
+				aix[lpos] = ix-1;
+				avals[lpos++] = val;
+			}
+			last = ix;
+			pos = skipWhitespace(b, end, len);
+		}
+		
+		//append label to last column
+		if( label != 0 ) {
+			aix[lpos] = clen-1;
+			avals[lpos++] = label;
+		}
+		
+		return lpos - apos;
+	}
+	
+	/**
+	 * Obtains an upper bound of the number of tokens of a LIBSVM line
+	 * of the given length, where tokens are separated by whitespace.
+	 * 
+	 * @param len number of bytes
+	 * @return maximum number of tokens
+	 */
+	public static int getMaxTokensLIBSVM(int len) {
+		return (len + 1) / 2 + 1;
+	}
+	
+	/**
+	 * Counts the number of tokens (label and features) of a LIBSVM line, 
+	 * which is an upper bound of the number of non-zeros of the row.
+	 * 
+	 * @param b byte array
+	 * @param len number of valid bytes
+	 * @return number of tokens
+	 */
+	public static int countTokensLIBSVM(byte[] b, int len) {
+		int ret = 0;
+		int pos = skipWhitespace(b, 0, len);
+		while( pos < len ) {
+			ret++;
+			pos = skipWhitespace(b, nextWhitespace(b, pos, len), len);
+		}
+		return ret;
+	}
+	
+	/**
+	 * Obtains the last (i.e., maximum) feature index of a LIBSVM line, 
+	 * or 0 if the row does not contain any features.
+	 * 
+	 * @param b byte array
+	 * @param len number of valid bytes
+	 * @return maximum one-based feature index
+	 * @throws IOException if the last feature is invalid
+	 */
+	public static int getMaxIndexLIBSVM(byte[] b, int len) 
+		throws IOException 
+	{
+		int end = len;
+		while( end > 0 && isWhitespace(b[end-1]) )
+			end--;
+		int pos = end;
+		while( pos > 0 && !isWhitespace(b[pos-1]) )
+			pos--;
+		if( pos == skipWhitespace(b, 0, len) ) //label only
+			return 0;
+		return parseIndexLIBSVM(b, pos, indexOfSepLIBSVM(b, pos, end));
+	}
+	
+	/**
+	 * Parses a single text cell or matrix market line (i.e., "row col value" 
+	 * with one-based indexes) from the given UTF-8 bytes without creating 
+	 * intermediate strings. The zero-based row and column indexes are written 
+	 * into the given output array and the cell value is returned.
+	 * 
+	 * @param b byte array
+	 * @param len number of valid bytes
+	 * @param rlen number of rows (for bounds checking)
+	 * @param clen number of columns (for bounds checking)
+	 * @param ix output array of zero-based row and column index
+	 * @return cell value
+	 * @throws IOException if the line is not a valid cell or out of bounds
+	 */
+	public static double parseTextCell(byte[] b, int len, long rlen, long clen, int[] ix) 
+		throws IOException
+	{
+		//parse row and column index
+		int pos = skipWhitespace(b, 0, len);
+		int end = nextWhitespace(b, pos, len);
+		long row = parseIndexTextCell(b, pos, end, len);
+		pos = skipWhitespace(b, end, len);
+		end = nextWhitespace(b, pos, len);
+		long col = parseIndexTextCell(b, pos, end, len);
+		if( row < 1 || row > rlen || col < 1 || col > clen )
+			throw new IOException("Matrix cell ["+row+","+col+"] out of overall "
+				+ "matrix range [1:"+rlen+",1:"+clen+"].");
+		
+		//parse cell value
+		pos = skipWhitespace(b, end, len);
+		end = nextWhitespace(b, pos, len);
+		double ret = 0;
+		try {
+			ret = FastByteTokenizer.parseDouble(b, pos, end);
+		}
+		catch(NumberFormatException ex) {
+			throw new IOException("Invalid text cell '"
+				+new String(b, 0, len, StandardCharsets.UTF_8)+"'.", ex);
+		}
+		
+		ix[0] = (int)(row - 1);
+		ix[1] = (int)(col - 1);
+		return ret;
+	}
+	
+	private static long parseIndexTextCell(byte[] b, int from, int to, int len) 
+		throws IOException 
+	{
+		long ret = 0;
+		for( int i=from; i<to && ret<=Integer.MAX_VALUE; i++ ) {
+			int d = b[i] - '0';
+			if( d < 0 || d > 9 )
+				throw new IOException("Invalid text cell '"
+					+new String(b, 0, len, StandardCharsets.UTF_8)+"'.");
+			ret = ret * 10 + d;
+		}
+		if( from == to )
+			throw new IOException("Invalid text cell '"
+				+new String(b, 0, len, StandardCharsets.UTF_8)+"'.");
+		return ret;
+	}
+	
+	private static boolean isWhitespace(byte c) {
+		return c == ' ' || c == '\t' || c == '\r';
+	}
+	
+	private static int skipWhitespace(byte[] b, int pos, int len) {
+		while( pos < len && isWhitespace(b[pos]) )
+			pos++;
+		return pos;
+	}
+	
+	private static int nextWhitespace(byte[] b, int pos, int len) {
+		while( pos < len && !isWhitespace(b[pos]) )
+			pos++;
+		return pos;
+	}
+	
+	private static int indexOfSepLIBSVM(byte[] b, int pos, int end) 
+		throws IOException 
+	{
+		for( int i=pos; i<end; i++ )
+			if( b[i] == LIBSVM_INDEX_DELIM )
+				return i;
+		throw new IOException("Invalid LIBSVM feature '"+new String(b, pos, end-pos, 
+			StandardCharsets.UTF_8)+"' (expected index"+LIBSVM_INDEX_DELIM+"value).");
+	}
+	
+	private static int parseIndexLIBSVM(byte[] b, int from, int to) 
+		throws IOException 
+	{
+		long ret = 0;
+		for( int i=from; i<to; i++ ) {
+			int d = b[i] - '0';
+			if( d < 0 || d > 9 || ret > Integer.MAX_VALUE )
+				throw new IOException("Invalid LIBSVM feature index '"
+					+new String(b, from, to-from, StandardCharsets.UTF_8)+"'.");
+			ret = ret * 10 + d;
+		}
+		if( from == to || ret > Integer.MAX_VALUE )
+			throw new IOException("Invalid LIBSVM feature index '"
+				+new String(b, from, to-from, StandardCharsets.UTF_8)+"'.");
+		return (int) ret;
+	}
+	
+	private static double parseValueLIBSVM(byte[] b, int from, int to) 
+		throws IOException 
+	{
+		try {
+			return FastByteTokenizer.parseDouble(b, from, to);
+		}
+		catch(NumberFormatException ex) {
+			throw new IOException("Invalid LIBSVM value '"
+				+new String(b, from, to-from, StandardCharsets.UTF_8)+"'.", ex);
+		}
+	}
+
 	/**
 	 * Returns the serialized size in bytes of the given string value,
 	 * following the modified UTF-8 specification as used by Java's
@@ -49,6 +49,13 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderTextCSV(new CSVFileFormatProperties());
 		}
+		else if( iinfo == InputInfo.LIBSVMInputInfo )
+		{
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
+				reader = new ReaderTextLIBSVMParallel();
+			else
+				reader = new ReaderTextLIBSVM();
+		}
 		else if( iinfo == InputInfo.BinaryCellInputInfo ) 
 			reader = new ReaderBinaryCell();
 		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
@@ -57,6 +64,10 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderBinaryBlock( false );
 		}
+		else if( iinfo == InputInfo.BinaryBlockLocalInputInfo )
+			reader = new ReaderBinaryBlockLocal();
+		else if( iinfo == InputInfo.CompressedBinaryBlockInputInfo )
+			reader = new ReaderCompressedBinaryBlock( false );
 		else {
 			throw new DMLRuntimeException("Failed to create matrix reader for unknown input info: "
 		                                   + InputInfo.inputInfoToString(iinfo));
@@ -87,6 +98,12 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderTextCSV( props.formatProperties!=null ? (CSVFileFormatProperties)props.formatProperties : new CSVFileFormatProperties());
 		}
+		else if( iinfo == InputInfo.LIBSVMInputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
+				reader = new ReaderTextLIBSVMParallel();
+			else
+				reader = new ReaderTextLIBSVM();
+		}
 		else if( iinfo == InputInfo.BinaryCellInputInfo ) 
 			reader = new ReaderBinaryCell();
 		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
@@ -95,6 +112,10 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderBinaryBlock( props.localFS );
 		}
+		else if( iinfo == InputInfo.BinaryBlockLocalInputInfo )
+			reader = new ReaderBinaryBlockLocal();
+		else if( iinfo == InputInfo.CompressedBinaryBlockInputInfo )
+			reader = new ReaderCompressedBinaryBlock( props.localFS );
 		else {
 			throw new DMLRuntimeException("Failed to create matrix reader for unknown input info: "
 		                                   + InputInfo.inputInfoToString(iinfo));
@@ -102,4 +123,44 @@ public class MatrixReaderFactory
 		
 		return reader;
 	}
+
+	public static MatrixStreamReader createMatrixStreamReader( ReadProperties props ) 
+		throws DMLRuntimeException
+	{
+		return createMatrixStreamReader(props, MatrixStreamReader.DEFAULT_READ_AHEAD);
+	}
+	
+	public static MatrixStreamReader createMatrixStreamReader( ReadProperties props, int readAhead ) 
+		throws DMLRuntimeException
+	{
+		//check valid read properties
+		if( props == null )
+			throw new DMLRuntimeException("Failed to create matrix stream reader with empty properties.");
+		
+		InputInfo iinfo = props.inputInfo;
+		if( !isStreamable(iinfo) )
+			throw new DMLRuntimeException("Failed to create matrix stream reader for unsupported input info: "
+				+ InputInfo.inputInfoToString(iinfo));
+		
+		if( iinfo == InputInfo.TextCellInputInfo || iinfo == InputInfo.MatrixMarketInputInfo )
+			return new StreamReaderTextCell(props, readAhead);
+		else if( iinfo == InputInfo.CSVInputInfo )
+			return new StreamReaderTextCSV(props, readAhead);
+		else //BinaryBlockInputInfo
+			return new StreamReaderBinaryBlock(props, readAhead);
+	}
+	
+	/**
+	 * Indicates if files of the given input info can be read 
+	 * row-block-wise via a {@link MatrixStreamReader}.
+	 * 
+	 * @param iinfo input info
+	 * @return true if supported by a stream reader
+	 */
+	public static boolean isStreamable( InputInfo iinfo ) {
+		return iinfo == InputInfo.TextCellInputInfo
+			|| iinfo == InputInfo.MatrixMarketInputInfo
+			|| iinfo == InputInfo.CSVInputInfo
+			|| iinfo == InputInfo.BinaryBlockInputInfo;
+	}
 }
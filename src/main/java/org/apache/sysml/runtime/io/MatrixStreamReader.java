@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.CSVReblockMR;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
+
+/**
+ * Base class for all format-specific streaming matrix readers. In contrast to 
+ * {@link MatrixReader}, which materializes the entire matrix in a single block, 
+ * a stream reader yields the matrix as a sequence of row blocks of brlen x clen 
+ * (with row block index i and column block index 1), which allows row-streamable 
+ * operations over matrices larger than the memory budget. 
+ * 
+ * Row blocks are read asynchronously by a dedicated read-ahead thread into a 
+ * bounded queue, i.e., the memory requirements are limited by the number of 
+ * row blocks in the queue, the row block currently processed by the consumer, 
+ * and the row block(s) currently assembled by the reader. Readers are obtained 
+ * via {@link MatrixReaderFactory#createMatrixStreamReader(ReadProperties)} and 
+ * must be closed after use (which also stops the read-ahead thread). 
+ * 
+ */
+public abstract class MatrixStreamReader implements Iterator<IndexedMatrixValue>, Closeable
+{
+	//default number of row blocks read ahead of the consumer
+	public static final int DEFAULT_READ_AHEAD = 2;
+	
+	private static final AtomicInteger _seqThreadID = new AtomicInteger(0);
+	private static final Object EOF = new Object();
+	
+	protected final String _fname;
+	protected final long _rlen;
+	protected final long _clen;
+	protected final int _brlen;
+	protected final int _bclen;
+	protected final double _sparsity;
+	
+	private final BlockingQueue<Object> _queue;
+	private Thread _thread = null;
+	private Object _next = null;
+	private volatile boolean _closed = false;
+	
+	protected MatrixStreamReader(ReadProperties props, int readAhead) 
+		throws DMLRuntimeException
+	{
+		if( props.rlen <= 0 || props.clen <= 0 || props.brlen <= 0 )
+			throw new DMLRuntimeException("Streaming read of '"+props.path+"' requires known dimensions "
+				+ "and block sizes, but got ["+props.rlen+" x "+props.clen+", "+props.brlen+" x "+props.bclen+"].");
+		_fname = props.path;
+		_rlen = props.rlen;
+		_clen = props.clen;
+		_brlen = props.brlen;
+		_bclen = props.bclen;
+		_sparsity = props.expectedSparsity;
+		_queue = new ArrayBlockingQueue<Object>(Math.max(readAhead, 1));
+	}
+	
+	/**
+	 * Reads all row blocks of the input in any order and passes them 
+	 * to {@link #appendRowBlock(long, MatrixBlock)}. This method is 
+	 * invoked by the read-ahead thread.
+	 * 
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected abstract void readRowBlocks() 
+		throws IOException, DMLRuntimeException;
+	
+	/**
+	 * Gets the number of row blocks of the input matrix. 
+	 * 
+	 * @return number of row blocks
+	 */
+	public long getNumRowBlocks() {
+		return (long)Math.ceil((double)_rlen / _brlen);
+	}
+	
+	public long getNumRows() {
+		return _rlen;
+	}
+	
+	public long getNumColumns() {
+		return _clen;
+	}
+	
+	public int getRowsPerBlock() {
+		return _brlen;
+	}
+	
+	@Override
+	public boolean hasNext() {
+		if( _closed )
+			return false;
+		if( _thread == null )
+			startReadAhead();
+		if( _next == null ) {
+			try {
+				_next = _queue.take();
+			}
+			catch(InterruptedException ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+		if( _next instanceof Throwable )
+			throw new RuntimeException("Failed to stream matrix from '"+_fname+"'.", (Throwable)_next);
+		return (_next != EOF);
+	}
+
+	@Override
+	public IndexedMatrixValue next() {
+		if( !hasNext() )
+			throw new NoSuchElementException();
+		IndexedMatrixValue ret = (IndexedMatrixValue) _next;
+		_next = null;
+		return ret;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+	
+	@Override
+	public void close() {
+		_closed = true;
+		if( _thread != null ) {
+			//unblock the read-ahead thread and drop all pending row blocks
+			_thread.interrupt();
+			_queue.clear();
+		}
+	}
+	
+	/**
+	 * Hands a fully assembled row block over to the consumer. This call 
+	 * blocks if the read-ahead queue is full.
+	 * 
+	 * @param rix row block index (1-based)
+	 * @param blk row block of rows x clen
+	 * @throws IOException if the stream has been closed or interrupted
+	 */
+	protected void appendRowBlock(long rix, MatrixBlock blk) 
+		throws IOException
+	{
+		if( _closed )
+			throw new IOException("Matrix stream reader for '"+_fname+"' already closed.");
+		try {
+			_queue.put(new IndexedMatrixValue(new MatrixIndexes(rix, 1), blk));
+		}
+		catch(InterruptedException ex) {
+			throw new IOException("Matrix stream reader for '"+_fname+"' interrupted.", ex);
+		}
+	}
+	
+	/**
+	 * Allocates an empty row block for the given row block index.
+	 * 
+	 * @param rix row block index (1-based)
+	 * @return empty matrix block of rows x clen
+	 */
+	protected MatrixBlock createRowBlock(long rix) {
+		int rows = getRowBlockSize(rix);
+		long estnnz = (long)(_sparsity * rows * _clen);
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(rows, _clen, estnnz);
+		return new MatrixBlock(rows, (int)_clen, sparse, (int)Math.min(estnnz, Integer.MAX_VALUE));
+	}
+	
+	protected int getRowBlockSize(long rix) {
+		return (int)Math.min(_brlen, _rlen - (rix-1)*_brlen);
+	}
+	
+	protected static Path[] getTextFilePaths(FileSystem fs, Path path) 
+		throws IOException
+	{
+		if( !fs.isDirectory(path) )
+			return new Path[]{path};
+		FileStatus[] stats = fs.listStatus(path, CSVReblockMR.hiddenFileFilter);
+		Path[] ret = new Path[stats.length];
+		for( int i=0; i<stats.length; i++ )
+			ret[i] = stats[i].getPath();
+		Arrays.sort(ret);
+		return ret;
+	}
+	
+	private void startReadAhead() {
+		_thread = new Thread(new ReadAheadTask(), 
+			"MatrixStreamReader-"+_seqThreadID.incrementAndGet());
+		_thread.setDaemon(true);
+		_thread.start();
+	}
+	
+	private class ReadAheadTask implements Runnable
+	{
+		@Override
+		public void run() {
+			Object last = EOF;
+			try {
+				readRowBlocks();
+			}
+			catch(Throwable ex) {
+				last = ex;
+			}
+			//pass end-of-stream or error to the consumer
+			if( !_closed ) {
+				try {
+					_queue.put(last);
+				}
+				catch(InterruptedException ex) {
+					//closed by consumer
+				}
+			}
+		}
+	}
+}
@@ -63,6 +63,12 @@ public class MatrixWriterFactory
 			else
 				writer = new WriterTextCSV((CSVFileFormatProperties)props);
 		}
+		else if( oinfo == OutputInfo.LIBSVMOutputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_TEXTFORMATS) )
+				writer = new WriterTextLIBSVMParallel();
+			else
+				writer = new WriterTextLIBSVM();
+		}
 		else if( oinfo == OutputInfo.BinaryCellOutputInfo ) {
 			writer = new WriterBinaryCell();
 		}
@@ -72,6 +78,12 @@ public class MatrixWriterFactory
 			else
 				writer = new WriterBinaryBlock(replication);
 		}
+		else if( oinfo == OutputInfo.CompressedBinaryBlockOutputInfo ) {
+			writer = new WriterCompressedBinaryBlock(replication);
+		}
+		else if( oinfo == OutputInfo.BinaryBlockLocalOutputInfo ) {
+			writer = new WriterBinaryBlockLocal();
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create matrix writer for unknown output info: "
 		                                   + OutputInfo.outputInfoToString(oinfo));
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.io;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+
+/**
+ * Reader for the local binary block format (see WriterBinaryBlockLocal).
+ * The primitive arrays of dense and sparse (CSR) blocks are read from 
+ * memory-mapped file regions via bulk copies directly into the arrays of
+ * the output block, i.e., without intermediate buffers, per-value decoding
+ * through DataInput, or the overhead of sequence files.
+ * 
+ */
+public class ReaderBinaryBlockLocal extends MatrixReader
+{
+	//max size of mapped file regions (aligned to 8 bytes)
+	private static final long MAX_MAP_SIZE = 1L << 30;
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		File file = WriterBinaryBlockLocal.getLocalFile(fname);
+		if( !file.exists() )
+			throw new IOException("File "+fname+" does not exist on local file system.");
+		
+		FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			return readBinaryBlockMatrixFromLocal(fc, rlen, clen);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(fc);
+		}
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		throw new DMLRuntimeException("Input streams not supported for local binary block format.");
+	}
+	
+	private static MatrixBlock readBinaryBlockMatrixFromLocal(FileChannel fc, long rlen, long clen) 
+		throws IOException, DMLRuntimeException
+	{
+		//read and validate header
+		if( fc.size() < WriterBinaryBlockLocal.HEADER_SIZE )
+			throw new EOFException("Invalid local binary block file of size "+fc.size()+".");
+		ByteBuffer header = fc.map(MapMode.READ_ONLY, 0, WriterBinaryBlockLocal.HEADER_SIZE)
+			.order(WriterBinaryBlockLocal.BYTE_ORDER);
+		int magic = header.getInt();
+		int version = header.getInt();
+		int type = header.getInt();
+		header.getInt(); //reserved
+		long rows = header.getLong();
+		long cols = header.getLong();
+		long nnz = header.getLong();
+		if( magic != WriterBinaryBlockLocal.MAGIC || version != WriterBinaryBlockLocal.VERSION )
+			throw new IOException("Invalid local binary block file (magic="+magic+", version="+version+").");
+		if( (rlen > 0 && rlen != rows) || (clen > 0 && clen != cols) )
+			throw new DMLRuntimeException("Read matrix inconsistent with given meta data: "
+				+ "expected dims="+rlen+"x"+clen+", real dims="+rows+"x"+cols);
+		
+		//read dense or sparse block
+		long off = WriterBinaryBlockLocal.HEADER_SIZE;
+		MatrixBlock ret = null;
+		switch( type ) {
+			case WriterBinaryBlockLocal.TYPE_EMPTY:
+				ret = createOutputMatrixBlock(rows, cols, (int)rows, (int)cols, 0, false, false);
+				break;
+			case WriterBinaryBlockLocal.TYPE_DENSE: {
+				ret = createOutputMatrixBlock(rows, cols, (int)rows, (int)cols, rows*cols, true, false);
+				DenseBlock a = ret.getDenseBlock();
+				for( int bi=0; bi<a.numBlocks(); bi++ ) {
+					readDoubles(fc, off, a.valuesAt(bi), 0, a.size(bi));
+					off += 8L * a.size(bi);
+				}
+				if( nnz >= 0 )
+					ret.setNonZeros(nnz);
+				else //unknown nnz
+					ret.recomputeNonZeros();
+				break;
+			}
+			case WriterBinaryBlockLocal.TYPE_CSR: {
+				int[] rowptr = PageCache.getIntArray((int)rows+1, true);
+				int[] colidx = PageCache.getIntArray((int)nnz, false);
+				double[] values = PageCache.getDoubleArray((int)nnz, false);
+				readInts(fc, off, rowptr, 0, (int)rows+1);
+				off = WriterBinaryBlockLocal.align(off + 4L * (rows+1));
+				readInts(fc, off, colidx, 0, (int)nnz);
+				off = WriterBinaryBlockLocal.align(off + 4L * nnz);
+				readDoubles(fc, off, values, 0, (int)nnz);
+				ret = new MatrixBlock((int)rows, (int)cols, nnz, 
+					new SparseBlockCSR(rowptr, colidx, values, (int)nnz));
+				break;
+			}
+			default:
+				throw new IOException("Unsupported block type in local binary block file: "+type+".");
+		}
+		
+		return ret;
+	}
+	
+	private static void readDoubles(FileChannel fc, long off, double[] dest, int pos, int len) 
+		throws IOException
+	{
+		while( len > 0 ) {
+			int llen = (int)Math.min(len, MAX_MAP_SIZE / 8);
+			MappedByteBuffer buff = fc.map(MapMode.READ_ONLY, off, 8L * llen);
+			buff.order(WriterBinaryBlockLocal.BYTE_ORDER).asDoubleBuffer().get(dest, pos, llen);
+			off += 8L * llen;
+			pos += llen;
+			len -= llen;
+		}
+	}
+	
+	private static void readInts(FileChannel fc, long off, int[] dest, int pos, int len) 
+		throws IOException
+	{
+		while( len > 0 ) {
+			int llen = (int)Math.min(len, MAX_MAP_SIZE / 4);
+			MappedByteBuffer buff = fc.map(MapMode.READ_ONLY, off, 4L * llen);
+			buff.order(WriterBinaryBlockLocal.BYTE_ORDER).asIntBuffer().get(dest, pos, llen);
+			off += 4L * llen;
+			pos += llen;
+			len -= llen;
+		}
+	}
+}
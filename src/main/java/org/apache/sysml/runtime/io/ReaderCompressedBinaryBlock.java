@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+
+/**
+ * Reader for the compressed binary block format (see WriterCompressedBinaryBlock).
+ * The column groups (e.g., OLE, RLE, DDC) are directly deserialized into a 
+ * compressed matrix block, i.e., without decompression or repeated compression
+ * planning. Since compressed blocks are not partitioned into 1k x 1k blocks,
+ * this format is only supported in CP.
+ * 
+ */
+public class ReaderCompressedBinaryBlock extends MatrixReader
+{
+	protected boolean _localFS = false;
+	
+	public ReaderCompressedBinaryBlock( boolean localFS ) {
+		_localFS = localFS;
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
+		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path); 
+		
+		//core read 
+		MatrixBlock ret = readCompressedBinaryBlockMatrixFromHDFS(path, job, fs);
+		
+		//sanity check dimensions against meta data
+		if( (rlen >= 0 && ret.getNumRows() != rlen) || (clen >= 0 && ret.getNumColumns() != clen) ) {
+			throw new IOException("Compressed matrix block ["+ret.getNumRows()+"x"+ret.getNumColumns()+"] "
+				+ "does not match the meta data dimensions ["+rlen+"x"+clen+"].");
+		}
+		
+		return ret;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		throw new DMLRuntimeException("Not implemented yet.");
+	}
+	
+	/**
+	 * Indicates if the given binary block file stores compressed matrix
+	 * blocks, which is determined by the value class of the first part file.
+	 * 
+	 * @param fname file name
+	 * @return true if compressed binary block file
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean isCompressedBinaryBlock( String fname ) 
+		throws IOException
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		return fs.exists(path) && isCompressedBinaryBlock(path, job, fs);
+	}
+	
+	@SuppressWarnings("deprecation")
+	public static boolean isCompressedBinaryBlock( Path path, JobConf job, FileSystem fs ) 
+		throws IOException
+	{
+		Path[] files = IOUtilFunctions.getSequenceFilePaths(fs, path);
+		if( files.length == 0 )
+			return false;
+		
+		SequenceFile.Reader reader = new SequenceFile.Reader(fs, files[0], job);
+		try {
+			return reader.getValueClass() == CompressedMatrixBlock.class;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+	}
+	
+	@SuppressWarnings("deprecation")
+	private static MatrixBlock readCompressedBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs ) 
+		throws IOException
+	{
+		MatrixIndexes key = new MatrixIndexes();
+		CompressedMatrixBlock value = new CompressedMatrixBlock();
+		CompressedMatrixBlock ret = null;
+		
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) //1..N files 
+		{
+			//directly read from sequence files (individual partfiles)
+			SequenceFile.Reader reader = new SequenceFile.Reader(fs, lpath, job);
+			
+			try {
+				while( reader.next(key, value) ) {
+					//sanity check single block per matrix
+					if( ret != null || key.getRowIndex() != 1 || key.getColumnIndex() != 1 )
+						throw new IOException("Invalid compressed binary block file "+path+": "
+							+ "unexpected block ("+key.getRowIndex()+","+key.getColumnIndex()+").");
+					ret = value;
+					value = new CompressedMatrixBlock();
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+		
+		if( ret == null )
+			throw new IOException("Invalid compressed binary block file "+path+": no block found.");
+		
+		return ret;
+	}
+}
@@ -24,7 +24,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.fs.FileSystem;
@@ -42,23 +42,39 @@ import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
 
 /**
- * Parallel version of ReaderTextCSV.java. To summarize, we do two passes in
- * order to compute row offsets and the actual read. We accordingly create count
- * and read tasks and use fixed-size thread pools to execute these tasks. If the
- * target matrix is dense, the inserts are done lock-free. In contrast to
- * textcell parallel read, we also do lock-free inserts. If the matrix is
- * sparse, because splits contain row partitioned lines and hence there is no
- * danger of lost updates. Note, there is also no sorting of sparse rows
- * required because data comes in sorted order per row.
+ * Parallel version of ReaderTextCSV.java. By default, we do a single pass over
+ * the input, where each split is parsed into thread-local row-block buffers,
+ * whose dense or sparse representation is chosen adaptively based on the
+ * sparsity of previous row blocks. Once the number of rows per split is known,
+ * the buffers are stitched into the final matrix block by row offset, in 
+ * parallel over splits. Alternatively, we do two passes in order to compute 
+ * row offsets and the actual read. We accordingly create count and read tasks 
+ * and use fixed-size thread pools to execute these tasks. If the target matrix
+ * is dense, the inserts are done lock-free. In contrast to textcell parallel 
+ * read, we also do lock-free inserts. If the matrix is sparse, because splits 
+ * contain row partitioned lines and hence there is no danger of lost updates. 
+ * Note, there is also no sorting of sparse rows required because data comes 
+ * in sorted order per row. In both cases, lines are tokenized and parsed 
+ * directly from the bytes without creating strings per line or cell.
  * 
  */
 public class ReaderTextCSVParallel extends MatrixReader 
 {
+	//single-pass read into row-block buffers (instead of a count and read pass)
+	protected static final boolean SINGLE_PASS_READ = true;
+	//max number of cells per thread-local row-block buffer
+	protected static final int BUFFER_BLOCK_CELLS = 1024 * 1024;
+	
 	private CSVFileFormatProperties _props = null;
 	private int _numThreads = 1;
+	private boolean _singlePass = SINGLE_PASS_READ;
 
 	private SplitOffsetInfos _offsets = null;
 
@@ -66,6 +82,12 @@ public class ReaderTextCSVParallel extends MatrixReader
 		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
 		_props = props;
 	}
+	
+	public ReaderTextCSVParallel(CSVFileFormatProperties props, int k, boolean singlePass) {
+		_numThreads = k;
+		_props = props;
+		_singlePass = singlePass;
+	}
 
 	@Override
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen,
@@ -87,17 +109,26 @@ public class ReaderTextCSVParallel extends MatrixReader
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
-		// allocate output matrix block
-		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits,
-				path, job, _props.hasHeader(), _props.getDelim(), estnnz);
-		rlen = ret.getNumRows();
-		clen = ret.getNumColumns();
-
-		// Second Read Pass (read, parse strings, append to matrix block)
-		readCSVMatrixFromHDFS(splits, path, job, ret, rlen, clen, brlen, bclen,
-				_props.hasHeader(), _props.getDelim(), _props.isFill(),
-				_props.getFillValue());
+		MatrixBlock ret = null;
+		if( _singlePass ) {
+			// Single Read Pass (read, parse bytes, append to row-block buffers, stitch)
+			ret = readCSVMatrixFromHDFSSinglePass(splits, path, job, rlen, clen,
+				_props.hasHeader(), _props.getDelim(), _props.isFill(), 
+				_props.getFillValue(), estnnz);
+		}
+		else {
+			// allocate output matrix block
+			// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
+			ret = computeCSVSizeAndCreateOutputMatrixBlock(splits,
+					path, job, _props.hasHeader(), _props.getDelim(), estnnz);
+			rlen = ret.getNumRows();
+			clen = ret.getNumColumns();
+	
+			// Second Read Pass (read, parse bytes, append to matrix block)
+			readCSVMatrixFromHDFS(splits, path, job, ret, rlen, clen, brlen, bclen,
+					_props.hasHeader(), _props.getDelim(), _props.isFill(),
+					_props.getFillValue());
+		}
 		
 		//post-processing (representation-specific, change of sparse/dense block representation)
 		// - no sorting required for CSV because it is read in sorted order per row
@@ -119,6 +150,69 @@ public class ReaderTextCSVParallel extends MatrixReader
 		throw new DMLRuntimeException("Not implemented yet.");
 	}
 	
+	private MatrixBlock readCSVMatrixFromHDFSSinglePass(InputSplit[] splits, Path path, JobConf job, 
+			long rlen, long clen, boolean hasHeader, String delim, boolean fill, double fillValue, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		
+		//initial buffer representation according to the given meta data (if known)
+		boolean sparse = (rlen > 0 && clen > 0 && estnnz >= 0) ?
+			MatrixBlock.evalSparseFormatInMemory(rlen, clen, estnnz) : false;
+		
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try 
+		{
+			// parse all splits into thread-local row-block buffers
+			ArrayList<CSVParseTask> tasks = new ArrayList<CSVParseTask>();
+			for( int i=0; i<splits.length; i++ )
+				tasks.add( new CSVParseTask(splits[i], informat, job, 
+					hasHeader && i==0, delim, fill, fillValue, sparse) );
+			ArrayList<CSVSplitBuffer> buffers = new ArrayList<CSVSplitBuffer>();
+			for( Future<CSVSplitBuffer> task : pool.invokeAll(tasks) )
+				buffers.add(task.get());
+			
+			// compute row offsets, number of columns, and non-zeros
+			int nrow = 0, ncol = -1;
+			long nnz = 0;
+			int[] offsets = new int[buffers.size()];
+			for( int i=0; i<buffers.size(); i++ ) {
+				CSVSplitBuffer buff = buffers.get(i);
+				if( buff.getNumRows() > 0 && ncol >= 0 && buff.getNumColumns() != ncol )
+					throw new IOException("Invalid number of columns (" + buff.getNumColumns() 
+						+ ", expected=" + ncol + ") found in delimited file (" + splits[i] + ").");
+				ncol = (buff.getNumRows() > 0) ? buff.getNumColumns() : ncol;
+				offsets[i] = nrow;
+				nrow += buff.getNumRows();
+				nnz += buff.getNonZeros();
+			}
+			
+			// allocate output and stitch buffers by row offset (lock-free)
+			MatrixBlock ret = createOutputMatrixBlock(nrow, Math.max(ncol, 0), 
+				nrow, Math.max(ncol, 0), nnz, true, true);
+			if( nnz > 0 ) {
+				ArrayList<Callable<Object>> stasks = new ArrayList<Callable<Object>>();
+				for( int i=0; i<buffers.size(); i++ )
+					stasks.add(new CSVStitchTask(buffers.get(i), ret, offsets[i]));
+				for( Future<Object> task : pool.invokeAll(stasks) )
+					task.get();
+			}
+			ret.setNonZeros(nnz);
+			return ret;
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch (Exception ex) {
+			throw new IOException("Threadpool issue, while parallel read.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
 	private void readCSVMatrixFromHDFS(InputSplit[] splits, Path path, JobConf job, 
 			MatrixBlock dest, long rlen, long clen, int brlen, int bclen, 
 			boolean hasHeader, String delim, boolean fill, double fillValue) 
@@ -128,7 +222,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(job);
 
-		ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
 
 		try 
 		{
@@ -187,7 +281,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 		// count rows in parallel per split
 		try 
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
+			ExecutorService pool = CommonThreadPool.get(_numThreads);
 			ArrayList<CountRowsTask> tasks = new ArrayList<CountRowsTask>();
 			for (InputSplit split : splits) {
 				tasks.add(new CountRowsTask(split, informat, job, hasHeader));
@@ -382,25 +476,24 @@ public class ReaderTextCSVParallel extends MatrixReader
 
 				boolean noFillEmpty = false;
 				row = _splitoffsets.getOffsetPerSplit(_splitCount);
+				FastByteTokenizer tok = new FastByteTokenizer(_delim);
 
 				try {
 					if (_sparse) // SPARSE<-value
 					{
 						while (reader.next(key, value)) // foreach line
 						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
+							tok.reset(value.getBytes(), value.getLength());
 							col = 0;
 
-							for (String part : parts) // foreach cell
+							while (tok.nextToken()) // foreach cell
 							{
-								part = part.trim();
-								if (part.isEmpty()) {
+								if (tok.isEmptyToken()) {
 									noFillEmpty |= !_fill;
 									cellValue = _fillValue;
 								} 
 								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
+									cellValue = tok.getDouble();
 								}
 
 								if( cellValue != 0 ) {
@@ -411,8 +504,11 @@ public class ReaderTextCSVParallel extends MatrixReader
 							}
 
 							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
+							if (noFillEmpty || col != _clen) {
+								String cellStr = value.toString().trim();
+								IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
+								IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, col, _clen);
+							}
 							
 							row++;
 						}
@@ -421,19 +517,17 @@ public class ReaderTextCSVParallel extends MatrixReader
 					{
 						while (reader.next(key, value)) // foreach line
 						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
+							tok.reset(value.getBytes(), value.getLength());
 							col = 0;
 
-							for (String part : parts) // foreach cell
+							while (tok.nextToken()) // foreach cell
 							{
-								part = part.trim();
-								if (part.isEmpty()) {
+								if (tok.isEmptyToken()) {
 									noFillEmpty |= !_fill;
 									cellValue = _fillValue;
 								} 
 								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
+									cellValue = tok.getDouble();
 								}
 								if( cellValue != 0 ) {
 									_dest.setValueDenseUnsafe(row, col, cellValue);
@@ -443,8 +537,11 @@ public class ReaderTextCSVParallel extends MatrixReader
 							}
 
 							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
+							if (noFillEmpty || col != _clen) {
+								String cellStr = value.toString().trim();
+								IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
+								IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, col, _clen);
+							}
 							
 							row++;
 						}
@@ -485,4 +582,270 @@ public class ReaderTextCSVParallel extends MatrixReader
 			return null;
 		}
 	}
+
+	private static class CSVSplitBuffer 
+	{
+		//row-block buffers and their number of rows
+		private final ArrayList<MatrixBlock> _blocks = new ArrayList<MatrixBlock>();
+		private final ArrayList<Integer> _lens = new ArrayList<Integer>();
+		private int _nrows = 0;
+		private int _ncols = -1;
+		private long _nnz = 0;
+		
+		public void appendBlock(MatrixBlock block, int len, long nnz) {
+			block.setNonZeros(nnz);
+			_blocks.add(block);
+			_lens.add(len);
+			_nrows += len;
+			_nnz += nnz;
+		}
+		
+		public int getNumBlocks() {
+			return _blocks.size();
+		}
+		
+		public MatrixBlock getBlock(int i) {
+			return _blocks.get(i);
+		}
+		
+		public int getBlockLength(int i) {
+			return _lens.get(i);
+		}
+		
+		public void releaseBlock(int i) {
+			_blocks.set(i, null);
+		}
+		
+		public int getNumRows() {
+			return _nrows;
+		}
+		
+		public int getNumColumns() {
+			return _ncols;
+		}
+		
+		public void setNumColumns(int ncols) {
+			_ncols = ncols;
+		}
+		
+		public long getNonZeros() {
+			return _nnz;
+		}
+	}
+
+	private static class CSVParseTask implements Callable<CSVSplitBuffer> 
+	{
+		//initial number of rows per row-block buffer (doubled per block)
+		private static final int INIT_BLOCK_ROWS = 1024;
+		
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final boolean _hasHeader;
+		private final String _delim;
+		private final boolean _fill;
+		private final double _fillValue;
+		private final boolean _sparse;
+		
+		public CSVParseTask(InputSplit split, TextInputFormat informat, JobConf job, 
+			boolean hasHeader, String delim, boolean fill, double fillValue, boolean sparse) 
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_hasHeader = hasHeader;
+			_delim = delim;
+			_fill = fill;
+			_fillValue = fillValue;
+			_sparse = sparse;
+		}
+
+		@Override
+		public CSVSplitBuffer call() 
+			throws Exception 
+		{
+			CSVSplitBuffer ret = new CSVSplitBuffer();
+			FastByteTokenizer tok = new FastByteTokenizer(_delim);
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			
+			MatrixBlock block = null;
+			boolean sparse = _sparse;
+			int clen = -1, blen = 0, maxBlen = 0, row = 0;
+			long lnnz = 0;
+			
+			try 
+			{
+				// skip the header line
+				if( _hasHeader )
+					reader.next(key, value);
+				
+				while( reader.next(key, value) ) // foreach line
+				{
+					tok.reset(value.getBytes(), value.getLength());
+					
+					// determine number of columns from first line
+					if( clen < 0 ) {
+						clen = tok.countTokens();
+						ret.setNumColumns(clen);
+						maxBlen = Math.max(BUFFER_BLOCK_CELLS / Math.max(clen, 1), 1);
+						blen = Math.min(INIT_BLOCK_ROWS, maxBlen);
+					}
+					
+					// allocate new row-block buffer, adaptive sparse/dense decision
+					if( block == null || row == blen ) {
+						if( block != null ) {
+							ret.appendBlock(block, row, lnnz);
+							sparse = MatrixBlock.evalSparseFormatInMemory(row, clen, lnnz);
+							blen = Math.min(2 * blen, maxBlen);
+						}
+						block = new MatrixBlock(blen, clen, sparse);
+						if( sparse )
+							block.allocateSparseRowsBlock();
+						else
+							block.allocateDenseBlock();
+						row = 0;
+						lnnz = 0;
+					}
+					
+					// parse cells and append to row-block buffer
+					int col = 0;
+					if( sparse ) { // SPARSE<-value
+						SparseBlock a = block.getSparseBlock();
+						while( tok.nextToken() ) {
+							double cellValue = parseCell(tok, value);
+							if( cellValue != 0 && col < clen ) {
+								a.append(row, col, cellValue);
+								lnnz++;
+							}
+							col++;
+						}
+					}
+					else { // DENSE<-value
+						DenseBlock a = block.getDenseBlock();
+						double[] avals = a.values(row);
+						int apos = a.pos(row);
+						while( tok.nextToken() ) {
+							double cellValue = parseCell(tok, value);
+							if( cellValue != 0 && col < clen ) {
+								avals[apos+col] = cellValue;
+								lnnz++;
+							}
+							col++;
+						}
+					}
+					
+					// sanity check (number of columns)
+					if( col != clen )
+						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(
+							_split.toString(), value.toString(), col, clen);
+					row++;
+				}
+				
+				// append last partial row-block buffer
+				if( block != null )
+					ret.appendBlock(block, row, lnnz);
+			}
+			catch(Exception ex) {
+				throw new IOException("Unable to read matrix in text CSV format. " + ex.getMessage(), ex);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			
+			return ret;
+		}
+		
+		private double parseCell(FastByteTokenizer tok, Text value) 
+			throws IOException
+		{
+			if( tok.isEmptyToken() ) {
+				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(
+					_fill ? null : value.toString(), _fill, true);
+				return _fillValue;
+			}
+			return tok.getDouble();
+		}
+	}
+	
+	private static class CSVStitchTask implements Callable<Object> 
+	{
+		private final CSVSplitBuffer _buff;
+		private final MatrixBlock _dest;
+		private final int _offset;
+		
+		public CSVStitchTask(CSVSplitBuffer buff, MatrixBlock dest, int offset) {
+			_buff = buff;
+			_dest = dest;
+			_offset = offset;
+		}
+		
+		@Override
+		public Object call() 
+			throws Exception 
+		{
+			int clen = _dest.getNumColumns();
+			int rix = _offset;
+			
+			for( int bi=0; bi<_buff.getNumBlocks(); bi++ ) {
+				MatrixBlock block = _buff.getBlock(bi);
+				int len = _buff.getBlockLength(bi);
+				
+				if( block.getNonZeros() > 0 ) {
+					if( _dest.isInSparseFormat() ) { // SPARSE<-buffer
+						SparseBlock c = _dest.getSparseBlock();
+						if( block.isInSparseFormat() ) {
+							SparseBlock a = block.getSparseBlock();
+							for( int i=0; i<len; i++ )
+								if( !a.isEmpty(i) )
+									c.set(rix+i, a.get(i), false);
+						}
+						else {
+							DenseBlock a = block.getDenseBlock();
+							for( int i=0; i<len; i++ ) {
+								int lnnz = a.countNonZeros(i);
+								if( lnnz == 0 ) continue;
+								double[] avals = a.values(i);
+								int apos = a.pos(i);
+								c.allocate(rix+i, lnnz);
+								for( int j=0; j<clen; j++ )
+									if( avals[apos+j] != 0 )
+										c.append(rix+i, j, avals[apos+j]);
+							}
+						}
+					}
+					else { // DENSE<-buffer
+						DenseBlock c = _dest.getDenseBlock();
+						if( block.isInSparseFormat() ) {
+							SparseBlock a = block.getSparseBlock();
+							for( int i=0; i<len; i++ ) {
+								if( a.isEmpty(i) ) continue;
+								int apos = a.pos(i);
+								int alen = a.size(i);
+								int[] aix = a.indexes(i);
+								double[] avals = a.values(i);
+								double[] cvals = c.values(rix+i);
+								int cpos = c.pos(rix+i);
+								for( int k=apos; k<apos+alen; k++ )
+									cvals[cpos+aix[k]] = avals[k];
+							}
+						}
+						else {
+							DenseBlock a = block.getDenseBlock();
+							for( int i=0; i<len; i++ )
+								System.arraycopy(a.values(i), a.pos(i), 
+									c.values(rix+i), c.pos(rix+i), clen);
+						}
+					}
+				}
+				
+				//release buffer to reduce peak memory consumption
+				_buff.releaseBlock(bi);
+				rix += len;
+			}
+			
+			return null;
+		}
+	}
 }
@@ -25,7 +25,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
@@ -41,16 +40,25 @@ import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
-import org.apache.sysml.runtime.util.FastStringTokenizer;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.runtime.util.SortUtils;
 
 /**
  * Parallel version of ReaderTextCell.java. To summarize, we create read tasks per split
- * and use a fixed-size thread pool, to executed these tasks. If the target matrix is dense,
- * the inserts are done lock-free. If the matrix is sparse, we use a buffer to collect
- * unordered input cells, lock the the target sparse matrix once, and append all buffered values.
+ * and use a fixed-size thread pool, to executed these tasks. All lines are parsed directly
+ * from the bytes of the read text, without intermediate strings. If the target matrix is 
+ * dense, the inserts are done lock-free. If the matrix is sparse, we read the input in two 
+ * passes: the first pass counts the non-zeros per row and split, which allows us to compute 
+ * the CSR row pointers and disjoint write positions per split, and the second pass places
+ * all cells lock-free directly into the CSR arrays. Since splits are processed in file order,
+ * inputs in row-major or column-major order require no subsequent sort. For sparse inputs
+ * with more than 2^31-1 non-zeros, we fall back to buffering unordered input cells, locking
+ * the target sparse matrix once per buffer, and a final sort of all sparse rows.
  * 
  * Note MatrixMarket:
  * 1) For matrix market files each read task probes for comments until it finds data because
@@ -68,6 +76,9 @@ public class ReaderTextCellParallel extends MatrixReader
 {
 	private static final long MIN_FILESIZE_MM = 8L * 1024; //8KB
 	
+	//two-pass read directly into CSR (otherwise buffered read into MCSR)
+	public static boolean DIRECT_CSR_READ = true;
+	
 	private boolean _isMMFile = false;
 	private int _numThreads = 1;
 	
@@ -89,12 +100,19 @@ public class ReaderTextCellParallel extends MatrixReader
 		//check existence and non-empty file
 		checkValidInputFile(fs, path);
 		
-		//allocate output matrix block
+		//allocate output matrix block (sparse blocks are allocated on demand)
 		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int)rlen, (int)clen, estnnz, true, false);
-	
+		
 		//core read 
-		readTextCellMatrixFromHDFS(path, job, ret, rlen, clen, brlen, bclen, _isMMFile);
-
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		int par = getNumSplits(path);
+		if( ret.isInSparseFormat() && DIRECT_CSR_READ )
+			ret = readTextCellMatrixIntoCSR(informat, job, par, ret, rlen, clen);
+		else
+			readTextCellMatrixFromHDFS(informat, job, par, ret, rlen, clen);
+		
 		//finally check if change of sparse/dense block representation required
 		if( !AGGREGATE_BLOCK_NNZ )
 			ret.recomputeNonZeros();			
@@ -110,29 +128,28 @@ public class ReaderTextCellParallel extends MatrixReader
 		throw new DMLRuntimeException("Not implemented yet.");
 	}
 	
-	private void readTextCellMatrixFromHDFS( Path path, JobConf job, MatrixBlock dest, long rlen, long clen, int brlen, int bclen, boolean matrixMarket )
+	private int getNumSplits(Path path) 
 		throws IOException
 	{
-		int par = _numThreads;
-		
-		FileInputFormat.addInputPath(job, path);
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(job);
-		
 		//check for min file size for matrix market (adjust num splits if necessary)
-		if( _isMMFile ){
+		if( _isMMFile ) {
 			long len = MapReduceTool.getFilesizeOnHDFS(path);
-			par = ( len < MIN_FILESIZE_MM ) ? 1: par; 
-		}	
-		
+			return ( len < MIN_FILESIZE_MM ) ? 1 : _numThreads;
+		}
+		return _numThreads;
+	}
+	
+	private void readTextCellMatrixFromHDFS( TextInputFormat informat, JobConf job, int par, MatrixBlock dest, long rlen, long clen )
+		throws IOException
+	{
 		try 
 		{
 			//create read tasks for all splits
-			ExecutorService pool = Executors.newFixedThreadPool(par);
+			ExecutorService pool = CommonThreadPool.get(par);
 			InputSplit[] splits = informat.getSplits(job, par);
 			ArrayList<ReadTask> tasks = new ArrayList<ReadTask>();
 			for( InputSplit split : splits ){
-				ReadTask t = new ReadTask(split, informat, job, dest, rlen, clen, matrixMarket);
+				ReadTask t = new ReadTask(split, informat, job, dest, rlen, clen, _isMMFile);
 				tasks.add(t);
 			}
 			
@@ -155,115 +172,171 @@ public class ReaderTextCellParallel extends MatrixReader
 			throw new IOException("Threadpool issue, while parallel read.", e);
 		}
 	}
-
-	public static class ReadTask implements Callable<Long> 
+	
+	private MatrixBlock readTextCellMatrixIntoCSR( TextInputFormat informat, JobConf job, int par, MatrixBlock dest, long rlen, long clen )
+		throws IOException
 	{
-		private InputSplit _split = null;
-		private boolean _sparse = false;
-		private TextInputFormat _informat = null;
-		private JobConf _job = null;
-		private MatrixBlock _dest = null;
-		private long _rlen = -1;
-		private long _clen = -1;
-		private boolean _matrixMarket = false;
-		
-		public ReadTask( InputSplit split, TextInputFormat informat, JobConf job, MatrixBlock dest, long rlen, long clen, boolean matrixMarket )
+		ExecutorService pool = CommonThreadPool.get(par);
+		try 
 		{
+			//splits in file order, which ensures sorted rows for ordered inputs
+			InputSplit[] splits = informat.getSplits(job, par);
+			splits = IOUtilFunctions.sortInputSplits(splits);
+			
+			//First Read Pass (count non-zeros per row and split)
+			ArrayList<CountTask> tasks = new ArrayList<CountTask>();
+			for( InputSplit split : splits )
+				tasks.add(new CountTask(split, informat, job, rlen, clen, _isMMFile));
+			long lnnz = 0;
+			for( Future<Long> task : pool.invokeAll(tasks) )
+				lnnz += task.get();
+			
+			//fallback to buffered read for nnz exceeding the CSR capacity
+			if( lnnz >= Integer.MAX_VALUE ) {
+				pool.shutdown();
+				readTextCellMatrixFromHDFS(informat, job, par, dest, rlen, clen);
+				return dest;
+			}
+			
+			//compute row pointers and disjoint write positions per split
+			int[] rowptr = PageCache.getIntArray((int)rlen+1, true);
+			computeRowPointersAndOffsets(tasks, rowptr, (int)rlen);
+			
+			//Second Read Pass (parse bytes, place cells directly into CSR)
+			int[] colidx = PageCache.getIntArray((int)lnnz, false);
+			double[] values = PageCache.getDoubleArray((int)lnnz, false);
+			ArrayList<CSRReadTask> tasks2 = new ArrayList<CSRReadTask>();
+			for( int i=0; i<splits.length; i++ )
+				tasks2.add(new CSRReadTask(splits[i], informat, job, rlen, clen, 
+					_isMMFile, tasks.get(i), colidx, values));
+			for( Future<Long> task : pool.invokeAll(tasks2) )
+				task.get(); //error handling
+			
+			//sort unordered rows (if any), e.g., for unordered or shuffled inputs
+			ArrayList<CSRSortTask> tasks3 = new ArrayList<CSRSortTask>();
+			int blklen = (int)Math.ceil((double)rlen/_numThreads);
+			for( int i=0; i<_numThreads & i*blklen<rlen; i++ )
+				tasks3.add(new CSRSortTask(rowptr, colidx, values, i*blklen, Math.min((i+1)*blklen, (int)rlen)));
+			for( Future<Object> task : pool.invokeAll(tasks3) )
+				task.get(); //error handling
+			
+			return new MatrixBlock((int)rlen, (int)clen, lnnz, 
+				new SparseBlockCSR(rowptr, colidx, values, (int)lnnz));
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch (Exception e) {
+			throw new IOException("Threadpool issue, while parallel read.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Computes the CSR row pointers from the per-split non-zero counts and 
+	 * converts these counts (in place) into per-split write positions, where
+	 * splits are processed in file order. Accordingly, the cells of a row are
+	 * placed in the order of their occurrence in the input.
+	 * 
+	 * @param tasks count tasks in file order
+	 * @param rowptr output row pointer array of length rlen+1
+	 * @param rlen number of rows
+	 */
+	private static void computeRowPointersAndOffsets(ArrayList<CountTask> tasks, int[] rowptr, int rlen) {
+		//aggregate non-zeros per row over all splits
+		for( CountTask task : tasks ) {
+			int[] cnt = task.getCounts();
+			for( int j=0, r=task.getRowOffset(); cnt!=null && j<cnt.length; j++, r++ )
+				rowptr[r] += cnt[j];
+		}
+		
+		//exclusive prefix sums (start position per row)
+		for( int r=0, pos=0; r<rlen; r++ ) {
+			int cnt = rowptr[r];
+			rowptr[r] = pos;
+			pos += cnt;
+		}
+		
+		//assign write positions per split and row, which
+		//advances the row pointers to the end position per row
+		for( CountTask task : tasks ) {
+			int[] cnt = task.getCounts();
+			for( int j=0, r=task.getRowOffset(); cnt!=null && j<cnt.length; j++, r++ ) {
+				int len = cnt[j];
+				cnt[j] = rowptr[r];
+				rowptr[r] += len;
+			}
+		}
+		
+		//shift end positions into row pointers
+		System.arraycopy(rowptr, 0, rowptr, 1, rlen);
+		rowptr[0] = 0;
+	}
+	
+	/**
+	 * Base class of all read tasks, which parses the lines of a split directly
+	 * from the bytes of the read text and passes all non-zero cells to the 
+	 * specific task.
+	 */
+	protected static abstract class CellTask implements Callable<Long> 
+	{
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		protected final long _rlen;
+		protected final long _clen;
+		private final boolean _matrixMarket;
+		
+		protected CellTask( InputSplit split, TextInputFormat informat, JobConf job, long rlen, long clen, boolean matrixMarket ) {
 			_split = split;
-			_sparse = dest.isInSparseFormat();
 			_informat = informat;
 			_job = job;
-			_dest = dest;
 			_rlen = rlen;
 			_clen = clen;
 			_matrixMarket = matrixMarket;
 		}
-
+		
 		@Override
 		public Long call() throws Exception 
 		{
 			long lnnz = 0; //aggregate block nnz
 			
-			//writables for reuse during read
+			//writables and indexes for reuse during read
 			LongWritable key = new LongWritable();
 			Text value = new Text();
+			int[] ix = new int[2];
 			
-			//required for error handling
-			int row = -1; 
-			int col = -1; 
-			
-			FastStringTokenizer st = new FastStringTokenizer(' ');
 			RecordReader<LongWritable,Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
 			
 			try
-			{			
+			{
+				boolean next = reader.next(key, value);
 				
 				// Read the header lines, if reading from a matrixMarket file
-				if ( _matrixMarket ) {					
+				if( _matrixMarket && next && isComment(value) ) {
 					// skip until end-of-comments (%% or %)
-					boolean foundComment = false;
-					while( reader.next(key, value) && value.toString().charAt(0) == '%'  ) {
+					while( (next = reader.next(key, value)) && isComment(value) ) {
 						//do nothing just skip comments
-						foundComment = true;
-					}
-					
-					//process current value (otherwise ignore following meta data)
-					if( !foundComment ) {
-						st.reset( value.toString() ); //reinit tokenizer
-						row = st.nextInt()-1;
-						col = st.nextInt()-1;
-						double lvalue = st.nextDoubleForParallel();
-						synchronized( _dest ){ //sparse requires lock	
-							_dest.appendValue(row, col, lvalue);
-							lnnz++;
-						}
 					}
+					//skip the subsequent meta data
+					if( next )
+						next = reader.next(key, value);
 				}
-
-				if( _sparse ) //SPARSE<-value
-				{
-					CellBuffer buff = new CellBuffer();
-					
-					while( reader.next(key, value) ) {
-						st.reset( value.toString() ); //reinit tokenizer
-						row = st.nextInt() - 1;
-						col = st.nextInt() - 1;
-						double lvalue = st.nextDoubleForParallel();
-						
-						buff.addCell(row, col, lvalue);
-						//capacity buffer flush on demand
-						if( buff.size()>=CellBuffer.CAPACITY ) 
-							synchronized( _dest ){ //sparse requires lock
-								lnnz += buff.size();
-								buff.flushCellBufferToMatrixBlock(_dest);
-							}
-					}
-					
-					//final buffer flush 
-					synchronized( _dest ){ //sparse requires lock
-						lnnz += buff.size();
-						buff.flushCellBufferToMatrixBlock(_dest);
-					}
-				} 
-				else //DENSE<-value
-				{
-					while( reader.next(key, value) ) {
-						st.reset( value.toString() ); //reinit tokenizer
-						row = st.nextInt()-1;
-						col = st.nextInt()-1;
-						double lvalue = st.nextDoubleForParallel();
-						_dest.setValueDenseUnsafe( row, col, lvalue );
-						lnnz += (lvalue!=0) ? 1 : 0;
+				
+				for( ; next; next = reader.next(key, value) ) {
+					if( value.getLength() == 0 )
+						continue; //skip empty lines
+					double lvalue = IOUtilFunctions.parseTextCell(
+						value.getBytes(), value.getLength(), _rlen, _clen, ix);
+					if( lvalue != 0 ) {
+						processCell(ix[0], ix[1], lvalue);
+						lnnz++;
 					}
 				}
-			}
-			catch(Exception ex)	{
-				//post-mortem error handling and bounds checking
-				if( row < 0 || row + 1 > _rlen || col < 0 || col + 1 > _clen )
-					throw new RuntimeException("Matrix cell ["+(row+1)+","+(col+1)+"] " +
-							  "out of overall matrix range [1:"+_rlen+",1:"+_clen+"]. ", ex);
-				else
-					throw new RuntimeException("Unable to read matrix in text cell format. ", ex);
+				
+				finish();
 			}
 			finally {
 				IOUtilFunctions.closeSilently(reader);
@@ -271,6 +344,152 @@ public class ReaderTextCellParallel extends MatrixReader
 			
 			return lnnz;
 		}
+		
+		protected abstract void processCell(int row, int col, double lvalue);
+		
+		protected void finish() {
+			//do nothing
+		}
+		
+		private static boolean isComment(Text value) {
+			return value.getLength() > 0 && value.getBytes()[0] == '%';
+		}
+	}
+
+	public static class ReadTask extends CellTask 
+	{
+		private final boolean _sparse;
+		private final MatrixBlock _dest;
+		private final CellBuffer _buff;
+		
+		public ReadTask( InputSplit split, TextInputFormat informat, JobConf job, MatrixBlock dest, long rlen, long clen, boolean matrixMarket )
+		{
+			super(split, informat, job, rlen, clen, matrixMarket);
+			_sparse = dest.isInSparseFormat();
+			_dest = dest;
+			_buff = _sparse ? new CellBuffer() : null;
+		}
+		
+		@Override
+		protected void processCell(int row, int col, double lvalue) {
+			if( _sparse ) { //SPARSE<-value
+				_buff.addCell(row, col, lvalue);
+				//capacity buffer flush on demand
+				if( _buff.size()>=CellBuffer.CAPACITY ) 
+					synchronized( _dest ){ //sparse requires lock
+						_buff.flushCellBufferToMatrixBlock(_dest);
+					}
+			}
+			else { //DENSE<-value
+				_dest.setValueDenseUnsafe( row, col, lvalue );
+			}
+		}
+		
+		@Override
+		protected void finish() {
+			//final buffer flush 
+			if( _sparse )
+				synchronized( _dest ){ //sparse requires lock
+					_buff.flushCellBufferToMatrixBlock(_dest);
+				}
+		}
+	}
+	
+	/**
+	 * Counts the non-zeros per row of a split over the range of observed rows, 
+	 * which is contiguous for inputs in row-major order. These counts are later
+	 * converted into the write positions of the split's cells.
+	 */
+	private static class CountTask extends CellTask 
+	{
+		private int[] _counts = null;
+		private int _rl = 0;
+		
+		public CountTask( InputSplit split, TextInputFormat informat, JobConf job, long rlen, long clen, boolean matrixMarket ) {
+			super(split, informat, job, rlen, clen, matrixMarket);
+		}
+		
+		public int[] getCounts() {
+			return _counts;
+		}
+		
+		public int getRowOffset() {
+			return _rl;
+		}
+		
+		@Override
+		protected void processCell(int row, int col, double lvalue) {
+			if( _counts == null ) {
+				_rl = row;
+				_counts = new int[(int)Math.min(1024, _rlen-row)];
+			}
+			else if( row < _rl || row >= _rl+_counts.length ) {
+				//grow count array in the direction of the row
+				int len = Math.max(2*_counts.length, 
+					Math.max(_rl+_counts.length, row+1) - Math.min(_rl, row));
+				int rl = (row < _rl) ? Math.max(_rl+_counts.length-len, 0) : _rl;
+				int ru = (row < _rl) ? _rl+_counts.length : (int)Math.min(_rl+len, _rlen);
+				int[] tmp = new int[ru-rl];
+				System.arraycopy(_counts, 0, tmp, _rl-rl, _counts.length);
+				_counts = tmp;
+				_rl = rl;
+			}
+			_counts[row-_rl]++;
+		}
+	}
+	
+	private static class CSRReadTask extends CellTask 
+	{
+		private final int[] _pos;
+		private final int _rl;
+		private final int[] _colidx;
+		private final double[] _values;
+		
+		public CSRReadTask( InputSplit split, TextInputFormat informat, JobConf job, long rlen, long clen, 
+			boolean matrixMarket, CountTask counts, int[] colidx, double[] values ) 
+		{
+			super(split, informat, job, rlen, clen, matrixMarket);
+			_pos = counts.getCounts();
+			_rl = counts.getRowOffset();
+			_colidx = colidx;
+			_values = values;
+		}
+		
+		@Override
+		protected void processCell(int row, int col, double lvalue) {
+			//note: write positions of first pass ensure disjoint ranges
+			int pos = _pos[row-_rl]++;
+			_colidx[pos] = col;
+			_values[pos] = lvalue;
+		}
+	}
+	
+	private static class CSRSortTask implements Callable<Object> 
+	{
+		private final int[] _rowptr;
+		private final int[] _colidx;
+		private final double[] _values;
+		private final int _rl;
+		private final int _ru;
+		
+		public CSRSortTask(int[] rowptr, int[] colidx, double[] values, int rl, int ru) {
+			_rowptr = rowptr;
+			_colidx = colidx;
+			_values = values;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			for( int i=_rl; i<_ru; i++ ) {
+				int apos = _rowptr[i];
+				int alen = _rowptr[i+1] - apos;
+				if( alen > 1 && !SortUtils.isSorted(apos, apos+alen, _colidx) )
+					SortUtils.sortByIndex(apos, apos+alen, _colidx, _values);
+			}
+			return null;
+		}
 	}
 	
 	/**
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.mutable.MutableInt;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.CSVReblockMR;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Reader for matrices in LIBSVM format, where each line is of the form
+ * "label index:value ... index:value" with one-based, ascending feature 
+ * indexes. The features are read into the columns 1 to clen-1, and the 
+ * label into the last column clen of the output matrix. Zero-valued 
+ * features may be omitted in the input.
+ * 
+ */
+public class ReaderTextLIBSVM extends MatrixReader
+{
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//allocate output matrix block
+		MatrixBlock ret = null;
+		if( rlen>0 && clen>0 ) //otherwise allocated on read
+			ret = createOutputMatrixBlock(rlen, clen, (int)rlen, (int)clen, estnnz, true, false);
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path); 
+	
+		//core read 
+		ret = readLIBSVMMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen);
+		
+		//finally check if change of sparse/dense block representation required
+		//(nnz explicitly maintained during read)
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//allocate output matrix block
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int)rlen, (int)clen, estnnz, true, false);
+		
+		//core read 
+		long lnnz = readLIBSVMMatrixFromInputStream(is, "external inputstream", ret, new MutableInt(0), rlen, clen);
+		
+		//finally check if change of sparse/dense block representation required
+		ret.setNonZeros( lnnz );
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	private static MatrixBlock readLIBSVMMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, 
+			long rlen, long clen, int brlen, int bclen )
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file paths in alphanumeric order
+		ArrayList<Path> files=new ArrayList<Path>();
+		if(fs.isDirectory(path)) {
+			for(FileStatus stat: fs.listStatus(path, CSVReblockMR.hiddenFileFilter))
+				files.add(stat.getPath());
+			Collections.sort(files);
+		}
+		else
+			files.add(path);
+		
+		//determine matrix size via additional pass if required
+		if ( dest == null ) {
+			dest = computeLIBSVMSize(files, fs);
+			rlen = dest.getNumRows();
+			clen = dest.getNumColumns();
+		}
+		
+		//actual read of individual files
+		long lnnz = 0;
+		MutableInt row = new MutableInt(0);
+		for(int fileNo=0; fileNo<files.size(); fileNo++) {
+			lnnz += readLIBSVMMatrixFromInputStream(fs.open(files.get(fileNo)), 
+				path.toString(), dest, row, rlen, clen);
+		}
+		
+		//sanity check for number of rows
+		if( row.intValue() != rlen )
+			throw new IOException("Read matrix inconsistent with given meta data: "
+				+ "expected nrow="+ rlen + ", real nrow=" + row.intValue());
+		
+		//post processing
+		dest.setNonZeros( lnnz );
+		
+		return dest;
+	}
+	
+	private static long readLIBSVMMatrixFromInputStream( InputStream is, String srcInfo, MatrixBlock dest, 
+			MutableInt rowPos, long rlen, long clen )
+		throws IOException
+	{
+		String value = null;
+		int row = rowPos.intValue();
+		long lnnz = 0;
+		
+		//reused row buffers of column indexes and values
+		int[] aix = new int[64];
+		double[] avals = new double[64];
+		
+		BufferedReader br = new BufferedReader(new InputStreamReader(is));
+		try {
+			while( (value=br.readLine())!=null ) { //foreach line
+				if( row >= rlen )
+					throw new IOException("LIBSVM row "+(row+1)+" out of overall "
+						+ "matrix range [1:"+rlen+"] in "+srcInfo+".");
+				byte[] b = value.getBytes(StandardCharsets.UTF_8);
+				if( aix.length < IOUtilFunctions.getMaxTokensLIBSVM(b.length) ) {
+					aix = new int[IOUtilFunctions.getMaxTokensLIBSVM(b.length)];
+					avals = new double[aix.length];
+				}
+				int alen = IOUtilFunctions.parseLIBSVMRow(b, b.length, row, (int)clen, aix, avals, 0);
+				for( int j=0; j<alen; j++ )
+					dest.appendValue(row, aix[j], avals[j]);
+				lnnz += alen;
+				row++;
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(br);
+		}
+		
+		rowPos.setValue(row);
+		return lnnz;
+	}
+
+	private static MatrixBlock computeLIBSVMSize( List<Path> files, FileSystem fs ) 
+		throws IOException, DMLRuntimeException 
+	{
+		int nrow = 0;
+		int ncol = 0;
+		long nnz = 0;
+		String value = null;
+		
+		for(int fileNo=0; fileNo<files.size(); fileNo++) {
+			BufferedReader br = new BufferedReader(new InputStreamReader(fs.open(files.get(fileNo))));	
+			try {
+				while( (value = br.readLine()) != null ) {
+					byte[] b = value.getBytes(StandardCharsets.UTF_8);
+					ncol = Math.max(ncol, IOUtilFunctions.getMaxIndexLIBSVM(b, b.length) + 1);
+					nnz += IOUtilFunctions.countTokensLIBSVM(b, b.length);
+					nrow++;
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(br);
+			}
+		}
+		
+		// allocate target matrix block based on given size; 
+		return createOutputMatrixBlock(nrow, ncol, nrow, ncol, nnz, true, false);
+	}
+}
@@ -0,0 +1,376 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.TextInputFormat;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Parallel version of ReaderTextLIBSVM.java. We do two passes over the
+ * input splits: the first pass counts the rows, tokens (i.e., an upper bound
+ * of the non-zeros) and maximum feature index per split, and the second
+ * pass parses the lines directly from the bytes into the output. Since
+ * LIBSVM inputs are typically sparse, we read sparse outputs directly
+ * into the arrays of a CSR sparse block, where each split writes lock-free
+ * into its row range and the non-zero range given by the token counts of
+ * preceding splits. Gaps due to zero values (e.g., zero labels) are removed
+ * by a final compaction. Dense outputs are read lock-free into the 
+ * preallocated dense block.
+ * 
+ */
+public class ReaderTextLIBSVMParallel extends MatrixReader 
+{
+	private int _numThreads = 1;
+	
+	public ReaderTextLIBSVMParallel() {
+		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		
+		InputSplit[] splits = informat.getSplits(job, _numThreads);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+		
+		// check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try 
+		{
+			// First Read Pass (count rows, tokens and columns per split)
+			ArrayList<CountTask> tasks = new ArrayList<CountTask>();
+			for( InputSplit split : splits )
+				tasks.add(new CountTask(split, informat, job));
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+			for( Future<Object> task : rt )
+				task.get(); //error handling
+			
+			// compute row and token offsets per split
+			int[] rowOffsets = new int[splits.length];
+			long[] tokOffsets = new long[splits.length];
+			long nrow = 0, ntok = 0;
+			int ncol = 0;
+			for( int i=0; i<splits.length; i++ ) {
+				rowOffsets[i] = (int) nrow;
+				tokOffsets[i] = ntok;
+				nrow += tasks.get(i).getRowCount();
+				ntok += tasks.get(i).getTokenCount();
+				ncol = Math.max(ncol, tasks.get(i).getMaxIndex() + 1);
+			}
+			
+			// sanity check for parallel row count (since determined internally)
+			if( rlen > 0 && rlen != nrow )
+				throw new DMLRuntimeException("Read matrix inconsistent with given meta data: "
+					+ "expected nrow="+ rlen + ", real nrow=" + nrow);
+			if( clen > 0 && clen < ncol )
+				throw new DMLRuntimeException("Read matrix inconsistent with given meta data: "
+					+ "expected ncol="+ clen + ", real max feature index=" + (ncol-1));
+			rlen = nrow;
+			clen = (clen > 0) ? clen : ncol;
+			
+			// Second Read Pass (read, parse bytes, write to output)
+			MatrixBlock ret = null;
+			boolean sparse = MatrixBlock.evalSparseFormatInMemory(rlen, clen, ntok);
+			if( sparse && ntok < Integer.MAX_VALUE )
+				ret = readLIBSVMMatrixIntoCSR(pool, splits, informat, job, 
+					rowOffsets, tokOffsets, (int)rlen, (int)clen, (int)ntok);
+			else
+				ret = readLIBSVMMatrixIntoBlock(pool, splits, informat, job, 
+					rowOffsets, rlen, clen, ntok);
+			
+			//post-processing (change of sparse/dense block representation)
+			// - no sorting required because LIBSVM is read in sorted order per row
+			// - nnz explicitly maintained in parallel for the individual splits
+			ret.examSparsity();
+			return ret;
+		}
+		catch(DMLRuntimeException | IOException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of libsvm input.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//note: stream inputs are not splittable, hence sequential read
+		return new ReaderTextLIBSVM()
+			.readMatrixFromInputStream(is, rlen, clen, brlen, bclen, estnnz);
+	}
+	
+	private static MatrixBlock readLIBSVMMatrixIntoCSR(ExecutorService pool, InputSplit[] splits, 
+			TextInputFormat informat, JobConf job, int[] rowOffsets, long[] tokOffsets, int rlen, int clen, int ntok) 
+		throws Exception
+	{
+		//allocate csr arrays w/ token counts as capacity
+		int[] rowptr = PageCache.getIntArray(rlen+1, true);
+		int[] colidx = PageCache.getIntArray(ntok, false);
+		double[] values = PageCache.getDoubleArray(ntok, false);
+		
+		//parallel read into disjoint row and non-zero ranges
+		ArrayList<CSRReadTask> tasks = new ArrayList<CSRReadTask>();
+		for( int i=0; i<splits.length; i++ )
+			tasks.add(new CSRReadTask(splits[i], informat, job, rowptr, colidx, values,
+				rowOffsets[i], (int)tokOffsets[i], clen));
+		List<Future<Long>> rt = pool.invokeAll(tasks);
+		long[] nnz = new long[splits.length];
+		for( int i=0; i<splits.length; i++ )
+			nnz[i] = rt.get(i).get();
+		
+		//compaction of gaps between splits (zero values, or zero labels)
+		int shift = 0;
+		for( int i=0; i<splits.length; i++ ) {
+			int off = (int)tokOffsets[i];
+			int len = (int)nnz[i];
+			int ru = (i<splits.length-1) ? rowOffsets[i+1] : rlen;
+			if( shift > 0 ) {
+				System.arraycopy(colidx, off, colidx, off-shift, len);
+				System.arraycopy(values, off, values, off-shift, len);
+				for( int r=rowOffsets[i]; r<ru; r++ )
+					rowptr[r+1] -= shift;
+			}
+			int cap = (int)(((i<splits.length-1) ? tokOffsets[i+1] : ntok) - off);
+			shift += cap - len;
+		}
+		
+		int lnnz = ntok - shift;
+		MatrixBlock ret = new MatrixBlock(rlen, clen, lnnz, 
+			new SparseBlockCSR(rowptr, colidx, values, lnnz));
+		return ret;
+	}
+	
+	private static MatrixBlock readLIBSVMMatrixIntoBlock(ExecutorService pool, InputSplit[] splits, 
+			TextInputFormat informat, JobConf job, int[] rowOffsets, long rlen, long clen, long ntok) 
+		throws Exception
+	{
+		//allocate target block (incl sparse rows for lock-free inserts)
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int)rlen, (int)clen, ntok, true, true);
+		
+		//parallel read into disjoint row ranges
+		ArrayList<BlockReadTask> tasks = new ArrayList<BlockReadTask>();
+		for( int i=0; i<splits.length; i++ )
+			tasks.add(new BlockReadTask(splits[i], informat, job, ret, rowOffsets[i], (int)clen));
+		long lnnz = 0;
+		for( Future<Long> task : pool.invokeAll(tasks) )
+			lnnz += task.get();
+		ret.setNonZeros(lnnz);
+		return ret;
+	}
+
+	private static class CountTask implements Callable<Object> 
+	{
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private int _nrows = 0;
+		private long _ntokens = 0;
+		private int _maxIndex = 0;
+		
+		public CountTask(InputSplit split, TextInputFormat informat, JobConf job) {
+			_split = split;
+			_informat = informat;
+			_job = job;
+		}
+		
+		public int getRowCount() {
+			return _nrows;
+		}
+		
+		public long getTokenCount() {
+			return _ntokens;
+		}
+		
+		public int getMaxIndex() {
+			return _maxIndex;
+		}
+
+		@Override
+		public Object call() 
+			throws Exception 
+		{
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			
+			try {
+				while( reader.next(key, value) ) {
+					byte[] b = value.getBytes();
+					int len = value.getLength();
+					_ntokens += IOUtilFunctions.countTokensLIBSVM(b, len);
+					_maxIndex = Math.max(_maxIndex, IOUtilFunctions.getMaxIndexLIBSVM(b, len));
+					_nrows++;
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			
+			return null;
+		}
+	}
+	
+	private static class CSRReadTask implements Callable<Long> 
+	{
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final int[] _rowptr;
+		private final int[] _colidx;
+		private final double[] _values;
+		private final int _rl;
+		private final int _apos;
+		private final int _clen;
+		
+		public CSRReadTask(InputSplit split, TextInputFormat informat, JobConf job, 
+			int[] rowptr, int[] colidx, double[] values, int rl, int apos, int clen) 
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_rowptr = rowptr;
+			_colidx = colidx;
+			_values = values;
+			_rl = rl;
+			_apos = apos;
+			_clen = clen;
+		}
+
+		@Override
+		public Long call() 
+			throws Exception 
+		{
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			
+			int row = _rl;
+			int apos = _apos;
+			try {
+				//note: token counts of first pass ensure sufficient capacity
+				while( reader.next(key, value) ) {
+					apos += IOUtilFunctions.parseLIBSVMRow(value.getBytes(), 
+						value.getLength(), row, _clen, _colidx, _values, apos);
+					_rowptr[++row] = apos;
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			
+			return (long) (apos - _apos);
+		}
+	}
+	
+	private static class BlockReadTask implements Callable<Long> 
+	{
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final MatrixBlock _dest;
+		private final int _rl;
+		private final int _clen;
+		
+		public BlockReadTask(InputSplit split, TextInputFormat informat, JobConf job, MatrixBlock dest, int rl, int clen) {
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_dest = dest;
+			_rl = rl;
+			_clen = clen;
+		}
+
+		@Override
+		public Long call() 
+			throws Exception 
+		{
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			
+			//reused row buffers of column indexes and values
+			int[] aix = new int[64];
+			double[] avals = new double[64];
+			
+			int row = _rl;
+			long lnnz = 0;
+			try {
+				while( reader.next(key, value) ) {
+					int len = value.getLength();
+					if( aix.length < IOUtilFunctions.getMaxTokensLIBSVM(len) ) {
+						aix = new int[IOUtilFunctions.getMaxTokensLIBSVM(len)];
+						avals = new double[aix.length];
+					}
+					int alen = IOUtilFunctions.parseLIBSVMRow(
+						value.getBytes(), len, row, _clen, aix, avals, 0);
+					for( int j=0; j<alen; j++ )
+						_dest.appendValue(row, aix[j], avals[j]);
+					lnnz += alen;
+					row++;
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			
+			return lnnz;
+		}
+	}
+}
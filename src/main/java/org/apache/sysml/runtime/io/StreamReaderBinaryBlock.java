@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.HashMap;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
+
+/**
+ * Streaming reader for binary block files. The blocks of all part files are 
+ * read sequentially and assembled into row blocks, where a row block is emitted 
+ * as soon as all its column blocks have been read. Files written by CP or with 
+ * row-block-wise ordered blocks only require a single row block under assembly, 
+ * while arbitrarily ordered files (e.g., hash-partitioned outputs) might require 
+ * more. The size of row blocks under assembly is bounded by a memory budget; 
+ * if exceeded, the remaining row blocks are assembled in multiple passes over 
+ * the input, each restricted to a range of row blocks that fits the budget. 
+ * Row blocks with missing (i.e., empty) column blocks are emitted at the end 
+ * of the respective pass.
+ */
+public class StreamReaderBinaryBlock extends MatrixStreamReader
+{
+	//memory budget for row blocks under assembly (relative to the local budget)
+	private static final double PENDING_MEM_FRACTION = 0.1;
+	
+	//overwrite of the pending memory budget in bytes (for testing)
+	public static long MAX_PENDING_SIZE = -1;
+	
+	private final boolean _localFS;
+	
+	public StreamReaderBinaryBlock(ReadProperties props, int readAhead) 
+		throws DMLRuntimeException
+	{
+		super(props, readAhead);
+		if( props.bclen <= 0 )
+			throw new DMLRuntimeException("Streaming read of binary block input '"
+				+props.path+"' requires a known column block size.");
+		_localFS = props.localFS;
+	}
+
+	@Override
+	protected void readRowBlocks() 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( (_localFS ? "file:///" : "") + _fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		MatrixReader.checkValidInputFile(fs, path);
+		
+		//persisted compressed blocks cover the entire matrix
+		if( ReaderCompressedBinaryBlock.isCompressedBinaryBlock(path, job, fs) )
+			throw new IOException("Unable to stream compressed binary block input '"+_fname+"'.");
+		
+		//set up preferred custom serialization framework for binary block format
+		if( MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION )
+			MRJobConfiguration.addBinaryBlockSerializationFramework( job );
+		
+		long nrblks = getNumRowBlocks();
+		long budget = getPendingMemoryBudget();
+		BitSet emitted = new BitSet();
+		
+		//single pass over the entire input, aborted if the 
+		//row blocks under assembly exceed the memory budget
+		if( readPass(fs, path, job, 1, nrblks, budget, emitted) )
+			return;
+		
+		//multiple passes over ranges of remaining row blocks
+		for( long rl = emitted.nextClearBit(1); rl <= nrblks; rl = emitted.nextClearBit((int)rl) ) {
+			long ru = rl;
+			long size = estimateRowBlockSize(rl);
+			while( ru < nrblks && size + estimateRowBlockSize(ru+1) <= budget )
+				size += estimateRowBlockSize(++ru);
+			readPass(fs, path, job, rl, ru, Long.MAX_VALUE, emitted);
+		}
+	}
+	
+	/**
+	 * Reads all blocks of the given range of row blocks (except already emitted 
+	 * row blocks), and emits them as soon as they are complete. 
+	 * 
+	 * @param fs file system
+	 * @param path file path
+	 * @param job job configuration
+	 * @param rl lower row block index (inclusive)
+	 * @param ru upper row block index (inclusive)
+	 * @param budget memory budget for row blocks under assembly
+	 * @param emitted bitset of emitted row blocks, updated in place
+	 * @return false if aborted because of an exceeded memory budget
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	@SuppressWarnings("deprecation")
+	private boolean readPass(FileSystem fs, Path path, JobConf job, long rl, long ru, long budget, BitSet emitted) 
+		throws IOException, DMLRuntimeException
+	{
+		long nrblks = getNumRowBlocks();
+		int ncblks = (int)Math.ceil((double)_clen / _bclen);
+		HashMap<Long, RowBlockBuffer> pending = new HashMap<Long, RowBlockBuffer>();
+		BitSet skip = (BitSet) emitted.clone();
+		long size = 0;
+		
+		MatrixIndexes key = new MatrixIndexes(); 
+		MatrixBlock value = new MatrixBlock();
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) //1..N files 
+		{
+			SequenceFile.Reader reader = new SequenceFile.Reader(fs, lpath, job);
+			try
+			{
+				while( reader.next(key, value) )
+				{
+					long rix = key.getRowIndex();
+					int col_offset = (int)(key.getColumnIndex()-1)*_bclen;
+					int rows = value.getNumRows();
+					int cols = value.getNumColumns();
+					
+					//bound check per block
+					if( rix < 1 || rix > nrblks || rows != getRowBlockSize(rix)
+						|| col_offset < 0 || col_offset + cols > _clen )
+					{
+						throw new IOException("Matrix block ["+((rix-1)*_brlen+1)+":"+((rix-1)*_brlen+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+							"out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+					}
+					
+					//skip row blocks outside the range or of previous passes
+					if( rix < rl || rix > ru || skip.get((int)rix) )
+						continue;
+					if( emitted.get((int)rix) )
+						throw new IOException("Duplicate block "+key.toString()+" of already streamed row block in '"+_fname+"'.");
+					
+					//append column block to its row block 
+					RowBlockBuffer buff = pending.get(rix);
+					if( buff == null ) {
+						size += estimateRowBlockSize(rix);
+						if( size > budget )
+							return false; //drop partial row blocks
+						buff = new RowBlockBuffer(createRowBlock(rix));
+						pending.put(rix, buff);
+					}
+					buff.append(value, col_offset);
+					
+					//emit completed row block
+					if( buff.getNumBlocks() == ncblks ) {
+						pending.remove(rix);
+						size -= estimateRowBlockSize(rix);
+						emitted.set((int)rix);
+						appendRowBlock(rix, buff.finish(ncblks));
+					}
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+		
+		//emit incomplete and empty row blocks in order
+		for( long rix=rl; rix<=ru; rix++ ) {
+			if( emitted.get((int)rix) )
+				continue;
+			RowBlockBuffer buff = pending.remove(rix);
+			emitted.set((int)rix);
+			appendRowBlock(rix, (buff != null) ? 
+				buff.finish(ncblks) : createRowBlock(rix));
+		}
+		return true;
+	}
+	
+	private long estimateRowBlockSize(long rix) {
+		return MatrixBlock.estimateSizeInMemory(getRowBlockSize(rix), _clen, _sparsity);
+	}
+	
+	private static long getPendingMemoryBudget() {
+		return (MAX_PENDING_SIZE >= 0) ? MAX_PENDING_SIZE :
+			(long)(PENDING_MEM_FRACTION * OptimizerUtils.getLocalMemBudget());
+	}
+	
+	private static class RowBlockBuffer
+	{
+		private final MatrixBlock _blk;
+		private int _count = 0;
+		private long _nnz = 0;
+		
+		public RowBlockBuffer(MatrixBlock blk) {
+			_blk = blk;
+		}
+		
+		public int getNumBlocks() {
+			return _count;
+		}
+		
+		public void append(MatrixBlock value, int col_offset) 
+			throws DMLRuntimeException
+		{
+			if( !value.isEmptyBlock(false) ) {
+				//note: append requires final sort (but prevents repeated shifting)
+				if( _blk.isInSparseFormat() )
+					_blk.appendToSparse(value, 0, col_offset);
+				else
+					_blk.copy(0, value.getNumRows()-1, col_offset, 
+						col_offset+value.getNumColumns()-1, value, false);
+				_nnz += value.getNonZeros();
+			}
+			_count++;
+		}
+		
+		public MatrixBlock finish(int ncblks) 
+			throws DMLRuntimeException
+		{
+			_blk.setNonZeros(_nnz);
+			if( _blk.isInSparseFormat() && ncblks > 1 )
+				_blk.sortSparseRows();
+			_blk.examSparsity();
+			return _blk;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.UtilFunctions;
+
+/**
+ * Streaming reader for CSV files, which parses the lines of all part files
+ * (in alphanumeric order) and emits a row block every brlen rows.
+ */
+public class StreamReaderTextCSV extends MatrixStreamReader
+{
+	private final CSVFileFormatProperties _props;
+	
+	public StreamReaderTextCSV(ReadProperties props, int readAhead) 
+		throws DMLRuntimeException
+	{
+		super(props, readAhead);
+		_props = (props.formatProperties != null) ? 
+			(CSVFileFormatProperties)props.formatProperties : new CSVFileFormatProperties();
+	}
+
+	@Override
+	protected void readRowBlocks() 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( _fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		MatrixReader.checkValidInputFile(fs, path);
+		
+		String delim = _props.getDelim();
+		boolean fill = _props.isFill();
+		double fillValue = _props.getFillValue();
+		long nrblks = getNumRowBlocks();
+		
+		long rix = 1;
+		int row = 0;
+		MatrixBlock blk = createRowBlock(rix);
+		Path[] files = getTextFilePaths(fs, path);
+		for( int fileNo=0; fileNo<files.length; fileNo++ )
+		{
+			BufferedReader br = new BufferedReader(new InputStreamReader(fs.open(files[fileNo])));
+			try
+			{
+				if( fileNo==0 && _props.hasHeader() )
+					br.readLine(); //ignore header
+				
+				String value = null;
+				while( (value=br.readLine())!=null ) //foreach line
+				{
+					if( rix > nrblks )
+						throw new IOException("CSV input '"+_fname+"' has more than the expected "+_rlen+" rows.");
+					
+					String cellStr = value.trim();
+					String[] parts = IOUtilFunctions.split(cellStr, delim);
+					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_fname, cellStr, parts, _clen);
+					
+					boolean emptyValuesFound = false;
+					for( int col=0; col<parts.length; col++ ) { //foreach cell
+						String part = parts[col].trim();
+						double cellValue = fillValue;
+						if( part.isEmpty() )
+							emptyValuesFound = true;
+						else
+							cellValue = UtilFunctions.parseToDouble(part);
+						blk.appendValue(row, col, cellValue);
+					}
+					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
+					
+					//emit full row block
+					if( ++row == blk.getNumRows() ) {
+						blk.examSparsity();
+						appendRowBlock(rix, blk);
+						if( ++rix <= nrblks )
+							blk = createRowBlock(rix);
+						row = 0;
+					}
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(br);
+			}
+		}
+		
+		if( rix <= nrblks )
+			throw new IOException("CSV input '"+_fname+"' has less than the expected "+_rlen+" rows.");
+	}
+}
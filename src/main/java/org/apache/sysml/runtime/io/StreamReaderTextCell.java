@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.FastStringTokenizer;
+
+/**
+ * Streaming reader for text cell and matrix market files. Since cells carry 
+ * no block structure, streaming requires the cells to be ordered by row blocks 
+ * (as written by the CP text cell and matrix market writers); row blocks without 
+ * any cells are emitted as empty blocks.
+ */
+public class StreamReaderTextCell extends MatrixStreamReader
+{
+	private final boolean _isMMFile;
+	
+	public StreamReaderTextCell(ReadProperties props, int readAhead) 
+		throws DMLRuntimeException
+	{
+		super(props, readAhead);
+		_isMMFile = (props.inputInfo == InputInfo.MatrixMarketInputInfo);
+	}
+
+	@Override
+	protected void readRowBlocks() 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( _fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		MatrixReader.checkValidInputFile(fs, path);
+		
+		long rix = 1;
+		MatrixBlock blk = createRowBlock(rix);
+		FastStringTokenizer st = new FastStringTokenizer(' ');
+		Path[] files = getTextFilePaths(fs, path);
+		for( int fileNo=0; fileNo<files.length; fileNo++ )
+		{
+			BufferedReader br = new BufferedReader(new InputStreamReader(fs.open(files[fileNo])));
+			try
+			{
+				if( _isMMFile && fileNo==0 )
+					readMatrixMarketHeader(br);
+				
+				String value = null;
+				while( (value=br.readLine())!=null )
+				{
+					st.reset( value ); //reinit tokenizer
+					long row = st.nextLong()-1;
+					long col = st.nextLong()-1;
+					double lvalue = st.nextDouble();
+					
+					//bound and order checks
+					if( row < 0 || row >= _rlen || col < 0 || col >= _clen )
+						throw new IOException("Matrix cell ["+(row+1)+","+(col+1)+"] " +
+							"out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+					long lrix = row / _brlen + 1;
+					if( lrix < rix )
+						throw new IOException("Unable to stream text cell input '"+_fname+"' which is not ordered "
+							+ "by rows: cell ["+(row+1)+","+(col+1)+"] after row block "+rix+".");
+					
+					//emit completed (and empty) row blocks
+					while( lrix > rix ) {
+						appendRowBlock(rix, finalizeRowBlock(blk));
+						blk = createRowBlock(++rix);
+					}
+					blk.appendValue((int)(row-(rix-1)*_brlen), (int)col, lvalue);
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(br);
+			}
+		}
+		
+		//emit last and trailing empty row blocks
+		appendRowBlock(rix, finalizeRowBlock(blk));
+		for( long i=rix+1; i<=getNumRowBlocks(); i++ )
+			appendRowBlock(i, createRowBlock(i));
+	}
+	
+	private void readMatrixMarketHeader(BufferedReader br) 
+		throws IOException
+	{
+		String value = br.readLine(); // header line
+		if ( value==null || !value.startsWith("%%") ) {
+			throw new IOException("Error while reading file in MatrixMarket format. Expecting a header line, but encountered, \"" + value +"\".");
+		}
+		
+		// skip until end-of-comments
+		while( (value = br.readLine())!=null && value.charAt(0) == '%' ) {
+			//do nothing just skip comments
+		}
+		
+		// the first line after comments is the one w/ matrix dimensions
+		String[] fields = (value != null) ? value.trim().split("\\s+") : new String[]{"-1","-1"}; 
+		long mm_rlen = Long.parseLong(fields[0]);
+		long mm_clen = Long.parseLong(fields[1]);
+		if ( _rlen != mm_rlen || _clen != mm_clen ) {
+			throw new IOException("Unexpected matrix dimensions while reading file in MatrixMarket format. Expecting dimensions [" + _rlen + " rows, " + _clen + " cols] but encountered [" + mm_rlen + " rows, " + mm_clen + "cols].");
+		}
+	}
+	
+	private static MatrixBlock finalizeRowBlock(MatrixBlock blk) 
+		throws DMLRuntimeException
+	{
+		//cells within a row block are not necessarily ordered,
+		//and dense appends do not account for overwrites
+		if( blk.isInSparseFormat() )
+			blk.sortSparseRows();
+		else
+			blk.recomputeNonZeros();
+		blk.examSparsity();
+		return blk;
+	}
+}
@@ -25,6 +25,7 @@ import java.io.IOException;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -32,7 +33,6 @@ import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartition
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.mapred.DistributedCacheInput;
-import org.apache.sysml.runtime.matrix.mapred.MRConfigurationNames;
 import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
@@ -40,8 +40,12 @@ public class WriterBinaryBlock extends MatrixWriter
 {
 	protected int _replication = -1;
 	
+	//compression codec, obtained from the config of the calling thread
+	protected final CompressionCodec _codec;
+	
 	public WriterBinaryBlock( int replication ) {
 		_replication  = replication;
+		_codec = IOCompressionUtils.getCompressionCodec();
 	}
 
 	@Override
@@ -70,7 +74,6 @@ public class WriterBinaryBlock extends MatrixWriter
 	}
 
 	@Override
-	@SuppressWarnings("deprecation")
 	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
 		throws IOException, DMLRuntimeException 
 	{
@@ -80,8 +83,8 @@ public class WriterBinaryBlock extends MatrixWriter
 		
 		SequenceFile.Writer writer = null;
 		try {
-			writer = new SequenceFile.Writer(fs, job, path,
-					                        MatrixIndexes.class, MatrixBlock.class);
+			writer = IOCompressionUtils.createSequenceFileWriter(
+				fs, job, path, MatrixIndexes.class, MatrixBlock.class, -1, _codec);
 			
 			MatrixIndexes index = new MatrixIndexes(1, 1);
 			MatrixBlock block = new MatrixBlock((int)Math.min(rlen, brlen),
@@ -102,7 +105,6 @@ public class WriterBinaryBlock extends MatrixWriter
 		writeBinaryBlockMatrixToSequenceFile(path, job, fs, src, brlen, bclen, 0, (int)rlen);
 	}
 
-	@SuppressWarnings("deprecation")
 	protected final void writeBinaryBlockMatrixToSequenceFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int brlen, int bclen, int rl, int ru ) 
 		throws DMLRuntimeException, IOException
 	{
@@ -110,19 +112,9 @@ public class WriterBinaryBlock extends MatrixWriter
 		int rlen = src.getNumRows();
 		int clen = src.getNumColumns();
 		
-		// 1) create sequence file writer, with right replication factor 
-		// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
-		SequenceFile.Writer writer = null;
-		if( _replication > 0 ) //if replication specified (otherwise default)
-		{
-			//copy of SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class), except for replication
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class, job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096),
-					                         (short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());	
-		}
-		else	
-		{
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
-		}
+		// 1) create sequence file writer, with right replication factor and compression codec
+		SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(
+			fs, job, path, MatrixIndexes.class, MatrixBlock.class, _replication, _codec);
 		
 		try
 		{
@@ -178,25 +170,14 @@ public class WriterBinaryBlock extends MatrixWriter
 		}
 	}
 
-	@SuppressWarnings("deprecation")
 	protected final void writeDiagBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int brlen, int bclen ) 
 		throws IOException, DMLRuntimeException
 	{
 		boolean sparse = src.isInSparseFormat();
 		
-		// 1) create sequence file writer, with right replication factor 
-		// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
-		SequenceFile.Writer writer = null;
-		if( _replication > 0 ) //if replication specified (otherwise default)
-		{
-			//copy of SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class), except for replication
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class, job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096),
-					                         (short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());	
-		}
-		else	
-		{
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
-		}
+		// 1) create sequence file writer, with right replication factor and compression codec
+		SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(
+			fs, job, path, MatrixIndexes.class, MatrixBlock.class, _replication, _codec);
 		
 		try
 		{
@@ -263,7 +244,6 @@ public class WriterBinaryBlock extends MatrixWriter
 		}
 	}
 
-	@SuppressWarnings("deprecation")
 	public final void writePartitionedBinaryBlockMatrixToHDFS( Path path, JobConf job, MatrixBlock src, long rlen, long clen, int brlen, int bclen, PDataPartitionFormat pformat )
 			throws IOException, DMLRuntimeException
 	{
@@ -290,7 +270,8 @@ public class WriterBinaryBlock extends MatrixWriter
 					// 1) create sequence file writer, with right replication factor 
 					// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
 					Path path2 = new Path(path.toString()+File.separator+(++count));
-					SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path2, MatrixIndexes.class, MatrixBlock.class);
+					SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(
+						fs, job, path2, MatrixIndexes.class, MatrixBlock.class, -1, _codec);
 					
 					//3) reblock and write
 					try
@@ -340,7 +321,8 @@ public class WriterBinaryBlock extends MatrixWriter
 					// 1) create sequence file writer, with right replication factor 
 					// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
 					Path path2 = new Path(path.toString()+File.separator+(++count));
-					SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path2, MatrixIndexes.class, MatrixBlock.class);
+					SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(
+						fs, job, path2, MatrixIndexes.class, MatrixBlock.class, -1, _codec);
 					
 					//3) reblock and write
 					try
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for the local binary block format, which stores an entire matrix
+ * as a single block in one file of the local file system. In contrast to 
+ * the sequence-file-based binary block format, dense and sparse (CSR) blocks 
+ * are laid out as 8-byte aligned primitive arrays, which allows reading them
+ * via memory-mapped regions and bulk copies instead of per-value decoding.
+ * 
+ * The file layout is as follows (all values in little endian):
+ * <ul>
+ * <li>header (64 bytes): magic (int), version (int), block type (int), 
+ *   reserved (int), rows (long), columns (long), non-zeros (long), reserved.</li>
+ * <li>dense: rows*columns doubles in row-major order.</li>
+ * <li>sparse: rows+1 row pointers (int), column indexes (int) and values 
+ *   (double) of all non-zeros, each array aligned to 8 bytes.</li>
+ * </ul>
+ * 
+ */
+public class WriterBinaryBlockLocal extends MatrixWriter
+{
+	static final int MAGIC = 0x534D4C42; //SMLB
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 64;
+	static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+	
+	//block types
+	static final int TYPE_EMPTY = 0;
+	static final int TYPE_DENSE = 1;
+	static final int TYPE_CSR = 2;
+	
+	//size of the write buffer in bytes
+	private static final int BUFFER_SIZE = 1024 * 1024;
+	
+	@Override
+	public void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//validity check matrix dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen )
+			throw new IOException("Matrix dimensions mismatch with metadata: "+src.getNumRows()+"x"+src.getNumColumns()+" vs "+rlen+"x"+clen+".");
+		
+		File file = getLocalFile(fname);
+		MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		writeBinaryBlockMatrixToLocal(file, src);
+	}
+
+	@Override
+	public void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException, DMLRuntimeException 
+	{
+		File file = getLocalFile(fname);
+		MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		writeBinaryBlockMatrixToLocal(file, new MatrixBlock((int)rlen, (int)clen, true));
+	}
+	
+	private static void writeBinaryBlockMatrixToLocal(File file, MatrixBlock src) 
+		throws IOException
+	{
+		int rlen = src.getNumRows();
+		int clen = src.getNumColumns();
+		int type = src.isEmptyBlock(false) ? TYPE_EMPTY : 
+			src.isInSparseFormat() ? TYPE_CSR : TYPE_DENSE;
+		//exact nnz from the data (meta data nnz might be unknown or stale)
+		long nnz = (type == TYPE_EMPTY) ? 0 : (type == TYPE_CSR) ? 
+			src.getSparseBlock().size(0, rlen) : src.getDenseBlock().countNonZeros();
+		if( type == TYPE_CSR && nnz > Integer.MAX_VALUE )
+			throw new IOException("Sparse block with "+nnz+" non-zeros exceeds CSR capacity.");
+		
+		FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, 
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		try {
+			ByteBuffer buff = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+			
+			//write header
+			buff.putInt(MAGIC).putInt(VERSION).putInt(type).putInt(0);
+			buff.putLong(rlen).putLong(clen).putLong(nnz);
+			buff.position(HEADER_SIZE);
+			
+			//write dense or sparse block
+			if( type == TYPE_DENSE ) {
+				DenseBlock a = src.getDenseBlock();
+				for( int bi=0; bi<a.numBlocks(); bi++ )
+					putDoubles(fc, buff, a.valuesAt(bi), 0, a.size(bi));
+			}
+			else if( type == TYPE_CSR ) {
+				SparseBlock a = src.getSparseBlock();
+				//row pointers
+				int pos = 0;
+				putInt(fc, buff, pos);
+				for( int i=0; i<rlen; i++ )
+					putInt(fc, buff, pos += a.size(i));
+				align(fc, buff);
+				//column indexes
+				for( int i=0; i<rlen; i++ )
+					if( !a.isEmpty(i) )
+						for( int k=a.pos(i); k<a.pos(i)+a.size(i); k++ )
+							putInt(fc, buff, a.indexes(i)[k]);
+				align(fc, buff);
+				//values
+				for( int i=0; i<rlen; i++ )
+					if( !a.isEmpty(i) )
+						putDoubles(fc, buff, a.values(i), a.pos(i), a.size(i));
+			}
+			flush(fc, buff);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(fc);
+		}
+	}
+	
+	static File getLocalFile(String fname) 
+		throws IOException
+	{
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, ConfigurationManager.getCachedJobConf());
+		if( !(fs instanceof LocalFileSystem) )
+			throw new IOException("Local binary block format only supported "
+				+ "on the local file system: "+fname+".");
+		return ((LocalFileSystem)fs).pathToFile(path);
+	}
+	
+	static long align(long pos) {
+		return (pos + 7) & ~7L;
+	}
+	
+	private static void putInt(FileChannel fc, ByteBuffer buff, int val) 
+		throws IOException
+	{
+		if( buff.remaining() < 4 )
+			flush(fc, buff);
+		buff.putInt(val);
+	}
+	
+	private static void putDoubles(FileChannel fc, ByteBuffer buff, double[] vals, int pos, int len) 
+		throws IOException
+	{
+		while( len > 0 ) {
+			if( buff.remaining() < 8 )
+				flush(fc, buff);
+			int llen = Math.min(len, buff.remaining() / 8);
+			buff.asDoubleBuffer().put(vals, pos, llen);
+			buff.position(buff.position() + 8 * llen);
+			pos += llen;
+			len -= llen;
+		}
+	}
+	
+	private static void align(FileChannel fc, ByteBuffer buff) 
+		throws IOException
+	{
+		long pos = fc.position() + buff.position();
+		for( long i=pos; i<align(pos); i++ ) {
+			if( !buff.hasRemaining() )
+				flush(fc, buff);
+			buff.put((byte)0);
+		}
+	}
+	
+	private static void flush(FileChannel fc, ByteBuffer buff) 
+		throws IOException
+	{
+		buff.flip();
+		while( buff.hasRemaining() )
+			fc.write(buff);
+		buff.clear();
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for the compressed binary block format, which persists a compressed
+ * matrix block with its column groups as a single block (1,1) of a sequence 
+ * file. Already compressed blocks are written as is, while uncompressed blocks 
+ * are compressed before the write. On read (see ReaderCompressedBinaryBlock), 
+ * this avoids both decompression and repeated compression planning.
+ * 
+ */
+public class WriterCompressedBinaryBlock extends MatrixWriter
+{
+	protected int _replication = -1;
+	
+	//compression codec, obtained from the config of the calling thread
+	protected final CompressionCodec _codec;
+	
+	public WriterCompressedBinaryBlock( int replication ) {
+		_replication = replication;
+		_codec = IOCompressionUtils.getCompressionCodec();
+	}
+
+	@Override
+	public void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//bound check for src block
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen ) {
+			throw new IOException("Matrix block [1:"+src.getNumRows()+",1:"+src.getNumColumns()+"] " +
+				"does not match overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+		
+		//compress input if necessary (w/o redundant compression)
+		CompressedMatrixBlock cmb = null;
+		if( src instanceof CompressedMatrixBlock )
+			cmb = (CompressedMatrixBlock) src;
+		else {
+			cmb = new CompressedMatrixBlock(src);
+			cmb.compress(OptimizerUtils.getConstrainedNumThreads(-1));
+		}
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		
+		//core write of single compressed block
+		writeCompressedBinaryBlockMatrixToHDFS(path, job, fs, cmb, _replication);
+		
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	@Override
+	public void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException, DMLRuntimeException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//write empty block w/o column groups
+		CompressedMatrixBlock block = new CompressedMatrixBlock((int)rlen, (int)clen, true);
+		writeCompressedBinaryBlockMatrixToHDFS(path, job, fs, block, -1);
+		
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+	
+	private void writeCompressedBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, CompressedMatrixBlock src, int replication ) 
+		throws IOException
+	{
+		SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(
+			fs, job, path, MatrixIndexes.class, CompressedMatrixBlock.class, replication, _codec);
+		
+		try {
+			writer.append(new MatrixIndexes(1, 1), src);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(writer);
+		}
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for matrices in LIBSVM format, where the last column is written 
+ * as label, followed by the non-zero features of the columns 1 to clen-1
+ * as one-based "index:value" pairs (see ReaderTextLIBSVM.java).
+ * 
+ */
+public class WriterTextLIBSVM extends MatrixWriter
+{
+	//blocksize for string concatenation in order to prevent write OOM 
+	//(can be set to very large value to disable blocking)
+	public static final int BLOCKSIZE_J = 32; //32 cells (typically ~512B, should be less than write buffer of 1KB)
+	
+	@Override
+	public final void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//validity check matrix dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen ) {
+			throw new IOException("Matrix dimensions mismatch with metadata: "+src.getNumRows()+"x"+src.getNumColumns()+" vs "+rlen+"x"+clen+".");
+		}
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		
+		//core write (sequential/parallel)
+		writeLIBSVMMatrixToHDFS(path, job, fs, src);
+
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	@Override
+	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException, DMLRuntimeException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		MatrixBlock src = new MatrixBlock((int)rlen, (int)clen, true);
+		writeLIBSVMMatrixToHDFS(path, job, fs, src);
+
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	protected void writeLIBSVMMatrixToHDFS(Path path, JobConf job, FileSystem fs, MatrixBlock src) 
+		throws IOException 
+	{
+		//sequential write libsvm file
+		writeLIBSVMMatrixToFile(path, job, fs, src, 0, src.getNumRows());
+	}
+
+	protected static void writeLIBSVMMatrixToFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru )
+		throws IOException
+	{
+		int clen = src.getNumColumns();
+		
+		//create buffered writer
+		BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(path,true)));
+		
+		try
+		{
+			//for obj reuse and preventing repeated buffer re-allocations
+			StringBuilder sb = new StringBuilder();
+			
+			if( src.isInSparseFormat() ) //SPARSE
+			{
+				SparseBlock sblock = src.getSparseBlock();
+				for( int i=rl; i<ru; i++ ) {
+					//write label and row chunk-wise to prevent OOM on large number of columns
+					sb.append(src.quickGetValue(i, clen-1));
+					if( sblock!=null && !sblock.isEmpty(i) ) {
+						int apos = sblock.pos(i);
+						int alen = sblock.size(i);
+						int[] aix = sblock.indexes(i);
+						double[] avals = sblock.values(i);
+						for( int j=apos; j<apos+alen && aix[j]<clen-1; j++ ) {
+							appendFeature(sb, aix[j], avals[j]);
+							if( (j-apos)%BLOCKSIZE_J==0 ) {
+								br.write( sb.toString() );
+								sb.setLength(0);
+							}
+						}
+					}
+					sb.append('\n');
+					br.write( sb.toString() );
+					sb.setLength(0);
+				}
+			}
+			else if( !src.isEmptyBlock(false) ) //DENSE
+			{
+				DenseBlock dblock = src.getDenseBlock();
+				for( int i=rl; i<ru; i++ ) {
+					//write label and row chunk-wise to prevent OOM on large number of columns
+					double[] avals = dblock.values(i);
+					int apos = dblock.pos(i);
+					sb.append(avals[apos+clen-1]);
+					for( int bj=0; bj<clen-1; bj+=BLOCKSIZE_J ) {
+						for( int j=bj; j<Math.min(clen-1,bj+BLOCKSIZE_J); j++ )
+							if( avals[apos+j] != 0 )
+								appendFeature(sb, j, avals[apos+j]);
+						br.write( sb.toString() );
+						sb.setLength(0);
+					}
+					sb.append('\n');
+					br.write( sb.toString() );
+					sb.setLength(0);
+				}
+			}
+			else //EMPTY (label only)
+			{
+				for( int i=rl; i<ru; i++ )
+					br.write("0.0\n");
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(br);
+		}
+	}
+	
+	private static void appendFeature(StringBuilder sb, int j, double val) {
+		sb.append(IOUtilFunctions.LIBSVM_DELIM);
+		sb.append(j+1);
+		sb.append(IOUtilFunctions.LIBSVM_INDEX_DELIM);
+		sb.append(val);
+	}
+}
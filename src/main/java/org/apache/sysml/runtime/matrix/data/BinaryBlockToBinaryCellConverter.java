@@ -70,7 +70,7 @@ Converter<MatrixIndexes, MatrixBlock, MatrixIndexes, MatrixCell>
 		{
 			if(v1.getDenseBlock()==null)
 				return;
-			denseArray=v1.getDenseBlock();
+			denseArray=v1.getDenseBlockValues();
 			nextInDenseArray=0;
 			denseArraySize=v1.getNumRows()*v1.getNumColumns();
 		}
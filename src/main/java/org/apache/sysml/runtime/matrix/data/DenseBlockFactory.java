@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+public abstract class DenseBlockFactory
+{
+	//maximum number of cells of single-block dense blocks and rows per block 
+	//of multi-block dense blocks (-1 for default), modifiable for tests of the
+	//multi-block layout w/o allocating dense blocks of more than 2^31 cells
+	public static int MAX_DRB_SIZE = DenseBlockLDRB.MAX_ALLOC;
+	public static int LDRB_BLOCKSIZE = -1;
+	
+	public static DenseBlock createDenseBlock(int rlen, int clen) {
+		DenseBlock.Type type = isLargeDenseBlock(rlen, clen) ?
+			DenseBlock.Type.LDRB : DenseBlock.Type.DRB;
+		return createDenseBlock(type, rlen, clen);
+	}
+
+	public static DenseBlock createDenseBlock(double[] data, int rlen, int clen) {
+		return new DenseBlockDRB(data, rlen, clen);
+	}
+
+	public static DenseBlock createDenseBlock(DenseBlock.Type type, int rlen, int clen) {
+		switch( type ) {
+			case DRB: return new DenseBlockDRB(rlen, clen);
+			case LDRB: return new DenseBlockLDRB(rlen, clen, LDRB_BLOCKSIZE);
+			default:
+				throw new RuntimeException("Unexpected dense block type: "+type.name());
+		}
+	}
+
+	public static boolean isDenseBlockType(DenseBlock dblock, DenseBlock.Type type) {
+		return (getDenseBlockType(dblock) == type);
+	}
+
+	public static DenseBlock.Type getDenseBlockType(DenseBlock dblock) {
+		return (dblock instanceof DenseBlockDRB) ? DenseBlock.Type.DRB :
+			(dblock instanceof DenseBlockLDRB) ? DenseBlock.Type.LDRB : null;
+	}
+
+	/**
+	 * Indicates if a dense block of the given dimensions requires
+	 * a multi-block representation, i.e., exceeds the maximum java
+	 * array size (see DenseBlockLDRB.MAX_ALLOC).
+	 *
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @return true if large dense block
+	 */
+	public static boolean isLargeDenseBlock(long rlen, long clen) {
+		return rlen * clen > MAX_DRB_SIZE;
+	}
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Large dense row block (LDRB), i.e., a row-major matrix partitioned into
+ * blocks of full rows, each stored in a separate linearized array. All blocks
+ * except the last one have the same number of rows, which is chosen such
+ * that each block is a valid java array. This allows dense matrices with
+ * more than 2^31 cells.
+ */
+public class DenseBlockLDRB extends DenseBlock
+{
+	private static final long serialVersionUID = -7285459683402612969L;
+
+	//maximum number of cells per block (max java array size w/ safety margin)
+	public static final int MAX_ALLOC = Integer.MAX_VALUE - 1024;
+
+	private double[][] data;
+	private int rlen;
+	private int clen;
+	private int blen;
+
+	public DenseBlockLDRB(int rlen, int clen) {
+		this(rlen, clen, -1);
+	}
+
+	/**
+	 * Creates a large dense row block with a given number of rows
+	 * per block, which is useful for tests of the multi-block layout.
+	 *
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param blen number of rows per block, or -1 for default
+	 */
+	public DenseBlockLDRB(int rlen, int clen, int blen) {
+		reset(rlen, clen, blen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		reset(rlen, clen, (clen==this.clen) ? blen : -1, v);
+	}
+
+	private void reset(int rlen, int clen, int blen, double v) {
+		//determine the block size as the maximum number of rows per block
+		int lblen = (blen > 0) ? blen : Math.max(MAX_ALLOC / Math.max(clen, 1), 1);
+		int lnum = (int)Math.ceil((double)rlen / lblen);
+		int llast = (rlen - (lnum-1) * lblen) * clen;
+
+		//reuse existing blocks if compatible, otherwise allocate
+		if( data != null && this.clen == clen && this.blen == lblen
+			&& data.length == lnum && (lnum==0 || data[lnum-1].length >= llast) ) {
+			for( int bi=0; bi<lnum; bi++ )
+				Arrays.fill(data[bi], 0, (bi<lnum-1) ? lblen*clen : llast, v);
+		}
+		else {
+			data = new double[lnum][];
+			for( int bi=0; bi<lnum; bi++ ) {
+				data[bi] = new double[(bi<lnum-1) ? lblen*clen : llast];
+				if( v != 0 )
+					Arrays.fill(data[bi], v);
+			}
+		}
+		this.rlen = rlen;
+		this.clen = clen;
+		this.blen = lblen;
+	}
+
+	@Override
+	public int numRows() {
+		return rlen;
+	}
+
+	@Override
+	public int numCols() {
+		return clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return data.length;
+	}
+
+	@Override
+	public int blockSize() {
+		return blen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return Math.min(blen, rlen-bix*blen);
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return rlen <= blen;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return index(rl) == index(ru);
+	}
+
+	@Override
+	public int size(int bix) {
+		return blockSize(bix) * clen;
+	}
+
+	@Override
+	public long capacity() {
+		long len = 0;
+		for( int i=0; i<numBlocks(); i++ )
+			len += data[i].length;
+		return len;
+	}
+
+	@Override
+	public long countNonZeros() {
+		long nnz = 0;
+		for( int bi=0; bi<numBlocks(); bi++ ) {
+			double[] a = data[bi];
+			int blen = size(bi);
+			for( int i=0; i<blen; i++ )
+				nnz += (a[i]!=0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	@Override
+	public int countNonZeros(int r) {
+		double[] a = values(r);
+		int nnz = 0;
+		for( int i=pos(r); i<pos(r)+clen; i++ )
+			nnz += (a[i]!=0) ? 1 : 0;
+		return nnz;
+	}
+
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		for( int i=rl; i<ru; i++ ) {
+			double[] a = values(i);
+			int ix = pos(i);
+			for( int j=ix+cl; j<ix+cu; j++ )
+				nnz += (a[j]!=0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	@Override
+	public double[][] values() {
+		return data;
+	}
+
+	@Override
+	public double[] values(int r) {
+		return data[index(r)];
+	}
+
+	@Override
+	public double[] valuesAt(int bix) {
+		return data[bix];
+	}
+
+	@Override
+	public int index(int r) {
+		return r / blen;
+	}
+
+	@Override
+	public int pos(int r) {
+		return (r % blen) * clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return (r % blen) * clen + c;
+	}
+
+	@Override
+	public void incr(int r, int c) {
+		data[index(r)][pos(r, c)] ++;
+	}
+
+	@Override
+	public void incr(int r, int c, double delta) {
+		data[index(r)][pos(r, c)] += delta;
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		for( int bi=0; bi<numBlocks(); bi++ )
+			Arrays.fill(data[bi], 0, size(bi), v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int rl, int ru, int cl, int cu, double v) {
+		for( int i=rl; i<ru; i++ ) {
+			int ix = pos(i);
+			Arrays.fill(values(i), ix+cl, ix+cu, v);
+		}
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		data[index(r)][pos(r, c)] = v;
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, double[] v) {
+		System.arraycopy(v, 0, values(r), pos(r), clen);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(DenseBlock db) {
+		for( int i=0; i<rlen; i++ )
+			System.arraycopy(db.values(i), db.pos(i), values(i), pos(i), clen);
+		return this;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		return data[index(r)][pos(r, c)];
+	}
+}
@@ -347,6 +347,19 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	public void set(int r, int c, Object val) {
 		_coldata[c].set(r, UtilFunctions.objectToObject(_schema[c], val));
 	}
+	
+	/**
+	 * Sets the value in position (r,c), where the input is a string 
+	 * encoding that is directly parsed into the primitive column type 
+	 * of the schema definition, without intermediate boxed objects.
+	 * 
+	 * @param r row index
+	 * @param c column index
+	 * @param val string encoded value, not null
+	 */
+	public void setFromString(int r, int c, String val) {
+		_coldata[c].setFromString(r, val);
+	}
 
 	public void reset(int nrow, boolean clearMeta) {
 		if( clearMeta ) {
@@ -1189,6 +1202,7 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		}
 		public abstract T get(int index);
 		public abstract void set(int index, T value);
+		public abstract void setFromString(int index, String value);
 		public abstract void set(int rl, int ru, Array value);
 		public abstract void set(int rl, int ru, Array value, int rlSrc);
 		public abstract void setNz(int rl, int ru, Array value);
@@ -1211,6 +1225,9 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		public void set(int index, String value) {
 			_data[index] = value;
 		}
+		public void setFromString(int index, String value) {
+			_data[index] = value;
+		}
 		public void set(int rl, int ru, Array value) {
 			set(rl, ru, value, 0);
 		}
@@ -1260,6 +1277,9 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		public void set(int index, Boolean value) {
 			_data[index] = (value!=null) ? value : false;
 		}
+		public void setFromString(int index, String value) {
+			_data[index] = Boolean.parseBoolean(value);
+		}
 		public void set(int rl, int ru, Array value) {
 			set(rl, ru, value, 0);
 		}
@@ -1310,6 +1330,9 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		public void set(int index, Long value) {
 			_data[index] = (value!=null) ? value : 0L;
 		}
+		public void setFromString(int index, String value) {
+			_data[index] = Long.parseLong(value);
+		}
 		public void set(int rl, int ru, Array value) {
 			set(rl, ru, value, 0);
 		}
@@ -1360,6 +1383,9 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		public void set(int index, Double value) {
 			_data[index] = (value!=null) ? value : 0d;
 		}
+		public void setFromString(int index, String value) {
+			_data[index] = Double.parseDouble(value);
+		}
 		public void set(int rl, int ru, Array value) {
 			set(rl,ru, value, 0);
 		}
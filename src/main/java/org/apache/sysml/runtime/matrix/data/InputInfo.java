@@ -33,6 +33,7 @@ import org.apache.hadoop.mapred.SequenceFileInputFormat;
 import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysml.parser.DataExpression;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.matrix.MetaData;
 import org.apache.sysml.runtime.matrix.sort.PickFromCompactInputFormat;
 
@@ -83,6 +84,17 @@ public class InputInfo implements Serializable
 	public static final InputInfo CSVInputInfo=new InputInfo(TextInputFormat.class, 
 			 LongWritable.class, Text.class);
 	
+	public static final InputInfo LIBSVMInputInfo=new InputInfo(TextInputFormat.class, 
+			 LongWritable.class, Text.class);
+	
+	// Format of single-block matrices on the local file system (CP only, no input format)
+	public static final InputInfo BinaryBlockLocalInputInfo=new InputInfo(null, 
+			MatrixIndexes.class, MatrixBlock.class);
+	
+	// Format of single-block compressed matrices, i.e., persisted column groups (CP only)
+	public static final InputInfo CompressedBinaryBlockInputInfo=new InputInfo(
+			SequenceFileInputFormat.class, MatrixIndexes.class, CompressedMatrixBlock.class);
+	
 	public static OutputInfo getMatchingOutputInfo(InputInfo ii) throws DMLRuntimeException {
 		if ( ii == InputInfo.BinaryBlockInputInfo )
 			return OutputInfo.BinaryBlockOutputInfo;
@@ -100,6 +112,12 @@ public class InputInfo implements Serializable
 			return OutputInfo.WeightedPairOutputInfo;
 		else if ( ii == InputInfo.CSVInputInfo)
 			return OutputInfo.CSVOutputInfo;
+		else if ( ii == InputInfo.LIBSVMInputInfo)
+			return OutputInfo.LIBSVMOutputInfo;
+		else if ( ii == InputInfo.BinaryBlockLocalInputInfo)
+			return OutputInfo.BinaryBlockLocalOutputInfo;
+		else if ( ii == InputInfo.CompressedBinaryBlockInputInfo)
+			return OutputInfo.CompressedBinaryBlockOutputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + ii);
 	}
@@ -125,6 +143,12 @@ public class InputInfo implements Serializable
 			return WeightedPairInputInfo;
 		else if ( str.equalsIgnoreCase("csv"))
 			return CSVInputInfo;
+		else if ( str.equalsIgnoreCase("libsvm"))
+			return LIBSVMInputInfo;
+		else if ( str.equalsIgnoreCase("binaryblocklocal"))
+			return BinaryBlockLocalInputInfo;
+		else if ( str.equalsIgnoreCase("compressedblock"))
+			return CompressedBinaryBlockInputInfo;
 		return null;
 	}
 
@@ -135,8 +159,12 @@ public class InputInfo implements Serializable
 			return InputInfo.MatrixMarketInputInfo;
 		else if( DataExpression.FORMAT_TYPE_VALUE_CSV.equals(str) )
 			return InputInfo.CSVInputInfo; 
+		else if( DataExpression.FORMAT_TYPE_VALUE_LIBSVM.equals(str) )
+			return InputInfo.LIBSVMInputInfo; 
 		else if( DataExpression.FORMAT_TYPE_VALUE_BINARY.equals(str) )
 			return InputInfo.BinaryBlockInputInfo; 		
+		else if( DataExpression.FORMAT_TYPE_VALUE_COMPRESSED.equals(str) )
+			return InputInfo.CompressedBinaryBlockInputInfo;
 		return null;
 	}
 	
@@ -159,6 +187,12 @@ public class InputInfo implements Serializable
 			return "matrixmarket";
 		else if ( ii == CSVInputInfo )
 			return "csv";
+		else if ( ii == LIBSVMInputInfo )
+			return "libsvm";
+		else if ( ii == BinaryBlockLocalInputInfo )
+			return "binaryblocklocal";
+		else if ( ii == CompressedBinaryBlockInputInfo )
+			return "compressedblock";
 		else
 			throw new DMLRuntimeException("Unrecognized inputInfo: " + ii);
 	}
@@ -25,7 +25,6 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.lops.PartialAggregate.CorrectionLocationType;
@@ -55,6 +54,7 @@ import org.apache.sysml.runtime.matrix.operators.CMOperator;
 import org.apache.sysml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -199,7 +199,9 @@ public class LibMatrixAgg
 		out.reset(m2, n2, false); //always dense
 		out.allocateDenseBlock();
 		
-		if( !in.sparse )
+		if( !in.sparse && !in.getDenseBlock().isContiguous() )
+			aggregateUnaryMatrixLargeDense(in, out, aggtype, uaop);
+		else if( !in.sparse )
 			aggregateUnaryMatrixDense(in, out, aggtype, uaop.aggOp.increOp.fn, uaop.indexFn, 0, m);
 		else
 			aggregateUnaryMatrixSparse(in, out, aggtype, uaop.aggOp.increOp.fn, uaop.indexFn, 0, m);
@@ -215,9 +217,10 @@ public class LibMatrixAgg
 		throws DMLRuntimeException
 	{
 		//fall back to sequential version if necessary
+		//(incl large dense blocks, which are processed per row block)
 		if(    k <= 1 || (long)in.nonZeros < PAR_NUMCELL_THRESHOLD || in.rlen <= k/2
 			|| (!(uaop.indexFn instanceof ReduceCol) &&  out.clen*8*k > PAR_INTERMEDIATE_SIZE_THRESHOLD ) || 
-			!out.isThreadSafe()) {
+			!out.isThreadSafe() || (!in.sparse && !in.getDenseBlock().isContiguous()) ) {
 			aggregateUnaryMatrix(in, out, uaop);
 			return;
 		}
@@ -247,7 +250,7 @@ public class LibMatrixAgg
 		//core multi-threaded unary aggregate computation
 		//(currently: always parallelization over number of rows)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<AggTask> tasks = new ArrayList<AggTask>();
 			int blklen = (int)(Math.ceil((double)m/k));
 			for( int i=0; i<k & i*blklen<m; i++ ) {
@@ -341,7 +344,7 @@ public class LibMatrixAgg
 		//core multi-threaded unary aggregate computation
 		//(currently: always parallelization over number of rows)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			int blklen = (int)(Math.ceil((double)m/k));
 			
 			//step 1: compute aggregates per row partition
@@ -436,7 +439,7 @@ public class LibMatrixAgg
 		//Timing time = new Timing(true);
 		
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<AggTernaryTask> tasks = new ArrayList<AggTernaryTask>();
 			int blklen = (int)(Math.ceil((double)in1.rlen/k));
 			IndexFunction ixFn = op.indexFn;
@@ -510,7 +513,7 @@ public class LibMatrixAgg
 		//core multi-threaded grouped aggregate computation
 		//(currently: parallelization over columns to avoid additional memory requirements)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<GrpAggTask> tasks = new ArrayList<GrpAggTask>();
 			int blklen = (int)(Math.ceil((double)target.clen/k));
 			for( int i=0; i<k & i*blklen<target.clen; i++ )
@@ -555,7 +558,7 @@ public class LibMatrixAgg
 		if( (type == AggType.MAX_INDEX || type == AggType.MIN_INDEX) && ix.getColumnIndex()!=1 ) //MAXINDEX or MININDEX
 		{
 			int m = out.rlen;
-			double[] c = out.getDenseBlock();
+			double[] c = out.getDenseBlockValues();
 			for( int i=0, cix=0; i<m; i++, cix+=2 )
 				c[cix] = UtilFunctions.computeCellIndex(ix.getColumnIndex(), bclen, (int)c[cix]-1);
 		}
@@ -662,9 +665,9 @@ public class LibMatrixAgg
 		KahanObject kbuff = new KahanObject(0, 0);
 		KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
 		
-		double[] a = in1.denseBlock;
-		double[] b1 = in2.denseBlock;
-		double[] b2 = (in3!=null) ? in3.denseBlock : null; //if null, literal 1
+		double[] a = in1.getDenseBlockValues();
+		double[] b1 = in2.getDenseBlockValues();
+		double[] b2 = (in3!=null) ? in3.getDenseBlockValues() : null; //if null, literal 1
 		final int n = in1.clen;
 		
 		if( ixFn instanceof ReduceAll ) //tak+*
@@ -680,7 +683,7 @@ public class LibMatrixAgg
 		}
 		else //tack+*
 		{
-			double[] c = ret.getDenseBlock();
+			double[] c = ret.getDenseBlockValues();
 			for( int i=rl, ix=rl*n; i<ru; i++ )
 				for( int j=0; j<n; j++, ix++ ) {
 					double b2val = (b2 != null) ? b2[ix] : 1;
@@ -740,7 +743,7 @@ public class LibMatrixAgg
 		}
 		else //tack+*
 		{
-			double[] c = ret.getDenseBlock();
+			double[] c = ret.getDenseBlockValues();
 			for( int i=rl; i<ru; i++ )
 				if( !a.isEmpty(i) ) {
 					int apos = a.pos(i);
@@ -825,7 +828,7 @@ public class LibMatrixAgg
 			else //DENSE target
 			{
 				for ( int i=0; i < target.getNumColumns(); i++ ) {
-					double d = target.denseBlock[ i ];
+					double d = target.getDenseBlockValues()[ i ];
 					if( d != 0 ) //sparse-safe
 					{
 						int g = (int) groups.quickGetValue(i, 0);		
@@ -871,7 +874,7 @@ public class LibMatrixAgg
 			}
 			else //DENSE target
 			{
-				double[] a = target.denseBlock;
+				double[] a = target.getDenseBlockValues();
 				
 				for( int i=0, aix=0; i < groups.getNumRows(); i++, aix+=numCols ) 
 				{
@@ -943,7 +946,7 @@ public class LibMatrixAgg
 		}
 		else //DENSE target
 		{
-			double[] a = target.denseBlock;
+			double[] a = target.getDenseBlockValues();
 			
 			for( int i=0, aix=0; i < groups.getNumRows(); i++, aix+=target.clen ) 
 			{
@@ -976,7 +979,7 @@ public class LibMatrixAgg
 		if( groups.isInSparseFormat() || groups.isEmptyBlock(false) )
 			throw new DMLRuntimeException("Unsupported sparse input for aggregate-count on group vector.");
 		
-		double[] a = groups.denseBlock;
+		double[] a = groups.getDenseBlockValues();
 		int[] tmp = new int[numGroups];
 		int m = groups.rlen;
 		
@@ -1004,9 +1007,9 @@ public class LibMatrixAgg
 		aggVal.allocateDenseBlock(); //should always stay in dense
 		aggCorr.allocateDenseBlock(); //should always stay in dense
 		
-		double[] a = in.getDenseBlock();
-		double[] c = aggVal.getDenseBlock();
-		double[] cc = aggCorr.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
+		double[] c = aggVal.getDenseBlockValues();
+		double[] cc = aggCorr.getDenseBlockValues();
 		
 		KahanObject buffer1 = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1042,8 +1045,8 @@ public class LibMatrixAgg
 		aggCorr.allocateDenseBlock(); //should always stay in dense
 		
 		SparseBlock a = in.getSparseBlock();
-		double[] c = aggVal.getDenseBlock();
-		double[] cc = aggCorr.getDenseBlock();
+		double[] c = aggVal.getDenseBlockValues();
+		double[] cc = aggCorr.getDenseBlockValues();
 		
 		KahanObject buffer1 = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1126,7 +1129,7 @@ public class LibMatrixAgg
 		final int m = in.rlen;
 		final int n = in.clen;
 		
-		double[] a = in.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
 		
 		KahanObject buffer = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1157,7 +1160,7 @@ public class LibMatrixAgg
 		final int n = in.clen;
 		final int cix = (m-1)*n;
 		
-		double[] a = in.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
 		
 		KahanObject buffer = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1227,7 +1230,7 @@ public class LibMatrixAgg
 		final int m = in.rlen;
 		final int n = in.clen;
 		
-		double[] a = in.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
 		
 		KahanObject buffer = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1289,14 +1292,55 @@ public class LibMatrixAgg
 		aggVal.examSparsity(); 
 	}
 
+	/**
+	 * Unary aggregate over a large dense block with multiple underlying arrays.
+	 * The row blocks are processed as independent partitions via shallow views,
+	 * and the partial results are merged similar to the multi-threaded aggregate.
+	 * 
+	 * @param in input matrix
+	 * @param out output matrix
+	 * @param aggtype aggregate type
+	 * @param uaop aggregate unary operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void aggregateUnaryMatrixLargeDense(MatrixBlock in, MatrixBlock out, AggType aggtype, AggregateUnaryOperator uaop) 
+		throws DMLRuntimeException
+	{
+		IndexFunction ixFn = uaop.indexFn;
+		if( !(ixFn instanceof ReduceAll || ixFn instanceof ReduceCol || ixFn instanceof ReduceRow) )
+			throw new DMLRuntimeException("Unsupported unary aggregate over large dense block: "+ixFn.getClass().getSimpleName());
+		
+		DenseBlock a = in.getDenseBlock();
+		final int n = in.clen;
+		for( int bi=0, rl=0; bi<a.numBlocks(); rl+=a.blockSize(bi), bi++ ) {
+			//shallow view of row block (conservative nnz, not used by dense aggregates)
+			int blen = a.blockSize(bi);
+			MatrixBlock tmp = new MatrixBlock(blen, n, false);
+			tmp.denseBlock = DenseBlockFactory.createDenseBlock(a.valuesAt(bi), blen, n);
+			tmp.nonZeros = (long)blen * n;
+			
+			//partial aggregate and merge into output
+			MatrixBlock part = new MatrixBlock((ixFn instanceof ReduceCol) ? blen : out.rlen, out.clen, false);
+			part.allocateDenseBlock();
+			aggregateUnaryMatrixDense(tmp, part, aggtype, uaop.aggOp.increOp.fn, ixFn, 0, blen);
+			part.recomputeNonZeros();
+			if( ixFn instanceof ReduceCol )
+				out.copy(rl, rl+blen-1, 0, out.clen-1, part, false);
+			else if( bi == 0 )
+				out.copy(part);
+			else
+				aggregateFinalResult(uaop.aggOp, out, part);
+		}
+	}
+	
 	private static void aggregateUnaryMatrixDense(MatrixBlock in, MatrixBlock out, AggType optype, ValueFunction vFn, IndexFunction ixFn, int rl, int ru) 
 			throws DMLRuntimeException
 	{
 		final int m = in.rlen;
 		final int n = in.clen;
 		
-		double[] a = in.getDenseBlock();
-		double[] c = out.getDenseBlock();		
+		double[] a = in.getDenseBlockValues();
+		double[] c = out.getDenseBlockValues();		
 		
 		switch( optype )
 		{
@@ -1418,7 +1462,7 @@ public class LibMatrixAgg
 		final int n = in.clen;
 		
 		SparseBlock a = in.getSparseBlock();
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		
 		switch( optype )
 		{
@@ -1538,8 +1582,8 @@ public class LibMatrixAgg
 		final int m = in.rlen;
 		final int n = in.clen;
 		
-		double[] a = in.getDenseBlock();
-		double[] c = out.getDenseBlock();		
+		double[] a = in.getDenseBlockValues();
+		double[] c = out.getDenseBlockValues();		
 		
 		switch( optype )
 		{
@@ -1575,7 +1619,7 @@ public class LibMatrixAgg
 		final int n = in.clen;
 		
 		SparseBlock a = in.getSparseBlock();
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		
 		switch( optype )
 		{
@@ -19,7 +19,12 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.Divide;
@@ -40,6 +45,7 @@ import org.apache.sysml.runtime.functionobjects.Power2;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.SortUtils;
 
@@ -50,13 +56,17 @@ import org.apache.sysml.runtime.util.SortUtils;
  * operations and combinations of dense/sparse and MM/MV. Safe/unsafe refer to sparse-safe
  * and sparse-unsafe operations.
  *  
- * 
+ * All operations are multi-threaded over row partitions according to the number of
+ * threads of the given operator, if the output allows concurrent modifications of
+ * disjoint rows and the problem size exceeds a minimum threshold.
  * 
  * TODO: custom operator implementations in order to turn unnecessarily sparse-unsafe
  * operations into sparse safe (e.g., relational operations)
  */
 public class LibMatrixBincell 
 {
+	//internal configuration parameters
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
 
 	public enum BinaryAccessType {
 		MATRIX_MATRIX,
@@ -139,7 +149,10 @@ public class LibMatrixBincell
 		throws DMLRuntimeException
 	{
 		//execute binary cell operations
-		if(op.sparseSafe || isSparseSafeDivide(op, m2))
+		if( !m1ret.sparse && !m2.sparse && m1ret.denseBlock!=null && m2.denseBlock!=null
+			&& getBinaryAccessType(m1ret, m2) == BinaryAccessType.MATRIX_MATRIX )
+			denseBinaryInPlace(m1ret, m2, op);
+		else if(op.sparseSafe || isSparseSafeDivide(op, m2))
 			safeBinaryInPlace(m1ret, m2, op);
 		else
 			unsafeBinaryInPlace(m1ret, m2, op);
@@ -211,42 +224,103 @@ public class LibMatrixBincell
 			return;
 		}
 	
-		int rlen = m1.rlen;
-		int clen = m1.clen;
+		//execute binary operation, incl nnz maintenance
+		executeBinary(m1, m2, ret, op, true);
+	}
+
+	private static void unsafeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op)
+		throws DMLRuntimeException
+	{
+		//execute binary operation, incl nnz maintenance
+		executeBinary(m1, m2, ret, op, false);
+	}
+
+	private static void executeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, boolean safe)
+		throws DMLRuntimeException
+	{
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		int k = op.getNumThreads();
+
+		//prepare sorted rhs for outer vector-vector comparisons (dense output only)
+		double[] bv = null;
+		if( atype == BinaryAccessType.OUTER_VECTOR_VECTOR && !ret.sparse
+			&& LibMatrixOuterAgg.isCompareOperator(op) ) {
+			bv = DataConverter.convertToDoubleVector(m2);
+			if( !SortUtils.isSorted(0, m2.getNumColumns(), bv) )
+				bv = null;
+		}
+
+		//allocate once in order to prevent repeated reallocation
+		ret.allocateDenseOrSparseBlock();
+
+		//sequential or multi-threaded execution over row partitions
+		long work = ret.sparse ? m1.nonZeros + m2.nonZeros : (long)ret.rlen*ret.clen;
+		if( !satisfiesMultiThreadingConstraints(ret, work, k) ) {
+			ret.nonZeros = executeBinary(m1, m2, ret, op, atype, bv, safe, 0, ret.rlen);
+		}
+		else {
+			ArrayList<BincellTask> tasks = new ArrayList<BincellTask>();
+			int blklen = (int)(Math.ceil((double)ret.rlen/k));
+			for( int i=0; i<k & i*blklen<ret.rlen; i++ )
+				tasks.add(new BincellTask(m1, m2, ret, op, atype, bv, safe, i*blklen, Math.min((i+1)*blklen, ret.rlen)));
+			ret.nonZeros = executeTasks(tasks, k);
+		}
+
+		//convert outer comparison results to sparse if necessary
+		if( bv != null )
+			ret.examSparsity();
+	}
+
+	private static long executeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op,
+			BinaryAccessType atype, double[] bv, boolean safe, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		if( bv != null ) //VECTOR - VECTOR (sorted compare)
+			return performBinOuterOperation(m1, bv, ret, op, rl, ru);
+		else if( safe )
+			return safeBinary(m1, m2, ret, op, atype, rl, ru);
+		else
+			return unsafeBinary(m1, m2, ret, op, atype, rl, ru);
+	}
+
+	private static long safeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op,
+			BinaryAccessType atype, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		boolean skipEmpty = (op.fn instanceof Multiply 
+				|| isSparseSafeDivide(op, m2) );
+		
+		int clen = m1.clen;
 		
 		if(    atype == BinaryAccessType.MATRIX_COL_VECTOR //MATRIX - VECTOR
 			|| atype == BinaryAccessType.MATRIX_ROW_VECTOR)  
 		{
 			//note: m2 vector and hence always dense
 			if( !m1.sparse && !m2.sparse && !ret.sparse ) //DENSE all
-				safeBinaryMVDense(m1, m2, ret, op);
+				return safeBinaryMVDense(m1, m2, ret, op, rl, ru);
 			else if( m1.sparse ) //SPARSE m1
-				safeBinaryMVSparse(m1, m2, ret, op);
+				return safeBinaryMVSparse(m1, m2, ret, op, rl, ru);
 			else //generic combinations
-				safeBinaryMVGeneric(m1, m2, ret, op);
+				return safeBinaryMVGeneric(m1, m2, ret, op, rl, ru);
 		}	
 		else if( atype == BinaryAccessType.OUTER_VECTOR_VECTOR ) //VECTOR - VECTOR
 		{
-			safeBinaryVVGeneric(m1, m2, ret, op);
+			return safeBinaryVVGeneric(m1, m2, ret, op, rl, ru);
 		}
 		else //MATRIX - MATRIX
 		{
 			if(m1.sparse && m2.sparse)
 			{
-				if(ret.sparse)
-					ret.allocateSparseRowsBlock();	
-				
 				//both sparse blocks existing
 				if(m1.sparseBlock!=null && m2.sparseBlock!=null)
 				{
 					SparseBlock lsblock = m1.sparseBlock;
 					SparseBlock rsblock = m2.sparseBlock;
 					
-					if( ret.sparse && lsblock.isAligned(rsblock) )
+					if( ret.sparse && isAligned(lsblock, rsblock, rl, ru) )
 					{
 						SparseBlock c = ret.sparseBlock;
-						for(int r=0; r<rlen; r++) 
+						for(int r=rl; r<ru; r++) 
 							if( !lsblock.isEmpty(r) ) {
 								int alen = lsblock.size(r);
 								int apos = lsblock.pos(r);
@@ -258,12 +332,11 @@ public class LibMatrixBincell
 									double tmp = op.fn.execute(avals[j], bvals[j]);
 									c.append(r, aix[j], tmp);
 								}
-								ret.nonZeros += c.size(r);
 							}
 					}
 					else //general case
 					{	
-						for(int r=0; r<rlen; r++)
+						for(int r=rl; r<ru; r++)
 						{
 							if( !lsblock.isEmpty(r) && !rsblock.isEmpty(r) ) {
 								mergeForSparseBinary(op, lsblock.values(r), lsblock.indexes(r), lsblock.pos(r), lsblock.size(r),
@@ -286,7 +359,7 @@ public class LibMatrixBincell
 				{
 					SparseBlock rsblock = m2.sparseBlock;
 					
-					for(int r=0; r<Math.min(rlen, rsblock.numRows()); r++)
+					for(int r=rl; r<Math.min(ru, rsblock.numRows()); r++)
 						if( !rsblock.isEmpty(r) )
 						{
 							appendRightForSparseBinary(op, rsblock.values(r), rsblock.indexes(r), 
@@ -298,7 +371,7 @@ public class LibMatrixBincell
 				{
 					SparseBlock lsblock = m1.sparseBlock;
 					
-					for(int r=0; r<rlen; r++)
+					for(int r=rl; r<ru; r++)
 						if( !lsblock.isEmpty(r) )
 						{
 							appendLeftForSparseBinary(op, lsblock.values(r), lsblock.indexes(r), 
@@ -312,40 +385,44 @@ public class LibMatrixBincell
 					(op.fn instanceof Multiply && !m2.sparse )))
 			{
 				//specific case in order to prevent binary search on sparse inputs (see quickget and quickset)
-				ret.allocateDenseBlock();
-				final int m = ret.rlen;
+				//(row-wise processing in order to support large dense blocks)
 				final int n = ret.clen;
-				double[] c = ret.denseBlock;
+				DenseBlock c = ret.getDenseBlock();
 				
 				//1) process left input: assignment
 				
 				if( m1.sparse ) //SPARSE left
 				{
-					Arrays.fill(ret.denseBlock, 0, ret.denseBlock.length, 0); 
+					c.set(rl, ru, 0, n, 0); 
 					
 					if( m1.sparseBlock != null )
 					{
 						SparseBlock a = m1.sparseBlock;
 						
-						for( int i=0, ix=0; i<m; i++, ix+=n ) {
+						for( int i=rl; i<ru; i++ ) {
 							if( !a.isEmpty(i) )
 							{
 								int apos = a.pos(i);
 								int alen = a.size(i);
 								int[] aix = a.indexes(i);
 								double[] avals = a.values(i);
+								double[] cvals = c.values(i);
+								int cix = c.pos(i);
 								for(int k = apos; k < apos+alen; k++) 
-									c[ix+aix[k]] = avals[k];
+									cvals[cix+aix[k]] = avals[k];
 							}
 						}
 					}
 				}
 				else //DENSE left
 				{
-					if( !m1.isEmptyBlock(false) ) 
-						System.arraycopy(m1.denseBlock, 0, c, 0, m*n);
+					if( !m1.isEmptyBlock(false) ) {
+						DenseBlock a = m1.getDenseBlock();
+						for( int i=rl; i<ru; i++ )
+							System.arraycopy(a.values(i), a.pos(i), c.values(i), c.pos(i), n);
+					}
 					else
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
+						c.set(rl, ru, 0, n, 0); 
 				}
 				
 				//2) process right input: op.fn (+,-,*), * only if dense
@@ -355,60 +432,73 @@ public class LibMatrixBincell
 					{
 						SparseBlock a = m2.sparseBlock;
 						
-						for( int i=0, ix=0; i<m; i++, ix+=n ) {
+						for( int i=rl; i<ru; i++ ) {
 							if( !a.isEmpty(i) ) {
 								int apos = a.pos(i);
 								int alen = a.size(i);
 								int[] aix = a.indexes(i);
 								double[] avals = a.values(i);
+								double[] cvals = c.values(i);
+								int cix = c.pos(i);
 								for(int k = apos; k < apos+alen; k++) 
-									c[ix+aix[k]] = op.fn.execute(c[ix+aix[k]], avals[k]);
+									cvals[cix+aix[k]] = op.fn.execute(cvals[cix+aix[k]], avals[k]);
 							}
 						}	
 					}
 				}
 				else //DENSE right
 				{
-					if( !m2.isEmptyBlock(false) )
-						for( int i=0; i<m*n; i++ )
-							c[i] = op.fn.execute(c[i], m2.denseBlock[i]);
+					if( !m2.isEmptyBlock(false) ) {
+						DenseBlock b = m2.getDenseBlock();
+						for( int i=rl; i<ru; i++ ) {
+							double[] bvals = b.values(i);
+							double[] cvals = c.values(i);
+							int bix = b.pos(i), cix = c.pos(i);
+							for( int j=0; j<n; j++ )
+								cvals[cix+j] = op.fn.execute(cvals[cix+j], bvals[bix+j]);
+						}
+					}
 					else if(op.fn instanceof Multiply)
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
+						c.set(rl, ru, 0, n, 0); 
 				}
 	
-				//3) recompute nnz
-				ret.recomputeNonZeros();
+				//3) recompute nnz (see below)
 			}
 			else if( !ret.sparse && !m1.sparse && !m2.sparse 
 					&& m1.denseBlock!=null && m2.denseBlock!=null )
 			{
-				ret.allocateDenseBlock();
-				final int m = ret.rlen;
 				final int n = ret.clen;
-				double[] a = m1.denseBlock;
-				double[] b = m2.denseBlock;
-				double[] c = ret.denseBlock;
+				DenseBlock a = m1.getDenseBlock();
+				DenseBlock b = m2.getDenseBlock();
+				DenseBlock c = ret.getDenseBlock();
 				ValueFunction fn = op.fn;
 				
 				//compute dense-dense binary, maintain nnz on-the-fly
-				int nnz = 0;
-				for( int i=0; i<m*n; i++ ) {
-					c[i] = fn.execute(a[i], b[i]);
-					nnz += (c[i]!=0)? 1 : 0;
+				//(equal dimensions guarantee aligned row blocks)
+				long nnz = 0;
+				int bl = c.index(rl), bu = c.index(ru-1);
+				for( int bi=bl; bi<=bu; bi++ ) {
+					double[] avals = a.valuesAt(bi);
+					double[] bvals = b.valuesAt(bi);
+					double[] cvals = c.valuesAt(bi);
+					int ce = (bi==bu) ? c.pos(ru-1)+n : c.size(bi);
+					for( int i=(bi==bl)?c.pos(rl):0; i<ce; i++ ) {
+						cvals[i] = fn.execute(avals[i], bvals[i]);
+						nnz += (cvals[i]!=0)? 1 : 0;
+					}
 				}
-				ret.nonZeros = nnz;
+				return nnz;
 			}
 			else if( skipEmpty && (m1.sparse || m2.sparse) ) 
 			{
 				SparseBlock a = m1.sparse ? m1.sparseBlock : m2.sparseBlock;
 				if( a == null )
-					return;
+					return 0;
 				
-				//prepare second input and allocate output
+				//prepare second input
 				MatrixBlock b = m1.sparse ? m2 : m1;
-				ret.allocateDenseOrSparseBlock();
 				
-				for( int i=0; i<a.numRows(); i++ ) {
+				for( int i=rl; i<Math.min(ru, a.numRows()); i++ ) {
 					if( a.isEmpty(i) ) continue;
 					int apos = a.pos(i);
 					int alen = a.size(i);
@@ -426,7 +516,7 @@ public class LibMatrixBincell
 			}
 			else //generic case
 			{
-				for(int r=0; r<rlen; r++)
+				for(int r=rl; r<ru; r++)
 					for(int c=0; c<clen; c++) {
 						double in1 = m1.quickGetValue(r, c);
 						double in2 = m2.quickGetValue(r, c);
@@ -436,30 +526,28 @@ public class LibMatrixBincell
 					}
 			}
 		}
+		
+		//recompute nnz of row partition
+		return ret.recomputeNonZeros(rl, ru-1, 0, clen-1);
 	}
 
-	private static void safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	private static long safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru)
 		throws DMLRuntimeException 
 	{
 		boolean isMultiply = (op.fn instanceof Multiply);
 		boolean skipEmpty = (isMultiply);
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
-		int rlen = m1.rlen;
 		int clen = m1.clen;
 		
-		//early abort on skip and empy
-		if( skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) )
-			return; // skip entire empty block
-		
-		ret.allocateDenseBlock();
-		double[] a = m1.denseBlock;
-		double[] b = m2.denseBlock;
-		double[] c = ret.denseBlock;
-		int nnz = 0;
+		//note: early abort on skip and empty in caller
+		double[] a = m1.getDenseBlockValues();
+		double[] b = m2.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
+		long nnz = 0;
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+			for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
 			{
 				//replicate vector value
 				double v2 = (b==null) ? 0 : b[i];
@@ -489,23 +577,23 @@ public class LibMatrixBincell
 		{
 			if( a==null && b==null ) { //both empty
 				double v = op.fn.execute( 0, 0 );
-				Arrays.fill(c, 0, rlen*clen, v);
-				nnz += (v != 0) ? rlen*clen : 0;
+				Arrays.fill(c, rl*clen, ru*clen, v);
+				nnz += (v != 0) ? (long)(ru-rl)*clen : 0;
 			}
 			else if( a==null ) //left empty
 			{
 				//compute first row
-				for( int j=0; j<clen; j++ ) {
-					c[j] = op.fn.execute( 0, b[j] );
-					nnz += (c[j] != 0) ? rlen : 0;
+				for( int j=0, ix=rl*clen; j<clen; j++ ) {
+					c[ix+j] = op.fn.execute( 0, b[j] );
+					nnz += (c[ix+j] != 0) ? (ru-rl) : 0;
 				}
 				//copy first to all other rows
-				for( int i=1, ix=clen; i<rlen; i++, ix+=clen )
-					System.arraycopy(c, 0, c, ix, clen);
+				for( int i=rl+1, ix=(rl+1)*clen; i<ru; i++, ix+=clen )
+					System.arraycopy(c, rl*clen, c, ix, clen);
 			}
 			else //default case (incl right empty) 
 			{
-				for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+				for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
 					for( int j=0; j<clen; j++ ) {
 						c[ix+j] = op.fn.execute( a[ix+j], ((b!=null) ? b[j] : 0) );	
 						nnz += (c[ix+j] != 0) ? 1 : 0;
@@ -513,31 +601,24 @@ public class LibMatrixBincell
 			}
 		}
 		
-		ret.nonZeros = nnz;
+		return nnz;
 	}
 
-	private static void safeBinaryMVSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	private static long safeBinaryMVSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru)
 		throws DMLRuntimeException 
 	{
 		boolean isMultiply = (op.fn instanceof Multiply);
 		boolean skipEmpty = (isMultiply);
 		
-		int rlen = m1.rlen;
 		int clen = m1.clen;
 		SparseBlock a = m1.sparseBlock;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 		
-		//early abort on skip and empty
-		if( skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) )
-			return; // skip entire empty block
-		
-		//allocate once in order to prevent repeated reallocation
-		if( ret.sparse )
-			ret.allocateSparseRowsBlock();
+		//note: early abort on skip and empty in caller
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			for( int i=0; i<rlen; i++ )
+			for( int i=rl; i<ru; i++ )
 			{
 				double v2 = m2.quickGetValue(i, 0);
 				
@@ -585,7 +666,7 @@ public class LibMatrixBincell
 		}
 		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR )
 		{
-			for( int i=0; i<rlen; i++ )
+			for( int i=rl; i<ru; i++ )
 			{
 				if( skipEmpty && (a==null || a.isEmpty(i)) )
 					continue; //skip empty rows
@@ -622,29 +703,22 @@ public class LibMatrixBincell
 			}
 		}
 		
-		//no need to recomputeNonZeros since maintained in append value
+		return ret.recomputeNonZeros(rl, ru-1, 0, clen-1);
 	}
 
-	private static void safeBinaryMVGeneric(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	private static long safeBinaryMVGeneric(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru)
 		throws DMLRuntimeException 
 	{
 		boolean isMultiply = (op.fn instanceof Multiply);
 		boolean skipEmpty = (isMultiply);
-		int rlen = m1.rlen;
 		int clen = m1.clen;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 		
-		//early abort on skip and empty
-		if( skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) )
-			return; // skip entire empty block
-		
-		//allocate once in order to prevent repeated reallocation 
-		if( ret.sparse )
-			ret.allocateSparseRowsBlock();
+		//note: early abort on skip and empty in caller
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			for( int i=0; i<rlen; i++ )
+			for( int i=rl; i<ru; i++ )
 			{
 				//replicate vector value
 				double v2 = m2.quickGetValue(i, 0);
@@ -684,7 +758,7 @@ public class LibMatrixBincell
 					int blen = b.size(0); //always pos 0
 					int[] bix = b.indexes(0);
 					double[] bvals = b.values(0);
-					for( int i=0; i<rlen; i++ ) {
+					for( int i=rl; i<ru; i++ ) {
 						//for each row iterate only over non-zeros elements in rhs
 						for( int j=0; j<blen; j++ ) {
 							double v1 = m1.quickGetValue(i, bix[j]);
@@ -696,7 +770,7 @@ public class LibMatrixBincell
 			}
 			else //GENERAL CASE
 			{
-				for( int i=0; i<rlen; i++ )
+				for( int i=rl; i<ru; i++ )
 					for( int j=0; j<clen; j++ )
 					{
 						double v1 = m1.quickGetValue(i, j);
@@ -707,34 +781,26 @@ public class LibMatrixBincell
 			}
 		}
 			
-		//no need to recomputeNonZeros since maintained in append value
+		return ret.recomputeNonZeros(rl, ru-1, 0, clen-1);
 	}
 	
-	private static void safeBinaryVVGeneric(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	private static long safeBinaryVVGeneric(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru)
 		throws DMLRuntimeException 
 	{
-		int rlen = m1.rlen;
 		int clen = m2.clen;
 		
-		//allocate once in order to prevent repeated reallocation 
-		if( ret.sparse )
-			ret.allocateSparseRowsBlock();
-		
-		if(LibMatrixOuterAgg.isCompareOperator(op) && SortUtils.isSorted(0, m2.getNumColumns(), DataConverter.convertToDoubleVector(m2))) {
-			performBinOuterOperation(m1, m2, ret, op);
-		} else {
-			for(int r=0; r<rlen; r++) {
-				double v1 = m1.quickGetValue(r, 0);		
-				for(int c=0; c<clen; c++)
-				{
-					double v2 = m2.quickGetValue(0, c);
-					double v = op.fn.execute( v1, v2 );
-					ret.appendValue(r, c, v);	
-				}
-			}	
-		}	
+		//note: sorted compare operations handled via performBinOuterOperation
+		for(int r=rl; r<ru; r++) {
+			double v1 = m1.quickGetValue(r, 0);
+			for(int c=0; c<clen; c++)
+			{
+				double v2 = m2.quickGetValue(0, c);
+				double v = op.fn.execute( v1, v2 );
+				ret.appendValue(r, c, v);
+			}
+		}
 			
-		//no need to recomputeNonZeros since maintained in append value
+		return ret.recomputeNonZeros(rl, ru-1, 0, clen-1);
 	}
 	
 	/**
@@ -742,22 +808,21 @@ public class LibMatrixBincell
 	 * This will do cell wise operation for &lt;, &lt;=, &gt;, &gt;=, == and != operators.
 	 * 
 	 * @param mbLeft left matrix
-	 * @param mbRight right matrix
-	 * @param mbOut output matrix
+	 * @param bv sorted values of the right row vector
+	 * @param mbOut dense output matrix
 	 * @param bOp binary operator
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @return number of non-zeros in the given row range
 	 * 
 	 */
-	private static void performBinOuterOperation(MatrixBlock mbLeft, MatrixBlock mbRight, MatrixBlock mbOut, BinaryOperator bOp) 
+	private static long performBinOuterOperation(MatrixBlock mbLeft, double[] bv, MatrixBlock mbOut, BinaryOperator bOp, int rl, int ru)
 			throws DMLRuntimeException
 	{
-		int rlen = mbLeft.rlen;
-		double bv[] = DataConverter.convertToDoubleVector(mbRight); 
-		
-		if(!mbOut.isAllocated())
-			mbOut.allocateDenseBlock();
+		double[] c = mbOut.getDenseBlockValues();
 		
 		long lNNZ = 0;
-		for(int r=0; r<rlen; r++) {
+		for(int r=rl; r<ru; r++) {
 			double value = mbLeft.quickGetValue(r, 0);		
 			int ixPos1 = Arrays.binarySearch(bv, value);
 			int ixPos2 = ixPos1;
@@ -788,34 +853,32 @@ public class LibMatrixBincell
 				iEndPos = ixPos1;
 			}
 			if(iStartPos < iEndPos || bOp.fn instanceof NotEquals) {
-				int iOffSet = r*mbRight.getNumColumns();
+				int iOffSet = r*bv.length;
 				if(bOp.fn instanceof LessThan || bOp.fn instanceof GreaterThanEquals 
 						|| bOp.fn instanceof GreaterThan || bOp.fn instanceof LessThanEquals 
 						|| bOp.fn instanceof Equals)	{
-					Arrays.fill(mbOut.getDenseBlock(), iOffSet+iStartPos, iOffSet+iEndPos, 1.0);
+					Arrays.fill(c, iOffSet+iStartPos, iOffSet+iEndPos, 1.0);
 					lNNZ += (iEndPos-iStartPos);
 				}
 				else if (bOp.fn instanceof NotEquals) {
-					Arrays.fill(mbOut.getDenseBlock(), iOffSet, iOffSet+iStartPos, 1.0);
-					Arrays.fill(mbOut.getDenseBlock(), iOffSet+iEndPos, iOffSet+bv.length, 1.0);
+					Arrays.fill(c, iOffSet, iOffSet+iStartPos, 1.0);
+					Arrays.fill(c, iOffSet+iEndPos, iOffSet+bv.length, 1.0);
 					lNNZ += (iStartPos+(bv.length-iEndPos));
 				}
 			}
 		}
-		mbOut.setNonZeros(lNNZ);		
-		mbOut.examSparsity();
+		return lNNZ;
 	}
 
-	private static void unsafeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	private static long unsafeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op,
+			BinaryAccessType atype, int rl, int ru)
 		throws DMLRuntimeException 
 	{
-		int rlen = m1.rlen;
 		int clen = m1.clen;
-		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR ) //MATRIX - COL_VECTOR
 		{
-			for(int r=0; r<rlen; r++)
+			for(int r=rl; r<ru; r++)
 			{
 				//replicated value
 				double v2 = m2.quickGetValue(r, 0);
@@ -830,7 +893,7 @@ public class LibMatrixBincell
 		}
 		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR ) //MATRIX - ROW_VECTOR
 		{
-			for(int r=0; r<rlen; r++)
+			for(int r=rl; r<ru; r++)
 				for(int c=0; c<clen; c++)
 				{
 					double v1 = m1.quickGetValue(r, c);	
@@ -843,20 +906,14 @@ public class LibMatrixBincell
 		{
 			int clen2 = m2.clen; 
 			
-			//TODO performance improvement for relational operations like ">"
-			//sort rhs by val, compute cutoff and memset 1/0 for halfs
-	
-			if(LibMatrixOuterAgg.isCompareOperator(op) && SortUtils.isSorted(0, m2.getNumColumns(), DataConverter.convertToDoubleVector(m2))) {
-				performBinOuterOperation(m1, m2, ret, op);
-			} else {
-				for(int r=0; r<rlen; r++) {
-					double v1 = m1.quickGetValue(r, 0);		
-					for(int c=0; c<clen2; c++)
-					{
-						double v2 = m2.quickGetValue(0, c);
-						double v = op.fn.execute( v1, v2 );
-						ret.appendValue(r, c, v);	
-					}
+			//note: sorted compare operations handled via performBinOuterOperation
+			for(int r=rl; r<ru; r++) {
+				double v1 = m1.quickGetValue(r, 0);
+				for(int c=0; c<clen2; c++)
+				{
+					double v2 = m2.quickGetValue(0, c);
+					double v = op.fn.execute( v1, v2 );
+					ret.appendValue(r, c, v);
 				}
 			}
 		}
@@ -864,22 +921,22 @@ public class LibMatrixBincell
 		{
 			//dense non-empty vectors
 			if( m1.clen==1 && !m1.sparse && !m1.isEmptyBlock(false)   
-				&& !m2.sparse && !m2.isEmptyBlock(false)  )
+				&& !m2.sparse && !m2.isEmptyBlock(false) && !ret.sparse )
 			{
-				ret.allocateDenseBlock();
-				double[] a = m1.denseBlock;
-				double[] b = m2.denseBlock;
-				double[] c = ret.denseBlock;
-				for( int i=0; i<rlen; i++ ) {
+				double[] a = m1.getDenseBlockValues();
+				double[] b = m2.getDenseBlockValues();
+				double[] c = ret.getDenseBlockValues();
+				long nnz = 0;
+				for( int i=rl; i<ru; i++ ) {
 					c[i] = op.fn.execute( a[i], b[i] );
-					if( c[i] != 0 ) 
-						ret.nonZeros++;
+					nnz += (c[i] != 0) ? 1 : 0;
 				}
+				return nnz;
 			}
 			//general case
 			else 
 			{
-				for(int r=0; r<rlen; r++)
+				for(int r=rl; r<ru; r++)
 					for(int c=0; c<clen; c++)
 					{
 						double v1 = m1.quickGetValue(r, c);
@@ -889,6 +946,8 @@ public class LibMatrixBincell
 					}
 			}
 		}
+
+		return ret.recomputeNonZeros(rl, ru-1, 0, ret.clen-1);
 	}
 
 	private static void safeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op)
@@ -903,18 +962,77 @@ public class LibMatrixBincell
 		if( m1.sparse != ret.sparse )
 			throw new DMLRuntimeException("Unsupported safe binary scalar operations over different input/output representation: "+m1.sparse+" "+ret.sparse);
 		
+		//allocate sparse row structure or dense block (incl clear nnz)
+		if( m1.sparse )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlock(true);
+
+		//compute scalar operation, incl nnz maintenance
+		ret.nonZeros = executeBinaryScalar(m1, ret, op);
+	}
+
+	/**
+	 * Since this operation is sparse-unsafe, ret should always be passed in dense representation.
+	 *
+	 * @param m1 input matrix
+	 * @param m2 result matrix
+	 * @param op scalar operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void unsafeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op)
+		throws DMLRuntimeException
+	{
+		//early abort possible since sparsesafe
+		if( m1.isEmptyBlock(false) ) {
+			//compute 0 op constant once and set into dense output
+			double val = op.executeScalar(0);
+			if( val != 0 )
+				ret.reset(ret.rlen, ret.clen, val);
+			return;
+		}
+
+		//sanity check input/output sparsity
+		if( ret.sparse )
+			throw new DMLRuntimeException("Unsupported unsafe binary scalar operations over sparse output representation.");
+
+		//allocate dense block (if necessary), incl clear nnz
+		ret.allocateDenseBlock(true);
+
+		//compute scalar operation, incl nnz maintenance
+		ret.nonZeros = executeBinaryScalar(m1, ret, op);
+	}
+
+	private static long executeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op)
+		throws DMLRuntimeException
+	{
+		int k = op.getNumThreads();
+
+		//sequential or multi-threaded execution over row partitions
+		long work = (m1.sparse && ret.sparse) ? m1.nonZeros : (long)m1.rlen*m1.clen;
+		if( !satisfiesMultiThreadingConstraints(ret, work, k) )
+			return executeBinaryScalar(m1, ret, op, 0, m1.rlen);
+
+		ArrayList<BincellScalarTask> tasks = new ArrayList<BincellScalarTask>();
+		int blklen = (int)(Math.ceil((double)m1.rlen/k));
+		for( int i=0; i<k & i*blklen<m1.rlen; i++ )
+			tasks.add(new BincellScalarTask(m1, ret, op, i*blklen, Math.min((i+1)*blklen, m1.rlen)));
+		return executeTasks(tasks, k);
+	}
+
+	private static long executeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
 		boolean copyOnes = (op.fn instanceof NotEquals && op.getConstant()==0);
 		
-		if( m1.sparse ) //SPARSE <- SPARSE
+		if( m1.sparse && ret.sparse ) //SPARSE <- SPARSE
 		{	
-			//allocate sparse row structure
-			ret.allocateSparseRowsBlock();
 			SparseBlock a = m1.sparseBlock;
 			SparseBlock c = ret.sparseBlock;
-			int rlen = Math.min(m1.rlen, a.numRows());
+			int rlen = Math.min(ru, a.numRows());
 			
 			long nnz = 0;
-			for(int r=0; r<rlen; r++) {
+			for(int r=rl; r<rlen; r++) {
 				if( a.isEmpty(r) ) continue;
 				
 				int apos = a.pos(r);
@@ -947,89 +1065,139 @@ public class LibMatrixBincell
 					}
 				}
 			}
-			ret.nonZeros = nnz;
-		}
-		else { //DENSE <- DENSE
-			denseBinaryScalar(m1, ret, op);
-		}
-	}
-	
-	/**
-	 * Since this operation is sparse-unsafe, ret should always be passed in dense representation.
-	 * 
-	 * @param m1 input matrix
-	 * @param m2 result matrix
-	 * @param op scalar operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void unsafeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op)
-		throws DMLRuntimeException
-	{
-		//early abort possible since sparsesafe
-		if( m1.isEmptyBlock(false) ) {
-			//compute 0 op constant once and set into dense output
-			double val = op.executeScalar(0);
-			if( val != 0 )
-				ret.reset(ret.rlen, ret.clen, val);
-			return;
+			return nnz;
 		}
-		
-		//sanity check input/output sparsity
-		if( ret.sparse )
-			throw new DMLRuntimeException("Unsupported unsafe binary scalar operations over sparse output representation.");
-		
-		if( m1.sparse ) //SPARSE MATRIX
+		else if( m1.sparse ) //DENSE <- SPARSE
 		{
-			ret.allocateDenseBlock();
-			
 			SparseBlock a = m1.sparseBlock;
-			double[] c = ret.denseBlock;			
-			int m = m1.rlen;
+			DenseBlock c = ret.getDenseBlock();
 			int n = m1.clen;
 			
 			//init dense result with unsafe 0-value
 			double cval0 = op.executeScalar(0);
-			Arrays.fill(c, cval0);
+			c.set(rl, ru, 0, n, cval0);
 			
 			//compute non-zero input values
-			int nnz = m*n;
-			for(int i=0, cix=0; i<m; i++, cix+=n) {
+			long nnz = (cval0 != 0) ? (long)(ru-rl)*n : 0;
+			for(int i=rl; i<ru; i++) {
 				if( !a.isEmpty(i) ) {
 					int apos = a.pos(i);
 					int alen = a.size(i);
 					int[] aix = a.indexes(i);
 					double[] avals = a.values(i);
+					double[] cvals = c.values(i);
+					int cix = c.pos(i);
 					for(int j=apos; j<apos+alen; j++) {
 						double val = op.executeScalar(avals[j]);
-						c[ cix+aix[j] ] = val;
-						nnz -= (val==0) ? 1 : 0;
+						cvals[ cix+aix[j] ] = val;
+						nnz += ((val!=0) ? 1 : 0) - ((cval0!=0) ? 1 : 0);
 					}
 				}
 			}
-			ret.nonZeros = nnz;
+			return nnz;
 		}
-		else { //DENSE MATRIX
-			denseBinaryScalar(m1, ret, op);
+		else { //DENSE <- DENSE
+			return denseBinaryScalar(m1, ret, op, rl, ru);
 		}
 	}
 
-	private static void denseBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) 
+	private static long denseBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
 		throws DMLRuntimeException 
 	{
-		//allocate dense block (if necessary), incl clear nnz
-		ret.allocateDenseBlock(true);
-		
-		double[] a = m1.denseBlock;
-		double[] c = ret.denseBlock;
+		DenseBlock a = m1.getDenseBlock();
+		DenseBlock c = ret.getDenseBlock();
+		int n = m1.clen;
 		
 		//compute scalar operation, incl nnz maintenance
-		int limit = m1.rlen*m1.clen;
-		int nnz = 0;
-		for( int i=0; i<limit; i++ ) {
-			c[i] = op.executeScalar( a[i] );
-			nnz += (c[i] != 0) ? 1 : 0;
+		//(equal dimensions guarantee aligned row blocks)
+		long nnz = 0;
+		int bl = c.index(rl), bu = c.index(ru-1);
+		for( int bi=bl; bi<=bu; bi++ ) {
+			double[] avals = a.valuesAt(bi);
+			double[] cvals = c.valuesAt(bi);
+			int ce = (bi==bu) ? c.pos(ru-1)+n : c.size(bi);
+			for( int i=(bi==bl)?c.pos(rl):0; i<ce; i++ ) {
+				cvals[i] = op.executeScalar( avals[i] );
+				nnz += (cvals[i] != 0) ? 1 : 0;
+			}
+		}
+		return nnz;
+	}
+
+	private static void denseBinaryInPlace(MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op)
+		throws DMLRuntimeException
+	{
+		int k = op.getNumThreads();
+		int m = m1ret.rlen;
+
+		//sequential or multi-threaded execution over row partitions
+		if( !satisfiesMultiThreadingConstraints(m1ret, (long)m*m1ret.clen, k) ) {
+			m1ret.nonZeros = denseBinaryInPlace(m1ret, m2, op, 0, m);
+		}
+		else {
+			ArrayList<BincellInPlaceTask> tasks = new ArrayList<BincellInPlaceTask>();
+			int blklen = (int)(Math.ceil((double)m/k));
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new BincellInPlaceTask(m1ret, m2, op, i*blklen, Math.min((i+1)*blklen, m)));
+			m1ret.nonZeros = executeTasks(tasks, k);
+		}
+	}
+
+	private static long denseBinaryInPlace(MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		DenseBlock a = m1ret.getDenseBlock();
+		DenseBlock b = m2.getDenseBlock();
+		int n = m1ret.clen;
+		ValueFunction fn = op.fn;
+
+		//compute dense-dense binary in-place, maintain nnz on-the-fly
+		//(equal dimensions guarantee aligned row blocks)
+		long nnz = 0;
+		int bl = a.index(rl), bu = a.index(ru-1);
+		for( int bi=bl; bi<=bu; bi++ ) {
+			double[] avals = a.valuesAt(bi);
+			double[] bvals = b.valuesAt(bi);
+			int ae = (bi==bu) ? a.pos(ru-1)+n : a.size(bi);
+			for( int i=(bi==bl)?a.pos(rl):0; i<ae; i++ ) {
+				avals[i] = fn.execute(avals[i], bvals[i]);
+				nnz += (avals[i]!=0) ? 1 : 0;
+			}
+		}
+		return nnz;
+	}
+
+	private static boolean isAligned(SparseBlock a, SparseBlock b, int rl, int ru) {
+		//note: row-range variant of SparseBlock.isAligned for row partitions
+		for( int i=rl; i<ru; i++ )
+			if( !a.isAligned(i, b) )
+				return false;
+		return true;
+	}
+
+	private static boolean satisfiesMultiThreadingConstraints(MatrixBlock ret, long work, int k) {
+		//note: output must allow concurrent updates of disjoint rows (dense or mcsr)
+		return k > 1 && ret.rlen > 1 && work >= PAR_NUMCELL_THRESHOLD
+			&& ret.isThreadSafe();
+	}
+
+	private static long executeTasks(List<? extends Callable<Long>> tasks, int k)
+		throws DMLRuntimeException
+	{
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			List<Future<Long>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+
+			//aggregate partial nnz
+			long nnz = 0;
+			for( Future<Long> task : rtasks )
+				nnz += task.get();
+			return nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
 		}
-		ret.nonZeros = nnz;
 	}
 
 	private static void safeBinaryInPlace(MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op) 
@@ -1105,9 +1273,10 @@ public class LibMatrixBincell
 				for(int r=0; r<rlen; r++)
 				{
 					if( !b.isEmpty(r) ) {
+						//set row before append, otherwise the appended values are overwritten
 						SparseRow tmp = new SparseRowVector( b.size(r), clen );
-						appendRightForSparseBinary(op, b.values(r), b.indexes(r), b.pos(r), b.size(r), 0, r, m1ret);
 						m1ret.sparseBlock.set(r, tmp, false);
+						appendRightForSparseBinary(op, b.values(r), b.indexes(r), b.pos(r), b.size(r), 0, r, m1ret);
 					}
 				}				
 			}
@@ -1257,5 +1426,85 @@ public class LibMatrixBincell
 		}
 	}
 	
-}
+	/////////////////////////////////////////////////////////
+	// Task Implementations for Multi-Threaded Operations  //
+	/////////////////////////////////////////////////////////
+
+	private static class BincellTask implements Callable<Long>
+	{
+		private final MatrixBlock _m1;
+		private final MatrixBlock _m2;
+		private final MatrixBlock _ret;
+		private final BinaryOperator _op;
+		private final BinaryAccessType _atype;
+		private final double[] _bv;
+		private final boolean _safe;
+		private final int _rl;
+		private final int _ru;
+
+		protected BincellTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op,
+				BinaryAccessType atype, double[] bv, boolean safe, int rl, int ru ) {
+			_m1 = m1;
+			_m2 = m2;
+			_ret = ret;
+			_op = op;
+			_atype = atype;
+			_bv = bv;
+			_safe = safe;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Long call() throws DMLRuntimeException {
+			//execute binary operation on row partition
+			return executeBinary(_m1, _m2, _ret, _op, _atype, _bv, _safe, _rl, _ru);
+		}
+	}
+
+	private static class BincellScalarTask implements Callable<Long>
+	{
+		private final MatrixBlock _m1;
+		private final MatrixBlock _ret;
+		private final ScalarOperator _op;
+		private final int _rl;
+		private final int _ru;
 
+		protected BincellScalarTask( MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru ) {
+			_m1 = m1;
+			_ret = ret;
+			_op = op;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Long call() throws DMLRuntimeException {
+			//execute scalar operation on row partition
+			return executeBinaryScalar(_m1, _ret, _op, _rl, _ru);
+		}
+	}
+
+	private static class BincellInPlaceTask implements Callable<Long>
+	{
+		private final MatrixBlock _m1ret;
+		private final MatrixBlock _m2;
+		private final BinaryOperator _op;
+		private final int _rl;
+		private final int _ru;
+
+		protected BincellInPlaceTask( MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op, int rl, int ru ) {
+			_m1ret = m1ret;
+			_m2 = m2;
+			_op = op;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Long call() throws DMLRuntimeException {
+			//execute in-place binary operation on row partition
+			return denseBinaryInPlace(_m1ret, _m2, _op, _rl, _ru);
+		}
+	}
+}
@@ -22,7 +22,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -33,6 +32,7 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.ConvolutionUtils;
 import org.apache.sysml.utils.Statistics;
 
@@ -415,7 +415,7 @@ public class LibMatrixDNN {
 			throw new DMLRuntimeException("Incorrect inputs for bias_add: input[" + N + " X " + input.getNumColumns()  + "] and bias[" + K + " X " + bias.getNumColumns() + "]");
 		}
 		
-		double [] outputArray = outputBlock.getDenseBlock();
+		double [] outputArray = outputBlock.getDenseBlockValues();
 		if(input.isEmptyBlock()) {
 			for(int n = 0;  n < N; n++) 
 				ConvolutionUtils.fillBias(bias, outputArray, n, n+1, N, K, PQ);
@@ -426,7 +426,7 @@ public class LibMatrixDNN {
 			int index = 0;
 			if(bias.isInSparseFormat())
 				bias.sparseToDense(); // Since bias is extremely small array
-			double [] biasArr = bias.getDenseBlock();
+			double [] biasArr = bias.getDenseBlockValues();
 			for(int n = 0; n < N; n++) {
 				for(int k = 0; k < K; k++) {
 					for(int pq = 0; pq < PQ; pq++, index++) {
@@ -470,11 +470,11 @@ public class LibMatrixDNN {
 		if(!input.isEmptyBlock() && !bias.isEmptyBlock()) {
 			// Handles both dense and sparse inputs and copies it to dense output
 			outputBlock.copy(input); 
-			double [] outputArray = outputBlock.getDenseBlock();
+			double [] outputArray = outputBlock.getDenseBlockValues();
 			int index = 0;
 			if(bias.isInSparseFormat())
 				bias.sparseToDense(); // Since bias is extremely small array
-			double [] biasArr = bias.getDenseBlock();
+			double [] biasArr = bias.getDenseBlockValues();
 			for(int n = 0; n < N; n++) {
 				for(int k = 0; k < K; k++) {
 					for(int pq = 0; pq < PQ; pq++, index++) {
@@ -525,7 +525,7 @@ public class LibMatrixDNN {
 				}
 			}
 			else {
-				ExecutorService pool = Executors.newFixedThreadPool( Math.min(k, params.N) );
+				ExecutorService pool = CommonThreadPool.get( Math.min(k, params.N) );
 				List<Future<Long>> taskret = pool.invokeAll(tasks);
 				pool.shutdown();
 				for( Future<Long> task : taskret )
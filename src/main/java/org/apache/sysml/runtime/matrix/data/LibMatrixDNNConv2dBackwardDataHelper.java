@@ -46,7 +46,7 @@ public class LibMatrixDNNConv2dBackwardDataHelper {
 		public Long call() throws Exception {
 			int CHW = _params.C*_params.H*_params.W;
 			double [] ret = new double[CHW];
-			double [] filterArr = _params.input1.getDenseBlock();
+			double [] filterArr = _params.input1.getDenseBlockValues();
 			double [] dout_n = new double[_params.P*_params.Q*_params.K];
 			for(int n = _rl; n < _ru; n++) {
 				LibMatrixDNNHelper.getRowInDenseFormat(_params.input2, n, dout_n);
@@ -55,7 +55,7 @@ public class LibMatrixDNNConv2dBackwardDataHelper {
 				NativeHelper.conv2dBackwardDataDense(filterArr, dout_n, ret, 1, 
 						_params.C, _params.H, _params.W, _params.K, 
 						_params.R, _params.S, _params.stride_h, _params.stride_w, _params.pad_h, _params.pad_w, _params.P, _params.Q, 1);
-				System.arraycopy(ret, 0, _params.output.getDenseBlock(), n*CHW, CHW);
+				System.arraycopy(ret, 0, _params.output.getDenseBlockValues(), n*CHW, CHW);
 			}
 			return 0L;
 		}
@@ -81,7 +81,7 @@ public class LibMatrixDNNConv2dBackwardDataHelper {
 			MatrixBlock dout_reshaped = new MatrixBlock(PQ, K, false);
 			dout_reshaped.allocateDenseBlock();
 			LibMatrixDNNRotate180Helper.Rotate180Worker rotate180Worker = 
-					LibMatrixDNNRotate180Helper.Rotate180Worker.getWorker( dout, dout_reshaped.getDenseBlock(), _params, true);
+					LibMatrixDNNRotate180Helper.Rotate180Worker.getWorker( dout, dout_reshaped.getDenseBlockValues(), _params, true);
 			long time1 = 0; long time2 = 0;
 			for(int n = _rl; n < _ru; n++)  {
 				// rotate180(dout[n,]) => dout_reshaped
@@ -89,7 +89,7 @@ public class LibMatrixDNNConv2dBackwardFilterHelper {
 			dout_reshaped.allocateDenseBlock();
 			LibMatrixDNNIm2ColHelper.Im2colWorker im2ColWorker = LibMatrixDNNIm2ColHelper.Im2colWorker.getWorker( _params.input1, im2ColOutBlock, _params, true);
 			LibMatrixDNNRotate180Helper.Rotate180Worker rotate180Worker = 
-					LibMatrixDNNRotate180Helper.Rotate180Worker.getWorker( dout, dout_reshaped.getDenseBlock(), _params, true);
+					LibMatrixDNNRotate180Helper.Rotate180Worker.getWorker( dout, dout_reshaped.getDenseBlockValues(), _params, true);
 			double [] partialRetBlock = new double[CRS*_params.K];
 			long time1 = 0; long time2 = 0;
 			for(int n = _rl; n < _ru; n++) {
@@ -127,7 +127,7 @@ public class LibMatrixDNNConv2dBackwardFilterHelper {
 	private static synchronized void inplaceTransposedAddition(double [] partialRetBlock, ConvolutionParameters params) {
 		// Perform transposed addition: output of size [K, CRS] += partialRetBlock of size [CRS,K]
 		int iter = 0; int CRS = params.C*params.R*params.S; int K = params.K;
-		double [] outputArr = params.output.denseBlock;
+		double [] outputArr = params.output.getDenseBlockValues();
 		for(int i = 0; i < CRS; i++) {
 			for(int j = 0; j < K; j++, iter++) {
 				int index = j*CRS+i;
@@ -19,9 +19,11 @@
 package org.apache.sysml.runtime.matrix.data;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 
 import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.utils.NativeHelper;
 
 /**
@@ -68,13 +70,13 @@ public class LibMatrixDNNConv2dHelper {
 						time2 += t3 - t2;
 					}
 					
-					// Add the matrix matMultOutBlock of shape [K X PQ] to params.output.denseBlock + destPos
-					add(matMultOutBlock, _params.output.getDenseBlock(), n*K*PQ, K, PQ);
+					// Add the matrix matMultOutBlock of shape [K X PQ] to params.output.getDenseBlockValues() + destPos
+					add(matMultOutBlock, _params.output.getDenseBlockValues(), n*K*PQ, K, PQ);
 				}
 			}
 			if(_params.bias != null) {
 				// bias is always converted to dense format
-				LibMatrixDNNHelper.addBias(_rl, _ru, _params.output.getDenseBlock(), _params.bias.getDenseBlock(), K, PQ);
+				LibMatrixDNNHelper.addBias(_rl, _ru, _params.output.getDenseBlockValues(), _params.bias.getDenseBlockValues(), K, PQ);
 			}
 			if(DMLScript.STATISTICS && LibMatrixDNN.DISPLAY_STATISTICS) {
 				LibMatrixDNN.loopedConvIm2ColTime.addAndGet(time1);
@@ -83,14 +85,14 @@ public class LibMatrixDNNConv2dHelper {
 			return 0L;
 		}
 		
-		// Copy the matrix src of shape [K X PQ] to params.output.denseBlock + destPos
+		// Copy the matrix src of shape [K X PQ] to params.output.getDenseBlockValues() + destPos
 		private void add(MatrixBlock src, double [] dest, int destPos, int K, int PQ) {
 			// Copying is required as LibMatrixMult.matrixMult (and/or Java) is not pointer aware.
 			// This is not required in Native implementation
 			if(!src.isEmptyBlock()) {
 				if(src.isInSparseFormat()) {
 					// Copy the sparse matrix matMultOutBlock of shape [K X PQ] to 
-					// params.output.denseBlock + destPos
+					// params.output.getDenseBlockValues() + destPos
 					for(int k = 0; k < src.getNumRows(); k++) {
 						if( !src.sparseBlock.isEmpty(k) ) {
 							int apos = src.sparseBlock.pos(k);
@@ -106,7 +108,7 @@ public class LibMatrixDNNConv2dHelper {
 				}
 				else {
 					for(int i = 0; i < K * PQ; i++) {
-						dest[destPos+i] += src.denseBlock[i];
+						dest[destPos+i] += src.getDenseBlockValues()[i];
 					}
 				}
 			}
@@ -148,12 +150,12 @@ public class LibMatrixDNNConv2dHelper {
 					time2 += t3 - t2;
 				}
 				
-				// Copy the matrix matMultOutBlock of shape [K X PQ] to params.output.denseBlock + destPos
-				partialCopy1(matMultOutBlock, _params.output.getDenseBlock(), n*K*PQ, K, PQ);
+				// Copy the matrix matMultOutBlock of shape [K X PQ] to params.output.getDenseBlockValues() + destPos
+				partialCopy1(matMultOutBlock, _params.output.getDenseBlockValues(), n*K*PQ, K, PQ);
 			}
 			if(_params.bias != null) {
 				// bias is always converted to dense format
-				LibMatrixDNNHelper.addBias(_rl, _ru, _params.output.getDenseBlock(), _params.bias.getDenseBlock(), K, PQ);
+				LibMatrixDNNHelper.addBias(_rl, _ru, _params.output.getDenseBlockValues(), _params.bias.getDenseBlockValues(), K, PQ);
 			}
 			if(DMLScript.STATISTICS && LibMatrixDNN.DISPLAY_STATISTICS) {
 				LibMatrixDNN.loopedConvIm2ColTime.addAndGet(time1);
@@ -162,14 +164,14 @@ public class LibMatrixDNNConv2dHelper {
 			return 0L;
 		}
 		
-		// Copy the matrix src of shape [K X PQ] to params.output.denseBlock + destPos
+		// Copy the matrix src of shape [K X PQ] to params.output.getDenseBlockValues() + destPos
 		private void partialCopy1(MatrixBlock src, double [] dest, int destPos, int K, int PQ) {
 			// Copying is required as LibMatrixMult.matrixMult (and/or Java) is not pointer aware.
 			// This is not required in Native implementation
 			if(!src.isEmptyBlock()) {
 				if(src.isInSparseFormat()) {
 					// Copy the sparse matrix matMultOutBlock of shape [K X PQ] to 
-					// params.output.denseBlock + destPos
+					// params.output.getDenseBlockValues() + destPos
 					for(int k = 0; k < src.getNumRows(); k++) {
 						if( !src.sparseBlock.isEmpty(k) ) {
 							int apos = src.sparseBlock.pos(k);
@@ -184,12 +186,67 @@ public class LibMatrixDNNConv2dHelper {
 					}
 				}
 				else 
-					System.arraycopy(src.denseBlock, 0, dest, destPos, K * PQ);
+					System.arraycopy(src.getDenseBlockValues(), 0, dest, destPos, K * PQ);
 			}
 		}
 	}
 	
 	
+	/**
+	 * Performs convolution of individual images via filter %*% im2col(input) into
+	 * a dense buffer of shape [K X PQ]. This allows fused operators to apply 
+	 * subsequent operations per image while the convolution output is in cache.
+	 */
+	public static class Im2ColConv2dSingleImage
+	{
+		private final ConvolutionParameters _params;
+		private final MatrixBlock _im2ColOutBlock;
+		private final LibMatrixDNNIm2ColHelper.Im2colWorker _im2ColWorker;
+		
+		public Im2ColConv2dSingleImage(ConvolutionParameters params) {
+			_params = params;
+			_im2ColOutBlock = new MatrixBlock(params.C*params.R*params.S, params.P*params.Q, false);
+			_im2ColOutBlock.allocateDenseBlock();
+			_im2ColWorker = params.input1.isEmptyBlock(false) ? null :
+				LibMatrixDNNIm2ColHelper.Im2colWorker.getWorker(params.input1, _im2ColOutBlock, params, true);
+		}
+		
+		public void execute(int n, double[] out) throws DMLRuntimeException {
+			int K = _params.K; int PQ = _params.P*_params.Q;
+			Arrays.fill(out, 0, K*PQ, 0);
+			
+			// skip empty images (all-zero convolution output)
+			if( _im2ColWorker == null || (_params.input1.isInSparseFormat() 
+				&& _params.input1.getSparseBlock().isEmpty(n)) )
+				return;
+			
+			// im2col(input) => _im2ColOutBlock
+			_im2ColWorker.execute(n);
+			
+			// filter %*% _im2ColOutBlock => matMultOutBlock
+			MatrixBlock matMultOutBlock = new MatrixBlock(K, PQ, false);
+			LibMatrixDNNHelper.singleThreadedMatMult(_params.input2, _im2ColOutBlock, matMultOutBlock, false, true, _params);
+			
+			// copy the matrix matMultOutBlock of shape [K X PQ] to out
+			if( matMultOutBlock.isEmptyBlock(false) )
+				return;
+			if( matMultOutBlock.isInSparseFormat() ) {
+				SparseBlock sblock = matMultOutBlock.getSparseBlock();
+				for(int k = 0; k < K; k++) {
+					if( sblock.isEmpty(k) ) continue;
+					int apos = sblock.pos(k);
+					int alen = sblock.size(k);
+					int[] aix = sblock.indexes(k);
+					double[] avals = sblock.values(k);
+					for(int j = apos; j < apos+alen; j++)
+						out[k*PQ + aix[j]] = avals[j];
+				}
+			}
+			else
+				System.arraycopy(matMultOutBlock.getDenseBlockValues(), 0, out, 0, K*PQ);
+		}
+	}
+	
 	/**
 	 * This operator is used only if native is enabled, filter is dense and input is sparse
 	 */
@@ -212,10 +269,10 @@ public class LibMatrixDNNConv2dHelper {
 					int alen = _params.input1.getSparseBlock().size(n);
 					int[] aix = _params.input1.getSparseBlock().indexes(n);
 					double[] avals = _params.input1.getSparseBlock().values(n);
-					NativeHelper.conv2dSparse(apos, alen, aix, avals, _params.input2.getDenseBlock(), temp, 
+					NativeHelper.conv2dSparse(apos, alen, aix, avals, _params.input2.getDenseBlockValues(), temp, 
 							1, _params.C, _params.H, _params.W, _params.K, _params.R, _params.S, 
 							_params.stride_h, _params.stride_w, _params.pad_h, _params.pad_w, _params.P, _params.Q, 1);
-					System.arraycopy(temp, 0, _params.output.denseBlock, n*KPQ, KPQ);
+					System.arraycopy(temp, 0, _params.output.getDenseBlockValues(), n*KPQ, KPQ);
 				}
 			}
 			return 0L;
@@ -25,7 +25,6 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.commons.math3.util.FastMath;
@@ -36,9 +35,12 @@ import org.apache.sysml.lops.WeightedSigmoid.WSigmoidType;
 import org.apache.sysml.lops.WeightedSquaredLoss.WeightsType;
 import org.apache.sysml.lops.WeightedUnaryMM.WUMMType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.Plus;
 import org.apache.sysml.runtime.functionobjects.SwapIndex;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
@@ -131,6 +133,12 @@ public class LibMatrixMult
 			ret.examSparsity(); //turn empty dense into sparse
 			return;
 		}
+		
+		//large dense inputs or outputs (decomposition into single-block mm)
+		if( rl == 0 && ru == m1.rlen && isLargeDenseMatrixMult(m1, m2) ) {
+			matrixMultLargeDense(m1, m2, ret, 1, examSparsity);
+			return;
+		}
 			
 		//Timing time = new Timing(true);
 			
@@ -188,6 +196,12 @@ public class LibMatrixMult
 			ret.examSparsity(); //turn empty dense into sparse
 			return;
 		}
+		
+		//large dense inputs or outputs (decomposition into single-block mm)
+		if( isLargeDenseMatrixMult(m1, m2) ) {
+			matrixMultLargeDense(m1, m2, ret, k, true);
+			return;
+		}
 			
 		//check too high additional vector-matrix memory requirements (fallback to sequential)
 		//check too small workload in terms of flops (fallback to sequential too)
@@ -223,7 +237,7 @@ public class LibMatrixMult
 		//core multi-threaded matrix mult computation
 		//(currently: always parallelization over number of rows)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<MatrixMultTask> tasks = new ArrayList<MatrixMultTask>();
 			int nk = (pm2r||pm2c) ? k : UtilFunctions.roundToNext(Math.min(8*k,num/32), k);
 			ArrayList<Integer> blklens = getBalancedBlockSizes(num, nk);
@@ -236,7 +250,7 @@ public class LibMatrixMult
 			ret.nonZeros = 0; //reset after execute
 			for( Future<Object> task : taskret ) {
 				if( pm2r )
-					vectAdd((double[])task.get(), ret.denseBlock, 0, 0, ret.rlen*ret.clen);
+					vectAdd((double[])task.get(), ret.getDenseBlockValues(), 0, 0, ret.rlen*ret.clen);
 				else
 					ret.nonZeros += (Long)task.get();
 			}
@@ -339,7 +353,7 @@ public class LibMatrixMult
 		//core matrix mult chain computation
 		//(currently: always parallelization over number of rows)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<MatrixMultChainTask> tasks = new ArrayList<MatrixMultChainTask>();
 			int blklen = (int)(Math.ceil((double)mX.rlen/k));
 			blklen += (blklen%24 != 0)?24-blklen%24:0;
@@ -350,7 +364,7 @@ public class LibMatrixMult
 			pool.shutdown();
 			//aggregate partial results
 			for( Future<double[]> task : taskret )
-				vectAdd(task.get(), ret.denseBlock, 0, 0, mX.clen);
+				vectAdd(task.get(), ret.getDenseBlockValues(), 0, 0, mX.clen);
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException(ex);
@@ -421,7 +435,7 @@ public class LibMatrixMult
 	
 		//core multi-threaded matrix mult computation
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<MatrixMultTransposeTask> tasks = new ArrayList<MatrixMultTransposeTask>();
 			//load balance via #tasks=2k due to triangular shape 
 			int blklen = (int)(Math.ceil((double)ret.rlen/(2*k)));
@@ -501,7 +515,7 @@ public class LibMatrixMult
 		
 		try
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultPermuteTask> tasks = new ArrayList<MatrixMultPermuteTask>();
 			int blklen = (int)(Math.ceil((double)pm1.rlen/k));
 			for( int i=0; i<k & i*blklen<pm1.rlen; i++ )
@@ -572,7 +586,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWSLossTask> tasks = new ArrayList<MatrixMultWSLossTask>();
 			int blklen = (int)(Math.ceil((double)mX.rlen/k));
 			for( int i=0; i<k & i*blklen<mX.rlen; i++ )
@@ -644,7 +658,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWSigmoidTask> tasks = new ArrayList<MatrixMultWSigmoidTask>();
 			int blklen = (int)(Math.ceil((double)mW.rlen/k));
 			for( int i=0; i<k & i*blklen<mW.rlen; i++ )
@@ -759,7 +773,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWDivTask> tasks = new ArrayList<MatrixMultWDivTask>();			
 			//create tasks (for wdivmm-left, parallelization over columns;
 			//for wdivmm-right, parallelization over rows; both ensure disjoint results)
@@ -836,7 +850,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWCeTask> tasks = new ArrayList<MatrixMultWCeTask>();
 			int blklen = (int)(Math.ceil((double)mW.rlen/k));
 			for( int i=0; i<k & i*blklen<mW.rlen; i++ )
@@ -908,7 +922,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWuTask> tasks = new ArrayList<MatrixMultWuTask>();
 			int blklen = (int)(Math.ceil((double)mW.rlen/k));
 			for( int i=0; i<k & i*blklen<mW.rlen; i++ )
@@ -936,12 +950,70 @@ public class LibMatrixMult
 	// optimized matrix mult implementation //
 	//////////////////////////////////////////
 
+	/**
+	 * Matrix multiplication over large dense blocks beyond 2^31 cells, which
+	 * decomposes the computation into row partitions of m1 and common dimension
+	 * partitions of m2 such that all partial inputs and outputs are single-block
+	 * dense arrays. The partial results are accumulated and copied into the 
+	 * corresponding row range of the output.
+	 * 
+	 * @param m1 first matrix
+	 * @param m2 second matrix
+	 * @param ret result matrix
+	 * @param k maximum parallelism for partial matrix multiplications
+	 * @param examSparsity if false, sparsity examination is disabled
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void matrixMultLargeDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int k, boolean examSparsity) 
+		throws DMLRuntimeException
+	{
+		final int m = m1.rlen;
+		final int cd = m1.clen;
+		final int n = m2.clen;
+		
+		//determine row and common dimension partitions
+		int blen = Math.max(DenseBlockFactory.MAX_DRB_SIZE / Math.max(Math.max(cd, n), 1), 1);
+		int cdlen = (!m2.sparse && !m2.getDenseBlock().isContiguous()) ?
+			m2.getDenseBlock().blockSize() : cd;
+		
+		//allocate dense output (multiple row blocks if necessary)
+		ret.reset(m, n, false);
+		ret.allocateDenseBlock();
+		
+		BinaryOperator plus = new BinaryOperator(Plus.getPlusFnObject());
+		for( int rl=0; rl<m; rl+=blen ) {
+			int ru = Math.min(rl+blen, m);
+			MatrixBlock part = null;
+			for( int cl=0; cl<cd; cl+=cdlen ) {
+				int cu = Math.min(cl+cdlen, cd);
+				MatrixBlock a = m1.sliceOperations(rl, ru-1, cl, cu-1, new MatrixBlock());
+				MatrixBlock b = (cdlen == cd) ? m2 : 
+					m2.sliceOperations(cl, cu-1, 0, n-1, new MatrixBlock());
+				MatrixBlock tmp = new MatrixBlock(ru-rl, n, false);
+				if( k > 1 )
+					matrixMult(a, b, tmp, k);
+				else
+					matrixMult(a, b, tmp);
+				if( part == null )
+					part = tmp;
+				else
+					part.binaryOperationsInPlace(plus, tmp);
+			}
+			ret.copy(rl, ru-1, 0, n-1, part, false);
+		}
+		
+		//post-processing: nnz/representation
+		ret.recomputeNonZeros();
+		if( examSparsity )
+			ret.examSparsity();
+	}
+
 	private static void matrixMultDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean tm2, boolean pm2, int rl, int ru, int cl, int cu) 
 		throws DMLRuntimeException
 	{			
-		double[] a = m1.denseBlock;
-		double[] b = m2.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] a = m1.getDenseBlockValues();
+		double[] b = m2.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		final int m = m1.rlen;
 		final int n = m2.clen;
 		final int cd = m1.clen;
@@ -1106,8 +1178,8 @@ public class LibMatrixMult
 	private static void matrixMultDenseSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean pm2, int rl, int ru) 
 		throws DMLRuntimeException 
 	{	
-		double[] a = m1.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] a = m1.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		int m = m1.rlen;
 		int cd = m1.clen;
 		int n = m2.clen;
@@ -1180,8 +1252,8 @@ public class LibMatrixMult
 	private static void matrixMultSparseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean pm2, int rl, int ru) 
 		throws DMLRuntimeException
 	{	
-		double[] b = m2.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] b = m2.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		final int m = m1.rlen;
 		final int n = m2.clen;
 		final int cd = m2.rlen;
@@ -1368,7 +1440,7 @@ public class LibMatrixMult
 	{	
 		SparseBlock a = m1.sparseBlock;
 		SparseBlock b = m2.sparseBlock;
-		double[] c = ret.denseBlock;
+		double[] c = ret.getDenseBlockValues();
 		int m = m1.rlen;
 		int cd = m1.clen;
 		int n = m2.clen;
@@ -1569,10 +1641,10 @@ public class LibMatrixMult
 
 	private static void matrixMultChainDense(MatrixBlock mX, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, ChainType ct, int rl, int ru) 
 	{
-		double[] a = mX.denseBlock;
-		double[] b = mV.denseBlock;
-		double[] w = (mW!=null) ? mW.denseBlock : null;
-		double[] c = ret.denseBlock;
+		double[] a = mX.getDenseBlockValues();
+		double[] b = mV.getDenseBlockValues();
+		double[] w = (mW!=null) ? mW.getDenseBlockValues() : null;
+		double[] c = ret.getDenseBlockValues();
 		final int cd = mX.clen; //features in X
 		boolean weights = (ct == ChainType.XtwXv);
 		boolean weights2 = (ct == ChainType.XtXvy);
@@ -1613,9 +1685,9 @@ public class LibMatrixMult
 	private static void matrixMultChainSparse(MatrixBlock mX, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, ChainType ct, int rl, int ru) 
 	{
 		SparseBlock a = mX.sparseBlock;
-		double[] b = mV.denseBlock;
-		double[] w = (mW!=null) ? mW.denseBlock : null;
-		double[] c = ret.denseBlock;
+		double[] b = mV.getDenseBlockValues();
+		double[] w = (mW!=null) ? mW.getDenseBlockValues() : null;
+		double[] c = ret.getDenseBlockValues();
 		boolean weights = (ct == ChainType.XtwXv);
 		boolean weights2 = (ct == ChainType.XtXvy);
 		
@@ -1663,8 +1735,8 @@ public class LibMatrixMult
 	{
 		//2) transpose self matrix multiply dense
 		// (compute only upper-triangular matrix due to symmetry)
-		double[] a = m1.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] a = m1.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		int m = m1.rlen;
 		int n = m1.clen;
 		
@@ -1795,7 +1867,7 @@ public class LibMatrixMult
 		//2) transpose self matrix multiply sparse
 		// (compute only upper-triangular matrix due to symmetry)		
 		SparseBlock a = m1.sparseBlock;
-		double[] c = ret.denseBlock;
+		double[] c = ret.getDenseBlockValues();
 		int m = m1.rlen;
 		int n = m1.clen;
 
@@ -1918,9 +1990,9 @@ public class LibMatrixMult
 	private static void matrixMultPermuteDense(MatrixBlock pm1, MatrixBlock m2, MatrixBlock ret1, MatrixBlock ret2, int rl, int ru) 
 		throws DMLRuntimeException
 	{
-		double[] a = pm1.denseBlock;
-		double[] b = m2.denseBlock;
-		double[] c = ret1.denseBlock;
+		double[] a = pm1.getDenseBlockValues();
+		double[] b = m2.getDenseBlockValues();
+		double[] c = ret1.getDenseBlockValues();
 
 		final int n = m2.clen;
 		final int brlen = ret1.getNumRows();
@@ -1941,7 +2013,7 @@ public class LibMatrixMult
 				if( lastblk!=-1 && lastblk<blk ){ 
 					ret2.sparse = false;
 					ret2.allocateDenseBlock();
-					c = ret2.denseBlock;		
+					c = ret2.getDenseBlockValues();		
 				}
 		
 				//memcopy entire dense row into target position
@@ -1953,8 +2025,8 @@ public class LibMatrixMult
 
 	private static void matrixMultPermuteDenseSparse( MatrixBlock pm1, MatrixBlock m2, MatrixBlock ret1, MatrixBlock ret2, int rl, int ru)
 	{
-		double[] a = pm1.denseBlock;
-		double[] b = m2.denseBlock;
+		double[] a = pm1.getDenseBlockValues();
+		double[] b = m2.getDenseBlockValues();
 		SparseBlock c = ret1.sparseBlock;
 
 		final int n = m2.clen;
@@ -1990,7 +2062,7 @@ public class LibMatrixMult
 
 	private static void matrixMultPermuteSparse( MatrixBlock pm1, MatrixBlock m2, MatrixBlock ret1, MatrixBlock ret2, int rl, int ru)
 	{
-		double[] a = pm1.denseBlock;
+		double[] a = pm1.getDenseBlockValues();
 		SparseBlock b = m2.sparseBlock;
 		SparseBlock c = ret1.sparseBlock;
 
@@ -2024,10 +2096,10 @@ public class LibMatrixMult
 
 	private static void matrixMultWSLossDense(MatrixBlock mX, MatrixBlock mU, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, WeightsType wt, int rl, int ru)
 	{
-		double[] x = mX.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
-		double[] w = (mW!=null)? mW.denseBlock : null;
+		double[] x = mX.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
+		double[] w = (mW!=null)? mW.getDenseBlockValues() : null;
 		final int n = mX.clen;
 		final int cd = mU.clen;
 		double wsloss = 0;
@@ -2099,8 +2171,8 @@ public class LibMatrixMult
 	{
 		SparseBlock x = mX.sparseBlock;
 		SparseBlock w = (mW!=null)? mW.sparseBlock : null;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mX.clen; 
 		final int cd = mU.clen;
 		double wsloss = 0; 
@@ -2252,7 +2324,7 @@ public class LibMatrixMult
 			}
 			else //DENSE
 			{
-				double[] w = mW.denseBlock;
+				double[] w = mW.getDenseBlockValues();
 				
 				for( int i=rl, wix=rl*n; i<ru; i++, wix+=n )
 					for( int j=0; j<n; j++)
@@ -2285,7 +2357,7 @@ public class LibMatrixMult
 			}
 			else //DENSE
 			{
-				double[] x = mX.denseBlock;
+				double[] x = mX.getDenseBlockValues();
 				
 				for( int i=rl, xix=rl*n; i<ru; i++, xix+=n )
 					for( int j=0; j<n; j++)
@@ -2329,10 +2401,10 @@ public class LibMatrixMult
 	private static void matrixMultWSigmoidDense(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WSigmoidType wt, int rl, int ru) 
 		throws DMLRuntimeException 
 	{	
-		double[] w = mW.denseBlock;
-		double[] c = ret.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] w = mW.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		
@@ -2369,8 +2441,8 @@ public class LibMatrixMult
 	{
 		SparseBlock w = mW.sparseBlock;
 		SparseBlock c = ret.sparseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int cd = mU.clen;
 		
 		boolean flagminus = (wt==WSigmoidType.MINUS || wt==WSigmoidType.LOG_MINUS); 
@@ -2425,8 +2497,8 @@ public class LibMatrixMult
 		else //DENSE
 		{
 			//w and c always in same representation
-			double[] w = mW.denseBlock;
-			double[] c = ret.denseBlock;
+			double[] w = mW.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 		
 			for( int i=rl, ix=rl*n; i<ru; i++ )
 				for( int j=0; j<n; j++, ix++) {
@@ -2451,11 +2523,11 @@ public class LibMatrixMult
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		
-		double[] w = mW.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
-		double[] x = (mX==null) ? null : mX.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] w = mW.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
+		double[] x = (mX==null) ? null : mX.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		
 		//approach: iterate over non-zeros of w, selective mm computation
 		//cache-conscious blocking: due to blocksize constraint (default 1000),
@@ -2499,9 +2571,9 @@ public class LibMatrixMult
 		final int cd = mU.clen;
 		
 		SparseBlock w = mW.sparseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		SparseBlock x = (mX==null) ? null : mX.sparseBlock;
 		
 		//approach: iterate over non-zeros of w, selective mm computation
@@ -2588,7 +2660,7 @@ public class LibMatrixMult
 		final int cd = mU.clen;
 
 		//output always in dense representation
-		double[] c = ret.denseBlock;
+		double[] c = ret.getDenseBlockValues();
 		
 		//approach: iterate over non-zeros of w, selective mm computation
 		if( mW.sparse ) //SPARSE
@@ -2621,7 +2693,7 @@ public class LibMatrixMult
 		}
 		else //DENSE
 		{
-			double[] w = mW.denseBlock;
+			double[] w = mW.getDenseBlockValues();
 		
 			for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
 				for( int j=cl; j<cu; j++)
@@ -2642,9 +2714,9 @@ public class LibMatrixMult
 
 	private static void matrixMultWCeMMDense(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, double eps, MatrixBlock ret, WCeMMType wt, int rl, int ru)
 	{
-		double[] w = mW.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] w = mW.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		double wceval = 0;
@@ -2676,8 +2748,8 @@ public class LibMatrixMult
 	private static void matrixMultWCeMMSparseDense(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, double eps, MatrixBlock ret, WCeMMType wt, int rl, int ru)
 	{
 		SparseBlock w = mW.sparseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		double wceval = 0; 
@@ -2739,7 +2811,7 @@ public class LibMatrixMult
 		}
 		else //DENSE
 		{
-			double[] w = mW.denseBlock;
+			double[] w = mW.getDenseBlockValues();
 		
 			for( int i=rl, ix=rl*n; i<ru; i++ )
 				for( int j=0; j<n; j++, ix++) {
@@ -2758,10 +2830,10 @@ public class LibMatrixMult
 	private static void matrixMultWuMMDense(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WUMMType wt, ValueFunction fn, int rl, int ru) 
 		throws DMLRuntimeException 
 	{	
-		double[] w = mW.denseBlock;
-		double[] c = ret.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] w = mW.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		
@@ -2797,8 +2869,8 @@ public class LibMatrixMult
 	{
 		SparseBlock w = mW.sparseBlock;
 		SparseBlock c = ret.sparseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int cd = mU.clen;
 		
 		boolean flagmult = (wt==WUMMType.MULT); 
@@ -2851,8 +2923,8 @@ public class LibMatrixMult
 		else //DENSE
 		{
 			//w and c always in same representation
-			double[] w = mW.denseBlock;
-			double[] c = ret.denseBlock;
+			double[] w = mW.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 		
 			for( int i=rl, ix=rl*n; i<ru; i++ )
 				for( int j=0; j<n; j++, ix++) {
@@ -3441,7 +3513,7 @@ public class LibMatrixMult
 		if( ret.rlen != ret.clen )
 			throw new RuntimeException("Invalid non-squared input matrix.");
 		
-		final double[] c = ret.denseBlock;
+		final double[] c = ret.getDenseBlockValues();
 		final int n = ret.rlen;
 		long nnz = 0;
 		
@@ -3492,6 +3564,15 @@ public class LibMatrixMult
 		return ret;
 	}
 
+	private static boolean isLargeDenseMatrixMult( MatrixBlock m1, MatrixBlock m2 ) 
+	{
+		//note: non-empty dense inputs are guaranteed to be allocated
+		return (!m1.sparse && !m1.getDenseBlock().isContiguous())
+			|| (!m2.sparse && !m2.getDenseBlock().isContiguous())
+			|| (DenseBlockFactory.isLargeDenseBlock(m1.rlen, m2.clen)
+				&& !m1.isUltraSparse() && !m2.isUltraSparse());
+	}
+
 	private static boolean checkPrepMatrixMultRightInput( MatrixBlock m1, MatrixBlock m2 )
 	{
 		//transpose if dense-dense, skinny rhs matrix (not vector), and memory guarded by output 
@@ -3664,7 +3745,7 @@ public class LibMatrixMult
 			if( !_pm2r )
 				return _ret.recomputeNonZeros(rl, ru-1, cl, cu-1);
 			else
-				return _ret.getDenseBlock();
+				return _ret.getDenseBlockValues();
 		}
 	}
 
@@ -3704,7 +3785,7 @@ public class LibMatrixMult
 			//to prevent synchronization (sequential aggregation led to better 
 			//performance after JIT)
 			
-			return ret.getDenseBlock();
+			return ret.getDenseBlockValues();
 		}
 	}
 
@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.functionobjects.KahanPlus;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.ReduceAll;
+import org.apache.sysml.runtime.functionobjects.ReduceCol;
+import org.apache.sysml.runtime.functionobjects.ReduceRow;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.instructions.cp.KahanObject;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.io.MatrixStreamReader;
+import org.apache.sysml.runtime.io.ReadProperties;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+
+/**
+ * Library for out-of-core CP operations over matrices that exceed the memory 
+ * budget of the control program. The input matrix is streamed row-block-wise 
+ * from its persistent file via a {@link MatrixStreamReader}, and the partial 
+ * results of all row blocks are accumulated into an in-memory output.
+ * 
+ * Current list of supported operations:
+ *  - uagg sum, min, max (full, row, and column aggregates), 
+ *  - tsmm left (t(X)%*%X), 
+ *  - ba+* with in-memory right-hand side (e.g., X%*%v) 
+ */
+public class LibMatrixOutOfCore 
+{
+	//force out-of-core execution independent of the input size (for testing)
+	public static boolean FORCE_OUTOFCORE = false;
+	
+	private LibMatrixOutOfCore() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Indicates if an operation over the given matrix should be executed out-of-core, 
+	 * i.e., if out-of-core execution is enabled, the matrix can be streamed from its 
+	 * persistent file, and its in-memory size exceeds the local memory budget.
+	 * 
+	 * @param mo matrix object
+	 * @return true if out-of-core execution applies
+	 */
+	public static boolean isOutOfCoreApplicable(MatrixObject mo) {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		if( conf == null || !conf.getBooleanValue(DMLConfig.CP_OUTOFCORE) || !mo.isStreamable() )
+			return false;
+		return FORCE_OUTOFCORE || OptimizerUtils.estimateSizeExactSparsity(
+			mo.getMatrixCharacteristics()) > OptimizerUtils.getLocalMemBudget();
+	}
+	
+	/**
+	 * Indicates if the given unary aggregate is row-streamable, which 
+	 * applies to sum, min, and max over all directions.
+	 * 
+	 * @param op aggregate unary operator
+	 * @return true if supported by out-of-core execution
+	 */
+	public static boolean isSupportedAggregate(AggregateUnaryOperator op) {
+		ValueFunction fn = op.aggOp.increOp.fn;
+		return (fn instanceof KahanPlus || (fn instanceof Builtin 
+				&& (((Builtin)fn).bFunc == BuiltinCode.MIN || ((Builtin)fn).bFunc == BuiltinCode.MAX)))
+			&& (op.indexFn instanceof ReduceAll || op.indexFn instanceof ReduceRow || op.indexFn instanceof ReduceCol);
+	}
+	
+	public static MatrixStreamReader openStream(MatrixObject mo) 
+		throws DMLRuntimeException 
+	{
+		MatrixFormatMetaData meta = (MatrixFormatMetaData) mo.getMetaData();
+		MatrixCharacteristics mc = meta.getMatrixCharacteristics();
+		ReadProperties props = new ReadProperties();
+		props.path = mo.getFileName();
+		props.rlen = mc.getRows();
+		props.clen = mc.getCols();
+		props.brlen = (mc.getRowsPerBlock() > 0) ? mc.getRowsPerBlock() : ConfigurationManager.getBlocksize();
+		props.bclen = (mc.getColsPerBlock() > 0) ? mc.getColsPerBlock() : ConfigurationManager.getBlocksize();
+		props.expectedSparsity = OptimizerUtils.getSparsity(mc);
+		props.inputInfo = meta.getInputInfo();
+		props.formatProperties = mo.getFileFormatProperties();
+		return MatrixReaderFactory.createMatrixStreamReader(props);
+	}
+	
+	public static MatrixBlock aggregateUnary(MatrixObject mo, AggregateUnaryOperator op) 
+		throws DMLRuntimeException 
+	{
+		MatrixStreamReader in = openStream(mo);
+		try {
+			return aggregateUnary(in, op);
+		}
+		catch(RuntimeException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			in.close();
+		}
+	}
+	
+	public static MatrixBlock tsmm(MatrixObject mo, MMTSJType type, int k) 
+		throws DMLRuntimeException 
+	{
+		MatrixStreamReader in = openStream(mo);
+		try {
+			return tsmm(in, type, k);
+		}
+		catch(RuntimeException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			in.close();
+		}
+	}
+	
+	public static MatrixBlock matrixMult(MatrixObject mo, MatrixBlock m2, AggregateBinaryOperator op) 
+		throws DMLRuntimeException 
+	{
+		MatrixStreamReader in = openStream(mo);
+		try {
+			return matrixMult(in, m2, op);
+		}
+		catch(RuntimeException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			in.close();
+		}
+	}
+	
+	/**
+	 * Computes a sum, min, or max aggregate over all row blocks of the given 
+	 * stream. Row aggregates are computed per row block, while column and full 
+	 * aggregates are accumulated over the partial aggregates of all row blocks.
+	 * 
+	 * @param in matrix stream reader
+	 * @param op aggregate unary operator
+	 * @return output matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock aggregateUnary(MatrixStreamReader in, AggregateUnaryOperator op) 
+		throws DMLRuntimeException 
+	{
+		if( !isSupportedAggregate(op) )
+			throw new DMLRuntimeException("Unsupported out-of-core aggregate: "+op.aggOp.increOp.fn.getClass().getSimpleName());
+		
+		int rlen = (int)in.getNumRows();
+		int clen = (int)in.getNumColumns();
+		
+		//row aggregates (one output row per input row)
+		if( op.indexFn instanceof ReduceCol ) {
+			MatrixBlock ret = new MatrixBlock(rlen, 1, false);
+			while( in.hasNext() ) {
+				IndexedMatrixValue tmp = in.next();
+				MatrixBlock blk = (MatrixBlock) tmp.getValue();
+				MatrixBlock part = (MatrixBlock) blk.aggregateUnaryOperations(op, new MatrixBlock(), 
+					blk.getNumRows(), blk.getNumColumns(), tmp.getIndexes(), true);
+				int rl = (int)(tmp.getIndexes().getRowIndex()-1) * in.getRowsPerBlock();
+				for( int i=0; i<part.getNumRows(); i++ )
+					ret.quickSetValue(rl+i, 0, part.quickGetValue(i, 0));
+			}
+			ret.examSparsity();
+			return ret;
+		}
+		
+		//column and full aggregates (accumulation of partial aggregates)
+		ValueFunction fn = op.aggOp.increOp.fn;
+		boolean sum = fn instanceof KahanPlus;
+		boolean min = !sum && ((Builtin)fn).bFunc == BuiltinCode.MIN;
+		int n = (op.indexFn instanceof ReduceAll) ? 1 : clen;
+		double[] agg = new double[n];
+		double[] corr = sum ? new double[n] : null;
+		if( !sum )
+			Arrays.fill(agg, min ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY);
+		KahanObject kbuff = new KahanObject(0, 0);
+		KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+		
+		while( in.hasNext() ) {
+			IndexedMatrixValue tmp = in.next();
+			MatrixBlock blk = (MatrixBlock) tmp.getValue();
+			MatrixBlock part = (MatrixBlock) blk.aggregateUnaryOperations(op, new MatrixBlock(), 
+				blk.getNumRows(), blk.getNumColumns(), tmp.getIndexes(), true);
+			for( int j=0; j<n; j++ ) {
+				double v = part.quickGetValue(0, j);
+				if( sum ) {
+					kbuff.set(agg[j], corr[j]);
+					kplus.execute2(kbuff, v);
+					agg[j] = kbuff._sum;
+					corr[j] = kbuff._correction;
+				}
+				else
+					agg[j] = min ? Math.min(agg[j], v) : Math.max(agg[j], v);
+			}
+		}
+		
+		MatrixBlock ret = new MatrixBlock(1, n, false);
+		for( int j=0; j<n; j++ )
+			ret.quickSetValue(0, j, agg[j]);
+		return ret;
+	}
+	
+	/**
+	 * Computes t(X)%*%X by accumulating the tsmm results of all row blocks, 
+	 * where each row block is processed by the multi-threaded tsmm kernel.
+	 * 
+	 * @param in matrix stream reader
+	 * @param type tsmm type, only left is row-streamable
+	 * @param k number of threads per row block
+	 * @return output matrix block of ncol x ncol
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock tsmm(MatrixStreamReader in, MMTSJType type, int k) 
+		throws DMLRuntimeException 
+	{
+		if( !type.isLeft() )
+			throw new DMLRuntimeException("Unsupported out-of-core tsmm type: "+type.name());
+		
+		int n = (int)in.getNumColumns();
+		MatrixBlock ret = new MatrixBlock(n, n, false);
+		BinaryOperator plus = new BinaryOperator(Plus.getPlusFnObject());
+		while( in.hasNext() ) {
+			MatrixBlock blk = (MatrixBlock) in.next().getValue();
+			if( blk.isEmptyBlock(false) )
+				continue;
+			MatrixBlock part = blk.transposeSelfMatrixMultOperations(new MatrixBlock(), type, k);
+			ret.binaryOperationsInPlace(plus, part);
+		}
+		ret.examSparsity();
+		return ret;
+	}
+	
+	/**
+	 * Computes X%*%m2 for a streamed left-hand side and an in-memory right-hand 
+	 * side (e.g., a vector), where the output rows of each row block are computed 
+	 * independently.
+	 * 
+	 * @param in matrix stream reader
+	 * @param m2 right-hand side matrix block
+	 * @param op aggregate binary operator
+	 * @return output matrix block of nrow x ncol(m2)
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock matrixMult(MatrixStreamReader in, MatrixBlock m2, AggregateBinaryOperator op) 
+		throws DMLRuntimeException 
+	{
+		if( in.getNumColumns() != m2.getNumRows() )
+			throw new DMLRuntimeException("Dimensions do not match for matrix multiplication ("
+				+in.getNumColumns()+"!="+m2.getNumRows()+").");
+		
+		int m = (int)in.getNumRows();
+		int n = m2.getNumColumns();
+		MatrixBlock ret = new MatrixBlock(m, n, false);
+		while( in.hasNext() ) {
+			IndexedMatrixValue tmp = in.next();
+			MatrixBlock blk = (MatrixBlock) tmp.getValue();
+			if( blk.isEmptyBlock(false) )
+				continue;
+			MatrixBlock part = (MatrixBlock) blk.aggregateBinaryOperations(blk, m2, new MatrixBlock(), op);
+			int rl = (int)(tmp.getIndexes().getRowIndex()-1) * in.getRowsPerBlock();
+			ret.copy(rl, rl+part.getNumRows()-1, 0, n-1, part, false);
+		}
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+}
@@ -30,7 +30,6 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -41,6 +40,7 @@ import org.apache.sysml.runtime.functionobjects.SortIndex;
 import org.apache.sysml.runtime.functionobjects.SwapIndex;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.SortUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -110,7 +110,7 @@ public class LibMatrixReorg
 				return diag(in, out); 
 			case SORT:      
 				SortIndex ix = (SortIndex) op.fn;
-				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn());
+				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn(), op.getNumThreads());
 			
 			default:        
 				throw new DMLRuntimeException("Unsupported reorg operator: "+op.fn);
@@ -132,7 +132,8 @@ public class LibMatrixReorg
 		//we don't need to create a copy, given our copy on write semantics.
 		//however, note that with update in-place this would be an invalid optimization
 		if( SHALLOW_COPY_REORG && !in.sparse && !out.sparse && (in.rlen==1 || in.clen==1)  ) {
-			out.denseBlock = in.denseBlock;
+			out.denseBlock = DenseBlockFactory.createDenseBlock(
+				in.getDenseBlockValues(), in.clen, in.rlen);
 			return out;
 		}
 		
@@ -164,7 +165,7 @@ public class LibMatrixReorg
 		throws DMLRuntimeException
 	{
 		//redirect small or special cases to sequential execution
-		if( in.isEmptyBlock(false) || (in.rlen * in.clen < PAR_NUMCELL_THRESHOLD) || k == 1
+		if( in.isEmptyBlock(false) || ((long)in.rlen * in.clen < PAR_NUMCELL_THRESHOLD) || k == 1
 			|| (SHALLOW_COPY_REORG && !in.sparse && !out.sparse && (in.rlen==1 || in.clen==1) )
 			|| (in.sparse && !out.sparse && in.rlen==1) || (!in.sparse && out.sparse && in.rlen==1) 
 			|| (!in.sparse && out.sparse) || !out.isThreadSafe())
@@ -183,7 +184,7 @@ public class LibMatrixReorg
 		
 		//core multi-threaded transpose
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			//pre-processing (compute nnz per column once for sparse)
 			int[] cnt = null;
 			if( in.sparse && out.sparse ) {
@@ -315,6 +316,28 @@ public class LibMatrixReorg
 
 	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret) 
 		throws DMLRuntimeException
+	{
+		return sort(in, out, by, desc, ixret, 1);
+	}
+	
+	/**
+	 * Sorts the rows of the input matrix by the values of the given column and returns
+	 * either the sorted data or the (stable) 1-based index vector of the sorted order.
+	 * For k&gt;1 and sufficiently large inputs, the sort is performed as a parallel merge
+	 * sort, i.e., a sort of k row partitions followed by rounds of pair-wise stable merges,
+	 * and the final data permutation is performed over disjoint output row partitions.
+	 * 
+	 * @param in input matrix
+	 * @param out output matrix
+	 * @param by 1-based column index of the sort key
+	 * @param desc if true, descending order
+	 * @param ixret if true, return index vector instead of sorted data
+	 * @param k degree of parallelism
+	 * @return output matrix
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret, int k) 
+		throws DMLRuntimeException
 	{
 		//meta data gathering and preparation
 		boolean sparse = in.isInSparseFormat();
@@ -322,6 +345,7 @@ public class LibMatrixReorg
 		int clen = in.clen;
 		out.sparse = (in.sparse && !ixret);
 		out.nonZeros = ixret ? rlen : in.nonZeros;
+		boolean par = (k > 1 && rlen >= PAR_NUMCELL_THRESHOLD);
 		
 		//step 1: error handling
 		if( by <= 0 || clen < by )
@@ -336,7 +360,10 @@ public class LibMatrixReorg
 			if( !sparse && clen == 1 ) { //DENSE COLUMN VECTOR
 				//in-place quicksort, unstable (no indexes needed)
 				out.copy( in ); //dense
-				Arrays.sort(out.denseBlock);
+				if( par )
+					sortParallel(out.getDenseBlockValues(), null, rlen, k);
+				else
+					Arrays.sort(out.getDenseBlockValues());
 				if( desc )
 					sortReverseDense(out);
 				return out;
@@ -362,8 +389,12 @@ public class LibMatrixReorg
 			values[i] = in.quickGetValue(i, by-1);
 		}
 		
-		//sort index vector on extracted data (unstable)
-		SortUtils.sortByValue(0, rlen, values, vix);
+		//sort index vector on extracted data (unstable in the sequential 
+		//case, stable in the parallel case due to stable merges)
+		if( par )
+			sortParallel(values, vix, rlen, k);
+		else
+			sortByValue(values, vix, 0, rlen);
 
 		//flip order if descending requested (note that this needs to happen
 		//before we ensure stable outputs, hence we also flip values)
@@ -373,46 +404,37 @@ public class LibMatrixReorg
 		}
 		
 		//final pass to ensure stable output
-		for( int i=0; i<rlen-1; i++ ) {
-			double tmp = values[i];
-			//determine run of equal values
-			int len = 0;
-			while( i+len+1<rlen && tmp==values[i+len+1] )
-				len++;
-			//unstable sort of run indexes (equal value guaranteed)
-			if( len>0 ) {
-				Arrays.sort(vix, i, i+len+1);
-				i += len; //skip processed run
-			}
-		}
+		if( !par || desc )
+			sortRunIndexes(values, vix, 0, rlen);
 
 		//step 4: create output matrix (guaranteed non-empty, see step 2)
-		if( !ixret )
-		{
-			//copy input data in sorted order into result
+		if( !ixret ) {
 			if( !sparse ) //DENSE
-			{
 				out.allocateDenseBlock(false);
-				for( int i=0; i<rlen; i++ ) {
-					System.arraycopy(in.denseBlock, vix[i]*clen, out.denseBlock, i*clen, clen);
-				}
-			}
 			else //SPARSE
-			{
 				out.allocateSparseRowsBlock(false);
-				for( int i=0; i<rlen; i++ )
-					if( !in.sparseBlock.isEmpty(vix[i]) ) {
-						out.sparseBlock.set(i, in.sparseBlock.get(vix[i]),
-							!SHALLOW_COPY_REORG); //row remains unchanged
-					}
-			}
 		}
-		else
-		{
-			//copy sorted index vector into result
+		else {
 			out.allocateDenseBlock(false);
-			for( int i=0; i<rlen; i++ )
-				out.setValueDenseUnsafe(i, 0, vix[i]+1);
+		}
+		
+		if( !par || (long)rlen*(ixret?1:clen) < PAR_NUMCELL_THRESHOLD || !out.isThreadSafe() ) {
+			copySortedRows(in, out, vix, ixret, 0, rlen);
+		}
+		else {
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<SortCopyTask> tasks = new ArrayList<SortCopyTask>();
+				int blklen = (int)(Math.ceil((double)rlen/k));
+				for( int i=0; i<k & i*blklen<rlen; i++ )
+					tasks.add(new SortCopyTask(in, out, vix, ixret, i*blklen, Math.min((i+1)*blklen, rlen)));
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+				pool.shutdown();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
 		}
 		
 		return out;
@@ -752,8 +774,14 @@ public class LibMatrixReorg
 		final int n = in.clen;
 		final int n2 = out.clen;
 		
-		double[] a = in.getDenseBlock();
-		double[] c = out.getDenseBlock();
+		//large dense blocks with multiple underlying arrays
+		if( !in.getDenseBlock().isContiguous() || !out.getDenseBlock().isContiguous() ) {
+			transposeLargeDenseToDense(in.getDenseBlock(), out.getDenseBlock(), rl, ru, cl, cu);
+			return;
+		}
+		
+		double[] a = in.getDenseBlockValues();
+		double[] c = out.getDenseBlockValues();
 		
 		if( m==1 || n==1 ) //VECTOR TRANSPOSE
 		{
@@ -784,6 +812,29 @@ public class LibMatrixReorg
 		}
 	}
 
+	private static void transposeLargeDenseToDense(DenseBlock a, DenseBlock c, int rl, int ru, int cl, int cu) 
+	{
+		//blocking according to typical L2 cache sizes 
+		final int blocksizeI = 128;
+		final int blocksizeJ = 128; 
+		
+		//blocked execution via row-wise access of the underlying blocks
+		for( int bi = rl; bi<ru; bi+=blocksizeI )
+			for( int bj = cl; bj<cu; bj+=blocksizeJ )
+			{
+				int bimin = Math.min(bi+blocksizeI, ru);
+				int bjmin = Math.min(bj+blocksizeJ, cu);
+				//core transpose operation
+				for( int i=bi; i<bimin; i++ )
+				{
+					double[] avals = a.values(i);
+					int aix = a.pos(i);
+					for( int j=bj; j<bjmin; j++ )
+						c.values(j)[c.pos(j, i)] = avals[aix+j];
+				}
+			}
+	}
+	
 	private static void transposeDenseToSparse(MatrixBlock in, MatrixBlock out)
 	{
 		//NOTE: called only in sequential execution
@@ -794,7 +845,7 @@ public class LibMatrixReorg
 		final int n2 = out.clen;
 		final int ennz2 = (int) (in.nonZeros/m2); 
 		
-		double[] a = in.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
 		SparseBlock c = out.getSparseBlock();
 		
 		if( out.rlen == 1 ) //VECTOR-VECTOR
@@ -896,7 +947,7 @@ public class LibMatrixReorg
 		final int n2 = out.clen;
 		
 		SparseBlock a = in.getSparseBlock();
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		
 		if( m==1 ) //ROW VECTOR TRANSPOSE
 		{
@@ -1001,8 +1052,8 @@ public class LibMatrixReorg
 		out.nonZeros = in.nonZeros;
 		out.allocateDenseBlock(false);
 		
-		double[] a = in.getDenseBlock();
-		double[] c = out.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
+		double[] c = out.getDenseBlockValues();
 		
 		//copy all rows into target positions
 		if( n == 1 ) { //column vector
@@ -1093,7 +1144,8 @@ public class LibMatrixReorg
 			//since the physical representation of dense matrices is always the same,
 			//we don't need to create a copy, given our copy on write semantics.
 			//however, note that with update in-place this would be an invalid optimization
-			out.denseBlock = in.denseBlock;
+			out.denseBlock = DenseBlockFactory.createDenseBlock(
+				in.getDenseBlockValues(), rows, cols);
 			return;
 		}
 		
@@ -1101,8 +1153,8 @@ public class LibMatrixReorg
 		out.allocateDenseBlock(false);
 		
 		//dense reshape
-		double[] a = in.denseBlock;
-		double[] c = out.denseBlock;
+		double[] a = in.getDenseBlockValues();
+		double[] c = out.getDenseBlockValues();
 		
 		if( rowwise )
 		{
@@ -1270,7 +1322,7 @@ public class LibMatrixReorg
 		int estnnz = (int) (in.nonZeros/rows);
 		
 		//sparse reshape
-		double[] a = in.denseBlock;
+		double[] a = in.getDenseBlockValues();
 		SparseBlock c = out.sparseBlock;
 		
 		if( rowwise )
@@ -1341,7 +1393,7 @@ public class LibMatrixReorg
 		
 		//sparse/dense reshape
 		SparseBlock a = in.sparseBlock;
-		double[] c = out.denseBlock;
+		double[] c = out.getDenseBlockValues();
 		
 		if( rowwise )
 		{
@@ -1532,7 +1584,7 @@ public class LibMatrixReorg
 		
 		int rlen = in.rlen;
 		int clen = in.clen;
-		double[] a = in.denseBlock;
+		double[] a = in.getDenseBlockValues();
 		
 		//append all values to right blocks
 		MatrixIndexes ixtmp = new MatrixIndexes();
@@ -1685,7 +1737,7 @@ public class LibMatrixReorg
 			}
 			else //DENSE
 			{
-				double[] a = in.denseBlock;
+				double[] a = in.getDenseBlockValues();
 				for(int i=0, aix=0; i<m; i++, aix+=n)
 					for(int j=0; j<n; j++)
 						if( a[aix+j] != 0 ) {
@@ -1722,8 +1774,8 @@ public class LibMatrixReorg
 		else if( !in.sparse && !ret.sparse )  //DENSE <- DENSE
 		{
 			ret.allocateDenseBlock();
-			double[] a = in.denseBlock;
-			double[] c = ret.denseBlock;
+			double[] a = in.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 			
 			for( int i=0, aix=0, cix=0; i<m; i++, aix+=n )
 				if( flags[i] ) {
@@ -1734,7 +1786,7 @@ public class LibMatrixReorg
 		else //SPARSE <- DENSE
 		{
 			ret.allocateSparseRowsBlock();
-			double[] a = in.denseBlock;
+			double[] a = in.getDenseBlockValues();
 			
 			for( int i=0, aix=0, cix=0; i<m; i++, aix+=n )
 				if( flags[i] ) {
@@ -1779,7 +1831,7 @@ public class LibMatrixReorg
 			}
 			else //DENSE
 			{
-				double[] a = in.denseBlock;
+				double[] a = in.getDenseBlockValues();
 				
 				for(int i=0, aix=0; i<m; i++)
 					for(int j=0; j<n; j++, aix++)
@@ -1833,8 +1885,8 @@ public class LibMatrixReorg
 		else if( !in.sparse && !ret.sparse )  //DENSE <- DENSE
 		{
 			ret.allocateDenseBlock();
-			double[] a = in.denseBlock;
-			double[] c = ret.denseBlock;
+			double[] a = in.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 			
 			for(int i=0, aix=0, lcix=0; i<m; i++, lcix+=clen2)
 				for(int j=0; j<n; j++, aix++)
@@ -1844,7 +1896,7 @@ public class LibMatrixReorg
 		else //SPARSE <- DENSE
 		{
 			ret.allocateSparseRowsBlock();
-			double[] a = in.denseBlock;
+			double[] a = in.getDenseBlockValues();
 			
 			for(int i=0, aix=0; i<m; i++)
 				for(int j=0; j<n; j++, aix++)
@@ -1928,7 +1980,7 @@ public class LibMatrixReorg
 		}
 		else {
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ExecutorService pool = CommonThreadPool.get( k );
 				ArrayList<RExpandColsTask> tasks = new ArrayList<RExpandColsTask>();
 				int blklen = (int)(Math.ceil((double)rlen/k/8));
 				for( int i=0; i<8*k & i*blklen<rlen; i++ )
@@ -1993,7 +2045,7 @@ public class LibMatrixReorg
 				tmp[i] = in.quickGetValue(ixin+i, 0);
 		}
 		else { //DENSE
-			System.arraycopy(in.denseBlock, ixin, tmp, 0, len);
+			System.arraycopy(in.getDenseBlockValues(), ixin, tmp, 0, len);
 		}
 		
 		//init index array
@@ -2002,6 +2054,167 @@ public class LibMatrixReorg
 	}
 	
 
+	private static void copySortedRows(MatrixBlock in, MatrixBlock out, int[] vix, boolean ixret, int rl, int ru)
+	{
+		if( !ixret )
+		{
+			//copy input data in sorted order into result
+			if( !in.sparse ) //DENSE
+			{
+				int clen = in.clen;
+				for( int i=rl; i<ru; i++ )
+					System.arraycopy(in.getDenseBlockValues(), vix[i]*clen, out.getDenseBlockValues(), i*clen, clen);
+			}
+			else //SPARSE
+			{
+				for( int i=rl; i<ru; i++ )
+					if( !in.sparseBlock.isEmpty(vix[i]) ) {
+						out.sparseBlock.set(i, in.sparseBlock.get(vix[i]),
+							!SHALLOW_COPY_REORG); //row remains unchanged
+					}
+			}
+		}
+		else
+		{
+			//copy sorted index vector into result
+			for( int i=rl; i<ru; i++ )
+				out.setValueDenseUnsafe(i, 0, vix[i]+1);
+		}
+	}
+	
+	/**
+	 * Unstable in-place sort of the values in [rl,ru) in ascending order, where
+	 * the indexes are moved along with their values. In contrast to the plain
+	 * quicksort of SortUtils.sortByValue, this uses the total order of Arrays.sort
+	 * (i.e., -0.0 before 0.0 and NaN last), which is also used by the merge of 
+	 * sorted runs and hence gives consistent results for any degree of parallelism.
+	 * 
+	 * @param values values to sort
+	 * @param vix indexes
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 */
+	private static void sortByValue(double[] values, int[] vix, int rl, int ru)
+	{
+		//move NaNs to the end (not comparable in the quicksort)
+		int nanpos = ru;
+		for( int i=rl; i<nanpos; ) {
+			if( Double.isNaN(values[i]) )
+				swapValues(values, vix, i, --nanpos);
+			else
+				i++;
+		}
+		
+		//quicksort of remaining values
+		SortUtils.sortByValue(rl, nanpos, values, vix);
+		
+		//move -0.0 before 0.0 (equal in the quicksort)
+		int zpos = rl;
+		while( zpos<nanpos && values[zpos] < 0 )
+			zpos++;
+		for( int i=zpos; i<nanpos && values[i]==0; i++ )
+			if( Double.doubleToRawLongBits(values[i]) != 0 ) //-0.0
+				swapValues(values, vix, i, zpos++);
+	}
+	
+	private static void swapValues(double[] values, int[] vix, int i, int j) {
+		double tmp = values[i];
+		values[i] = values[j];
+		values[j] = tmp;
+		int tmpi = vix[i];
+		vix[i] = vix[j];
+		vix[j] = tmpi;
+	}
+	
+	/**
+	 * Sorts the indexes of runs of equal values in ascending order,
+	 * which ensures a stable sort order after an unstable sort. Equal
+	 * values are determined via Double.compare, i.e., -0.0 and 0.0 form
+	 * separate runs, while NaNs form a single run.
+	 * 
+	 * @param values sorted values
+	 * @param vix indexes
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 */
+	private static void sortRunIndexes(double[] values, int[] vix, int rl, int ru)
+	{
+		for( int i=rl; i<ru-1; i++ ) {
+			double tmp = values[i];
+			//determine run of equal values
+			int len = 0;
+			while( i+len+1<ru && Double.compare(tmp, values[i+len+1])==0 )
+				len++;
+			//unstable sort of run indexes (equal value guaranteed)
+			if( len>0 ) {
+				Arrays.sort(vix, i, i+len+1);
+				i += len; //skip processed run
+			}
+		}
+	}
+	
+	/**
+	 * Parallel merge sort of the first len values in ascending order. If an
+	 * index array is given, indexes are sorted along with their values and the
+	 * output is stable; otherwise, values are sorted with the semantics of Arrays.sort.
+	 * 
+	 * @param values values to sort (in-place)
+	 * @param vix indexes to sort along with values, or null
+	 * @param len number of values
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void sortParallel(double[] values, int[] vix, int len, int k) 
+		throws DMLRuntimeException
+	{
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			
+			//step 1: independent sort of row partitions
+			ArrayList<SortTask> tasks = new ArrayList<SortTask>();
+			int blklen = (int)(Math.ceil((double)len/k));
+			for( int i=0; i<k & i*blklen<len; i++ )
+				tasks.add(new SortTask(values, vix, i*blklen, Math.min((i+1)*blklen, len)));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			
+			//step 2: rounds of pair-wise merges of sorted runs (w/ ping-pong buffers)
+			int[] bix = new int[tasks.size()+1];
+			for( int i=0; i<tasks.size(); i++ )
+				bix[i] = i*blklen;
+			bix[tasks.size()] = len;
+			double[] vin = values, vout = (bix.length > 2) ? new double[len] : null;
+			int[] iin = vix, iout = (bix.length > 2 && vix != null) ? new int[len] : null;
+			while( bix.length > 2 ) {
+				int nruns = bix.length-1;
+				int[] bix2 = new int[(nruns+1)/2+1];
+				ArrayList<MergeTask> mtasks = new ArrayList<MergeTask>();
+				for( int i=0; i<nruns; i+=2 ) {
+					mtasks.add(new MergeTask(vin, iin, vout, iout, bix[i],
+						bix[Math.min(i+1, nruns)], bix[Math.min(i+2, nruns)]));
+					bix2[i/2] = bix[i];
+				}
+				bix2[bix2.length-1] = len;
+				for( Future<Object> task : pool.invokeAll(mtasks) )
+					task.get();
+				double[] vtmp = vin; vin = vout; vout = vtmp;
+				int[] itmp = iin; iin = iout; iout = itmp;
+				bix = bix2;
+			}
+			pool.shutdown();
+			
+			//copy back if the result resides in the temporary buffers
+			if( vin != values ) {
+				System.arraycopy(vin, 0, values, 0, len);
+				if( vix != null )
+					System.arraycopy(iin, 0, vix, 0, len);
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
 	/**
 	 * Utility method for in-place transformation of an ascending sorted
 	 * order into a descending sorted order. This method assumes dense
@@ -2012,7 +2225,7 @@ public class LibMatrixReorg
 	private static void sortReverseDense( MatrixBlock m1 )
 	{
 		int rlen = m1.rlen;
-		double[] a = m1.denseBlock;
+		double[] a = m1.getDenseBlockValues();
 		
 		for( int i=0; i<rlen/2; i++ ) {
 			double tmp = a[i];
@@ -2213,4 +2426,87 @@ public class LibMatrixReorg
 			return rexpandColumns(_in, _out, _max, _cast, _ignore, _rl, _ru);
 		}
 	}
+	
+	private static class SortTask implements Callable<Object>
+	{
+		private final double[] _values;
+		private final int[] _vix;
+		private final int _rl;
+		private final int _ru;
+
+		protected SortTask(double[] values, int[] vix, int rl, int ru) {
+			_values = values;
+			_vix = vix;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException {
+			if( _vix == null ) {
+				Arrays.sort(_values, _rl, _ru);
+			}
+			else {
+				//unstable sort and stable run indexes per partition
+				sortByValue(_values, _vix, _rl, _ru);
+				sortRunIndexes(_values, _vix, _rl, _ru);
+			}
+			return null;
+		}
+	}
+	
+	private static class MergeTask implements Callable<Object>
+	{
+		private final double[] _values;
+		private final int[] _vix;
+		private final double[] _ovalues;
+		private final int[] _ovix;
+		private final int _start;
+		private final int _mid;
+		private final int _end;
+
+		protected MergeTask(double[] values, int[] vix, double[] ovalues, int[] ovix, int start, int mid, int end) {
+			_values = values;
+			_vix = vix;
+			_ovalues = ovalues;
+			_ovix = ovix;
+			_start = start;
+			_mid = mid;
+			_end = end;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException {
+			if( _vix == null )
+				SortUtils.mergeSorted(_values, _start, _mid, _end, _ovalues);
+			else
+				SortUtils.mergeSortedByValue(_values, _vix, _start, _mid, _end, _ovalues, _ovix);
+			return null;
+		}
+	}
+	
+	private static class SortCopyTask implements Callable<Object>
+	{
+		private final MatrixBlock _in;
+		private final MatrixBlock _out;
+		private final int[] _vix;
+		private final boolean _ixret;
+		private final int _rl;
+		private final int _ru;
+
+		protected SortCopyTask(MatrixBlock in, MatrixBlock out, int[] vix, boolean ixret, int rl, int ru) {
+			_in = in;
+			_out = out;
+			_vix = vix;
+			_ixret = ixret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException {
+			copySortedRows(_in, _out, _vix, _ixret, _rl, _ru);
+			return null;
+		}
+	}
 }
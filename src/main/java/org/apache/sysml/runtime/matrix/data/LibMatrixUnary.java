@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.util.FastMath;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Library for cellwise unary operations (e.g., exp, log, sqrt, sigmoid, abs, round)
+ * on matrix blocks. Sparse-safe operations are applied to non-zeros only, while
+ * sparse-unsafe operations produce dense outputs initialized with f(0).
+ *
+ * All operations are multi-threaded over row partitions according to the number of
+ * threads of the given operator, using the same configuration as multi-threaded
+ * aggregations. For dense inputs and common builtin functions, we use dedicated
+ * loops per function (blocked for nnz maintenance) in order to avoid the per-cell
+ * virtual call and switch in Builtin.execute.
+ *
+ * Note that cumulative aggregates (e.g., cumsum) are handled by LibMatrixAgg.
+ */
+public class LibMatrixUnary
+{
+	//internal configuration parameters
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
+	private static final int DENSE_BLOCKSIZE = 4096; //cells per block for fused nnz maintenance
+
+	private LibMatrixUnary() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Single- or multi-threaded cellwise unary operation, depending on the
+	 * number of threads of the given operator. The output block is expected
+	 * to be reset to the input dimensions and the output representation
+	 * (sparse only for sparse-safe operations over sparse inputs).
+	 *
+	 * @param in input matrix
+	 * @param ret output matrix
+	 * @param op unary operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void unaryOperations(MatrixBlock in, MatrixBlock ret, UnaryOperator op)
+		throws DMLRuntimeException
+	{
+		//check internal assumptions
+		if( ret.sparse && (!op.sparseSafe || !in.sparse) )
+			throw new DMLRuntimeException("Wrong output representation for safe="+op.sparseSafe+": "+in.sparse+", "+ret.sparse);
+
+		//prepare 0-value init (determine if unnecessarily sparse-unsafe)
+		double val0 = op.sparseSafe ? 0 : op.fn.execute(0);
+
+		//early abort possible for sparse-safe or unnecessarily sparse-unsafe
+		//operations (otherwise full init with val0, no need for computation)
+		if( in.isEmptyBlock(false) ) {
+			if( val0 != 0 )
+				ret.reset(in.rlen, in.clen, val0);
+			return;
+		}
+
+		//allocate output (sparse rows or dense block)
+		ret.allocateDenseOrSparseBlock();
+
+		//core unary operations (sequential or multi-threaded)
+		final int m = in.rlen;
+		final int k = op.getNumThreads();
+		long work = (in.sparse && ret.sparse) ? in.nonZeros : (long)m * in.clen;
+
+		if( k <= 1 || work < PAR_NUMCELL_THRESHOLD || m <= k/2 || !ret.isThreadSafe() ) {
+			ret.nonZeros = unaryOperations(in, ret, op, val0, 0, m);
+		}
+		else {
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<UnaryTask> tasks = new ArrayList<UnaryTask>();
+				int blklen = (int)(Math.ceil((double)m/k));
+				for( int i=0; i<k & i*blklen<m; i++ )
+					tasks.add(new UnaryTask(in, ret, op, val0, i*blklen, Math.min((i+1)*blklen, m)));
+				long nnz = 0;
+				for( Future<Long> task : pool.invokeAll(tasks) )
+					nnz += task.get();
+				pool.shutdown();
+				ret.nonZeros = nnz;
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+	}
+
+	private static long unaryOperations(MatrixBlock in, MatrixBlock ret, UnaryOperator op, double val0, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		final int n = in.clen;
+
+		if( in.sparse && ret.sparse ) //SPARSE <- SPARSE
+		{
+			SparseBlock a = in.sparseBlock;
+			SparseBlock c = ret.sparseBlock;
+			ValueFunction fn = op.fn;
+
+			long nnz = 0;
+			for( int i=rl; i<ru; i++ ) {
+				if( a.isEmpty(i) ) continue;
+
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+
+				c.allocate(i, alen); //avoid repeated alloc
+				for( int j=apos; j<apos+alen; j++ ) {
+					double val = fn.execute(avals[j]);
+					c.append(i, aix[j], val);
+					nnz += (val != 0) ? 1 : 0;
+				}
+			}
+			return nnz;
+		}
+		else if( in.sparse ) //DENSE <- SPARSE
+		{
+			SparseBlock a = in.sparseBlock;
+			DenseBlock c = ret.getDenseBlock();
+			ValueFunction fn = op.fn;
+
+			//init output with f(0) (0 for sparse-safe operations)
+			if( val0 != 0 )
+				c.set(rl, ru, 0, n, val0);
+
+			long nnz = (val0 != 0) ? (long)(ru-rl) * n : 0;
+			for( int i=rl; i<ru; i++ ) {
+				if( a.isEmpty(i) ) continue;
+
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				double[] cvals = c.values(i);
+				int cix = c.pos(i);
+
+				for( int j=apos; j<apos+alen; j++ ) {
+					double val = fn.execute(avals[j]);
+					cvals[cix+aix[j]] = val;
+					nnz += ((val != 0) ? 1 : 0) - ((val0 != 0) ? 1 : 0);
+				}
+			}
+			return nnz;
+		}
+		else //DENSE <- DENSE
+		{
+			//note: equal dimensions guarantee aligned row blocks
+			DenseBlock a = in.getDenseBlock();
+			DenseBlock c = ret.getDenseBlock();
+			int bl = a.index(rl), bu = a.index(ru-1);
+
+			long nnz = 0;
+			for( int bi=bl; bi<=bu; bi++ ) {
+				int ai = (bi==bl) ? a.pos(rl) : 0;
+				int ae = (bi==bu) ? a.pos(ru-1)+n : a.size(bi);
+				nnz += denseUnaryOperations(a.valuesAt(bi), c.valuesAt(bi), op.fn, ai, ae);
+			}
+			return nnz;
+		}
+	}
+
+	private static long denseUnaryOperations(double[] a, double[] c, ValueFunction fn, int ai, int ae)
+		throws DMLRuntimeException
+	{
+		BuiltinCode code = (fn instanceof Builtin) ?
+			((Builtin)fn).getBuiltinCode() : null;
+
+		//blocked execution for nnz maintenance over cache-resident blocks
+		long nnz = 0;
+		for( int bi=ai; bi<ae; bi+=DENSE_BLOCKSIZE ) {
+			int bimin = Math.min(ae, bi+DENSE_BLOCKSIZE);
+			if( code == null || !denseBuiltinOperations(a, c, code, bi, bimin) )
+				for( int i=bi; i<bimin; i++ )
+					c[i] = fn.execute(a[i]);
+			for( int i=bi; i<bimin; i++ )
+				nnz += (c[i] != 0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	/**
+	 * Dedicated loops for common builtin functions, consistent with the
+	 * semantics of Builtin.execute (incl the Builtin.FASTMATH switch).
+	 *
+	 * @param a input array
+	 * @param c output array
+	 * @param code builtin function code
+	 * @param ai start index (inclusive)
+	 * @param ae end index (exclusive)
+	 * @return true if the builtin function is supported, false otherwise
+	 */
+	private static boolean denseBuiltinOperations(double[] a, double[] c, BuiltinCode code, int ai, int ae) {
+		switch( code ) {
+			case EXP:
+				for( int i=ai; i<ae; i++ )
+					c[i] = Builtin.FASTMATH ? FastMath.exp(a[i]) : Math.exp(a[i]);
+				return true;
+			case LOG:
+				for( int i=ai; i<ae; i++ )
+					c[i] = Builtin.FASTMATH ? FastMath.log(a[i]) : Math.log(a[i]);
+				return true;
+			case SIGMOID:
+				for( int i=ai; i<ae; i++ )
+					c[i] = Builtin.FASTMATH ? 1 / (1 + FastMath.exp(-a[i])) : 1 / (1 + Math.exp(-a[i]));
+				return true;
+			case SQRT:
+				for( int i=ai; i<ae; i++ )
+					c[i] = Math.sqrt(a[i]);
+				return true;
+			case ABS:
+				for( int i=ai; i<ae; i++ )
+					c[i] = Math.abs(a[i]);
+				return true;
+			case SIGN:
+				for( int i=ai; i<ae; i++ )
+					c[i] = Builtin.FASTMATH ? FastMath.signum(a[i]) : Math.signum(a[i]);
+				return true;
+			case ROUND:
+				for( int i=ai; i<ae; i++ )
+					c[i] = Math.round(a[i]);
+				return true;
+			case FLOOR:
+				for( int i=ai; i<ae; i++ )
+					c[i] = Builtin.FASTMATH ? FastMath.floor(a[i]) : Math.floor(a[i]);
+				return true;
+			case CEIL:
+				for( int i=ai; i<ae; i++ )
+					c[i] = Builtin.FASTMATH ? FastMath.ceil(a[i]) : Math.ceil(a[i]);
+				return true;
+			case SPROP:
+				for( int i=ai; i<ae; i++ )
+					c[i] = a[i] * (1 - a[i]);
+				return true;
+			case SELP:
+				for( int i=ai; i<ae; i++ )
+					c[i] = (a[i] > 0) ? a[i] : 0;
+				return true;
+			case SIN:
+				for( int i=ai; i<ae; i++ )
+					c[i] = Builtin.FASTMATH ? FastMath.sin(a[i]) : Math.sin(a[i]);
+				return true;
+			case COS:
+				for( int i=ai; i<ae; i++ )
+					c[i] = Builtin.FASTMATH ? FastMath.cos(a[i]) : Math.cos(a[i]);
+				return true;
+			case TAN:
+				for( int i=ai; i<ae; i++ )
+					c[i] = Builtin.FASTMATH ? FastMath.tan(a[i]) : Math.tan(a[i]);
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static class UnaryTask implements Callable<Long>
+	{
+		private final MatrixBlock _in;
+		private final MatrixBlock _ret;
+		private final UnaryOperator _op;
+		private final double _val0;
+		private final int _rl;
+		private final int _ru;
+
+		protected UnaryTask( MatrixBlock in, MatrixBlock ret, UnaryOperator op, double val0, int rl, int ru ) {
+			_in = in;
+			_ret = ret;
+			_op = op;
+			_val0 = val0;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Long call() throws DMLRuntimeException {
+			//execute unary operation on row partition
+			return unaryOperations(_in, _ret, _op, _val0, _rl, _ru);
+		}
+	}
+}
@@ -125,7 +125,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	protected long nonZeros   = 0;
 	
 	//matrix data (sparse or dense)
-	protected double[] denseBlock    = null;
+	protected DenseBlock denseBlock  = null;
 	protected SparseBlock sparseBlock = null;
 		
 	//sparse-block-specific attributes (allocation only)
@@ -261,14 +261,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	private void resetDense(double val) {
 		//handle to dense block allocation
-		if( denseBlock != null && denseBlock.length<rlen*clen && val==0)
+		if( denseBlock != null && denseBlock.capacity()<(long)rlen*clen && val==0)
 			denseBlock = null;
 		else if( val != 0 )
 			allocateDenseBlock(false);
 			
 		//reset dense block to given value 
 		if( denseBlock != null )
-			Arrays.fill(denseBlock, 0, rlen*clen, val);
+			denseBlock.reset(rlen, clen, val);
 	}
 	
 	/**
@@ -292,8 +292,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		allocateDenseBlock();
 		
 		//copy and compute nnz
-		for(int i=0, ix=0; i < r; i++, ix+=clen) 
-			System.arraycopy(arr[i], 0, denseBlock, ix, arr[i].length);
+		for(int i=0; i < r; i++) 
+			System.arraycopy(arr[i], 0, denseBlock.values(i), denseBlock.pos(i), arr[i].length);
 		recomputeNonZeros();
 	}
 	
@@ -317,8 +317,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		//allocate or resize dense block
 		allocateDenseBlock();
 		
-		//copy and compute nnz 
-		System.arraycopy(arr, 0, denseBlock, 0, arr.length);
+		//copy and compute nnz (row-wise for large dense blocks)
+		if( denseBlock.isContiguous() )
+			System.arraycopy(arr, 0, denseBlock.valuesAt(0), 0, arr.length);
+		else
+			for(int i=0; i < r; i++)
+				System.arraycopy(arr, i*clen, denseBlock.values(i), denseBlock.pos(i), clen);
 		recomputeNonZeros();
 	}
 
@@ -349,19 +353,17 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		long limit = (long)rlen * clen;
 		
-		//check max size constraint (16GB dense), since java arrays are limited to 2^(32-1) elements)
-		if( limit > Integer.MAX_VALUE ) {
-			String execType = OptimizerUtils.isSparkExecutionMode() ? "SPARK" : "MR";
-			throw new RuntimeException("Dense in-memory matrix block ("+rlen+"x"+clen+") exceeds supported size of "+Integer.MAX_VALUE+" elements (16GB). " +
-					                   "Please, report this issue and reduce the JVM heapsize to execute this operation in "+execType+".");
-		}
-		
 		//allocate block if non-existing or too small (guaranteed to be 0-initialized),
-		if(denseBlock == null || denseBlock.length < limit) {
+		//where blocks beyond 2^31-1 cells (16GB) are allocated as multiple row blocks
+		if(denseBlock == null || denseBlock.capacity() < limit) {
 			long start = DISPLAY_STATISTICS && DMLScript.STATISTICS ? System.nanoTime() : 0;
-			denseBlock = new double[(int)limit];
+			denseBlock = DenseBlockFactory.createDenseBlock(rlen, clen);
 			Statistics.allocateDoubleArrTime += DISPLAY_STATISTICS && DMLScript.STATISTICS ? (System.nanoTime() - start) : 0;
 		}
+		else {
+			//reuse existing block w/ potentially modified dimensions
+			updateDenseBlockDims();
+		}
 		
 		//clear nnz if necessary
 		if( clearNNZ ) {
@@ -426,6 +428,22 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 	
 	
+	/**
+	 * Updates the dimensions of an existing dense block after meta data
+	 * changes. Single-block arrays are reused as is (w/o clearing), while
+	 * multi-block arrays are reallocated because the row blocking depends 
+	 * on the number of columns.
+	 */
+	private void updateDenseBlockDims() {
+		if( denseBlock == null || (denseBlock.numRows()==rlen && denseBlock.numCols()==clen) )
+			return;
+		if( DenseBlockFactory.isDenseBlockType(denseBlock, DenseBlock.Type.DRB) 
+			&& denseBlock.capacity() >= (long)rlen*clen )
+			denseBlock = DenseBlockFactory.createDenseBlock(denseBlock.valuesAt(0), rlen, clen);
+		else
+			denseBlock = DenseBlockFactory.createDenseBlock(rlen, clen);
+	}
+	
 	/**
 	 * Allows to cleanup all previously allocated sparserows or denseblocks.
 	 * This is for example required in reading a matrix with many empty blocks 
@@ -457,6 +475,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 */
 	public void setNumRows(int r) {
 		rlen = r;
+		updateDenseBlockDims();
 	}
 	
 	public int getNumColumns() {
@@ -465,6 +484,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	public void setNumColumns(int c) {
 		clen = c;
+		updateDenseBlockDims();
 	}
 	
 	public long getNonZeros() {
@@ -517,12 +537,29 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	////////
 	// Data handling
 	
-	public double[] getDenseBlock() {
+	public DenseBlock getDenseBlock() {
 		if( sparse )
 			return null;
 		return denseBlock;
 	}
 	
+	/**
+	 * Gets the linearized array of a dense block with a single underlying 
+	 * array, as used by all operations without dedicated support for large 
+	 * dense blocks.
+	 * 
+	 * @return dense array or null if sparse or not allocated
+	 */
+	public double[] getDenseBlockValues() {
+		if( sparse || denseBlock == null )
+			return null;
+		if( !denseBlock.isContiguous() ) {
+			throw new RuntimeException("Large dense in-memory block (with numblocks="+denseBlock.numBlocks()+") "
+				+ "not supported by this operation. Please, reduce the JVM heapsize to execute it in distributed mode.");
+		}
+		return denseBlock.valuesAt(0);
+	}
+	
 	public SparseBlock getSparseBlock() {
 		if( !sparse )
 			return null;
@@ -590,7 +627,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			if( denseBlock==null )
 				return 0;
-			return denseBlock[r*clen+c]; 
+			return denseBlock.get(r, c); 
 		}
 	}
 
@@ -620,10 +657,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			allocateDenseBlock(false);
 			
 			//set value and maintain nnz
-			int index=r*clen+c;
-			if( denseBlock[index]==0 )
+			if( denseBlock.get(r, c)==0 )
 				nonZeros++;
-			denseBlock[index] = v;
+			denseBlock.set(r, c, v);
 			if( v==0 )
 				nonZeros--;
 		}
@@ -633,7 +669,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		if(denseBlock==null)
 			return 0;
-		return denseBlock[r*clen+c]; 
+		return denseBlock.get(r, c); 
 	}
 	
 
@@ -648,7 +684,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 */
 	public void setValueDenseUnsafe(int r, int c, double v) 
 	{
-		denseBlock[r*clen+c]=v;		
+		denseBlock.set(r, c, v);
 	}
 	
 	public double getValueSparseUnsafe(int r, int c) 
@@ -678,7 +714,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			allocateDenseBlock(false);
 			
 			//set value and maintain nnz
-			denseBlock[r*clen+c] = v;
+			denseBlock.set(r, c, v);
 			nonZeros++;
 		}
 		else //SPARSE
@@ -754,12 +790,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else //SPARSE <- DENSE
 		{
+			DenseBlock b = that.denseBlock;
 			for( int i=0; i<that.rlen; i++ )
 			{
 				int aix = rowoffset+i;
-				for( int j=0, bix=i*that.clen; j<that.clen; j++ )
+				double[] bvals = b.values(i);
+				for( int j=0, bix=b.pos(i); j<that.clen; j++ )
 				{
-					double val = that.denseBlock[bix+j];
+					double val = bvals[bix+j];
 					if( val != 0 ) {
 						//create sparserow only if required
 						sparseBlock.allocate(aix, estimatedNNzsPerRow,clen);
@@ -1089,23 +1127,25 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		//copy dense to sparse with (1) row pre-allocation to avoid repeated 
 		//allocation on append, and (2) nnz re-computation 
-		double[] a = denseBlock;
+		DenseBlock a = denseBlock;
 		SparseBlock c = sparseBlock;
 		final int m = rlen;
 		final int n = clen;
 		
 		long nnz = 0;
-		for( int i=0, aix=0; i<m; i++, aix+=n ) {
+		for( int i=0; i<m; i++ ) {
+			double[] avals = a.values(i);
+			int aix = a.pos(i);
 			//recompute nnz per row (not via recomputeNonZeros as sparse allocated)
 			int lnnz = 0;
 			for(int j=0; j<n; j++)
-				lnnz += (a[aix+j]!=0) ? 1 : 0;
+				lnnz += (avals[aix+j]!=0) ? 1 : 0;
 			if( lnnz <= 0 ) continue;
 			
 			//allocate sparse row and append non-zero values
 			c.allocate(i, lnnz); 
 			for(int j=0; j<n; j++) {
-				double val = a[aix+j];
+				double val = avals[aix+j];
 				if( val != 0 )
 					c.append(i, j, val);
 			}
@@ -1127,28 +1167,30 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if(sparseBlock==null)
 			return;
 		
-		int limit=rlen*clen;
+		long limit = (long)rlen*clen;
 		if ( limit < 0 ) {
 			throw new DMLRuntimeException("Unexpected error in sparseToDense().. limit < 0: " + rlen + ", " + clen + ", " + limit);
 		}
 		
 		//allocate dense target block, but keep nnz (no need to maintain)
 		allocateDenseBlock(false);
-		Arrays.fill(denseBlock, 0, limit, 0);
+		denseBlock.reset();
 		
 		//copy sparse to dense
 		SparseBlock a = sparseBlock;
-		double[] c = denseBlock;
+		DenseBlock c = denseBlock;
 		
-		for( int i=0, cix=0; i<rlen; i++, cix+=clen)
+		for( int i=0; i<rlen; i++ )
 			if( !a.isEmpty(i) ) {
 				int apos = a.pos(i);
 				int alen = a.size(i);
 				int[] aix = a.indexes(i);
 				double[] avals = a.values(i);
+				double[] cvals = c.values(i);
+				int cix = c.pos(i);
 				for(int j=apos; j<apos+alen; j++)
 					if( avals[j] != 0 )
-						c[ cix+aix[j] ] = avals[j];
+						cvals[ cix+aix[j] ] = avals[j];
 			}
 		
 		//cleanup sparse rows
@@ -1168,15 +1210,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			//note: rlen might be <= sparseBlock.numRows()
 			nonZeros = sparseBlock.size(0, sparseBlock.numRows());
 		}
-		else if( !sparse && denseBlock!=null ) //DENSE (max int)
+		else if( !sparse && denseBlock!=null ) //DENSE (max long)
 		{
 			long start = DISPLAY_STATISTICS && DMLScript.STATISTICS ? System.nanoTime() : 0;
-			double[] a = denseBlock;
-			final int limit=rlen*clen;
-			int nnz = 0;
-			for(int i=0; i<limit; i++)
-				nnz += (a[i]!=0) ? 1 : 0;
-			nonZeros = nnz;
+			nonZeros = denseBlock.countNonZeros();
 			Statistics.recomputeNNZTime += DISPLAY_STATISTICS && DMLScript.STATISTICS ? (System.nanoTime() - start) : 0;
 		}
 	}
@@ -1211,21 +1248,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			}
 			return nnz;
 		}
-		else if( !sparse && denseBlock!=null ) //DENSE (max int)
+		else if( !sparse && denseBlock!=null ) //DENSE (max long)
 		{
-			double[] a = denseBlock;
-			final int n = clen;
-			int nnz = 0;
-			if( cl==0 && cu==n-1 ) { //specific case: all cols
-				for( int i=rl*n; i<(ru+1)*n; i++ )
-					nnz += (a[i]!=0) ? 1 : 0;
-			}
-			else {
-				for( int i=rl, ix=rl*n; i<=ru; i++, ix+=n )
-					for( int j=cl; j<=cu; j++ )
-						nnz += (a[ix+j]!=0) ? 1 : 0;
-			}
-			return nnz;
+			return denseBlock.countNonZeros(rl, ru+1, cl, cu+1);
 		}
 		
 		return 0; //empty block
@@ -1320,13 +1345,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	private void copyDenseToDense(MatrixBlock that)
 	{
 		nonZeros = that.nonZeros;
-		int limit = rlen*clen;
 		
 		//plain reset to 0 for empty input
 		if( that.isEmptyBlock(false) )
 		{
 			if(denseBlock!=null)
-				Arrays.fill(denseBlock, 0, limit, 0);
+				denseBlock.reset(rlen, clen);
 			return;
 		}
 		
@@ -1334,7 +1358,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		allocateDenseBlock(false);
 		
 		//actual copy 
-		System.arraycopy(that.denseBlock, 0, denseBlock, 0, limit);
+		denseBlock.set(that.denseBlock);
 	}
 	
 	private void copySparseToDense(MatrixBlock that)
@@ -1343,15 +1367,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if( that.isEmptyBlock(false) )
 		{
 			if(denseBlock!=null)
-				Arrays.fill(denseBlock, 0);
+				denseBlock.reset(rlen, clen);
 			return;
 		}
 		
 		//allocate and init dense block (w/o overwriting nnz)
 		allocateDenseBlock(false);
 		
-		int start=0;
-		for(int r=0; r<Math.min(that.sparseBlock.numRows(), rlen); r++, start+=clen)
+		DenseBlock c = denseBlock;
+		for(int r=0; r<Math.min(that.sparseBlock.numRows(), rlen); r++)
 		{
 			if(that.sparseBlock.isEmpty(r)) 
 				continue;
@@ -1359,9 +1383,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			int len = that.sparseBlock.size(r);
 			int[] aix = that.sparseBlock.indexes(r);
 			double[] avals = that.sparseBlock.values(r);
+			double[] cvals = c.values(r);
+			int start = c.pos(r);
 			
 			for(int i=pos; i<pos+len; i++) {
-				denseBlock[start+aix[i]]=avals[i];
+				cvals[start+aix[i]]=avals[i];
 			}
 		}
 	}
@@ -1377,13 +1403,16 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		allocateSparseRowsBlock(false);
 	
-		for(int i=0, ix=0; i<rlen; i++)
+		DenseBlock b = that.denseBlock;
+		for(int i=0; i<rlen; i++)
 		{			
 			sparseBlock.reset(i, estimatedNNzsPerRow, clen);
+			double[] bvals = b.values(i);
+			int ix = b.pos(i);
 			
 			for(int j=0; j<clen; j++)
 			{
-				double val = that.denseBlock[ix++];
+				double val = bvals[ix++];
 				if( val != 0 ) {
 					//create sparse row only if required
 					sparseBlock.allocate(i, estimatedNNzsPerRow, clen);
@@ -1508,7 +1537,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 		//copy values
 		SparseBlock a = src.sparseBlock;
-		for( int i=0, ix=rl*clen; i<src.rlen; i++, ix+=clen )
+		DenseBlock c = denseBlock;
+		for( int i=0; i<src.rlen; i++ )
 		{	
 			if( !a.isEmpty(i) )
 			{
@@ -1516,9 +1546,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				int alen = a.size(i);
 				int[] aix = a.indexes(i);
 				double[] avals = a.values(i);
+				double[] cvals = c.values(rl+i);
+				int ix = c.pos(rl+i);
 				
 				for( int j=apos; j<apos+alen; j++ )
-					denseBlock[ix+cl+aix[j]] = avals[j];
+					cvals[ix+cl+aix[j]] = avals[j];
 				
 				if(awareDestNZ)
 					nonZeros += alen;
@@ -1541,22 +1573,25 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		//copy values
 		SparseBlock a = sparseBlock;
-		for( int i=0, ix=0; i<src.rlen; i++, ix+=src.clen )
+		DenseBlock b = src.denseBlock;
+		for( int i=0; i<src.rlen; i++ )
 		{
 			int rix = rl + i;
+			double[] bvals = b.values(i);
+			int ix = b.pos(i);
 			if( a instanceof SparseBlockMCSR 
 				&& a.isEmpty(rix) ) //special case MCSR append
 			{
 				//count nnz per row (fits likely in L1 cache)
 				int lnnz = 0;
 				for( int j=0; j<src.clen; j++ )
-					lnnz += (src.denseBlock[ix+j]!=0) ? 1 : 0;
+					lnnz += (bvals[ix+j]!=0) ? 1 : 0;
 					
 				//allocate row once and copy values
 				if( lnnz > 0 ) {	
 					a.allocate(rix, lnnz);
 					for( int j=0; j<src.clen; j++ ) {
-						double val = src.denseBlock[ix+j];
+						double val = bvals[ix+j];
 						if( val != 0 )
 							a.append(rix, cl+j, val); 
 					}
@@ -1568,18 +1603,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			{
 				int lnnz = a.size(rix);
 				if( cl==cu ) {
-					double val = src.denseBlock[ix];
+					double val = bvals[ix];
 					a.set(rix, cl, val);
 				}
 				else {
-					a.setIndexRange(rix, cl, cu+1, src.denseBlock, ix, src.clen);
+					a.setIndexRange(rix, cl, cu+1, bvals, ix, src.clen);
 				}
 				nonZeros += (a.size(rix) - lnnz);
 			}	
 			else //general case (w/o awareness NNZ)
 			{
 				for( int j=0; j<src.clen; j++ ) {
-					double val = src.denseBlock[ix+j];
+					double val = bvals[ix+j];
 					if( val != 0 ) 
 						a.set(rix, cl+j, val);
 				}
@@ -1607,12 +1642,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			nonZeros = nonZeros - recomputeNonZeros(rl, ru, cl, cu) + src.nonZeros;
 		
 		//copy values
-		int rowLen = cu-cl+1;				
-		if(clen == src.clen) //optimization for equal width
-			System.arraycopy(src.denseBlock, 0, denseBlock, rl*clen+cl, src.rlen*src.clen);
+		int rowLen = cu-cl+1;
+		DenseBlock a = src.denseBlock;
+		DenseBlock c = denseBlock;
+		if(clen == src.clen && a.isContiguous() && c.isContiguous(rl, ru)) //optimization for equal width
+			System.arraycopy(a.valuesAt(0), 0, c.values(rl), c.pos(rl)+cl, src.rlen*src.clen);
 		else
-			for( int i=0, ix1=0, ix2=rl*clen+cl; i<src.rlen; i++, ix1+=src.clen, ix2+=clen ) {
-				System.arraycopy(src.denseBlock, ix1, denseBlock, ix2, rowLen);
+			for( int i=0; i<src.rlen; i++ ) {
+				System.arraycopy(a.values(i), a.pos(i), c.values(rl+i), c.pos(rl+i)+cl, rowLen);
 			}
 	}
 	
@@ -1643,12 +1680,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	private void copyEmptyToDense(int rl, int ru, int cl, int cu)
 	{
-		int rowLen = cu-cl+1;				
-		if(clen == rowLen) //optimization for equal width
-			Arrays.fill(denseBlock, rl*clen+cl, ru*clen+cu+1, 0);
-		else
-			for( int i=rl, ix2=rl*clen+cl; i<=ru; i++, ix2+=clen )
-				Arrays.fill(denseBlock, ix2, ix2+rowLen, 0);
+		denseBlock.set(rl, ru+1, cl, cu+1, 0);
 	}
 
 	public void merge(CacheBlock that, boolean appendOnly) 
@@ -1706,31 +1738,37 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		if( that.sparse ) //DENSE <- SPARSE
 		{
-			double[] a = denseBlock;
+			DenseBlock a = denseBlock;
 			SparseBlock b = that.sparseBlock;
 			int m = rlen;
-			int n = clen;
 			
-			for( int i=0, aix=0; i<m; i++, aix+=n )
+			for( int i=0; i<m; i++ )
 				if( !b.isEmpty(i) )
 				{
+					double[] avals = a.values(i);
+					int aix = a.pos(i);
 					int bpos = b.pos(i);
 					int blen = b.size(i);
 					int[] bix = b.indexes(i);
 					double[] bval = b.values(i);
 					for( int j=bpos; j<bpos+blen; j++ )
 						if( bval[j] != 0 )
-							a[ aix + bix[j] ] = bval[j];
+							avals[ aix + bix[j] ] = bval[j];
 				}
 		}
 		else //DENSE <- DENSE
 		{
-			double[] a = denseBlock;
-			double[] b = that.denseBlock;
-			int len = rlen * clen;
+			//note: equal dimensions guarantee aligned blocks
+			DenseBlock a = denseBlock;
+			DenseBlock b = that.denseBlock;
 			
-			for( int i=0; i<len; i++ )
-				a[i] = ( b[i] != 0 ) ? b[i] : a[i];
+			for( int bi=0; bi<a.numBlocks(); bi++ ) {
+				double[] avals = a.valuesAt(bi);
+				double[] bvals = b.valuesAt(bi);
+				int len = a.size(bi);
+				for( int i=0; i<len; i++ )
+					avals[i] = ( bvals[i] != 0 ) ? bvals[i] : avals[i];
+			}
 		}
 	}
 
@@ -1773,16 +1811,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else //SPARSE <- DENSE
 		{
 			SparseBlock a = sparseBlock;
-			double[] b = that.denseBlock;
+			DenseBlock b = that.denseBlock;
 			int m = rlen;
 			int n = clen;
 			
-			for( int i=0, bix=0; i<m; i++, bix+=n )
+			for( int i=0; i<m; i++ )
 			{
+				double[] bvals = b.values(i);
+				int bix = b.pos(i);
 				boolean appended = false;
 				for( int j=0; j<n; j++ ) {
-					if( b[bix+j] != 0 ) {
-						appendValue(i, j, b[bix+j]);
+					if( bvals[bix+j] != 0 ) {
+						appendValue(i, j, bvals[bix+j]);
 						appended = true;
 					}
 				}
@@ -1857,12 +1897,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		allocateDenseBlock(true); //allocate block, clear nnz
 		
-		int limit = rlen*clen;
+		DenseBlock a = denseBlock;
 		
 		if( in instanceof MatrixBlockDataInput ) //fast deserialize
 		{
 			MatrixBlockDataInput mbin = (MatrixBlockDataInput)in;
-			nonZeros = mbin.readDoubleArray(limit, denseBlock);
+			for( int bi=0; bi<a.numBlocks(); bi++ )
+				nonZeros += mbin.readDoubleArray(a.size(bi), a.valuesAt(bi));
 		}
 		else if( in instanceof DataInputBuffer && MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION ) 
 		{
@@ -1871,7 +1912,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			FastBufferedDataInputStream mbin = null;
 			try {
 				mbin = new FastBufferedDataInputStream(din);
-				nonZeros = mbin.readDoubleArray(limit, denseBlock);	
+				for( int bi=0; bi<a.numBlocks(); bi++ )
+					nonZeros += mbin.readDoubleArray(a.size(bi), a.valuesAt(bi));
 			}
 			finally {
 				IOUtilFunctions.closeSilently(mbin);
@@ -1879,11 +1921,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else //default deserialize
 		{
-			for( int i=0; i<limit; i++ )
-			{
-				denseBlock[i]=in.readDouble();
-				if(denseBlock[i]!=0)
-					nonZeros++;
+			for( int bi=0; bi<a.numBlocks(); bi++ ) {
+				double[] avals = a.valuesAt(bi);
+				int len = a.size(bi);
+				for( int i=0; i<len; i++ )
+				{
+					avals[i]=in.readDouble();
+					if(avals[i]!=0)
+						nonZeros++;
+				}
 			}
 		}
 	}
@@ -1929,7 +1975,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		throws IOException, DMLRuntimeException 
 	{
 		allocateDenseBlock(false); //allocate block
-		Arrays.fill(denseBlock, 0);
+		denseBlock.reset();
 		
 		for(int r=0; r<rlen; r++)
 		{
@@ -1938,7 +1984,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			{
 				int c = in.readInt();
 				double val = in.readDouble(); 
-				denseBlock[r*clen+c] = val;
+				denseBlock.set(r, c, val);
 			}
 		}
 	}
@@ -1975,7 +2021,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		throws IOException, DMLRuntimeException 
 	{	
 		allocateDenseBlock(false); //allocate block
-		Arrays.fill(denseBlock, 0);
+		denseBlock.reset();
 		
 		if( clen > 1 ) //ULTRA-SPARSE BLOCK
 		{ 
@@ -1984,7 +2030,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				int r = in.readInt();
 				int c = in.readInt();
 				double val = in.readDouble();			
-				denseBlock[r*clen+c] = val;
+				denseBlock.set(r, c, val);
 			}
 		}
 		else //ULTRA-SPARSE COL
@@ -1993,7 +2039,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			for(long i=0; i<nonZeros; i++) {
 				int r = in.readInt();
 				double val = in.readDouble();			
-				denseBlock[r] = val;
+				denseBlock.set(r, 0, val);
 			}
 		}
 	}
@@ -2048,12 +2094,16 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		out.writeByte( BlockType.DENSE_BLOCK.ordinal() );
 		
-		int limit=rlen*clen;
-		if( out instanceof MatrixBlockDataOutput ) //fast serialize
-			((MatrixBlockDataOutput)out).writeDoubleArray(limit, denseBlock);
-		else //general case (if fast serialize not supported)
-			for(int i=0; i<limit; i++)
-				out.writeDouble(denseBlock[i]);
+		DenseBlock a = denseBlock;
+		for( int bi=0; bi<a.numBlocks(); bi++ ) {
+			double[] avals = a.valuesAt(bi);
+			int len = a.size(bi);
+			if( out instanceof MatrixBlockDataOutput ) //fast serialize
+				((MatrixBlockDataOutput)out).writeDoubleArray(len, avals);
+			else //general case (if fast serialize not supported)
+				for(int i=0; i<len; i++)
+					out.writeDouble(avals[i]);
+		}
 	}
 
 	private void writeSparseBlock(DataOutput out) 
@@ -2179,28 +2229,34 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		writeNnzInfo( out, true );
 
 		long wnnz = 0;
+		DenseBlock a = denseBlock;
 		
 		if( clen > 1 ) //ULTRA-SPARSE BLOCK
 		{
 			//block: write ijv-triples
-			for(int r=0, ix=0; r<rlen; r++)
+			for(int r=0; r<rlen; r++) {
+				double[] avals = a.values(r);
+				int ix = a.pos(r);
 				for(int c=0; c<clen; c++, ix++)
-					if( denseBlock[ix]!=0 ) {
+					if( avals[ix]!=0 ) {
 						out.writeInt(r);
 						out.writeInt(c);
-						out.writeDouble(denseBlock[ix]);
+						out.writeDouble(avals[ix]);
 						wnnz++;
 					}
+			}
 		}
 		else //ULTRA-SPARSE COL
 		{
 			//col: write iv-pairs
-			for(int r=0; r<rlen; r++)
-				if( denseBlock[r]!=0 ) {
+			for(int r=0; r<rlen; r++) {
+				double val = a.get(r, 0);
+				if( val!=0 ) {
 					out.writeInt(r);
-					out.writeDouble(denseBlock[r]);
+					out.writeDouble(val);
 					wnnz++;
 				}
+			}
 		}
 		
 		//validity check (nnz must exactly match written nnz)
@@ -2215,21 +2271,23 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		out.writeByte( BlockType.SPARSE_BLOCK.ordinal() ); //block type
 		writeNnzInfo( out, false );
 		
-		int start=0;
+		DenseBlock a = denseBlock;
 		for(int r=0; r<rlen; r++)
 		{
+			double[] avals = a.values(r);
+			int start = a.pos(r);
 			//count nonzeros
 			int nr=0;
 			for(int i=start; i<start+clen; i++)
-				if(denseBlock[i]!=0.0)
+				if(avals[i]!=0.0)
 					nr++;
 			out.writeInt(nr);
 			for(int c=0; c<clen; c++)
 			{
-				if(denseBlock[start]!=0.0)
+				if(avals[start]!=0.0)
 				{
 					out.writeInt(c);
-					out.writeDouble(denseBlock[start]);
+					out.writeDouble(avals[start]);
 				}
 				start++;
 			}
@@ -2650,10 +2708,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else
 		{
 			//default execute unary operations
-			if(op.sparseSafe)
-				sparseUnaryOperations(op, ret);
-			else
-				denseUnaryOperations(op, ret);
+			//e.g., exp/log/sqrt/sigmoid/round/abs
+			LibMatrixUnary.unaryOperations(this, ret, op);
 		}
 		
 		//ensure empty results sparse representation 
@@ -2664,100 +2720,6 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		return ret;
 	}
 
-	private void sparseUnaryOperations(UnaryOperator op, MatrixBlock ret) 
-		throws DMLRuntimeException
-	{
-		//early abort possible since sparse-safe
-		if( isEmptyBlock(false) )
-			return;
-		
-		final int m = rlen;
-		final int n = clen;
-		
-		if( sparse && ret.sparse ) //SPARSE <- SPARSE
-		{
-			ret.allocateSparseRowsBlock();
-			SparseBlock a = sparseBlock;
-			SparseBlock c = ret.sparseBlock;
-		
-			long nnz = 0;
-			for(int i=0; i<m; i++) {
-				if( a.isEmpty(i) ) continue;
-				
-				int apos = a.pos(i);
-				int alen = a.size(i);
-				int[] aix = a.indexes(i);
-				double[] avals = a.values(i);
-				
-				c.allocate(i, alen); //avoid repeated alloc
-				for( int j=apos; j<apos+alen; j++ ) {
-					double val = op.fn.execute(avals[j]);
-					c.append(i, aix[j], val);
-					nnz += (val != 0) ? 1 : 0;
-				}
-			}
-			ret.nonZeros = nnz;
-		}
-		else if( sparse ) //DENSE <- SPARSE
-		{
-			SparseBlock a = sparseBlock;			
-			
-			for(int i=0; i<m; i++) {
-				if( a.isEmpty(i) ) continue;
-			
-				int apos = a.pos(i);
-				int alen = a.size(i);
-				int[] aix = a.indexes(i);
-				double[] avals = a.values(i);
-				
-				for( int j=apos; j<apos+alen; j++ ) {
-					double val = op.fn.execute(avals[j]);
-					ret.appendValue(i, aix[j], val);
-				}
-			}
-			//nnz maintained on appendValue
-		}
-		else //DENSE <- DENSE
-		{
-			//allocate dense output block
-			ret.allocateDenseBlock();						
-			double[] a = denseBlock;
-			double[] c = ret.denseBlock;
-			int len = m * n;
-			
-			//unary op, incl nnz maintenance
-			int nnz = 0;
-			for( int i=0; i<len; i++ ) {
-				c[i] = op.fn.execute(a[i]);
-				nnz += (c[i] != 0) ? 1 : 0;
-			}
-			ret.nonZeros = nnz;
-		}
-	}
-
-	private void denseUnaryOperations(UnaryOperator op, MatrixBlock ret) 
-		throws DMLRuntimeException
-	{
-		//prepare 0-value init (determine if unnecessarily sparse-unsafe)
-		double val0 = op.fn.execute(0);
-		
-		final int m = rlen;
-		final int n = clen;
-		
-		//early abort possible if unnecessarily sparse unsafe
-		//(otherwise full init with val0, no need for computation)
-		if( isEmptyBlock(false) ) {
-			if( val0 != 0 )
-				ret.reset(m, n, val0);
-			return;
-		}
-		
-		//redirection to sparse safe operation w/ init by val0
-		if( sparse && val0 != 0 )
-			ret.reset(m, n, val0);
-		sparseUnaryOperations(op, ret);
-	}
-
 	@Override
 	public void unaryOperationsInPlace(UnaryOperator op) 
 		throws DMLRuntimeException
@@ -2812,13 +2774,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else
 		{
-			int limit=rlen*clen;
+			DenseBlock a = denseBlock;
 			nonZeros=0;
-			for(int i=0; i<limit; i++)
+			for(int bi=0; bi<a.numBlocks(); bi++)
 			{
-				denseBlock[i]=op.fn.execute(denseBlock[i]);
-				if(denseBlock[i]!=0)
-					nonZeros++;
+				double[] avals = a.valuesAt(bi);
+				int limit = a.size(bi);
+				for(int i=0; i<limit; i++)
+				{
+					avals[i]=op.fn.execute(avals[i]);
+					if(avals[i]!=0)
+						nonZeros++;
+				}
 			}
 		}
 	}
@@ -2843,13 +2810,17 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				allocateDenseBlock();
 			
 			//compute values in-place and update nnz
-			final int limit = rlen*clen;
-			int lnnz = 0;
-			for( int i=0; i<limit; i++ ) {
-				denseBlock[i] = op.fn.execute(denseBlock[i]);	
-				if( denseBlock[i]!=0 )
-					lnnz++;
-			}		
+			DenseBlock a = denseBlock;
+			long lnnz = 0;
+			for( int bi=0; bi<a.numBlocks(); bi++ ) {
+				double[] avals = a.valuesAt(bi);
+				final int limit = a.size(bi);
+				for( int i=0; i<limit; i++ ) {
+					avals[i] = op.fn.execute(avals[i]);	
+					if( avals[i]!=0 )
+						lnnz++;
+				}
+			}
 			nonZeros = lnnz;
 			
 			//IBM JVM bug (JDK6) causes crash for certain inputs (w/ infinities) 
@@ -3422,7 +3393,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				{
 					if( result.isInSparseFormat() ) //SPARSE<-DENSE
 					{
-						double[] a = denseBlock;
+						double[] a = getDenseBlockValues();
 						for( int i=0, aix=0; i<rlen; i++ )
 							for( int j=0; j<clen; j++, aix++ )
 							{
@@ -3434,9 +3405,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					else //DENSE<-DENSE
 					{
 						result.allocateDenseBlock();
-						Arrays.fill(result.denseBlock, 0);
-						double[] a = denseBlock;
-						double[] c = result.denseBlock;
+						result.denseBlock.reset();
+						double[] a = getDenseBlockValues();
+						double[] c = result.getDenseBlockValues();
 						int n = result.clen;
 						
 						for( int i=0, aix=0; i<rlen; i++ )
@@ -3708,7 +3679,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				if( src.sparse )
 					sblock.setIndexRange(rl, ru+1, cl, cu+1, src.getSparseBlock());
 				else //dense
-					sblock.setIndexRange(rl, ru+1, cl, cu+1, src.getDenseBlock(), 0, src.getNumRows()*src.getNumColumns());
+					sblock.setIndexRange(rl, ru+1, cl, cu+1, src.getDenseBlockValues(), 0, src.getNumRows()*src.getNumColumns());
 				result.nonZeros = sblock.size();
 			}
 			//copy submatrix into result
@@ -3836,7 +3807,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				if( !sparseBlock.isEmpty(i) ) {
 					double val = sparseBlock.get(i, cl);
 					if( val != 0 ) {
-						dest.denseBlock[i-rl] = val;
+						dest.denseBlock.set(i-rl, 0, val);
 						dest.nonZeros++;
 					}
 				}
@@ -3873,20 +3844,21 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		dest.allocateDenseBlock();
 
 		//indexing operation
+		DenseBlock a = denseBlock;
+		DenseBlock c = dest.denseBlock;
 		if( cl==cu ) //COLUMN INDEXING
 		{
-			if( clen==1 ) //vector -> vector
+			if( clen==1 && a.isContiguous(rl, ru) ) //vector -> vector
 			{
-				System.arraycopy(denseBlock, rl, dest.denseBlock, 0, ru-rl+1);
+				System.arraycopy(a.values(rl), a.pos(rl), c.valuesAt(0), 0, ru-rl+1);
 			}
 			else //matrix -> vector
 			{
 				//IBM JVM bug (JDK7) causes crash for certain cl/cu values (e.g., divide by zero for 4) 
 				//for( int i=rl*clen+cl, ix=0; i<=ru*clen+cu; i+=clen, ix++ )
 				//	dest.denseBlock[ix] = denseBlock[i];
-				int len = clen;
-				for( int i=rl*len+cl, ix=0; i<=ru*len+cu; i+=len, ix++ )
-					dest.denseBlock[ix] = denseBlock[i];
+				for( int i=rl; i<=ru; i++ )
+					c.set(i-rl, 0, a.get(i, cl));
 			}
 		}
 		else // GENERAL RANGE INDEXING
@@ -3894,10 +3866,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			//IBM JVM bug (JDK7) causes crash for certain cl/cu values (e.g., divide by zero for 4) 
 			//for(int i = rl, ix1 = rl*clen+cl, ix2=0; i <= ru; i++, ix1+=clen, ix2+=dest.clen) 
 			//	System.arraycopy(denseBlock, ix1, dest.denseBlock, ix2, dest.clen);
-			int len1 = clen;
 			int len2 = dest.clen;
-			for(int i = rl, ix1 = rl*len1+cl, ix2=0; i <= ru; i++, ix1+=len1, ix2+=len2) 
-				System.arraycopy(denseBlock, ix1, dest.denseBlock, ix2, len2);
+			for(int i = rl; i <= ru; i++) 
+				System.arraycopy(a.values(i), a.pos(i)+cl, c.values(i-rl), c.pos(i-rl), len2);
 		}
 		
 		//compute nnz of output (not maintained due to native calls)
@@ -3965,15 +3936,16 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			if(denseBlock!=null)
 			{
+				double[] avals = getDenseBlockValues();
 				int i=((int)range.rowStart)*clen;
 				int r=(int) range.rowStart;
 				for(; r<Math.min(rowCut, range.rowEnd+1); r++)
 				{
 					int c=(int) range.colStart;
 					for(; c<Math.min(colCut, range.colEnd+1); c++)
-						topleft.appendValue(r+normalBlockRowFactor-rowCut, c+normalBlockColFactor-colCut, denseBlock[i+c]);
+						topleft.appendValue(r+normalBlockRowFactor-rowCut, c+normalBlockColFactor-colCut, avals[i+c]);
 					for(; c<=range.colEnd; c++)
-						topright.appendValue(r+normalBlockRowFactor-rowCut, c-colCut, denseBlock[i+c]);
+						topright.appendValue(r+normalBlockRowFactor-rowCut, c-colCut, avals[i+c]);
 					i+=clen;
 				}
 				
@@ -3981,9 +3953,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				{
 					int c=(int) range.colStart;
 					for(; c<Math.min(colCut, range.colEnd+1); c++)
-						bottomleft.appendValue(r-rowCut, c+normalBlockColFactor-colCut, denseBlock[i+c]);
+						bottomleft.appendValue(r-rowCut, c+normalBlockColFactor-colCut, avals[i+c]);
 					for(; c<=range.colEnd; c++)
-						bottomright.appendValue(r-rowCut, c-colCut, denseBlock[i+c]);
+						bottomright.appendValue(r-rowCut, c-colCut, avals[i+c]);
 					i+=clen;
 				}
 			}
@@ -4131,13 +4103,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			if(denseBlock!=null)
 			{
+				double[] avals = getDenseBlockValues();
 				if(complementary)//if selection
 				{
 					int offset=((int)range.rowStart)*clen;
 					for(int r=(int) range.rowStart; r<=range.rowEnd; r++)
 					{
 						for(int c=(int) range.colStart; c<=range.colEnd; c++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset+c]);
+							((MatrixBlock) result).appendValue(r, c, avals[offset+c]);
 						offset+=clen;
 					}
 				}else
@@ -4146,20 +4119,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					int r=0;
 					for(; r<(int)range.rowStart; r++)
 						for(int c=0; c<clen; c++, offset++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset]);
+							((MatrixBlock) result).appendValue(r, c, avals[offset]);
 					
 					for(; r<=(int)range.rowEnd; r++)
 					{
 						for(int c=0; c<(int)range.colStart; c++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset+c]);
+							((MatrixBlock) result).appendValue(r, c, avals[offset+c]);
 						for(int c=(int)range.colEnd+1; c<clen; c++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset+c]);
+							((MatrixBlock) result).appendValue(r, c, avals[offset+c]);
 						offset+=clen;
 					}
 					
 					for(; r<rlen; r++)
 						for(int c=0; c<clen; c++, offset++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset]);
+							((MatrixBlock) result).appendValue(r, c, avals[offset]);
 				}
 				
 			}
@@ -4271,6 +4244,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			if(denseBlock!=null)
 			{
+				double[] avals = getDenseBlockValues();
 				int limit=rlen*clen;
 				for(int i=0; i<limit; i++)
 				{
@@ -4278,7 +4252,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					c=i%clen;
 					tempCellIndex.set(r, c);
 					op.indexFn.execute(tempCellIndex, tempCellIndex);
-					incrementalAggregateUnaryHelp(op.aggOp, result, tempCellIndex.row, tempCellIndex.column, denseBlock[i], buffer);
+					incrementalAggregateUnaryHelp(op.aggOp, result, tempCellIndex.row, tempCellIndex.column, avals[i], buffer);
 				}
 			}
 		}
@@ -4421,13 +4395,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			else //DENSE
 			{
 				if(denseBlock!=null)
-					for(int i=(rlen-step)*clen; i<rlen*clen; i++)
-						if(denseBlock[i]!=0)
-							this.nonZeros--;
+					this.nonZeros -= recomputeNonZeros(rlen-step, rlen-1, 0, clen-1);
 			}
 			
 			//just need to shrink the dimension, the deleted rows won't be accessed
 			rlen -= step;
+			if( !sparse && denseBlock!=null )
+				shrinkDenseBlockDims();
 		}
 		
 		//e.g., rowSums, rowsMeans, rowsMaxs, rowsMeans, rowVars
@@ -4454,16 +4428,27 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 						}
 				}
 			}
+			else if( denseBlock!=null && !denseBlock.isContiguous() ) //LARGE DENSE
+			{
+				//row blocking depends on the number of columns, hence copy
+				DenseBlock a = denseBlock;
+				DenseBlock c = DenseBlockFactory.createDenseBlock(rlen, clen-step);
+				for( int r=0; r<rlen; r++ )
+					System.arraycopy(a.values(r), a.pos(r), c.values(r), c.pos(r), clen-step);
+				denseBlock = c;
+				nonZeros = c.countNonZeros();
+			}
 			else //DENSE
 			{
 				if(this.denseBlock!=null)
 				{
+					double[] a = getDenseBlockValues();
 					//the first row doesn't need to be copied
 					int targetIndex=clen-step;
 					int sourceOffset=clen;
 					this.nonZeros=0;
 					for(int i=0; i<targetIndex; i++)
-						if(denseBlock[i]!=0)
+						if(a[i]!=0)
 							this.nonZeros++;
 					
 					//start from the 2nd row
@@ -4471,7 +4456,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					{
 						for(int c=0; c<clen-step; c++)
 						{
-							if((denseBlock[targetIndex]=denseBlock[sourceOffset+c])!=0)
+							if((a[targetIndex]=a[sourceOffset+c])!=0)
 								this.nonZeros++;
 							targetIndex++;
 						}
@@ -4481,8 +4466,29 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			}
 			
 			clen -= step;
+			if( !sparse && denseBlock!=null )
+				shrinkDenseBlockDims();
 		}
 	}
+	
+	/**
+	 * Updates the dimensions of the dense block after dropping trailing rows 
+	 * or columns in place. In contrast to updateDenseBlockDims, multi-block
+	 * arrays are copied into the new row blocking in order to keep their data.
+	 */
+	private void shrinkDenseBlockDims() {
+		if( denseBlock.numRows()==rlen && denseBlock.numCols()==clen )
+			return;
+		if( DenseBlockFactory.isDenseBlockType(denseBlock, DenseBlock.Type.DRB) ) {
+			updateDenseBlockDims();
+			return;
+		}
+		DenseBlock a = denseBlock;
+		DenseBlock c = DenseBlockFactory.createDenseBlock(rlen, clen);
+		for( int r=0; r<rlen; r++ )
+			System.arraycopy(a.values(r), a.pos(r), c.values(r), c.pos(r), clen);
+		denseBlock = c;
+	}
 
 	public CM_COV_Object cmOperations(CMOperator op) 
 		throws DMLRuntimeException 
@@ -4523,8 +4529,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else if(denseBlock!=null)  //DENSE
 		{
 			//always vector (see check above)
+			double[] a = getDenseBlockValues();
 			for(int i=0; i<rlen; i++)
-				op.fn.execute(cmobj, denseBlock[i]);
+				op.fn.execute(cmobj, a[i]);
 		}
 
 		return cmobj;
@@ -4552,17 +4559,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else if(denseBlock!=null) //DENSE
 		{
 			//always vectors (see check above)
+			double[] a = getDenseBlockValues();
 			if( !weights.sparse )
 			{
 				//both dense vectors (default case)
-				if(weights.denseBlock!=null)
+				if(weights.denseBlock!=null) {
+					double[] w = weights.getDenseBlockValues();
 					for( int i=0; i<rlen; i++ )
-						op.fn.execute(cmobj, denseBlock[i], weights.denseBlock[i]);
+						op.fn.execute(cmobj, a[i], w[i]);
+				}
 			}
 			else
 			{
 				for(int i=0; i<rlen; i++) 
-					op.fn.execute(cmobj, denseBlock[i], weights.quickGetValue(i,0) );
+					op.fn.execute(cmobj, a[i], weights.quickGetValue(i,0) );
 			}
 		}
 		
@@ -4591,17 +4601,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else if(denseBlock!=null) //DENSE
 		{
 			//always vectors (see check above)
+			double[] a = getDenseBlockValues();
 			if( !that.sparse )
 			{
 				//both dense vectors (default case)
-				if(that.denseBlock!=null)
+				if(that.denseBlock!=null) {
+					double[] b = that.getDenseBlockValues();
 					for( int i=0; i<rlen; i++ )
-						op.fn.execute(covobj, denseBlock[i], that.denseBlock[i]);
+						op.fn.execute(covobj, a[i], b[i]);
+				}
 			}
 			else
 			{
 				for(int i=0; i<rlen; i++)
-					op.fn.execute(covobj, denseBlock[i], that.quickGetValue(i,0));
+					op.fn.execute(covobj, a[i], that.quickGetValue(i,0));
 			}
 		}
 		
@@ -4635,17 +4648,21 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else if(denseBlock!=null) //DENSE
 		{
 			//always vectors (see check above)
+			double[] a = getDenseBlockValues();
 			if( !that.sparse && !weights.sparse )
 			{
 				//all dense vectors (default case)
-				if(that.denseBlock!=null)
+				if(that.denseBlock!=null) {
+					double[] b = that.getDenseBlockValues();
+					double[] w = weights.getDenseBlockValues();
 					for( int i=0; i<rlen; i++ )
-						op.fn.execute(covobj, denseBlock[i], that.denseBlock[i], weights.denseBlock[i]);
+						op.fn.execute(covobj, a[i], b[i], w[i]);
+				}
 			}
 			else
 			{
 				for(int i=0; i<rlen; i++)
-					op.fn.execute(covobj, denseBlock[i], that.quickGetValue(i,0), weights.quickGetValue(i,0));
+					op.fn.execute(covobj, a[i], that.quickGetValue(i,0), weights.quickGetValue(i,0));
 			}
 		}
 		
@@ -4653,6 +4670,22 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 
 	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result) throws DMLRuntimeException {
+		return sortOperations(weights, result, 1);
+	}
+	
+	/**
+	 * Sorts a column vector (w/ optional weights) into a two-column matrix of distinct 
+	 * values and weights as used by quantile picking. If the input is already sorted 
+	 * in ascending order (e.g., the output of order), the result is constructed in a 
+	 * single pass without re-sorting; otherwise, the sort is performed with k threads.
+	 * 
+	 * @param weights weights column vector or null
+	 * @param result result matrix
+	 * @param k degree of parallelism
+	 * @return two-column matrix of sorted values and weights
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result, int k) throws DMLRuntimeException {
 		boolean wtflag = (weights!=null);
 		
 		MatrixBlock wts= (weights == null ? null : checkType(weights));
@@ -4673,18 +4706,27 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else
 			result.reset(dim1, 2, false);
 		
+		// Check for already sorted inputs, in which case the zero value is placed
+		// after all negative values and we directly write into the result
+		int zpos = 0;
+		boolean sorted = isSortedAscending();
+		if( sorted )
+			while( zpos<rlen && quickGetValue(zpos,0) < 0 )
+				zpos++;
+		
 		// Copy the input elements into a temporary array for sorting
 		// First column is data and second column is weights
 		// (since the inputs are vectors, they are likely dense - hence quickget is sufficient)
-		MatrixBlock tdw = new MatrixBlock(dim1, 2, false);
+		MatrixBlock tdw = sorted ? (MatrixBlock)result : new MatrixBlock(dim1, 2, false);
 		double d, w, zero_wt=0;
-		int ind = 1;
+		int ind = 0;
 		if( wtflag ) // w/ weights
 		{
 			for ( int i=0; i<rlen; i++ ) {
 				d = quickGetValue(i,0);
 				w = wts.quickGetValue(i,0);
 				if ( d != 0 ) {
+					ind += (ind==zpos) ? 1 : 0;
 					tdw.quickSetValue(ind, 0, d);
 					tdw.quickSetValue(ind, 1, w);
 					ind++;
@@ -4699,23 +4741,37 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			for( int i=0; i<rlen; i++ ) {
 				d = quickGetValue(i,0);
 				if( d != 0 ){
+					ind += (ind==zpos) ? 1 : 0;
 					tdw.quickSetValue(ind, 0, d);
 					tdw.quickSetValue(ind, 1, 1);
 					ind++;
 				}
 			}
 		}
-		tdw.quickSetValue(0, 0, 0.0);
-		tdw.quickSetValue(0, 1, zero_wt); //num zeros in input
+		tdw.quickSetValue(zpos, 0, 0.0);
+		tdw.quickSetValue(zpos, 1, zero_wt); //num zeros in input
 		
 		// Sort td and tw based on values inside td (ascending sort), incl copy into result
-		SortIndex sfn = SortIndex.getSortIndexFnObject(1, false, false);
-		ReorgOperator rop = new ReorgOperator(sfn);
-		LibMatrixReorg.reorg(tdw, (MatrixBlock)result, rop);
+		if( !sorted ) {
+			SortIndex sfn = SortIndex.getSortIndexFnObject(1, false, false);
+			ReorgOperator rop = new ReorgOperator(sfn, k);
+			LibMatrixReorg.reorg(tdw, (MatrixBlock)result, rop);
+		}
 		
 		return result;
 	}
 	
+	private boolean isSortedAscending() {
+		//note: comparisons with NaN evaluate to false, i.e., not sorted
+		if( sparse || denseBlock == null )
+			return false;
+		double[] a = getDenseBlockValues();
+		for( int i=0; i<rlen-1; i++ )
+			if( !(a[i] <= a[i+1]) )
+				return false;
+		return true;
+	}
+	
 	public double interQuartileMean() throws DMLRuntimeException {
 		
 		double sum_wt = sumWeightForQuantile();
@@ -5150,7 +5206,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				ret.sparse = false;
 				ret.allocateDenseBlock();	
 				SparseBlock a = sparseBlock;
-				double[] c = ret.denseBlock;
+				double[] c = ret.getDenseBlockValues();
 				
 				//initialize with replacement (since all 0 values, see SPARSITY_TURN_POINT)
 				Arrays.fill(c, replacement); 
@@ -5176,8 +5232,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			int mn = ret.rlen * ret.clen;
 			ret.allocateDenseBlock();
-			double[] a = denseBlock;
-			double[] c = ret.denseBlock;
+			double[] a = getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 			
 			for( int i=0; i<mn; i++ ) 
 			{
@@ -5849,9 +5905,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else
 		{
 			if(denseBlock!=null) {
-				for(int i=0, ix=0; i<rlen; i++, ix+=clen) {
+				for(int i=0; i<rlen; i++) {
+					double[] avals = denseBlock.values(i);
+					int ix = denseBlock.pos(i);
 					for(int j=0; j<clen; j++) {
-						sb.append(this.denseBlock[ix+j]);
+						sb.append(avals[ix+j]);
 						sb.append("\t");
 					}
 					sb.append("\n");
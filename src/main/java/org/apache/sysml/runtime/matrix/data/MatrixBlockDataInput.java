@@ -30,6 +30,7 @@ import java.io.IOException;
  * Known implementation classes:
  *    - FastBufferedDataInputStream
  *    - CacheDataInput
+ *    - OffHeapDataInput
  *    
  */
 public interface MatrixBlockDataInput 
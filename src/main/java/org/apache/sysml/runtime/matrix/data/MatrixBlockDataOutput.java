@@ -31,6 +31,7 @@ import java.io.IOException;
  * Known implementation classes:
  *    - CacheDataOutput (cache serialization into in-memory write buffer)
  *    - FastBufferedDataOutputStream (cache eviction to local file system)
+ *    - OffHeapDataOutput (cache eviction into off-heap buffers)
  * 
  */
 public interface MatrixBlockDataOutput 
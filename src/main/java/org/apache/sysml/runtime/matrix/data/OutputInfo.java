@@ -33,6 +33,7 @@ import org.apache.hadoop.mapred.SequenceFileOutputFormat;
 import org.apache.hadoop.mapred.TextOutputFormat;
 import org.apache.sysml.parser.DataExpression;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.matrix.mapred.CSVWriteReducer.RowBlockForTextOutput;
 import org.apache.sysml.runtime.matrix.sort.CompactOutputFormat;
 
@@ -72,6 +73,14 @@ public class OutputInfo implements Serializable
 			MatrixIndexes.class, WeightedPair.class);
 	public static final OutputInfo CSVOutputInfo=new OutputInfo(UnPaddedOutputFormat.class, 
 			NullWritable.class, RowBlockForTextOutput.class);
+	public static final OutputInfo LIBSVMOutputInfo=new OutputInfo(TextOutputFormat.class, 
+			NullWritable.class, Text.class);
+	//single-block matrices on the local file system (CP only, no output format)
+	public static final OutputInfo BinaryBlockLocalOutputInfo=new OutputInfo(null, 
+			MatrixIndexes.class, MatrixBlock.class);
+	//single-block compressed matrices, i.e., persisted column groups (CP only)
+	public static final OutputInfo CompressedBinaryBlockOutputInfo=new OutputInfo(
+			SequenceFileOutputFormat.class, MatrixIndexes.class, CompressedMatrixBlock.class);
 
 	public static InputInfo getMatchingInputInfo(OutputInfo oi) throws DMLRuntimeException {
 		if ( oi == OutputInfo.BinaryBlockOutputInfo )
@@ -90,6 +99,12 @@ public class OutputInfo implements Serializable
 			return InputInfo.WeightedPairInputInfo;
 		else if ( oi == OutputInfo.CSVOutputInfo)
 			return InputInfo.CSVInputInfo;
+		else if ( oi == OutputInfo.LIBSVMOutputInfo)
+			return InputInfo.LIBSVMInputInfo;
+		else if ( oi == OutputInfo.BinaryBlockLocalOutputInfo)
+			return InputInfo.BinaryBlockLocalInputInfo;
+		else if ( oi == OutputInfo.CompressedBinaryBlockOutputInfo)
+			return InputInfo.CompressedBinaryBlockInputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + oi);
 	}
@@ -115,6 +130,12 @@ public class OutputInfo implements Serializable
 			return WeightedPairOutputInfo;
 		else if ( str.equalsIgnoreCase("csv") )
 			return CSVOutputInfo;
+		else if ( str.equalsIgnoreCase("libsvm") )
+			return LIBSVMOutputInfo;
+		else if ( str.equalsIgnoreCase("binaryblocklocal") )
+			return BinaryBlockLocalOutputInfo;
+		else if ( str.equalsIgnoreCase("compressedblock") )
+			return CompressedBinaryBlockOutputInfo;
 		return null;
 	}
 	
@@ -137,6 +158,12 @@ public class OutputInfo implements Serializable
 			return "weightedpair";
 		else if ( oi == CSVOutputInfo )
 			return "csv";
+		else if ( oi == LIBSVMOutputInfo )
+			return "libsvm";
+		else if ( oi == BinaryBlockLocalOutputInfo )
+			return "binaryblocklocal";
+		else if ( oi == CompressedBinaryBlockOutputInfo )
+			return "compressedblock";
 		else
 			throw new DMLRuntimeException("Unrecognized outputInfo: " + oi);
 	}
@@ -149,9 +176,13 @@ public class OutputInfo implements Serializable
 			return DataExpression.FORMAT_TYPE_VALUE_MATRIXMARKET;
 		else if( oinfo == OutputInfo.CSVOutputInfo )
 			return DataExpression.FORMAT_TYPE_VALUE_CSV;
+		else if( oinfo == OutputInfo.LIBSVMOutputInfo )
+			return DataExpression.FORMAT_TYPE_VALUE_LIBSVM;
 		else if( oinfo == OutputInfo.BinaryBlockOutputInfo 
 				|| oinfo == OutputInfo.BinaryCellOutputInfo )
 			return DataExpression.FORMAT_TYPE_VALUE_BINARY;
+		else if( oinfo == OutputInfo.CompressedBinaryBlockOutputInfo )
+			return DataExpression.FORMAT_TYPE_VALUE_COMPRESSED;
 		else
 			return "specialized";
 	}
@@ -24,6 +24,7 @@ import java.io.DataInput;
 import java.io.IOException;
 import java.util.Arrays;
 
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
 import org.apache.sysml.runtime.util.SortUtils;
 
 /**
@@ -56,9 +57,9 @@ public class SparseBlockCSR extends SparseBlock
 	}
 	
 	public SparseBlockCSR(int rlen, int capacity) {
-		_ptr = new int[rlen+1]; //ix0=0
-		_indexes = new int[capacity];
-		_values = new double[capacity];
+		_ptr = PageCache.getIntArray(rlen+1, true); //ix0=0
+		_indexes = PageCache.getIntArray(capacity, false);
+		_values = PageCache.getDoubleArray(capacity, false);
 		_size = 0;
 	}
 	
@@ -92,9 +93,9 @@ public class SparseBlockCSR extends SparseBlock
 		else {
 			int rlen = sblock.numRows();
 			
-			_ptr = new int[rlen+1];
-			_indexes = new int[(int)size];
-			_values = new double[(int)size];
+			_ptr = PageCache.getIntArray(rlen+1, true);
+			_indexes = PageCache.getIntArray((int)size, false);
+			_values = PageCache.getDoubleArray((int)size, false);
 			_size = (int)size;
 
 			for( int i=0, pos=0; i<rlen; i++ ) {
@@ -121,9 +122,9 @@ public class SparseBlockCSR extends SparseBlock
 	{
 		int rlen = rows.length;
 		
-		_ptr = new int[rlen+1]; //ix0=0
-		_indexes = new int[nnz];
-		_values = new double[nnz];
+		_ptr = PageCache.getIntArray(rlen+1, true); //ix0=0
+		_indexes = PageCache.getIntArray(nnz, false);
+		_values = PageCache.getDoubleArray(nnz, false);
 		_size = nnz;
 		
 		for( int i=0, pos=0; i<rlen; i++ ) {
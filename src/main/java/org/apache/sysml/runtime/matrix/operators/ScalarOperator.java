@@ -44,6 +44,7 @@ public abstract class ScalarOperator extends Operator
 
 	public ValueFunction fn;
 	protected double _constant;
+	private int _k = 1; //num threads
 	
 	public ScalarOperator(ValueFunction p, double cst) {
 		fn = p;
@@ -51,6 +52,14 @@ public abstract class ScalarOperator extends Operator
 		setConstant(cst);
 	}
 	
+	public int getNumThreads() {
+		return _k;
+	}
+	
+	public void setNumThreads(int k) {
+		_k = k;
+	}
+	
 	public double getConstant() {
 		return _constant;
 	}
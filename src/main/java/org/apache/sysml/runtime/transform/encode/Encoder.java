@@ -20,9 +20,15 @@
 package org.apache.sysml.runtime.transform.encode;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONArray;
 
@@ -35,6 +41,9 @@ public abstract class Encoder implements Serializable
 {
 	private static final long serialVersionUID = 2299156350718979064L;
 	
+	//internal configuration of multi-threaded build and apply
+	protected static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
+	
 	protected int _clen = -1; 
 	protected int[] _colList = null;
 	
@@ -99,6 +108,20 @@ public abstract class Encoder implements Serializable
 	 * @return output matrix block
 	 */
 	public abstract MatrixBlock encode(FrameBlock in, MatrixBlock out);
+	
+	/**
+	 * Block encode: build and apply (transform encode) with the given
+	 * degree of parallelism.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		build(in, k);
+		return apply(in, out, k);
+	}
 
 	/**
 	 * Build the transform meta data for the given block input. This call modifies
@@ -108,6 +131,17 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract void build(FrameBlock in);
 	
+	/**
+	 * Build the transform meta data for the given block input with the
+	 * given degree of parallelism. By default, the build is sequential.
+	 * 
+	 * @param in input frame block
+	 * @param k degree of parallelism
+	 */
+	public void build(FrameBlock in, int k) {
+		build(in);
+	}
+	
 	/**
 	 * Encode input data blockwise according to existing transform meta
 	 * data (transform apply).
@@ -118,6 +152,73 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract MatrixBlock apply(FrameBlock in, MatrixBlock out);
 	
+	/**
+	 * Encode the given row range of the input data according to existing
+	 * transform meta data, where the output is expected to be allocated. 
+	 * This is only supported by row-partitionable encoders.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param rl row lower index (inclusive)
+	 * @param ru row upper index (exclusive)
+	 * @return output matrix block
+	 */
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int rl, int ru) {
+		throw new RuntimeException("Row-partitioned apply not supported by "
+			+ getClass().getSimpleName() + ".");
+	}
+	
+	/**
+	 * Indicates if the apply of this encoder is row-partitionable, i.e.,
+	 * if it writes cells of the given output row range only and does not 
+	 * change the output dimensions.
+	 * 
+	 * @return true if row-partitionable
+	 */
+	public boolean isRowPartitionable() {
+		return false;
+	}
+	
+	/**
+	 * Encode input data blockwise according to existing transform meta
+	 * data (transform apply) with the given degree of parallelism. 
+	 * Row-partitionable encoders apply row partitions in parallel and
+	 * write directly into the dense output block.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		final int m = in.getNumRows();
+		
+		//sequential apply for non-partitionable encoders or small inputs
+		if( k <= 1 || !isRowPartitionable() || !isApplicable() || out.isInSparseFormat()
+			|| (long)m * _colList.length < PAR_NUMCELL_THRESHOLD || m <= k/2 )
+			return apply(in, out);
+		
+		//multi-threaded apply over row partitions
+		out.allocateDenseBlock(false);
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<ApplyTask> tasks = new ArrayList<ApplyTask>();
+			int blklen = (int)(Math.ceil((double)m/k));
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new ApplyTask(this, in, out, i*blklen, Math.min((i+1)*blklen, m)));
+			long nnz = 0;
+			for( Future<Long> task : pool.invokeAll(tasks) )
+				nnz += task.get();
+			pool.shutdown();
+			out.setNonZeros(nnz);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		
+		return out;
+	}
+	
 	/**
 	 * Encode input data according to existing transform meta
 	 * data (transform apply).
@@ -142,4 +243,29 @@ public abstract class Encoder implements Serializable
 	 * @param meta frame block
 	 */
 	public abstract void initMetaData(FrameBlock meta);
+
+	private static class ApplyTask implements Callable<Long>
+	{
+		private final Encoder _encoder;
+		private final FrameBlock _in;
+		private final MatrixBlock _out;
+		private final int _rl;
+		private final int _ru;
+		
+		protected ApplyTask(Encoder encoder, FrameBlock in, MatrixBlock out, int rl, int ru) {
+			_encoder = encoder;
+			_in = in;
+			_out = out;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			_encoder.apply(_in, _out, _rl, _ru);
+			//recount nnz of the row partition, as the concurrent 
+			//nnz maintenance of the output block is unsafe
+			return _out.recomputeNonZeros(_rl, _ru-1, 0, _out.getNumColumns()-1);
+		}
+	}
 }
@@ -57,9 +57,14 @@ public class EncoderComposite extends Encoder
 	
 	@Override
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
+		return encode(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
 		//build meta data first (for all encoders)
 		for( Encoder encoder : _encoders )
-			encoder.build(in);
+			encoder.build(in, k);
 		
 		//propagate meta data 
 		_meta = new FrameBlock(in.getNumColumns(), ValueType.STRING);
@@ -70,15 +75,20 @@ public class EncoderComposite extends Encoder
 		
 		//apply meta data
 		for( Encoder encoder : _encoders )
-			out = encoder.apply(in, out);
+			out = encoder.apply(in, out, k);
 			
 		return out;
 	}
 
 	@Override
 	public void build(FrameBlock in) {
+		build(in, 1);
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
 		for( Encoder encoder : _encoders )
-			encoder.build(in);
+			encoder.build(in, k);
 	}
 
 	@Override
@@ -90,8 +100,14 @@ public class EncoderComposite extends Encoder
 	
 	@Override 
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 1);
+	}
+	
+	@Override 
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		//apply encoders in order, each potentially multi-threaded
 		for( Encoder encoder : _encoders )
-			out = encoder.apply(in, out);
+			out = encoder.apply(in, out, k);
 		return out;
 	}
 	
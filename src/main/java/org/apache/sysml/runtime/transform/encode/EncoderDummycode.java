@@ -19,10 +19,16 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
@@ -100,8 +106,46 @@ public class EncoderDummycode extends Encoder
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) 
 	{
 		MatrixBlock ret = new MatrixBlock(out.getNumRows(), (int)_dummycodedLength, false);
+		return apply(in, out, ret, 0, out.getNumRows());
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) 
+	{
+		final int m = out.getNumRows();
+		
+		//sequential apply for small inputs
+		if( k <= 1 || (long)m * _dummycodedLength < PAR_NUMCELL_THRESHOLD || m <= k/2 )
+			return apply(in, out);
+		
+		//multi-threaded apply over row partitions into the dense output
+		MatrixBlock ret = new MatrixBlock(m, (int)_dummycodedLength, false);
+		ret.allocateDenseBlock();
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+			int blklen = (int)(Math.ceil((double)m/k));
+			for( int i=0; i<k & i*blklen<m; i++ ) {
+				final int rl = i*blklen, ru = Math.min((i+1)*blklen, m);
+				tasks.add(() -> apply(in, out, ret, rl, ru)
+					.recomputeNonZeros(rl, ru-1, 0, ret.getNumColumns()-1));
+			}
+			long nnz = 0;
+			for( Future<Long> task : pool.invokeAll(tasks) )
+				nnz += task.get();
+			pool.shutdown();
+			ret.setNonZeros(nnz);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
 		
-		for( int i=0; i<out.getNumRows(); i++ ) {
+		return ret;
+	}
+	
+	private MatrixBlock apply(FrameBlock in, MatrixBlock out, MatrixBlock ret, int rl, int ru) 
+	{
+		for( int i=rl; i<ru; i++ ) {
 			for(int colID=1, idx=0, ncolID=1; colID <= out.getNumColumns(); colID++) {
 				double val = out.quickGetValue(i, colID-1);
 				if(idx < _colList.length && colID==_colList[idx]) {
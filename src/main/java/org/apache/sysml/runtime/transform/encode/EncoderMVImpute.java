@@ -20,10 +20,14 @@
 package org.apache.sysml.runtime.transform.encode;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.wink.json4j.JSONArray;
 import org.apache.wink.json4j.JSONException;
@@ -37,6 +41,7 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 public class EncoderMVImpute extends Encoder 
@@ -299,43 +304,70 @@ public class EncoderMVImpute extends Encoder
 	
 	@Override
 	public void build(FrameBlock in) {
+		build(in, 1);
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		//allocate histograms if necessary (before concurrent access)
+		for( int j=0; j<_colList.length; j++ )
+			if( _mvMethodList[j] == MVMethod.GLOBAL_MODE && !_hist.containsKey(_colList[j]) )
+				_hist.put(_colList[j], new HashMap<String,Long>());
+		
 		try {
-			for( int j=0; j<_colList.length; j++ ) {
-				int colID = _colList[j];
-				if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
-					//compute global column mean (scale)
-					long off = _countList[j];
-					for( int i=0; i<in.getNumRows(); i++ )
-						_meanFn.execute2(_meanList[j], UtilFunctions.objectToDouble(
-							in.getSchema()[colID-1], in.get(i, colID-1)), off+i+1);
-					_replacementList[j] = String.valueOf(_meanList[j]._sum);
-					_countList[j] += in.getNumRows();
-				}
-				else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
-					//compute global column mode (categorical), i.e., most frequent category
-					HashMap<String,Long> hist = _hist.containsKey(colID) ? 
-							_hist.get(colID) : new HashMap<String,Long>();
-					for( int i=0; i<in.getNumRows(); i++ ) {
-						String key = String.valueOf(in.get(i, colID-1));
-						if( key != null && !key.isEmpty() ) {
-							Long val = hist.get(key);
-							hist.put(key, (val!=null) ? val+1 : 1);
-						}	
-					}
-					_hist.put(colID, hist);
-					long max = Long.MIN_VALUE; 
-					for( Entry<String, Long> e : hist.entrySet() ) 
-						if( e.getValue() > max  ) {
-							_replacementList[j] = e.getKey();
-							max = e.getValue();
-						}
+			//sequential or multi-threaded build over columns, 
+			//where each column is processed by a single task 
+			if( k <= 1 || _colList.length <= 1 
+				|| (long)in.getNumRows() * _colList.length < PAR_NUMCELL_THRESHOLD ) {
+				for( int j=0; j<_colList.length; j++ )
+					buildColumn(in, j);
+			}
+			else {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+				for( int j=0; j<_colList.length; j++ ) {
+					final int jx = j;
+					tasks.add(() -> { buildColumn(in, jx); return null; });
 				}
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+				pool.shutdown();
 			}
 		}
 		catch(Exception ex) {
 			throw new RuntimeException(ex);
 		}
 	}
+	
+	private void buildColumn(FrameBlock in, int j) {
+		int colID = _colList[j];
+		if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
+			//compute global column mean (scale)
+			long off = _countList[j];
+			for( int i=0; i<in.getNumRows(); i++ )
+				_meanFn.execute2(_meanList[j], UtilFunctions.objectToDouble(
+					in.getSchema()[colID-1], in.get(i, colID-1)), off+i+1);
+			_replacementList[j] = String.valueOf(_meanList[j]._sum);
+			_countList[j] += in.getNumRows();
+		}
+		else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
+			//compute global column mode (categorical), i.e., most frequent category
+			HashMap<String,Long> hist = _hist.get(colID);
+			for( int i=0; i<in.getNumRows(); i++ ) {
+				String key = String.valueOf(in.get(i, colID-1));
+				if( key != null && !key.isEmpty() ) {
+					Long val = hist.get(key);
+					hist.put(key, (val!=null) ? val+1 : 1);
+				}	
+			}
+			long max = Long.MIN_VALUE; 
+			for( Entry<String, Long> e : hist.entrySet() ) 
+				if( e.getValue() > max  ) {
+					_replacementList[j] = e.getKey();
+					max = e.getValue();
+				}
+		}
+	}
 
 	@Override
 	public String[] apply(String[] words) 
@@ -369,7 +401,12 @@ public class EncoderMVImpute extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
-		for(int i=0; i<in.getNumRows(); i++) {
+		return apply(in, out, 0, in.getNumRows());
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int rl, int ru) {
+		for(int i=rl; i<ru; i++) {
 			for(int j=0; j<_colList.length; j++) {
 				int colID = _colList[j];
 				if( Double.isNaN(out.quickGetValue(i, colID-1)) )
@@ -379,6 +416,11 @@ public class EncoderMVImpute extends Encoder
 		return out;
 	}
 	
+	@Override
+	public boolean isRowPartitionable() {
+		return true;
+	}
+	
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
 		for( int j=0; j<_colList.length; j++ ) {
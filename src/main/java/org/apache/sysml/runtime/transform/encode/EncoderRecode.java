@@ -19,16 +19,22 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
@@ -109,24 +115,62 @@ public class EncoderRecode extends Encoder
 
 	@Override
 	public void build(FrameBlock in) {
+		build(in, 1);
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
 		if( !isApplicable() )
-			return;		
-
-		Iterator<String[]> iter = in.getStringRowIterator();
-		while( iter.hasNext() ) {
-			String[] row = iter.next(); 
+			return;
+		
+		//allocate column maps if necessary (before concurrent access)
+		for( int j=0; j<_colList.length; j++ )
+			if( !_rcdMaps.containsKey(_colList[j]) ) 
+				_rcdMaps.put(_colList[j], new HashMap<String,Long>());
+		
+		final int m = in.getNumRows();
+		if( k <= 1 || (long)m * _colList.length < PAR_NUMCELL_THRESHOLD ) {
+			//build column maps column-wise for sequential access
 			for( int j=0; j<_colList.length; j++ ) {
 				int colID = _colList[j]; //1-based
-				//allocate column map if necessary
-				if( !_rcdMaps.containsKey(colID) ) 
-					_rcdMaps.put(colID, new HashMap<String,Long>());
-				//probe and build column map
 				HashMap<String,Long> map = _rcdMaps.get(colID);
-				String key = row[colID-1];
-				if( key!=null && !key.isEmpty() && !map.containsKey(key) )
-					map.put(key, Long.valueOf(map.size()+1));
+				for( int i=0; i<m; i++ )
+					putToken(map, in.get(i, colID-1));
 			}
+			return;
 		}
+		
+		//partial builds of distinct tokens per column and row partition, 
+		//merged per column in order of row partitions, which yields the
+		//same codes (order of first occurrence) as the sequential build
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			int nparts = (int)Math.ceil((double)k/_colList.length);
+			int blklen = (int)Math.ceil((double)m/nparts);
+			ArrayList<BuildPartialTask> tasks = new ArrayList<BuildPartialTask>();
+			for( int j=0; j<_colList.length; j++ )
+				for( int i=0; i<nparts & i*blklen<m; i++ )
+					tasks.add(new BuildPartialTask(in, _colList[j], i*blklen, Math.min((i+1)*blklen, m)));
+			List<Future<LinkedHashSet<String>>> parts = pool.invokeAll(tasks);
+			ArrayList<MergePartialTask> tasks2 = new ArrayList<MergePartialTask>();
+			for( int j=0, pos=0; j<_colList.length; j++ ) {
+				int len = (int)Math.ceil((double)m/blklen);
+				tasks2.add(new MergePartialTask(_rcdMaps.get(_colList[j]), parts.subList(pos, pos+len)));
+				pos += len;
+			}
+			for( Future<Object> task : pool.invokeAll(tasks2) )
+				task.get();
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static void putToken(HashMap<String,Long> map, Object okey) {
+		String key = (okey!=null) ? okey.toString() : null;
+		if( key!=null && !key.isEmpty() && !map.containsKey(key) )
+			map.put(key, Long.valueOf(map.size()+1));
 	}
 
 	public void buildPartial(FrameBlock in) {
@@ -178,10 +222,18 @@ public class EncoderRecode extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 0, in.getNumRows());
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int rl, int ru) {
+		if( !isApplicable() )
+			return out;
+		
 		//apply recode maps column wise
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
+			for( int i=rl; i<ru; i++ ) {
 				Object okey = in.get(i, colID-1);
 				String key = (okey!=null) ? okey.toString() : null;
 				String val = lookupRCDMap(colID, key);			
@@ -192,6 +244,11 @@ public class EncoderRecode extends Encoder
 		
 		return out;
 	}
+	
+	@Override
+	public boolean isRowPartitionable() {
+		return true;
+	}
 
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
@@ -249,5 +306,52 @@ public class EncoderRecode extends Encoder
 	public static String constructRecodeMapEntry(String token, Long code) {
 		return token + Lop.DATATYPE_PREFIX + code.toString();
 	}
+	
+	private static class BuildPartialTask implements Callable<LinkedHashSet<String>>
+	{
+		private final FrameBlock _in;
+		private final int _colID;
+		private final int _rl;
+		private final int _ru;
+		
+		protected BuildPartialTask(FrameBlock in, int colID, int rl, int ru) {
+			_in = in;
+			_colID = colID;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public LinkedHashSet<String> call() throws Exception {
+			//distinct non-empty tokens in order of first occurrence
+			LinkedHashSet<String> ret = new LinkedHashSet<String>();
+			for( int i=_rl; i<_ru; i++ ) {
+				Object okey = _in.get(i, _colID-1);
+				String key = (okey!=null) ? okey.toString() : null;
+				if( key!=null && !key.isEmpty() )
+					ret.add(key);
+			}
+			return ret;
+		}
+	}
+	
+	private static class MergePartialTask implements Callable<Object>
+	{
+		private final HashMap<String,Long> _map;
+		private final List<Future<LinkedHashSet<String>>> _parts;
+		
+		protected MergePartialTask(HashMap<String,Long> map, List<Future<LinkedHashSet<String>>> parts) {
+			_map = map;
+			_parts = parts;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			for( Future<LinkedHashSet<String>> part : _parts )
+				for( String key : part.get() )
+					if( !_map.containsKey(key) )
+						_map.put(key, Long.valueOf(_map.size()+1));
+			return null;
+		}
+	}
 }
- 
\ No newline at end of file
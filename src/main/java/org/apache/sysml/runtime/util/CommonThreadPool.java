@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Process-wide thread pool for multi-threaded CP operations (matrix
+ * multiplications, aggregations, reorganizations, codegen operators,
+ * and parallel readers/writers). Instead of creating and tearing down
+ * a fixed thread pool per operation, all callers obtain a light-weight
+ * handle via {@link #get(int)} that delegates to a single, lazily-started
+ * work-stealing pool sized by the local parallelism.
+ *
+ * The handle mimics the lifecycle of a dedicated executor with k threads, 
+ * i.e., at most k tasks of a handle are executed concurrently (additional 
+ * tasks are queued in the handle and dispatched to the shared pool as running 
+ * tasks complete), and callers keep the pattern of invokeAll and shutdown. 
+ * Shutdown rejects new tasks of the handle but never stops the shared pool. 
+ * Since all operations share the same bounded set of worker threads, 
+ * concurrent parfor workers and nested invocations (tasks that themselves 
+ * call multi-threaded kernels) do not oversubscribe the node; workers 
+ * blocked in nested invocations (invokeAll or submit().get()) are 
+ * compensated by the shared pool via managed blocking.
+ */
+public class CommonThreadPool extends AbstractExecutorService
+{
+	//size of the shared pool, equal to the number of virtual cores
+	private static final int SIZE = Math.max(InfrastructureAnalyzer.getLocalParallelism(), 1);
+
+	//shared work-stealing pool, created on first use (class initialization)
+	private static final ForkJoinPool _shared = new ForkJoinPool(
+		SIZE, new CPWorkerThreadFactory(), null, false);
+
+	private final ForkJoinPool _pool;
+	private final int _k;
+	private final ArrayDeque<Runnable> _queued; //tasks waiting for a slot
+	private final HashSet<Runnable> _running;   //tasks dispatched to the pool
+	private boolean _shutdown = false;
+
+	private CommonThreadPool(ForkJoinPool pool, int k) {
+		_pool = pool;
+		_k = Math.max(k, 1);
+		_queued = new ArrayDeque<Runnable>();
+		_running = new HashSet<Runnable>();
+	}
+
+	/**
+	 * Obtains an executor handle for an operation with the given degree
+	 * of parallelism. The tasks are executed by the shared pool, but at 
+	 * most k tasks of the returned handle run concurrently.
+	 *
+	 * @param k requested degree of parallelism
+	 * @return executor service handle backed by the shared pool
+	 */
+	public static ExecutorService get(int k) {
+		Statistics.incrementCPThreadPoolRequests();
+		return new CommonThreadPool(_shared, k);
+	}
+
+	/**
+	 * Gets the size of the shared pool, i.e., the maximum number of
+	 * concurrently active worker threads (excluding compensation threads).
+	 *
+	 * @return number of worker threads
+	 */
+	public static int getSize() {
+		return SIZE;
+	}
+
+	/**
+	 * Indicates if the current thread is a worker of the shared pool,
+	 * i.e., if a multi-threaded operation is invoked from within a task
+	 * of another multi-threaded operation.
+	 *
+	 * @return true if called from a worker thread of the shared pool
+	 */
+	public static boolean isNested() {
+		Thread t = Thread.currentThread();
+		return (t instanceof ForkJoinWorkerThread)
+			&& ((ForkJoinWorkerThread)t).getPool() == _shared;
+	}
+
+	/**
+	 * Gets the degree of parallelism of this handle, i.e., the
+	 * maximum number of concurrently executed tasks.
+	 *
+	 * @return degree of parallelism
+	 */
+	public int getNumThreads() {
+		return _k;
+	}
+
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks)
+		throws InterruptedException
+	{
+		ArrayList<Future<T>> ret = new ArrayList<Future<T>>(tasks.size());
+		try {
+			for( Callable<T> task : tasks ) {
+				RunnableFuture<T> f = newTaskFor(task);
+				ret.add(f);
+				execute(f);
+			}
+			//wait for completion, w/ compensation of blocked pool workers
+			for( Future<T> f : ret )
+				if( !f.isDone() )
+					ForkJoinPool.managedBlock((ManagedFutureTask<T>)f);
+			return ret;
+		}
+		catch(InterruptedException | RuntimeException ex) {
+			for( Future<T> f : ret )
+				f.cancel(true);
+			throw ex;
+		}
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+		return new ManagedFutureTask<T>(callable);
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+		return new ManagedFutureTask<T>(runnable, value);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		if( command == null )
+			throw new NullPointerException();
+		synchronized( this ) {
+			if( _shutdown )
+				throw new RejectedExecutionException("Thread pool handle already shut down.");
+			if( _running.size() >= _k ) {
+				_queued.add(command);
+				return;
+			}
+			_running.add(command);
+		}
+		dispatch(command);
+	}
+
+	@Override
+	public synchronized void shutdown() {
+		//reject new tasks of this handle, the shared pool lives as long as the process
+		_shutdown = true;
+		notifyAll();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		ArrayList<Runnable> ret = null;
+		ArrayList<Runnable> running = null;
+		synchronized( this ) {
+			_shutdown = true;
+			ret = new ArrayList<Runnable>(_queued);
+			running = new ArrayList<Runnable>(_running);
+			_queued.clear();
+			notifyAll();
+		}
+		//interrupt running tasks (best effort, only for futures)
+		for( Runnable r : running )
+			if( r instanceof Future )
+				((Future<?>)r).cancel(true);
+		return ret;
+	}
+
+	@Override
+	public synchronized boolean isShutdown() {
+		return _shutdown;
+	}
+
+	@Override
+	public synchronized boolean isTerminated() {
+		return _shutdown && _running.isEmpty() && _queued.isEmpty();
+	}
+
+	@Override
+	public synchronized boolean awaitTermination(long timeout, TimeUnit unit)
+		throws InterruptedException
+	{
+		//wait for tasks submitted through this handle only
+		long end = System.nanoTime() + unit.toNanos(timeout);
+		while( !isTerminated() ) {
+			long remaining = end - System.nanoTime();
+			if( remaining <= 0 )
+				return false;
+			TimeUnit.NANOSECONDS.timedWait(this, remaining);
+		}
+		return true;
+	}
+
+	private void dispatch(final Runnable command) {
+		maintainStatistics();
+		try {
+			_pool.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						command.run();
+					}
+					finally {
+						complete(command);
+					}
+				}
+			});
+		}
+		catch(RuntimeException ex) {
+			complete(command);
+			throw ex;
+		}
+	}
+
+	private void complete(Runnable command) {
+		Runnable next = null;
+		synchronized( this ) {
+			_running.remove(command);
+			if( (next = _queued.poll()) != null )
+				_running.add(next);
+			else
+				notifyAll();
+		}
+		if( next != null )
+			dispatch(next);
+	}
+
+	private void maintainStatistics() {
+		Statistics.incrementCPThreadPoolTasks(1);
+		Statistics.maintainCPThreadPoolPeaks(
+			_pool.getQueuedSubmissionCount() + _pool.getQueuedTaskCount(),
+			_pool.getActiveThreadCount());
+	}
+
+	/**
+	 * Future of tasks submitted through a handle, whose blocking get is a
+	 * managed block. Hence, pool workers that wait for nested tasks (e.g., 
+	 * via submit().get()) are compensated by the shared pool instead of
+	 * starving the queued nested tasks.
+	 */
+	private static class ManagedFutureTask<T> extends FutureTask<T> implements ForkJoinPool.ManagedBlocker
+	{
+		public ManagedFutureTask(Callable<T> callable) {
+			super(callable);
+		}
+
+		public ManagedFutureTask(Runnable runnable, T value) {
+			super(runnable, value);
+		}
+
+		@Override
+		public T get() throws InterruptedException, ExecutionException {
+			if( !isDone() )
+				ForkJoinPool.managedBlock(this);
+			return super.get();
+		}
+
+		@Override
+		public boolean block() throws InterruptedException {
+			try {
+				super.get();
+			}
+			catch(ExecutionException | CancellationException ex) {
+				//task failures are surfaced via get
+			}
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			return isDone();
+		}
+	}
+
+	private static class CPWorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory
+	{
+		@Override
+		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			t.setName("SystemML-CP-" + t.getPoolIndex());
+			t.setDaemon(true);
+			t.setContextClassLoader(CommonThreadPool.class.getClassLoader());
+			return t;
+		}
+	}
+}
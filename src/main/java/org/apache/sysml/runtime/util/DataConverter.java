@@ -326,7 +326,7 @@ public class DataConverter
 			else
 			{
 				//memcopy row major representation if at least 1 non-zero
-				System.arraycopy(mb.getDenseBlock(), 0, ret, 0, rows*cols);
+				System.arraycopy(mb.getDenseBlockValues(), 0, ret, 0, rows*cols);
 			}
 		}
 		
@@ -523,7 +523,7 @@ public class DataConverter
 			// special case double schema (without cell-object creation, 
 			// cache-friendly row-column copy)
 			double[][] a = new double[n][];
-			double[] c = mb.getDenseBlock();
+			double[] c = mb.getDenseBlockValues();
 			for( int j=0; j<n; j++ )
 				a[j] = (double[])frame.getColumn(j);			
 			int blocksizeIJ = 16; //blocks of a+overhead/c in L1 cache
@@ -661,7 +661,7 @@ public class DataConverter
 				// col pre-allocation, and cache-friendly row-column copy)
 				int m = mb.getNumRows();
 				int n = mb.getNumColumns();
-				double[] a = mb.getDenseBlock();
+				double[] a = mb.getDenseBlockValues();
 				double[][] c = new double[n][m];
 				int blocksizeIJ = 16; //blocks of a/c+overhead in L1 cache
 				if( !mb.isEmptyBlock(false) )
@@ -775,7 +775,7 @@ public class DataConverter
 		}
 		else {
 			//memcopy row major representation if at least 1 non-zero
-			System.arraycopy(mb.getDenseBlock(), 0, dest, destPos, rows*cols);
+			System.arraycopy(mb.getDenseBlockValues(), 0, dest, destPos, rows*cols);
 		}
 	}
 	
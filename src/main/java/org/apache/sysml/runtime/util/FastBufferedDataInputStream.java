@@ -104,17 +104,23 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 
 	@Override
 	public short readShort() throws IOException {
-		throw new IOException("Not supported.");
+		readFully(_buff, 0, 2);
+		
+		return (short) baToUnsignedShort(_buff, 0);
 	}
 
 	@Override
 	public int readUnsignedShort() throws IOException {
-		throw new IOException("Not supported.");
+		readFully(_buff, 0, 2);
+		
+		return baToUnsignedShort(_buff, 0);
 	}
 
 	@Override
 	public char readChar() throws IOException {
-		throw new IOException("Not supported.");
+		readFully(_buff, 0, 2);
+		
+		return (char) baToUnsignedShort(_buff, 0);
 	}
 
 	@Override
@@ -248,6 +254,13 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 		return nnz;
 	}
 
+	private static int baToUnsignedShort( byte[] ba, final int off )
+	{
+		//shift and add 2 bytes into single int
+		return ((ba[off+0] & 0xFF) << 8) +
+			   ((ba[off+1] & 0xFF) << 0);
+	}
+
 	private static int baToInt( byte[] ba, final int off )
 	{
 		//shift and add 4 bytes into single int
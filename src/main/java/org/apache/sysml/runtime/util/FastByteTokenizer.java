@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This byte tokenizer splits a line of delimited text, given as a UTF-8 
+ * encoded byte array (e.g., the backing array of a hadoop Text), into its 
+ * whitespace-trimmed tokens and parses numeric tokens directly from the 
+ * bytes. In contrast to the string-based split, it neither creates a String 
+ * per line nor per cell. Similar to the whole-separator split, all tokens 
+ * including empty tokens are preserved and multi-character delimiters are 
+ * supported, but there is no special handling of quotes.
+ * 
+ */
+public class FastByteTokenizer 
+{
+	//powers of ten that are exactly representable as doubles
+	private static final double[] POW10 = new double[] {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+	private static final long MAX_EXACT_LONG = 1L << 53;
+	
+	private final byte[] _del;
+	private byte[] _buff = null;
+	private int _len = -1;
+	private int _pos = -1;
+	private int _start = -1; //current token start (inclusive)
+	private int _end = -1;   //current token end (exclusive)
+	private boolean _done = true;
+	
+	public FastByteTokenizer(String delim) {
+		_del = delim.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Resets the tokenizer to the given line, which is trimmed of 
+	 * leading and trailing whitespace. An empty line has no tokens.
+	 * 
+	 * @param buff byte array of UTF-8 encoded line
+	 * @param len number of valid bytes in the byte array
+	 */
+	public void reset(byte[] buff, int len) {
+		int start = 0, end = len;
+		while( start < end && isWhitespace(buff[start]) )
+			start++;
+		while( end > start && isWhitespace(buff[end-1]) )
+			end--;
+		_buff = buff;
+		_pos = start;
+		_len = end;
+		_start = _end = start;
+		_done = (start >= end);
+	}
+	
+	/**
+	 * Advances to the next token of the current line.
+	 * 
+	 * @return true if there was a next token, otherwise false
+	 */
+	public boolean nextToken() {
+		if( _done )
+			return false;
+		
+		//find end of token (next delimiter or end of line)
+		int ix = indexOfDelim(_pos);
+		int start = _pos;
+		int end = (ix < 0) ? _len : ix;
+		_done = (ix < 0);
+		_pos = (ix < 0) ? _len : ix + _del.length;
+		
+		//trim token of leading and trailing whitespace
+		while( start < end && isWhitespace(_buff[start]) )
+			start++;
+		while( end > start && isWhitespace(_buff[end-1]) )
+			end--;
+		_start = start;
+		_end = end;
+		return true;
+	}
+	
+	/**
+	 * Counts the number of remaining tokens of the current line
+	 * without advancing the tokenizer.
+	 * 
+	 * @return number of remaining tokens
+	 */
+	public int countTokens() {
+		if( _done )
+			return 0;
+		int ret = 1;
+		for( int ix=indexOfDelim(_pos); ix>=0; ix=indexOfDelim(ix+_del.length) )
+			ret++;
+		return ret;
+	}
+	
+	public boolean isEmptyToken() {
+		return _start >= _end;
+	}
+	
+	public double getDouble() {
+		return parseDouble(_buff, _start, _end);
+	}
+	
+	public String getToken() {
+		return new String(_buff, _start, _end-_start, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Parses a double value from the given range of an UTF-8 byte array,
+	 * with exactly the same semantics as Double.parseDouble. Simple decimal
+	 * numbers with up to 18 significant digits and small exponents (the
+	 * common case) are parsed directly from the bytes, which yields correctly
+	 * rounded results because both the significand and power of ten are 
+	 * exactly representable. All other inputs (e.g., NaN, Infinity, hex or 
+	 * long numbers) fall back to Double.parseDouble.
+	 * 
+	 * @param b byte array
+	 * @param from start position (inclusive)
+	 * @param to end position (exclusive)
+	 * @return double value
+	 * @throws NumberFormatException if the range is not a parsable double
+	 */
+	public static double parseDouble(byte[] b, int from, int to) {
+		int pos = from;
+		boolean neg = false;
+		if( pos < to && (b[pos]=='-' || b[pos]=='+') )
+			neg = (b[pos++] == '-');
+		
+		//parse significand w/o leading zeros
+		long mant = 0;
+		int ndigits = 0, nsig = 0, nfrac = 0;
+		boolean dot = false;
+		for( ; pos < to; pos++ ) {
+			byte c = b[pos];
+			if( c >= '0' && c <= '9' ) {
+				ndigits++;
+				nfrac += dot ? 1 : 0;
+				if( mant == 0 && c == '0' )
+					continue;
+				if( ++nsig > 18 )
+					return parseDoubleSlow(b, from, to);
+				mant = mant * 10 + (c - '0');
+			}
+			else if( c == '.' && !dot )
+				dot = true;
+			else
+				break;
+		}
+		if( ndigits == 0 )
+			return parseDoubleSlow(b, from, to);
+		
+		//parse optional exponent
+		int exp = 0;
+		if( pos < to && (b[pos]=='e' || b[pos]=='E') ) {
+			pos++;
+			boolean eneg = false;
+			if( pos < to && (b[pos]=='-' || b[pos]=='+') )
+				eneg = (b[pos++] == '-');
+			int edigits = 0;
+			for( ; pos < to && b[pos] >= '0' && b[pos] <= '9'; pos++ ) {
+				if( ++edigits > 4 )
+					return parseDoubleSlow(b, from, to);
+				exp = exp * 10 + (b[pos] - '0');
+			}
+			if( edigits == 0 )
+				return parseDoubleSlow(b, from, to);
+			exp = eneg ? -exp : exp;
+		}
+		
+		//fall back on remaining characters (e.g., type suffixes)
+		if( pos != to )
+			return parseDoubleSlow(b, from, to);
+		if( mant == 0 )
+			return neg ? -0d : 0d;
+		
+		//fast path with single correctly rounded operation
+		int exp10 = exp - nfrac;
+		if( mant < MAX_EXACT_LONG && exp10 >= -22 && exp10 <= 22 ) {
+			double ret = (exp10 >= 0) ? mant * POW10[exp10] : mant / POW10[-exp10];
+			return neg ? -ret : ret;
+		}
+		return parseDoubleSlow(b, from, to);
+	}
+	
+	private static double parseDoubleSlow(byte[] b, int from, int to) {
+		return Double.parseDouble(new String(b, from, to-from, StandardCharsets.UTF_8));
+	}
+	
+	private int indexOfDelim(int from) {
+		byte first = _del[0];
+		int dlen = _del.length;
+		for( int i=from; i<=_len-dlen; i++ ) {
+			if( _buff[i] != first )
+				continue;
+			boolean match = true;
+			for( int j=1; j<dlen && match; j++ )
+				match = (_buff[i+j] == _del[j]);
+			if( match )
+				return i;
+		}
+		return -1;
+	}
+	
+	private static boolean isWhitespace(byte b) {
+		//consistent with String.trim (all chars <= space)
+		return (b & 0xff) <= ' ';
+	}
+}
@@ -28,6 +28,7 @@ import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
@@ -37,6 +38,10 @@ import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 
 import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.io.compress.CodecPool;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.Compressor;
+import org.apache.hadoop.io.compress.Decompressor;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
@@ -44,6 +49,7 @@ import org.apache.sysml.lops.Lop;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysml.runtime.io.IOCompressionUtils;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -104,7 +110,8 @@ public class LocalFileUtils
 	
 	/**
 	 * Reads an arbitrary writable from local file system, using a fused buffered reader
-	 * with special support for matrix blocks.
+	 * with special support for matrix blocks. Compressed files (see 
+	 * {@link #writeWritableToLocal(String, Writable)}) are detected automatically.
 	 * 
 	 * @param filePathAndName file to read
 	 * @param ret hadoop writable
@@ -115,15 +122,25 @@ public class LocalFileUtils
 		throws IOException
 	{
 		FileInputStream fis = new FileInputStream( filePathAndName );
-		DataInput in  = !(ret instanceof MatrixBlock) ? 
-				new DataInputStream(new BufferedInputStream(fis, BUFFER_SIZE)) :
-				new FastBufferedDataInputStream(fis, BUFFER_SIZE);		
+		Decompressor decomp = null;
+		DataInput in = null;
 		try {
+			//detect compressed file and wrap into decompression stream
+			InputStream is = fis;
+			CompressionCodec codec = IOCompressionUtils.readLocalHeader(fis);
+			if( codec != null ) {
+				decomp = CodecPool.getDecompressor(codec);
+				is = codec.createInputStream(fis, decomp);
+			}
+			in = !(ret instanceof MatrixBlock) ? 
+				new DataInputStream(new BufferedInputStream(is, BUFFER_SIZE)) :
+				new FastBufferedDataInputStream(is, BUFFER_SIZE);
 			ret.readFields(in);
 		}
 		finally {
 			IOUtilFunctions.closeSilently((InputStream)in);
 			IOUtilFunctions.closeSilently(fis);
+			CodecPool.returnDecompressor(decomp);
 		}
 			
 		return ret;
@@ -151,7 +168,8 @@ public class LocalFileUtils
 	
 	/**
 	 * Writes an arbitrary writable to local file system, using a fused buffered writer
-	 * with special support for matrix blocks.
+	 * with special support for matrix blocks. If a compression codec is configured,
+	 * the file is written with a codec header and compressed.
 	 * 
 	 * @param filePathAndName file to write
 	 * @param mb Hadoop writable
@@ -161,14 +179,24 @@ public class LocalFileUtils
 		throws IOException
 	{	
 		FileOutputStream fos = new FileOutputStream( filePathAndName );
-		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(fos, BUFFER_SIZE);
+		CompressionCodec codec = IOCompressionUtils.getCompressionCodec();
+		Compressor comp = (codec != null) ? CodecPool.getCompressor(codec) : null;
+		FastBufferedDataOutputStream out = null;
 		
 		try {
+			out = new FastBufferedDataOutputStream((codec != null) ?
+				IOCompressionUtils.createLocalOutputStream(fos, codec, comp) : fos, BUFFER_SIZE);
 			mb.write(out);
+			//regular close in order to propagate errors on flushing 
+			//the remaining buffered and compressed data
+			out.close();
+			out = null;
 		}
 		finally {
+			//silent close only on errors
 			IOUtilFunctions.closeSilently(out);
 			IOUtilFunctions.closeSilently(fos);
+			CodecPool.returnCompressor(comp);
 		}	
 	}
 
@@ -187,6 +215,71 @@ public class LocalFileUtils
 			IOUtilFunctions.closeSilently(channel);
 		}
 	}
+	
+	/**
+	 * Writes the remaining bytes of a buffer of a serialized cache block to local 
+	 * file system, compressed if a compression codec is configured in order to allow 
+	 * reading the block via {@link #readCacheBlockFromLocal(String, boolean)}.
+	 * 
+	 * @param filePathAndName file to write
+	 * @param data byte buffer
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeByteBufferToLocal( String filePathAndName, ByteBuffer data )
+		throws IOException
+	{
+		CompressionCodec codec = IOCompressionUtils.getCompressionCodec();
+		if( codec != null ) {
+			writeByteBufferToLocal(filePathAndName, data, codec);
+			return;
+		}
+		
+		//write remaining bytes of a (potentially direct) buffer via java.nio file channel
+		FileChannel channel = null;
+		try {
+			Path path = Paths.get(filePathAndName);
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, 
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			while( data.hasRemaining() )
+				channel.write(data);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+
+	private static void writeByteBufferToLocal( String filePathAndName, ByteBuffer data, CompressionCodec codec )
+		throws IOException
+	{
+		FileOutputStream fos = new FileOutputStream( filePathAndName );
+		Compressor comp = CodecPool.getCompressor(codec);
+		OutputStream out = null;
+		try {
+			out = IOCompressionUtils.createLocalOutputStream(fos, codec, comp);
+			if( data.hasArray() ) {
+				out.write(data.array(), data.arrayOffset()+data.position(), data.remaining());
+				data.position(data.limit());
+			}
+			else { //direct buffers
+				byte[] buff = new byte[BUFFER_SIZE];
+				while( data.hasRemaining() ) {
+					int len = Math.min(buff.length, data.remaining());
+					data.get(buff, 0, len);
+					out.write(buff, 0, len);
+				}
+			}
+			//regular close in order to propagate errors on finishing
+			//the compressed stream
+			out.close();
+			out = null;
+		}
+		finally {
+			//silent close only on errors
+			IOUtilFunctions.closeSilently(out);
+			IOUtilFunctions.closeSilently(fos);
+			CodecPool.returnCompressor(comp);
+		}
+	}
 
 	public static int readBlockSequenceFromLocal( String filePathAndName, Pair<MatrixIndexes,MatrixValue>[] outValues, HashMap<MatrixIndexes, Integer> outMap) 
 		throws IOException
@@ -470,10 +470,15 @@ public class MapReduceTool
 			mtd.put(DataExpression.READCOLPARAM, mc.getCols());
 			// handle output nnz and binary block configuration
 			if( dt.isMatrix() ) {
-				if (outinfo == OutputInfo.BinaryBlockOutputInfo ) {
+				if (outinfo == OutputInfo.BinaryBlockOutputInfo) {
 					mtd.put(DataExpression.ROWBLOCKCOUNTPARAM, mc.getRowsPerBlock());
 					mtd.put(DataExpression.COLUMNBLOCKCOUNTPARAM, mc.getColsPerBlock());
 				}
+				else if (outinfo == OutputInfo.CompressedBinaryBlockOutputInfo) {
+					//single compressed block of rlen x clen
+					mtd.put(DataExpression.ROWBLOCKCOUNTPARAM, mc.getRows());
+					mtd.put(DataExpression.COLUMNBLOCKCOUNTPARAM, mc.getCols());
+				}
 				mtd.put(DataExpression.READNUMNONZEROPARAM, mc.getNonZeros());
 			}
 		}
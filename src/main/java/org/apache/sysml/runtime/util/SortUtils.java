@@ -420,6 +420,67 @@ public class SortUtils
 		}
     }
 
+	/**
+	 * Merge of two adjacent sorted runs [start,mid) and [mid,end) into the 
+	 * same positions of the output array. Values are compared with the total
+	 * order of Double.compare (i.e., -0.0 before 0.0 and NaN last) as used
+	 * by Arrays.sort, and equal values of the left run are taken first.
+	 * 
+	 * @param in input array of sorted runs
+	 * @param start start index of left run
+	 * @param mid start index of right run (end of left run)
+	 * @param end end index of right run
+	 * @param out output array
+	 */
+	public static void mergeSorted(double[] in, int start, int mid, int end, double[] out) 
+	{
+		int i = start, j = mid, pos = start;
+		while( i < mid && j < end )
+			out[pos++] = (Double.compare(in[i], in[j]) <= 0) ? in[i++] : in[j++];
+		if( i < mid )
+			System.arraycopy(in, i, out, pos, mid-i);
+		if( j < end )
+			System.arraycopy(in, j, out, pos, end-j);
+	}
+	
+	/**
+	 * Stable merge of two adjacent runs [start,mid) and [mid,end) that are 
+	 * sorted by value, where the indexes are moved along with their values.
+	 * Values are compared with the total order of Double.compare as used by
+	 * Arrays.sort, and equal values of the left run are taken first, i.e., 
+	 * the merge preserves the order of indexes within runs of equal values.
+	 * 
+	 * @param values input array of values
+	 * @param indexes input array of indexes
+	 * @param start start index of left run
+	 * @param mid start index of right run (end of left run)
+	 * @param end end index of right run
+	 * @param ovalues output array of values
+	 * @param oindexes output array of indexes
+	 */
+	public static void mergeSortedByValue(double[] values, int[] indexes, int start, int mid, int end, double[] ovalues, int[] oindexes) 
+	{
+		int i = start, j = mid, pos = start;
+		while( i < mid && j < end ) {
+			if( Double.compare(values[j], values[i]) < 0 ) {
+				ovalues[pos] = values[j];
+				oindexes[pos++] = indexes[j++];
+			}
+			else {
+				ovalues[pos] = values[i];
+				oindexes[pos++] = indexes[i++];
+			}
+		}
+		if( i < mid ) {
+			System.arraycopy(values, i, ovalues, pos, mid-i);
+			System.arraycopy(indexes, i, oindexes, pos, mid-i);
+		}
+		if( j < end ) {
+			System.arraycopy(values, j, ovalues, pos, end-j);
+			System.arraycopy(indexes, j, oindexes, pos, end-j);
+		}
+	}
+
     private static int med3(int[] array, int a, int b, int c) 
     {
         int x = array[a], y = array[b], z = array[c];
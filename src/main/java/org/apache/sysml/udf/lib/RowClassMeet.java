@@ -129,7 +129,7 @@ public class RowClassMeet extends PackageFunction {
 			}
 		}
 		else {
-			double [] denseBlk = B.getDenseBlock();
+			double [] denseBlk = B.getDenseBlockValues();
 			if(denseBlk != null)
 				System.arraycopy(denseBlk, i*B.getNumColumns(), bRow, 0, B.getNumColumns());
 		}
@@ -152,8 +152,8 @@ public class RowClassMeet extends PackageFunction {
 			N = new MatrixBlock(nr, nc, false);
 			N.allocateDenseBlock();
 			
-			double [] cBlk = C.getDenseBlock();
-			double [] nBlk = N.getDenseBlock();
+			double [] cBlk = C.getDenseBlockValues();
+			double [] nBlk = N.getDenseBlockValues();
 			
 			if(B.getNumRows() == 1)
 				getRow(B, bRow, 0);
@@ -179,7 +179,7 @@ public class RowClassMeet extends PackageFunction {
 					}
 				}
 				else {
-					double [] denseBlk = A.getDenseBlock();
+					double [] denseBlk = A.getDenseBlockValues();
 					if(denseBlk != null) {
 						int offset = i*A.getNumColumns();
 						for(int j = 0; j < A.getNumColumns(); j++) {
@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAccumulator;
 import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.sysml.api.DMLScript;
@@ -36,6 +37,7 @@ import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.OffHeapBuffer;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
@@ -81,6 +83,21 @@ public class Statistics
 	private static final LongAdder codegenClassCompile = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheHits = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheTotal = new LongAdder(); //count
+	private static final LongAdder codegenClassCacheHits = new LongAdder(); //count
+	private static final LongAdder codegenClassCacheMisses = new LongAdder(); //count
+	private static final LongAdder codegenAsyncCompile = new LongAdder(); //count
+	
+	//CP thread pool stats
+	private static final LongAdder cpPoolRequests = new LongAdder(); //count
+	private static final LongAdder cpPoolTasks = new LongAdder(); //count
+	private static final LongAccumulator cpPoolMaxQueued = new LongAccumulator(Long::max, 0); //count
+	private static final LongAccumulator cpPoolMaxActive = new LongAccumulator(Long::max, 0); //count
+	
+	//PageCache array pool statistics
+	private static final LongAdder pageCacheHits = new LongAdder(); //count
+	private static final LongAdder pageCacheMisses = new LongAdder(); //count
+	private static final LongAdder pageCachePuts = new LongAdder(); //count
+	private static final LongAdder pageCacheBytes = new LongAdder(); //in bytes
 	
 	//Function recompile stats 
 	private static final LongAdder funRecompileTime = new LongAdder(); //in nano sec
@@ -304,6 +321,88 @@ public class Statistics
 	public static long getCodegenPlanCacheTotal() {
 		return codegenPlanCacheTotal.longValue();
 	}
+	
+	public static void incrementCodegenClassCacheHits() {
+		codegenClassCacheHits.increment();
+	}
+	
+	public static void incrementCodegenClassCacheMisses() {
+		codegenClassCacheMisses.increment();
+	}
+	
+	public static long getCodegenClassCacheHits() {
+		return codegenClassCacheHits.longValue();
+	}
+	
+	public static long getCodegenClassCacheMisses() {
+		return codegenClassCacheMisses.longValue();
+	}
+	
+	public static void incrementCodegenAsyncCompile() {
+		codegenAsyncCompile.increment();
+	}
+	
+	public static long getCodegenAsyncCompile() {
+		return codegenAsyncCompile.longValue();
+	}
+
+	public static void incrementCPThreadPoolRequests() {
+		cpPoolRequests.increment();
+	}
+	
+	public static void incrementCPThreadPoolTasks(long delta) {
+		cpPoolTasks.add(delta);
+	}
+	
+	public static void maintainCPThreadPoolPeaks(long queued, long active) {
+		cpPoolMaxQueued.accumulate(queued);
+		cpPoolMaxActive.accumulate(active);
+	}
+	
+	public static long getCPThreadPoolRequests() {
+		return cpPoolRequests.longValue();
+	}
+	
+	public static long getCPThreadPoolTasks() {
+		return cpPoolTasks.longValue();
+	}
+	
+	public static long getCPThreadPoolMaxQueued() {
+		return cpPoolMaxQueued.get();
+	}
+	
+	public static long getCPThreadPoolMaxActive() {
+		return cpPoolMaxActive.get();
+	}
+	
+	public static void incrementPageCacheHits(long bytes) {
+		pageCacheHits.increment();
+		pageCacheBytes.add(bytes);
+	}
+	
+	public static void incrementPageCacheMisses() {
+		pageCacheMisses.increment();
+	}
+	
+	public static void incrementPageCachePuts() {
+		pageCachePuts.increment();
+	}
+	
+	public static long getPageCacheHits() {
+		return pageCacheHits.longValue();
+	}
+	
+	public static long getPageCacheMisses() {
+		return pageCacheMisses.longValue();
+	}
+	
+	public static long getPageCachePuts() {
+		return pageCachePuts.longValue();
+	}
+	
+	public static long getPageCacheBytes() {
+		return pageCacheBytes.longValue();
+	}
 
 	public static void incrementFunRecompileTime( long delta ) {
 		funRecompileTime.add(delta);
@@ -377,6 +476,16 @@ public class Statistics
 		funRecompiles.reset();
 		funRecompileTime.reset();
 		
+		cpPoolRequests.reset();
+		cpPoolTasks.reset();
+		cpPoolMaxQueued.reset();
+		cpPoolMaxActive.reset();
+		
+		pageCacheHits.reset();
+		pageCacheMisses.reset();
+		pageCachePuts.reset();
+		pageCacheBytes.reset();
+		
 		parforOptCount = 0;
 		parforOptTime = 0;
 		parforInitTime = 0;
@@ -722,18 +831,35 @@ public class Statistics
 			
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
+			if( OffHeapBuffer.isEnabled() )
+				sb.append("Cache off-heap (hit/miss/wr/MB):\t" + CacheStatistics.displayOffHeap() + ".\n");
+			if( getPageCacheHits()+getPageCacheMisses() > 0 )
+				sb.append("Page cache (hit/miss/put/MB):\t" + getPageCacheHits() + "/" + getPageCacheMisses() + "/" 
+					+ getPageCachePuts() + "/" + String.format("%.3f", (double)getPageCacheBytes()/(1024*1024)) + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if( CacheStatistics.getAsyncWrites() > 0 )
+				sb.append("Cache async writes (n/wr/wait/ovl):\t" + CacheStatistics.displayAsyncWrites() + " sec.\n");
+			if( CacheStatistics.getPrefetches() > 0 )
+				sb.append("Cache prefetch (n/hit/rd/wait):\t" + CacheStatistics.displayPrefetches() + " sec.\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
 			sb.append("HOP DAGs recompile time:\t" + String.format("%.3f", ((double)getHopRecompileTime())/1000000000) + " sec.\n");
 			if( getFunRecompiles()>0 ) {
 				sb.append("Functions recompiled:\t\t" + getFunRecompiles() + ".\n");
 				sb.append("Functions recompile time:\t" + String.format("%.3f", ((double)getFunRecompileTime())/1000000000) + " sec.\n");	
 			}
+			if( getCPThreadPoolRequests()>0 ) {
+				sb.append("CP thread pool (req/tasks):\t" + getCPThreadPoolRequests() + "/" + getCPThreadPoolTasks() + ".\n");
+				sb.append("CP thread pool max (queue/act):\t" + getCPThreadPoolMaxQueued() + "/" + getCPThreadPoolMaxActive() + ".\n");
+			}
 			if( ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CODEGEN) ) {
 				sb.append("Codegen compile (DAG, CP, JC):\t" + getCodegenDAGCompile() + "/" + getCodegenCPlanCompile() + "/" + getCodegenClassCompile() + ".\n");
 				sb.append("Codegen compile times (DAG,JC):\t" + String.format("%.3f", (double)getCodegenCompileTime()/1000000000) + "/" + 
 						String.format("%.3f", (double)getCodegenClassCompileTime()/1000000000)  + " sec.\n");
 				sb.append("Codegen plan cache hits:\t" + getCodegenPlanCacheHits() + "/" + getCodegenPlanCacheTotal() + ".\n");
+				if( getCodegenClassCacheHits() + getCodegenClassCacheMisses() > 0 )
+					sb.append("Codegen class cache (hit/miss):\t" + getCodegenClassCacheHits() + "/" + getCodegenClassCacheMisses() + ".\n");
+				if( getCodegenAsyncCompile() > 0 )
+					sb.append("Codegen async compile:\t\t" + getCodegenAsyncCompile() + ".\n");
 			}
 			if( OptimizerUtils.isSparkExecutionMode() ){
 				String lazy = SparkExecutionContext.isLazySparkContextCreation() ? "(lazy)" : "(eager)";
@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix_full_cellwise;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.functionobjects.Equals;
+import org.apache.sysml.runtime.functionobjects.LessThan;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for multi-threaded cell-wise binary
+ * operations (see LibMatrixBincell). The inputs exceed the threshold of 1M
+ * cells and non-zeros for multi-threading, and we compare the results and 
+ * nnz of single- and multi-threaded execution with an uneven number of row 
+ * partitions. 
+ * 
+ */
+public class ParCellwiseOperationTest extends AutomatedTestBase 
+{
+	private final static int rows = 2731;
+	private final static int cols = 1259;
+	private final static int threads = 7;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.35; //sparse lhs, nnz > 1M
+	private final static double sparsity3 = 0.18; //sparse lhs and rhs, sparse outputs
+	
+	private enum OpType {
+		SCALAR_SAFE,   //X * 7
+		SCALAR_UNSAFE, //X + 7
+		MM_PLUS,       //X + Y
+		MM_MULT,       //X * Y
+		MM_UNSAFE,     //X == Y
+		MV_COL,        //X - v
+		MV_ROW,        //X * w
+		MV_UNSAFE,     //X < w
+		OUTER,         //v + w
+		OUTER_SORTED,  //v < sort(w)
+		INPLACE,       //X += Y
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testScalarSafeDense() {
+		runParCellwiseOperationTest(OpType.SCALAR_SAFE, false, false);
+	}
+	
+	@Test
+	public void testScalarSafeSparse() {
+		runParCellwiseOperationTest(OpType.SCALAR_SAFE, true, false);
+	}
+	
+	@Test
+	public void testScalarUnsafeDense() {
+		runParCellwiseOperationTest(OpType.SCALAR_UNSAFE, false, false);
+	}
+	
+	@Test
+	public void testScalarUnsafeSparse() {
+		runParCellwiseOperationTest(OpType.SCALAR_UNSAFE, true, false);
+	}
+	
+	@Test
+	public void testMatrixMatrixPlusDenseDense() {
+		runParCellwiseOperationTest(OpType.MM_PLUS, false, false);
+	}
+	
+	@Test
+	public void testMatrixMatrixPlusSparseDense() {
+		runParCellwiseOperationTest(OpType.MM_PLUS, true, false);
+	}
+	
+	@Test
+	public void testMatrixMatrixPlusSparseSparse() {
+		runParCellwiseOperationTest(OpType.MM_PLUS, true, true);
+	}
+	
+	@Test
+	public void testMatrixMatrixMultDenseDense() {
+		runParCellwiseOperationTest(OpType.MM_MULT, false, false);
+	}
+	
+	@Test
+	public void testMatrixMatrixMultSparseDense() {
+		runParCellwiseOperationTest(OpType.MM_MULT, true, false);
+	}
+	
+	@Test
+	public void testMatrixMatrixMultSparseSparse() {
+		runParCellwiseOperationTest(OpType.MM_MULT, true, true);
+	}
+	
+	@Test
+	public void testMatrixMatrixUnsafeDenseDense() {
+		runParCellwiseOperationTest(OpType.MM_UNSAFE, false, false);
+	}
+	
+	@Test
+	public void testMatrixMatrixUnsafeSparseSparse() {
+		runParCellwiseOperationTest(OpType.MM_UNSAFE, true, true);
+	}
+	
+	@Test
+	public void testMatrixColVectorDense() {
+		runParCellwiseOperationTest(OpType.MV_COL, false, false);
+	}
+	
+	@Test
+	public void testMatrixColVectorSparse() {
+		runParCellwiseOperationTest(OpType.MV_COL, true, false);
+	}
+	
+	@Test
+	public void testMatrixRowVectorDense() {
+		runParCellwiseOperationTest(OpType.MV_ROW, false, false);
+	}
+	
+	@Test
+	public void testMatrixRowVectorSparse() {
+		runParCellwiseOperationTest(OpType.MV_ROW, true, false);
+	}
+	
+	@Test
+	public void testMatrixVectorUnsafeDense() {
+		runParCellwiseOperationTest(OpType.MV_UNSAFE, false, false);
+	}
+	
+	@Test
+	public void testMatrixVectorUnsafeSparse() {
+		runParCellwiseOperationTest(OpType.MV_UNSAFE, true, false);
+	}
+	
+	@Test
+	public void testOuterVectorVectorDense() {
+		runParCellwiseOperationTest(OpType.OUTER, false, false);
+	}
+	
+	@Test
+	public void testOuterVectorVectorSparse() {
+		runParCellwiseOperationTest(OpType.OUTER, true, false);
+	}
+	
+	@Test
+	public void testOuterVectorVectorSortedDense() {
+		runParCellwiseOperationTest(OpType.OUTER_SORTED, false, false);
+	}
+	
+	@Test
+	public void testOuterVectorVectorSortedSparse() {
+		runParCellwiseOperationTest(OpType.OUTER_SORTED, true, false);
+	}
+	
+	@Test
+	public void testInPlaceDenseDense() {
+		runParCellwiseOperationTest(OpType.INPLACE, false, false);
+	}
+	
+	@Test
+	public void testInPlaceSparseSparse() {
+		runParCellwiseOperationTest(OpType.INPLACE, true, true);
+	}
+	
+	@Test
+	public void testInPlaceUnallocatedSparse() 
+	{
+		//regression test for sparse-safe in-place operations with unallocated
+		//sparse lhs, where rows were replaced after appending their values
+		double[][] B = getRandomMatrix(rows, cols, -1, 1, sparsity2, 7);
+		MatrixBlock mbB = DataConverter.convertToMatrixBlock(B);
+		MatrixBlock ret = new MatrixBlock(rows, cols, true);
+		ret.binaryOperationsInPlace(new BinaryOperator(Minus.getMinusFnObject()), mbB);
+		
+		double[][] C = new double[rows][cols];
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				C[i][j] = -B[i][j];
+		TestUtils.compareMatrices(C, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+		if( ret.getNonZeros() != mbB.getNonZeros() )
+			Assert.fail("Wrong number of non-zeros: "+ret.getNonZeros()+", expected: "+mbB.getNonZeros());
+	}
+	
+	private void runParCellwiseOperationTest(OpType type, boolean sparseLeft, boolean sparseRight)
+	{
+		try
+		{
+			//data generation (sparse vectors only for lhs of outer operations)
+			double sparsityX = !sparseLeft ? sparsity1 : sparseRight ? sparsity3 : sparsity2;
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsityX, 7); 
+			double[][] Y = getRandomMatrix(rows, cols, -1, 1, sparseRight ? sparsity3 : sparsity1, 3);
+			double[][] v = getRandomMatrix(rows, 1, -1, 1, sparseLeft ? sparsity2 : sparsity1, 9);
+			double[][] w = getRandomMatrix(1, cols, -1, 1, sparsity1, 11);
+			if( type == OpType.OUTER_SORTED )
+				Arrays.sort(w[0]);
+			
+			//single- and multi-threaded execution
+			MatrixBlock ret1 = executeOperation(type, X, Y, v, w, 1);
+			MatrixBlock ret2 = executeOperation(type, X, Y, v, w, threads);
+			
+			//compare results and nnz
+			double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] C2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(C1, C2, C1.length, C1[0].length, 0);
+			long nnz = countNonZeros(C1);
+			if( ret1.getNonZeros() != nnz || ret2.getNonZeros() != nnz )
+				Assert.fail("Wrong number of non-zeros: "+ret1.getNonZeros()
+					+" (k=1), "+ret2.getNonZeros()+" (k="+threads+"), expected: "+nnz);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static MatrixBlock executeOperation(OpType type, double[][] X, double[][] Y, 
+		double[][] v, double[][] w, int k) throws Exception
+	{
+		MatrixBlock mbX = DataConverter.convertToMatrixBlock(X);
+		MatrixBlock mbY = DataConverter.convertToMatrixBlock(Y);
+		MatrixBlock mbv = DataConverter.convertToMatrixBlock(v);
+		MatrixBlock mbw = DataConverter.convertToMatrixBlock(w);
+		
+		switch( type ) {
+			case SCALAR_SAFE:   return scalar(mbX, Multiply.getMultiplyFnObject(), k);
+			case SCALAR_UNSAFE: return scalar(mbX, Plus.getPlusFnObject(), k);
+			case MM_PLUS:       return binary(mbX, mbY, Plus.getPlusFnObject(), k);
+			case MM_MULT:       return binary(mbX, mbY, Multiply.getMultiplyFnObject(), k);
+			case MM_UNSAFE:     return binary(mbX, mbY, Equals.getEqualsFnObject(), k);
+			case MV_COL:        return binary(mbX, mbv, Minus.getMinusFnObject(), k);
+			case MV_ROW:        return binary(mbX, mbw, Multiply.getMultiplyFnObject(), k);
+			case MV_UNSAFE:     return binary(mbX, mbw, LessThan.getLessThanFnObject(), k);
+			case OUTER:         return binary(mbv, mbw, Plus.getPlusFnObject(), k);
+			case OUTER_SORTED:  return binary(mbv, mbw, LessThan.getLessThanFnObject(), k);
+			case INPLACE: {
+				MatrixBlock ret = new MatrixBlock();
+				ret.copy(mbX);
+				ret.binaryOperationsInPlace(new BinaryOperator(Plus.getPlusFnObject(), k), mbY);
+				return ret;
+			}
+			default:
+				throw new RuntimeException("Unsupported operation type: "+type.name());
+		}
+	}
+	
+	private static MatrixBlock scalar(MatrixBlock mb, ValueFunction fn, int k) throws Exception {
+		ScalarOperator sop = new RightScalarOperator(fn, 7);
+		sop.setNumThreads(k);
+		return (MatrixBlock)mb.scalarOperations(sop, new MatrixBlock());
+	}
+	
+	private static MatrixBlock binary(MatrixBlock mb1, MatrixBlock mb2, ValueFunction fn, int k) throws Exception {
+		return (MatrixBlock)mb1.binaryOperations(new BinaryOperator(fn, k), mb2, new MatrixBlock());
+	}
+	
+	private static long countNonZeros(double[][] C) {
+		long nnz = 0;
+		for( double[] row : C )
+			for( double val : row )
+				nnz += (val != 0) ? 1 : 0;
+		return nnz;
+	}
+}
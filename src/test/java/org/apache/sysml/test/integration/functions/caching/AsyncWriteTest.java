@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class AsyncWriteTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "asyncwrite";
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + AsyncWriteTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-asyncwrite.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	
+	private final static int rows = 1234;
+	private final static int cols = 321;
+	private final static int iters = 5;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) ); 
+	}
+	
+	@Test
+	public void testAsyncWriteBinaryDense() {
+		runAsyncWriteTest("binary", false);
+	}
+	
+	@Test
+	public void testAsyncWriteBinarySparse() {
+		runAsyncWriteTest("binary", true);
+	}
+	
+	@Test
+	public void testAsyncWriteTextSparse() {
+		runAsyncWriteTest("text", true);
+	}
+	
+	@Test
+	public void testAsyncWriteCSVDense() {
+		runAsyncWriteTest("csv", false);
+	}
+	
+	private void runAsyncWriteTest( String format, boolean sparse )
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), 
+				String.valueOf(iters), output("R"), format };
+			
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparse ? sparsity2 : sparsity1, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			
+			runTest(true, false, null, -1);
+			
+			//check asynchronous writes (via statistics)
+			Assert.assertTrue("No asynchronous writes", CacheStatistics.getAsyncWrites() > 0);
+			
+			//check last write to the same target and writes to distinct targets
+			checkOutput(output("R"), format, X, iters);
+			for( int i=1; i<=iters; i++ )
+				checkOutput(output("R")+"_"+i, format, X, i);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+	
+	private static void checkOutput(String fname, String format, double[][] X, int delta) 
+		throws Exception
+	{
+		InputInfo iinfo = format.equals("binary") ? InputInfo.BinaryBlockInputInfo :
+			format.equals("csv") ? InputInfo.CSVInputInfo : InputInfo.TextCellInputInfo;
+		MatrixBlock mb = DataConverter.readMatrixFromHDFS(fname, iinfo, rows, cols, 
+			OptimizerUtils.DEFAULT_BLOCKSIZE, OptimizerUtils.DEFAULT_BLOCKSIZE);
+		double[][] R = DataConverter.convertToDoubleMatrix(mb);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				Assert.assertEquals("Wrong value in "+fname, X[i][j]+delta, R[i][j], 1e-10);
+	}
+	
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a multi-threaded stress test of the buffer pool, which checks 
+ * the consistency of concurrent shared reads of a single cacheable data 
+ * object and of concurrent write, eviction, read, and delete of blocks 
+ * in the write buffer, for increasing numbers of threads. The throughput
+ * of these operations is measured by the JMH BufferPoolBenchmark.
+ * 
+ */
+public class BufferPoolStressTest extends AutomatedTestBase 
+{
+	private final static int rows = 300;
+	private final static int cols = 200;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+	private final static int[] threads = new int[]{1, 2, 4, 8, 16};
+	private final static int numReads = 200000;
+	private final static int numBlocks = 64;
+	private final static int numRounds = 4;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testSharedAcquireReadDense() {
+		runSharedAcquireReadTest(sparsity1);
+	}
+	
+	@Test
+	public void testSharedAcquireReadSparse() {
+		runSharedAcquireReadTest(sparsity2);
+	}
+	
+	@Test
+	public void testWriteBufferDense() {
+		runWriteBufferTest(sparsity1);
+	}
+	
+	@Test
+	public void testWriteBufferSparse() {
+		runWriteBufferTest(sparsity2);
+	}
+	
+	private void runSharedAcquireReadTest(double sparsity) 
+	{
+		try
+		{
+			//create cacheable data object with in-memory data
+			MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 
+				rows, cols, mb.getNonZeros());
+			final MatrixObject mo = new MatrixObject(ValueType.DOUBLE, null, 
+				new MatrixFormatMetaData(mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+			mo.acquireModify(mb);
+			mo.release();
+			
+			for( int k : threads ) {
+				final int len = numReads / k;
+				ExecutorService pool = Executors.newFixedThreadPool(k);
+				List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+				for( int i=0; i<k; i++ )
+					tasks.add(() -> {
+						long nnz = 0;
+						for( int j=0; j<len; j++ ) {
+							nnz += mo.acquireRead().getNonZeros();
+							mo.release();
+						}
+						return nnz;
+					});
+				
+				List<Future<Long>> rtasks = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Long> task : rtasks )
+					Assert.assertEquals(len*mb.getNonZeros(), (long)task.get());
+				
+				//check consistent read count (modify only allowed if no readers)
+				mo.acquireModify();
+				mo.release();
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runWriteBufferTest(double sparsity) 
+	{
+		File dir = null;
+		try
+		{
+			dir = Files.createTempDirectory("sysml_bufferpool").toFile();
+			final String prefix = dir.getAbsolutePath() + File.separator;
+			LazyWriteBuffer.init();
+			
+			//create input blocks and expected results
+			final MatrixBlock[] blocks = new MatrixBlock[numBlocks];
+			for( int i=0; i<numBlocks; i++ )
+				blocks[i] = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", i+7);
+			
+			for( int k : threads ) {
+				ExecutorService pool = Executors.newFixedThreadPool(k);
+				for( int r=0; r<numRounds; r++ ) {
+					final String rprefix = prefix + k + "_" + r + "_";
+					
+					//concurrent write of all blocks into the buffer pool
+					List<Callable<Void>> wtasks = new ArrayList<Callable<Void>>();
+					for( int i=0; i<k; i++ ) {
+						final int tid = i, tk = k;
+						wtasks.add(() -> {
+							for( int j=tid; j<numBlocks; j+=tk )
+								LazyWriteBuffer.writeBlock(rprefix+j, blocks[j]);
+							return null;
+						});
+					}
+					for( Future<Void> task : pool.invokeAll(wtasks) )
+						task.get();
+					
+					//evict all blocks to local FS in every other round
+					if( r % 2 == 1 )
+						LazyWriteBuffer.forceEviction();
+					
+					//concurrent read, check, and delete of all blocks
+					List<Callable<Void>> rtasks = new ArrayList<Callable<Void>>();
+					for( int i=0; i<k; i++ ) {
+						final int tid = i, tk = k;
+						rtasks.add(() -> {
+							for( int j=tid; j<numBlocks; j+=tk ) {
+								MatrixBlock ret = (MatrixBlock) LazyWriteBuffer.readBlock(rprefix+j, true);
+								TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(blocks[j]), 
+									DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+								LazyWriteBuffer.deleteBlock(rprefix+j);
+							}
+							return null;
+						});
+					}
+					for( Future<Void> task : pool.invokeAll(rtasks) )
+						task.get();
+				}
+				pool.shutdown();
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LazyWriteBuffer.cleanup();
+			if( dir != null )
+				LocalFileUtils.deleteFileIfExists(dir.getAbsolutePath());
+		}
+	}
+}
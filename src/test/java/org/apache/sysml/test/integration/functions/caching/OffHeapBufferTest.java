@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.OffHeapBuffer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This test checks the off-heap eviction tier of the buffer pool with 
+ * direct buffers and memory-mapped files, using a small budget of 1MB 
+ * and dense blocks of ~320KB. It covers off-heap hits, the eviction to
+ * local FS and read back, and repeated writes (i.e., modify and re-evict)
+ * of the same block, which must neither leak budget nor return stale data.
+ * 
+ */
+public class OffHeapBufferTest extends AutomatedTestBase 
+{
+	private final static int rows = 200;
+	private final static int cols = 200;
+	private final static int rows2 = 500;
+	private final static int cols2 = 300;
+	private final static int budget = 1; //MB
+	private final static int numRewrites = 10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testOffHeapHitDirect() {
+		runOffHeapBufferTest(TestType.HIT, false);
+	}
+	
+	@Test
+	public void testOffHeapHitMMap() {
+		runOffHeapBufferTest(TestType.HIT, true);
+	}
+	
+	@Test
+	public void testEvictionLocalFSDirect() {
+		runOffHeapBufferTest(TestType.EVICT, false);
+	}
+	
+	@Test
+	public void testEvictionLocalFSMMap() {
+		runOffHeapBufferTest(TestType.EVICT, true);
+	}
+	
+	@Test
+	public void testRewriteDirect() {
+		runOffHeapBufferTest(TestType.REWRITE, false);
+	}
+	
+	@Test
+	public void testRewriteMMap() {
+		runOffHeapBufferTest(TestType.REWRITE, true);
+	}
+	
+	@Test
+	public void testRewriteLargeDirect() {
+		runOffHeapBufferTest(TestType.REWRITE_LARGE, false);
+	}
+	
+	@Test
+	public void testRewriteLargeMMap() {
+		runOffHeapBufferTest(TestType.REWRITE_LARGE, true);
+	}
+	
+	private enum TestType {
+		HIT,           //write and read from off-heap tier
+		EVICT,         //write more than budget, read evicted block from local FS
+		REWRITE,       //repeated writes of the same block w/ different data
+		REWRITE_LARGE, //rewrite w/ block exceeding the off-heap budget
+	}
+	
+	private void runOffHeapBufferTest(TestType type, boolean mmap)
+	{
+		File dir = null;
+		try
+		{
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.CACHING_OFFHEAP_SIZE, String.valueOf(budget));
+			conf.setTextValue(DMLConfig.CACHING_OFFHEAP_MMAP, String.valueOf(mmap));
+			ConfigurationManager.setLocalConfig(conf);
+			LazyWriteBuffer.init();
+			Assert.assertTrue(OffHeapBuffer.isEnabled());
+			
+			dir = Files.createTempDirectory("sysml_offheap").toFile();
+			String fnameA = new File(dir, "A").getAbsolutePath();
+			String fnameB = new File(dir, "B").getAbsolutePath();
+			MatrixBlock A = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 7);
+			MatrixBlock B = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 3);
+			
+			switch( type ) {
+				case HIT: {
+					Assert.assertTrue(OffHeapBuffer.writeBlock(fnameA, A));
+					compareBlocks(A, (MatrixBlock)OffHeapBuffer.readBlock(fnameA, new MatrixBlock()));
+					compareBlocks(A, (MatrixBlock)LazyWriteBuffer.readBlock(fnameA, true));
+					break;
+				}
+				case EVICT: {
+					//write 4 blocks into 1MB budget (first evicted to local FS)
+					MatrixBlock[] blocks = new MatrixBlock[4];
+					for( int i=0; i<blocks.length; i++ ) {
+						blocks[i] = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", i+7);
+						Assert.assertTrue(OffHeapBuffer.writeBlock(new File(dir, "X"+i).getAbsolutePath(), blocks[i]));
+					}
+					String fname0 = new File(dir, "X0").getAbsolutePath();
+					Assert.assertNull(OffHeapBuffer.readBlock(fname0, new MatrixBlock()));
+					Assert.assertTrue(new File(fname0).exists());
+					compareBlocks(blocks[0], LocalFileUtils.readMatrixBlockFromLocal(fname0));
+					for( int i=0; i<blocks.length; i++ )
+						compareBlocks(blocks[i], (MatrixBlock)LazyWriteBuffer
+							.readBlock(new File(dir, "X"+i).getAbsolutePath(), true));
+					break;
+				}
+				case REWRITE: {
+					//repeated writes of A must not evict B (budget leak)
+					Assert.assertTrue(OffHeapBuffer.writeBlock(fnameB, B));
+					MatrixBlock Ai = null;
+					for( int i=0; i<numRewrites; i++ ) {
+						Ai = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", i+11);
+						Assert.assertTrue(OffHeapBuffer.writeBlock(fnameA, Ai));
+					}
+					compareBlocks(Ai, (MatrixBlock)LazyWriteBuffer.readBlock(fnameA, true));
+					compareBlocks(B, (MatrixBlock)OffHeapBuffer.readBlock(fnameB, new MatrixBlock()));
+					break;
+				}
+				case REWRITE_LARGE: {
+					//rewrite of A w/ block too large for the off-heap tier, where
+					//the old off-heap version must not be returned or evicted
+					Assert.assertTrue(OffHeapBuffer.writeBlock(fnameA, A));
+					MatrixBlock A2 = MatrixBlock.randOperations(rows2, cols2, 1.0, -1, 1, "uniform", 13);
+					LazyWriteBuffer.writeBlock(fnameA, A2);
+					LazyWriteBuffer.forceEviction();
+					Assert.assertNull(OffHeapBuffer.readBlock(fnameA, new MatrixBlock()));
+					compareBlocks(A2, (MatrixBlock)LazyWriteBuffer.readBlock(fnameA, true));
+					break;
+				}
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LazyWriteBuffer.cleanup();
+			ConfigurationManager.clearLocalConfigs();
+			if( dir != null )
+				LocalFileUtils.deleteFileIfExists(dir.getAbsolutePath());
+		}
+	}
+	
+	private static void compareBlocks(MatrixBlock expected, MatrixBlock actual) {
+		Assert.assertNotNull(actual);
+		Assert.assertEquals(expected.getNumRows(), actual.getNumRows());
+		Assert.assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		Assert.assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+			DataConverter.convertToDoubleMatrix(actual), expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
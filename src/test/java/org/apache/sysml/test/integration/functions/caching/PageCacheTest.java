@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This test checks the page cache for reuse of byte pages and of
+ * exact/non-exact double and int arrays, the zero-initialization of
+ * recycled arrays, the recycling of dense blocks, as well as the
+ * consistency under concurrent get and put operations.
+ * 
+ */
+public class PageCacheTest extends AutomatedTestBase 
+{
+	private final static int rows = 300;
+	private final static int cols = 200;
+	private final static int numThreads = 16;
+	private final static int numRounds = 1000;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testBytePages() {
+		runPageCacheTest(false, () -> {
+			byte[] page1 = PageCache.getPage(5000);
+			Assert.assertTrue(page1.length >= 5000);
+			PageCache.putPage(page1);
+			byte[] page2 = PageCache.getPage(4990);
+			Assert.assertSame(page1, page2);
+		});
+	}
+	
+	@Test
+	public void testDoubleArraysExact() {
+		runPageCacheTest(true, () -> {
+			double[] a = PageCache.getDoubleArray(rows*cols, true);
+			Assert.assertEquals(rows*cols, a.length);
+			a[7] = 3;
+			PageCache.putDoubleArray(a);
+			Assert.assertNotSame(a, PageCache.getDoubleArray(rows*cols+1, true));
+			double[] b = PageCache.getDoubleArray(rows*cols, true);
+			Assert.assertSame(a, b);
+			Assert.assertEquals(0, b[7], 0);
+		});
+	}
+	
+	@Test
+	public void testIntArraysNonExact() {
+		runPageCacheTest(true, () -> {
+			int[] a = PageCache.getIntArray(2000, false);
+			Assert.assertTrue(a.length >= 2000);
+			a[1999] = 7;
+			PageCache.putIntArray(a);
+			int[] b = PageCache.getIntArray(1990, false);
+			Assert.assertSame(a, b);
+			Assert.assertEquals(0, b[1999]);
+		});
+	}
+	
+	@Test
+	public void testDenseBlockRecycling() {
+		runPageCacheTest(true, () -> {
+			MatrixBlock mb1 = new MatrixBlock(rows, cols, false);
+			mb1.allocateDenseBlock();
+			mb1.quickSetValue(3, 7, 1);
+			PageCache.putBlock(mb1);
+			MatrixBlock mb2 = new MatrixBlock(rows, cols, false);
+			mb2.allocateDenseBlock();
+			Assert.assertSame(mb1.getDenseBlockValues(), mb2.getDenseBlockValues());
+			Assert.assertEquals(0, mb2.quickGetValue(3, 7), 0);
+		});
+	}
+	
+	@Test
+	public void testConcurrentGetPut() {
+		runPageCacheTest(true, () -> {
+			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			try {
+				List<Callable<Boolean>> tasks = new ArrayList<>();
+				for( int k=0; k<numThreads; k++ ) {
+					final int seed = k;
+					tasks.add(() -> {
+						for( int i=0; i<numRounds; i++ ) {
+							int len = 1024 + (seed * 7919 + i * 104729) % 32768;
+							double[] a = PageCache.getDoubleArray(len, i%2==0);
+							for( int j=0; j<a.length; j++ )
+								if( a[j] != 0 )
+									return false;
+							if( a.length < len || (i%2==0 && a.length != len) )
+								return false;
+							a[len-1] = seed+1;
+							PageCache.putDoubleArray(a);
+						}
+						return true;
+					});
+				}
+				for( Future<Boolean> task : pool.invokeAll(tasks) )
+					Assert.assertTrue(task.get());
+			}
+			catch(Exception ex) {
+				throw new RuntimeException(ex);
+			}
+			finally {
+				pool.shutdown();
+			}
+		});
+	}
+	
+	private static void runPageCacheTest(boolean arrays, Runnable test) {
+		try {
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.CACHING_PAGECACHE_ARRAYS, String.valueOf(arrays));
+			ConfigurationManager.setLocalConfig(conf);
+			PageCache.init();
+			test.run();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			PageCache.clear();
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class PrefetchTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "prefetch";
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + PrefetchTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-prefetch.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	
+	private final static int rows1 = 321;
+	private final static int rows2 = 234;
+	private final static int cols = 57;
+	private final static int iters = 4;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-8;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) ); 
+	}
+	
+	@Test
+	public void testPrefetchDense() {
+		runPrefetchTest(false);
+	}
+	
+	@Test
+	public void testPrefetchSparse() {
+		runPrefetchTest(true);
+	}
+	
+	private void runPrefetchTest( boolean sparse )
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), input("Y"), 
+				String.valueOf(iters), output("R") };
+			
+			double sp = sparse ? sparsity2 : sparsity1;
+			double[][] X = getRandomMatrix(rows1, cols, -1, 1, sp, 7);
+			double[][] Y = getRandomMatrix(rows2, cols, -1, 1, sp, 3);
+			writeInputMatrixWithMTD("X", X, true);
+			writeInputMatrixWithMTD("Y", Y, true);
+			
+			runTest(true, false, null, -1);
+			
+			//check prefetched reads (via statistics)
+			Assert.assertTrue("No prefetched reads", CacheStatistics.getPrefetches() > 0);
+			Assert.assertTrue("No prefetch hits", CacheStatistics.getPrefetchHits() > 0);
+			
+			//compare result with expected X %*% t(Y) + sum(Y) * (1 + sum(1:iters))
+			double sumY = 0;
+			for( int i=0; i<rows2; i++ )
+				for( int j=0; j<cols; j++ )
+					sumY += Y[i][j];
+			double offset = sumY * (1 + iters*(iters+1)/2);
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			for( int i=0; i<rows1; i++ )
+				for( int j=0; j<rows2; j++ ) {
+					double val = offset;
+					for( int k=0; k<cols; k++ )
+						val += X[i][k] * Y[j][k];
+					Double ret = dmlfile.get(new CellIndex(i+1, j+1));
+					Assert.assertEquals(val, (ret!=null) ? ret : 0, eps);
+				}
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+	
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
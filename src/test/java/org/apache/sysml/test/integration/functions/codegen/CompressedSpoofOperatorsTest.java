@@ -0,0 +1,465 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.codegen;
+
+import java.util.ArrayList;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.codegen.SpoofCellwise;
+import org.apache.sysml.runtime.codegen.SpoofCellwise.AggOp;
+import org.apache.sysml.runtime.codegen.SpoofCellwise.CellType;
+import org.apache.sysml.runtime.codegen.SpoofMultiAggregate;
+import org.apache.sysml.runtime.codegen.SpoofOuterProduct;
+import org.apache.sysml.runtime.codegen.SpoofOuterProduct.OutProdType;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compares the results of cellwise, multi-aggregate, and outer-product operators
+ * over compressed main inputs (per-distinct-value and row offset evaluation) 
+ * with the results over the uncompressed inputs, for single- and multi-threaded 
+ * execution as well as without side inputs, and with row or column vectors.
+ */
+public class CompressedSpoofOperatorsTest extends AutomatedTestBase 
+{
+	private static final int rows1 = 2071;
+	private static final int rows2 = 110011; //>1M cells, i.e., multi-threaded
+	private static final int cols = 10;
+	private static final int rank = 3;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double eps = Math.pow(10, -8);
+	private static final int numThreads = 4;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+	}
+	
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //DDC
+	}
+	
+	public enum SideType {
+		NONE,
+		ROW_VECTOR,
+		COL_VECTOR,
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseConstNoSide() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.CONST, SideType.NONE, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseConstRowSide() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.CONST, SideType.ROW_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseConstColSide() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.CONST, SideType.COL_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRandNoSide() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND, SideType.NONE, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRandRowSide() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND, SideType.ROW_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRandColSide() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND, SideType.COL_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRand2NoSide() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, SideType.NONE, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRand2RowSide() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, SideType.ROW_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRand2ColSide() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, SideType.COL_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRand3NoSide() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, SideType.NONE, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRand3RowSide() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, SideType.ROW_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRand3ColSide() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, SideType.COL_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofSparseConstNoSide() {
+		runCompressedSpoofTest(SparsityType.SPARSE, ValueType.CONST, SideType.NONE, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofSparseConstRowSide() {
+		runCompressedSpoofTest(SparsityType.SPARSE, ValueType.CONST, SideType.ROW_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofSparseConstColSide() {
+		runCompressedSpoofTest(SparsityType.SPARSE, ValueType.CONST, SideType.COL_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofSparseRandNoSide() {
+		runCompressedSpoofTest(SparsityType.SPARSE, ValueType.RAND, SideType.NONE, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofSparseRandRowSide() {
+		runCompressedSpoofTest(SparsityType.SPARSE, ValueType.RAND, SideType.ROW_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofSparseRandColSide() {
+		runCompressedSpoofTest(SparsityType.SPARSE, ValueType.RAND, SideType.COL_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofSparseRand2NoSide() {
+		runCompressedSpoofTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, SideType.NONE, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofSparseRand2RowSide() {
+		runCompressedSpoofTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, SideType.ROW_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofSparseRand2ColSide() {
+		runCompressedSpoofTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, SideType.COL_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofSparseRand3NoSide() {
+		runCompressedSpoofTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, SideType.NONE, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofSparseRand3RowSide() {
+		runCompressedSpoofTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, SideType.ROW_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofSparseRand3ColSide() {
+		runCompressedSpoofTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, SideType.COL_VECTOR, false);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseConstNoSidePar() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.CONST, SideType.NONE, true);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseConstRowSidePar() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.CONST, SideType.ROW_VECTOR, true);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseConstColSidePar() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.CONST, SideType.COL_VECTOR, true);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRandNoSidePar() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND, SideType.NONE, true);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRandRowSidePar() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND, SideType.ROW_VECTOR, true);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRandColSidePar() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND, SideType.COL_VECTOR, true);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRand2NoSidePar() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, SideType.NONE, true);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRand2RowSidePar() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, SideType.ROW_VECTOR, true);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRand2ColSidePar() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, SideType.COL_VECTOR, true);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRand3NoSidePar() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, SideType.NONE, true);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRand3RowSidePar() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, SideType.ROW_VECTOR, true);
+	}
+	
+	@Test
+	public void testCompressedSpoofDenseRand3ColSidePar() {
+		runCompressedSpoofTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, SideType.COL_VECTOR, true);
+	}
+	
+	private void runCompressedSpoofTest(SparsityType sptype, ValueType vtype, SideType stype, boolean par)
+	{
+		try
+		{
+			final int rows = par ? rows2 : rows1;
+			final int k = par ? numThreads : 1;
+			double sparsity = (sptype==SparsityType.DENSE) ? sparsity1 : sparsity2;
+			
+			//generate input data (incl uncompressed column group)
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			mb = mb.appendOperations(MatrixBlock.seqOperations(0.1, rows-0.1, 1), new MatrixBlock()); //uc group
+			final int n = mb.getNumColumns();
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+			Assert.assertTrue(cmb.isCompressed());
+			
+			//generate side inputs
+			MatrixBlock side = (stype==SideType.NONE) ? null : DataConverter.convertToMatrixBlock(
+				TestUtils.generateTestMatrix((stype==SideType.ROW_VECTOR)?1:rows, 
+					(stype==SideType.ROW_VECTOR)?n:1, -1, 1, 1.0, 3));
+			MatrixBlock U = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(rows, rank, -1, 1, 1.0, 11));
+			MatrixBlock V = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(n, rank, -1, 1, 1.0, 12));
+			
+			//cellwise operators (sparse-safe and -unsafe, all aggregation types)
+			for( CellType ctype : CellType.values() )
+				for( AggOp aggop : AggOp.values() )
+					for( boolean safe : new boolean[]{true, false} ) {
+						if( ctype == CellType.NO_AGG && aggop != AggOp.SUM )
+							continue;
+						TestCellwise op = new TestCellwise(ctype, aggop, safe, stype);
+						if( ctype == CellType.FULL_AGG ) {
+							double ret1 = op.execute(getInputs(mb, side), new ArrayList<ScalarObject>(), k).getDoubleValue();
+							double ret2 = op.execute(getInputs(cmb, side), new ArrayList<ScalarObject>(), k).getDoubleValue();
+							compareScalars(ret1, ret2);
+						}
+						else {
+							MatrixBlock ret1 = new MatrixBlock();
+							MatrixBlock ret2 = new MatrixBlock();
+							op.execute(getInputs(mb, side), new ArrayList<ScalarObject>(), ret1, k);
+							op.execute(getInputs(cmb, side), new ArrayList<ScalarObject>(), ret2, k);
+							compareMatrices(ret1, ret2);
+						}
+					}
+			
+			//multi-aggregate operator
+			TestMultiAggregate maop = new TestMultiAggregate(stype);
+			MatrixBlock ret1 = new MatrixBlock();
+			MatrixBlock ret2 = new MatrixBlock();
+			maop.execute(getInputs(mb, side), new ArrayList<ScalarObject>(), ret1, k);
+			maop.execute(getInputs(cmb, side), new ArrayList<ScalarObject>(), ret2, k);
+			compareMatrices(ret1, ret2);
+			
+			//outer-product operators (all types)
+			for( OutProdType otype : OutProdType.values() ) {
+				TestOuterProduct op = new TestOuterProduct(otype, stype);
+				if( otype == OutProdType.AGG_OUTER_PRODUCT ) {
+					double ret3 = executeOuterProduct(op, getInputs(mb, U, V, side), k);
+					double ret4 = executeOuterProduct(op, getInputs(cmb, U, V, side), k);
+					compareScalars(ret3, ret4);
+				}
+				else {
+					MatrixBlock ret3 = new MatrixBlock();
+					MatrixBlock ret4 = new MatrixBlock();
+					executeOuterProduct(op, getInputs(mb, U, V, side), ret3, k);
+					executeOuterProduct(op, getInputs(cmb, U, V, side), ret4, k);
+					compareMatrices(ret3, ret4);
+				}
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+	
+	private static double executeOuterProduct(SpoofOuterProduct op, ArrayList<MatrixBlock> inputs, int k) 
+		throws DMLRuntimeException 
+	{
+		return (k > 1) ? op.execute(inputs, new ArrayList<ScalarObject>(), k).getDoubleValue() :
+			op.execute(inputs, new ArrayList<ScalarObject>()).getDoubleValue();
+	}
+	
+	private static void executeOuterProduct(SpoofOuterProduct op, ArrayList<MatrixBlock> inputs, MatrixBlock out, int k) 
+		throws DMLRuntimeException 
+	{
+		if( k > 1 )
+			op.execute(inputs, new ArrayList<ScalarObject>(), out, k);
+		else
+			op.execute(inputs, new ArrayList<ScalarObject>(), out);
+	}
+	
+	private static ArrayList<MatrixBlock> getInputs(MatrixBlock... inputs) {
+		ArrayList<MatrixBlock> ret = new ArrayList<MatrixBlock>();
+		for( MatrixBlock in : inputs )
+			if( in != null )
+				ret.add(in);
+		return ret;
+	}
+	
+	private static void compareScalars(double d1, double d2) {
+		TestUtils.compareScalars(d1, d2, eps * Math.max(1, Math.abs(d1)));
+	}
+	
+	private static void compareMatrices(MatrixBlock mb1, MatrixBlock mb2) {
+		Assert.assertEquals(mb1.getNumRows(), mb2.getNumRows());
+		Assert.assertEquals(mb1.getNumColumns(), mb2.getNumColumns());
+		Assert.assertEquals(mb1.getNonZeros(), mb2.getNonZeros());
+		double[][] d1 = DataConverter.convertToDoubleMatrix(mb1);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(mb2);
+		for( int i=0; i<d1.length; i++ )
+			for( int j=0; j<d1[i].length; j++ )
+				compareScalars(d1[i][j], d2[i][j]);
+	}
+	
+	private static class TestCellwise extends SpoofCellwise 
+	{
+		private static final long serialVersionUID = -1786326472358718930L;
+		private final SideType _stype;
+		
+		public TestCellwise(CellType type, AggOp aggOp, boolean sparseSafe, SideType stype) {
+			super(type, aggOp, sparseSafe);
+			_stype = stype;
+		}
+		
+		@Override
+		protected double genexec(double a, SideInput[] b, double[] scalars, int m, int n, int rowIndex, int colIndex) {
+			double side = (_stype==SideType.ROW_VECTOR) ? getValue(b[0], n, 0, colIndex) :
+				(_stype==SideType.COL_VECTOR) ? getValue(b[0], rowIndex) : 1;
+			return isSparseSafe() ? a * (2 + side) : a * a + 3 * side;
+		}
+	}
+	
+	private static class TestMultiAggregate extends SpoofMultiAggregate 
+	{
+		private static final long serialVersionUID = 4419536289414473512L;
+		private final SideType _stype;
+		
+		public TestMultiAggregate(SideType stype) {
+			super(AggOp.SUM, AggOp.SUM_SQ, AggOp.MIN, AggOp.MAX);
+			_stype = stype;
+		}
+		
+		@Override
+		protected void genexec(double a, SideInput[] b, double[] scalars, double[] c, int m, int n, int rowIndex, int colIndex) {
+			double side = (_stype==SideType.ROW_VECTOR) ? getValue(b[0], n, 0, colIndex) :
+				(_stype==SideType.COL_VECTOR) ? getValue(b[0], rowIndex) : 1;
+			double val = a * side + 1;
+			c[0] += val;
+			c[1] += val * val;
+			c[2] = Math.min(c[2], val);
+			c[3] = Math.max(c[3], val);
+		}
+	}
+	
+	private static class TestOuterProduct extends SpoofOuterProduct 
+	{
+		private static final long serialVersionUID = -5612407436813520411L;
+		private final SideType _stype;
+		
+		public TestOuterProduct(OutProdType type, SideType stype) {
+			setOuterProdType(type);
+			_stype = stype;
+		}
+		
+		private double getSide(double[][] b, int rowIndex, int colIndex) {
+			return (_stype==SideType.ROW_VECTOR) ? b[0][colIndex] :
+				(_stype==SideType.COL_VECTOR) ? b[0][rowIndex] : 1;
+		}
+		
+		@Override
+		protected void genexecDense(double a, double[] u, int ui, double[] v, int vi, double[][] b, 
+			double[] scalars, double[] c, int ci, int m, int n, int k, int rowIndex, int colIndex) 
+		{
+			double[] w = (_outerProductType == OutProdType.LEFT_OUTER_PRODUCT) ? u : v;
+			int wi = (_outerProductType == OutProdType.LEFT_OUTER_PRODUCT) ? ui : vi;
+			double tmp = a * getSide(b, rowIndex, colIndex) / (1 + Math.abs(dot(u, ui, v, vi, k)));
+			for( int j=0; j<k; j++ )
+				c[ci+j] += tmp * w[wi+j];
+		}
+		
+		@Override
+		protected double genexecCellwise(double a, double[] u, int ui, double[] v, int vi, double[][] b, 
+			double[] scalars, int m, int n, int k, int rowIndex, int colIndex) 
+		{
+			return a * getSide(b, rowIndex, colIndex) * dot(u, ui, v, vi, k);
+		}
+		
+		private static double dot(double[] u, int ui, double[] v, int vi, int k) {
+			double ret = 0;
+			for( int j=0; j<k; j++ )
+				ret += u[ui+j] * v[vi+j];
+			return ret;
+		}
+	}
+}
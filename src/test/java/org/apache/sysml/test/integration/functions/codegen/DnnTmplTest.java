@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.codegen;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class DnnTmplTest extends AutomatedTestBase 
+{
+	private static final String TEST_NAME = "DnnTmpl";
+	private static final String TEST_NAME1 = TEST_NAME+"1"; //max_pool(max(bias_add(conv2d(X,W),b),0))
+	private static final String TEST_NAME2 = TEST_NAME+"2"; //max(bias_add(conv2d(X,W),b),0)
+	
+	private static final String TEST_DIR = "functions/codegen/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + DnnTmplTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-codegen.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	
+	//see scripts: N=37, C=3, H=W=12, K=4, R=S=3
+	private static final int N = 37;
+	private static final int C = 3;
+	private static final int HW = 12;
+	private static final int K = 4;
+	private static final int RS = 3;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double eps = Math.pow(10, -10);
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		for(int i=1; i<=2; i++)
+			addTestConfiguration( TEST_NAME+i, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME+i, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testCodegenDnn1DenseCP() {
+		testCodegenIntegration( TEST_NAME1, false );
+	}
+	
+	@Test
+	public void testCodegenDnn1SparseCP() {
+		testCodegenIntegration( TEST_NAME1, true );
+	}
+	
+	@Test
+	public void testCodegenDnn2DenseCP() {
+		testCodegenIntegration( TEST_NAME2, false );
+	}
+	
+	@Test
+	public void testCodegenDnn2SparseCP() {
+		testCodegenIntegration( TEST_NAME2, true );
+	}
+	
+	private void testCodegenIntegration( String testname, boolean sparse )
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.HYBRID_SPARK;
+		
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[]{"-explain", "-stats", "-args", 
+				input("X"), input("W"), input("b"), output("R") };
+			
+			fullRScriptName = HOME + testname + ".R";
+			rCmd = getRCmd(inputDir(), expectedDir());
+			
+			//generate input data
+			double[][] X = getRandomMatrix(N, C*HW*HW, -1, 1, sparse?sparsity2:sparsity1, 7);
+			double[][] W = getRandomMatrix(K, C*RS*RS, -1, 1, 1.0, 3);
+			double[][] b = getRandomMatrix(K, 1, -1, 1, 1.0, 5);
+			writeInputMatrixWithMTD("X", X, true);
+			writeInputMatrixWithMTD("W", W, true);
+			writeInputMatrixWithMTD("b", b, true);
+			
+			runTest(true, false, null, -1); 
+			runRScript(true); 
+			
+			//compare matrices 
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> rfile  = readRMatrixFromFS("R");
+			TestUtils.compareMatrices(dmlfile, rfile, eps, "Stat-DML", "Stat-R");
+			Assert.assertTrue(heavyHittersContainsSubString("spoofDNN"));
+			Assert.assertTrue(!heavyHittersContainsSubString("conv2d")
+				&& !heavyHittersContainsSubString("relu_maxpooling"));
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+		}
+	}
+	
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
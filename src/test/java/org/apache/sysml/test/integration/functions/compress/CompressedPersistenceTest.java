@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.File;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.parser.DataExpression;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.wink.json4j.JSONObject;
+
+/**
+ * Round-trip tests for persisted compressed matrix blocks, i.e., the 
+ * compressed binary block format and the buffer pool eviction files.
+ */
+public class CompressedPersistenceTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "CompressedPersistenceTest";
+	private final static String TEST_DIR = "functions/compress/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CompressedPersistenceTest.class.getSimpleName() + "/";
+	
+	private static final int rows = 2071;
+	private static final int cols = 20;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	
+	public enum ValueType {
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //DDC
+		CONST, //RLE
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+	
+	@Test
+	public void testDenseRoundRandDataOLEHDFS() {
+		runCompressedPersistenceTest(sparsity1, ValueType.RAND_ROUND_OLE, true, false);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataOLEHDFS() {
+		runCompressedPersistenceTest(sparsity2, ValueType.RAND_ROUND_OLE, true, false);
+	}
+	
+	@Test
+	public void testDenseRoundRandDataDDCHDFS() {
+		runCompressedPersistenceTest(sparsity1, ValueType.RAND_ROUND_DDC, true, false);
+	}
+	
+	@Test
+	public void testSparseConstDataHDFS() {
+		runCompressedPersistenceTest(sparsity2, ValueType.CONST, true, false);
+	}
+	
+	@Test
+	public void testDenseRoundRandDataUncompressedInputHDFS() {
+		runCompressedPersistenceTest(sparsity1, ValueType.RAND_ROUND_OLE, false, false);
+	}
+	
+	@Test
+	public void testDenseRoundRandDataOLELocal() {
+		runCompressedPersistenceTest(sparsity1, ValueType.RAND_ROUND_OLE, true, true);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataDDCLocal() {
+		runCompressedPersistenceTest(sparsity2, ValueType.RAND_ROUND_DDC, true, true);
+	}
+	
+	@Test
+	public void testDenseConstDataLocal() {
+		runCompressedPersistenceTest(sparsity1, ValueType.CONST, true, true);
+	}
+	
+	@Test
+	public void testCompressedMetaData() throws Exception {
+		//single block of rows x cols w/ distinct format
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, 7);
+		JSONObject mtd = new JSONObject(MapReduceTool.metaDataToString(
+			org.apache.sysml.parser.Expression.ValueType.DOUBLE, null, DataType.MATRIX, 
+			mc, OutputInfo.CompressedBinaryBlockOutputInfo, null));
+		Assert.assertEquals(DataExpression.FORMAT_TYPE_VALUE_COMPRESSED, mtd.getString(DataExpression.FORMAT_TYPE));
+		Assert.assertEquals(rows, mtd.getLong(DataExpression.ROWBLOCKCOUNTPARAM));
+		Assert.assertEquals(cols, mtd.getLong(DataExpression.COLUMNBLOCKCOUNTPARAM));
+		Assert.assertEquals(InputInfo.CompressedBinaryBlockInputInfo, InputInfo.stringExternalToInputInfo(
+			OutputInfo.outputInfoToStringExternal(OutputInfo.CompressedBinaryBlockOutputInfo)));
+	}
+	
+	@Test
+	public void testShallowSerializeCompressed() throws Exception {
+		runShallowSerializeTest(true);
+	}
+	
+	@Test
+	public void testShallowSerializeUncompressed() throws Exception {
+		runShallowSerializeTest(false);
+	}
+	
+	private void runShallowSerializeTest(boolean compress) 
+		throws Exception
+	{
+		//compressed block w/ or w/o compression (i.e., uncompressed data)
+		double[][] input = TestUtils.generateTestMatrix(rows, cols, 1, 1, 0.1, 7);
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+		if( compress )
+			cmb.compress();
+		Assert.assertEquals(compress, cmb.isCompressed());
+		Assert.assertEquals(compress, cmb.isShallowSerialize());
+		
+		//write buffer round trip, restored w/ block type
+		ByteBuffer buff = new ByteBuffer(cmb.isShallowSerialize() ? 
+			cmb.getInMemorySize() : cmb.getExactSerializedSize());
+		buff.serializeBlock(cmb);
+		MatrixBlock ret = (MatrixBlock) buff.deserializeBlock();
+		Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+		Assert.assertEquals(compress, ((CompressedMatrixBlock)ret).isCompressed());
+		Assert.assertEquals(mb.getNonZeros(), ret.getNonZeros());
+		MatrixBlock ret2 = compress ? ((CompressedMatrixBlock)ret).decompress() : ret;
+		TestUtils.compareMatrices(input, DataConverter.convertToDoubleMatrix(ret2), rows, cols, 0);
+	}
+	
+	private void runCompressedPersistenceTest(double sparsity, ValueType vtype, boolean compress, boolean local)
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+			if( vtype != ValueType.CONST )
+				input = TestUtils.round(input);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//compress given matrix block
+			MatrixBlock in = mb;
+			if( compress ) {
+				CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+				cmb.compress();
+				in = cmb;
+			}
+			
+			MatrixBlock ret = null;
+			if( local ) {
+				//write and read buffer pool eviction file
+				String fname = output("X");
+				new File(fname).getParentFile().mkdirs();
+				LocalFileUtils.writeCacheBlockToLocal(fname, in);
+				Assert.assertEquals(in.getExactSizeOnDisk(), new File(fname).length());
+				ret = (MatrixBlock) LocalFileUtils.readWritableFromLocal(fname, new CompressedMatrixBlock());
+			}
+			else {
+				//write compressed binary block file, read w/ format detection
+				MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, mb.getNonZeros());
+				DataConverter.writeMatrixToHDFS(in, output("X"), OutputInfo.CompressedBinaryBlockOutputInfo, mc);
+				ret = DataConverter.readMatrixFromHDFS(output("X"), 
+					InputInfo.BinaryBlockInputInfo, rows, cols, 1000, 1000);
+			}
+			
+			//check for compressed block w/o decompression
+			Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+			Assert.assertTrue(((CompressedMatrixBlock)ret).isCompressed());
+			Assert.assertEquals(mb.getNonZeros(), ret.getNonZeros());
+			
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(mb);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(((CompressedMatrixBlock)ret).decompress());
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.frame;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.FrameReader;
+import org.apache.sysml.runtime.io.FrameReaderTextCSV;
+import org.apache.sysml.runtime.io.FrameReaderTextCSVParallel;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a correctness test for the typed column parsing of the sequential 
+ * and parallel frame csv readers. The input is a directory of multiple csv 
+ * files (i.e., multiple splits) with header, NA strings, and empty fields,
+ * and we compare the read frames against a reference obtained with the 
+ * previous per-cell parsing via UtilFunctions.stringToObject. NA strings
+ * are not interpreted by the frame csv readers but retained as values. 
+ * The inference tests read with unknown value types and check the inferred
+ * schema (NA strings turn the first column into a string column).
+ * 
+ */
+public class FrameReadCSVTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/frame/io/";
+	private final static String TEST_NAME = "FrameReadCSV";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FrameReadCSVTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 3137; //>1024 rows per file
+	private final static int files = 3;
+	private final static ValueType[] schema = new ValueType[]{ValueType.STRING, 
+		ValueType.INT, ValueType.DOUBLE, ValueType.BOOLEAN, ValueType.STRING};
+	private final static String DELIMITER = ",";
+	private final static String NA_STRING = "NA";
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"F"}));
+	}
+	
+	@Test
+	public void testReadCSVHeader() {
+		runFrameReadCSVTest(true, false, 0, false);
+	}
+	
+	@Test
+	public void testReadCSVHeaderParallel() {
+		runFrameReadCSVTest(true, false, 0, true);
+	}
+	
+	@Test
+	public void testReadCSVNoHeaderParallel() {
+		runFrameReadCSVTest(false, false, 0, true);
+	}
+	
+	@Test
+	public void testReadCSVFill() {
+		runFrameReadCSVTest(true, true, 7, false);
+	}
+	
+	@Test
+	public void testReadCSVFillParallel() {
+		runFrameReadCSVTest(true, true, 7, true);
+	}
+	
+	@Test
+	public void testReadCSVFillZero() {
+		runFrameReadCSVTest(false, true, 0, false);
+	}
+	
+	@Test
+	public void testReadCSVFillZeroParallel() {
+		runFrameReadCSVTest(false, true, 0, true);
+	}
+	
+	@Test
+	public void testReadCSVInferSchema() {
+		runFrameReadCSVTest(true, true, 7, false, true);
+	}
+	
+	@Test
+	public void testReadCSVInferSchemaParallel() {
+		runFrameReadCSVTest(true, true, 7, true, true);
+	}
+	
+	@Test
+	public void testReadCSVNoHeaderInferSchemaParallel() {
+		runFrameReadCSVTest(false, false, 0, true, true);
+	}
+	
+	private void runFrameReadCSVTest(boolean header, boolean fill, double fillValue, boolean parallel) {
+		runFrameReadCSVTest(header, fill, fillValue, parallel, false);
+	}
+	
+	private void runFrameReadCSVTest(boolean header, boolean fill, double fillValue, boolean parallel, boolean infer)
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			//write multi-file csv input
+			String fname = input("F");
+			ArrayList<String> lines = writeCSVInput(fname, header, fill);
+			
+			//read frame via sequential or parallel reader (w/ unknown dims)
+			CSVFileFormatProperties props = new CSVFileFormatProperties(
+				header, DELIMITER, fill, fillValue, NA_STRING);
+			FrameReader reader = parallel ? new FrameReaderTextCSVParallel(props) :
+				new FrameReaderTextCSV(props);
+			ValueType[] rschema = infer ? new ValueType[]{ValueType.UNKNOWN} : schema;
+			FrameBlock frame = reader.readFrameFromHDFS(fname, rschema, -1, -1);
+			
+			//compare column names and values with reference
+			int off = header ? 1 : 0;
+			Assert.assertEquals(lines.size()-off, frame.getNumRows());
+			Assert.assertEquals(schema.length, frame.getNumColumns());
+			Assert.assertArrayEquals(schema, frame.getSchema());
+			if( header )
+				Assert.assertArrayEquals(lines.get(0).split(DELIMITER), frame.getColumnNames());
+			for( int i=0; i<frame.getNumRows(); i++ ) {
+				Object[] row = parseRowReference(lines.get(i+off), fill, fillValue);
+				for( int j=0; j<schema.length; j++ )
+					if( UtilFunctions.compareTo(schema[j], row[j], frame.get(i, j)) != 0 )
+						Assert.fail("Wrong value at ("+i+","+j+"): "+frame.get(i, j)+", expected: "+row[j]);
+			}
+			
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static ArrayList<String> writeCSVInput(String fname, boolean header, boolean fill) 
+		throws IOException 
+	{
+		//generate lines w/ NA strings, NaNs, mixed-case booleans and, if 
+		//fill is enabled, empty fields in string and double columns
+		Random rand = new Random(7);
+		ArrayList<String> lines = new ArrayList<String>();
+		if( header )
+			lines.add("name,id,score,flag,label");
+		for( int i=0; i<rows; i++ ) {
+			boolean empty = fill && rand.nextInt(10)==0;
+			String c1 = (rand.nextInt(20)==0) ? NA_STRING : empty ? "" : "s"+rand.nextInt(100);
+			String c2 = String.valueOf(rand.nextInt(2000)-1000);
+			String c3 = (rand.nextInt(50)==0) ? "NaN" : (empty && rand.nextBoolean()) ? 
+				"" : String.valueOf(rand.nextGaussian()*100);
+			String c4 = rand.nextBoolean() ? "true" : (rand.nextBoolean() ? "FALSE" : "TRUE");
+			String c5 = (rand.nextInt(20)==0) ? NA_STRING : " x"+rand.nextInt(7)+" ";
+			lines.add(c1+DELIMITER+c2+DELIMITER+c3+DELIMITER+c4+DELIMITER+c5);
+		}
+		
+		//write lines to multiple files (header in first file)
+		MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		File dir = new File(fname);
+		dir.mkdirs();
+		int off = header ? 1 : 0;
+		int blen = (int)Math.ceil((double)rows/files);
+		for( int k=0; k<files; k++ ) {
+			BufferedWriter bw = new BufferedWriter(new FileWriter(new File(dir, "0-m-0000"+k)));
+			try {
+				if( k==0 && header )
+					bw.write(lines.get(0)+"\n");
+				for( int i=k*blen; i<Math.min((k+1)*blen, rows); i++ )
+					bw.write(lines.get(i+off)+"\n");
+			}
+			finally {
+				IOUtilFunctions.closeSilently(bw);
+			}
+		}
+		return lines;
+	}
+	
+	private static Object[] parseRowReference(String line, boolean fill, double fillValue) {
+		//previous per-cell parsing into boxed objects
+		String[] parts = IOUtilFunctions.splitCSV(line.trim(), DELIMITER);
+		Object[] ret = new Object[schema.length];
+		for( int j=0; j<schema.length; j++ ) {
+			String part = parts[j].trim();
+			if( part.isEmpty() )
+				ret[j] = (fill && fillValue!=0) ? UtilFunctions.stringToObject(
+					schema[j], String.valueOf(fillValue)) : defaultValue(schema[j]);
+			else
+				ret[j] = UtilFunctions.stringToObject(schema[j], part);
+		}
+		return ret;
+	}
+	
+	private static Object defaultValue(ValueType vt) {
+		//default values of unset cells in typed columns
+		switch( vt ) {
+			case DOUBLE: return 0d;
+			case INT: return 0L;
+			case BOOLEAN: return false;
+			default: return null;
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.LibMatrixOutOfCore;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Script-level test for out-of-core CP operations (cp.outofcore) over a 
+ * binary block input, compared against the in-memory path.
+ */
+public class OutOfCoreTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "OutOfCoreTest";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + OutOfCoreTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-outofcore.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	
+	private final static int rows = 2345;
+	private final static int cols = 123;
+	private final static int blen = 1000;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-8;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, 
+			new String[] { "S", "M", "T", "Y" }) ); 
+	}
+	
+	@Test
+	public void testOutOfCoreDense() {
+		runOutOfCoreTest(false);
+	}
+	
+	@Test
+	public void testOutOfCoreSparse() {
+		runOutOfCoreTest(true);
+	}
+	
+	private void runOutOfCoreTest( boolean sparse )
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			
+			//generate binary block input (multiple row blocks) and dense vector
+			double sp = sparse ? sparsity2 : sparsity1;
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sp, 7);
+			double[][] v = getRandomMatrix(cols, 1, -1, 1, 1.0, 3);
+			writeInputBinaryMatrixWithMTD("X", X, blen, blen, sparse, 
+				new MatrixCharacteristics(rows, cols, blen, blen));
+			writeInputMatrixWithMTD("v", v, false);
+			
+			//run in-memory (small input) and forced out-of-core 
+			runOutOfCoreScript(false, "1");
+			runOutOfCoreScript(true, "2");
+			
+			//compare out-of-core with in-memory results
+			for( String name : new String[]{"S", "M", "T", "Y"} ) {
+				HashMap<CellIndex, Double> ret1 = readDMLMatrixFromHDFS(name+"1");
+				HashMap<CellIndex, Double> ret2 = readDMLMatrixFromHDFS(name+"2");
+				TestUtils.compareMatrices(ret1, ret2, eps, "InMemory", "OutOfCore");
+			}
+		}
+		catch(IOException ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+			LibMatrixOutOfCore.FORCE_OUTOFCORE = false;
+		}
+	}
+	
+	private void runOutOfCoreScript(boolean outofcore, String suffix) {
+		LibMatrixOutOfCore.FORCE_OUTOFCORE = outofcore;
+		programArgs = new String[]{"-stats", "-args", input("X"), input("v"), 
+			output("S"+suffix), output("M"+suffix), output("T"+suffix), output("Y"+suffix) };
+		runTest(true, false, null, -1);
+	}
+	
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
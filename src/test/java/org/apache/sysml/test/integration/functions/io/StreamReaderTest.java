@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.io.MatrixStreamReader;
+import org.apache.sysml.runtime.io.ReadProperties;
+import org.apache.sysml.runtime.io.StreamReaderBinaryBlock;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.LibMatrixOutOfCore;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class StreamReaderTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "StreamReaderTest";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + StreamReaderTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1052;
+	private final static int cols = 230;
+	private final static int blen = 100;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-8;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+	
+	@Test
+	public void testBinaryBlockDense() {
+		runStreamReaderTest(InputInfo.BinaryBlockInputInfo, OutputInfo.BinaryBlockOutputInfo, false);
+	}
+	
+	@Test
+	public void testBinaryBlockSparse() {
+		runStreamReaderTest(InputInfo.BinaryBlockInputInfo, OutputInfo.BinaryBlockOutputInfo, true);
+	}
+	
+	@Test
+	public void testBinaryBlockUnorderedDense() {
+		runStreamReaderUnorderedTest(false, -1);
+	}
+	
+	@Test
+	public void testBinaryBlockUnorderedSparse() {
+		runStreamReaderUnorderedTest(true, -1);
+	}
+	
+	@Test
+	public void testBinaryBlockUnorderedMultiPassDense() {
+		runStreamReaderUnorderedTest(false, 3);
+	}
+	
+	@Test
+	public void testBinaryBlockUnorderedMultiPassSparse() {
+		runStreamReaderUnorderedTest(true, 3);
+	}
+	
+	@Test
+	public void testBinaryBlockUnorderedSinglePendingDense() {
+		runStreamReaderUnorderedTest(false, 0);
+	}
+	
+	@Test
+	public void testCSVDense() {
+		runStreamReaderTest(InputInfo.CSVInputInfo, OutputInfo.CSVOutputInfo, false);
+	}
+	
+	@Test
+	public void testCSVSparse() {
+		runStreamReaderTest(InputInfo.CSVInputInfo, OutputInfo.CSVOutputInfo, true);
+	}
+	
+	@Test
+	public void testTextCellDense() {
+		runStreamReaderTest(InputInfo.TextCellInputInfo, OutputInfo.TextCellOutputInfo, false);
+	}
+	
+	@Test
+	public void testTextCellSparse() {
+		runStreamReaderTest(InputInfo.TextCellInputInfo, OutputInfo.TextCellOutputInfo, true);
+	}
+	
+	@Test
+	public void testMatrixMarketSparse() {
+		runStreamReaderTest(InputInfo.MatrixMarketInputInfo, OutputInfo.MatrixMarketOutputInfo, true);
+	}
+	
+	private void runStreamReaderTest(InputInfo iinfo, OutputInfo oinfo, boolean sparse) 
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			//generate and write input matrix
+			double sparsity = sparse ? sparsity2 : sparsity1;
+			MatrixBlock X = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -1, 1, sparsity, 7));
+			MatrixBlock v = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(cols, 1, -1, 1, 1.0, 3));
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blen, blen, X.getNonZeros());
+			DataConverter.writeMatrixToHDFS(X, input("X"), oinfo, mc);
+			ReadProperties props = createReadProperties(iinfo, sparsity);
+			
+			//check streamed row blocks
+			MatrixStreamReader in = MatrixReaderFactory.createMatrixStreamReader(props);
+			MatrixBlock X2 = new MatrixBlock(rows, cols, false);
+			int numBlocks = 0;
+			try {
+				while( in.hasNext() ) {
+					IndexedMatrixValue tmp = in.next();
+					MatrixIndexes ix = tmp.getIndexes();
+					MatrixBlock blk = (MatrixBlock) tmp.getValue();
+					int rl = (int)(ix.getRowIndex()-1)*blen;
+					Assert.assertEquals(1, ix.getColumnIndex());
+					Assert.assertEquals(Math.min(blen, rows-rl), blk.getNumRows());
+					Assert.assertEquals(cols, blk.getNumColumns());
+					X2.copy(rl, rl+blk.getNumRows()-1, 0, cols-1, blk, false);
+					numBlocks++;
+				}
+			}
+			finally {
+				in.close();
+			}
+			X2.recomputeNonZeros();
+			Assert.assertEquals(in.getNumRowBlocks(), numBlocks);
+			Assert.assertEquals(X.getNonZeros(), X2.getNonZeros());
+			compare(X, X2);
+			
+			//check out-of-core operations
+			for( String opcode : new String[]{"uak+", "uack+", "uark+", "uamin", "uacmax", "uarmin"} ) {
+				AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+				MatrixBlock ret1 = (MatrixBlock) X.aggregateUnaryOperations(op, new MatrixBlock(), rows, cols, new MatrixIndexes(1,1), true);
+				MatrixBlock ret2 = LibMatrixOutOfCore.aggregateUnary(openStream(props), op);
+				compare(ret1, ret2);
+			}
+			compare(X.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT, 4),
+				LibMatrixOutOfCore.tsmm(openStream(props), MMTSJType.LEFT, 4));
+			AggregateBinaryOperator op = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+				new AggregateOperator(0, Plus.getPlusFnObject()), 4);
+			compare((MatrixBlock)X.aggregateBinaryOperations(X, v, new MatrixBlock(), op),
+				LibMatrixOutOfCore.matrixMult(openStream(props), v, op));
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * Streams a binary block file whose blocks are written column-block-wise 
+	 * into multiple part files, i.e., where all row blocks are under assembly 
+	 * at the same time.
+	 * 
+	 * @param sparse sparse input
+	 * @param pendingBlocks max number of pending row blocks, -1 for default budget
+	 */
+	private void runStreamReaderUnorderedTest(boolean sparse, int pendingBlocks) 
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			//generate and write input matrix, column-block-major over two files
+			double sparsity = sparse ? sparsity2 : sparsity1;
+			MatrixBlock X = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -1, 1, sparsity, 7));
+			writeUnorderedBinaryBlock(X, input("X"));
+			ReadProperties props = createReadProperties(InputInfo.BinaryBlockInputInfo, sparsity);
+			
+			StreamReaderBinaryBlock.MAX_PENDING_SIZE = (pendingBlocks < 0) ? -1 :
+				pendingBlocks * MatrixBlock.estimateSizeInMemory(blen, cols, sparsity);
+			
+			//check streamed row blocks (each row block exactly once)
+			MatrixStreamReader in = MatrixReaderFactory.createMatrixStreamReader(props, 1);
+			MatrixBlock X2 = new MatrixBlock(rows, cols, false);
+			boolean[] seen = new boolean[(int)in.getNumRowBlocks()];
+			try {
+				while( in.hasNext() ) {
+					IndexedMatrixValue tmp = in.next();
+					int rix = (int)tmp.getIndexes().getRowIndex();
+					MatrixBlock blk = (MatrixBlock) tmp.getValue();
+					Assert.assertFalse(seen[rix-1]);
+					seen[rix-1] = true;
+					int rl = (rix-1)*blen;
+					X2.copy(rl, rl+blk.getNumRows()-1, 0, cols-1, blk, false);
+				}
+			}
+			finally {
+				in.close();
+			}
+			for( boolean s : seen )
+				Assert.assertTrue(s);
+			X2.recomputeNonZeros();
+			Assert.assertEquals(X.getNonZeros(), X2.getNonZeros());
+			compare(X, X2);
+			
+			//check out-of-core aggregate over the unordered input
+			AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator("uack+");
+			compare((MatrixBlock) X.aggregateUnaryOperations(op, new MatrixBlock(), rows, cols, new MatrixIndexes(1,1), true),
+				LibMatrixOutOfCore.aggregateUnary(openStream(props), op));
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			StreamReaderBinaryBlock.MAX_PENDING_SIZE = -1;
+		}
+	}
+	
+	@SuppressWarnings("deprecation")
+	private static void writeUnorderedBinaryBlock(MatrixBlock X, String fname) 
+		throws Exception
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		int ncblks = (int)Math.ceil((double)cols/blen);
+		int nrblks = (int)Math.ceil((double)rows/blen);
+		for( int f=0; f<2; f++ ) {
+			SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, 
+				new Path(path, "0-m-0000"+f), MatrixIndexes.class, MatrixBlock.class);
+			try {
+				//column-block-major order, alternating row blocks per file
+				for( int bj=0; bj<ncblks; bj++ )
+					for( int bi=nrblks-1-f; bi>=0; bi-=2 ) {
+						MatrixBlock blk = X.sliceOperations(bi*blen, Math.min((bi+1)*blen, rows)-1, 
+							bj*blen, Math.min((bj+1)*blen, cols)-1, new MatrixBlock());
+						writer.append(new MatrixIndexes(bi+1, bj+1), blk);
+					}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(writer);
+			}
+		}
+	}
+	
+	private ReadProperties createReadProperties(InputInfo iinfo, double sparsity) {
+		ReadProperties props = new ReadProperties();
+		props.path = input("X");
+		props.rlen = rows;
+		props.clen = cols;
+		props.brlen = blen;
+		props.bclen = blen;
+		props.expectedSparsity = sparsity;
+		props.inputInfo = iinfo;
+		return props;
+	}
+	
+	private static MatrixStreamReader openStream(ReadProperties props) 
+		throws Exception
+	{
+		//small read-ahead to exercise blocking appends
+		return MatrixReaderFactory.createMatrixStreamReader(props, 1);
+	}
+	
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		Assert.assertEquals(expected.getNumRows(), actual.getNumRows());
+		Assert.assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected), 
+			DataConverter.convertToDoubleMatrix(actual), expected.getNumRows(), expected.getNumColumns(), eps);
+	}
+}
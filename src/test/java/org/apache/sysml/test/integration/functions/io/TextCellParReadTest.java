@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.io;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.io.ReaderTextCell;
+import org.apache.sysml.runtime.io.ReaderTextCellParallel;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class TextCellParReadTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "TextCellParReadTest";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TextCellParReadTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 2345;
+	private final static int cols = 321;
+	private final static double sparsity = 0.08;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+	
+	@Test
+	public void testTextCellRowMajorCSR() {
+		runTextCellParReadTest(false, false, true);
+	}
+	
+	@Test
+	public void testTextCellShuffledCSR() {
+		runTextCellParReadTest(false, true, true);
+	}
+	
+	@Test
+	public void testTextCellShuffledBuffered() {
+		runTextCellParReadTest(false, true, false);
+	}
+	
+	@Test
+	public void testMatrixMarketRowMajorCSR() {
+		runTextCellParReadTest(true, false, true);
+	}
+	
+	@Test
+	public void testMatrixMarketShuffledCSR() {
+		runTextCellParReadTest(true, true, true);
+	}
+	
+	@Test
+	public void testMatrixMarketShuffledBuffered() {
+		runTextCellParReadTest(true, true, false);
+	}
+	
+	private void runTextCellParReadTest(boolean mm, boolean shuffled, boolean directCSR) 
+	{
+		boolean oldFlag = ReaderTextCellParallel.DIRECT_CSR_READ;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			ReaderTextCellParallel.DIRECT_CSR_READ = directCSR;
+			
+			//generate input matrix and write cells (incl explicit zeros)
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			ArrayList<String> cells = new ArrayList<String>();
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					if( X[i][j] != 0 || (i+j) % 97 == 0 )
+						cells.add((i+1)+" "+(j+1)+" "+X[i][j]);
+			if( shuffled )
+				Collections.shuffle(cells, new Random(3));
+			File file = new File(input("X"));
+			file.getParentFile().mkdirs();
+			try( BufferedWriter bw = new BufferedWriter(new FileWriter(file)) ) {
+				if( mm ) {
+					bw.write("%%MatrixMarket matrix coordinate real general\n");
+					bw.write("% comment\n");
+					bw.write(rows+" "+cols+" "+cells.size()+"\n");
+				}
+				for( String cell : cells )
+					bw.write(cell+"\n");
+			}
+			
+			//read sequential and parallel and compare results
+			InputInfo iinfo = mm ? InputInfo.MatrixMarketInputInfo : InputInfo.TextCellInputInfo;
+			long estnnz = (long)(sparsity * rows * cols);
+			MatrixBlock ret1 = new ReaderTextCell(iinfo)
+				.readMatrixFromHDFS(input("X"), rows, cols, -1, -1, estnnz);
+			MatrixBlock ret2 = new ReaderTextCellParallel(iinfo)
+				.readMatrixFromHDFS(input("X"), rows, cols, -1, -1, estnnz);
+			
+			Assert.assertTrue(ret2.isInSparseFormat());
+			Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+			Assert.assertEquals(ret2.getNonZeros(), ret2.recomputeNonZeros(0, rows-1, 0, cols-1));
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(ret1), rows, cols, eps);
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(ret2), rows, cols, eps);
+			
+			//check sorted rows for binary search of sparse cells
+			for( int i=0; i<rows; i+=7 )
+				for( int j=0; j<cols; j+=3 )
+					Assert.assertEquals(X[i][j], ret2.quickGetValue(i, j), eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			ReaderTextCellParallel.DIRECT_CSR_READ = oldFlag;
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysml.runtime.io.IOCompressionUtils;
+import org.apache.sysml.runtime.io.IOCompressionUtils.CodecType;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class BinaryBlockCompressionTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "BinaryBlockCompressionTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + BinaryBlockCompressionTest.class.getSimpleName() + "/";
+	
+	public static int rows1 = 2500;
+	public static int cols1 = 1200;
+	
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );  
+	}
+	
+	@Test
+	public void testHDFSDenseNone() {
+		runCompressionTest( CodecType.NONE, sparsity1, false );
+	}
+	
+	@Test
+	public void testHDFSDenseDeflate() {
+		runCompressionTest( CodecType.DEFLATE, sparsity1, false );
+	}
+	
+	@Test
+	public void testHDFSSparseDeflate() {
+		runCompressionTest( CodecType.DEFLATE, sparsity2, false );
+	}
+	
+	@Test
+	public void testHDFSSparseBzip2() {
+		runCompressionTest( CodecType.BZIP2, sparsity2, false );
+	}
+	
+	@Test
+	public void testLocalDenseNone() {
+		runCompressionTest( CodecType.NONE, sparsity1, true );
+	}
+	
+	@Test
+	public void testLocalDenseDeflate() {
+		runCompressionTest( CodecType.DEFLATE, sparsity1, true );
+	}
+	
+	@Test
+	public void testLocalSparseDeflate() {
+		runCompressionTest( CodecType.DEFLATE, sparsity2, true );
+	}
+	
+	@Test
+	public void testLocalSparseBzip2() {
+		runCompressionTest( CodecType.BZIP2, sparsity2, true );
+	}
+
+	private void runCompressionTest( CodecType codec, double sparsity, boolean local ) 
+	{
+		DMLConfig oldconf = ConfigurationManager.getDMLConfig();
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			//set the compression codec for writes
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.IO_COMPRESSION_CODEC, codec.name().toLowerCase());
+			ConfigurationManager.setLocalConfig(conf);
+			Assert.assertEquals(codec.getCodecClass(), IOCompressionUtils.getCompressionCodecClass());
+			
+			//generate actual dataset
+			double[][] X = getRandomMatrix(rows1, cols1, -1.0, 1.0, sparsity, 7); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			mb.examSparsity();
+			
+			if( local ) {
+				//write and read local files (stream and byte buffer)
+				String fname = input("X");
+				new File(fname).getParentFile().mkdirs();
+				LocalFileUtils.writeMatrixBlockToLocal(fname, mb);
+				compareMatrices(mb, LocalFileUtils.readMatrixBlockFromLocal(fname));
+				LocalFileUtils.writeByteBufferToLocal(fname, serialize(mb));
+				compareMatrices(mb, LocalFileUtils.readMatrixBlockFromLocal(fname));
+			}
+			else {
+				//write and read binary block sequence files
+				MatrixCharacteristics mc = new MatrixCharacteristics(rows1, cols1, 1000, 1000);
+				DataConverter.writeMatrixToHDFS(mb, input("X"), OutputInfo.BinaryBlockOutputInfo, mc);
+				
+				//read with original config (codec detection)
+				ConfigurationManager.setLocalConfig(oldconf);
+				compareMatrices(mb, DataConverter.readMatrixFromHDFS(input("X"), 
+					InputInfo.BinaryBlockInputInfo, rows1, cols1, 1000, 1000));
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			ConfigurationManager.setLocalConfig(oldconf);
+		}
+	}
+	
+	private static java.nio.ByteBuffer serialize(MatrixBlock mb) throws IOException {
+		byte[] buff = new byte[(int)mb.getExactSizeOnDisk()];
+		mb.write(new CacheDataOutput(buff));
+		return java.nio.ByteBuffer.wrap(buff);
+	}
+	
+	private static void compareMatrices(MatrixBlock mb1, MatrixBlock mb2) {
+		Assert.assertEquals(mb1.getNonZeros(), mb2.getNonZeros());
+		for( int i=0; i<mb1.getNumRows(); i++ )
+			for( int j=0; j<mb1.getNumColumns(); j++ )
+				Assert.assertEquals(mb1.quickGetValue(i, j), mb2.quickGetValue(i, j), 0);
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class BinaryBlockLocalTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "BinaryBlockLocalTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + BinaryBlockLocalTest.class.getSimpleName() + "/";
+	
+	public static int rows1 = 746;
+	public static int cols1 = 586;
+	public static int cols2 = 4;
+
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );  
+	}
+	
+	@Test
+	public void testEmptyBlock() {
+		runBinaryBlockLocalTest( rows1, cols1, 0.0 );
+	}
+	
+	@Test
+	public void testDenseBlock() {
+		runBinaryBlockLocalTest( rows1, cols1, 1.0 );
+	}
+	
+	@Test
+	public void testDenseBlockUnknownNnz() {
+		runBinaryBlockLocalTest( rows1, cols1, 0.7, -1 );
+	}
+	
+	@Test
+	public void testDenseBlockStaleNnz() {
+		runBinaryBlockLocalTest( rows1, cols1, 0.7, 7 );
+	}
+	
+	@Test
+	public void testDenseSparseBlock() {
+		runBinaryBlockLocalTest( rows1, cols2, 0.3 );
+	}
+	
+	@Test
+	public void testSparseBlock() {
+		runBinaryBlockLocalTest( rows1, cols1, 0.1 );
+	}
+	
+	@Test
+	public void testSparseUltraSparseBlock() {
+		runBinaryBlockLocalTest( rows1, cols1, 0.0001 );
+	}
+
+	private void runBinaryBlockLocalTest( int rows, int cols, double sparsity ) {
+		runBinaryBlockLocalTest(rows, cols, sparsity, 0);
+	}
+	
+	private void runBinaryBlockLocalTest( int rows, int cols, double sparsity, long nnzMeta ) 
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			//generate actual dataset, write and read local binary block
+			double[][] X = getRandomMatrix(rows, cols, -1.0, 1.0, sparsity, 7); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			long nnz = mb.getNonZeros();
+			if( nnzMeta != 0 ) //unknown or stale nnz meta data
+				mb.setNonZeros(nnzMeta);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000);
+			DataConverter.writeMatrixToHDFS(mb, input("X"), OutputInfo.BinaryBlockLocalOutputInfo, mc);
+			MatrixBlock mb2 = DataConverter.readMatrixFromHDFS(input("X"), 
+				InputInfo.BinaryBlockLocalInputInfo, rows, cols, 1000, 1000);
+			
+			//compare matrices (exact, no conversions)
+			Assert.assertEquals(nnz, mb2.getNonZeros());
+			for( int i=0; i<mb.getNumRows(); i++ )
+				for( int j=0; j<mb.getNumColumns(); j++ )
+					Assert.assertEquals(mb.quickGetValue(i, j), mb2.quickGetValue(i, j), 0);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
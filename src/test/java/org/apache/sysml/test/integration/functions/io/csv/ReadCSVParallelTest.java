@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.csv;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Reader-level tests comparing the single-pass (parse into row-block buffers 
+ * and stitch) and the two-pass (count and read) parallel CSV matrix reads. 
+ * The input consists of sparse and dense row ranges, which causes switches 
+ * between sparse and dense row-block buffers within and across splits.
+ */
+public class ReadCSVParallelTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "ReadCSVParallelTest";
+	private final static String TEST_DIR = "functions/io/csv/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadCSVParallelTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 10123;
+	private final static int cols = 20;
+	private final static int denseStart = 3000;
+	private final static int denseEnd1 = 9000;  //dense output
+	private final static int denseEnd2 = 3500;  //sparse output
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.02;
+	private final static String delim = ",";
+	private final static double fillValue = 7;
+	private final static int k = 4;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+	
+	@Test
+	public void testReadParallelDense() {
+		runReadCSVParallelTest(false, false, false);
+	}
+	
+	@Test
+	public void testReadParallelDenseHeader() {
+		runReadCSVParallelTest(false, true, false);
+	}
+	
+	@Test
+	public void testReadParallelDenseFill() {
+		runReadCSVParallelTest(false, false, true);
+	}
+	
+	@Test
+	public void testReadParallelDenseHeaderFill() {
+		runReadCSVParallelTest(false, true, true);
+	}
+	
+	@Test
+	public void testReadParallelSparse() {
+		runReadCSVParallelTest(true, false, false);
+	}
+	
+	@Test
+	public void testReadParallelSparseHeader() {
+		runReadCSVParallelTest(true, true, false);
+	}
+	
+	@Test
+	public void testReadParallelSparseFill() {
+		runReadCSVParallelTest(true, false, true);
+	}
+	
+	@Test
+	public void testReadParallelSparseHeaderFill() {
+		runReadCSVParallelTest(true, true, true);
+	}
+	
+	private void runReadCSVParallelTest(boolean sparse, boolean header, boolean fill) 
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			//generate input with sparse and dense row ranges
+			int denseEnd = sparse ? denseEnd2 : denseEnd1;
+			double[][] D = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7);
+			double[][] S = getRandomMatrix(rows, cols, -1, 1, sparsity2, 3);
+			double[][] X = new double[rows][];
+			for( int i=0; i<rows; i++ )
+				X[i] = (i >= denseStart && i < denseEnd) ? D[i] : S[i];
+			
+			//write csv file (w/ empty cells instead of zeros if fill)
+			String fname = input("X");
+			writeCSVFile(fname, X, header, fill);
+			
+			//read via single-pass and two-pass parallel readers
+			CSVFileFormatProperties props = new CSVFileFormatProperties(
+				header, delim, fill, fill ? fillValue : 0, null);
+			MatrixBlock ret1 = new ReaderTextCSVParallel(props, k, true)
+				.readMatrixFromHDFS(fname, rows, cols, -1, -1, -1);
+			MatrixBlock ret2 = new ReaderTextCSVParallel(props, k, false)
+				.readMatrixFromHDFS(fname, rows, cols, -1, -1, -1);
+			
+			//compare both reads with each other and the expected matrix
+			if( fill )
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ )
+						X[i][j] = (X[i][j] == 0) ? fillValue : X[i][j];
+			Assert.assertEquals(ret2.getNonZeros(), ret1.getNonZeros());
+			Assert.assertEquals(ret2.isInSparseFormat(), ret1.isInSparseFormat());
+			Assert.assertEquals(sparse && !fill, ret1.isInSparseFormat());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret2), 
+				DataConverter.convertToDoubleMatrix(ret1), rows, cols, eps);
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(ret1), rows, cols, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static void writeCSVFile(String fname, double[][] X, boolean header, boolean fill) 
+		throws IOException
+	{
+		File file = new File(fname);
+		file.getParentFile().mkdirs();
+		BufferedWriter writer = new BufferedWriter(new FileWriter(file));
+		try {
+			if( header ) {
+				for( int j=0; j<cols; j++ )
+					writer.write(((j>0) ? delim : "") + "C" + (j+1));
+				writer.newLine();
+			}
+			for( int i=0; i<rows; i++ ) {
+				for( int j=0; j<cols; j++ ) {
+					if( j > 0 )
+						writer.write(delim);
+					if( !fill || X[i][j] != 0 )
+						writer.write(String.valueOf(X[i][j]));
+				}
+				writer.newLine();
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(writer);
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.io.libsvm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class LIBSVMReadWriteTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "LIBSVMReadWriteTest";
+	private final static String TEST_DIR = "functions/io/libsvm/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LIBSVMReadWriteTest.class.getSimpleName() + "/";
+	
+	public static int rows1 = 1234;
+	public static int cols1 = 567;
+	public static int cols2 = 5;
+
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );  
+	}
+	
+	@Test
+	public void testSeqReadWriteDense() {
+		runLIBSVMReadWriteTest( false, rows1, cols2, 0.9 );
+	}
+	
+	@Test
+	public void testSeqReadWriteSparse() {
+		runLIBSVMReadWriteTest( false, rows1, cols1, 0.05 );
+	}
+	
+	@Test
+	public void testSeqReadWriteEmpty() {
+		runLIBSVMReadWriteTest( false, rows1, cols1, 0.0 );
+	}
+	
+	@Test
+	public void testParReadWriteDense() {
+		runLIBSVMReadWriteTest( true, rows1, cols2, 0.9 );
+	}
+	
+	@Test
+	public void testParReadWriteSparse() {
+		runLIBSVMReadWriteTest( true, rows1, cols1, 0.05 );
+	}
+	
+	@Test
+	public void testParReadWriteEmpty() {
+		runLIBSVMReadWriteTest( true, rows1, cols1, 0.0 );
+	}
+
+	private void runLIBSVMReadWriteTest( boolean parallel, int rows, int cols, double sparsity ) 
+	{
+		CompilerConfig oldconf = ConfigurationManager.getCompilerConfig();
+		
+		try
+		{
+			CompilerConfig conf = oldconf.clone();
+			conf.set(ConfigType.PARALLEL_CP_READ_TEXTFORMATS, parallel);
+			conf.set(ConfigType.PARALLEL_CP_WRITE_TEXTFORMATS, parallel);
+			ConfigurationManager.setLocalConfig(conf);
+			
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			//generate actual dataset, write and read libsvm
+			double[][] X = getRandomMatrix(rows, cols, -1.0, 1.0, sparsity, 7); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000);
+			DataConverter.writeMatrixToHDFS(mb, input("X"), OutputInfo.LIBSVMOutputInfo, mc);
+			MatrixBlock mb2 = DataConverter.readMatrixFromHDFS(input("X"), 
+				InputInfo.LIBSVMInputInfo, rows, cols, 1000, 1000);
+			
+			//compare matrices (exact, shortest-repr double strings)
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			for( int i=0; i<mb.getNumRows(); i++ )
+				for( int j=0; j<mb.getNumColumns(); j++ )
+					Assert.assertEquals(mb.quickGetValue(i, j), mb2.quickGetValue(i, j), 0);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			ConfigurationManager.setLocalConfig(oldconf);
+		}
+	}
+}
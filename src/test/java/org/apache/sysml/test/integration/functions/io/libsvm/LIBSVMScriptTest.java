@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.io.libsvm;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Reads a libsvm file w/o mtd file and dimensions via read(format="libsvm"),
+ * writes it back as libsvm and compares the result and its column sums 
+ * against the generated input, in CP as well as spark execution mode.
+ */
+public class LIBSVMScriptTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "LIBSVMScriptTest";
+	private final static String TEST_DIR = "functions/io/libsvm/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LIBSVMScriptTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1234;
+	private final static int cols1 = 567;
+	private final static int cols2 = 5;
+	
+	private final static double eps = 1e-8;
+
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "Y", "S" }) );  
+	}
+	
+	@Test
+	public void testReadWriteDenseCP() {
+		runLIBSVMScriptTest( RUNTIME_PLATFORM.HYBRID, cols2, 0.9 );
+	}
+	
+	@Test
+	public void testReadWriteSparseCP() {
+		runLIBSVMScriptTest( RUNTIME_PLATFORM.HYBRID, cols1, 0.05 );
+	}
+	
+	@Test
+	public void testReadWriteDenseSP() {
+		runLIBSVMScriptTest( RUNTIME_PLATFORM.SPARK, cols2, 0.9 );
+	}
+	
+	@Test
+	public void testReadWriteSparseSP() {
+		runLIBSVMScriptTest( RUNTIME_PLATFORM.SPARK, cols1, 0.05 );
+	}
+	
+	@Test
+	public void testReadWriteSparseHybridSP() {
+		runLIBSVMScriptTest( RUNTIME_PLATFORM.HYBRID_SPARK, cols1, 0.05 );
+	}
+
+	private void runLIBSVMScriptTest( RUNTIME_PLATFORM platform, int cols, double sparsity ) 
+	{
+		RUNTIME_PLATFORM oldPlatform = rtplatform;
+		rtplatform = platform;
+		
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		if( rtplatform == RUNTIME_PLATFORM.SPARK || rtplatform == RUNTIME_PLATFORM.HYBRID_SPARK )
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-explain", "-args", 
+				input("X"), output("Y"), output("S") };
+			
+			//generate actual dataset and write libsvm w/o mtd file, where 
+			//the last feature is set in the first row to ensure that the 
+			//inferred number of columns matches the generated input
+			double[][] X = getRandomMatrix(rows, cols, -1.0, 1.0, sparsity, 7); 
+			X[0][cols-2] = 1;
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000);
+			DataConverter.writeMatrixToHDFS(mb, input("X"), OutputInfo.LIBSVMOutputInfo, mc);
+			
+			runTest(true, false, null, -1);
+			
+			//compare written libsvm matrix (exact, shortest-repr double strings)
+			MatrixBlock mb2 = DataConverter.readMatrixFromHDFS(output("Y"), 
+				InputInfo.LIBSVMInputInfo, rows, cols, 1000, 1000);
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					Assert.assertEquals(mb.quickGetValue(i, j), mb2.quickGetValue(i, j), 0);
+			
+			//compare column sums of the read matrix
+			HashMap<CellIndex, Double> dmlS = readDMLMatrixFromHDFS("S");
+			for( int j=0; j<cols; j++ ) {
+				double sum = 0;
+				for( int i=0; i<rows; i++ )
+					sum += X[i][j];
+				Double val = dmlS.get(new CellIndex(1, j+1));
+				Assert.assertEquals(sum, (val!=null) ? val : 0, eps);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = oldPlatform;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+		}
+	}
+}
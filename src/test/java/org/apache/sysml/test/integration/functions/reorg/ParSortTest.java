@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.reorg;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.functionobjects.SortIndex;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for the multi-threaded sort (see
+ * LibMatrixReorg.sort) and the sort of quantile inputs (see MatrixBlock.
+ * sortOperations). The number of rows exceeds the threshold of 1M rows for
+ * the parallel merge sort, and the data contains many ties, -0.0/0.0, and 
+ * NaNs. We compare the results of single- and multi-threaded execution 
+ * against a reference with the order of Arrays.sort and stable indexes.
+ * 
+ */
+public class ParSortTest extends AutomatedTestBase 
+{
+	private final static int rows = 1234567;
+	private final static int cols = 3;
+	private final static int threads = 7;
+	private final static double sparsity = 0.9;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testSortValuesAsc() {
+		runParSortTest(1, false, false);
+	}
+	
+	@Test
+	public void testSortValuesDesc() {
+		runParSortTest(1, true, false);
+	}
+	
+	@Test
+	public void testSortIndexesAsc() {
+		runParSortTest(cols, false, true);
+	}
+	
+	@Test
+	public void testSortIndexesDesc() {
+		runParSortTest(cols, true, true);
+	}
+	
+	@Test
+	public void testSortRowsAsc() {
+		runParSortTest(cols, false, false);
+	}
+	
+	@Test
+	public void testSortRowsDesc() {
+		runParSortTest(cols, true, false);
+	}
+	
+	@Test
+	public void testSortOperationsSorted() {
+		runParSortOperationsTest(false);
+	}
+	
+	@Test
+	public void testSortOperationsSortedWeights() {
+		runParSortOperationsTest(true);
+	}
+	
+	private void runParSortTest(int ncol, boolean desc, boolean ixret)
+	{
+		try
+		{
+			//data generation (sort by last column)
+			final double[][] X = getSortInput(ncol, 7);
+			final int by = ncol;
+			MatrixBlock mbX = DataConverter.convertToMatrixBlock(X);
+			
+			//reference: order of Arrays.sort, stable indexes
+			Integer[] ix = new Integer[rows];
+			for( int i=0; i<rows; i++ )
+				ix[i] = i;
+			Arrays.sort(ix, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer a, Integer b) {
+					int cmp = Double.compare(X[a][by-1], X[b][by-1]);
+					return (cmp != 0) ? (desc ? -cmp : cmp) : Integer.compare(a, b);
+				}
+			});
+			double[][] C = ixret ? new double[rows][1] : new double[rows][];
+			for( int i=0; i<rows; i++ ) {
+				if( ixret )
+					C[i][0] = ix[i] + 1;
+				else
+					C[i] = X[ix[i]];
+			}
+			
+			//single- and multi-threaded execution
+			SortIndex fn = SortIndex.getSortIndexFnObject(by, desc, ixret);
+			MatrixBlock ret1 = (MatrixBlock)mbX.reorgOperations(
+				new ReorgOperator(fn, 1), new MatrixBlock(), 0, 0, 0);
+			MatrixBlock ret2 = (MatrixBlock)mbX.reorgOperations(
+				new ReorgOperator(fn, threads), new MatrixBlock(), 0, 0, 0);
+			
+			//compare results (incl -0.0 and NaN)
+			compareSortedMatrices(C, DataConverter.convertToDoubleMatrix(ret1));
+			compareSortedMatrices(C, DataConverter.convertToDoubleMatrix(ret2));
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runParSortOperationsTest(boolean weights)
+	{
+		try
+		{
+			//data generation (sorted input w/o NaNs, shuffled copy)
+			double[] x = getRandomMatrix(1, rows, -10, 10, sparsity, 7)[0];
+			Arrays.sort(x);
+			double[] x2 = Arrays.copyOf(x, rows);
+			Random rand = new Random(11);
+			for( int i=rows-1; i>0; i-- ) {
+				int j = rand.nextInt(i+1);
+				double tmp = x2[i]; x2[i] = x2[j]; x2[j] = tmp;
+			}
+			//weights as function of values (equal weights for ties)
+			double[] w = new double[rows];
+			double[] w2 = new double[rows];
+			for( int i=0; i<rows; i++ ) {
+				w[i] = Math.ceil(Math.abs(x[i]));
+				w2[i] = Math.ceil(Math.abs(x2[i]));
+			}
+			MatrixBlock mbX = DataConverter.convertToMatrixBlock(x, true);
+			MatrixBlock mbX2 = DataConverter.convertToMatrixBlock(x2, true);
+			MatrixBlock mbW = weights ? DataConverter.convertToMatrixBlock(w, true) : null;
+			MatrixBlock mbW2 = weights ? DataConverter.convertToMatrixBlock(w2, true) : null;
+			
+			//single- and multi-threaded execution on sorted input (shortcut)
+			MatrixBlock ret1 = (MatrixBlock)mbX.sortOperations(mbW, new MatrixBlock(), 1);
+			MatrixBlock ret2 = (MatrixBlock)mbX.sortOperations(mbW, new MatrixBlock(), threads);
+			
+			//single- and multi-threaded execution on shuffled input (sort)
+			MatrixBlock ret3 = (MatrixBlock)mbX2.sortOperations(mbW2, new MatrixBlock(), 1);
+			MatrixBlock ret4 = (MatrixBlock)mbX2.sortOperations(mbW2, new MatrixBlock(), threads);
+			
+			//compare results 
+			double[][] C = DataConverter.convertToDoubleMatrix(ret3);
+			compareSortedMatrices(C, DataConverter.convertToDoubleMatrix(ret1));
+			compareSortedMatrices(C, DataConverter.convertToDoubleMatrix(ret2));
+			compareSortedMatrices(C, DataConverter.convertToDoubleMatrix(ret4));
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private double[][] getSortInput(int ncol, long seed) {
+		//rounded values for many ties, incl -0.0 for values in (-0.5,0)
+		double[][] X = getRandomMatrix(rows, ncol, -5, 5, sparsity, seed);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<ncol; j++ )
+				X[i][j] = Math.rint(X[i][j]);
+		//NaNs in sort column
+		for( int i=0; i<rows; i+=997 )
+			X[i][ncol-1] = Double.NaN;
+		return X;
+	}
+	
+	private static void compareSortedMatrices(double[][] expected, double[][] actual) {
+		Assert.assertEquals(expected.length, actual.length);
+		for( int i=0; i<expected.length; i++ ) {
+			Assert.assertEquals(expected[i].length, actual[i].length);
+			for( int j=0; j<expected[i].length; j++ )
+				if( Double.compare(expected[i][j], actual[i][j]) != 0 )
+					Assert.fail("Wrong value at ("+i+","+j+"): "+actual[i][j]+", expected: "+expected[i][j]);
+		}
+	}
+}
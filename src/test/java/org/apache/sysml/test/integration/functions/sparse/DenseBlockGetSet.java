@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.sparse;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.DenseBlockDRB;
+import org.apache.sysml.runtime.matrix.data.DenseBlockLDRB;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a dense matrix block component test for dense block get and set
+ * functionality. In order to cover the multi-block layout of large dense
+ * blocks without allocating more than 2^31 cells, we use small block
+ * sizes for LDRB and compare against the single-block DRB.
+ * 
+ */
+public class DenseBlockGetSet extends AutomatedTestBase 
+{
+	private final static int rows = 762;
+	private final static int cols = 649;
+	private final static int rl = 31;
+	private final static int ru = 345;
+	private final static int cl = 345;
+	private final static int cu = 525;
+	private final static double sparsity1 = 0.12;
+	private final static double sparsity2 = 0.52;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testDenseBlockDRB1()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.DRB, -1, sparsity1);
+	}
+	
+	@Test
+	public void testDenseBlockDRB2()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.DRB, -1, sparsity2);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBSingleRow1()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.LDRB, 1, sparsity1);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBSingleRow2()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.LDRB, 1, sparsity2);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBUnaligned1()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.LDRB, 100, sparsity1);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBUnaligned2()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.LDRB, 100, sparsity2);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBDefault1()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.LDRB, -1, sparsity1);
+	}
+	
+	private void runDenseBlockGetSetTest( DenseBlock.Type btype, int blen, double sparsity)
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7654321); 
+			
+			//init dense block via cell-wise set
+			DenseBlock dblock = (btype == DenseBlock.Type.DRB) ?
+				new DenseBlockDRB(rows, cols) : new DenseBlockLDRB(rows, cols, blen);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					if( A[i][j] != 0 )
+						dblock.set(i, j, A[i][j]);
+			
+			//check basic meta data
+			if( dblock.numRows() != rows || dblock.numCols() != cols )
+				Assert.fail("Wrong dimensions: "+dblock.numRows()+"x"+dblock.numCols());
+			if( blen > 0 && dblock.numBlocks() != (int)Math.ceil((double)rows/blen) )
+				Assert.fail("Wrong number of blocks: "+dblock.numBlocks());
+			
+			//check get values and block/pos addressing
+			int nnz = 0, nnz2 = 0;
+			for( int i=0; i<rows; i++ ) {
+				double[] vals = dblock.values(i);
+				int ix = dblock.pos(i);
+				int rnnz = 0;
+				for( int j=0; j<cols; j++ ) {
+					if( dblock.get(i, j) != A[i][j] || vals[ix+j] != A[i][j] )
+						Assert.fail("Wrong get value for cell ("+i+","+j+"): "
+							+dblock.get(i, j)+", expected: "+A[i][j]);
+					rnnz += (A[i][j]!=0) ? 1 : 0;
+					nnz2 += (i>=rl && j>=cl && i<ru && j<cu && A[i][j]!=0) ? 1 : 0;
+				}
+				if( dblock.countNonZeros(i) != rnnz )
+					Assert.fail("Wrong number of row non-zeros ("+i+"): "
+						+dblock.countNonZeros(i)+", expected: "+rnnz);
+				nnz += rnnz;
+			}
+			
+			//check full and range nnz
+			if( dblock.countNonZeros() != nnz )
+				Assert.fail("Wrong number of non-zeros: "+dblock.countNonZeros()+", expected: "+nnz);
+			if( dblock.countNonZeros(rl, ru, cl, cu) != nnz2 )
+				Assert.fail("Wrong number of range non-zeros: "
+					+dblock.countNonZeros(rl, ru, cl, cu)+", expected: "+nnz2);
+			
+			//check copy into other layout
+			DenseBlock dblock2 = (btype == DenseBlock.Type.DRB) ?
+				new DenseBlockLDRB(rows, cols, 7) : new DenseBlockDRB(rows, cols);
+			dblock2.set(dblock);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					if( dblock2.get(i, j) != A[i][j] )
+						Assert.fail("Wrong copied value for cell ("+i+","+j+"): "
+							+dblock2.get(i, j)+", expected: "+A[i][j]);
+			
+			//check range fill and reset
+			dblock.set(rl, ru, cl, cu, 0);
+			if( dblock.countNonZeros() != nnz-nnz2 )
+				Assert.fail("Wrong number of non-zeros after range set: "
+					+dblock.countNonZeros()+", expected: "+(nnz-nnz2));
+			dblock.reset();
+			if( dblock.countNonZeros() != 0 )
+				Assert.fail("Wrong number of non-zeros after reset: "+dblock.countNonZeros());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.sparse;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.DenseBlockFactory;
+import org.apache.sysml.runtime.matrix.data.DenseBlockLDRB;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a dense matrix block component test for operations over large
+ * dense blocks. In order to cover the multi-block layout w/o allocating 
+ * more than 2^31 cells, we reduce the maximum size of single-block dense
+ * blocks and the number of rows per block, and compare the results (incl 
+ * nnz) against single-block inputs and outputs. The number of rows is not 
+ * a multiple of the block sizes and large enough for multi-threading.
+ * 
+ */
+public class DenseBlockOperations extends AutomatedTestBase 
+{
+	private final static int rows = 1734;
+	private final static int cols = 649;
+	private final static int cols2 = 173;
+	private final static int rows2 = 50;
+	private final static int maxSize = 100000;
+	private final static int blen1 = 7;
+	private final static int blen2 = 100;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.1;
+	private final static double eps = 1e-8;
+	
+	private enum OpType {
+		SCALAR_MULT,  //X * 7 (sparse-safe)
+		SCALAR_PLUS,  //X + 7 (sparse-unsafe)
+		BINARY_PLUS,  //X + Y
+		BINARY_MULT,  //X * Y
+		UNARY_EXP,    //exp(X) (sparse-unsafe)
+		UNARY_ROUND,  //round(X) (sparse-safe)
+		AGG_SUM,      //sum(X)
+		AGG_ROWSUMS,  //rowSums(X)
+		AGG_COLSUMS,  //colSums(X)
+		AGG_SUMSQ,    //sum(X^2)
+		AGG_MIN,      //min(X)
+		AGG_ROWMAXS,  //rowMaxs(X)
+		AGG_COLMINS,  //colMins(X)
+		AGG_MEAN,     //mean(X)
+		AGG_ROWMEANS, //rowMeans(X)
+		AGG_COLMEANS, //colMeans(X)
+		MM_LEFT,      //X %*% W, large lhs
+		MM_RIGHT,     //V %*% X, large rhs
+		MM_BOTH,      //X %*% Y2, large lhs, rhs, and output
+		TRANSPOSE,    //t(X)
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testScalarMultDense() {
+		runDenseBlockOperationsTest(OpType.SCALAR_MULT, sparsity1);
+	}
+	
+	@Test
+	public void testScalarMultSparse() {
+		runDenseBlockOperationsTest(OpType.SCALAR_MULT, sparsity2);
+	}
+	
+	@Test
+	public void testScalarPlusDense() {
+		runDenseBlockOperationsTest(OpType.SCALAR_PLUS, sparsity1);
+	}
+	
+	@Test
+	public void testScalarPlusSparse() {
+		runDenseBlockOperationsTest(OpType.SCALAR_PLUS, sparsity2);
+	}
+	
+	@Test
+	public void testBinaryPlusDense() {
+		runDenseBlockOperationsTest(OpType.BINARY_PLUS, sparsity1);
+	}
+	
+	@Test
+	public void testBinaryPlusSparse() {
+		runDenseBlockOperationsTest(OpType.BINARY_PLUS, sparsity2);
+	}
+	
+	@Test
+	public void testBinaryMultDense() {
+		runDenseBlockOperationsTest(OpType.BINARY_MULT, sparsity1);
+	}
+	
+	@Test
+	public void testBinaryMultSparse() {
+		runDenseBlockOperationsTest(OpType.BINARY_MULT, sparsity2);
+	}
+	
+	@Test
+	public void testUnaryExpDense() {
+		runDenseBlockOperationsTest(OpType.UNARY_EXP, sparsity1);
+	}
+	
+	@Test
+	public void testUnaryExpSparse() {
+		runDenseBlockOperationsTest(OpType.UNARY_EXP, sparsity2);
+	}
+	
+	@Test
+	public void testUnaryRoundDense() {
+		runDenseBlockOperationsTest(OpType.UNARY_ROUND, sparsity1);
+	}
+	
+	@Test
+	public void testSumDense() {
+		runDenseBlockOperationsTest(OpType.AGG_SUM, sparsity1);
+	}
+	
+	@Test
+	public void testRowSumsDense() {
+		runDenseBlockOperationsTest(OpType.AGG_ROWSUMS, sparsity1);
+	}
+	
+	@Test
+	public void testColSumsDense() {
+		runDenseBlockOperationsTest(OpType.AGG_COLSUMS, sparsity1);
+	}
+	
+	@Test
+	public void testSumSqDense() {
+		runDenseBlockOperationsTest(OpType.AGG_SUMSQ, sparsity1);
+	}
+	
+	@Test
+	public void testMinDense() {
+		runDenseBlockOperationsTest(OpType.AGG_MIN, sparsity1);
+	}
+	
+	@Test
+	public void testRowMaxsDense() {
+		runDenseBlockOperationsTest(OpType.AGG_ROWMAXS, sparsity1);
+	}
+	
+	@Test
+	public void testColMinsDense() {
+		runDenseBlockOperationsTest(OpType.AGG_COLMINS, sparsity1);
+	}
+	
+	@Test
+	public void testMeanDense() {
+		runDenseBlockOperationsTest(OpType.AGG_MEAN, sparsity1);
+	}
+	
+	@Test
+	public void testRowMeansDense() {
+		runDenseBlockOperationsTest(OpType.AGG_ROWMEANS, sparsity1);
+	}
+	
+	@Test
+	public void testColMeansDense() {
+		runDenseBlockOperationsTest(OpType.AGG_COLMEANS, sparsity1);
+	}
+	
+	@Test
+	public void testMatrixMultLeftDense() {
+		runDenseBlockOperationsTest(OpType.MM_LEFT, sparsity1);
+	}
+	
+	@Test
+	public void testMatrixMultRightDense() {
+		runDenseBlockOperationsTest(OpType.MM_RIGHT, sparsity1);
+	}
+	
+	@Test
+	public void testMatrixMultBothDense() {
+		runDenseBlockOperationsTest(OpType.MM_BOTH, sparsity1);
+	}
+	
+	@Test
+	public void testMatrixMultBothSparse() {
+		runDenseBlockOperationsTest(OpType.MM_BOTH, sparsity2);
+	}
+	
+	@Test
+	public void testTransposeDense() {
+		runDenseBlockOperationsTest(OpType.TRANSPOSE, sparsity1);
+	}
+	
+	private void runDenseBlockOperationsTest(OpType type, double sparsity) {
+		runDenseBlockOperationsTest(type, sparsity, blen1);
+		runDenseBlockOperationsTest(type, sparsity, blen2);
+	}
+	
+	private void runDenseBlockOperationsTest(OpType type, double sparsity, int blen)
+	{
+		try
+		{
+			//data generation (lhs w/ given sparsity, other inputs dense)
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7); 
+			double[][] Y = getRandomMatrix(rows, cols, -1, 1, sparsity1, 3); 
+			double[][] W = getRandomMatrix(cols, rows2, -1, 1, sparsity1, 9); 
+			double[][] V = getRandomMatrix(rows2, rows, -1, 1, sparsity1, 11); 
+			double[][] Y2 = getRandomMatrix(cols, cols2, -1, 1, sparsity1, 13); 
+			
+			//single-block reference result
+			MatrixBlock ret1 = executeOperation(type, X, Y, W, V, Y2);
+			
+			//multi-block result
+			MatrixBlock ret2 = null;
+			try {
+				DenseBlockFactory.MAX_DRB_SIZE = maxSize;
+				DenseBlockFactory.LDRB_BLOCKSIZE = blen;
+				ret2 = executeOperation(type, X, Y, W, V, Y2);
+			}
+			finally {
+				DenseBlockFactory.MAX_DRB_SIZE = DenseBlockLDRB.MAX_ALLOC;
+				DenseBlockFactory.LDRB_BLOCKSIZE = -1;
+			}
+			
+			//compare results and nnz
+			if( ret1.getNumRows() != ret2.getNumRows() || ret1.getNumColumns() != ret2.getNumColumns() )
+				Assert.fail("Wrong dimensions: "+ret2.getNumRows()+"x"+ret2.getNumColumns()
+					+", expected: "+ret1.getNumRows()+"x"+ret1.getNumColumns());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1), 
+				DataConverter.convertToDoubleMatrix(ret2), ret1.getNumRows(), ret1.getNumColumns(), eps);
+			if( ret1.getNonZeros() != ret2.getNonZeros() )
+				Assert.fail("Wrong number of non-zeros ("+type.name()+", blen="+blen+"): "
+					+ret2.getNonZeros()+", expected: "+ret1.getNonZeros());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static MatrixBlock executeOperation(OpType type, double[][] X, double[][] Y, 
+		double[][] W, double[][] V, double[][] Y2) throws Exception
+	{
+		int k = InfrastructureAnalyzer.getLocalParallelism();
+		MatrixBlock mbX = createMatrixBlock(X);
+		
+		switch( type ) {
+			case SCALAR_MULT: return scalar(mbX, Multiply.getMultiplyFnObject(), k);
+			case SCALAR_PLUS: return scalar(mbX, Plus.getPlusFnObject(), k);
+			case BINARY_PLUS:
+				return (MatrixBlock)mbX.binaryOperations(new BinaryOperator(
+					Plus.getPlusFnObject(), k), createMatrixBlock(Y), new MatrixBlock());
+			case BINARY_MULT:
+				return (MatrixBlock)mbX.binaryOperations(new BinaryOperator(
+					Multiply.getMultiplyFnObject(), k), createMatrixBlock(Y), new MatrixBlock());
+			case UNARY_EXP:
+				return (MatrixBlock)mbX.unaryOperations(new UnaryOperator(
+					Builtin.getBuiltinFnObject(BuiltinCode.EXP), k), new MatrixBlock());
+			case UNARY_ROUND:
+				return (MatrixBlock)mbX.unaryOperations(new UnaryOperator(
+					Builtin.getBuiltinFnObject(BuiltinCode.ROUND), k), new MatrixBlock());
+			case AGG_SUM:      return aggregate(mbX, "uak+", k);
+			case AGG_ROWSUMS:  return aggregate(mbX, "uark+", k);
+			case AGG_COLSUMS:  return aggregate(mbX, "uack+", k);
+			case AGG_SUMSQ:    return aggregate(mbX, "uasqk+", k);
+			case AGG_MIN:      return aggregate(mbX, "uamin", k);
+			case AGG_ROWMAXS:  return aggregate(mbX, "uarmax", k);
+			case AGG_COLMINS:  return aggregate(mbX, "uacmin", k);
+			case AGG_MEAN:     return aggregate(mbX, "uamean", k);
+			case AGG_ROWMEANS: return aggregate(mbX, "uarmean", k);
+			case AGG_COLMEANS: return aggregate(mbX, "uacmean", k);
+			case MM_LEFT:      return matrixMult(mbX, createMatrixBlock(W), k);
+			case MM_RIGHT:     return matrixMult(createMatrixBlock(V), mbX, k);
+			case MM_BOTH:      return matrixMult(mbX, createMatrixBlock(Y2), k);
+			case TRANSPOSE:
+				return (MatrixBlock)mbX.reorgOperations(new ReorgOperator(
+					SwapIndex.getSwapIndexFnObject(), k), new MatrixBlock(), 0, 0, 0);
+			default:
+				throw new RuntimeException("Unsupported operation type: "+type.name());
+		}
+	}
+	
+	private static MatrixBlock createMatrixBlock(double[][] A) throws Exception {
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+		//ensure multi-block dense inputs if the block size is reduced
+		if( !mb.isInSparseFormat() && DenseBlockFactory.isLargeDenseBlock(A.length, A[0].length)
+			&& mb.getDenseBlock().isContiguous() )
+			Assert.fail("Expected multi-block dense input of size "+A.length+"x"+A[0].length);
+		return mb;
+	}
+	
+	private static MatrixBlock scalar(MatrixBlock mb, ValueFunction fn, int k) throws Exception {
+		ScalarOperator sop = new RightScalarOperator(fn, 7);
+		sop.setNumThreads(k);
+		return (MatrixBlock)mb.scalarOperations(sop, new MatrixBlock());
+	}
+	
+	private static MatrixBlock aggregate(MatrixBlock mb, String opcode, int k) throws Exception {
+		AggregateUnaryOperator auop = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		auop.setNumThreads(k);
+		return (MatrixBlock)mb.aggregateUnaryOperations(auop, new MatrixBlock(), 1000, 1000, null, true);
+	}
+	
+	private static MatrixBlock matrixMult(MatrixBlock m1, MatrixBlock m2, int k) throws Exception {
+		AggregateOperator aop = new AggregateOperator(0, Plus.getPlusFnObject());
+		AggregateBinaryOperator abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), aop, k);
+		return (MatrixBlock)m1.aggregateBinaryOperations(m1, m2, new MatrixBlock(), abop);
+	}
+}
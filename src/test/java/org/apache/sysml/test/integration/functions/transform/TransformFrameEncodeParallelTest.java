@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This test checks that multi-threaded transformencode (partial builds 
+ * per column and row partition, row-partitioned apply) and transformapply
+ * yield the same encoded data and meta data as single-threaded execution.
+ * For missing value imputation, the imputed columns contain missing values
+ * (null and empty strings), which are replaced by the same global means.
+ * 
+ */
+public class TransformFrameEncodeParallelTest extends AutomatedTestBase 
+{
+	private final static int rows = 200000;
+	private final static int cols = 6;
+	private final static int k = 8;
+	
+	private final static String SPEC_RECODE = "{\"ids\": true, \"recode\": [1, 2, 5]}";
+	private final static String SPEC_DUMMY = "{\"ids\": true, \"recode\": [1], \"dummycode\": [2, 5]}";
+	private final static String SPEC_IMPUTE = "{\"ids\": true, \"recode\": [1, 2], "
+		+ "\"impute\": [{\"id\": 3, \"method\": \"global_mean\"}, {\"id\": 4, \"method\": \"global_mean\"}]}";
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testEncodeApplyRecode() {
+		runTransformTest(SPEC_RECODE, false);
+	}
+	
+	@Test
+	public void testEncodeApplyDummycode() {
+		runTransformTest(SPEC_DUMMY, false);
+	}
+	
+	@Test
+	public void testEncodeApplyImpute() {
+		runTransformTest(SPEC_IMPUTE, true);
+	}
+	
+	private static void runTransformTest(String spec, boolean missing) {
+		try {
+			FrameBlock in = createFrame(missing);
+			String[] colnames = in.getColumnNames();
+			
+			//transform encode single- and multi-threaded
+			Encoder encoder1 = EncoderFactory.createEncoder(spec, colnames, in.getNumColumns(), null);
+			MatrixBlock out1 = encoder1.encode(in, new MatrixBlock(rows, cols, false), 1);
+			FrameBlock meta1 = encoder1.getMetaData(new FrameBlock(cols, ValueType.STRING));
+			Encoder encoder2 = EncoderFactory.createEncoder(spec, colnames, in.getNumColumns(), null);
+			MatrixBlock out2 = encoder2.encode(in, new MatrixBlock(rows, cols, false), k);
+			FrameBlock meta2 = encoder2.getMetaData(new FrameBlock(cols, ValueType.STRING));
+			compareResults(out1, out2);
+			for( int j=0; j<cols; j++ ) {
+				Assert.assertEquals(meta1.getColumnMetadata(j).getNumDistinct(), meta2.getColumnMetadata(j).getNumDistinct());
+				Assert.assertEquals(meta1.getColumnMetadata(j).getMvValue(), meta2.getColumnMetadata(j).getMvValue());
+				Assert.assertEquals(meta1.getRecodeMap(j), meta2.getRecodeMap(j));
+			}
+			if( missing )
+				checkImputedValues(in, out1, meta1);
+			
+			//transform apply multi-threaded w/ meta data of single-threaded encode
+			Encoder encoder3 = EncoderFactory.createEncoder(spec, colnames, in.getNumColumns(), meta1);
+			MatrixBlock out3 = encoder3.apply(in, new MatrixBlock(rows, cols, false), k);
+			compareResults(out1, out3);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static FrameBlock createFrame(boolean missing) {
+		FrameBlock in = new FrameBlock(UtilFunctions.nCopies(cols, ValueType.STRING));
+		String[] row = new String[cols];
+		for( int i=0; i<rows; i++ ) {
+			row[0] = "a" + (i % 97);
+			row[1] = "b" + ((i * 7) % 13);
+			row[2] = (missing && i % 11 == 0) ? null : String.valueOf((i % 1000) / 10.0);
+			row[3] = (missing && i % 23 == 0) ? "" : String.valueOf(i % 17);
+			row[4] = "c" + ((i / 1000) % 5);
+			row[5] = String.valueOf(i);
+			in.appendRow(row);
+		}
+		return in;
+	}
+	
+	private static void checkImputedValues(FrameBlock in, MatrixBlock out, FrameBlock meta) {
+		//missing values of the imputed columns 3 and 4 replaced by global means
+		for( int j=2; j<4; j++ ) {
+			String mvValue = meta.getColumnMetadata(j).getMvValue();
+			Assert.assertNotNull(mvValue);
+			double mean = Double.parseDouble(mvValue);
+			for( int i=0; i<rows; i++ ) {
+				Object val = in.get(i, j);
+				if( val == null || val.toString().isEmpty() )
+					Assert.assertEquals(mean, out.quickGetValue(i, j), 0);
+				else
+					Assert.assertEquals(Double.parseDouble(val.toString()), out.quickGetValue(i, j), 0);
+			}
+		}
+	}
+	
+	private static void compareResults(MatrixBlock out1, MatrixBlock out2) {
+		Assert.assertEquals(out1.getNumRows(), out2.getNumRows());
+		Assert.assertEquals(out1.getNumColumns(), out2.getNumColumns());
+		Assert.assertEquals(out1.getNonZeros(), out2.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(out1), 
+			DataConverter.convertToDoubleMatrix(out2), out1.getNumRows(), out1.getNumColumns(), 0);
+	}
+}
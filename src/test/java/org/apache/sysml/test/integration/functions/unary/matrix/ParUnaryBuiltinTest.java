@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.unary.matrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a matrix block component test for multi-threaded unary builtin
+ * operations (see LibMatrixUnary). The inputs exceed the threshold of 1M 
+ * cells and non-zeros for multi-threading, and we compare the results and 
+ * nnz of single- and multi-threaded execution against a cell-wise reference
+ * via Builtin.execute, which also covers the dense fast paths.
+ * 
+ */
+public class ParUnaryBuiltinTest extends AutomatedTestBase 
+{
+	private final static int rows = 2731;
+	private final static int cols = 1259;
+	private final static int threads = 7;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.35;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	//sparse-unsafe builtin functions
+	
+	@Test
+	public void testExpDense() {
+		runParUnaryBuiltinTest(BuiltinCode.EXP, false);
+	}
+	
+	@Test
+	public void testExpSparse() {
+		runParUnaryBuiltinTest(BuiltinCode.EXP, true);
+	}
+	
+	@Test
+	public void testSigmoidDense() {
+		runParUnaryBuiltinTest(BuiltinCode.SIGMOID, false);
+	}
+	
+	@Test
+	public void testSigmoidSparse() {
+		runParUnaryBuiltinTest(BuiltinCode.SIGMOID, true);
+	}
+	
+	@Test
+	public void testCosDense() {
+		runParUnaryBuiltinTest(BuiltinCode.COS, false);
+	}
+	
+	@Test
+	public void testFloorDense() {
+		runParUnaryBuiltinTest(BuiltinCode.FLOOR, false);
+	}
+	
+	@Test
+	public void testAtanDense() {
+		//no dedicated dense loop
+		runParUnaryBuiltinTest(BuiltinCode.ATAN, false);
+	}
+	
+	//sparse-safe builtin functions
+	
+	@Test
+	public void testRoundDense() {
+		runParUnaryBuiltinTest(BuiltinCode.ROUND, false);
+	}
+	
+	@Test
+	public void testRoundSparse() {
+		runParUnaryBuiltinTest(BuiltinCode.ROUND, true);
+	}
+	
+	@Test
+	public void testAbsDense() {
+		runParUnaryBuiltinTest(BuiltinCode.ABS, false);
+	}
+	
+	@Test
+	public void testAbsSparse() {
+		runParUnaryBuiltinTest(BuiltinCode.ABS, true);
+	}
+	
+	@Test
+	public void testSignDense() {
+		runParUnaryBuiltinTest(BuiltinCode.SIGN, false);
+	}
+	
+	@Test
+	public void testSpropDense() {
+		runParUnaryBuiltinTest(BuiltinCode.SPROP, false);
+	}
+	
+	@Test
+	public void testSpropSparse() {
+		runParUnaryBuiltinTest(BuiltinCode.SPROP, true);
+	}
+	
+	@Test
+	public void testSelpDense() {
+		runParUnaryBuiltinTest(BuiltinCode.SELP, false);
+	}
+	
+	@Test
+	public void testSelpSparse() {
+		runParUnaryBuiltinTest(BuiltinCode.SELP, true);
+	}
+	
+	@Test
+	public void testSinSparse() {
+		runParUnaryBuiltinTest(BuiltinCode.SIN, true);
+	}
+	
+	private void runParUnaryBuiltinTest(BuiltinCode code, boolean sparse)
+	{
+		try
+		{
+			//data generation
+			double[][] X = getRandomMatrix(rows, cols, -3, 3, sparse ? sparsity2 : sparsity1, 7); 
+			MatrixBlock mbX = DataConverter.convertToMatrixBlock(X);
+			if( mbX.isInSparseFormat() != sparse )
+				Assert.fail("Wrong input representation: "+mbX.isInSparseFormat());
+			
+			//cell-wise reference (incl zeros for sparse-unsafe functions)
+			Builtin fn = Builtin.getBuiltinFnObject(code);
+			double[][] C = new double[rows][cols];
+			long nnz = 0;
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ ) {
+					C[i][j] = fn.execute(X[i][j]);
+					nnz += (C[i][j] != 0) ? 1 : 0;
+				}
+			
+			//single- and multi-threaded execution
+			MatrixBlock ret1 = (MatrixBlock)mbX.unaryOperations(
+				new UnaryOperator(fn, 1), new MatrixBlock());
+			MatrixBlock ret2 = (MatrixBlock)mbX.unaryOperations(
+				new UnaryOperator(fn, threads), new MatrixBlock());
+			
+			//compare results and nnz
+			TestUtils.compareMatrices(C, DataConverter.convertToDoubleMatrix(ret1), rows, cols, 0);
+			TestUtils.compareMatrices(C, DataConverter.convertToDoubleMatrix(ret2), rows, cols, 0);
+			if( ret1.getNonZeros() != nnz || ret2.getNonZeros() != nnz )
+				Assert.fail("Wrong number of non-zeros: "+ret1.getNonZeros()
+					+" (k=1), "+ret2.getNonZeros()+" (k="+threads+"), expected: "+nnz);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CommonThreadPoolTest 
+{
+	@Test
+	public void testThreadLimitSingle() throws Exception {
+		checkThreadLimit(1, 16);
+	}
+	
+	@Test
+	public void testThreadLimitMulti() throws Exception {
+		checkThreadLimit(Math.max(CommonThreadPool.getSize()/2, 2), 32);
+	}
+	
+	@Test(timeout = 60000)
+	public void testNestedInvokeAll() throws Exception {
+		//more outer tasks than workers, each blocking on nested tasks
+		int k = CommonThreadPool.getSize();
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			ArrayList<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+			for( int i=0; i<4*k; i++ ) {
+				final int ix = i;
+				tasks.add(() -> {
+					Assert.assertTrue(CommonThreadPool.isNested());
+					ExecutorService pool2 = CommonThreadPool.get(k);
+					try {
+						ArrayList<Callable<Long>> tasks2 = new ArrayList<Callable<Long>>();
+						for( int j=0; j<8; j++ ) {
+							final long val = ix * 8 + j;
+							tasks2.add(() -> { Thread.sleep(1); return val; });
+						}
+						long sum = 0;
+						for( Future<Long> f : pool2.invokeAll(tasks2) )
+							sum += f.get();
+						return sum;
+					}
+					finally {
+						pool2.shutdown();
+					}
+				});
+			}
+			long sum = 0;
+			for( Future<Long> f : pool.invokeAll(tasks) )
+				sum += f.get();
+			long n = 4L * k * 8;
+			Assert.assertEquals(n * (n-1) / 2, sum);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	@Test(timeout = 60000)
+	public void testNestedSubmitGet() throws Exception {
+		//more outer tasks than workers, each blocking on nested futures
+		int k = CommonThreadPool.getSize();
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			ArrayList<Future<Long>> ret = new ArrayList<Future<Long>>();
+			for( int i=0; i<4*k; i++ ) {
+				final int ix = i;
+				ret.add(pool.submit(() -> {
+					ExecutorService pool2 = CommonThreadPool.get(k);
+					try {
+						ArrayList<Future<Long>> ret2 = new ArrayList<Future<Long>>();
+						for( int j=0; j<8; j++ ) {
+							final long val = ix * 8 + j;
+							ret2.add(pool2.submit(() -> { Thread.sleep(1); return val; }));
+						}
+						long sum = 0;
+						for( Future<Long> f : ret2 )
+							sum += f.get();
+						return sum;
+					}
+					finally {
+						pool2.shutdown();
+					}
+				}));
+			}
+			long sum = 0;
+			for( Future<Long> f : ret )
+				sum += f.get();
+			long n = 4L * k * 8;
+			Assert.assertEquals(n * (n-1) / 2, sum);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void testInvokeAllTaskFailure() throws Exception {
+		ExecutorService pool = CommonThreadPool.get(2);
+		try {
+			ArrayList<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+			tasks.add(() -> 1);
+			tasks.add(() -> { throw new RuntimeException("failed task"); });
+			tasks.add(() -> 3);
+			List<Future<Integer>> ret = pool.invokeAll(tasks);
+			Assert.assertEquals(1, (int)ret.get(0).get());
+			Assert.assertEquals(3, (int)ret.get(2).get());
+			try {
+				ret.get(1).get();
+				Assert.fail("Expected task failure.");
+			}
+			catch(Exception ex) {
+				Assert.assertEquals("failed task", ex.getCause().getMessage());
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	@Test(expected = RejectedExecutionException.class)
+	public void testSubmitAfterShutdown() {
+		ExecutorService pool = CommonThreadPool.get(2);
+		pool.shutdown();
+		Assert.assertTrue(pool.isShutdown());
+		pool.submit(() -> 7);
+	}
+	
+	@Test(expected = RejectedExecutionException.class)
+	public void testInvokeAllAfterShutdown() throws Exception {
+		ExecutorService pool = CommonThreadPool.get(2);
+		pool.shutdown();
+		ArrayList<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+		tasks.add(() -> 7);
+		pool.invokeAll(tasks);
+	}
+	
+	@Test
+	public void testShutdownCompletesQueuedTasks() throws Exception {
+		ExecutorService pool = CommonThreadPool.get(1);
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicInteger count = new AtomicInteger(0);
+		List<Future<?>> ret = new ArrayList<Future<?>>();
+		ret.add(pool.submit(() -> { latch.await(); return count.incrementAndGet(); }));
+		for( int i=0; i<3; i++ )
+			ret.add(pool.submit(() -> count.incrementAndGet()));
+		pool.shutdown();
+		Assert.assertFalse(pool.isTerminated());
+		latch.countDown();
+		Assert.assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+		Assert.assertTrue(pool.isTerminated());
+		Assert.assertEquals(4, count.get());
+		for( Future<?> f : ret )
+			Assert.assertTrue(f.isDone());
+	}
+	
+	@Test
+	public void testShutdownNowDropsQueuedTasks() throws Exception {
+		ExecutorService pool = CommonThreadPool.get(1);
+		CountDownLatch latch = new CountDownLatch(1);
+		Future<?> first = pool.submit(() -> { latch.await(); return 1; });
+		for( int i=0; i<3; i++ )
+			pool.submit(() -> 2);
+		Assert.assertEquals(3, pool.shutdownNow().size());
+		Assert.assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+		Assert.assertTrue(first.isCancelled());
+		latch.countDown();
+	}
+	
+	private static void checkThreadLimit(int k, int numTasks) 
+		throws Exception
+	{
+		ExecutorService pool = CommonThreadPool.get(k);
+		AtomicInteger active = new AtomicInteger(0);
+		AtomicInteger peak = new AtomicInteger(0);
+		try {
+			ArrayList<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+			for( int i=0; i<numTasks; i++ )
+				tasks.add(() -> {
+					int tmp = active.incrementAndGet();
+					peak.accumulateAndGet(tmp, Math::max);
+					Thread.sleep(5);
+					active.decrementAndGet();
+					return tmp;
+				});
+			for( Future<Integer> f : pool.invokeAll(tasks) )
+				Assert.assertTrue(f.get() <= k);
+			Assert.assertTrue(peak.get() <= k);
+			Assert.assertEquals(0, active.get());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
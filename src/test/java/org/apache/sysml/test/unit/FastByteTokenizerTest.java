@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.unit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.sysml.runtime.util.FastByteTokenizer;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FastByteTokenizerTest 
+{
+	@Test
+	public void testTokenizeSingleCharDelim() {
+		checkTokens(" 1, 2 ,,3.5 , ", ",", new String[]{"1", "2", "", "3.5", ""});
+	}
+	
+	@Test
+	public void testTokenizeMultiCharDelim() {
+		checkTokens("a::b::::c", "::", new String[]{"a", "b", "", "c"});
+	}
+	
+	@Test
+	public void testTokenizeTabDelim() {
+		checkTokens("1\t\t2\t", "\t", new String[]{"1", "", "2"});
+	}
+	
+	@Test
+	public void testTokenizeEmptyLine() {
+		checkTokens("   ", ",", new String[]{});
+	}
+	
+	@Test
+	public void testParseDoubleSpecialValues() {
+		String[] vals = new String[]{"0", "-0", "1.", ".5", "-.5", "+7", "1e5", "1E-5", 
+			"0.05", "00012", "123456789012345678", "1234567890123456789", "1e22", "1e23",
+			"4.9e-324", "1.7976931348623157E308", "9007199254740993", "NaN", "-Infinity", "1d"};
+		for( String val : vals )
+			checkParseDouble(val);
+	}
+	
+	@Test
+	public void testParseDoubleRandomValues() {
+		Random rand = new Random(7);
+		for( int i=0; i<100000; i++ ) {
+			checkParseDouble(Double.toString(rand.nextDouble() * Math.pow(10, rand.nextInt(40)-20)));
+			checkParseDouble(String.format("%."+rand.nextInt(12)+"f", (rand.nextDouble()-0.5) * 1e6));
+			checkParseDouble(Long.toString(rand.nextLong() >> rand.nextInt(60)));
+		}
+	}
+	
+	@Test(expected = NumberFormatException.class)
+	public void testParseDoubleInvalid() {
+		byte[] b = "1e".getBytes(StandardCharsets.UTF_8);
+		FastByteTokenizer.parseDouble(b, 0, b.length);
+	}
+	
+	private static void checkTokens(String line, String delim, String[] expected) {
+		FastByteTokenizer tok = new FastByteTokenizer(delim);
+		byte[] b = line.getBytes(StandardCharsets.UTF_8);
+		tok.reset(b, b.length);
+		Assert.assertEquals(expected.length, tok.countTokens());
+		ArrayList<String> tokens = new ArrayList<String>();
+		while( tok.nextToken() )
+			tokens.add(tok.getToken());
+		Assert.assertEquals(Arrays.asList(expected), tokens);
+	}
+	
+	private static void checkParseDouble(String val) {
+		byte[] b = val.getBytes(StandardCharsets.UTF_8);
+		double ret = FastByteTokenizer.parseDouble(b, 0, b.length);
+		Assert.assertEquals("Wrong value for "+val, Double.doubleToLongBits(Double.parseDouble(val)), 
+			Double.doubleToLongBits(ret));
+	}
+}
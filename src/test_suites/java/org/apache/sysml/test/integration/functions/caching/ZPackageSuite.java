@@ -26,7 +26,12 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-	CachingPWriteExportTest.class
+	AsyncWriteTest.class,
+	BufferPoolStressTest.class,
+	CachingPWriteExportTest.class,
+	OffHeapBufferTest.class,
+	PageCacheTest.class,
+	PrefetchTest.class
 })
 
 
@@ -33,17 +33,22 @@ import org.junit.runners.Suite;
 	AlgorithmMLogreg.class,
 	AlgorithmMSVM.class,
 	AlgorithmPNMF.class,
+	AsyncCompileTest.class,
 	CellwiseTmplTest.class,
+	CodegenClassCacheTest.class,
 	CompressedCellwiseTest.class,
 	CompressedMultiAggregateTest.class,
 	CompressedOuterProductTest.class,
 	CompressedRowAggregateTest.class,
+	CompressedSpoofOperatorsTest.class,
 	CPlanComparisonTest.class,
 	DAGCellwiseTmplTest.class,
+	DnnTmplTest.class,
 	MultiAggTmplTest.class,
 	OuterProdTmplTest.class,
 	RowAggTmplTest.class,
 	RowVectorComparisonTest.class,
+	SparseRowTmplTest.class,
 	SumProductChainTest.class,
 })
 
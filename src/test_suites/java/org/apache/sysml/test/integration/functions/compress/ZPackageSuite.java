@@ -41,6 +41,7 @@ import org.junit.runners.Suite;
 	BasicVectorMatrixMultTest.class,
 	CompressedL2SVM.class,
 	CompressedLinregCG.class,
+	CompressedPersistenceTest.class,
 	CompressedSerializationTest.class,
 	LargeCompressionTest.class,
 	LargeMatrixVectorMultTest.class,
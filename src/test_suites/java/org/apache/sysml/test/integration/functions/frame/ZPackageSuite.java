@@ -40,6 +40,7 @@ import org.junit.runners.Suite;
 	FrameMatrixReblockTest.class,
 	FrameMatrixWriteTest.class,
 	FrameMetaReadWriteTest.class,
+	FrameReadCSVTest.class,
 	FrameReadWriteTest.class,
 	FrameScalarCastingTest.class,
 	FrameSchemaReadTest.class,
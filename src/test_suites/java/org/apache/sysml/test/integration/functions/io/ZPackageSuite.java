@@ -32,8 +32,11 @@ import org.junit.runners.Suite;
 	IOTest3.class,
 	IOTest4.class,
 	IOTest5.class,
+	OutOfCoreTest.class,
 	ScalarIOTest.class,
-	SeqParReadTest.class
+	SeqParReadTest.class,
+	StreamReaderTest.class,
+	TextCellParReadTest.class
 })
 
 
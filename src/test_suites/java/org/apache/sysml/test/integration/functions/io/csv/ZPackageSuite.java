@@ -28,6 +28,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	CSVParametersTest.class,
 	FormatChangeTest.class,
+	ReadCSVParallelTest.class,
 	ReadCSVTest.class,
 	WriteCSVTest.class
 })
@@ -26,6 +26,8 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	DenseBlockGetSet.class,
+	DenseBlockOperations.class,
 	SparseBlockAlignment.class,
 	SparseBlockAppendSort.class,
 	SparseBlockDelete.class,
@@ -33,6 +33,7 @@ import org.junit.runners.Suite;
 	TransformFrameEncodeApplyTest.class,
 	TransformFrameEncodeDecodeTest.class,
 	TransformFrameEncodeDecodeTokenTest.class,
+	TransformFrameEncodeParallelTest.class,
 })
 
 
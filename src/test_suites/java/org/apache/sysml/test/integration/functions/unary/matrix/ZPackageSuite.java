@@ -46,6 +46,7 @@ import org.junit.runners.Suite;
 	MinusTest.class,
 	MLUnaryBuiltinTest.class,
 	NegationTest.class,
+	ParUnaryBuiltinTest.class,
 	PrintTest.class,
 	QRSolverTest.class,
 	RemoveEmptySelTest.class,